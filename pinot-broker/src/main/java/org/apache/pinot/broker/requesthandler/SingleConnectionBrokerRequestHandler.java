@@ -39,11 +39,14 @@ import org.apache.pinot.common.metrics.BrokerMeter;
 import org.apache.pinot.common.metrics.BrokerMetrics;
 import org.apache.pinot.common.metrics.BrokerQueryPhase;
 import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.PinotQuery;
 import org.apache.pinot.common.response.broker.BrokerResponseNative;
 import org.apache.pinot.common.response.broker.QueryProcessingException;
 import org.apache.pinot.common.utils.HashUtil;
 import org.apache.pinot.core.query.reduce.BrokerReduceService;
+import org.apache.pinot.core.query.reduce.IncrementalDataTableReducer;
 import org.apache.pinot.core.transport.AsyncQueryResponse;
+import org.apache.pinot.core.transport.HedgedRequestConfig;
 import org.apache.pinot.core.transport.QueryRouter;
 import org.apache.pinot.core.transport.ServerInstance;
 import org.apache.pinot.core.transport.ServerResponse;
@@ -52,6 +55,7 @@ import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsMa
 import org.apache.pinot.spi.env.PinotConfiguration;
 import org.apache.pinot.spi.trace.RequestContext;
 import org.apache.pinot.spi.utils.CommonConstants;
+import org.apache.pinot.spi.utils.CommonConstants.Broker.Request.QueryOptionKey;
 import org.apache.pinot.spi.utils.builder.TableNameBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +72,8 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
   private final BrokerReduceService _brokerReduceService;
   private final QueryRouter _queryRouter;
   private final FailureDetector _failureDetector;
+  private final boolean _enableIncrementalReduce;
+  private final boolean _enableStreamingResponse;
 
   public SingleConnectionBrokerRequestHandler(PinotConfiguration config, String brokerId,
       BrokerRoutingManager routingManager, AccessControlFactory accessControlFactory,
@@ -77,8 +83,38 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
     LOGGER.info("Using Netty BrokerRequestHandler.");
 
     _brokerReduceService = new BrokerReduceService(_config);
-    _queryRouter = new QueryRouter(_brokerId, brokerMetrics, nettyConfig, tlsConfig, serverRoutingStatsManager);
+    HedgedRequestConfig hedgedRequestConfig = null;
+    if (config.getProperty(CommonConstants.Broker.CONFIG_OF_ENABLE_HEDGED_REQUESTS,
+        CommonConstants.Broker.DEFAULT_ENABLE_HEDGED_REQUESTS)) {
+      hedgedRequestConfig = new HedgedRequestConfig(routingManager,
+          config.getProperty(CommonConstants.Broker.CONFIG_OF_HEDGED_REQUEST_LATENCY_MULTIPLIER,
+              CommonConstants.Broker.DEFAULT_HEDGED_REQUEST_LATENCY_MULTIPLIER),
+          config.getProperty(CommonConstants.Broker.CONFIG_OF_HEDGED_REQUEST_MIN_DELAY_MS,
+              CommonConstants.Broker.DEFAULT_HEDGED_REQUEST_MIN_DELAY_MS));
+      LOGGER.info("Enable hedged requests with latency multiplier: {}, min delay: {}ms",
+          hedgedRequestConfig.getLatencyMultiplier(), hedgedRequestConfig.getMinDelayMs());
+    }
+    _queryRouter = new QueryRouter(_brokerId, brokerMetrics, nettyConfig, tlsConfig, serverRoutingStatsManager,
+        config.getProperty(CommonConstants.Broker.CONFIG_OF_ENABLE_SEGMENT_DICTIONARY,
+            CommonConstants.Broker.DEFAULT_ENABLE_SEGMENT_DICTIONARY), hedgedRequestConfig);
     _failureDetector = FailureDetectorFactory.getFailureDetector(config, brokerMetrics);
+    _enableIncrementalReduce = config.getProperty(CommonConstants.Broker.CONFIG_OF_ENABLE_INCREMENTAL_REDUCE,
+        CommonConstants.Broker.DEFAULT_ENABLE_INCREMENTAL_REDUCE);
+    _enableStreamingResponse = config.getProperty(CommonConstants.Broker.CONFIG_OF_ENABLE_STREAMING_RESPONSE,
+        CommonConstants.Broker.DEFAULT_ENABLE_STREAMING_RESPONSE);
+  }
+
+  private static void setStreamingResponseOption(@Nullable BrokerRequest brokerRequest, boolean streamResponse) {
+    if (brokerRequest == null) {
+      return;
+    }
+    PinotQuery pinotQuery = brokerRequest.getPinotQuery();
+    if (streamResponse) {
+      pinotQuery.putToQueryOptions(QueryOptionKey.ENABLE_STREAMING_RESPONSE, "true");
+    } else if (pinotQuery.getQueryOptions() != null) {
+      // Do not let the option from the query override the broker config
+      pinotQuery.getQueryOptions().remove(QueryOptionKey.ENABLE_STREAMING_RESPONSE);
+    }
   }
 
   @Override
@@ -108,9 +144,17 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
 
     String rawTableName = TableNameBuilder.extractRawTableName(serverBrokerRequest.getQuerySource().getTableName());
     long scatterGatherStartTimeNs = System.nanoTime();
+    IncrementalDataTableReducer incrementalReducer =
+        _enableIncrementalReduce ? _brokerReduceService.getIncrementalReducer(originalBrokerRequest,
+            serverBrokerRequest, timeoutMs) : null;
+    // Only let the servers stream the results back when the streamed data blocks can be reduced as they arrive
+    boolean streamResponse = _enableStreamingResponse && incrementalReducer != null
+        && incrementalReducer.isStreamingSupported();
+    setStreamingResponseOption(offlineBrokerRequest, streamResponse);
+    setStreamingResponseOption(realtimeBrokerRequest, streamResponse);
     AsyncQueryResponse asyncQueryResponse =
         _queryRouter.submitQuery(requestId, rawTableName, offlineBrokerRequest, offlineRoutingTable,
-            realtimeBrokerRequest, realtimeRoutingTable, timeoutMs);
+            realtimeBrokerRequest, realtimeRoutingTable, timeoutMs, incrementalReducer);
     _failureDetector.notifyQuerySubmitted(asyncQueryResponse);
     Map<ServerRoutingInstance, ServerResponse> finalResponses = asyncQueryResponse.getFinalResponses();
     _failureDetector.notifyQueryFinished(asyncQueryResponse);
@@ -136,10 +180,15 @@ public class SingleConnectionBrokerRequestHandler extends BaseBrokerRequestHandl
     int numServersResponded = dataTableMap.size();
 
     long reduceStartTimeNs = System.nanoTime();
-    long reduceTimeOutMs = timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scatterGatherStartTimeNs);
-    BrokerResponseNative brokerResponse =
-        _brokerReduceService.reduceOnDataTable(originalBrokerRequest, serverBrokerRequest, dataTableMap,
-            reduceTimeOutMs, _brokerMetrics);
+    BrokerResponseNative brokerResponse;
+    if (incrementalReducer != null) {
+      // The data tables are already reduced as they arrive, only need to seal the reducer
+      brokerResponse = _brokerReduceService.reduceOnIncrementalReducer(incrementalReducer, _brokerMetrics);
+    } else {
+      long reduceTimeOutMs = timeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scatterGatherStartTimeNs);
+      brokerResponse = _brokerReduceService.reduceOnDataTable(originalBrokerRequest, serverBrokerRequest, dataTableMap,
+          reduceTimeOutMs, _brokerMetrics);
+    }
     final long reduceTimeNanos = System.nanoTime() - reduceStartTimeNs;
     requestContext.setReduceTimeNanos(reduceTimeNanos);
     _brokerMetrics.addPhaseTiming(rawTableName, BrokerQueryPhase.REDUCE, reduceTimeNanos);
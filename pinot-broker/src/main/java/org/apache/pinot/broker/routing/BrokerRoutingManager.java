@@ -62,6 +62,7 @@ import org.apache.pinot.common.utils.helix.HelixHelper;
 import org.apache.pinot.core.routing.RoutingManager;
 import org.apache.pinot.core.routing.RoutingTable;
 import org.apache.pinot.core.routing.TimeBoundaryInfo;
+import org.apache.pinot.core.transport.ReplicaServerProvider;
 import org.apache.pinot.core.transport.ServerInstance;
 import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsManager;
 import org.apache.pinot.spi.config.table.QueryConfig;
@@ -86,6 +87,7 @@ import org.slf4j.LoggerFactory;
  *   <li>{@link #refreshSegment(String, String)}: Refreshes the metadata for a segment</li>
  *   <li>{@link #routingExists(String)}: Returns whether the routing exists for a table</li>
  *   <li>{@link #getRoutingTable(BrokerRequest, long)}: Returns the routing table for a query</li>
+ *   <li>{@link #getReplicaServers(String, List)}: Returns the servers hosting all the given segments of a table</li>
  *   <li>{@link #getTimeBoundaryInfo(String)}: Returns the time boundary info for a table</li>
  *   <li>{@link #getQueryTimeoutMs(String)}: Returns the table-level query timeout in milliseconds for a table</li>
  * </ul>
@@ -93,7 +95,7 @@ import org.slf4j.LoggerFactory;
  * TODO: Expose RoutingEntry class to get a consistent view in the broker request handler and save the redundant map
  *       lookups.
  */
-public class BrokerRoutingManager implements RoutingManager, ClusterChangeHandler {
+public class BrokerRoutingManager implements RoutingManager, ReplicaServerProvider, ClusterChangeHandler {
   private static final Logger LOGGER = LoggerFactory.getLogger(BrokerRoutingManager.class);
 
   private final BrokerMetrics _brokerMetrics;
@@ -617,6 +619,38 @@ public class BrokerRoutingManager implements RoutingManager, ClusterChangeHandle
         selectionResult.getNumPrunedSegments());
   }
 
+  /**
+   * Returns the enabled servers with all the given segments online, which can serve the segments in place of the server
+   * selected by the routing (e.g. for hedged requests).
+   */
+  @Override
+  public List<ServerInstance> getReplicaServers(String tableNameWithType, List<String> segments) {
+    RoutingEntry routingEntry = _routingEntryMap.get(tableNameWithType);
+    if (routingEntry == null || segments.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Set<String> instances = null;
+    for (String segment : segments) {
+      List<String> onlineInstances = routingEntry._instanceSelector.getOnlineInstances(segment);
+      if (instances == null) {
+        instances = new HashSet<>(onlineInstances);
+      } else {
+        instances.retainAll(onlineInstances);
+      }
+      if (instances.isEmpty()) {
+        return Collections.emptyList();
+      }
+    }
+    List<ServerInstance> serverInstances = new ArrayList<>(instances.size());
+    for (String instance : instances) {
+      ServerInstance serverInstance = _enabledServerInstanceMap.get(instance);
+      if (serverInstance != null) {
+        serverInstances.add(serverInstance);
+      }
+    }
+    return serverInstances;
+  }
+
   @Override
   public Map<String, ServerInstance> getEnabledServerInstanceMap() {
     return _enabledServerInstanceMap;
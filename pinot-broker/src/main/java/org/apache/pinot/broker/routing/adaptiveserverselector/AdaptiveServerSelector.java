@@ -18,8 +18,11 @@
  */
 package org.apache.pinot.broker.routing.adaptiveserverselector;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.pinot.common.utils.HashUtil;
 
 
 /**
@@ -36,6 +39,23 @@ public interface AdaptiveServerSelector {
    */
   String select(List<String> serverCandidates);
 
+  /**
+   * Picks the server to route each segment of a query to from the candidate servers of the segment. By default, the
+   * best server is picked independently for each segment. Implementations can override this method to balance the
+   * segments of the query across the candidate servers.
+   *
+   * @param segmentToServerCandidates Map from segment to the candidate servers for the segment.
+   * @return Map from segment to the selected server
+   */
+  default Map<String, String> select(Map<String, List<String>> segmentToServerCandidates) {
+    Map<String, String> segmentToSelectedServerMap =
+        new HashMap<>(HashUtil.getHashMapCapacity(segmentToServerCandidates.size()));
+    for (Map.Entry<String, List<String>> entry : segmentToServerCandidates.entrySet()) {
+      segmentToSelectedServerMap.put(entry.getKey(), select(entry.getValue()));
+    }
+    return segmentToSelectedServerMap;
+  }
+
   /**
    * Returns the ranking of servers ordered from best to worst along with the absolute scores based on which the
    * servers are ranked. Based on the implementation of the interface, the score could refer to different things. For
@@ -70,6 +70,11 @@ public class AdaptiveServerSelectorFactory {
         Preconditions.checkState(enableStatsCollection, "Stats collection is not enabled.");
         return new HybridSelector(serverRoutingStatsManager);
       }
+      case COST_AWARE: {
+        LOGGER.info("Using CostAwareSelector");
+        Preconditions.checkState(enableStatsCollection, "Stats collection is not enabled.");
+        return new CostAwareSelector(serverRoutingStatsManager);
+      }
       default:
         return null;
     }
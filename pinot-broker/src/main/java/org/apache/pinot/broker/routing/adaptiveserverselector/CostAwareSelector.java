@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.routing.adaptiveserverselector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.pinot.common.utils.HashUtil;
+import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsManager;
+
+
+/**
+ * The {@code CostAwareSelector} is an AdaptiveServerSelector implementation that picks the servers based on the
+ * exponential weighted moving average (EMA) of the execution cost per document scanned on each server. The cost is
+ * learned from the execution stats (time used and number of documents scanned) returned by the servers in the query
+ * responses.
+ * <p>Instead of picking the best server independently for each segment, the segments of a query are balanced across
+ * the candidate servers to minimize the expected completion time of the slowest server: segments with fewer candidate
+ * servers are assigned first, and each segment is assigned to the candidate server with the lowest expected completion
+ * time after taking the segment. The number of documents per segment is not known at routing time, so each segment is
+ * assumed to cost the same number of documents. Servers without execution stats are assumed to have the average cost
+ * of the other candidate servers so that they keep receiving traffic until their cost is learned.
+ * <p>To prevent a single server from absorbing the whole query:
+ * <ul>
+ *   <li>The cost of each server is bounded below by {@link #MIN_RELATIVE_COST_PER_DOC} of the average cost of the
+ *   candidate servers, so that a server with a (near) 0 measured cost still accumulates load.</li>
+ *   <li>Each server starts with the load of its in-flight requests, each of them assumed to be as large as the share of
+ *   this query for the server.</li>
+ * </ul>
+ */
+public class CostAwareSelector implements AdaptiveServerSelector {
+  private static final double DEFAULT_COST_PER_DOC = 1.0;
+  private static final double MIN_RELATIVE_COST_PER_DOC = 0.25;
+
+  private final ServerRoutingStatsManager _serverRoutingStatsManager;
+  private final Random _random;
+
+  public CostAwareSelector(ServerRoutingStatsManager serverRoutingStatsManager) {
+    _serverRoutingStatsManager = serverRoutingStatsManager;
+    _random = new Random();
+  }
+
+  @Override
+  public String select(List<String> serverCandidates) {
+    String selectedServer = null;
+    double minCost = Double.MAX_VALUE;
+
+    for (String server : serverCandidates) {
+      Double cost = _serverRoutingStatsManager.fetchCostPerDocEMAForServer(server);
+
+      // No execution stats for this server yet. Pick a random server so that the stats can be collected.
+      if (cost == null) {
+        return serverCandidates.get(_random.nextInt(serverCandidates.size()));
+      }
+
+      if (cost < minCost) {
+        minCost = cost;
+        selectedServer = server;
+      }
+    }
+
+    return selectedServer;
+  }
+
+  @Override
+  public Map<String, String> select(Map<String, List<String>> segmentToServerCandidates) {
+    int numSegments = segmentToServerCandidates.size();
+    Map<String, String> segmentToSelectedServerMap = new HashMap<>(HashUtil.getHashMapCapacity(numSegments));
+    if (numSegments == 0) {
+      return segmentToSelectedServerMap;
+    }
+
+    // Fetch the cost for each candidate server once per query
+    Map<String, Double> serverToCostMap = new HashMap<>();
+    double knownCostSum = 0;
+    int numKnownCosts = 0;
+    for (List<String> serverCandidates : segmentToServerCandidates.values()) {
+      for (String server : serverCandidates) {
+        if (!serverToCostMap.containsKey(server)) {
+          Double cost = _serverRoutingStatsManager.fetchCostPerDocEMAForServer(server);
+          serverToCostMap.put(server, cost);
+          if (cost != null) {
+            knownCostSum += cost;
+            numKnownCosts++;
+          }
+        }
+      }
+    }
+    double defaultCost = knownCostSum > 0 ? knownCostSum / numKnownCosts : DEFAULT_COST_PER_DOC;
+    double minCost = defaultCost * MIN_RELATIVE_COST_PER_DOC;
+    serverToCostMap.replaceAll((server, cost) -> cost != null ? Math.max(cost, minCost) : defaultCost);
+
+    // Assign the most constrained segments (with the fewest candidate servers) first
+    List<Map.Entry<String, List<String>>> entries = new ArrayList<>(segmentToServerCandidates.entrySet());
+    entries.sort(Comparator.comparingInt(entry -> entry.getValue().size()));
+
+    // Expected completion time of each server for the in-flight requests and the segments assigned so far
+    int numServers = serverToCostMap.size();
+    Map<String, Double> serverToLoadMap = new HashMap<>(HashUtil.getHashMapCapacity(numServers));
+    for (Map.Entry<String, Double> entry : serverToCostMap.entrySet()) {
+      String server = entry.getKey();
+      Integer numInFlightRequests = _serverRoutingStatsManager.fetchNumInFlightRequestsForServer(server);
+      if (numInFlightRequests != null && numInFlightRequests > 0) {
+        serverToLoadMap.put(server, numInFlightRequests * entry.getValue() * numSegments / numServers);
+      }
+    }
+    for (Map.Entry<String, List<String>> entry : entries) {
+      List<String> serverCandidates = entry.getValue();
+      int numCandidates = serverCandidates.size();
+      if (numCandidates == 0) {
+        continue;
+      }
+      // Start from a random candidate so that ties are broken randomly
+      int startIdx = _random.nextInt(numCandidates);
+      String selectedServer = null;
+      double minLoad = Double.MAX_VALUE;
+      for (int i = 0; i < numCandidates; i++) {
+        String server = serverCandidates.get((startIdx + i) % numCandidates);
+        double load = serverToLoadMap.getOrDefault(server, 0.0) + serverToCostMap.get(server);
+        if (load < minLoad) {
+          minLoad = load;
+          selectedServer = server;
+        }
+      }
+      serverToLoadMap.put(selectedServer, minLoad);
+      segmentToSelectedServerMap.put(entry.getKey(), selectedServer);
+    }
+
+    return segmentToSelectedServerMap;
+  }
+
+  @Override
+  public List<Pair<String, Double>> fetchAllServerRankingsWithScores() {
+    List<Pair<String, Double>> pairList = _serverRoutingStatsManager.fetchCostPerDocEMAForAllServers();
+
+    // Let's shuffle the list before sorting. This helps with randomly choosing different servers if there is a tie.
+    Collections.shuffle(pairList);
+    pairList.sort(Comparator.comparingDouble(Pair::getRight));
+
+    return pairList;
+  }
+
+  @Override
+  public List<Pair<String, Double>> fetchServerRankingsWithScores(List<String> serverCandidates) {
+    List<Pair<String, Double>> pairList = new ArrayList<>();
+    if (serverCandidates.size() == 0) {
+      return pairList;
+    }
+
+    for (String server : serverCandidates) {
+      Double score = _serverRoutingStatsManager.fetchCostPerDocEMAForServer(server);
+      if (score == null) {
+        score = -1.0;
+      }
+
+      pairList.add(new ImmutablePair<>(server, score));
+    }
+
+    // Let's shuffle the list before sorting. This helps with randomly choosing different servers if there is a tie.
+    Collections.shuffle(pairList);
+    pairList.sort(Comparator.comparingDouble(Pair::getRight));
+
+    return pairList;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.pinot.broker.routing.instanceselector;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -41,6 +42,8 @@ import org.apache.pinot.common.utils.HashUtil;
  *    Step1: Process seg1. Fetch server rankings. Pick the best server.
  *    Step2: Process seg2. Fetch server rankings (could have changed or not since Step 1). Pick the best server.
  *    Step3: Process seg3. Fetch server rankings (could have changed or not since Step 2). Pick the best server.
+ * Selectors that balance the segments of a query across the servers (e.g. CostAwareSelector) pick the servers for all
+ * the segments of the query at once.
  *
  * <p>If AdaptiveServerSelection is disabled, the selection algorithm will always evenly distribute the traffic to all
  * replicas of each segment, and will try to select different replica id for each segment. The algorithm is very
@@ -58,6 +61,8 @@ public class BalancedInstanceSelector extends BaseInstanceSelector {
       Map<String, String> queryOptions) {
     Map<String, String> segmentToSelectedInstanceMap = new HashMap<>(HashUtil.getHashMapCapacity(segments.size()));
     if (_adaptiveServerSelector != null) {
+      Map<String, List<String>> segmentToCandidateInstancesMap =
+          new LinkedHashMap<>(HashUtil.getHashMapCapacity(segments.size()));
       for (String segment : segments) {
         List<SegmentInstanceCandidate> candidates = segmentStates.getCandidates(segment);
         // NOTE: candidates can be null when there is no enabled instances for the segment, or the instance selector has
@@ -69,8 +74,14 @@ public class BalancedInstanceSelector extends BaseInstanceSelector {
         for (SegmentInstanceCandidate candidate : candidates) {
           candidateInstances.add(candidate.getInstance());
         }
-        String selectedInstance = _adaptiveServerSelector.select(candidateInstances);
-        if (candidates.get(candidateInstances.indexOf(selectedInstance)).isOnline()) {
+        segmentToCandidateInstancesMap.put(segment, candidateInstances);
+      }
+      Map<String, String> segmentToAdaptiveInstanceMap = _adaptiveServerSelector.select(segmentToCandidateInstancesMap);
+      for (Map.Entry<String, List<String>> entry : segmentToCandidateInstancesMap.entrySet()) {
+        String segment = entry.getKey();
+        String selectedInstance = segmentToAdaptiveInstanceMap.get(segment);
+        List<SegmentInstanceCandidate> candidates = segmentStates.getCandidates(segment);
+        if (candidates.get(entry.getValue().indexOf(selectedInstance)).isOnline()) {
           segmentToSelectedInstanceMap.put(segment, selectedInstance);
         }
       }
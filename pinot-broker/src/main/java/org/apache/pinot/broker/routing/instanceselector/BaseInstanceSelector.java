@@ -404,6 +404,21 @@ abstract class BaseInstanceSelector implements InstanceSelector {
     }
   }
 
+  @Override
+  public List<String> getOnlineInstances(String segment) {
+    List<SegmentInstanceCandidate> candidates = _segmentStates.getCandidates(segment);
+    if (candidates == null) {
+      return Collections.emptyList();
+    }
+    List<String> onlineInstances = new ArrayList<>(candidates.size());
+    for (SegmentInstanceCandidate candidate : candidates) {
+      if (candidate.isOnline()) {
+        onlineInstances.add(candidate.getInstance());
+      }
+    }
+    return onlineInstances;
+  }
+
   /**
    * Selects the server instances for the given segments based on the request id and segment states. Returns a map
    * from segment to selected server instance hosting the segment.
@@ -69,6 +69,11 @@ public interface InstanceSelector {
    */
   SelectionResult select(BrokerRequest brokerRequest, List<String> segments, long requestId);
 
+  /**
+   * Returns the enabled instances with the given segment online, or an empty list if the segment is unknown.
+   */
+  List<String> getOnlineInstances(String segment);
+
   class SelectionResult {
     private final Map<String, String> _segmentToInstanceMap;
     private final List<String> _unavailableSegments;
@@ -0,0 +1,307 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.broker.routing.segmentpruner;
+
+import com.google.common.hash.BloomFilter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.helix.model.ExternalView;
+import org.apache.helix.model.IdealState;
+import org.apache.helix.zookeeper.datamodel.ZNRecord;
+import org.apache.pinot.common.metadata.segment.SegmentColumnStatsMetadata;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.Expression;
+import org.apache.pinot.common.request.Function;
+import org.apache.pinot.common.request.Identifier;
+import org.apache.pinot.segment.local.utils.BloomFilterSummaryUtils;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.utils.CommonConstants.Query.Range;
+import org.apache.pinot.spi.utils.CommonConstants.Segment;
+import org.apache.pinot.sql.FilterKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code ColumnStatsSegmentPruner} prunes segments based on the column stats (min/max value and bloom filter
+ * summary) stored in the segment ZK metadata, so that the segments not matching the query are pruned before routing
+ * instead of being sent to the servers. The pruner supports queries with filter (or nested filter) of EQUALITY, IN and
+ * RANGE predicates: EQUALITY and IN predicates are checked against both min/max value and bloom filter summary, RANGE
+ * predicates are checked against min/max value.
+ */
+@SuppressWarnings({"rawtypes", "unchecked", "UnstableApiUsage"})
+public class ColumnStatsSegmentPruner implements SegmentPruner {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ColumnStatsSegmentPruner.class);
+  private static final Map<String, ColumnStats> INVALID_COLUMN_STATS = Collections.emptyMap();
+
+  private final String _tableNameWithType;
+  private final Schema _schema;
+  private final Map<String, Map<String, ColumnStats>> _columnStatsMap = new ConcurrentHashMap<>();
+
+  public ColumnStatsSegmentPruner(String tableNameWithType, Schema schema) {
+    _tableNameWithType = tableNameWithType;
+    _schema = schema;
+  }
+
+  @Override
+  public void init(IdealState idealState, ExternalView externalView, List<String> onlineSegments,
+      List<ZNRecord> znRecords) {
+    // Bulk load column stats for all online segments
+    for (int idx = 0; idx < onlineSegments.size(); idx++) {
+      String segment = onlineSegments.get(idx);
+      Map<String, ColumnStats> columnStats =
+          extractColumnStatsFromSegmentZKMetadataZNRecord(segment, znRecords.get(idx));
+      if (columnStats != null) {
+        _columnStatsMap.put(segment, columnStats);
+      }
+    }
+  }
+
+  /**
+   * NOTE: Returns {@code null} when the ZNRecord is missing (could be transient Helix issue). Returns
+   *       {@link #INVALID_COLUMN_STATS} when the segment does not have valid column stats in its ZK metadata, in which
+   *       case we won't retry later.
+   */
+  @Nullable
+  private Map<String, ColumnStats> extractColumnStatsFromSegmentZKMetadataZNRecord(String segment,
+      @Nullable ZNRecord znRecord) {
+    if (znRecord == null) {
+      LOGGER.warn("Failed to find segment ZK metadata for segment: {}, table: {}", segment, _tableNameWithType);
+      return null;
+    }
+
+    String columnStatsMetadataJson = znRecord.getSimpleField(Segment.COLUMN_STATS_METADATA);
+    if (columnStatsMetadataJson == null) {
+      return INVALID_COLUMN_STATS;
+    }
+
+    Map<String, ColumnStats> columnStatsMap = new HashMap<>();
+    try {
+      SegmentColumnStatsMetadata columnStatsMetadata =
+          SegmentColumnStatsMetadata.fromJsonString(columnStatsMetadataJson);
+      for (Map.Entry<String, SegmentColumnStatsMetadata.ColumnStats> entry : columnStatsMetadata.getColumnStatsMap()
+          .entrySet()) {
+        String column = entry.getKey();
+        FieldSpec fieldSpec = _schema.getFieldSpecFor(column);
+        if (fieldSpec == null) {
+          continue;
+        }
+        DataType storedType = fieldSpec.getDataType().getStoredType();
+        SegmentColumnStatsMetadata.ColumnStats columnStats = entry.getValue();
+        String minValue = columnStats.getMinValue();
+        String maxValue = columnStats.getMaxValue();
+        String bloomSummary = columnStats.getBloomSummary();
+        columnStatsMap.put(column, new ColumnStats(fieldSpec.getDataType(),
+            minValue != null && maxValue != null ? storedType.convertInternal(minValue) : null,
+            minValue != null && maxValue != null ? storedType.convertInternal(maxValue) : null,
+            bloomSummary != null ? BloomFilterSummaryUtils.readBloomSummary(bloomSummary) : null));
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while extracting column stats for segment: {}, table: {}", segment,
+          _tableNameWithType, e);
+      return INVALID_COLUMN_STATS;
+    }
+    return !columnStatsMap.isEmpty() ? columnStatsMap : INVALID_COLUMN_STATS;
+  }
+
+  @Override
+  public synchronized void onAssignmentChange(IdealState idealState, ExternalView externalView,
+      Set<String> onlineSegments, List<String> pulledSegments, List<ZNRecord> znRecords) {
+    // NOTE: We don't update all the segment ZK metadata for every external view change, but only the new added/removed
+    //       ones. The refreshed segment ZK metadata change won't be picked up.
+    for (int idx = 0; idx < pulledSegments.size(); idx++) {
+      String segment = pulledSegments.get(idx);
+      ZNRecord znRecord = znRecords.get(idx);
+      _columnStatsMap.computeIfAbsent(segment, k -> extractColumnStatsFromSegmentZKMetadataZNRecord(k, znRecord));
+    }
+    _columnStatsMap.keySet().retainAll(onlineSegments);
+  }
+
+  @Override
+  public synchronized void refreshSegment(String segment, @Nullable ZNRecord znRecord) {
+    Map<String, ColumnStats> columnStats = extractColumnStatsFromSegmentZKMetadataZNRecord(segment, znRecord);
+    if (columnStats != null) {
+      _columnStatsMap.put(segment, columnStats);
+    } else {
+      _columnStatsMap.remove(segment);
+    }
+  }
+
+  @Override
+  public Set<String> prune(BrokerRequest brokerRequest, Set<String> segments) {
+    Expression filterExpression = brokerRequest.getPinotQuery().getFilterExpression();
+    if (filterExpression == null) {
+      return segments;
+    }
+    Set<String> selectedSegments = new HashSet<>();
+    for (String segment : segments) {
+      Map<String, ColumnStats> columnStats = _columnStatsMap.get(segment);
+      if (columnStats == null || columnStats == INVALID_COLUMN_STATS || isMatch(filterExpression, columnStats)) {
+        selectedSegments.add(segment);
+      }
+    }
+    return selectedSegments;
+  }
+
+  private boolean isMatch(Expression filterExpression, Map<String, ColumnStats> columnStatsMap) {
+    Function function = filterExpression.getFunctionCall();
+    if (function == null) {
+      return true;
+    }
+    FilterKind filterKind = FilterKind.valueOf(function.getOperator());
+    List<Expression> operands = function.getOperands();
+    switch (filterKind) {
+      case AND:
+        for (Expression child : operands) {
+          if (!isMatch(child, columnStatsMap)) {
+            return false;
+          }
+        }
+        return true;
+      case OR:
+        for (Expression child : operands) {
+          if (isMatch(child, columnStatsMap)) {
+            return true;
+          }
+        }
+        return false;
+      case EQUALS:
+      case IN:
+      case GREATER_THAN:
+      case GREATER_THAN_OR_EQUAL:
+      case LESS_THAN:
+      case LESS_THAN_OR_EQUAL:
+      case BETWEEN:
+      case RANGE: {
+        Identifier identifier = operands.get(0).getIdentifier();
+        if (identifier == null) {
+          return true;
+        }
+        ColumnStats columnStats = columnStatsMap.get(identifier.getName());
+        if (columnStats == null) {
+          return true;
+        }
+        try {
+          return isMatch(filterKind, operands, columnStats);
+        } catch (Exception e) {
+          // Do not prune the segment when the value cannot be converted to the column data type
+          return true;
+        }
+      }
+      default:
+        return true;
+    }
+  }
+
+  private boolean isMatch(FilterKind filterKind, List<Expression> operands, ColumnStats columnStats) {
+    switch (filterKind) {
+      case EQUALS:
+        return columnStats.mightContain(columnStats.convert(operands.get(1)));
+      case IN: {
+        int numOperands = operands.size();
+        for (int i = 1; i < numOperands; i++) {
+          if (columnStats.mightContain(columnStats.convert(operands.get(i)))) {
+            return true;
+          }
+        }
+        return false;
+      }
+      case GREATER_THAN:
+        return columnStats.mightContainRange(columnStats.convert(operands.get(1)), false, null, false);
+      case GREATER_THAN_OR_EQUAL:
+        return columnStats.mightContainRange(columnStats.convert(operands.get(1)), true, null, false);
+      case LESS_THAN:
+        return columnStats.mightContainRange(null, false, columnStats.convert(operands.get(1)), false);
+      case LESS_THAN_OR_EQUAL:
+        return columnStats.mightContainRange(null, false, columnStats.convert(operands.get(1)), true);
+      case BETWEEN:
+        return columnStats.mightContainRange(columnStats.convert(operands.get(1)), true,
+            columnStats.convert(operands.get(2)), true);
+      case RANGE: {
+        String rangeString = operands.get(1).getLiteral().getFieldValue().toString();
+        int length = rangeString.length();
+        boolean lowerInclusive = rangeString.charAt(0) == Range.LOWER_INCLUSIVE;
+        boolean upperInclusive = rangeString.charAt(length - 1) == Range.UPPER_INCLUSIVE;
+        String[] split = StringUtils.split(rangeString.substring(1, length - 1), Range.DELIMITER);
+        Comparable lowerBound =
+            split[0].equals(Range.UNBOUNDED) ? null : columnStats._dataType.convertInternal(split[0]);
+        Comparable upperBound =
+            split[1].equals(Range.UNBOUNDED) ? null : columnStats._dataType.convertInternal(split[1]);
+        return columnStats.mightContainRange(lowerBound, lowerInclusive, upperBound, upperInclusive);
+      }
+      default:
+        return true;
+    }
+  }
+
+  private static class ColumnStats {
+    final DataType _dataType;
+    final Comparable _minValue;
+    final Comparable _maxValue;
+    final BloomFilter<CharSequence> _bloomFilter;
+
+    ColumnStats(DataType dataType, @Nullable Comparable minValue, @Nullable Comparable maxValue,
+        @Nullable BloomFilter<CharSequence> bloomFilter) {
+      _dataType = dataType;
+      _minValue = minValue;
+      _maxValue = maxValue;
+      _bloomFilter = bloomFilter;
+    }
+
+    Comparable convert(Expression literalExpression) {
+      return _dataType.convertInternal(literalExpression.getLiteral().getFieldValue().toString());
+    }
+
+    boolean mightContain(Comparable value) {
+      if (_minValue != null && (value.compareTo(_minValue) < 0 || value.compareTo(_maxValue) > 0)) {
+        return false;
+      }
+      return _bloomFilter == null || _bloomFilter.mightContain(value.toString());
+    }
+
+    boolean mightContainRange(@Nullable Comparable lowerBound, boolean lowerInclusive,
+        @Nullable Comparable upperBound, boolean upperInclusive) {
+      if (_minValue == null) {
+        return true;
+      }
+      if (lowerBound != null) {
+        int result = lowerBound.compareTo(_maxValue);
+        if (result > 0 || (result == 0 && !lowerInclusive)) {
+          return false;
+        }
+      }
+      if (upperBound != null) {
+        int result = upperBound.compareTo(_minValue);
+        if (result < 0 || (result == 0 && !upperInclusive)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
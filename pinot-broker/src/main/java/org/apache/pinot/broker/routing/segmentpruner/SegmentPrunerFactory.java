@@ -79,10 +79,16 @@ public class SegmentPrunerFactory {
               configuredSegmentPruners.add(timeSegmentPruner);
             }
           }
+          if (RoutingConfig.COLUMN_STATS_SEGMENT_PRUNER_TYPE.equalsIgnoreCase(segmentPrunerType)) {
+            ColumnStatsSegmentPruner columnStatsSegmentPruner = getColumnStatsSegmentPruner(tableConfig, propertyStore);
+            if (columnStatsSegmentPruner != null) {
+              configuredSegmentPruners.add(columnStatsSegmentPruner);
+            }
+          }
         }
-        // Sort all segment pruners in order of: empty -> time -> partition. We are trying to sort them in a this order
-        // for improving the performance, this order may not be the optimal case -- we need move the pruner that will
-        // potentially prune the most segments to front)
+        // Sort all segment pruners in order of: empty -> time -> partition -> column stats. We are trying to sort them
+        // in a this order for improving the performance, this order may not be the optimal case -- we need move the
+        // pruner that will potentially prune the most segments to front)
         segmentPruners.addAll(sortSegmentPruners(configuredSegmentPruners));
       } else {
         // Handle legacy configs for backward-compatibility
@@ -159,11 +165,25 @@ public class SegmentPrunerFactory {
     return new TimeSegmentPruner(tableConfig, timeColumn, timeFormatSpec);
   }
 
+  @Nullable
+  private static ColumnStatsSegmentPruner getColumnStatsSegmentPruner(TableConfig tableConfig,
+      ZkHelixPropertyStore<ZNRecord> propertyStore) {
+    String tableNameWithType = tableConfig.getTableName();
+    Schema schema = ZKMetadataProvider.getTableSchema(propertyStore, tableNameWithType);
+    if (schema == null) {
+      LOGGER.warn("Cannot enable column stats pruning without schema for table: {}", tableNameWithType);
+      return null;
+    }
+    LOGGER.info("Using ColumnStatsSegmentPruner for table: {}", tableNameWithType);
+    return new ColumnStatsSegmentPruner(tableNameWithType, schema);
+  }
+
   private static List<SegmentPruner> sortSegmentPruners(List<SegmentPruner> pruners) {
     // If there's multiple pruners, always prune empty segments first. After that, pruned based on time range, and
-    // followed by partition pruners.
+    // followed by partition pruners, and column stats pruner at last.
     // Partition pruner run time is proportional to input # of segments while time range pruner is not,
     // Prune based on time range first will have a smaller input size for partition pruners, so have better performance.
+    // Column stats pruner is more expensive than partition pruners per segment as it checks the bloom filters.
     List<SegmentPruner> sortedPruners = new ArrayList<>();
     for (SegmentPruner pruner : pruners) {
       if (pruner instanceof EmptySegmentPruner) {
@@ -181,6 +201,11 @@ public class SegmentPrunerFactory {
         sortedPruners.add(pruner);
       }
     }
+    for (SegmentPruner pruner : pruners) {
+      if (pruner instanceof ColumnStatsSegmentPruner) {
+        sortedPruners.add(pruner);
+      }
+    }
     return sortedPruners;
   }
 }
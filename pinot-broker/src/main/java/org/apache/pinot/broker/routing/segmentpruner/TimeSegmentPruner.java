@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
@@ -38,9 +39,13 @@ import org.apache.pinot.common.request.Expression;
 import org.apache.pinot.common.request.Function;
 import org.apache.pinot.common.request.Identifier;
 import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
 import org.apache.pinot.spi.data.DateTimeFormatSpec;
+import org.apache.pinot.spi.stream.StreamConfigProperties;
 import org.apache.pinot.spi.utils.CommonConstants;
 import org.apache.pinot.spi.utils.CommonConstants.Query.Range;
+import org.apache.pinot.spi.utils.CommonConstants.Segment.Realtime.Status;
+import org.apache.pinot.spi.utils.IngestionConfigUtils;
 import org.apache.pinot.sql.FilterKind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +55,11 @@ import org.slf4j.LoggerFactory;
  * The {@code TimeSegmentPruner} prunes segments based on their time column start & end time metadata stored in ZK.
  * The pruner
  * supports queries with filter (or nested filter) of EQUALITY and RANGE predicates.
+ * <p>Consuming segments don't have end time, and their min time is published by the consuming servers and updated with
+ * segment refresh. They are tracked separately from the interval tree as [min_time, max_end] so that the frequent
+ * updates of the consuming segments don't rebuild the interval tree. The published min time is only used when the
+ * table opts in with {@link StreamConfigProperties#CONSUMING_MIN_TIME_PRUNING_ENABLED}, otherwise the consuming
+ * segments are never pruned.
  */
 public class TimeSegmentPruner implements SegmentPruner {
   private static final Logger LOGGER = LoggerFactory.getLogger(TimeSegmentPruner.class);
@@ -60,14 +70,32 @@ public class TimeSegmentPruner implements SegmentPruner {
   private final String _tableNameWithType;
   private final String _timeColumn;
   private final DateTimeFormatSpec _timeFormatSpec;
+  private final boolean _consumingSegmentPruningEnabled;
 
   private volatile IntervalTree<String> _intervalTree;
   private final Map<String, Interval> _intervalMap = new HashMap<>();
+  private final Map<String, Long> _consumingSegmentMinTimeMap = new ConcurrentHashMap<>();
 
   public TimeSegmentPruner(TableConfig tableConfig, String timeColumn, DateTimeFormatSpec timeFormatSpec) {
     _tableNameWithType = tableConfig.getTableName();
     _timeColumn = timeColumn;
     _timeFormatSpec = timeFormatSpec;
+    _consumingSegmentPruningEnabled = isConsumingSegmentPruningEnabled(tableConfig);
+  }
+
+  private static boolean isConsumingSegmentPruningEnabled(TableConfig tableConfig) {
+    if (tableConfig.getTableType() != TableType.REALTIME) {
+      return false;
+    }
+    Map<String, String> streamConfigMap;
+    try {
+      streamConfigMap = IngestionConfigUtils.getStreamConfigMap(tableConfig);
+    } catch (IllegalStateException e) {
+      LOGGER.warn("Failed to find stream configs for table: {}, not pruning consuming segments",
+          tableConfig.getTableName());
+      return false;
+    }
+    return Boolean.parseBoolean(streamConfigMap.get(StreamConfigProperties.CONSUMING_MIN_TIME_PRUNING_ENABLED));
   }
 
   @Override
@@ -76,12 +104,34 @@ public class TimeSegmentPruner implements SegmentPruner {
     // Bulk load time info for all online segments
     for (int idx = 0; idx < onlineSegments.size(); idx++) {
       String segment = onlineSegments.get(idx);
-      Interval interval = extractIntervalFromSegmentZKMetaZNRecord(segment, znRecords.get(idx));
-      _intervalMap.put(segment, interval);
+      ZNRecord znRecord = znRecords.get(idx);
+      Long consumingMinTime = extractConsumingMinTimeFromSegmentZKMetaZNRecord(znRecord);
+      if (consumingMinTime != null) {
+        _consumingSegmentMinTimeMap.put(segment, consumingMinTime);
+      } else {
+        _intervalMap.put(segment, extractIntervalFromSegmentZKMetaZNRecord(segment, znRecord));
+      }
     }
     _intervalTree = new IntervalTree<>(_intervalMap);
   }
 
+  /**
+   * Returns the min time in millis for the consuming segment ({@link #MIN_START_TIME} if it is not published yet or the
+   * consuming segment pruning is not enabled), or {@code null} if the segment is not a consuming segment.
+   */
+  @Nullable
+  private Long extractConsumingMinTimeFromSegmentZKMetaZNRecord(@Nullable ZNRecord znRecord) {
+    if (znRecord == null || !Status.IN_PROGRESS.name()
+        .equals(znRecord.getSimpleField(CommonConstants.Segment.Realtime.STATUS))) {
+      return null;
+    }
+    if (!_consumingSegmentPruningEnabled) {
+      return MIN_START_TIME;
+    }
+    return Math.max(znRecord.getLongField(CommonConstants.Segment.Realtime.CONSUMING_MIN_TIME_MS, MIN_START_TIME),
+        MIN_START_TIME);
+  }
+
   private Interval extractIntervalFromSegmentZKMetaZNRecord(String segment, @Nullable ZNRecord znRecord) {
     // Segments without metadata or with invalid time interval will be set with [min_start, max_end] and will not be
     // pruned
@@ -108,18 +158,38 @@ public class TimeSegmentPruner implements SegmentPruner {
     //       ones. The refreshed segment ZK metadata change won't be picked up.
     for (int idx = 0; idx < pulledSegments.size(); idx++) {
       String segment = pulledSegments.get(idx);
-      ZNRecord zNrecord = znRecords.get(idx);
-      _intervalMap.computeIfAbsent(segment, k -> extractIntervalFromSegmentZKMetaZNRecord(k, zNrecord));
+      if (_intervalMap.containsKey(segment) || _consumingSegmentMinTimeMap.containsKey(segment)) {
+        continue;
+      }
+      ZNRecord znRecord = znRecords.get(idx);
+      Long consumingMinTime = extractConsumingMinTimeFromSegmentZKMetaZNRecord(znRecord);
+      if (consumingMinTime != null) {
+        _consumingSegmentMinTimeMap.put(segment, consumingMinTime);
+      } else {
+        _intervalMap.put(segment, extractIntervalFromSegmentZKMetaZNRecord(segment, znRecord));
+      }
     }
     _intervalMap.keySet().retainAll(onlineSegments);
+    _consumingSegmentMinTimeMap.keySet().retainAll(onlineSegments);
     _intervalTree = new IntervalTree<>(_intervalMap);
   }
 
   @Override
   public synchronized void refreshSegment(String segment, @Nullable ZNRecord znRecord) {
-    Interval interval = extractIntervalFromSegmentZKMetaZNRecord(segment, znRecord);
-    _intervalMap.put(segment, interval);
-    _intervalTree = new IntervalTree<>(_intervalMap);
+    // NOTE: Update the new location of the segment before removing it from the old one so that concurrent queries can
+    //       always find it.
+    Long consumingMinTime = extractConsumingMinTimeFromSegmentZKMetaZNRecord(znRecord);
+    if (consumingMinTime != null) {
+      // Consuming segment, no need to rebuild the interval tree unless the segment is moved out of it
+      _consumingSegmentMinTimeMap.put(segment, consumingMinTime);
+      if (_intervalMap.remove(segment) != null) {
+        _intervalTree = new IntervalTree<>(_intervalMap);
+      }
+    } else {
+      _intervalMap.put(segment, extractIntervalFromSegmentZKMetaZNRecord(segment, znRecord));
+      _intervalTree = new IntervalTree<>(_intervalMap);
+      _consumingSegmentMinTimeMap.remove(segment);
+    }
   }
 
   /**
@@ -146,12 +216,20 @@ public class TimeSegmentPruner implements SegmentPruner {
     }
 
     Set<String> selectedSegments = new HashSet<>();
+    long maxQueryTime = MIN_START_TIME;
     for (Interval interval : intervals) {
       for (String segment : intervalTree.searchAll(interval)) {
         if (segments.contains(segment)) {
           selectedSegments.add(segment);
         }
       }
+      maxQueryTime = Math.max(maxQueryTime, interval._max);
+    }
+    // Consuming segments cover [min_time, max_end], so they are selected when the query covers any time after min_time
+    for (Map.Entry<String, Long> entry : _consumingSegmentMinTimeMap.entrySet()) {
+      if (entry.getValue() <= maxQueryTime && segments.contains(entry.getKey())) {
+        selectedSegments.add(entry.getKey());
+      }
     }
     return selectedSegments;
   }
@@ -20,7 +20,9 @@ package org.apache.pinot.broker.routing.adaptiveserverselector;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -78,7 +80,15 @@ public class AdaptiveServerSelectorTest {
     assertTrue(AdaptiveServerSelectorFactory.getAdaptiveServerSelector(serverRoutingStatsManager,
         cfg) instanceof HybridSelector);
 
-    // Test 5: Test Error.
+    // Test 5: Test CostAwareSelector.
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_TYPE,
+        CommonConstants.Broker.AdaptiveServerSelector.Type.COST_AWARE.name());
+    cfg = new PinotConfiguration(_properties);
+    serverRoutingStatsManager = new ServerRoutingStatsManager(cfg);
+    assertTrue(AdaptiveServerSelectorFactory.getAdaptiveServerSelector(serverRoutingStatsManager,
+        cfg) instanceof CostAwareSelector);
+
+    // Test 6: Test Error.
     assertThrows(IllegalArgumentException.class, () -> {
       _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_TYPE, "Dummy");
       PinotConfiguration config = new PinotConfiguration(_properties);
@@ -553,6 +563,145 @@ public class AdaptiveServerSelectorTest {
     }
   }
 
+  @Test
+  public void testCostAwareSelector() {
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_ENABLE_STATS_COLLECTION, true);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_EWMA_ALPHA, 1.0);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_AUTODECAY_WINDOW_MS, -1);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_WARMUP_DURATION_MS, 0);
+    PinotConfiguration cfg = new PinotConfiguration(_properties);
+    ServerRoutingStatsManager serverRoutingStatsManager = new ServerRoutingStatsManager(cfg);
+    serverRoutingStatsManager.init();
+    assertTrue(serverRoutingStatsManager.isEnabled());
+    long taskCount = 0;
+
+    CostAwareSelector selector = new CostAwareSelector(serverRoutingStatsManager);
+
+    // TEST 1: Try to fetch the best server when stats are not populated yet.
+    assertTrue(selector.fetchAllServerRankingsWithScores().isEmpty());
+    String selectedServer = selector.select(_servers);
+    assertTrue(_servers.contains(selectedServer), selectedServer);
+
+    // Segments are evenly balanced across the servers without stats.
+    Map<String, List<String>> segmentToServerCandidates = new HashMap<>();
+    for (int i = 0; i < 8; i++) {
+      segmentToServerCandidates.put("segment" + i, _servers);
+    }
+    Map<String, String> segmentToSelectedServer = selector.select(segmentToServerCandidates);
+    assertEquals(segmentToSelectedServer.size(), 8);
+    Map<String, Integer> serverToNumSegments = new HashMap<>();
+    for (String server : segmentToSelectedServer.values()) {
+      serverToNumSegments.merge(server, 1, Integer::sum);
+    }
+    assertEquals(serverToNumSegments.size(), _servers.size());
+    for (int numSegments : serverToNumSegments.values()) {
+      assertEquals(numSegments, 2);
+    }
+
+    // TEST 2: server1 is 3.5 times as expensive per document as the other servers.
+    for (String server : _servers) {
+      if (server.equals("server1")) {
+        serverRoutingStatsManager.recordStatsUponResponseArrival(-1, server, 10, 7, 2000);
+      } else {
+        serverRoutingStatsManager.recordStatsUponResponseArrival(-1, server, 10, 1, 1000);
+      }
+      waitForStatsUpdate(serverRoutingStatsManager, ++taskCount);
+    }
+    List<Pair<String, Double>> serverRankingWithVal = selector.fetchAllServerRankingsWithScores();
+    assertEquals(serverRankingWithVal.size(), _servers.size());
+    assertEquals(serverRankingWithVal.get(_servers.size() - 1).getLeft(), "server1");
+    assertEquals(serverRankingWithVal.get(_servers.size() - 1).getRight(), 0.0035);
+    assertEquals(selector.select(Arrays.asList("server1", "server2")), "server2");
+
+    // With 10 segments, the cheaper servers take 3 segments each and server1 takes 1 segment.
+    segmentToServerCandidates.clear();
+    for (int i = 0; i < 10; i++) {
+      segmentToServerCandidates.put("segment" + i, _servers);
+    }
+    segmentToSelectedServer = selector.select(segmentToServerCandidates);
+    serverToNumSegments.clear();
+    for (String server : segmentToSelectedServer.values()) {
+      serverToNumSegments.merge(server, 1, Integer::sum);
+    }
+    assertEquals(serverToNumSegments.get("server1").intValue(), 1);
+    assertEquals(serverToNumSegments.get("server2").intValue(), 3);
+    assertEquals(serverToNumSegments.get("server3").intValue(), 3);
+    assertEquals(serverToNumSegments.get("server4").intValue(), 3);
+
+    // TEST 3: Segments with a single candidate are assigned first, and the other segments are balanced around them.
+    segmentToServerCandidates.clear();
+    segmentToServerCandidates.put("segment0", Arrays.asList("server2", "server3"));
+    segmentToServerCandidates.put("segment1", Collections.singletonList("server2"));
+    segmentToSelectedServer = selector.select(segmentToServerCandidates);
+    assertEquals(segmentToSelectedServer.get("segment0"), "server3");
+    assertEquals(segmentToSelectedServer.get("segment1"), "server2");
+
+    // TEST 4: A server without stats is assumed to have the average cost of the other candidates.
+    List<Pair<String, Double>> candidateRanking =
+        selector.fetchServerRankingsWithScores(Arrays.asList("server2", "server5"));
+    assertEquals(candidateRanking.get(0).getLeft(), "server5");
+    assertEquals(candidateRanking.get(0).getRight(), -1.0);
+    segmentToServerCandidates.clear();
+    segmentToServerCandidates.put("segment0", Arrays.asList("server1", "server5"));
+    segmentToServerCandidates.put("segment1", Arrays.asList("server1", "server5"));
+    segmentToSelectedServer = selector.select(segmentToServerCandidates);
+    assertEquals(new HashSet<>(segmentToSelectedServer.values()), new HashSet<>(Arrays.asList("server1", "server5")));
+  }
+
+  @Test
+  public void testCostAwareSelectorWithZeroCost() {
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_ENABLE_STATS_COLLECTION, true);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_EWMA_ALPHA, 1.0);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_AUTODECAY_WINDOW_MS, -1);
+    _properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_WARMUP_DURATION_MS, 0);
+    PinotConfiguration cfg = new PinotConfiguration(_properties);
+    ServerRoutingStatsManager serverRoutingStatsManager = new ServerRoutingStatsManager(cfg);
+    serverRoutingStatsManager.init();
+    long taskCount = 0;
+
+    CostAwareSelector selector = new CostAwareSelector(serverRoutingStatsManager);
+
+    // server1 finishes the queries within 1ms, which is reported as 0ms time used.
+    for (String server : _servers) {
+      serverRoutingStatsManager.recordStatsAfterQuerySubmission(-1, server);
+      waitForStatsUpdate(serverRoutingStatsManager, ++taskCount);
+      if (server.equals("server1")) {
+        serverRoutingStatsManager.recordStatsUponResponseArrival(-1, server, 10, 0, 1_000_000);
+      } else {
+        serverRoutingStatsManager.recordStatsUponResponseArrival(-1, server, 10, 10, 1000);
+      }
+      waitForStatsUpdate(serverRoutingStatsManager, ++taskCount);
+    }
+    assertTrue(serverRoutingStatsManager.fetchCostPerDocEMAForServer("server1") > 0);
+
+    // server1 takes more segments than the other servers, but does not absorb the whole query.
+    Map<String, List<String>> segmentToServerCandidates = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      segmentToServerCandidates.put("segment" + i, _servers);
+    }
+    Map<String, Integer> serverToNumSegments = getServerToNumSegments(selector.select(segmentToServerCandidates));
+    assertEquals(serverToNumSegments.size(), _servers.size());
+    int numSegmentsOnServer1 = serverToNumSegments.get("server1");
+    assertTrue(numSegmentsOnServer1 > 2 && numSegmentsOnServer1 < 10, Integer.toString(numSegmentsOnServer1));
+
+    // In-flight requests on server1 move segments to the other servers.
+    for (int i = 0; i < 4; i++) {
+      serverRoutingStatsManager.recordStatsAfterQuerySubmission(-1, "server1");
+      waitForStatsUpdate(serverRoutingStatsManager, ++taskCount);
+    }
+    serverToNumSegments = getServerToNumSegments(selector.select(segmentToServerCandidates));
+    assertEquals(serverToNumSegments.size(), _servers.size());
+    assertTrue(serverToNumSegments.get("server1") < numSegmentsOnServer1);
+  }
+
+  private static Map<String, Integer> getServerToNumSegments(Map<String, String> segmentToSelectedServer) {
+    Map<String, Integer> serverToNumSegments = new HashMap<>();
+    for (String server : segmentToSelectedServer.values()) {
+      serverToNumSegments.merge(server, 1, Integer::sum);
+    }
+    return serverToNumSegments;
+  }
+
   private void waitForStatsUpdate(ServerRoutingStatsManager serverRoutingStatsManager, long taskCount) {
     TestUtils.waitForCondition(aVoid -> {
       return (serverRoutingStatsManager.getCompletedTaskCount() == taskCount);
@@ -37,10 +37,12 @@ import org.apache.helix.zookeeper.datamodel.serializer.ZNRecordSerializer;
 import org.apache.helix.zookeeper.impl.client.ZkClient;
 import org.apache.pinot.broker.routing.segmentmetadata.SegmentZkMetadataFetcher;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
+import org.apache.pinot.common.metadata.segment.SegmentColumnStatsMetadata;
 import org.apache.pinot.common.metadata.segment.SegmentPartitionMetadata;
 import org.apache.pinot.common.metadata.segment.SegmentZKMetadata;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.controller.helix.ControllerTest;
+import org.apache.pinot.segment.local.utils.BloomFilterSummaryUtils;
 import org.apache.pinot.segment.spi.partition.metadata.ColumnPartitionMetadata;
 import org.apache.pinot.spi.config.table.ColumnPartitionConfig;
 import org.apache.pinot.spi.config.table.IndexingConfig;
@@ -55,6 +57,7 @@ import org.apache.pinot.spi.data.FieldSpec;
 import org.apache.pinot.spi.data.Schema;
 import org.apache.pinot.spi.stream.StreamConfigProperties;
 import org.apache.pinot.spi.utils.CommonConstants;
+import org.apache.pinot.spi.utils.CommonConstants.Segment.Realtime.Status;
 import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
 import org.apache.pinot.sql.parsers.CalciteSqlCompiler;
 import org.mockito.Mockito;
@@ -739,6 +742,162 @@ public class SegmentPrunerTest extends ControllerTest {
     return new TableConfigBuilder(type).setTableName(rawTableName).setTimeColumnName(TIME_COLUMN).build();
   }
 
+  @Test
+  public void testTimeSegmentPrunerForConsumingSegments() {
+    TimeSegmentPruner segmentPruner = getConsumingSegmentTimePruner(true);
+
+    // Segment 0: committed segment with time range [10, 20]
+    // Segment 1: consuming segment without min time published
+    // Segment 2: consuming segment with min time 50
+    String segment0 = "segment0";
+    String segment1 = "segment1";
+    String segment2 = "segment2";
+    SegmentZKMetadata segmentZKMetadata0 = new SegmentZKMetadata(segment0);
+    segmentZKMetadata0.setStatus(Status.DONE);
+    segmentZKMetadata0.setStartTime(10);
+    segmentZKMetadata0.setEndTime(20);
+    segmentZKMetadata0.setTimeUnit(TimeUnit.MILLISECONDS);
+    SegmentZKMetadata segmentZKMetadata1 = new SegmentZKMetadata(segment1);
+    segmentZKMetadata1.setStatus(Status.IN_PROGRESS);
+    SegmentZKMetadata segmentZKMetadata2 = new SegmentZKMetadata(segment2);
+    segmentZKMetadata2.setStatus(Status.IN_PROGRESS);
+    segmentZKMetadata2.setConsumingMinTimeMs(50);
+    List<String> onlineSegments = Arrays.asList(segment0, segment1, segment2);
+    segmentPruner.init(null, null, onlineSegments,
+        Arrays.asList(segmentZKMetadata0.toZNRecord(), segmentZKMetadata1.toZNRecord(),
+            segmentZKMetadata2.toZNRecord()));
+    Set<String> segments = new HashSet<>(onlineSegments);
+
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn < 30"), segments), new HashSet<>(Arrays.asList(segment0, segment1)));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn > 40"), segments), new HashSet<>(Arrays.asList(segment1, segment2)));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn IN (100, 5)"), segments),
+        new HashSet<>(Arrays.asList(segment1, segment2)));
+    // Query entirely before the time boundary attached to the realtime side
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn < 30 AND timeColumn > 40"), segments), Collections.emptySet());
+
+    // Min time published for segment 1
+    segmentZKMetadata1.setConsumingMinTimeMs(60);
+    segmentPruner.refreshSegment(segment1, segmentZKMetadata1.toZNRecord());
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn < 30"), segments), Collections.singleton(segment0));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn BETWEEN 50 AND 55"), segments), Collections.singleton(segment2));
+
+    // Segment 2 committed with time range [50, 70]
+    segmentZKMetadata2.setStatus(Status.DONE);
+    segmentZKMetadata2.setConsumingMinTimeMs(-1);
+    segmentZKMetadata2.setStartTime(50);
+    segmentZKMetadata2.setEndTime(70);
+    segmentZKMetadata2.setTimeUnit(TimeUnit.MILLISECONDS);
+    segmentPruner.refreshSegment(segment2, segmentZKMetadata2.toZNRecord());
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn > 80"), segments), Collections.singleton(segment1));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn BETWEEN 50 AND 55"), segments), Collections.singleton(segment2));
+
+    // Segment 1 removed
+    segmentPruner.onAssignmentChange(null, null, new HashSet<>(Arrays.asList(segment0, segment2)),
+        Collections.emptyList(), Collections.emptyList());
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn > 80"), segments), Collections.emptySet());
+  }
+
+  @Test
+  public void testTimeSegmentPrunerForConsumingSegmentsNotEnabled() {
+    // Consuming segment pruning is not enabled by default
+    TimeSegmentPruner segmentPruner = getConsumingSegmentTimePruner(false);
+
+    // Segment 0: consuming segment with min time 50 published, which has consumed a late record at time 10 after the
+    // min time was published
+    String segment0 = "segment0";
+    SegmentZKMetadata segmentZKMetadata0 = new SegmentZKMetadata(segment0);
+    segmentZKMetadata0.setStatus(Status.IN_PROGRESS);
+    segmentZKMetadata0.setConsumingMinTimeMs(50);
+    segmentPruner.init(null, null, Collections.singletonList(segment0),
+        Collections.singletonList(segmentZKMetadata0.toZNRecord()));
+    Set<String> segments = Collections.singleton(segment0);
+
+    // Late record should still be returned
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn = 10"), segments), segments);
+    segmentPruner.refreshSegment(segment0, segmentZKMetadata0.toZNRecord());
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE timeColumn < 30"), segments), segments);
+  }
+
+  private static TimeSegmentPruner getConsumingSegmentTimePruner(boolean consumingSegmentPruningEnabled) {
+    TableConfig tableConfig = mock(TableConfig.class);
+    when(tableConfig.getTableName()).thenReturn(REALTIME_TABLE_NAME);
+    when(tableConfig.getTableType()).thenReturn(TableType.REALTIME);
+    IndexingConfig indexingConfig = mock(IndexingConfig.class);
+    when(indexingConfig.getStreamConfigs()).thenReturn(
+        Collections.singletonMap(StreamConfigProperties.CONSUMING_MIN_TIME_PRUNING_ENABLED,
+            Boolean.toString(consumingSegmentPruningEnabled)));
+    when(tableConfig.getIndexingConfig()).thenReturn(indexingConfig);
+    return new TimeSegmentPruner(tableConfig, TIME_COLUMN, new DateTimeFormatSpec("1:MILLISECONDS:EPOCH"));
+  }
+
+  @Test
+  public void testColumnStatsSegmentPruner() {
+    Schema schema = new Schema.SchemaBuilder().setSchemaName(RAW_TABLE_NAME)
+        .addSingleValueDimension(PARTITION_COLUMN_1, FieldSpec.DataType.INT)
+        .addSingleValueDimension(PARTITION_COLUMN_2, FieldSpec.DataType.STRING).build();
+    ColumnStatsSegmentPruner segmentPruner = new ColumnStatsSegmentPruner(OFFLINE_TABLE_NAME, schema);
+
+    // Segment 0: memberId in [0, 10], memberName bloom summary of {alice, bob}
+    // Segment 1: memberId in [20, 30], memberName in [x, z]
+    // Segment 2: no column stats
+    String segment0 = "segment0";
+    String segment1 = "segment1";
+    String segment2 = "segment2";
+    Map<String, SegmentColumnStatsMetadata.ColumnStats> columnStatsMap0 = new HashMap<>();
+    columnStatsMap0.put(PARTITION_COLUMN_1, new SegmentColumnStatsMetadata.ColumnStats("0", "10", null));
+    columnStatsMap0.put(PARTITION_COLUMN_2, new SegmentColumnStatsMetadata.ColumnStats(null, null,
+        BloomFilterSummaryUtils.createBloomSummary(new String[]{"alice", "bob"},
+            BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES)));
+    Map<String, SegmentColumnStatsMetadata.ColumnStats> columnStatsMap1 = new HashMap<>();
+    columnStatsMap1.put(PARTITION_COLUMN_1, new SegmentColumnStatsMetadata.ColumnStats("20", "30", null));
+    columnStatsMap1.put(PARTITION_COLUMN_2, new SegmentColumnStatsMetadata.ColumnStats("x", "z", null));
+    SegmentZKMetadata segmentZKMetadata0 = new SegmentZKMetadata(segment0);
+    segmentZKMetadata0.setColumnStatsMetadata(new SegmentColumnStatsMetadata(columnStatsMap0));
+    SegmentZKMetadata segmentZKMetadata1 = new SegmentZKMetadata(segment1);
+    segmentZKMetadata1.setColumnStatsMetadata(new SegmentColumnStatsMetadata(columnStatsMap1));
+    List<String> onlineSegments = Arrays.asList(segment0, segment1, segment2);
+    segmentPruner.init(null, null, onlineSegments,
+        Arrays.asList(segmentZKMetadata0.toZNRecord(), segmentZKMetadata1.toZNRecord(), new ZNRecord(segment2)));
+    Set<String> segments = new HashSet<>(onlineSegments);
+
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(QUERY_1), segments), segments);
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE memberId = 5"), segments), new HashSet<>(Arrays.asList(segment0, segment2)));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+            "SELECT * FROM testTable WHERE memberId IN (25, 40)"), segments),
+        new HashSet<>(Arrays.asList(segment1, segment2)));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE memberId > 10"), segments), new HashSet<>(Arrays.asList(segment1, segment2)));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE memberId BETWEEN 10 AND 20"), segments), segments);
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE memberName = 'carol'"), segments), Collections.singleton(segment2));
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+            "SELECT * FROM testTable WHERE memberName = 'bob' OR memberId = 25"), segments), segments);
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+            "SELECT * FROM testTable WHERE memberId = 5 AND memberName = 'carol'"), segments),
+        Collections.singleton(segment2));
+
+    // Segment without column stats refreshed with column stats
+    SegmentZKMetadata segmentZKMetadata2 = new SegmentZKMetadata(segment2);
+    segmentZKMetadata2.setColumnStatsMetadata(new SegmentColumnStatsMetadata(
+        Collections.singletonMap(PARTITION_COLUMN_1, new SegmentColumnStatsMetadata.ColumnStats("100", "200", null))));
+    segmentPruner.refreshSegment(segment2, segmentZKMetadata2.toZNRecord());
+    assertEquals(segmentPruner.prune(CalciteSqlCompiler.compileToBrokerRequest(
+        "SELECT * FROM testTable WHERE memberId = 5"), segments), Collections.singleton(segment0));
+  }
+
   private void setSchemaDateTimeFieldSpec(String rawTableName, TimeUnit timeUnit) {
     ZKMetadataProvider.setSchema(_propertyStore, new Schema.SchemaBuilder().setSchemaName(rawTableName)
         .addDateTime(TIME_COLUMN, FieldSpec.DataType.LONG, "1:" + timeUnit + ":EPOCH", "1:" + timeUnit).build());
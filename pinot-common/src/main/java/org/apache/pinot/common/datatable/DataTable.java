@@ -21,6 +21,7 @@ package org.apache.pinot.common.datatable;
 import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -49,6 +50,16 @@ public interface DataTable {
   byte[] toBytes()
       throws IOException;
 
+  /**
+   * Serializes the data table into a sequence of buffers whose concatenation equals {@link #toBytes()}. Large sections
+   * can be returned as views of the in-memory data instead of being copied into a single array, so that the caller
+   * (e.g. the Netty transport) can send them as a composite buffer.
+   */
+  default ByteBuffer[] toByteBuffers()
+      throws IOException {
+    return new ByteBuffer[]{ByteBuffer.wrap(toBytes())};
+  }
+
   Map<String, String> getMetadata();
 
   DataSchema getDataSchema();
@@ -134,11 +145,13 @@ public interface DataTable {
     OPERATOR_EXECUTION_TIME_MS(30, "operatorExecutionTimeMs", MetadataValueType.LONG),
     OPERATOR_ID(31, "operatorId", MetadataValueType.STRING),
     OPERATOR_EXEC_START_TIME_MS(32, "operatorExecStartTimeMs", MetadataValueType.LONG),
-    OPERATOR_EXEC_END_TIME_MS(33, "operatorExecEndTimeMs", MetadataValueType.LONG);
+    OPERATOR_EXEC_END_TIME_MS(33, "operatorExecEndTimeMs", MetadataValueType.LONG),
+    WORKER_THREAD_TOTAL_BUSY_TIME_NS(34, "workerThreadTotalBusyTimeNs", MetadataValueType.LONG),
+    WORKER_THREAD_MAX_BUSY_TIME_NS(35, "workerThreadMaxBusyTimeNs", MetadataValueType.LONG);
 
     // We keep this constant to track the max id added so far for backward compatibility.
     // Increase it when adding new keys, but NEVER DECREASE IT!!!
-    private static final int MAX_ID = 33;
+    private static final int MAX_ID = 35;
 
     private static final MetadataKey[] ID_TO_ENUM_KEY_MAP = new MetadataKey[MAX_ID + 1];
     private static final Map<String, MetadataKey> NAME_TO_ENUM_KEY_MAP = new HashMap<>();
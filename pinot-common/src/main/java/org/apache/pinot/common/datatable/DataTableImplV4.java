@@ -374,11 +374,31 @@ public class DataTableImplV4 implements DataTable {
   @Override
   public byte[] toBytes()
       throws IOException {
+    ByteBuffer[] byteBuffers = toByteBuffers();
+    int size = 0;
+    for (ByteBuffer byteBuffer : byteBuffers) {
+      size += byteBuffer.remaining();
+    }
+    byte[] bytes = new byte[size];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    for (ByteBuffer byteBuffer : byteBuffers) {
+      buffer.put(byteBuffer);
+    }
+    return bytes;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Returns the header together with the exceptions, dictionary and data schema sections as one buffer, followed by
+   * the fixed size data and variable size data wrapped without copying, and the metadata section.
+   */
+  @Override
+  public ByteBuffer[] toByteBuffers()
+      throws IOException {
     ThreadResourceUsageProvider threadTimer = new ThreadResourceUsageProvider();
 
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-    DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
-    writeLeadingSections(dataOutputStream);
+    byte[] leadingSectionsBytes = serializeLeadingSections();
 
     // Add table serialization time metadata if thread timer is enabled.
     if (ThreadResourceUsageProvider.isThreadCpuTimeMeasurementEnabled()) {
@@ -390,84 +410,76 @@ public class DataTableImplV4 implements DataTable {
     // NOTE: We ignore metadata serialization time in "responseSerializationCpuTimeNs" as it's negligible while
     // considering it will bring a lot code complexity.
     byte[] metadataBytes = serializeMetadata();
-    dataOutputStream.writeInt(metadataBytes.length);
-    dataOutputStream.write(metadataBytes);
+    ByteBuffer metadataBuffer = ByteBuffer.allocate(Integer.BYTES + metadataBytes.length);
+    metadataBuffer.putInt(metadataBytes.length);
+    metadataBuffer.put(metadataBytes);
+    metadataBuffer.flip();
 
-    return byteArrayOutputStream.toByteArray();
+    return new ByteBuffer[]{
+        ByteBuffer.wrap(leadingSectionsBytes),
+        _fixedSizeDataBytes != null ? ByteBuffer.wrap(_fixedSizeDataBytes) : ByteBuffer.allocate(0),
+        _variableSizeDataBytes != null ? ByteBuffer.wrap(_variableSizeDataBytes) : ByteBuffer.allocate(0),
+        metadataBuffer
+    };
   }
 
-  private void writeLeadingSections(DataOutputStream dataOutputStream)
+  /**
+   * Serializes the version, the header and the sections preceding the fixed size data (exceptions, dictionary and data
+   * schema). The fixed size data and variable size data are not copied so that they can be sent as they are.
+   */
+  private byte[] serializeLeadingSections()
       throws IOException {
-    dataOutputStream.writeInt(getVersion());
-    dataOutputStream.writeInt(_numRows);
-    dataOutputStream.writeInt(_numColumns);
+    byte[] exceptionsBytes = serializeExceptions();
+    byte[] dictionaryBytes = _stringDictionary != null ? serializeStringDictionary() : null;
+    byte[] dataSchemaBytes = _dataSchema != null ? _dataSchema.toBytes() : null;
+    int dictionaryLength = dictionaryBytes != null ? dictionaryBytes.length : 0;
+    int dataSchemaLength = dataSchemaBytes != null ? dataSchemaBytes.length : 0;
+    int fixedSizeDataLength = _fixedSizeDataBytes != null ? _fixedSizeDataBytes.length : 0;
+    int variableSizeDataLength = _variableSizeDataBytes != null ? _variableSizeDataBytes.length : 0;
+
+    ByteBuffer byteBuffer = ByteBuffer.allocate(HEADER_SIZE + exceptionsBytes.length + dictionaryLength
+        + dataSchemaLength);
+    byteBuffer.putInt(getVersion());
+    byteBuffer.putInt(_numRows);
+    byteBuffer.putInt(_numColumns);
     int dataOffset = HEADER_SIZE;
 
     // Write exceptions section offset(START|SIZE).
-    dataOutputStream.writeInt(dataOffset);
-    byte[] exceptionsBytes;
-    exceptionsBytes = serializeExceptions();
-    dataOutputStream.writeInt(exceptionsBytes.length);
+    byteBuffer.putInt(dataOffset);
+    byteBuffer.putInt(exceptionsBytes.length);
     dataOffset += exceptionsBytes.length;
 
     // Write dictionary map section offset(START|SIZE).
-    dataOutputStream.writeInt(dataOffset);
-    byte[] dictionaryBytes = null;
-    if (_stringDictionary != null) {
-      dictionaryBytes = serializeStringDictionary();
-      dataOutputStream.writeInt(dictionaryBytes.length);
-      dataOffset += dictionaryBytes.length;
-    } else {
-      dataOutputStream.writeInt(0);
-    }
+    byteBuffer.putInt(dataOffset);
+    byteBuffer.putInt(dictionaryLength);
+    dataOffset += dictionaryLength;
 
     // Write data schema section offset(START|SIZE).
-    dataOutputStream.writeInt(dataOffset);
-    byte[] dataSchemaBytes = null;
-    if (_dataSchema != null) {
-      dataSchemaBytes = _dataSchema.toBytes();
-      dataOutputStream.writeInt(dataSchemaBytes.length);
-      dataOffset += dataSchemaBytes.length;
-    } else {
-      dataOutputStream.writeInt(0);
-    }
+    byteBuffer.putInt(dataOffset);
+    byteBuffer.putInt(dataSchemaLength);
+    dataOffset += dataSchemaLength;
 
     // Write fixed size data section offset(START|SIZE).
-    dataOutputStream.writeInt(dataOffset);
-    if (_fixedSizeDataBytes != null) {
-      dataOutputStream.writeInt(_fixedSizeDataBytes.length);
-      dataOffset += _fixedSizeDataBytes.length;
-    } else {
-      dataOutputStream.writeInt(0);
-    }
+    byteBuffer.putInt(dataOffset);
+    byteBuffer.putInt(fixedSizeDataLength);
+    dataOffset += fixedSizeDataLength;
 
     // Write variable size data section offset(START|SIZE).
-    dataOutputStream.writeInt(dataOffset);
-    if (_variableSizeDataBytes != null) {
-      dataOutputStream.writeInt(_variableSizeDataBytes.length);
-    } else {
-      dataOutputStream.writeInt(0);
-    }
+    byteBuffer.putInt(dataOffset);
+    byteBuffer.putInt(variableSizeDataLength);
 
     // Write actual data.
     // Write exceptions bytes.
-    dataOutputStream.write(exceptionsBytes);
+    byteBuffer.put(exceptionsBytes);
     // Write dictionary map bytes.
     if (dictionaryBytes != null) {
-      dataOutputStream.write(dictionaryBytes);
+      byteBuffer.put(dictionaryBytes);
     }
     // Write data schema bytes.
     if (dataSchemaBytes != null) {
-      dataOutputStream.write(dataSchemaBytes);
-    }
-    // Write fixed size data bytes.
-    if (_fixedSizeDataBytes != null) {
-      dataOutputStream.write(_fixedSizeDataBytes);
-    }
-    // Write variable size data bytes.
-    if (_variableSizeDataBytes != null) {
-      dataOutputStream.write(_variableSizeDataBytes);
+      byteBuffer.put(dataSchemaBytes);
     }
+    return byteBuffer.array();
   }
 
   /**
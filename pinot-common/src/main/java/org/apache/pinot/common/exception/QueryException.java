@@ -60,6 +60,7 @@ public class QueryException {
   public static final int SERVER_OUT_OF_CAPACITY_ERROR_CODE = 211;
   public static final int SERVER_TABLE_MISSING_ERROR_CODE = 230;
   public static final int SERVER_SEGMENT_MISSING_ERROR_CODE = 235;
+  public static final int SEGMENT_DICTIONARY_MISMATCH_ERROR_CODE = 236;
   public static final int QUERY_SCHEDULING_TIMEOUT_ERROR_CODE = 240;
   public static final int EXECUTION_TIMEOUT_ERROR_CODE = 250;
   public static final int DATA_TABLE_SERIALIZATION_ERROR_CODE = 260;
@@ -103,6 +104,8 @@ public class QueryException {
       new ProcessingException(SERVER_TABLE_MISSING_ERROR_CODE);
   public static final ProcessingException SERVER_SEGMENT_MISSING_ERROR =
       new ProcessingException(SERVER_SEGMENT_MISSING_ERROR_CODE);
+  public static final ProcessingException SEGMENT_DICTIONARY_MISMATCH_ERROR =
+      new ProcessingException(SEGMENT_DICTIONARY_MISMATCH_ERROR_CODE);
   public static final ProcessingException QUERY_SCHEDULING_TIMEOUT_ERROR =
       new ProcessingException(QUERY_SCHEDULING_TIMEOUT_ERROR_CODE);
   public static final ProcessingException EXECUTION_TIMEOUT_ERROR =
@@ -146,6 +149,7 @@ public class QueryException {
     SERVER_OUT_OF_CAPACITY_ERROR.setMessage("ServerOutOfCapacity");
     SERVER_TABLE_MISSING_ERROR.setMessage("ServerTableMissing");
     SERVER_SEGMENT_MISSING_ERROR.setMessage("ServerSegmentMissing");
+    SEGMENT_DICTIONARY_MISMATCH_ERROR.setMessage("SegmentDictionaryMismatch");
     QUERY_SCHEDULING_TIMEOUT_ERROR.setMessage("QuerySchedulingTimeoutError");
     EXECUTION_TIMEOUT_ERROR.setMessage("ExecutionTimeoutError");
     DATA_TABLE_DESERIALIZATION_ERROR.setMessage("DataTableSerializationError");
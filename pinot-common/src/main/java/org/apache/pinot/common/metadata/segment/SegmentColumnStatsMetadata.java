@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.common.metadata.segment;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.apache.pinot.spi.utils.JsonUtils;
+
+
+/**
+ * Class for the column stats metadata (min/max value and bloom filter summary) for a segment, which is stored in the
+ * segment ZK metadata and used by the broker to prune segments before routing the query.
+ */
+@SuppressWarnings("unused") // Suppress incorrect warning, as methods are used for json ser/de.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SegmentColumnStatsMetadata {
+  private final Map<String, ColumnStats> _columnStatsMap;
+
+  public SegmentColumnStatsMetadata(@JsonProperty("columnStatsMap") Map<String, ColumnStats> columnStatsMap) {
+    Preconditions.checkNotNull(columnStatsMap);
+    _columnStatsMap = columnStatsMap;
+  }
+
+  /**
+   * Returns the map from column name to the column's stats.
+   */
+  public Map<String, ColumnStats> getColumnStatsMap() {
+    return _columnStatsMap;
+  }
+
+  public static SegmentColumnStatsMetadata fromJsonString(String jsonString)
+      throws IOException {
+    return JsonUtils.stringToObject(jsonString, SegmentColumnStatsMetadata.class);
+  }
+
+  public String toJsonString()
+      throws IOException {
+    return JsonUtils.objectToString(this);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SegmentColumnStatsMetadata that = (SegmentColumnStatsMetadata) o;
+    return _columnStatsMap.equals(that._columnStatsMap);
+  }
+
+  @Override
+  public int hashCode() {
+    return _columnStatsMap.hashCode();
+  }
+
+  /**
+   * Stats for a column. The min/max values are stored as strings in the same format as in the segment metadata, and
+   * the bloom summary is the Base64 encoded bloom filter on the string representation of the column values.
+   */
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class ColumnStats {
+    private final String _minValue;
+    private final String _maxValue;
+    private final String _bloomSummary;
+
+    public ColumnStats(@JsonProperty("minValue") @Nullable String minValue,
+        @JsonProperty("maxValue") @Nullable String maxValue,
+        @JsonProperty("bloomSummary") @Nullable String bloomSummary) {
+      _minValue = minValue;
+      _maxValue = maxValue;
+      _bloomSummary = bloomSummary;
+    }
+
+    @Nullable
+    public String getMinValue() {
+      return _minValue;
+    }
+
+    @Nullable
+    public String getMaxValue() {
+      return _maxValue;
+    }
+
+    @Nullable
+    public String getBloomSummary() {
+      return _bloomSummary;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ColumnStats that = (ColumnStats) o;
+      return Objects.equals(_minValue, that._minValue) && Objects.equals(_maxValue, that._maxValue) && Objects.equals(
+          _bloomSummary, that._bloomSummary);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(_minValue, _maxValue, _bloomSummary);
+    }
+  }
+}
@@ -250,6 +250,30 @@ public class SegmentZKMetadata implements ZKMetadata {
     }
   }
 
+  public SegmentColumnStatsMetadata getColumnStatsMetadata() {
+    String columnStatsMetadataJson = _simpleFields.get(Segment.COLUMN_STATS_METADATA);
+    if (columnStatsMetadataJson != null) {
+      try {
+        return SegmentColumnStatsMetadata.fromJsonString(columnStatsMetadataJson);
+      } catch (Exception e) {
+        LOGGER.error("Caught exception while reading column stats metadata for segment: {}", getSegmentName(), e);
+      }
+    }
+    return null;
+  }
+
+  public void setColumnStatsMetadata(SegmentColumnStatsMetadata columnStatsMetadata) {
+    if (columnStatsMetadata != null) {
+      try {
+        _simpleFields.put(Segment.COLUMN_STATS_METADATA, columnStatsMetadata.toJsonString());
+      } catch (Exception e) {
+        LOGGER.error("Caught exception while writing column stats metadata for segment: {}", getSegmentName(), e);
+      }
+    } else {
+      _simpleFields.remove(Segment.COLUMN_STATS_METADATA);
+    }
+  }
+
   public Map<String, String> getCustomMap() {
     return _znRecord.getMapField(Segment.CUSTOM_MAP);
   }
@@ -319,6 +343,14 @@ public class SegmentZKMetadata implements ZKMetadata {
     setNonNegativeValue(Segment.Realtime.NUM_REPLICAS, numReplicas);
   }
 
+  public long getConsumingMinTimeMs() {
+    return _znRecord.getLongField(Segment.Realtime.CONSUMING_MIN_TIME_MS, -1);
+  }
+
+  public void setConsumingMinTimeMs(long consumingMinTimeMs) {
+    setNonNegativeValue(Segment.Realtime.CONSUMING_MIN_TIME_MS, consumingMinTimeMs);
+  }
+
   /* FOR PARALLEL PUSH PROTECTION */
 
   public long getSegmentUploadStartTime() {
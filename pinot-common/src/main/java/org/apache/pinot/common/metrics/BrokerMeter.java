@@ -96,6 +96,10 @@ public enum BrokerMeter implements AbstractMetrics.Meter {
   NETTY_CONNECTION_BYTES_SENT("nettyConnection", true),
   NETTY_CONNECTION_BYTES_RECEIVED("nettyConnection", true),
 
+  // Hedged request metrics
+  HEDGED_REQUESTS_SENT("requests", true),
+  HEDGED_REQUESTS_WON("requests", true),
+
   PROACTIVE_CLUSTER_CHANGE_CHECK("proactiveClusterChangeCheck", true);
 
   private final String _brokerMeterName;
@@ -46,6 +46,9 @@ public enum ServerGauge implements AbstractMetrics.Gauge {
   DEDUP_PRIMARY_KEYS_COUNT("dedupPrimaryKeysCount", false),
   CONSUMPTION_QUOTA_UTILIZATION("ratio", false),
   JVM_HEAP_USED_BYTES("bytes", true),
+  // Decompressed chunk cache metrics
+  DECOMPRESSED_CHUNK_CACHE_SIZE_BYTES("bytes", true),
+  DECOMPRESSED_CHUNK_CACHE_HIT_RATE_PERCENT("percent", true),
   // Ingestion delay metrics
   REALTIME_INGESTION_DELAY_MS("milliseconds", false),
   END_TO_END_REALTIME_INGESTION_DELAY_MS("milliseconds", false);
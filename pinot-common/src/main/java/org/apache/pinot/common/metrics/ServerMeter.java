@@ -100,7 +100,12 @@ public enum ServerMeter implements AbstractMetrics.Meter {
 
   NUM_SEGMENTS_PRUNED_INVALID("numSegmentsPrunedInvalid", false),
   NUM_SEGMENTS_PRUNED_BY_LIMIT("numSegmentsPrunedByLimit", false),
-  NUM_SEGMENTS_PRUNED_BY_VALUE("numSegmentsPrunedByValue", false),;
+  NUM_SEGMENTS_PRUNED_BY_VALUE("numSegmentsPrunedByValue", false),
+  // Blocks of matching documents whose forward index pages were (not) prefetched before being projected
+  FORWARD_INDEX_PREFETCH_HITS("blocks", true),
+  FORWARD_INDEX_PREFETCH_MISSES("blocks", true),
+  SCHEDULER_GROUP_CPU_TIME_NS("nanoseconds", false, "Thread CPU time charged to the scheduler group (table by default) "
+      + "by the CPU share query scheduler. The rate is the number of CPU cores used by the group.");
 
   private final String _meterName;
   private final String _unit;
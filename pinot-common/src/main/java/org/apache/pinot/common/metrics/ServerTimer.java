@@ -46,6 +46,16 @@ public enum ServerTimer implements AbstractMetrics.Timer {
 
   SEGMENT_UPLOAD_TIME_MS("milliseconds", false),
 
+  SCHEDULER_GROUP_QUEUE_TIME_MS("milliseconds", false, "Time spent by the queries of the scheduler group (table by "
+      + "default) waiting in the CPU share query scheduler queue."),
+
+  WORKER_THREAD_TOTAL_BUSY_TIME_NS("nanoseconds", false, "Total wall time spent by all the worker threads "
+      + "processing segments for a query on server."),
+
+  WORKER_THREAD_MAX_BUSY_TIME_NS("nanoseconds", false, "Wall time spent by the slowest worker thread processing "
+      + "segments for a query on server. A max busy time much higher than the average busy time indicates straggler "
+      + "segments."),
+
   TOTAL_CPU_TIME_NS("nanoseconds", false, "Total query cost (thread cpu time + system "
       + "activities cpu time + response serialization cpu time) for query processing on server.");
 
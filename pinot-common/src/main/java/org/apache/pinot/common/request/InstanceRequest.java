@@ -25,7 +25,7 @@
 package org.apache.pinot.common.request;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked", "unused"})
-@javax.annotation.Generated(value = "Autogenerated by Thrift Compiler (0.15.0)", date = "2022-05-02")
+@javax.annotation.Generated(value = "Autogenerated by Thrift Compiler (0.15.0)", date = "2026-10-19")
 public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest, InstanceRequest._Fields>, java.io.Serializable, Cloneable, Comparable<InstanceRequest> {
   private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("InstanceRequest");
 
@@ -34,6 +34,10 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
   private static final org.apache.thrift.protocol.TField SEARCH_SEGMENTS_FIELD_DESC = new org.apache.thrift.protocol.TField("searchSegments", org.apache.thrift.protocol.TType.LIST, (short)3);
   private static final org.apache.thrift.protocol.TField ENABLE_TRACE_FIELD_DESC = new org.apache.thrift.protocol.TField("enableTrace", org.apache.thrift.protocol.TType.BOOL, (short)4);
   private static final org.apache.thrift.protocol.TField BROKER_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("brokerId", org.apache.thrift.protocol.TType.STRING, (short)5);
+  private static final org.apache.thrift.protocol.TField SEGMENT_DICTIONARY_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("segmentDictionaryId", org.apache.thrift.protocol.TType.I64, (short)6);
+  private static final org.apache.thrift.protocol.TField SEGMENT_DICTIONARY_OFFSET_FIELD_DESC = new org.apache.thrift.protocol.TField("segmentDictionaryOffset", org.apache.thrift.protocol.TType.I32, (short)7);
+  private static final org.apache.thrift.protocol.TField NEW_SEGMENT_NAMES_FIELD_DESC = new org.apache.thrift.protocol.TField("newSegmentNames", org.apache.thrift.protocol.TType.LIST, (short)8);
+  private static final org.apache.thrift.protocol.TField SEARCH_SEGMENT_ORDINALS_FIELD_DESC = new org.apache.thrift.protocol.TField("searchSegmentOrdinals", org.apache.thrift.protocol.TType.STRING, (short)9);
 
   private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new InstanceRequestStandardSchemeFactory();
   private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new InstanceRequestTupleSchemeFactory();
@@ -43,6 +47,10 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
   public @org.apache.thrift.annotation.Nullable java.util.List<java.lang.String> searchSegments; // optional
   public boolean enableTrace; // optional
   public @org.apache.thrift.annotation.Nullable java.lang.String brokerId; // optional
+  public long segmentDictionaryId; // optional
+  public int segmentDictionaryOffset; // optional
+  public @org.apache.thrift.annotation.Nullable java.util.List<java.lang.String> newSegmentNames; // optional
+  public @org.apache.thrift.annotation.Nullable java.nio.ByteBuffer searchSegmentOrdinals; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
@@ -50,7 +58,11 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     QUERY((short)2, "query"),
     SEARCH_SEGMENTS((short)3, "searchSegments"),
     ENABLE_TRACE((short)4, "enableTrace"),
-    BROKER_ID((short)5, "brokerId");
+    BROKER_ID((short)5, "brokerId"),
+    SEGMENT_DICTIONARY_ID((short)6, "segmentDictionaryId"),
+    SEGMENT_DICTIONARY_OFFSET((short)7, "segmentDictionaryOffset"),
+    NEW_SEGMENT_NAMES((short)8, "newSegmentNames"),
+    SEARCH_SEGMENT_ORDINALS((short)9, "searchSegmentOrdinals");
 
     private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
 
@@ -76,6 +88,14 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
           return ENABLE_TRACE;
         case 5: // BROKER_ID
           return BROKER_ID;
+        case 6: // SEGMENT_DICTIONARY_ID
+          return SEGMENT_DICTIONARY_ID;
+        case 7: // SEGMENT_DICTIONARY_OFFSET
+          return SEGMENT_DICTIONARY_OFFSET;
+        case 8: // NEW_SEGMENT_NAMES
+          return NEW_SEGMENT_NAMES;
+        case 9: // SEARCH_SEGMENT_ORDINALS
+          return SEARCH_SEGMENT_ORDINALS;
         default:
           return null;
       }
@@ -119,8 +139,10 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
   // isset id assignments
   private static final int __REQUESTID_ISSET_ID = 0;
   private static final int __ENABLETRACE_ISSET_ID = 1;
+  private static final int __SEGMENTDICTIONARYID_ISSET_ID = 2;
+  private static final int __SEGMENTDICTIONARYOFFSET_ISSET_ID = 3;
   private byte __isset_bitfield = 0;
-  private static final _Fields optionals[] = {_Fields.SEARCH_SEGMENTS,_Fields.ENABLE_TRACE,_Fields.BROKER_ID};
+  private static final _Fields optionals[] = {_Fields.SEARCH_SEGMENTS,_Fields.ENABLE_TRACE,_Fields.BROKER_ID,_Fields.SEGMENT_DICTIONARY_ID,_Fields.SEGMENT_DICTIONARY_OFFSET,_Fields.NEW_SEGMENT_NAMES,_Fields.SEARCH_SEGMENT_ORDINALS};
   public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -135,6 +157,15 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.BOOL)));
     tmpMap.put(_Fields.BROKER_ID, new org.apache.thrift.meta_data.FieldMetaData("brokerId", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.SEGMENT_DICTIONARY_ID, new org.apache.thrift.meta_data.FieldMetaData("segmentDictionaryId", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I64)));
+    tmpMap.put(_Fields.SEGMENT_DICTIONARY_OFFSET, new org.apache.thrift.meta_data.FieldMetaData("segmentDictionaryOffset", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+    tmpMap.put(_Fields.NEW_SEGMENT_NAMES, new org.apache.thrift.meta_data.FieldMetaData("newSegmentNames", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+            new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING))));
+    tmpMap.put(_Fields.SEARCH_SEGMENT_ORDINALS, new org.apache.thrift.meta_data.FieldMetaData("searchSegmentOrdinals", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING        , true)));
     metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(InstanceRequest.class, metaDataMap);
   }
@@ -169,6 +200,15 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     if (other.isSetBrokerId()) {
       this.brokerId = other.brokerId;
     }
+    this.segmentDictionaryId = other.segmentDictionaryId;
+    this.segmentDictionaryOffset = other.segmentDictionaryOffset;
+    if (other.isSetNewSegmentNames()) {
+      java.util.List<java.lang.String> __this__newSegmentNames = new java.util.ArrayList<java.lang.String>(other.newSegmentNames);
+      this.newSegmentNames = __this__newSegmentNames;
+    }
+    if (other.isSetSearchSegmentOrdinals()) {
+      this.searchSegmentOrdinals = org.apache.thrift.TBaseHelper.copyBinary(other.searchSegmentOrdinals);
+    }
   }
 
   public InstanceRequest deepCopy() {
@@ -184,6 +224,12 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     setEnableTraceIsSet(false);
     this.enableTrace = false;
     this.brokerId = null;
+    setSegmentDictionaryIdIsSet(false);
+    this.segmentDictionaryId = 0;
+    setSegmentDictionaryOffsetIsSet(false);
+    this.segmentDictionaryOffset = 0;
+    this.newSegmentNames = null;
+    this.searchSegmentOrdinals = null;
   }
 
   public long getRequestId() {
@@ -323,6 +369,127 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     }
   }
 
+  public long getSegmentDictionaryId() {
+    return this.segmentDictionaryId;
+  }
+
+  public InstanceRequest setSegmentDictionaryId(long segmentDictionaryId) {
+    this.segmentDictionaryId = segmentDictionaryId;
+    setSegmentDictionaryIdIsSet(true);
+    return this;
+  }
+
+  public void unsetSegmentDictionaryId() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SEGMENTDICTIONARYID_ISSET_ID);
+  }
+
+  /** Returns true if field segmentDictionaryId is set (has been assigned a value) and false otherwise */
+  public boolean isSetSegmentDictionaryId() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SEGMENTDICTIONARYID_ISSET_ID);
+  }
+
+  public void setSegmentDictionaryIdIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SEGMENTDICTIONARYID_ISSET_ID, value);
+  }
+
+  public int getSegmentDictionaryOffset() {
+    return this.segmentDictionaryOffset;
+  }
+
+  public InstanceRequest setSegmentDictionaryOffset(int segmentDictionaryOffset) {
+    this.segmentDictionaryOffset = segmentDictionaryOffset;
+    setSegmentDictionaryOffsetIsSet(true);
+    return this;
+  }
+
+  public void unsetSegmentDictionaryOffset() {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __SEGMENTDICTIONARYOFFSET_ISSET_ID);
+  }
+
+  /** Returns true if field segmentDictionaryOffset is set (has been assigned a value) and false otherwise */
+  public boolean isSetSegmentDictionaryOffset() {
+    return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __SEGMENTDICTIONARYOFFSET_ISSET_ID);
+  }
+
+  public void setSegmentDictionaryOffsetIsSet(boolean value) {
+    __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __SEGMENTDICTIONARYOFFSET_ISSET_ID, value);
+  }
+
+  public int getNewSegmentNamesSize() {
+    return (this.newSegmentNames == null) ? 0 : this.newSegmentNames.size();
+  }
+
+  @org.apache.thrift.annotation.Nullable
+  public java.util.Iterator<java.lang.String> getNewSegmentNamesIterator() {
+    return (this.newSegmentNames == null) ? null : this.newSegmentNames.iterator();
+  }
+
+  public void addToNewSegmentNames(java.lang.String elem) {
+    if (this.newSegmentNames == null) {
+      this.newSegmentNames = new java.util.ArrayList<java.lang.String>();
+    }
+    this.newSegmentNames.add(elem);
+  }
+
+  @org.apache.thrift.annotation.Nullable
+  public java.util.List<java.lang.String> getNewSegmentNames() {
+    return this.newSegmentNames;
+  }
+
+  public InstanceRequest setNewSegmentNames(@org.apache.thrift.annotation.Nullable java.util.List<java.lang.String> newSegmentNames) {
+    this.newSegmentNames = newSegmentNames;
+    return this;
+  }
+
+  public void unsetNewSegmentNames() {
+    this.newSegmentNames = null;
+  }
+
+  /** Returns true if field newSegmentNames is set (has been assigned a value) and false otherwise */
+  public boolean isSetNewSegmentNames() {
+    return this.newSegmentNames != null;
+  }
+
+  public void setNewSegmentNamesIsSet(boolean value) {
+    if (!value) {
+      this.newSegmentNames = null;
+    }
+  }
+
+  public byte[] getSearchSegmentOrdinals() {
+    setSearchSegmentOrdinals(org.apache.thrift.TBaseHelper.rightSize(searchSegmentOrdinals));
+    return searchSegmentOrdinals == null ? null : searchSegmentOrdinals.array();
+  }
+
+  public java.nio.ByteBuffer bufferForSearchSegmentOrdinals() {
+    return org.apache.thrift.TBaseHelper.copyBinary(searchSegmentOrdinals);
+  }
+
+  public InstanceRequest setSearchSegmentOrdinals(byte[] searchSegmentOrdinals) {
+    this.searchSegmentOrdinals = searchSegmentOrdinals == null ? (java.nio.ByteBuffer)null   : java.nio.ByteBuffer.wrap(searchSegmentOrdinals.clone());
+    return this;
+  }
+
+  public InstanceRequest setSearchSegmentOrdinals(@org.apache.thrift.annotation.Nullable java.nio.ByteBuffer searchSegmentOrdinals) {
+    this.searchSegmentOrdinals = org.apache.thrift.TBaseHelper.copyBinary(searchSegmentOrdinals);
+    return this;
+  }
+
+  public void unsetSearchSegmentOrdinals() {
+    this.searchSegmentOrdinals = null;
+  }
+
+  /** Returns true if field searchSegmentOrdinals is set (has been assigned a value) and false otherwise */
+  public boolean isSetSearchSegmentOrdinals() {
+    return this.searchSegmentOrdinals != null;
+  }
+
+  public void setSearchSegmentOrdinalsIsSet(boolean value) {
+    if (!value) {
+      this.searchSegmentOrdinals = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
     switch (field) {
     case REQUEST_ID:
@@ -365,6 +532,42 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       }
       break;
 
+    case SEGMENT_DICTIONARY_ID:
+      if (value == null) {
+        unsetSegmentDictionaryId();
+      } else {
+        setSegmentDictionaryId((java.lang.Long)value);
+      }
+      break;
+
+    case SEGMENT_DICTIONARY_OFFSET:
+      if (value == null) {
+        unsetSegmentDictionaryOffset();
+      } else {
+        setSegmentDictionaryOffset((java.lang.Integer)value);
+      }
+      break;
+
+    case NEW_SEGMENT_NAMES:
+      if (value == null) {
+        unsetNewSegmentNames();
+      } else {
+        setNewSegmentNames((java.util.List<java.lang.String>)value);
+      }
+      break;
+
+    case SEARCH_SEGMENT_ORDINALS:
+      if (value == null) {
+        unsetSearchSegmentOrdinals();
+      } else {
+        if (value instanceof byte[]) {
+          setSearchSegmentOrdinals((byte[])value);
+        } else {
+          setSearchSegmentOrdinals((java.nio.ByteBuffer)value);
+        }
+      }
+      break;
+
     }
   }
 
@@ -386,6 +589,18 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     case BROKER_ID:
       return getBrokerId();
 
+    case SEGMENT_DICTIONARY_ID:
+      return getSegmentDictionaryId();
+
+    case SEGMENT_DICTIONARY_OFFSET:
+      return getSegmentDictionaryOffset();
+
+    case NEW_SEGMENT_NAMES:
+      return getNewSegmentNames();
+
+    case SEARCH_SEGMENT_ORDINALS:
+      return getSearchSegmentOrdinals();
+
     }
     throw new java.lang.IllegalStateException();
   }
@@ -407,6 +622,14 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       return isSetEnableTrace();
     case BROKER_ID:
       return isSetBrokerId();
+    case SEGMENT_DICTIONARY_ID:
+      return isSetSegmentDictionaryId();
+    case SEGMENT_DICTIONARY_OFFSET:
+      return isSetSegmentDictionaryOffset();
+    case NEW_SEGMENT_NAMES:
+      return isSetNewSegmentNames();
+    case SEARCH_SEGMENT_ORDINALS:
+      return isSetSearchSegmentOrdinals();
     }
     throw new java.lang.IllegalStateException();
   }
@@ -469,6 +692,42 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
         return false;
     }
 
+    boolean this_present_segmentDictionaryId = true && this.isSetSegmentDictionaryId();
+    boolean that_present_segmentDictionaryId = true && that.isSetSegmentDictionaryId();
+    if (this_present_segmentDictionaryId || that_present_segmentDictionaryId) {
+      if (!(this_present_segmentDictionaryId && that_present_segmentDictionaryId))
+        return false;
+      if (this.segmentDictionaryId != that.segmentDictionaryId)
+        return false;
+    }
+
+    boolean this_present_segmentDictionaryOffset = true && this.isSetSegmentDictionaryOffset();
+    boolean that_present_segmentDictionaryOffset = true && that.isSetSegmentDictionaryOffset();
+    if (this_present_segmentDictionaryOffset || that_present_segmentDictionaryOffset) {
+      if (!(this_present_segmentDictionaryOffset && that_present_segmentDictionaryOffset))
+        return false;
+      if (this.segmentDictionaryOffset != that.segmentDictionaryOffset)
+        return false;
+    }
+
+    boolean this_present_newSegmentNames = true && this.isSetNewSegmentNames();
+    boolean that_present_newSegmentNames = true && that.isSetNewSegmentNames();
+    if (this_present_newSegmentNames || that_present_newSegmentNames) {
+      if (!(this_present_newSegmentNames && that_present_newSegmentNames))
+        return false;
+      if (!this.newSegmentNames.equals(that.newSegmentNames))
+        return false;
+    }
+
+    boolean this_present_searchSegmentOrdinals = true && this.isSetSearchSegmentOrdinals();
+    boolean that_present_searchSegmentOrdinals = true && that.isSetSearchSegmentOrdinals();
+    if (this_present_searchSegmentOrdinals || that_present_searchSegmentOrdinals) {
+      if (!(this_present_searchSegmentOrdinals && that_present_searchSegmentOrdinals))
+        return false;
+      if (!this.searchSegmentOrdinals.equals(that.searchSegmentOrdinals))
+        return false;
+    }
+
     return true;
   }
 
@@ -494,6 +753,22 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
     if (isSetBrokerId())
       hashCode = hashCode * 8191 + brokerId.hashCode();
 
+    hashCode = hashCode * 8191 + ((isSetSegmentDictionaryId()) ? 131071 : 524287);
+    if (isSetSegmentDictionaryId())
+      hashCode = hashCode * 8191 + org.apache.thrift.TBaseHelper.hashCode(segmentDictionaryId);
+
+    hashCode = hashCode * 8191 + ((isSetSegmentDictionaryOffset()) ? 131071 : 524287);
+    if (isSetSegmentDictionaryOffset())
+      hashCode = hashCode * 8191 + segmentDictionaryOffset;
+
+    hashCode = hashCode * 8191 + ((isSetNewSegmentNames()) ? 131071 : 524287);
+    if (isSetNewSegmentNames())
+      hashCode = hashCode * 8191 + newSegmentNames.hashCode();
+
+    hashCode = hashCode * 8191 + ((isSetSearchSegmentOrdinals()) ? 131071 : 524287);
+    if (isSetSearchSegmentOrdinals())
+      hashCode = hashCode * 8191 + searchSegmentOrdinals.hashCode();
+
     return hashCode;
   }
 
@@ -555,6 +830,46 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
         return lastComparison;
       }
     }
+    lastComparison = java.lang.Boolean.compare(isSetSegmentDictionaryId(), other.isSetSegmentDictionaryId());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSegmentDictionaryId()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.segmentDictionaryId, other.segmentDictionaryId);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetSegmentDictionaryOffset(), other.isSetSegmentDictionaryOffset());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSegmentDictionaryOffset()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.segmentDictionaryOffset, other.segmentDictionaryOffset);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetNewSegmentNames(), other.isSetNewSegmentNames());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetNewSegmentNames()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.newSegmentNames, other.newSegmentNames);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = java.lang.Boolean.compare(isSetSearchSegmentOrdinals(), other.isSetSearchSegmentOrdinals());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSearchSegmentOrdinals()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.searchSegmentOrdinals, other.searchSegmentOrdinals);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -613,6 +928,38 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       }
       first = false;
     }
+    if (isSetSegmentDictionaryId()) {
+      if (!first) sb.append(", ");
+      sb.append("segmentDictionaryId:");
+      sb.append(this.segmentDictionaryId);
+      first = false;
+    }
+    if (isSetSegmentDictionaryOffset()) {
+      if (!first) sb.append(", ");
+      sb.append("segmentDictionaryOffset:");
+      sb.append(this.segmentDictionaryOffset);
+      first = false;
+    }
+    if (isSetNewSegmentNames()) {
+      if (!first) sb.append(", ");
+      sb.append("newSegmentNames:");
+      if (this.newSegmentNames == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.newSegmentNames);
+      }
+      first = false;
+    }
+    if (isSetSearchSegmentOrdinals()) {
+      if (!first) sb.append(", ");
+      sb.append("searchSegmentOrdinals:");
+      if (this.searchSegmentOrdinals == null) {
+        sb.append("null");
+      } else {
+        org.apache.thrift.TBaseHelper.toString(this.searchSegmentOrdinals, sb);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -716,6 +1063,48 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 6: // SEGMENT_DICTIONARY_ID
+            if (schemeField.type == org.apache.thrift.protocol.TType.I64) {
+              struct.segmentDictionaryId = iprot.readI64();
+              struct.setSegmentDictionaryIdIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 7: // SEGMENT_DICTIONARY_OFFSET
+            if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+              struct.segmentDictionaryOffset = iprot.readI32();
+              struct.setSegmentDictionaryOffsetIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 8: // NEW_SEGMENT_NAMES
+            if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+              {
+                org.apache.thrift.protocol.TList _list3 = iprot.readListBegin();
+                struct.newSegmentNames = new java.util.ArrayList<java.lang.String>(_list3.size);
+                @org.apache.thrift.annotation.Nullable java.lang.String _elem4;
+                for (int _i5 = 0; _i5 < _list3.size; ++_i5)
+                {
+                  _elem4 = iprot.readString();
+                  struct.newSegmentNames.add(_elem4);
+                }
+                iprot.readListEnd();
+              }
+              struct.setNewSegmentNamesIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 9: // SEARCH_SEGMENT_ORDINALS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.searchSegmentOrdinals = iprot.readBinary();
+              struct.setSearchSegmentOrdinalsIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -747,9 +1136,9 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
           oprot.writeFieldBegin(SEARCH_SEGMENTS_FIELD_DESC);
           {
             oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.searchSegments.size()));
-            for (java.lang.String _iter3 : struct.searchSegments)
+            for (java.lang.String _iter6 : struct.searchSegments)
             {
-              oprot.writeString(_iter3);
+              oprot.writeString(_iter6);
             }
             oprot.writeListEnd();
           }
@@ -768,6 +1157,37 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
           oprot.writeFieldEnd();
         }
       }
+      if (struct.isSetSegmentDictionaryId()) {
+        oprot.writeFieldBegin(SEGMENT_DICTIONARY_ID_FIELD_DESC);
+        oprot.writeI64(struct.segmentDictionaryId);
+        oprot.writeFieldEnd();
+      }
+      if (struct.isSetSegmentDictionaryOffset()) {
+        oprot.writeFieldBegin(SEGMENT_DICTIONARY_OFFSET_FIELD_DESC);
+        oprot.writeI32(struct.segmentDictionaryOffset);
+        oprot.writeFieldEnd();
+      }
+      if (struct.newSegmentNames != null) {
+        if (struct.isSetNewSegmentNames()) {
+          oprot.writeFieldBegin(NEW_SEGMENT_NAMES_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRING, struct.newSegmentNames.size()));
+            for (java.lang.String _iter7 : struct.newSegmentNames)
+            {
+              oprot.writeString(_iter7);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.searchSegmentOrdinals != null) {
+        if (struct.isSetSearchSegmentOrdinals()) {
+          oprot.writeFieldBegin(SEARCH_SEGMENT_ORDINALS_FIELD_DESC);
+          oprot.writeBinary(struct.searchSegmentOrdinals);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -797,13 +1217,25 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       if (struct.isSetBrokerId()) {
         optionals.set(2);
       }
-      oprot.writeBitSet(optionals, 3);
+      if (struct.isSetSegmentDictionaryId()) {
+        optionals.set(3);
+      }
+      if (struct.isSetSegmentDictionaryOffset()) {
+        optionals.set(4);
+      }
+      if (struct.isSetNewSegmentNames()) {
+        optionals.set(5);
+      }
+      if (struct.isSetSearchSegmentOrdinals()) {
+        optionals.set(6);
+      }
+      oprot.writeBitSet(optionals, 7);
       if (struct.isSetSearchSegments()) {
         {
           oprot.writeI32(struct.searchSegments.size());
-          for (java.lang.String _iter4 : struct.searchSegments)
+          for (java.lang.String _iter8 : struct.searchSegments)
           {
-            oprot.writeString(_iter4);
+            oprot.writeString(_iter8);
           }
         }
       }
@@ -813,6 +1245,24 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       if (struct.isSetBrokerId()) {
         oprot.writeString(struct.brokerId);
       }
+      if (struct.isSetSegmentDictionaryId()) {
+        oprot.writeI64(struct.segmentDictionaryId);
+      }
+      if (struct.isSetSegmentDictionaryOffset()) {
+        oprot.writeI32(struct.segmentDictionaryOffset);
+      }
+      if (struct.isSetNewSegmentNames()) {
+        {
+          oprot.writeI32(struct.newSegmentNames.size());
+          for (java.lang.String _iter9 : struct.newSegmentNames)
+          {
+            oprot.writeString(_iter9);
+          }
+        }
+      }
+      if (struct.isSetSearchSegmentOrdinals()) {
+        oprot.writeBinary(struct.searchSegmentOrdinals);
+      }
     }
 
     @Override
@@ -823,16 +1273,16 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
       struct.query = new BrokerRequest();
       struct.query.read(iprot);
       struct.setQueryIsSet(true);
-      java.util.BitSet incoming = iprot.readBitSet(3);
+      java.util.BitSet incoming = iprot.readBitSet(7);
       if (incoming.get(0)) {
         {
-          org.apache.thrift.protocol.TList _list5 = iprot.readListBegin(org.apache.thrift.protocol.TType.STRING);
-          struct.searchSegments = new java.util.ArrayList<java.lang.String>(_list5.size);
-          @org.apache.thrift.annotation.Nullable java.lang.String _elem6;
-          for (int _i7 = 0; _i7 < _list5.size; ++_i7)
+          org.apache.thrift.protocol.TList _list10 = iprot.readListBegin(org.apache.thrift.protocol.TType.STRING);
+          struct.searchSegments = new java.util.ArrayList<java.lang.String>(_list10.size);
+          @org.apache.thrift.annotation.Nullable java.lang.String _elem11;
+          for (int _i12 = 0; _i12 < _list10.size; ++_i12)
           {
-            _elem6 = iprot.readString();
-            struct.searchSegments.add(_elem6);
+            _elem11 = iprot.readString();
+            struct.searchSegments.add(_elem11);
           }
         }
         struct.setSearchSegmentsIsSet(true);
@@ -845,6 +1295,31 @@ public class InstanceRequest implements org.apache.thrift.TBase<InstanceRequest,
         struct.brokerId = iprot.readString();
         struct.setBrokerIdIsSet(true);
       }
+      if (incoming.get(3)) {
+        struct.segmentDictionaryId = iprot.readI64();
+        struct.setSegmentDictionaryIdIsSet(true);
+      }
+      if (incoming.get(4)) {
+        struct.segmentDictionaryOffset = iprot.readI32();
+        struct.setSegmentDictionaryOffsetIsSet(true);
+      }
+      if (incoming.get(5)) {
+        {
+          org.apache.thrift.protocol.TList _list13 = iprot.readListBegin(org.apache.thrift.protocol.TType.STRING);
+          struct.newSegmentNames = new java.util.ArrayList<java.lang.String>(_list13.size);
+          @org.apache.thrift.annotation.Nullable java.lang.String _elem14;
+          for (int _i15 = 0; _i15 < _list13.size; ++_i15)
+          {
+            _elem14 = iprot.readString();
+            struct.newSegmentNames.add(_elem14);
+          }
+        }
+        struct.setNewSegmentNamesIsSet(true);
+      }
+      if (incoming.get(6)) {
+        struct.searchSegmentOrdinals = iprot.readBinary();
+        struct.setSearchSegmentOrdinalsIsSet(true);
+      }
     }
   }
 
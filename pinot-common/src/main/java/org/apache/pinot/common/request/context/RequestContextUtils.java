@@ -37,6 +37,7 @@ import org.apache.pinot.common.request.context.predicate.RangePredicate;
 import org.apache.pinot.common.request.context.predicate.RegexpLikePredicate;
 import org.apache.pinot.common.request.context.predicate.TextContainsPredicate;
 import org.apache.pinot.common.request.context.predicate.TextMatchPredicate;
+import org.apache.pinot.common.request.context.predicate.VectorSimilarityPredicate;
 import org.apache.pinot.common.utils.RegexpPatternConverterUtils;
 import org.apache.pinot.common.utils.request.RequestUtils;
 import org.apache.pinot.segment.spi.AggregationFunctionType;
@@ -215,6 +216,16 @@ public class RequestContextUtils {
       case JSON_MATCH:
         return new FilterContext(FilterContext.Type.PREDICATE, null,
             new JsonMatchPredicate(getExpression(operands.get(0)), getStringValue(operands.get(1))));
+      case VECTOR_SIMILARITY:
+        List<Expression> vectorOperands = operands.get(1).getFunctionCall().getOperands();
+        float[] vector = new float[vectorOperands.size()];
+        for (int i = 0; i < vector.length; i++) {
+          vector[i] = Float.parseFloat(getStringValue(vectorOperands.get(i)));
+        }
+        return new FilterContext(FilterContext.Type.PREDICATE, null,
+            new VectorSimilarityPredicate(getExpression(operands.get(0)), vector,
+                numOperands > 2 ? Integer.parseInt(getStringValue(operands.get(2)))
+                    : VectorSimilarityPredicate.DEFAULT_TOP_K));
       case IS_NULL:
         return new FilterContext(FilterContext.Type.PREDICATE, null,
             new IsNullPredicate(getExpression(operands.get(0))));
@@ -346,6 +357,15 @@ public class RequestContextUtils {
       case JSON_MATCH:
         return new FilterContext(FilterContext.Type.PREDICATE, null,
             new JsonMatchPredicate(operands.get(0), getStringValue(operands.get(1))));
+      case VECTOR_SIMILARITY:
+        List<ExpressionContext> vectorOperands = operands.get(1).getFunction().getArguments();
+        float[] vector = new float[vectorOperands.size()];
+        for (int i = 0; i < vector.length; i++) {
+          vector[i] = Float.parseFloat(getStringValue(vectorOperands.get(i)));
+        }
+        return new FilterContext(FilterContext.Type.PREDICATE, null, new VectorSimilarityPredicate(operands.get(0),
+            vector, numOperands > 2 ? Integer.parseInt(getStringValue(operands.get(2)))
+            : VectorSimilarityPredicate.DEFAULT_TOP_K));
       case IS_NULL:
         return new FilterContext(FilterContext.Type.PREDICATE, null, new IsNullPredicate(operands.get(0)));
       case IS_NOT_NULL:
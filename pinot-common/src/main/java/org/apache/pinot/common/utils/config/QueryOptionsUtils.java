@@ -118,6 +118,10 @@ public class QueryOptionsUtils {
     return "false".equalsIgnoreCase(queryOptions.get(QueryOptionKey.USE_STAR_TREE));
   }
 
+  public static boolean isUseStarTreeCostModel(Map<String, String> queryOptions) {
+    return Boolean.parseBoolean(queryOptions.get(QueryOptionKey.USE_STAR_TREE_COST_MODEL));
+  }
+
   public static boolean isRoutingForceHLC(Map<String, String> queryOptions) {
     String routingOptions = queryOptions.get(QueryOptionKey.ROUTING_OPTIONS);
     return routingOptions != null && routingOptions.toUpperCase().contains(QueryOptionValue.ROUTING_FORCE_HLC);
@@ -192,6 +196,10 @@ public class QueryOptionsUtils {
     return groupByTrimThreshold != null ? Integer.parseInt(groupByTrimThreshold) : null;
   }
 
+  public static boolean isStreamingResponseEnabled(Map<String, String> queryOptions) {
+    return Boolean.parseBoolean(queryOptions.get(QueryOptionKey.ENABLE_STREAMING_RESPONSE));
+  }
+
   public static boolean shouldDropResults(Map<String, String> queryOptions) {
     return Boolean.parseBoolean(queryOptions.get(CommonConstants.Broker.Request.QueryOptionKey.DROP_RESULTS));
   }
@@ -37,6 +37,7 @@ public enum FilterKind {
   TEXT_CONTAINS,
   TEXT_MATCH,
   JSON_MATCH,
+  VECTOR_SIMILARITY,
   IS_NULL,
   IS_NOT_NULL;
 
@@ -91,6 +91,7 @@ public class PredicateComparisonRewriter implements QueryRewriter {
     } else {
       FilterKind filterKind = FilterKind.valueOf(function.getOperator());
       List<Expression> operands = function.getOperands();
+      int numOperands;
       switch (filterKind) {
         case AND:
         case OR:
@@ -128,8 +129,31 @@ public class PredicateComparisonRewriter implements QueryRewriter {
             break;
           }
           break;
+        case VECTOR_SIMILARITY:
+          // The query vector is an ARRAY[...] of literals, e.g. 'VECTOR_SIMILARITY(col, ARRAY[1.0, 2.0], 10)'
+          numOperands = operands.size();
+          Expression vectorOperand = numOperands > 1 ? operands.get(1) : null;
+          boolean validVector = vectorOperand != null && vectorOperand.isSetFunctionCall()
+              && vectorOperand.getFunctionCall().getOperator().equals("arrayvalueconstructor");
+          if (validVector) {
+            for (Expression value : vectorOperand.getFunctionCall().getOperands()) {
+              validVector &= value.isSetLiteral();
+            }
+          }
+          if (!validVector) {
+            throw new SqlCompilationException(String.format(
+                "For %s predicate, the second operand must be an array of literals, got: %s", filterKind, expression));
+          }
+          for (int i = 2; i < numOperands; i++) {
+            if (!operands.get(i).isSetLiteral()) {
+              throw new SqlCompilationException(
+                  String.format("For %s predicate, the operands after the vector must be literal, got: %s",
+                      filterKind, expression));
+            }
+          }
+          break;
         default:
-          int numOperands = operands.size();
+          numOperands = operands.size();
           for (int i = 1; i < numOperands; i++) {
             if (!operands.get(i).isSetLiteral()) {
               throw new SqlCompilationException(
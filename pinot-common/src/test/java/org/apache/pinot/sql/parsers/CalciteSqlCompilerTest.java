@@ -545,12 +545,15 @@ public class CalciteSqlCompilerTest {
   public void testInvalidFilterClauses() {
     // Only support regexp_like
     testInvalidFilterClause("a like b");
-    // Only support literals in IN/NOT_IN/REGEXP_LIKE/TEXT_MATCH/JSON_MATCH predicate
+    // Only support literals in IN/NOT_IN/REGEXP_LIKE/TEXT_MATCH/JSON_MATCH/VECTOR_SIMILARITY predicate
     testInvalidFilterClause("a in (\"b\")");
     testInvalidFilterClause("a not in ('b', c)");
     testInvalidFilterClause("regexp_like(a, b)");
     testInvalidFilterClause("text_match(a, \"b\")");
     testInvalidFilterClause("json_match(a, b");
+    testInvalidFilterClause("vector_similarity(a, b)");
+    testInvalidFilterClause("vector_similarity(a, ARRAY[1.0, b])");
+    testInvalidFilterClause("vector_similarity(a, ARRAY[1.0, 2.0], b)");
     // Nested invalid filter
     testInvalidFilterClause("a = 1 and c in (\"d\")");
   }
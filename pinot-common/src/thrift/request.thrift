@@ -51,4 +51,11 @@ struct InstanceRequest {
   3: optional list<string> searchSegments;
   4: optional bool enableTrace;
   5: optional string brokerId;
+  // Compact segment routing: instead of searchSegments, the broker sends the ordinals of the segments in a per-channel
+  // segment name dictionary (one per table) that the server caches, along with the names appended since the last
+  // request. A dictionary is identified by segmentDictionaryId, and is re-created when segmentDictionaryOffset is 0.
+  6: optional i64 segmentDictionaryId;
+  7: optional i32 segmentDictionaryOffset;
+  8: optional list<string> newSegmentNames;
+  9: optional binary searchSegmentOrdinals;
 }
@@ -73,6 +73,7 @@ import org.apache.pinot.controller.helix.core.realtime.segment.FlushThresholdUpd
 import org.apache.pinot.controller.helix.core.realtime.segment.FlushThresholdUpdater;
 import org.apache.pinot.controller.helix.core.retention.strategy.RetentionStrategy;
 import org.apache.pinot.controller.helix.core.retention.strategy.TimeRetentionStrategy;
+import org.apache.pinot.controller.helix.core.util.ZKMetadataUtils;
 import org.apache.pinot.controller.util.SegmentCompletionUtils;
 import org.apache.pinot.controller.validation.RealtimeSegmentValidationManager;
 import org.apache.pinot.core.util.PeerServerSegmentFinder;
@@ -135,6 +136,9 @@ public class PinotLLCRealtimeSegmentManager {
 
   // Max time to wait for all LLC segments to complete committing their metadata while stopping the controller.
   private static final long MAX_LLC_SEGMENT_METADATA_COMMIT_TIME_MILLIS = 30_000L;
+  // Max attempts to update the committing segment ZK metadata when the consuming servers concurrently publish the
+  // consuming min time into it
+  private static final int MAX_COMMITTING_SEGMENT_ZK_METADATA_UPDATE_ATTEMPTS = 5;
 
   // TODO: make this configurable with default set to 10
   /**
@@ -615,6 +619,9 @@ public class PinotLLCRealtimeSegmentManager {
 
   /**
    * Updates segment ZK metadata for the committing segment.
+   * <p>The segment ZK metadata is updated with version check so that concurrent commits (e.g. from another controller)
+   * fail. The consuming servers can concurrently publish the consuming min time into the segment ZK metadata, in which
+   * case the update is retried on top of the latest segment ZK metadata.
    */
   private SegmentZKMetadata updateCommittingSegmentZKMetadata(String realtimeTableName,
       CommittingSegmentDescriptor committingSegmentDescriptor) {
@@ -622,7 +629,44 @@ public class PinotLLCRealtimeSegmentManager {
     LOGGER.info("Updating segment ZK metadata for committing segment: {}", segmentName);
 
     Stat stat = new Stat();
-    SegmentZKMetadata committingSegmentZKMetadata = getSegmentZKMetadata(realtimeTableName, segmentName, stat);
+    SegmentZKMetadata segmentZKMetadata = getSegmentZKMetadata(realtimeTableName, segmentName, stat);
+    for (int attempt = 1; ; attempt++) {
+      SegmentZKMetadata committingSegmentZKMetadata =
+          new SegmentZKMetadata(new ZNRecord(segmentZKMetadata.toZNRecord()));
+      updateCommittingSegmentZKMetadata(realtimeTableName, committingSegmentDescriptor, committingSegmentZKMetadata);
+      try {
+        persistSegmentZKMetadata(realtimeTableName, committingSegmentZKMetadata, stat.getVersion());
+        return committingSegmentZKMetadata;
+      } catch (IllegalStateException e) {
+        if (attempt == MAX_COMMITTING_SEGMENT_ZK_METADATA_UPDATE_ATTEMPTS) {
+          throw e;
+        }
+        Stat latestStat = new Stat();
+        SegmentZKMetadata latestSegmentZKMetadata = getSegmentZKMetadata(realtimeTableName, segmentName, latestStat);
+        if (!isOnlyConsumingMinTimeChanged(segmentZKMetadata, latestSegmentZKMetadata)) {
+          throw e;
+        }
+        LOGGER.info("Segment ZK metadata for committing segment: {} was updated with consuming min time, retrying",
+            segmentName);
+        segmentZKMetadata = latestSegmentZKMetadata;
+        stat = latestStat;
+      }
+    }
+  }
+
+  private static boolean isOnlyConsumingMinTimeChanged(SegmentZKMetadata segmentZKMetadata,
+      SegmentZKMetadata latestSegmentZKMetadata) {
+    ZNRecord znRecord = new ZNRecord(segmentZKMetadata.toZNRecord());
+    ZNRecord latestZNRecord = new ZNRecord(latestSegmentZKMetadata.toZNRecord());
+    znRecord.getSimpleFields().remove(CommonConstants.Segment.Realtime.CONSUMING_MIN_TIME_MS);
+    latestZNRecord.getSimpleFields().remove(CommonConstants.Segment.Realtime.CONSUMING_MIN_TIME_MS);
+    return znRecord.getSimpleFields().equals(latestZNRecord.getSimpleFields()) && znRecord.getMapFields()
+        .equals(latestZNRecord.getMapFields()) && znRecord.getListFields().equals(latestZNRecord.getListFields());
+  }
+
+  private void updateCommittingSegmentZKMetadata(String realtimeTableName,
+      CommittingSegmentDescriptor committingSegmentDescriptor, SegmentZKMetadata committingSegmentZKMetadata) {
+    String segmentName = committingSegmentDescriptor.getSegmentName();
     Preconditions.checkState(committingSegmentZKMetadata.getStatus() == Status.IN_PROGRESS,
         "Segment status for segment: %s should be IN_PROGRESS, found: %s", segmentName,
         committingSegmentZKMetadata.getStatus());
@@ -650,6 +694,8 @@ public class PinotLLCRealtimeSegmentManager {
       committingSegmentZKMetadata.setEndTime(now);
     }
     committingSegmentZKMetadata.setTimeUnit(TimeUnit.MILLISECONDS);
+    // The consuming min time is replaced by the start/end time of the committed segment
+    committingSegmentZKMetadata.setConsumingMinTimeMs(-1);
     SegmentVersion segmentVersion = segmentMetadata.getVersion();
     if (segmentVersion != null) {
       committingSegmentZKMetadata.setIndexVersion(segmentVersion.name());
@@ -660,9 +706,7 @@ public class PinotLLCRealtimeSegmentManager {
     // NOTE: When the stream partition changes, or the records are not properly partitioned from the stream, the
     //       partition of the segment (based on the actual consumed records) can be different from the stream partition.
     committingSegmentZKMetadata.setPartitionMetadata(getPartitionMetadataFromSegmentMetadata(segmentMetadata));
-
-    persistSegmentZKMetadata(realtimeTableName, committingSegmentZKMetadata, stat.getVersion());
-    return committingSegmentZKMetadata;
+    committingSegmentZKMetadata.setColumnStatsMetadata(ZKMetadataUtils.getColumnStatsMetadata(segmentMetadata));
   }
 
   private boolean isPeerURL(String segmentLocation) {
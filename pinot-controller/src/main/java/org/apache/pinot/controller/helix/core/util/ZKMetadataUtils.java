@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.pinot.common.metadata.segment.SegmentColumnStatsMetadata;
 import org.apache.pinot.common.metadata.segment.SegmentPartitionMetadata;
 import org.apache.pinot.common.metadata.segment.SegmentZKMetadata;
 import org.apache.pinot.common.utils.SegmentName;
@@ -40,6 +41,9 @@ public class ZKMetadataUtils {
   private ZKMetadataUtils() {
   }
 
+  // Do not publish min/max values longer than this to keep the segment ZK metadata compact
+  private static final int MAX_COLUMN_STATS_VALUE_LENGTH = 64;
+
   /**
    * Creates the segment ZK metadata for a new segment.
    */
@@ -121,6 +125,9 @@ public class ZKMetadataUtils {
     segmentZKMetadata.setPartitionMetadata(
         !columnPartitionMap.isEmpty() ? new SegmentPartitionMetadata(columnPartitionMap) : null);
 
+    // Set column stats metadata
+    segmentZKMetadata.setColumnStatsMetadata(getColumnStatsMetadata(segmentMetadata));
+
     // Update custom metadata
     // NOTE: Do not remove existing keys because they can be set by the HTTP header from the segment upload request
     Map<String, String> customMap = segmentZKMetadata.getCustomMap();
@@ -153,6 +160,43 @@ public class ZKMetadataUtils {
     }
   }
 
+  /**
+   * Returns the column stats metadata (min/max value and bloom filter summary) to be published in the segment ZK
+   * metadata for broker side segment pruning, or {@code null} if no column has stats.
+   */
+  @Nullable
+  public static SegmentColumnStatsMetadata getColumnStatsMetadata(SegmentMetadata segmentMetadata) {
+    Map<String, SegmentColumnStatsMetadata.ColumnStats> columnStatsMap = new HashMap<>();
+    segmentMetadata.getColumnMetadataMap().forEach((column, columnMetadata) -> {
+      SegmentColumnStatsMetadata.ColumnStats columnStats = extractColumnStats(columnMetadata);
+      if (columnStats != null) {
+        columnStatsMap.put(column, columnStats);
+      }
+    });
+    return !columnStatsMap.isEmpty() ? new SegmentColumnStatsMetadata(columnStatsMap) : null;
+  }
+
+  @Nullable
+  private static SegmentColumnStatsMetadata.ColumnStats extractColumnStats(ColumnMetadata columnMetadata) {
+    String minValue = null;
+    String maxValue = null;
+    if (columnMetadata.getMinValue() != null && columnMetadata.getMaxValue() != null
+        && !columnMetadata.isMinMaxValueInvalid()) {
+      String minValueString = columnMetadata.getMinValue().toString();
+      String maxValueString = columnMetadata.getMaxValue().toString();
+      if (minValueString.length() <= MAX_COLUMN_STATS_VALUE_LENGTH
+          && maxValueString.length() <= MAX_COLUMN_STATS_VALUE_LENGTH) {
+        minValue = minValueString;
+        maxValue = maxValueString;
+      }
+    }
+    String bloomSummary = columnMetadata.getBloomSummary();
+    if (minValue == null && bloomSummary == null) {
+      return null;
+    }
+    return new SegmentColumnStatsMetadata.ColumnStats(minValue, maxValue, bloomSummary);
+  }
+
   private static boolean isValidTimeMetadata(ColumnMetadata timeColumnMetadata) {
     return timeColumnMetadata != null && timeColumnMetadata.getMinValue() != null
         && timeColumnMetadata.getMaxValue() != null && !timeColumnMetadata.isMinMaxValueInvalid();
@@ -795,6 +795,24 @@ public class PinotLLCRealtimeSegmentManagerTest {
     }
   }
 
+  @Test
+  public void testCommitSegmentWithConcurrentConsumingMinTimePublish() {
+    FakePinotLLCRealtimeSegmentManager segmentManager = new FakePinotLLCRealtimeSegmentManagerII(
+        FakePinotLLCRealtimeSegmentManagerII.Scenario.CONSUMING_MIN_TIME_PUBLISHED);
+    setUpNewTable(segmentManager, 2, 5, 4);
+
+    // Commit should be retried on top of the consuming min time published by the server
+    String committingSegment = new LLCSegmentName(RAW_TABLE_NAME, 0, 0, CURRENT_TIME_MS).getSegmentName();
+    CommittingSegmentDescriptor committingSegmentDescriptor = new CommittingSegmentDescriptor(committingSegment,
+        new LongMsgOffset(PARTITION_OFFSET.getOffset() + NUM_DOCS).toString(), 0L);
+    committingSegmentDescriptor.setSegmentMetadata(mockSegmentMetadata());
+    segmentManager.commitSegmentMetadata(REALTIME_TABLE_NAME, committingSegmentDescriptor);
+
+    SegmentZKMetadata committedSegmentZKMetadata = segmentManager._segmentZKMetadataMap.get(committingSegment);
+    assertEquals(committedSegmentZKMetadata.getStatus(), Status.DONE);
+    assertEquals(committedSegmentZKMetadata.getConsumingMinTimeMs(), -1L);
+  }
+
   @Test
   public void testCommitSegmentFile()
       throws Exception {
@@ -1210,10 +1228,11 @@ public class PinotLLCRealtimeSegmentManagerTest {
 
   private static class FakePinotLLCRealtimeSegmentManagerII extends FakePinotLLCRealtimeSegmentManager {
     enum Scenario {
-      ZK_VERSION_CHANGED, METADATA_STATUS_CHANGED
+      ZK_VERSION_CHANGED, METADATA_STATUS_CHANGED, CONSUMING_MIN_TIME_PUBLISHED
     }
 
     final Scenario _scenario;
+    boolean _consumingMinTimePublished;
 
     FakePinotLLCRealtimeSegmentManagerII(Scenario scenario) {
       super();
@@ -1234,6 +1253,16 @@ public class PinotLLCRealtimeSegmentManagerTest {
           // Mock another controller has updated the status of the segment ZK metadata
           segmentZKMetadata.setStatus(Status.DONE);
           break;
+        case CONSUMING_MIN_TIME_PUBLISHED:
+          // Mock a consuming server published the consuming min time once during the process
+          if (stat != null && !_consumingMinTimePublished) {
+            _consumingMinTimePublished = true;
+            SegmentZKMetadata publishedSegmentZKMetadata =
+                new SegmentZKMetadata(new ZNRecord(segmentZKMetadata.toZNRecord()));
+            publishedSegmentZKMetadata.setConsumingMinTimeMs(CURRENT_TIME_MS);
+            persistSegmentZKMetadata(realtimeTableName, publishedSegmentZKMetadata, stat.getVersion());
+          }
+          break;
         default:
           break;
       }
@@ -360,7 +360,7 @@ public class PerQueryCPUMemAccountantFactory implements ThreadAccountantFactory
 
         if (!thread.isAlive()) {
           _threadEntriesMap.remove(thread);
-          LOGGER.info("Removing thread from _threadLocalEntry: {}", thread.getName());
+          LOGGER.debug("Removing thread from _threadLocalEntry: {}", thread.getName());
         }
       }
 
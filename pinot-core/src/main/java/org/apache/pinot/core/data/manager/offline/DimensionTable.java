@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.pinot.spi.data.FieldSpec;
 import org.apache.pinot.spi.data.readers.GenericRow;
 import org.apache.pinot.spi.data.readers.PrimaryKey;
+import org.apache.pinot.spi.utils.ByteArray;
 
 
 public interface DimensionTable extends Closeable {
@@ -31,6 +32,37 @@ public interface DimensionTable extends Closeable {
 
   GenericRow get(PrimaryKey pk);
 
+  /**
+   * Looks up the values of the given column for a block of primary keys, and puts them (or {@code null} for the missing
+   * primary keys) into the given values array. Each primary key column is passed as an array of its stored type, i.e.
+   * {@code int[]}, {@code long[]}, {@code float[]}, {@code double[]}, {@code String[]} or {@code byte[][]}.
+   */
+  default void lookupValues(Object[] pkColumns, int numKeys, String columnName, Object[] values) {
+    int numPkColumns = pkColumns.length;
+    Object[] pkValues = new Object[numPkColumns];
+    PrimaryKey primaryKey = new PrimaryKey(pkValues);
+    for (int i = 0; i < numKeys; i++) {
+      for (int c = 0; c < numPkColumns; c++) {
+        Object pkColumn = pkColumns[c];
+        if (pkColumn instanceof int[]) {
+          pkValues[c] = ((int[]) pkColumn)[i];
+        } else if (pkColumn instanceof long[]) {
+          pkValues[c] = ((long[]) pkColumn)[i];
+        } else if (pkColumn instanceof String[]) {
+          pkValues[c] = ((String[]) pkColumn)[i];
+        } else if (pkColumn instanceof float[]) {
+          pkValues[c] = ((float[]) pkColumn)[i];
+        } else if (pkColumn instanceof double[]) {
+          pkValues[c] = ((double[]) pkColumn)[i];
+        } else if (pkColumn instanceof byte[][]) {
+          pkValues[c] = new ByteArray(((byte[][]) pkColumn)[i]);
+        }
+      }
+      GenericRow row = get(primaryKey);
+      values[i] = row != null ? row.getValue(columnName) : null;
+    }
+  }
+
   boolean isEmpty();
 
   FieldSpec getFieldSpecFor(String columnName);
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.concurrent.ThreadSafe;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
@@ -45,7 +47,8 @@ import org.apache.pinot.spi.data.readers.PrimaryKey;
  * Dimension Table is a special type of OFFLINE table which is assigned to all servers
  * in a tenant and is used to execute a LOOKUP Transform Function. DimensionTableDataManager
  * loads the contents into a HashMap for faster access thus the size should be small
- * enough to easily fit in memory.
+ * enough to easily fit in memory. Larger tables can be loaded off-heap (see {@link OffHeapDimensionTable}) by
+ * enabling 'offHeap' in the {@link DimensionTableConfig}.
  *
  * DimensionTableDataManager uses Registry of Singletons pattern to store one instance per table
  * which can be accessed via {@link #getInstanceByTableName} static method.
@@ -81,7 +84,11 @@ public class DimensionTableDataManager extends OfflineTableDataManager {
       AtomicReferenceFieldUpdater.newUpdater(DimensionTableDataManager.class, DimensionTable.class, "_dimensionTable");
 
   private volatile DimensionTable _dimensionTable;
-  private boolean _disablePreload = false;
+  // Prevents the replaced dimension table from being closed (and its off-heap memory from being released) while lookups
+  // are still reading it
+  private final ReadWriteLock _dimensionTableLock = new ReentrantReadWriteLock();
+  private boolean _disablePreload;
+  private boolean _offHeap;
 
   @Override
   protected void doInit() {
@@ -94,12 +101,9 @@ public class DimensionTableDataManager extends OfflineTableDataManager {
         "Primary key columns must be configured for dimension table: %s", _tableNameWithType);
 
     TableConfig tableConfig = ZKMetadataProvider.getTableConfig(_propertyStore, _tableNameWithType);
-    if (tableConfig != null) {
-      DimensionTableConfig dimensionTableConfig = tableConfig.getDimensionTableConfig();
-      if (dimensionTableConfig != null) {
-        _disablePreload = dimensionTableConfig.isDisablePreload();
-      }
-    }
+    DimensionTableConfig dimensionTableConfig = tableConfig != null ? tableConfig.getDimensionTableConfig() : null;
+    _disablePreload = dimensionTableConfig != null && dimensionTableConfig.isDisablePreload();
+    _offHeap = dimensionTableConfig != null && dimensionTableConfig.isOffHeap();
 
     if (_disablePreload) {
       _dimensionTable = new MemoryOptimizedDimensionTable(schema, primaryKeyColumns, Collections.emptyMap(),
@@ -142,10 +146,13 @@ public class DimensionTableDataManager extends OfflineTableDataManager {
   }
 
   private void closeDimensionTable(DimensionTable dimensionTable) {
+    _dimensionTableLock.writeLock().lock();
     try {
       dimensionTable.close();
     } catch (Exception e) {
       _logger.warn("Cannot close dimension table: {}", _tableNameWithType, e);
+    } finally {
+      _dimensionTableLock.writeLock().unlock();
     }
   }
 
@@ -159,6 +166,8 @@ public class DimensionTableDataManager extends OfflineTableDataManager {
       snapshot = _dimensionTable;
       if (_disablePreload) {
         replacement = createMemOptimisedDimensionTable();
+      } else if (_offHeap) {
+        replacement = createOffHeapDimensionTable();
       } else {
         replacement = createFastLookupDimensionTable();
       }
@@ -235,12 +244,81 @@ public class DimensionTableDataManager extends OfflineTableDataManager {
         segmentDataManagers, this);
   }
 
+  private DimensionTable createOffHeapDimensionTable() {
+    Schema schema = ZKMetadataProvider.getTableSchema(_propertyStore, _tableNameWithType);
+    Preconditions.checkState(schema != null, "Failed to find schema for dimension table: %s", _tableNameWithType);
+
+    List<String> primaryKeyColumns = schema.getPrimaryKeyColumns();
+    Preconditions.checkState(CollectionUtils.isNotEmpty(primaryKeyColumns),
+        "Primary key columns must be configured for dimension table: %s", _tableNameWithType);
+
+    List<SegmentDataManager> segmentDataManagers = acquireAllSegments();
+    try {
+      long numRows = 0;
+      for (SegmentDataManager segmentManager : segmentDataManagers) {
+        numRows += segmentManager.getSegment().getSegmentMetadata().getTotalDocs();
+      }
+      if (numRows == 0) {
+        return new FastLookupDimensionTable(schema, primaryKeyColumns, new HashMap<>());
+      }
+      Preconditions.checkState(numRows <= Integer.MAX_VALUE, "Too many rows: %s in dimension table: %s", numRows,
+          _tableNameWithType);
+      OffHeapDimensionTable dimensionTable =
+          new OffHeapDimensionTable(schema, primaryKeyColumns, (int) numRows, _tableNameWithType);
+      try {
+        for (SegmentDataManager segmentManager : segmentDataManagers) {
+          IndexSegment indexSegment = segmentManager.getSegment();
+          int numTotalDocs = indexSegment.getSegmentMetadata().getTotalDocs();
+          if (numTotalDocs > 0) {
+            try (PinotSegmentRecordReader recordReader = new PinotSegmentRecordReader()) {
+              recordReader.init(indexSegment);
+              GenericRow row = new GenericRow();
+              for (int i = 0; i < numTotalDocs; i++) {
+                row.clear();
+                recordReader.getRecord(i, row);
+                dimensionTable.addRow(row);
+              }
+            } catch (Exception e) {
+              throw new RuntimeException(
+                  "Caught exception while reading records from segment: " + indexSegment.getSegmentName(), e);
+            }
+          }
+        }
+      } catch (RuntimeException e) {
+        dimensionTable.close();
+        throw e;
+      }
+      return dimensionTable;
+    } finally {
+      for (SegmentDataManager segmentManager : segmentDataManagers) {
+        releaseSegment(segmentManager);
+      }
+    }
+  }
+
   public boolean isPopulated() {
     return !_dimensionTable.isEmpty();
   }
 
   public GenericRow lookupRowByPrimaryKey(PrimaryKey pk) {
-    return _dimensionTable.get(pk);
+    _dimensionTableLock.readLock().lock();
+    try {
+      return _dimensionTable.get(pk);
+    } finally {
+      _dimensionTableLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Looks up the values of the given column for a block of primary keys. See {@link DimensionTable#lookupValues}.
+   */
+  public void lookupValues(Object[] pkColumns, int numKeys, String columnName, Object[] values) {
+    _dimensionTableLock.readLock().lock();
+    try {
+      _dimensionTable.lookupValues(pkColumns, numKeys, columnName, values);
+    } finally {
+      _dimensionTableLock.readLock().unlock();
+    }
   }
 
   public FieldSpec getColumnFieldSpec(String columnName) {
@@ -0,0 +1,630 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.data.manager.offline;
+
+import com.google.common.base.Preconditions;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.data.readers.PrimaryKey;
+import org.apache.pinot.spi.utils.BigDecimalUtils;
+import org.apache.pinot.spi.utils.ByteArray;
+
+
+/**
+ * Dimension table that keeps the rows in off-heap memory, so that large dimension tables do not put pressure on the
+ * heap:
+ * <ul>
+ *   <li>
+ *     The values are stored column by column: the single-value INT/LONG/FLOAT/DOUBLE values in fixed-width slots, and
+ *     the other values (STRING, BYTES, BIG_DECIMAL and multi-value) as variable-length bytes with the end offset of
+ *     each row.
+ *   </li>
+ *   <li>
+ *     The primary keys are indexed by an open-addressing hash table of (hash, row id) slots. The hash is computed from
+ *     the primitive primary key values without creating {@link PrimaryKey} objects, and the candidate rows are compared
+ *     against the primary key columns.
+ *   </li>
+ * </ul>
+ * {@link #lookupValues} resolves the row ids for the whole block of primary keys first, then only reads the requested
+ * column. When multiple rows have the same primary key, the last added row wins.
+ */
+class OffHeapDimensionTable implements DimensionTable {
+  private static final int MIN_HASH_TABLE_CAPACITY = 16;
+  private static final int INITIAL_VAR_BYTES_PER_ROW = 16;
+
+  private final Schema _tableSchema;
+  private final List<String> _primaryKeyColumns;
+  private final int _maxNumRows;
+  private final Map<String, ColumnStore> _columnStores = new LinkedHashMap<>();
+  private final ColumnStore[] _pkColumnStores;
+  private final PinotDataBuffer _hashTable;
+  private final int _hashMask;
+
+  private int _numRows;
+  private int _numKeys;
+
+  OffHeapDimensionTable(Schema tableSchema, List<String> primaryKeyColumns, int maxNumRows, String tableNameWithType) {
+    Preconditions.checkArgument(maxNumRows > 0 && maxNumRows <= 1 << 29, "Invalid number of rows: %s", maxNumRows);
+    _tableSchema = tableSchema;
+    _primaryKeyColumns = primaryKeyColumns;
+    _maxNumRows = maxNumRows;
+    // Keep the load factor under 0.5
+    int hashTableCapacity = Math.max(Integer.highestOneBit(2 * maxNumRows - 1) << 1, MIN_HASH_TABLE_CAPACITY);
+    _hashMask = hashTableCapacity - 1;
+    _hashTable = PinotDataBuffer.allocateDirect((long) hashTableCapacity * Long.BYTES, PinotDataBuffer.NATIVE_ORDER,
+        tableNameWithType + ".dimensionTable.hashTable");
+    try {
+      for (int i = 0; i < hashTableCapacity; i++) {
+        _hashTable.putLong((long) i * Long.BYTES, 0L);
+      }
+      for (FieldSpec fieldSpec : tableSchema.getAllFieldSpecs()) {
+        if (fieldSpec.isVirtualColumn()) {
+          continue;
+        }
+        String column = fieldSpec.getName();
+        String description = tableNameWithType + ".dimensionTable." + column;
+        DataType storedType = fieldSpec.getDataType().getStoredType();
+        if (fieldSpec.isSingleValueField() && storedType.isFixedWidth()) {
+          _columnStores.put(column, new FixedWidthColumnStore(storedType, maxNumRows, description));
+        } else {
+          _columnStores.put(column, new VarWidthColumnStore(fieldSpec, maxNumRows, description));
+        }
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    int numPkColumns = primaryKeyColumns.size();
+    _pkColumnStores = new ColumnStore[numPkColumns];
+    for (int i = 0; i < numPkColumns; i++) {
+      _pkColumnStores[i] = _columnStores.get(primaryKeyColumns.get(i));
+    }
+  }
+
+  /**
+   * Adds a row to the table, replacing the existing row with the same primary key if any.
+   */
+  void addRow(GenericRow row) {
+    Preconditions.checkState(_numRows < _maxNumRows, "Cannot add more than %s rows", _maxNumRows);
+    int rowId = _numRows++;
+    for (Map.Entry<String, ColumnStore> entry : _columnStores.entrySet()) {
+      entry.getValue().setValue(rowId, row.getValue(entry.getKey()));
+    }
+    int numPkColumns = _pkColumnStores.length;
+    Object[] pkColumns = new Object[numPkColumns];
+    for (int i = 0; i < numPkColumns; i++) {
+      pkColumns[i] = _pkColumnStores[i].toArray(row.getValue(_primaryKeyColumns.get(i)));
+    }
+    int hash = hash(pkColumns, 0);
+    int slot = hash & _hashMask;
+    while (true) {
+      long slotOffset = (long) slot * Long.BYTES;
+      long entry = _hashTable.getLong(slotOffset);
+      if (entry == 0) {
+        _numKeys++;
+        _hashTable.putLong(slotOffset, toEntry(hash, rowId));
+        return;
+      }
+      if ((int) (entry >>> 32) == hash && matches((int) entry - 1, pkColumns, 0)) {
+        _hashTable.putLong(slotOffset, toEntry(hash, rowId));
+        return;
+      }
+      slot = (slot + 1) & _hashMask;
+    }
+  }
+
+  @Override
+  public List<String> getPrimaryKeyColumns() {
+    return _primaryKeyColumns;
+  }
+
+  @Override
+  public GenericRow get(PrimaryKey pk) {
+    Object[] values = pk.getValues();
+    int numPkColumns = _pkColumnStores.length;
+    Object[] pkColumns = new Object[numPkColumns];
+    for (int i = 0; i < numPkColumns; i++) {
+      pkColumns[i] = _pkColumnStores[i].toArray(values[i]);
+    }
+    int rowId = findRowId(pkColumns, 0);
+    if (rowId < 0) {
+      return null;
+    }
+    GenericRow row = new GenericRow();
+    for (Map.Entry<String, ColumnStore> entry : _columnStores.entrySet()) {
+      row.putValue(entry.getKey(), entry.getValue().getValue(rowId));
+    }
+    return row;
+  }
+
+  @Override
+  public void lookupValues(Object[] pkColumns, int numKeys, String columnName, Object[] values) {
+    ColumnStore columnStore = _columnStores.get(columnName);
+    if (columnStore == null) {
+      Arrays.fill(values, 0, numKeys, null);
+      return;
+    }
+    int[] rowIds = new int[numKeys];
+    for (int i = 0; i < numKeys; i++) {
+      rowIds[i] = findRowId(pkColumns, i);
+    }
+    for (int i = 0; i < numKeys; i++) {
+      int rowId = rowIds[i];
+      values[i] = rowId >= 0 ? columnStore.getValue(rowId) : null;
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return _numKeys == 0;
+  }
+
+  @Override
+  public FieldSpec getFieldSpecFor(String columnName) {
+    return _tableSchema.getFieldSpecFor(columnName);
+  }
+
+  private int findRowId(Object[] pkColumns, int index) {
+    int hash = hash(pkColumns, index);
+    int slot = hash & _hashMask;
+    while (true) {
+      long entry = _hashTable.getLong((long) slot * Long.BYTES);
+      if (entry == 0) {
+        return -1;
+      }
+      if ((int) (entry >>> 32) == hash) {
+        int rowId = (int) entry - 1;
+        if (matches(rowId, pkColumns, index)) {
+          return rowId;
+        }
+      }
+      slot = (slot + 1) & _hashMask;
+    }
+  }
+
+  private int hash(Object[] pkColumns, int index) {
+    int hash = 0;
+    int numPkColumns = _pkColumnStores.length;
+    for (int i = 0; i < numPkColumns; i++) {
+      hash = 31 * hash + _pkColumnStores[i].hash(pkColumns[i], index);
+    }
+    // Spread the bits (murmur3 finalizer) because the slot is picked from the lower bits
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  private boolean matches(int rowId, Object[] pkColumns, int index) {
+    int numPkColumns = _pkColumnStores.length;
+    for (int i = 0; i < numPkColumns; i++) {
+      if (!_pkColumnStores[i].matches(rowId, pkColumns[i], index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Stores the hash in the upper 32 bits and the row id + 1 in the lower 32 bits, so that 0 marks an empty slot.
+   */
+  private static long toEntry(int hash, int rowId) {
+    return ((long) hash << 32) | (rowId + 1);
+  }
+
+  @Override
+  public void close() {
+    closeBuffer(_hashTable);
+    for (ColumnStore columnStore : _columnStores.values()) {
+      columnStore.close();
+    }
+  }
+
+  private static void closeBuffer(PinotDataBuffer buffer) {
+    try {
+      buffer.close();
+    } catch (IOException e) {
+      throw new RuntimeException("Caught exception while closing off-heap buffer", e);
+    }
+  }
+
+  /**
+   * Off-heap storage of the values of a column.
+   */
+  private static abstract class ColumnStore implements Closeable {
+
+    abstract void setValue(int rowId, Object value);
+
+    abstract Object getValue(int rowId);
+
+    /**
+     * Wraps a primary key value into a single element array of the type used for the lookups.
+     */
+    abstract Object toArray(Object value);
+
+    abstract int hash(Object values, int index);
+
+    abstract boolean matches(int rowId, Object values, int index);
+
+    @Override
+    public abstract void close();
+  }
+
+  private static final class FixedWidthColumnStore extends ColumnStore {
+    private final DataType _storedType;
+    private final PinotDataBuffer _buffer;
+
+    FixedWidthColumnStore(DataType storedType, int maxNumRows, String description) {
+      _storedType = storedType;
+      _buffer = PinotDataBuffer.allocateDirect((long) maxNumRows * storedType.size(), PinotDataBuffer.NATIVE_ORDER,
+          description);
+    }
+
+    @Override
+    void setValue(int rowId, Object value) {
+      switch (_storedType) {
+        case INT:
+          _buffer.putInt((long) rowId * Integer.BYTES, ((Number) value).intValue());
+          break;
+        case LONG:
+          _buffer.putLong((long) rowId * Long.BYTES, ((Number) value).longValue());
+          break;
+        case FLOAT:
+          _buffer.putFloat((long) rowId * Float.BYTES, ((Number) value).floatValue());
+          break;
+        case DOUBLE:
+          _buffer.putDouble((long) rowId * Double.BYTES, ((Number) value).doubleValue());
+          break;
+        default:
+          throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    Object getValue(int rowId) {
+      switch (_storedType) {
+        case INT:
+          return _buffer.getInt((long) rowId * Integer.BYTES);
+        case LONG:
+          return _buffer.getLong((long) rowId * Long.BYTES);
+        case FLOAT:
+          return _buffer.getFloat((long) rowId * Float.BYTES);
+        case DOUBLE:
+          return _buffer.getDouble((long) rowId * Double.BYTES);
+        default:
+          throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    Object toArray(Object value) {
+      switch (_storedType) {
+        case INT:
+          return new int[]{((Number) value).intValue()};
+        case LONG:
+          return new long[]{((Number) value).longValue()};
+        case FLOAT:
+          return new float[]{((Number) value).floatValue()};
+        case DOUBLE:
+          return new double[]{((Number) value).doubleValue()};
+        default:
+          throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    int hash(Object values, int index) {
+      switch (_storedType) {
+        case INT:
+          return Integer.hashCode(((int[]) values)[index]);
+        case LONG:
+          return Long.hashCode(((long[]) values)[index]);
+        case FLOAT:
+          return Float.hashCode(((float[]) values)[index]);
+        case DOUBLE:
+          return Double.hashCode(((double[]) values)[index]);
+        default:
+          throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    boolean matches(int rowId, Object values, int index) {
+      // NOTE: Compare FLOAT and DOUBLE values by bits to be consistent with the hash (same as Float/Double.equals())
+      switch (_storedType) {
+        case INT:
+          return _buffer.getInt((long) rowId * Integer.BYTES) == ((int[]) values)[index];
+        case LONG:
+          return _buffer.getLong((long) rowId * Long.BYTES) == ((long[]) values)[index];
+        case FLOAT:
+          return Float.floatToIntBits(_buffer.getFloat((long) rowId * Float.BYTES)) == Float.floatToIntBits(
+              ((float[]) values)[index]);
+        case DOUBLE:
+          return Double.doubleToLongBits(_buffer.getDouble((long) rowId * Double.BYTES)) == Double.doubleToLongBits(
+              ((double[]) values)[index]);
+        default:
+          throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    public void close() {
+      closeBuffer(_buffer);
+    }
+  }
+
+  /**
+   * Stores the serialized values back to back, with the end offset of each row. Primary key values are looked up as
+   * {@code String[]} for STRING columns, and as {@code byte[][]} of the serialized values otherwise.
+   */
+  private static final class VarWidthColumnStore extends ColumnStore {
+    private final FieldSpec _fieldSpec;
+    private final DataType _storedType;
+    private final String _description;
+    private final PinotDataBuffer _endOffsets;
+    private PinotDataBuffer _values;
+    private long _numBytes;
+
+    VarWidthColumnStore(FieldSpec fieldSpec, int maxNumRows, String description) {
+      _fieldSpec = fieldSpec;
+      _storedType = fieldSpec.getDataType().getStoredType();
+      _description = description;
+      _endOffsets = PinotDataBuffer.allocateDirect((long) maxNumRows * Long.BYTES, PinotDataBuffer.NATIVE_ORDER,
+          description + ".offsets");
+      _values = PinotDataBuffer.allocateDirect((long) maxNumRows * INITIAL_VAR_BYTES_PER_ROW,
+          PinotDataBuffer.NATIVE_ORDER, description + ".values");
+    }
+
+    @Override
+    void setValue(int rowId, Object value) {
+      byte[] bytes = serialize(value != null ? value : getDefaultValue());
+      long endOffset = _numBytes + bytes.length;
+      if (endOffset > _values.size()) {
+        PinotDataBuffer values = PinotDataBuffer.allocateDirect(Math.max(endOffset, 2 * _values.size()),
+            PinotDataBuffer.NATIVE_ORDER, _description + ".values");
+        _values.copyTo(0, values, 0, _numBytes);
+        closeBuffer(_values);
+        _values = values;
+      }
+      _values.readFrom(_numBytes, bytes);
+      _numBytes = endOffset;
+      _endOffsets.putLong((long) rowId * Long.BYTES, endOffset);
+    }
+
+    @Override
+    Object getValue(int rowId) {
+      return deserialize(getBytes(rowId));
+    }
+
+    @Override
+    Object toArray(Object value) {
+      if (_storedType == DataType.STRING) {
+        return new String[]{(String) value};
+      }
+      if (value instanceof ByteArray) {
+        return new byte[][]{((ByteArray) value).getBytes()};
+      }
+      return new byte[][]{serialize(value)};
+    }
+
+    @Override
+    int hash(Object values, int index) {
+      if (_storedType == DataType.STRING) {
+        return ((String[]) values)[index].hashCode();
+      }
+      return Arrays.hashCode(((byte[][]) values)[index]);
+    }
+
+    @Override
+    boolean matches(int rowId, Object values, int index) {
+      long startOffset = getStartOffset(rowId);
+      int length = (int) (_endOffsets.getLong((long) rowId * Long.BYTES) - startOffset);
+      if (_storedType == DataType.STRING) {
+        return matchesString(startOffset, length, ((String[]) values)[index]);
+      }
+      byte[] bytes = ((byte[][]) values)[index];
+      if (bytes.length != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (_values.getByte(startOffset + i) != bytes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Compares ASCII strings in place, and only decodes the stored value for the non-ASCII strings.
+     */
+    private boolean matchesString(long startOffset, int length, String value) {
+      int numChars = value.length();
+      // Each char takes at least 1 byte in UTF-8
+      if (numChars > length) {
+        return false;
+      }
+      if (numChars == length) {
+        boolean ascii = true;
+        for (int i = 0; i < numChars; i++) {
+          char c = value.charAt(i);
+          if (c >= 0x80) {
+            ascii = false;
+            break;
+          }
+          if (_values.getByte(startOffset + i) != c) {
+            return false;
+          }
+        }
+        if (ascii) {
+          return true;
+        }
+      }
+      byte[] bytes = new byte[length];
+      _values.copyTo(startOffset, bytes);
+      return value.equals(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private long getStartOffset(int rowId) {
+      return rowId == 0 ? 0 : _endOffsets.getLong((long) (rowId - 1) * Long.BYTES);
+    }
+
+    private byte[] getBytes(int rowId) {
+      long startOffset = getStartOffset(rowId);
+      byte[] bytes = new byte[(int) (_endOffsets.getLong((long) rowId * Long.BYTES) - startOffset)];
+      _values.copyTo(startOffset, bytes);
+      return bytes;
+    }
+
+    private Object getDefaultValue() {
+      Object defaultNullValue = _fieldSpec.getDefaultNullValue();
+      return _fieldSpec.isSingleValueField() ? defaultNullValue : new Object[]{defaultNullValue};
+    }
+
+    private byte[] serialize(Object value) {
+      if (_fieldSpec.isSingleValueField()) {
+        return serializeSingleValue(value);
+      }
+      Object[] values = (Object[]) value;
+      if (_storedType.isFixedWidth()) {
+        ByteBuffer byteBuffer = ByteBuffer.allocate(values.length * _storedType.size());
+        for (Object element : values) {
+          switch (_storedType) {
+            case INT:
+              byteBuffer.putInt(((Number) element).intValue());
+              break;
+            case LONG:
+              byteBuffer.putLong(((Number) element).longValue());
+              break;
+            case FLOAT:
+              byteBuffer.putFloat(((Number) element).floatValue());
+              break;
+            case DOUBLE:
+              byteBuffer.putDouble(((Number) element).doubleValue());
+              break;
+            default:
+              throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+          }
+        }
+        return byteBuffer.array();
+      }
+      // Variable-width elements are prefixed with their length
+      byte[][] serializedValues = new byte[values.length][];
+      int numBytes = 0;
+      for (int i = 0; i < values.length; i++) {
+        serializedValues[i] = serializeSingleValue(values[i]);
+        numBytes += Integer.BYTES + serializedValues[i].length;
+      }
+      ByteBuffer byteBuffer = ByteBuffer.allocate(numBytes);
+      for (byte[] serializedValue : serializedValues) {
+        byteBuffer.putInt(serializedValue.length);
+        byteBuffer.put(serializedValue);
+      }
+      return byteBuffer.array();
+    }
+
+    private byte[] serializeSingleValue(Object value) {
+      switch (_storedType) {
+        case STRING:
+          return value.toString().getBytes(StandardCharsets.UTF_8);
+        case BYTES:
+          return value instanceof ByteArray ? ((ByteArray) value).getBytes() : (byte[]) value;
+        case BIG_DECIMAL:
+          return BigDecimalUtils.serialize((BigDecimal) value);
+        default:
+          throw new IllegalStateException("Unsupported variable-width stored type: " + _storedType);
+      }
+    }
+
+    private Object deserialize(byte[] bytes) {
+      if (_fieldSpec.isSingleValueField()) {
+        return deserializeSingleValue(bytes);
+      }
+      ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+      if (_storedType.isFixedWidth()) {
+        Object[] values = new Object[bytes.length / _storedType.size()];
+        for (int i = 0; i < values.length; i++) {
+          switch (_storedType) {
+            case INT:
+              values[i] = byteBuffer.getInt();
+              break;
+            case LONG:
+              values[i] = byteBuffer.getLong();
+              break;
+            case FLOAT:
+              values[i] = byteBuffer.getFloat();
+              break;
+            case DOUBLE:
+              values[i] = byteBuffer.getDouble();
+              break;
+            default:
+              throw new IllegalStateException("Unsupported fixed-width stored type: " + _storedType);
+          }
+        }
+        return values;
+      }
+      int numValues = 0;
+      while (byteBuffer.hasRemaining()) {
+        int length = byteBuffer.getInt();
+        byteBuffer.position(byteBuffer.position() + length);
+        numValues++;
+      }
+      byteBuffer.rewind();
+      Object[] values = new Object[numValues];
+      for (int i = 0; i < numValues; i++) {
+        byte[] serializedValue = new byte[byteBuffer.getInt()];
+        byteBuffer.get(serializedValue);
+        values[i] = deserializeSingleValue(serializedValue);
+      }
+      return values;
+    }
+
+    private Object deserializeSingleValue(byte[] bytes) {
+      switch (_storedType) {
+        case STRING:
+          return new String(bytes, StandardCharsets.UTF_8);
+        case BYTES:
+          return bytes;
+        case BIG_DECIMAL:
+          return BigDecimalUtils.deserialize(bytes);
+        default:
+          throw new IllegalStateException("Unsupported variable-width stored type: " + _storedType);
+      }
+    }
+
+    @Override
+    public void close() {
+      closeBuffer(_endOffsets);
+      closeBuffer(_values);
+    }
+  }
+}
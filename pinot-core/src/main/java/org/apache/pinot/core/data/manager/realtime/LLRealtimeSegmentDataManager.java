@@ -59,6 +59,8 @@ import org.apache.pinot.segment.local.utils.IngestionUtils;
 import org.apache.pinot.segment.spi.MutableSegment;
 import org.apache.pinot.segment.spi.V1Constants;
 import org.apache.pinot.segment.spi.creator.SegmentVersion;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigsUtil;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
 import org.apache.pinot.segment.spi.memory.PinotDataBufferMemoryManager;
 import org.apache.pinot.segment.spi.partition.PartitionFunctionFactory;
 import org.apache.pinot.segment.spi.store.SegmentDirectoryPaths;
@@ -66,9 +68,12 @@ import org.apache.pinot.server.realtime.ServerSegmentCompletionProtocolHandler;
 import org.apache.pinot.spi.config.table.ColumnPartitionConfig;
 import org.apache.pinot.spi.config.table.CompletionConfig;
 import org.apache.pinot.spi.config.table.IndexingConfig;
+import org.apache.pinot.spi.config.table.RoutingConfig;
 import org.apache.pinot.spi.config.table.SegmentPartitionConfig;
 import org.apache.pinot.spi.config.table.SegmentZKPropsConfig;
 import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.data.DateTimeFieldSpec;
+import org.apache.pinot.spi.data.DateTimeFormatSpec;
 import org.apache.pinot.spi.data.Schema;
 import org.apache.pinot.spi.data.readers.GenericRow;
 import org.apache.pinot.spi.metrics.PinotMeter;
@@ -82,6 +87,7 @@ import org.apache.pinot.spi.stream.PartitionLagState;
 import org.apache.pinot.spi.stream.PartitionLevelStreamConfig;
 import org.apache.pinot.spi.stream.PermanentConsumerException;
 import org.apache.pinot.spi.stream.RowMetadata;
+import org.apache.pinot.spi.stream.StreamConfigProperties;
 import org.apache.pinot.spi.stream.StreamConsumerFactory;
 import org.apache.pinot.spi.stream.StreamConsumerFactoryProvider;
 import org.apache.pinot.spi.stream.StreamDataDecoder;
@@ -95,6 +101,7 @@ import org.apache.pinot.spi.stream.StreamPartitionMsgOffsetFactory;
 import org.apache.pinot.spi.utils.CommonConstants.ConsumerState;
 import org.apache.pinot.spi.utils.CommonConstants.Segment.Realtime.CompletionMode;
 import org.apache.pinot.spi.utils.IngestionConfigUtils;
+import org.apache.pinot.spi.utils.TimeUtils;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.slf4j.Logger;
@@ -213,6 +220,10 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
   private static final int MSG_COUNT_THRESHOLD_FOR_LOG = 100000;
   private static final int BUILD_TIME_LEASE_SECONDS = 30;
   private static final int MAX_CONSECUTIVE_ERROR_COUNT = 5;
+  // Min interval between 2 attempts to publish the consuming min time, to bound the ZK writes when late records keep
+  // lowering the min time
+  private static final long CONSUMING_MIN_TIME_PUBLISH_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
+  private static final long DEFAULT_CONSUMING_MIN_TIME_ALLOWED_LATENESS_MS = TimeUnit.HOURS.toMillis(1);
 
   private final SegmentZKMetadata _segmentZKMetadata;
   private final TableConfig _tableConfig;
@@ -294,6 +305,12 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
 
   private final StreamPartitionMsgOffset _latestStreamOffsetAtStartupTime;
   private final CompletionMode _segmentCompletionMode;
+  // Only set when the consuming segment time pruning is enabled for the table
+  private final String _timeColumnName;
+  private final DateTimeFormatSpec _timeFormatSpec;
+  private final long _consumingMinTimeAllowedLatenessMs;
+  private long _publishedConsumingMinTimeMs = Long.MAX_VALUE;
+  private long _lastConsumingMinTimePublishTimeMs = 0;
 
   // TODO each time this method is called, we print reason for stop. Good to print only once.
   private boolean endCriteriaReached() {
@@ -459,6 +476,7 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
         }
         _serverMetrics.setValueOfTableGauge(_clientId, ServerGauge.LLC_PARTITION_CONSUMING, 1);
         lastUpdatedOffset = _streamPartitionMsgOffsetFactory.create(_currentOffset);
+        publishConsumingMinTimeIfNeeded();
       } else if (endCriteriaReached) {
         // At this point current offset has not moved because processStreamEvents() has exited before processing a
         // single message
@@ -1320,6 +1338,14 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
         ? CompletionMode.DOWNLOAD : CompletionMode.DEFAULT;
 
     String timeColumnName = tableConfig.getValidationConfig().getTimeColumnName();
+    DateTimeFieldSpec timeFieldSpec = timeColumnName != null ? schema.getSpecForTimeColumn(timeColumnName) : null;
+    if (timeFieldSpec != null && isConsumingSegmentTimePruningEnabled(tableConfig)) {
+      _timeColumnName = timeColumnName;
+      _timeFormatSpec = timeFieldSpec.getFormatSpec();
+    } else {
+      _timeColumnName = null;
+      _timeFormatSpec = null;
+    }
     // TODO Validate configs
     IndexingConfig indexingConfig = _tableConfig.getIndexingConfig();
     _partitionLevelStreamConfig =
@@ -1339,6 +1365,8 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
     _acquiredConsumerSemaphore = new AtomicBoolean(false);
     _clientId = _tableNameWithType + "-" + streamTopic + "-" + _partitionGroupId;
     _segmentLogger = LoggerFactory.getLogger(LLRealtimeSegmentDataManager.class.getName() + "_" + _segmentNameStr);
+    _consumingMinTimeAllowedLatenessMs =
+        extractConsumingMinTimeAllowedLatenessMs(_partitionLevelStreamConfig.getStreamConfigsMap());
     _tableStreamName = _tableNameWithType + "_" + streamTopic;
     _memoryManager = getMemoryManager(realtimeTableDataManager.getConsumerDir(), _segmentNameStr,
         indexLoadingConfig.isRealtimeOffHeapAllocation(), indexLoadingConfig.isDirectRealtimeOffHeapAllocation(),
@@ -1405,11 +1433,16 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
             .setTextIndexColumns(indexLoadingConfig.getTextIndexColumns())
             .setFSTIndexColumns(indexLoadingConfig.getFSTIndexColumns())
             .setJsonIndexConfigs(indexLoadingConfig.getJsonIndexConfigs())
-            .setH3IndexConfigs(indexLoadingConfig.getH3IndexConfigs()).setSegmentZKMetadata(segmentZKMetadata)
+            .setH3IndexConfigs(indexLoadingConfig.getH3IndexConfigs())
+            .setVectorIndexConfigs(FieldIndexConfigsUtil.enableConfigByColumn(StandardIndexes.vector(),
+                indexLoadingConfig.getFieldIndexConfigByColName()))
+            .setSegmentZKMetadata(segmentZKMetadata)
             .setOffHeap(_isOffHeap).setMemoryManager(_memoryManager)
             .setStatsHistory(realtimeTableDataManager.getStatsHistory())
             .setAggregateMetrics(indexingConfig.isAggregateMetrics())
             .setIngestionAggregationConfigs(IngestionConfigUtils.getAggregationConfigs(tableConfig))
+            .setStarTreeIndexConfigs(
+                indexingConfig.isEnableConsumingSegmentStarTree() ? indexingConfig.getStarTreeIndexConfigs() : null)
             .setNullHandlingEnabled(_nullHandlingEnabled)
             .setConsumerDir(consumerDir).setUpsertMode(tableConfig.getUpsertMode())
             .setPartitionUpsertMetadataManager(partitionUpsertMetadataManager)
@@ -1586,6 +1619,80 @@ public class LLRealtimeSegmentDataManager extends RealtimeSegmentDataManager {
     _partitionMetadataProvider = _streamConsumerFactory.createPartitionMetadataProvider(_clientId, _partitionGroupId);
   }
 
+  /**
+   * Returns whether the consuming segments should be pruned on time by the brokers, which requires both the "time"
+   * segment pruner and the explicit opt-in with {@link StreamConfigProperties#CONSUMING_MIN_TIME_PRUNING_ENABLED}.
+   */
+  private static boolean isConsumingSegmentTimePruningEnabled(TableConfig tableConfig) {
+    if (!Boolean.parseBoolean(IngestionConfigUtils.getStreamConfigMap(tableConfig)
+        .get(StreamConfigProperties.CONSUMING_MIN_TIME_PRUNING_ENABLED))) {
+      return false;
+    }
+    RoutingConfig routingConfig = tableConfig.getRoutingConfig();
+    if (routingConfig == null || routingConfig.getSegmentPrunerTypes() == null) {
+      return false;
+    }
+    for (String segmentPrunerType : routingConfig.getSegmentPrunerTypes()) {
+      if (RoutingConfig.TIME_SEGMENT_PRUNER_TYPE.equalsIgnoreCase(segmentPrunerType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long extractConsumingMinTimeAllowedLatenessMs(Map<String, String> streamConfigMap) {
+    String allowedLatenessStr = streamConfigMap.get(StreamConfigProperties.CONSUMING_MIN_TIME_ALLOWED_LATENESS);
+    if (allowedLatenessStr == null) {
+      return DEFAULT_CONSUMING_MIN_TIME_ALLOWED_LATENESS_MS;
+    }
+    try {
+      return TimeUtils.convertPeriodToMillis(allowedLatenessStr);
+    } catch (Exception e) {
+      try {
+        return Long.parseLong(allowedLatenessStr);
+      } catch (NumberFormatException nfe) {
+        _segmentLogger.warn("Invalid config {}: {}, defaulting to: {}",
+            StreamConfigProperties.CONSUMING_MIN_TIME_ALLOWED_LATENESS, allowedLatenessStr,
+            DEFAULT_CONSUMING_MIN_TIME_ALLOWED_LATENESS_MS);
+        return DEFAULT_CONSUMING_MIN_TIME_ALLOWED_LATENESS_MS;
+      }
+    }
+  }
+
+  /**
+   * Publishes the min time of the consumed records when the broker time pruner is enabled, so that the broker can prune
+   * the consuming segment for queries on time ranges before it. Only the min time is published because the consuming
+   * segment keeps growing on the max side. The min time is re-published (at most once per
+   * {@link #CONSUMING_MIN_TIME_PUBLISH_INTERVAL_MS}) when late records lower it.
+   * <p>The published value is the min time minus the allowed lateness
+   * ({@link StreamConfigProperties#CONSUMING_MIN_TIME_ALLOWED_LATENESS}, 1 hour by default), so that records arriving
+   * late within that margin are still visible to queries before they are consumed and the min time is re-published.
+   */
+  private void publishConsumingMinTimeIfNeeded() {
+    if (_timeFormatSpec == null || _state != State.INITIAL_CONSUMING) {
+      return;
+    }
+    long now = now();
+    if (now - _lastConsumingMinTimePublishTimeMs < CONSUMING_MIN_TIME_PUBLISH_INTERVAL_MS) {
+      return;
+    }
+    Comparable minValue = _realtimeSegment.getDataSource(_timeColumnName).getDataSourceMetadata().getMinValue();
+    if (minValue == null) {
+      return;
+    }
+    _lastConsumingMinTimePublishTimeMs = now;
+    try {
+      long minTimeMs =
+          Math.max(_timeFormatSpec.fromFormatToMillis(minValue.toString()) - _consumingMinTimeAllowedLatenessMs, 0);
+      if (minTimeMs < _publishedConsumingMinTimeMs && _realtimeTableDataManager.publishConsumingSegmentMinTime(
+          _segmentNameStr, minTimeMs)) {
+        _publishedConsumingMinTimeMs = minTimeMs;
+      }
+    } catch (Exception e) {
+      _segmentLogger.warn("Caught exception while publishing consuming min time: {}", minValue, e);
+    }
+  }
+
   private void updateIngestionDelay(RowMetadata metadata) {
     if (metadata != null) {
       _realtimeTableDataManager.updateIngestionDelay(metadata.getRecordIngestionTimeMs(),
@@ -37,7 +37,12 @@ import javax.annotation.concurrent.ThreadSafe;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.helix.AccessOption;
+import org.apache.helix.Criteria;
+import org.apache.helix.InstanceType;
+import org.apache.helix.zookeeper.datamodel.ZNRecord;
 import org.apache.pinot.common.Utils;
+import org.apache.pinot.common.messages.SegmentRefreshMessage;
 import org.apache.pinot.common.metadata.ZKMetadataProvider;
 import org.apache.pinot.common.metadata.instance.InstanceZKMetadata;
 import org.apache.pinot.common.metadata.segment.SegmentZKMetadata;
@@ -79,6 +84,7 @@ import org.apache.pinot.spi.data.Schema;
 import org.apache.pinot.spi.utils.CommonConstants;
 import org.apache.pinot.spi.utils.CommonConstants.Segment.Realtime.Status;
 import org.apache.pinot.spi.utils.TimeUtils;
+import org.apache.zookeeper.data.Stat;
 
 import static org.apache.pinot.spi.utils.CommonConstants.Segment.METADATA_URI_FOR_PEER_DOWNLOAD;
 
@@ -681,6 +687,53 @@ public class RealtimeTableDataManager extends BaseTableDataManager {
     return _instanceId;
   }
 
+  /**
+   * Publishes the min time of the records ingested into the consuming segment to its segment ZK metadata, and sends a
+   * segment refresh message to the brokers so that the broker time pruner can pick it up. The segment ZK metadata is
+   * updated with version check so that it never overrides the concurrent update from the controller (e.g. segment
+   * commit) or other replicas. The controller retries the segment commit when it conflicts with an update that only
+   * changes the consuming min time.
+   *
+   * @return Whether the given min time (or a smaller one) is published for the segment
+   */
+  public boolean publishConsumingSegmentMinTime(String segmentName, long minTimeMs) {
+    String segmentZKMetadataPath =
+        ZKMetadataProvider.constructPropertyStorePathForSegment(_tableNameWithType, segmentName);
+    Stat stat = new Stat();
+    ZNRecord znRecord = _propertyStore.get(segmentZKMetadataPath, stat, AccessOption.PERSISTENT);
+    if (znRecord == null) {
+      return false;
+    }
+    SegmentZKMetadata segmentZKMetadata = new SegmentZKMetadata(znRecord);
+    if (segmentZKMetadata.getStatus() != Status.IN_PROGRESS) {
+      return false;
+    }
+    long publishedMinTimeMs = segmentZKMetadata.getConsumingMinTimeMs();
+    if (publishedMinTimeMs >= 0 && publishedMinTimeMs <= minTimeMs) {
+      return true;
+    }
+    segmentZKMetadata.setConsumingMinTimeMs(minTimeMs);
+    if (!_propertyStore.set(segmentZKMetadataPath, segmentZKMetadata.toZNRecord(), stat.getVersion(),
+        AccessOption.PERSISTENT)) {
+      _logger.info("Failed to publish consuming min time: {} for segment: {} because of concurrent update", minTimeMs,
+          segmentName);
+      return false;
+    }
+
+    // Send segment refresh message to brokers
+    Criteria recipientCriteria = new Criteria();
+    recipientCriteria.setRecipientInstanceType(InstanceType.PARTICIPANT);
+    recipientCriteria.setInstanceName("%");
+    recipientCriteria.setResource(CommonConstants.Helix.BROKER_RESOURCE_INSTANCE);
+    recipientCriteria.setSessionSpecific(true);
+    recipientCriteria.setPartition(_tableNameWithType);
+    int numMessagesSent = _helixManager.getMessagingService()
+        .send(recipientCriteria, new SegmentRefreshMessage(_tableNameWithType, segmentName), null, -1);
+    _logger.info("Published consuming min time: {} for segment: {}, sent {} segment refresh messages to brokers",
+        minTimeMs, segmentName, numMessagesSent);
+    return true;
+  }
+
   /**
    * Validate a schema against the table config for real-time record consumption.
    * Ideally, we should validate these things when schema is added or table is created, but either of these
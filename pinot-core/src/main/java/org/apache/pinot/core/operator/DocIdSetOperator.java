@@ -21,12 +21,14 @@ package org.apache.pinot.core.operator;
 import com.google.common.base.Preconditions;
 import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.common.BlockDocIdIterator;
 import org.apache.pinot.core.common.BlockDocIdSet;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.blocks.DocIdSetBlock;
 import org.apache.pinot.core.operator.filter.BaseFilterOperator;
 import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.query.prefetch.ForwardIndexPrefetcher;
 import org.apache.pinot.segment.spi.Constants;
 import org.apache.pinot.spi.trace.Tracing;
 
@@ -45,6 +47,7 @@ public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
   private final BaseFilterOperator _filterOperator;
   private final int _maxSizeOfDocIdSet;
 
+  private ForwardIndexPrefetcher.SegmentPrefetch _segmentPrefetch;
   private BlockDocIdSet _blockDocIdSet;
   private BlockDocIdIterator _blockDocIdIterator;
   private int _currentDocId = 0;
@@ -55,6 +58,14 @@ public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
     _maxSizeOfDocIdSet = maxSizeOfDocIdSet;
   }
 
+  /**
+   * Sets the prefetch of the forward indexes to be projected, which is driven by the blocks of matching documents and
+   * stopped once all the matching documents are returned.
+   */
+  public void setSegmentPrefetch(@Nullable ForwardIndexPrefetcher.SegmentPrefetch segmentPrefetch) {
+    _segmentPrefetch = segmentPrefetch;
+  }
+
   @Override
   protected DocIdSetBlock getNextBlock() {
     if (_currentDocId == Constants.EOF) {
@@ -79,8 +90,17 @@ public class DocIdSetOperator extends BaseOperator<DocIdSetBlock> {
       docIds[pos++] = _currentDocId;
     }
     if (pos > 0) {
+      if (_segmentPrefetch != null) {
+        _segmentPrefetch.onBlock(_blockDocIdIterator, docIds[pos - 1]);
+        if (_currentDocId == Constants.EOF) {
+          _segmentPrefetch.close();
+        }
+      }
       return new DocIdSetBlock(docIds, pos);
     } else {
+      if (_segmentPrefetch != null) {
+        _segmentPrefetch.close();
+      }
       return null;
     }
   }
@@ -27,6 +27,7 @@ import org.apache.pinot.core.operator.blocks.InstanceResponseBlock;
 import org.apache.pinot.core.operator.blocks.results.BaseResultsBlock;
 import org.apache.pinot.core.operator.blocks.results.ExceptionResultsBlock;
 import org.apache.pinot.core.operator.combine.BaseCombineOperator;
+import org.apache.pinot.core.query.prefetch.ForwardIndexPrefetcher;
 import org.apache.pinot.core.query.request.context.QueryContext;
 import org.apache.pinot.segment.spi.FetchContext;
 import org.apache.pinot.segment.spi.IndexSegment;
@@ -132,7 +133,12 @@ public class InstanceResponseOperator extends BaseOperator<InstanceResponseBlock
     }
   }
 
+  /**
+   * Releases the queried segments. The forward index prefetches of the query are cancelled first so that they do not
+   * touch the released segments.
+   */
   public void releaseAll() {
+    ForwardIndexPrefetcher.cancel(_queryContext);
     for (int i = 0; i < _fetchContextSize; i++) {
       _indexSegments.get(i).release(_fetchContexts.get(i));
     }
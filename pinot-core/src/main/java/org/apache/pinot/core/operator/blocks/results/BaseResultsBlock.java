@@ -48,6 +48,8 @@ public abstract class BaseResultsBlock implements Block {
   private int _numConsumingSegmentsMatched;
   private long _executionThreadCpuTimeNs;
   private int _numServerThreads;
+  private long _workerThreadTotalBusyTimeNs;
+  private long _workerThreadMaxBusyTimeNs;
 
   @Nullable
   public List<ProcessingException> getProcessingExceptions() {
@@ -153,6 +155,22 @@ public abstract class BaseResultsBlock implements Block {
     _numServerThreads = numServerThreads;
   }
 
+  public long getWorkerThreadTotalBusyTimeNs() {
+    return _workerThreadTotalBusyTimeNs;
+  }
+
+  public void setWorkerThreadTotalBusyTimeNs(long workerThreadTotalBusyTimeNs) {
+    _workerThreadTotalBusyTimeNs = workerThreadTotalBusyTimeNs;
+  }
+
+  public long getWorkerThreadMaxBusyTimeNs() {
+    return _workerThreadMaxBusyTimeNs;
+  }
+
+  public void setWorkerThreadMaxBusyTimeNs(long workerThreadMaxBusyTimeNs) {
+    _workerThreadMaxBusyTimeNs = workerThreadMaxBusyTimeNs;
+  }
+
   /**
    * Returns the total size (number of rows) in this result block, without having to materialize the rows.
    *
@@ -192,6 +210,12 @@ public abstract class BaseResultsBlock implements Block {
     metadata.put(MetadataKey.NUM_CONSUMING_SEGMENTS_PROCESSED.getName(),
         Integer.toString(_numConsumingSegmentsProcessed));
     metadata.put(MetadataKey.NUM_CONSUMING_SEGMENTS_MATCHED.getName(), Integer.toString(_numConsumingSegmentsMatched));
+    // Worker thread busy time is only available when the segments are processed by the worker threads
+    if (_workerThreadMaxBusyTimeNs > 0) {
+      metadata.put(MetadataKey.WORKER_THREAD_TOTAL_BUSY_TIME_NS.getName(),
+          Long.toString(_workerThreadTotalBusyTimeNs));
+      metadata.put(MetadataKey.WORKER_THREAD_MAX_BUSY_TIME_NS.getName(), Long.toString(_workerThreadMaxBusyTimeNs));
+    }
     return metadata;
   }
 }
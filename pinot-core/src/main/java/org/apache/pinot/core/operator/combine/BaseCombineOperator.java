@@ -61,6 +61,9 @@ public abstract class BaseCombineOperator<T extends BaseResultsBlock> extends Ba
   // Use an AtomicInteger to track the next operator to execute
   protected final AtomicInteger _nextOperatorId = new AtomicInteger();
   protected final AtomicLong _totalWorkerThreadCpuTimeNs = new AtomicLong(0);
+  // Wall time spent by the tasks processing segments, where the max busy time is the one of the straggler task
+  protected final AtomicLong _totalWorkerThreadBusyTimeNs = new AtomicLong(0);
+  protected final AtomicLong _maxWorkerThreadBusyTimeNs = new AtomicLong(0);
 
   protected BaseCombineOperator(List<Operator> operators, QueryContext queryContext, ExecutorService executorService) {
     _operators = operators;
@@ -104,6 +107,7 @@ public abstract class BaseCombineOperator<T extends BaseResultsBlock> extends Ba
             Tracing.ThreadAccountantOps.clear();
             return;
           }
+          long startTimeNs = System.nanoTime();
           try {
             processSegments();
           } catch (EarlyTerminationException e) {
@@ -121,11 +125,15 @@ public abstract class BaseCombineOperator<T extends BaseResultsBlock> extends Ba
             onProcessSegmentsException(t);
           } finally {
             onProcessSegmentsFinish();
+            // NOTE: Record the stats before deregistering from the phaser so that they are visible to the main thread
+            //       after all the tasks are done.
+            long busyTimeNs = System.nanoTime() - startTimeNs;
+            _totalWorkerThreadBusyTimeNs.getAndAdd(busyTimeNs);
+            _maxWorkerThreadBusyTimeNs.accumulateAndGet(busyTimeNs, Math::max);
+            _totalWorkerThreadCpuTimeNs.getAndAdd(threadResourceUsageProvider.getThreadTimeNs());
             _phaser.arriveAndDeregister();
             Tracing.ThreadAccountantOps.clear();
           }
-
-          _totalWorkerThreadCpuTimeNs.getAndAdd(threadResourceUsageProvider.getThreadTimeNs());
         }
       });
     }
@@ -145,6 +153,15 @@ public abstract class BaseCombineOperator<T extends BaseResultsBlock> extends Ba
     _phaser.awaitAdvance(_phaser.arriveAndDeregister());
   }
 
+  /**
+   * Sets the busy time of the worker threads into the results block, which can be used to detect the straggler tasks
+   * (max busy time close to the query execution time while the other tasks are idle).
+   */
+  protected void setWorkerThreadBusyTime(BaseResultsBlock resultsBlock) {
+    resultsBlock.setWorkerThreadTotalBusyTimeNs(_totalWorkerThreadBusyTimeNs.get());
+    resultsBlock.setWorkerThreadMaxBusyTimeNs(_maxWorkerThreadBusyTimeNs.get());
+  }
+
   protected ExceptionResultsBlock getTimeoutResultsBlock(int numBlocksMerged) {
     LOGGER.error("Timed out while polling results block, numBlocksMerged: {} (query: {})", numBlocksMerged,
         _queryContext);
@@ -23,8 +23,6 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import org.apache.pinot.common.exception.QueryException;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.AcquireReleaseColumnsSegmentOperator;
@@ -49,11 +47,8 @@ public abstract class BaseSingleBlockCombineOperator<T extends BaseResultsBlock>
     extends BaseCombineOperator<BaseResultsBlock> {
   private static final Logger LOGGER = LoggerFactory.getLogger(BaseSingleBlockCombineOperator.class);
 
-  // Use an AtomicInteger to track the next operator to execute
-  protected final AtomicInteger _nextOperatorId = new AtomicInteger();
   // Use a BlockingQueue to store the intermediate results blocks
   protected final BlockingQueue<BaseResultsBlock> _blockingQueue = new LinkedBlockingQueue<>();
-  protected final AtomicLong _totalWorkerThreadCpuTimeNs = new AtomicLong(0);
   protected final ResultsBlockMerger<T> _resultsBlockMerger;
 
   protected BaseSingleBlockCombineOperator(ResultsBlockMerger<T> resultsBlockMerger, List<Operator> operators,
@@ -86,6 +81,7 @@ public abstract class BaseSingleBlockCombineOperator<T extends BaseResultsBlock>
     int numServerThreads = Math.min(_numTasks, ResourceManager.DEFAULT_QUERY_WORKER_THREADS);
     CombineOperatorUtils.setExecutionStatistics(mergedBlock, _operators, _totalWorkerThreadCpuTimeNs.get(),
         numServerThreads);
+    setWorkerThreadBusyTime(mergedBlock);
     return mergedBlock;
   }
 
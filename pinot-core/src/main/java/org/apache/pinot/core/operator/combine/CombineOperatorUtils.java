@@ -18,10 +18,16 @@
  */
 package org.apache.pinot.core.operator.combine;
 
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.ExecutionStatistics;
 import org.apache.pinot.core.operator.blocks.results.BaseResultsBlock;
+import org.apache.pinot.core.operator.filter.BaseFilterOperator;
+import org.apache.pinot.segment.spi.IndexSegment;
 import org.apache.pinot.segment.spi.MutableSegment;
 
 
@@ -30,6 +36,67 @@ public class CombineOperatorUtils {
   private CombineOperatorUtils() {
   }
 
+  /**
+   * Sorts the operators by the estimated cost in descending order (stable for operators with the same cost).
+   * <p>The combine operator tasks pull the operators from the shared operator list in order, so the expensive segments
+   * are processed first and the cheap segments fill the gaps at the end of the query, instead of a large segment picked
+   * up last becoming the straggler of the query.
+   */
+  public static void sortOperatorsByEstimatedCost(List<Operator> operators) {
+    if (operators.size() <= 1) {
+      return;
+    }
+    Map<Operator, Long> estimatedCostMap = new IdentityHashMap<>(operators.size());
+    for (Operator operator : operators) {
+      estimatedCostMap.put(operator, getEstimatedCost(operator));
+    }
+    operators.sort(Comparator.comparingLong((Operator operator) -> estimatedCostMap.get(operator)).reversed());
+  }
+
+  /**
+   * Returns the estimated cost of processing the segment with the given operator, which is the number of documents in
+   * the segment, or 0 if the filter does not match any document. Returns {@link Long#MAX_VALUE} when the segment is
+   * unknown so that the operator is processed first.
+   */
+  public static long getEstimatedCost(@Nullable Operator operator) {
+    if (operator == null) {
+      return Long.MAX_VALUE;
+    }
+    IndexSegment indexSegment;
+    try {
+      indexSegment = operator.getIndexSegment();
+    } catch (UnsupportedOperationException e) {
+      return Long.MAX_VALUE;
+    }
+    if (indexSegment == null) {
+      return Long.MAX_VALUE;
+    }
+    BaseFilterOperator filterOperator = getFilterOperator(operator);
+    if (filterOperator != null && filterOperator.isResultEmpty()) {
+      return 0;
+    }
+    return indexSegment.getSegmentMetadata().getTotalDocs();
+  }
+
+  /**
+   * Returns the top level filter operator under the given operator, or {@code null} if it is not materialized yet
+   * (e.g. for {@link org.apache.pinot.core.operator.AcquireReleaseColumnsSegmentOperator}).
+   */
+  private static BaseFilterOperator getFilterOperator(Operator operator) {
+    for (Object child : operator.getChildOperators()) {
+      if (child instanceof BaseFilterOperator) {
+        return (BaseFilterOperator) child;
+      }
+      if (child != null) {
+        BaseFilterOperator filterOperator = getFilterOperator((Operator) child);
+        if (filterOperator != null) {
+          return filterOperator;
+        }
+      }
+    }
+    return null;
+  }
+
   /**
    * Sets the execution statistics into the results block.
    */
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.dociditerators;
+
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader.PostingListIterator;
+
+
+/**
+ * The {@code PostingListDocIdIterator} is the iterator over a posting list of the skip-list inverted index. It is not
+ * merged into a bitmap by {@link org.apache.pinot.core.operator.docidsets.AndDocIdSet}, but intersected lazily by
+ * {@link AndDocIdIterator}, which advances it through the skip table of the posting list.
+ */
+public final class PostingListDocIdIterator implements BlockDocIdIterator {
+  private final PostingListIterator _postingListIterator;
+
+  public PostingListDocIdIterator(PostingListIterator postingListIterator) {
+    _postingListIterator = postingListIterator;
+  }
+
+  /**
+   * Returns the number of documents in the posting list.
+   */
+  public int getNumDocs() {
+    return _postingListIterator.getNumDocs();
+  }
+
+  @Override
+  public int next() {
+    return _postingListIterator.next();
+  }
+
+  @Override
+  public int advance(int targetDocId) {
+    return _postingListIterator.advance(targetDocId);
+  }
+}
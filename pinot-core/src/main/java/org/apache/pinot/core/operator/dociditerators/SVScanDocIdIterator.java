@@ -22,11 +22,21 @@ import java.util.OptionalInt;
 import javax.annotation.Nullable;
 import org.apache.pinot.core.common.BlockDocIdIterator;
 import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.core.operator.filter.predicate.traits.DoubleRange;
+import org.apache.pinot.core.operator.filter.predicate.traits.DoubleValue;
+import org.apache.pinot.core.operator.filter.predicate.traits.FloatRange;
+import org.apache.pinot.core.operator.filter.predicate.traits.FloatValue;
+import org.apache.pinot.core.operator.filter.predicate.traits.IntRange;
+import org.apache.pinot.core.operator.filter.predicate.traits.IntValue;
+import org.apache.pinot.core.operator.filter.predicate.traits.LongRange;
+import org.apache.pinot.core.operator.filter.predicate.traits.LongValue;
 import org.apache.pinot.segment.spi.Constants;
 import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
 import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
 import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
 import org.apache.pinot.segment.spi.index.reader.NullValueVectorReader;
+import org.apache.pinot.segment.spi.index.reader.ZoneMapIndexReader;
 import org.roaringbitmap.BatchIterator;
 import org.roaringbitmap.RoaringBitmapWriter;
 import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
@@ -50,6 +60,10 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
   private int _firstMismatch;
   private int _cursor;
   private final int _cardinality;
+  // Zone map based skipping: zones (aligned with the raw forward index chunks) that cannot contain any matching doc,
+  // or null if the zone map is not available
+  private final int _numDocsPerZone;
+  private final boolean[] _skippableZones;
 
   private int _nextDocId = 0;
   private long _numEntriesScanned = 0L;
@@ -67,6 +81,14 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
     }
     _valueMatcher = getValueMatcher(nullBitmap);
     _cardinality = dataSource.getDataSourceMetadata().getCardinality();
+    ZoneMapIndexReader zoneMap = _reader.isDictionaryEncoded() ? null : dataSource.getIndex(StandardIndexes.zoneMap());
+    if (zoneMap != null) {
+      _numDocsPerZone = zoneMap.getNumDocsPerZone();
+      _skippableZones = getSkippableZones(zoneMap, nullBitmap != null);
+    } else {
+      _numDocsPerZone = 0;
+      _skippableZones = null;
+    }
   }
 
   // for testing
@@ -83,6 +105,8 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
     }
     _valueMatcher = getValueMatcher(nullBitmap);
     _cardinality = -1;
+    _numDocsPerZone = 0;
+    _skippableZones = null;
   }
 
   @Override
@@ -91,7 +115,14 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
       int limit;
       int batchSize = 0;
       do {
-        limit = Math.min(_numDocs - _nextDocId, _batch.length);
+        if (_skippableZones != null) {
+          _nextDocId = skipZones(_nextDocId);
+          // Do not cross the zone boundary so that the next skippable zone is not scanned
+          limit = Math.min(Math.min(_numDocs, (_nextDocId / _numDocsPerZone + 1) * _numDocsPerZone) - _nextDocId,
+              _batch.length);
+        } else {
+          limit = Math.min(_numDocs - _nextDocId, _batch.length);
+        }
         if (limit > 0) {
           for (int i = 0; i < limit; i++) {
             _batch[i] = _nextDocId + i;
@@ -115,6 +146,12 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
     _nextDocId = targetDocId;
     _firstMismatch = 0;
     while (_nextDocId < _numDocs) {
+      if (_skippableZones != null) {
+        _nextDocId = skipZones(_nextDocId);
+        if (_nextDocId >= _numDocs) {
+          break;
+        }
+      }
       int nextDocId = _nextDocId++;
       _numEntriesScanned++;
       if (_valueMatcher.doesValueMatch(nextDocId)) {
@@ -143,6 +180,9 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
     int[] buffer = new int[_batch.length];
     while (docIdIterator.hasNext()) {
       int limit = docIdIterator.nextBatch(buffer);
+      if (_skippableZones != null) {
+        limit = removeSkippableDocs(buffer, limit);
+      }
       if (limit > 0) {
         int firstMismatch = _valueMatcher.matchValues(limit, buffer);
         for (int i = 0; i < firstMismatch; i++) {
@@ -154,6 +194,128 @@ public final class SVScanDocIdIterator implements ScanBasedDocIdIterator {
     return result.get();
   }
 
+  /**
+   * Returns the first doc id no less than the given doc id that is not in a skippable zone, or a value no less than the
+   * number of docs if all the remaining zones are skippable.
+   */
+  private int skipZones(int docId) {
+    int zoneId = docId / _numDocsPerZone;
+    if (zoneId >= _skippableZones.length || !_skippableZones[zoneId]) {
+      return docId;
+    }
+    do {
+      zoneId++;
+    } while (zoneId < _skippableZones.length && _skippableZones[zoneId]);
+    return zoneId < _skippableZones.length ? zoneId * _numDocsPerZone : _numDocs;
+  }
+
+  /**
+   * Removes the doc ids within the skippable zones, compacts the remaining ones to the start of the array, and returns
+   * the number of remaining doc ids.
+   */
+  private int removeSkippableDocs(int[] docIds, int limit) {
+    int numRemaining = 0;
+    for (int i = 0; i < limit; i++) {
+      int docId = docIds[i];
+      int zoneId = docId / _numDocsPerZone;
+      if (zoneId >= _skippableZones.length || !_skippableZones[zoneId]) {
+        docIds[numRemaining++] = docId;
+      }
+    }
+    return numRemaining;
+  }
+
+  /**
+   * Returns the zones that cannot contain any matching doc based on the min/max value (and the number of nulls when
+   * nulls never match) of each zone, or {@code null} if the predicate cannot be evaluated against the zone map or no
+   * zone can be skipped.
+   */
+  @Nullable
+  private boolean[] getSkippableZones(ZoneMapIndexReader zoneMap, boolean nullsNeverMatch) {
+    switch (zoneMap.getStoredType()) {
+      case INT:
+        if (_predicateEvaluator instanceof IntValue) {
+          int value = ((IntValue) _predicateEvaluator).getInt();
+          return getSkippableZones(zoneMap, value, value, nullsNeverMatch);
+        }
+        if (_predicateEvaluator instanceof IntRange) {
+          IntRange intRange = (IntRange) _predicateEvaluator;
+          return getSkippableZones(zoneMap, intRange.getInclusiveLowerBound(), intRange.getInclusiveUpperBound(),
+              nullsNeverMatch);
+        }
+        return null;
+      case LONG:
+        if (_predicateEvaluator instanceof LongValue) {
+          long value = ((LongValue) _predicateEvaluator).getLong();
+          return getSkippableZones(zoneMap, value, value, nullsNeverMatch);
+        }
+        if (_predicateEvaluator instanceof LongRange) {
+          LongRange longRange = (LongRange) _predicateEvaluator;
+          return getSkippableZones(zoneMap, longRange.getInclusiveLowerBound(), longRange.getInclusiveUpperBound(),
+              nullsNeverMatch);
+        }
+        return null;
+      case FLOAT:
+        if (_predicateEvaluator instanceof FloatValue) {
+          float value = ((FloatValue) _predicateEvaluator).getFloat();
+          return getSkippableZones(zoneMap, (double) value, value, nullsNeverMatch);
+        }
+        if (_predicateEvaluator instanceof FloatRange) {
+          FloatRange floatRange = (FloatRange) _predicateEvaluator;
+          return getSkippableZones(zoneMap, (double) floatRange.getInclusiveLowerBound(),
+              floatRange.getInclusiveUpperBound(), nullsNeverMatch);
+        }
+        return null;
+      case DOUBLE:
+        if (_predicateEvaluator instanceof DoubleValue) {
+          double value = ((DoubleValue) _predicateEvaluator).getDouble();
+          return getSkippableZones(zoneMap, value, value, nullsNeverMatch);
+        }
+        if (_predicateEvaluator instanceof DoubleRange) {
+          DoubleRange doubleRange = (DoubleRange) _predicateEvaluator;
+          return getSkippableZones(zoneMap, doubleRange.getInclusiveLowerBound(), doubleRange.getInclusiveUpperBound(),
+              nullsNeverMatch);
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private boolean[] getSkippableZones(ZoneMapIndexReader zoneMap, long lower, long upper, boolean nullsNeverMatch) {
+    int numZones = zoneMap.getNumZones();
+    boolean[] skippableZones = new boolean[numZones];
+    boolean hasSkippableZone = false;
+    for (int i = 0; i < numZones; i++) {
+      boolean skippable = zoneMap.getMaxLong(i) < lower || zoneMap.getMinLong(i) > upper
+          || (nullsNeverMatch && isAllNulls(zoneMap, i));
+      skippableZones[i] = skippable;
+      hasSkippableZone |= skippable;
+    }
+    return hasSkippableZone ? skippableZones : null;
+  }
+
+  @Nullable
+  private boolean[] getSkippableZones(ZoneMapIndexReader zoneMap, double lower, double upper,
+      boolean nullsNeverMatch) {
+    int numZones = zoneMap.getNumZones();
+    boolean[] skippableZones = new boolean[numZones];
+    boolean hasSkippableZone = false;
+    for (int i = 0; i < numZones; i++) {
+      boolean skippable = zoneMap.getMaxDouble(i) < lower || zoneMap.getMinDouble(i) > upper
+          || (nullsNeverMatch && isAllNulls(zoneMap, i));
+      skippableZones[i] = skippable;
+      hasSkippableZone |= skippable;
+    }
+    return hasSkippableZone ? skippableZones : null;
+  }
+
+  private boolean isAllNulls(ZoneMapIndexReader zoneMap, int zoneId) {
+    int numDocsPerZone = zoneMap.getNumDocsPerZone();
+    return zoneMap.getNullCount(zoneId) >= Math.min(numDocsPerZone, _numDocs - zoneId * numDocsPerZone);
+  }
+
   @Override
   public long getNumEntriesScanned() {
     return _numEntriesScanned;
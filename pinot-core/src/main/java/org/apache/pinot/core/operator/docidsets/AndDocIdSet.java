@@ -28,6 +28,7 @@ import org.apache.pinot.core.common.BlockDocIdIterator;
 import org.apache.pinot.core.common.BlockDocIdSet;
 import org.apache.pinot.core.operator.dociditerators.AndDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.BitmapBasedDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.PostingListDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.RangelessBitmapDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.ScanBasedDocIdIterator;
 import org.apache.pinot.core.operator.dociditerators.SortedDocIdIterator;
@@ -53,6 +54,9 @@ import org.roaringbitmap.buffer.MutableRoaringBitmap;
  *     Otherwise, construct and return an AndDocIdIterator with all BlockDocIdIterators.
  *   </li>
  * </ul>
+ * PostingListDocIdIterators (skip-list inverted index) are never merged into the bitmap. They are placed before the
+ * other remaining BlockDocIdIterators in the AndDocIdIterator, the shortest posting list first, so that the AND
+ * leapfrogs through their skip tables.
  */
 public final class AndDocIdSet implements BlockDocIdSet {
   private final List<BlockDocIdSet> _docIdSets;
@@ -73,6 +77,7 @@ public final class AndDocIdSet implements BlockDocIdSet {
     List<SortedDocIdIterator> sortedDocIdIterators = new ArrayList<>();
     List<BitmapBasedDocIdIterator> bitmapBasedDocIdIterators = new ArrayList<>();
     List<ScanBasedDocIdIterator> scanBasedDocIdIterators = new ArrayList<>();
+    List<PostingListDocIdIterator> postingListDocIdIterators = new ArrayList<>();
     List<BlockDocIdIterator> remainingDocIdIterators = new ArrayList<>();
     for (int i = 0; i < numDocIdSets; i++) {
       BlockDocIdIterator docIdIterator = _docIdSets.get(i).iterator();
@@ -83,6 +88,8 @@ public final class AndDocIdSet implements BlockDocIdSet {
         bitmapBasedDocIdIterators.add((BitmapBasedDocIdIterator) docIdIterator);
       } else if (docIdIterator instanceof ScanBasedDocIdIterator) {
         scanBasedDocIdIterators.add((ScanBasedDocIdIterator) docIdIterator);
+      } else if (docIdIterator instanceof PostingListDocIdIterator) {
+        postingListDocIdIterators.add((PostingListDocIdIterator) docIdIterator);
       } else {
         remainingDocIdIterators.add(docIdIterator);
       }
@@ -92,6 +99,9 @@ public final class AndDocIdSet implements BlockDocIdSet {
     // of containers (range) for comparison from the beginning, as will minimize the effort of bitmap AND application
     bitmapBasedDocIdIterators.sort(Comparator.comparing(x -> x.getDocIds().getCardinality()));
 
+    // Lead the AND with the shortest posting list, so that the longer ones are advanced with the largest skips
+    postingListDocIdIterators.sort(Comparator.comparingInt(PostingListDocIdIterator::getNumDocs));
+
     // Evaluate the scan based operator with the highest cardinality coming first, this potentially reduce the range of
     // scanning from the beginning. Automatically place N/A cardinality column (negative infinity) to the back as we
     // want to evaluate these unestimated predicates in the end.
@@ -105,6 +115,7 @@ public final class AndDocIdSet implements BlockDocIdSet {
     int numSortedDocIdIterators = sortedDocIdIterators.size();
     int numBitmapBasedDocIdIterators = bitmapBasedDocIdIterators.size();
     int numScanBasedDocIdIterators = scanBasedDocIdIterators.size();
+    int numPostingListDocIdIterators = postingListDocIdIterators.size();
     int numRemainingDocIdIterators = remainingDocIdIterators.size();
     int numIndexBasedDocIdIterators = numSortedDocIdIterators + numBitmapBasedDocIdIterators;
     if ((numIndexBasedDocIdIterators > 0 && numScanBasedDocIdIterators > 0) || numIndexBasedDocIdIterators > 1) {
@@ -151,20 +162,31 @@ public final class AndDocIdSet implements BlockDocIdSet {
         docIds = scanBasedDocIdIterator.applyAnd(docIds);
       }
       RangelessBitmapDocIdIterator rangelessBitmapDocIdIterator = new RangelessBitmapDocIdIterator(docIds);
-      if (numRemainingDocIdIterators == 0) {
+      if (numPostingListDocIdIterators == 0 && numRemainingDocIdIterators == 0) {
         return rangelessBitmapDocIdIterator;
       } else {
-        BlockDocIdIterator[] docIdIterators = new BlockDocIdIterator[numRemainingDocIdIterators + 1];
-        docIdIterators[0] = rangelessBitmapDocIdIterator;
-        for (int i = 0; i < numRemainingDocIdIterators; i++) {
-          docIdIterators[i + 1] = remainingDocIdIterators.get(i);
-        }
-        return new AndDocIdIterator(docIdIterators);
+        List<BlockDocIdIterator> docIdIterators =
+            new ArrayList<>(numPostingListDocIdIterators + numRemainingDocIdIterators + 1);
+        docIdIterators.add(rangelessBitmapDocIdIterator);
+        docIdIterators.addAll(postingListDocIdIterators);
+        docIdIterators.addAll(remainingDocIdIterators);
+        return new AndDocIdIterator(docIdIterators.toArray(new BlockDocIdIterator[0]));
       }
     } else {
       // Otherwise, construct and return an AndDocIdIterator with all BlockDocIdIterators.
 
-      return new AndDocIdIterator(allDocIdIterators);
+      if (numPostingListDocIdIterators == 0) {
+        return new AndDocIdIterator(allDocIdIterators);
+      }
+      // Put the posting lists first, and keep the order of the other BlockDocIdIterators
+      List<BlockDocIdIterator> docIdIterators = new ArrayList<>(numDocIdSets);
+      docIdIterators.addAll(postingListDocIdIterators);
+      for (BlockDocIdIterator docIdIterator : allDocIdIterators) {
+        if (!(docIdIterator instanceof PostingListDocIdIterator)) {
+          docIdIterators.add(docIdIterator);
+        }
+      }
+      return new AndDocIdIterator(docIdIterators.toArray(new BlockDocIdIterator[0]));
     }
   }
 
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.docidsets;
+
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.common.BlockDocIdSet;
+import org.apache.pinot.core.operator.dociditerators.OrDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.PostingListDocIdIterator;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader;
+
+
+/**
+ * The BlockDocIdSet over the posting lists of the given dictionary ids in a skip-list inverted index. The posting lists
+ * are iterated lazily, and merged with an {@link OrDocIdIterator} when there are more than one dictionary ids.
+ * <p>NOTE: No need to track numDocs because skip-list inverted index can only apply to ImmutableSegment, so the
+ *          document ids are always smaller than numDocs.
+ */
+public final class PostingListDocIdSet implements BlockDocIdSet {
+  private final SkipListIndexReader _skipListIndexReader;
+  private final int[] _dictIds;
+
+  public PostingListDocIdSet(SkipListIndexReader skipListIndexReader, int[] dictIds) {
+    _skipListIndexReader = skipListIndexReader;
+    _dictIds = dictIds;
+  }
+
+  @Override
+  public BlockDocIdIterator iterator() {
+    int numDictIds = _dictIds.length;
+    if (numDictIds == 1) {
+      return new PostingListDocIdIterator(_skipListIndexReader.getPostingList(_dictIds[0]));
+    }
+    BlockDocIdIterator[] docIdIterators = new BlockDocIdIterator[numDictIds];
+    for (int i = 0; i < numDictIds; i++) {
+      docIdIterators[i] = new PostingListDocIdIterator(_skipListIndexReader.getPostingList(_dictIds[i]));
+    }
+    return new OrDocIdIterator(docIdIterators);
+  }
+
+  @Override
+  public long getNumEntriesScannedInFilter() {
+    return 0L;
+  }
+}
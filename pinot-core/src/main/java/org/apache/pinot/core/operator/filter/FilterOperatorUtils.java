@@ -102,6 +102,9 @@ public class FilterOperatorUtils {
         if (dataSource.getDataSourceMetadata().isSorted() && dataSource.getDictionary() != null) {
           return new SortedIndexBasedFilterOperator(predicateEvaluator, dataSource, numDocs);
         }
+        if (SkipListIndexBasedFilterOperator.canEvaluate(predicateEvaluator, dataSource)) {
+          return new SkipListIndexBasedFilterOperator(predicateEvaluator, dataSource);
+        }
         if (dataSource.getInvertedIndex() != null) {
           return new BitmapBasedFilterOperator(predicateEvaluator, dataSource, numDocs);
         }
@@ -191,14 +194,16 @@ public class FilterOperatorUtils {
           if (filterOperator instanceof SortedIndexBasedFilterOperator) {
             return 0;
           }
-          if (filterOperator instanceof BitmapBasedFilterOperator) {
+          if (filterOperator instanceof BitmapBasedFilterOperator
+              || filterOperator instanceof SkipListIndexBasedFilterOperator) {
             return 1;
           }
           if (filterOperator instanceof RangeIndexBasedFilterOperator
               || filterOperator instanceof TextContainsFilterOperator
               || filterOperator instanceof TextMatchFilterOperator || filterOperator instanceof JsonMatchFilterOperator
               || filterOperator instanceof H3IndexFilterOperator
-              || filterOperator instanceof H3InclusionIndexFilterOperator) {
+              || filterOperator instanceof H3InclusionIndexFilterOperator
+              || filterOperator instanceof VectorSimilarityFilterOperator) {
             return 2;
           }
           if (filterOperator instanceof AndFilterOperator) {
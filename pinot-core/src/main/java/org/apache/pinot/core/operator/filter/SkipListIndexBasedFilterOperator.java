@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.request.context.predicate.Predicate;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.operator.blocks.EmptyFilterBlock;
+import org.apache.pinot.core.operator.blocks.FilterBlock;
+import org.apache.pinot.core.operator.docidsets.PostingListDocIdSet;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader;
+import org.apache.pinot.spi.trace.FilterType;
+import org.apache.pinot.spi.trace.InvocationRecording;
+import org.apache.pinot.spi.trace.Tracing;
+
+
+/**
+ * Filter operator for EQ and IN predicates on a column with skip-list inverted index. Instead of reading the matching
+ * documents into a bitmap, it returns iterators over the posting lists, so that an AND filter can intersect them by
+ * leapfrogging through the skip tables without materializing the posting lists.
+ */
+public class SkipListIndexBasedFilterOperator extends BaseFilterOperator {
+  private static final String EXPLAIN_NAME = "FILTER_SKIP_LIST_INDEX";
+  // Merging many posting lists document by document is slower than OR-ing the bitmaps of the bitmap inverted index
+  private static final int MAX_NUM_POSTING_LISTS_TO_MERGE = 16;
+
+  private final PredicateEvaluator _predicateEvaluator;
+  private final DataSource _dataSource;
+  private final SkipListIndexReader _skipListIndexReader;
+
+  static boolean canEvaluate(PredicateEvaluator predicateEvaluator, DataSource dataSource) {
+    Predicate.Type type = predicateEvaluator.getPredicateType();
+    if ((type != Predicate.Type.EQ && type != Predicate.Type.IN) || !predicateEvaluator.isDictionaryBased()
+        || predicateEvaluator.isExclusive() || dataSource.getIndex(StandardIndexes.skipList()) == null) {
+      return false;
+    }
+    return predicateEvaluator.getNumMatchingDictIds() <= MAX_NUM_POSTING_LISTS_TO_MERGE
+        || dataSource.getInvertedIndex() == null;
+  }
+
+  SkipListIndexBasedFilterOperator(PredicateEvaluator predicateEvaluator, DataSource dataSource) {
+    _predicateEvaluator = predicateEvaluator;
+    _dataSource = dataSource;
+    _skipListIndexReader = dataSource.getIndex(StandardIndexes.skipList());
+  }
+
+  @Override
+  protected FilterBlock getNextBlock() {
+    int[] dictIds = _predicateEvaluator.getMatchingDictIds();
+    if (dictIds.length == 0) {
+      return EmptyFilterBlock.getInstance();
+    }
+    InvocationRecording recording = Tracing.activeRecording();
+    if (recording.isEnabled()) {
+      recording.setColumnName(_dataSource.getDataSourceMetadata().getFieldSpec().getName());
+      recording.setFilter(FilterType.INDEX, String.valueOf(_predicateEvaluator.getPredicateType()));
+    }
+    return new FilterBlock(new PostingListDocIdSet(_skipListIndexReader, dictIds));
+  }
+
+  @Override
+  public boolean canOptimizeCount() {
+    // Posting lists of a multi-value column can overlap
+    return _dataSource.getDataSourceMetadata().isSingleValue() || _predicateEvaluator.getNumMatchingDictIds() == 1;
+  }
+
+  @Override
+  public int getNumMatchingDocs() {
+    int count = 0;
+    for (int dictId : _predicateEvaluator.getMatchingDictIds()) {
+      count += _skipListIndexReader.getNumDocs(dictId);
+    }
+    return count;
+  }
+
+  @Override
+  public List<Operator> getChildOperators() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public String toExplainString() {
+    Predicate predicate = _predicateEvaluator.getPredicate();
+    return EXPLAIN_NAME + "(indexLookUp:skip_list_index,operator:" + predicate.getType() + ",predicate:" + predicate
+        + ')';
+  }
+}
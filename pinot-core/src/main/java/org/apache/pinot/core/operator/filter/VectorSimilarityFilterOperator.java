@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter;
+
+import com.google.common.base.Preconditions;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.request.context.predicate.VectorSimilarityPredicate;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.operator.blocks.FilterBlock;
+import org.apache.pinot.core.operator.docidsets.BitmapDocIdSet;
+import org.apache.pinot.segment.local.utils.hnsw.NeighborQueue;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.apache.pinot.spi.trace.FilterType;
+import org.apache.pinot.spi.trace.InvocationRecording;
+import org.apache.pinot.spi.trace.Tracing;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Filter operator for the VECTOR_SIMILARITY predicate, which matches the top-K nearest documents of the segment to the
+ * query vector: WHERE VECTOR_SIMILARITY(column_name, ARRAY[...], topK)
+ * <p>The approximate nearest neighbors are searched with the vector index when the column has one. Otherwise the
+ * exact nearest neighbors are computed by scanning the forward index, ranked with the distance function configured for
+ * the vector index of the column (or the default distance function if not configured), so that the segments with and
+ * without the index rank the documents the same way.
+ */
+public class VectorSimilarityFilterOperator extends BaseFilterOperator {
+  private static final String EXPLAIN_NAME = "FILTER_VECTOR_SIMILARITY";
+
+  private final DataSource _dataSource;
+  private final VectorIndexReader _vectorIndexReader;
+  private final VectorSimilarityPredicate _predicate;
+  private final int _numDocs;
+  private ImmutableRoaringBitmap _matches;
+
+  public VectorSimilarityFilterOperator(DataSource dataSource, VectorSimilarityPredicate predicate, int numDocs) {
+    _dataSource = dataSource;
+    _vectorIndexReader = dataSource.getIndex(StandardIndexes.vector());
+    _predicate = predicate;
+    _numDocs = numDocs;
+  }
+
+  @Override
+  protected FilterBlock getNextBlock() {
+    return new FilterBlock(new BitmapDocIdSet(getMatches(), _numDocs));
+  }
+
+  @Override
+  public boolean canOptimizeCount() {
+    return true;
+  }
+
+  @Override
+  public int getNumMatchingDocs() {
+    return getMatches().getCardinality();
+  }
+
+  @Override
+  public boolean canProduceBitmaps() {
+    return true;
+  }
+
+  @Override
+  public BitmapCollection getBitmaps() {
+    ImmutableRoaringBitmap bitmap = getMatches();
+    record(bitmap);
+    return new BitmapCollection(_numDocs, false, bitmap);
+  }
+
+  private ImmutableRoaringBitmap getMatches() {
+    if (_matches == null) {
+      MutableRoaringBitmap matches;
+      if (_vectorIndexReader != null) {
+        matches = _vectorIndexReader.getDocIds(_predicate.getValue(), _predicate.getTopK()).toMutableRoaringBitmap();
+        // Consuming segment might index documents that are not yet queryable
+        matches.remove(_numDocs, (long) Integer.MAX_VALUE + 1);
+      } else {
+        matches = bruteForceSearch();
+      }
+      _matches = matches;
+    }
+    return _matches;
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private MutableRoaringBitmap bruteForceSearch() {
+    float[] queryVector = _predicate.getValue();
+    int topK = _predicate.getTopK();
+    DistanceFunction distanceFunction = getDistanceFunction();
+    ForwardIndexReader forwardIndex = _dataSource.getForwardIndex();
+    Preconditions.checkState(forwardIndex != null && !forwardIndex.isSingleValue(),
+        "Cannot apply VECTOR_SIMILARITY on column: %s without vector index or multi-value forward index",
+        _predicate.getLhs());
+    Dictionary dictionary = _dataSource.getDictionary();
+    int maxNumValues = _dataSource.getDataSourceMetadata().getMaxNumValuesPerMVEntry();
+    NeighborQueue nearest = new NeighborQueue(topK + 1, true);
+    float[] vector = new float[queryVector.length];
+    int[] dictIds = dictionary != null ? new int[maxNumValues] : null;
+    float[] values = dictionary == null ? new float[maxNumValues] : null;
+    try (ForwardIndexReaderContext readerContext = forwardIndex.createContext()) {
+      for (int docId = 0; docId < _numDocs; docId++) {
+        int numValues;
+        if (dictionary != null) {
+          numValues = forwardIndex.getDictIdMV(docId, dictIds, readerContext);
+          if (numValues == vector.length) {
+            dictionary.readFloatValues(dictIds, numValues, vector);
+          }
+        } else {
+          numValues = forwardIndex.getFloatMV(docId, values, readerContext);
+          if (numValues == vector.length) {
+            System.arraycopy(values, 0, vector, 0, numValues);
+          }
+        }
+        if (numValues != vector.length) {
+          continue;
+        }
+        float distance = distanceFunction.distance(queryVector, vector);
+        if (nearest.size() < topK || distance < nearest.topDistance()) {
+          nearest.add(docId, distance);
+          if (nearest.size() > topK) {
+            nearest.pop();
+          }
+        }
+      }
+    } catch (Exception e) {
+      throw new RuntimeException("Caught exception while scanning vectors for column: " + _predicate.getLhs(), e);
+    }
+    return MutableRoaringBitmap.bitmapOf(nearest.nodes());
+  }
+
+  private DistanceFunction getDistanceFunction() {
+    FieldIndexConfigs fieldIndexConfigs = _dataSource.getFieldIndexConfigs();
+    if (fieldIndexConfigs != null) {
+      VectorIndexConfig vectorIndexConfig = fieldIndexConfigs.getConfig(StandardIndexes.vector());
+      if (vectorIndexConfig.isEnabled()) {
+        return vectorIndexConfig.getDistanceFunction();
+      }
+    }
+    return VectorIndexConfig.DEFAULT_DISTANCE_FUNCTION;
+  }
+
+  @Override
+  public List<Operator> getChildOperators() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public String toExplainString() {
+    StringBuilder stringBuilder = new StringBuilder(EXPLAIN_NAME).append("(indexLookUp:")
+        .append(_vectorIndexReader != null ? "vector_index" : "none");
+    stringBuilder.append(",operator:").append(_predicate.getType());
+    stringBuilder.append(",predicate:").append(_predicate.toString());
+    return stringBuilder.append(')').toString();
+  }
+
+  private void record(ImmutableRoaringBitmap matches) {
+    InvocationRecording recording = Tracing.activeRecording();
+    if (recording.isEnabled()) {
+      recording.setNumDocsMatchingAfterFilter(matches.getCardinality());
+      recording.setColumnName(_predicate.getLhs().getIdentifier());
+      recording.setFilter(_vectorIndexReader != null ? FilterType.INDEX : FilterType.SCAN, "VECTOR_SIMILARITY");
+    }
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.pinot.core.operator.query;
 
 import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.pinot.core.operator.BaseOperator;
 import org.apache.pinot.core.operator.BaseProjectOperator;
 import org.apache.pinot.core.operator.ExecutionStatistics;
@@ -28,6 +29,7 @@ import org.apache.pinot.core.operator.blocks.results.AggregationResultsBlock;
 import org.apache.pinot.core.query.aggregation.AggregationExecutor;
 import org.apache.pinot.core.query.aggregation.DefaultAggregationExecutor;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
+import org.apache.pinot.core.startree.StarTreeCostModel;
 import org.apache.pinot.core.startree.executor.StarTreeAggregationExecutor;
 
 
@@ -42,15 +44,23 @@ public class AggregationOperator extends BaseOperator<AggregationResultsBlock> {
   private final BaseProjectOperator<?> _projectOperator;
   private final long _numTotalDocs;
   private final boolean _useStarTree;
+  // Strategy selected by the star-tree cost model, null when the cost model is not applied
+  private final StarTreeCostModel.Strategy _strategy;
 
   private int _numDocsScanned = 0;
 
   public AggregationOperator(AggregationFunction[] aggregationFunctions, BaseProjectOperator<?> projectOperator,
       long numTotalDocs, boolean useStarTree) {
+    this(aggregationFunctions, projectOperator, numTotalDocs, useStarTree, null);
+  }
+
+  public AggregationOperator(AggregationFunction[] aggregationFunctions, BaseProjectOperator<?> projectOperator,
+      long numTotalDocs, boolean useStarTree, @Nullable StarTreeCostModel.Strategy strategy) {
     _aggregationFunctions = aggregationFunctions;
     _projectOperator = projectOperator;
     _numTotalDocs = numTotalDocs;
     _useStarTree = useStarTree;
+    _strategy = strategy;
   }
 
   @Override
@@ -94,6 +104,9 @@ public class AggregationOperator extends BaseOperator<AggregationResultsBlock> {
         stringBuilder.append(", ").append(_aggregationFunctions[i].toExplainString());
       }
     }
+    if (_strategy != null) {
+      stringBuilder.append(", strategy:").append(_strategy);
+    }
 
     return stringBuilder.append(')').toString();
   }
@@ -21,6 +21,7 @@ package org.apache.pinot.core.operator.query;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.request.context.ExpressionContext;
 import org.apache.pinot.common.utils.DataSchema;
 import org.apache.pinot.core.common.Operator;
@@ -35,6 +36,7 @@ import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.groupby.DefaultGroupByExecutor;
 import org.apache.pinot.core.query.aggregation.groupby.GroupByExecutor;
 import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.startree.StarTreeCostModel;
 import org.apache.pinot.core.startree.executor.StarTreeGroupByExecutor;
 import org.apache.pinot.core.util.GroupByUtils;
 import org.apache.pinot.spi.trace.Tracing;
@@ -52,6 +54,8 @@ public class GroupByOperator extends BaseOperator<GroupByResultsBlock> {
   private final BaseProjectOperator<?> _projectOperator;
   private final long _numTotalDocs;
   private final boolean _useStarTree;
+  // Strategy selected by the star-tree cost model, null when the cost model is not applied
+  private final StarTreeCostModel.Strategy _strategy;
   private final DataSchema _dataSchema;
   private final QueryContext _queryContext;
 
@@ -59,11 +63,18 @@ public class GroupByOperator extends BaseOperator<GroupByResultsBlock> {
 
   public GroupByOperator(AggregationFunction[] aggregationFunctions, ExpressionContext[] groupByExpressions,
       BaseProjectOperator<?> projectOperator, long numTotalDocs, QueryContext queryContext, boolean useStarTree) {
+    this(aggregationFunctions, groupByExpressions, projectOperator, numTotalDocs, queryContext, useStarTree, null);
+  }
+
+  public GroupByOperator(AggregationFunction[] aggregationFunctions, ExpressionContext[] groupByExpressions,
+      BaseProjectOperator<?> projectOperator, long numTotalDocs, QueryContext queryContext, boolean useStarTree,
+      @Nullable StarTreeCostModel.Strategy strategy) {
     _aggregationFunctions = aggregationFunctions;
     _groupByExpressions = groupByExpressions;
     _projectOperator = projectOperator;
     _numTotalDocs = numTotalDocs;
     _useStarTree = useStarTree;
+    _strategy = strategy;
     _queryContext = queryContext;
 
     // NOTE: The indexedTable expects that the the data schema will have group by columns before aggregation columns
@@ -164,6 +175,9 @@ public class GroupByOperator extends BaseOperator<GroupByResultsBlock> {
         stringBuilder.append(", ").append(_aggregationFunctions[i].toExplainString());
       }
     }
+    if (_strategy != null) {
+      stringBuilder.append(", strategy:").append(_strategy);
+    }
 
     return stringBuilder.append(')').toString();
   }
@@ -108,6 +108,7 @@ public abstract class BaseStreamingCombineOperator<T extends BaseResultsBlock>
     int numServerThreads = Math.min(_numTasks, ResourceManager.DEFAULT_QUERY_WORKER_THREADS);
     CombineOperatorUtils.setExecutionStatistics(finalBlock, _operators, _totalWorkerThreadCpuTimeNs.get(),
         numServerThreads);
+    setWorkerThreadBusyTime(finalBlock);
     return finalBlock;
   }
 
@@ -131,6 +131,7 @@ public class StreamingGroupByCombineOperator extends BaseStreamingCombineOperato
     int numServerThreads = Math.min(_numTasks, ResourceManager.DEFAULT_QUERY_WORKER_THREADS);
     CombineOperatorUtils.setExecutionStatistics(finalBlock, _operators, _totalWorkerThreadCpuTimeNs.get(),
         numServerThreads);
+    setWorkerThreadBusyTime(finalBlock);
     return finalBlock;
   }
 
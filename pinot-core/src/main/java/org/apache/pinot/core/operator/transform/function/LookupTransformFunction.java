@@ -29,9 +29,6 @@ import org.apache.pinot.core.operator.blocks.ValueBlock;
 import org.apache.pinot.core.operator.transform.TransformResultMetadata;
 import org.apache.pinot.spi.data.FieldSpec;
 import org.apache.pinot.spi.data.FieldSpec.DataType;
-import org.apache.pinot.spi.data.readers.GenericRow;
-import org.apache.pinot.spi.data.readers.PrimaryKey;
-import org.apache.pinot.spi.utils.ByteArray;
 import org.apache.pinot.spi.utils.builder.TableNameBuilder;
 
 
@@ -79,6 +76,7 @@ public class LookupTransformFunction extends BaseTransformFunction {
 
   private DimensionTableDataManager _dataManager;
   private FieldSpec _lookupColumnFieldSpec;
+  private Object[] _values;
 
   private int _nullIntValue;
   private long _nullLongValue;
@@ -198,29 +196,13 @@ public class LookupTransformFunction extends BaseTransformFunction {
       }
     }
 
-    Object[] pkValues = new Object[numPkColumns];
-    PrimaryKey primaryKey = new PrimaryKey(pkValues);
+    if (_values == null || _values.length < numDocuments) {
+      _values = new Object[numDocuments];
+    }
+    // Look up the whole block at once so that the dimension table can resolve the primary keys in batch
+    _dataManager.lookupValues(pkColumns, numDocuments, _dimColumnName, _values);
     for (int i = 0; i < numDocuments; i++) {
-      // prepare pk
-      for (int c = 0; c < numPkColumns; c++) {
-        if (pkColumns[c] instanceof int[]) {
-          pkValues[c] = ((int[]) pkColumns[c])[i];
-        } else if (pkColumns[c] instanceof long[]) {
-          pkValues[c] = ((long[]) pkColumns[c])[i];
-        } else if (pkColumns[c] instanceof String[]) {
-          pkValues[c] = ((String[]) pkColumns[c])[i];
-        } else if (pkColumns[c] instanceof float[]) {
-          pkValues[c] = ((float[]) pkColumns[c])[i];
-        } else if (pkColumns[c] instanceof double[]) {
-          pkValues[c] = ((double[]) pkColumns[c])[i];
-        } else if (pkColumns[c] instanceof byte[][]) {
-          pkValues[c] = new ByteArray(((byte[][]) pkColumns[c])[i]);
-        }
-      }
-      // lookup
-      GenericRow row = _dataManager.lookupRowByPrimaryKey(primaryKey);
-      Object value = row == null ? null : row.getValue(_dimColumnName);
-      valueAcceptor.accept(i, value);
+      valueAcceptor.accept(i, _values[i]);
     }
   }
 
@@ -36,6 +36,7 @@ import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
 import org.apache.pinot.core.query.request.context.QueryContext;
 import org.apache.pinot.core.startree.CompositePredicateEvaluator;
+import org.apache.pinot.core.startree.StarTreeCostModel;
 import org.apache.pinot.core.startree.StarTreeUtils;
 import org.apache.pinot.core.startree.plan.StarTreeProjectPlanNode;
 import org.apache.pinot.segment.spi.AggregationFunctionType;
@@ -119,6 +120,7 @@ public class AggregationPlanNode implements PlanNode {
     }
 
     // Use star-tree to solve the query if possible
+    StarTreeCostModel.Strategy strategy = null;
     List<StarTreeV2> starTrees = _indexSegment.getStarTrees();
     if (starTrees != null && !_queryContext.isSkipStarTree() && !_queryContext.isNullHandlingEnabled()) {
       AggregationFunctionColumnPair[] aggregationFunctionColumnPairs =
@@ -127,7 +129,22 @@ public class AggregationPlanNode implements PlanNode {
         Map<String, List<CompositePredicateEvaluator>> predicateEvaluatorsMap =
             StarTreeUtils.extractPredicateEvaluatorsMap(_indexSegment, _queryContext.getFilter(),
                 filterPlanNode.getPredicateEvaluators());
-        if (predicateEvaluatorsMap != null) {
+        if (predicateEvaluatorsMap != null && _queryContext.isUseStarTreeCostModel()) {
+          // Pick the cheapest plan between the fitting star-trees and scan
+          StarTreeCostModel.Selection selection =
+              StarTreeCostModel.select(_indexSegment, starTrees, aggregationFunctionColumnPairs, null,
+                  predicateEvaluatorsMap);
+          if (selection != null) {
+            strategy = selection.getStrategy();
+            StarTreeV2 starTreeV2 = selection.getStarTree();
+            if (starTreeV2 != null) {
+              BaseProjectOperator<?> projectOperator =
+                  new StarTreeProjectPlanNode(_queryContext, starTreeV2, aggregationFunctionColumnPairs, null,
+                      predicateEvaluatorsMap).run();
+              return new AggregationOperator(aggregationFunctions, projectOperator, numTotalDocs, true, strategy);
+            }
+          }
+        } else if (predicateEvaluatorsMap != null) {
           for (StarTreeV2 starTreeV2 : starTrees) {
             if (StarTreeUtils.isFitForStarTree(starTreeV2.getMetadata(), aggregationFunctionColumnPairs, null,
                 predicateEvaluatorsMap.keySet())) {
@@ -146,7 +163,7 @@ public class AggregationPlanNode implements PlanNode {
     BaseProjectOperator<?> projectOperator =
         new ProjectPlanNode(_indexSegment, _queryContext, expressionsToTransform, DocIdSetPlanNode.MAX_DOC_PER_CALL,
             filterOperator).run();
-    return new AggregationOperator(aggregationFunctions, projectOperator, numTotalDocs, false);
+    return new AggregationOperator(aggregationFunctions, projectOperator, numTotalDocs, false, strategy);
   }
 
   /**
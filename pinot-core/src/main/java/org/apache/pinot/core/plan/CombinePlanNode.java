@@ -29,6 +29,7 @@ import org.apache.pinot.common.request.context.OrderByExpressionContext;
 import org.apache.pinot.core.common.Operator;
 import org.apache.pinot.core.operator.combine.AggregationCombineOperator;
 import org.apache.pinot.core.operator.combine.BaseCombineOperator;
+import org.apache.pinot.core.operator.combine.CombineOperatorUtils;
 import org.apache.pinot.core.operator.combine.DistinctCombineOperator;
 import org.apache.pinot.core.operator.combine.GroupByCombineOperator;
 import org.apache.pinot.core.operator.combine.MinMaxValueBasedSelectionOrderByCombineOperator;
@@ -127,6 +128,10 @@ public class CombinePlanNode implements PlanNode {
       }, _executorService, _queryContext.getEndTimeMs());
     }
 
+    // Process the expensive segments first so that the tasks pulling segments from the shared operator list finish at
+    // about the same time
+    CombineOperatorUtils.sortOperatorsByEstimatedCost(operators);
+
     if (_streamObserver != null) {
       if (QueryContextUtils.isAggregationQuery(_queryContext)) {
         if (_queryContext.getGroupByExpressions() == null) {
@@ -33,6 +33,7 @@ import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunctionUtils;
 import org.apache.pinot.core.query.request.context.QueryContext;
 import org.apache.pinot.core.startree.CompositePredicateEvaluator;
+import org.apache.pinot.core.startree.StarTreeCostModel;
 import org.apache.pinot.core.startree.StarTreeUtils;
 import org.apache.pinot.core.startree.plan.StarTreeProjectPlanNode;
 import org.apache.pinot.segment.spi.IndexSegment;
@@ -77,6 +78,7 @@ public class GroupByPlanNode implements PlanNode {
     BaseFilterOperator filterOperator = filterPlanNode.run();
 
     // Use star-tree to solve the query if possible
+    StarTreeCostModel.Strategy strategy = null;
     List<StarTreeV2> starTrees = _indexSegment.getStarTrees();
     if (starTrees != null && !_queryContext.isSkipStarTree()) {
       AggregationFunctionColumnPair[] aggregationFunctionColumnPairs =
@@ -85,7 +87,23 @@ public class GroupByPlanNode implements PlanNode {
         Map<String, List<CompositePredicateEvaluator>> predicateEvaluatorsMap =
             StarTreeUtils.extractPredicateEvaluatorsMap(_indexSegment, _queryContext.getFilter(),
                 filterPlanNode.getPredicateEvaluators());
-        if (predicateEvaluatorsMap != null) {
+        if (predicateEvaluatorsMap != null && _queryContext.isUseStarTreeCostModel()) {
+          // Pick the cheapest plan between the fitting star-trees and scan
+          StarTreeCostModel.Selection selection =
+              StarTreeCostModel.select(_indexSegment, starTrees, aggregationFunctionColumnPairs, groupByExpressions,
+                  predicateEvaluatorsMap);
+          if (selection != null) {
+            strategy = selection.getStrategy();
+            StarTreeV2 starTreeV2 = selection.getStarTree();
+            if (starTreeV2 != null) {
+              BaseProjectOperator<?> projectOperator =
+                  new StarTreeProjectPlanNode(_queryContext, starTreeV2, aggregationFunctionColumnPairs,
+                      groupByExpressions, predicateEvaluatorsMap).run();
+              return new GroupByOperator(aggregationFunctions, groupByExpressions, projectOperator, numTotalDocs,
+                  _queryContext, true, strategy);
+            }
+          }
+        } else if (predicateEvaluatorsMap != null) {
           for (StarTreeV2 starTreeV2 : starTrees) {
             if (StarTreeUtils.isFitForStarTree(starTreeV2.getMetadata(), aggregationFunctionColumnPairs,
                 groupByExpressions, predicateEvaluatorsMap.keySet())) {
@@ -106,6 +124,6 @@ public class GroupByPlanNode implements PlanNode {
         new ProjectPlanNode(_indexSegment, _queryContext, expressionsToTransform, DocIdSetPlanNode.MAX_DOC_PER_CALL,
             filterOperator).run();
     return new GroupByOperator(aggregationFunctions, groupByExpressions, projectOperator, numTotalDocs, _queryContext,
-        false);
+        false, strategy);
   }
 }
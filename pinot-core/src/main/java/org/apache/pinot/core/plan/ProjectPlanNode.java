@@ -31,7 +31,10 @@ import org.apache.pinot.core.operator.DocIdSetOperator;
 import org.apache.pinot.core.operator.ProjectionOperator;
 import org.apache.pinot.core.operator.filter.BaseFilterOperator;
 import org.apache.pinot.core.operator.transform.TransformOperator;
+import org.apache.pinot.core.query.prefetch.ForwardIndexPrefetcher;
 import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextUtils;
+import org.apache.pinot.segment.spi.ImmutableSegment;
 import org.apache.pinot.segment.spi.IndexSegment;
 import org.apache.pinot.segment.spi.datasource.DataSource;
 
@@ -76,6 +79,14 @@ public class ProjectPlanNode implements PlanNode {
     DocIdSetOperator docIdSetOperator =
         _maxDocsPerCall > 0 ? new DocIdSetPlanNode(_indexSegment, _queryContext, _maxDocsPerCall, _filterOperator).run()
             : null;
+    // Prefetch the forward indexes of the matching documents for immutable segments, except for selection only queries
+    // which might stop early
+    ForwardIndexPrefetcher forwardIndexPrefetcher = ForwardIndexPrefetcher.getInstance();
+    if (docIdSetOperator != null && forwardIndexPrefetcher != null && _indexSegment instanceof ImmutableSegment
+        && !QueryContextUtils.isSelectionOnlyQuery(_queryContext)) {
+      docIdSetOperator.setSegmentPrefetch(
+          forwardIndexPrefetcher.newSegmentPrefetch(_queryContext, dataSourceMap.values()));
+    }
     ProjectionOperator projectionOperator = new ProjectionOperator(dataSourceMap, docIdSetOperator);
     return hasNonIdentifierExpression ? new TransformOperator(_queryContext, projectionOperator, _expressions)
         : projectionOperator;
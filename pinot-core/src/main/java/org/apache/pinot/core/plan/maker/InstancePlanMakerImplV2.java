@@ -173,6 +173,9 @@ public class InstancePlanMakerImplV2 implements PlanMaker {
     // Set skipStarTree
     queryContext.setSkipStarTree(QueryOptionsUtils.isSkipStarTree(queryOptions));
 
+    // Set useStarTreeCostModel
+    queryContext.setUseStarTreeCostModel(QueryOptionsUtils.isUseStarTreeCostModel(queryOptions));
+
     // Set skipScanFilterReorder
     queryContext.setSkipScanFilterReorder(QueryOptionsUtils.isSkipScanFilterReorder(queryOptions));
 
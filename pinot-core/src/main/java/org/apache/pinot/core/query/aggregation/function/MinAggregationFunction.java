@@ -29,6 +29,7 @@ import org.apache.pinot.core.query.aggregation.ObjectAggregationResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.DoubleGroupByResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.GroupByResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.ObjectGroupByResultHolder;
+import org.apache.pinot.core.query.aggregation.utils.AggregationKernelUtils;
 import org.apache.pinot.segment.spi.AggregationFunctionType;
 import org.roaringbitmap.RoaringBitmap;
 
@@ -237,6 +238,11 @@ public class MinAggregationFunction extends BaseSingleInputAggregationFunction<D
       return;
     }
 
+    if (groupByResultHolder instanceof DoubleGroupByResultHolder) {
+      AggregationKernelUtils.minGroupBySV(length, groupKeyArray, blockValSet,
+          ((DoubleGroupByResultHolder) groupByResultHolder).getResultArray());
+      return;
+    }
     double[] valueArray = blockValSet.getDoubleValuesSV();
     for (int i = 0; i < length; i++) {
       double value = valueArray[i];
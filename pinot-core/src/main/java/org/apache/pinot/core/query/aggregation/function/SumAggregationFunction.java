@@ -29,6 +29,7 @@ import org.apache.pinot.core.query.aggregation.ObjectAggregationResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.DoubleGroupByResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.GroupByResultHolder;
 import org.apache.pinot.core.query.aggregation.groupby.ObjectGroupByResultHolder;
+import org.apache.pinot.core.query.aggregation.utils.AggregationKernelUtils;
 import org.apache.pinot.segment.spi.AggregationFunctionType;
 import org.roaringbitmap.RoaringBitmap;
 
@@ -83,10 +84,13 @@ public class SumAggregationFunction extends BaseSingleInputAggregationFunction<D
     double sum = aggregationResultHolder.getDoubleResult();
     switch (blockValSet.getValueType().getStoredType()) {
       case INT: {
+        // Accumulate int values with long, which is exact and avoids the per value int to double conversion
         int[] values = blockValSet.getIntValuesSV();
+        long longSum = 0;
         for (int i = 0; i < length & i < values.length; i++) {
-          sum += values[i];
+          longSum += values[i];
         }
+        sum += longSum;
         break;
       }
       case LONG: {
@@ -231,6 +235,11 @@ public class SumAggregationFunction extends BaseSingleInputAggregationFunction<D
       return;
     }
 
+    if (groupByResultHolder instanceof DoubleGroupByResultHolder) {
+      AggregationKernelUtils.sumGroupBySV(length, groupKeyArray, blockValSet,
+          ((DoubleGroupByResultHolder) groupByResultHolder).getResultArray());
+      return;
+    }
     double[] valueArray = blockValSet.getDoubleValuesSV();
     for (int i = 0; i < length; i++) {
       int groupKey = groupKeyArray[i];
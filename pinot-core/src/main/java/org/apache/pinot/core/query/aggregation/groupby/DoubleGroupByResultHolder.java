@@ -71,6 +71,15 @@ public class DoubleGroupByResultHolder implements GroupByResultHolder {
     }
   }
 
+  /**
+   * Returns the result array indexed by the group key, which can be updated in place by the batched aggregation
+   * kernels. The array is replaced when the capacity grows, so it should not be held across
+   * {@link #ensureCapacity(int)} calls.
+   */
+  public double[] getResultArray() {
+    return _resultArray;
+  }
+
   @Override
   public double getDoubleResult(int groupKey) {
     if (groupKey == GroupKeyGenerator.INVALID_ID) {
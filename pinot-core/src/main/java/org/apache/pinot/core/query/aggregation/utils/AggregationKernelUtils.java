@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation.utils;
+
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.query.aggregation.groupby.GroupKeyGenerator;
+
+
+/**
+ * Type-specialized aggregation kernels over the primitive values of a {@link BlockValSet}.
+ * <p>The kernels read the values with the stored type of the block (int/long/float/double) instead of always converting
+ * them into a double buffer first, and update the primitive result array directly instead of going through the
+ * {@link org.apache.pinot.core.query.aggregation.groupby.GroupByResultHolder} per value. The loops are kept simple so
+ * that the JIT can unroll and vectorize them.
+ * <p>The group-by kernels apply the same floating point operations in the same order as the per value updates, so the
+ * results are identical.
+ */
+public class AggregationKernelUtils {
+  private AggregationKernelUtils() {
+  }
+
+  /**
+   * Returns the sum of the first {@code length} single-value entries of the block.
+   * <p>Int values are accumulated with long, which is exact and avoids the per value int to double conversion.
+   */
+  public static double sumSV(int length, BlockValSet blockValSet) {
+    switch (blockValSet.getValueType().getStoredType()) {
+      case INT: {
+        int[] values = blockValSet.getIntValuesSV();
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+          sum += values[i];
+        }
+        return sum;
+      }
+      case LONG: {
+        long[] values = blockValSet.getLongValuesSV();
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+          sum += values[i];
+        }
+        return sum;
+      }
+      case FLOAT: {
+        float[] values = blockValSet.getFloatValuesSV();
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+          sum += values[i];
+        }
+        return sum;
+      }
+      default: {
+        double[] values = blockValSet.getDoubleValuesSV();
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+          sum += values[i];
+        }
+        return sum;
+      }
+    }
+  }
+
+  /**
+   * Adds the first {@code length} single-value entries of the block to the results of their group keys.
+   */
+  public static void sumGroupBySV(int length, int[] groupKeys, BlockValSet blockValSet, double[] results) {
+    switch (blockValSet.getValueType().getStoredType()) {
+      case INT: {
+        int[] values = blockValSet.getIntValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID) {
+            results[groupKey] += values[i];
+          }
+        }
+        break;
+      }
+      case LONG: {
+        long[] values = blockValSet.getLongValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID) {
+            results[groupKey] += values[i];
+          }
+        }
+        break;
+      }
+      case FLOAT: {
+        float[] values = blockValSet.getFloatValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID) {
+            results[groupKey] += values[i];
+          }
+        }
+        break;
+      }
+      default: {
+        double[] values = blockValSet.getDoubleValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID) {
+            results[groupKey] += values[i];
+          }
+        }
+        break;
+      }
+    }
+  }
+
+  /**
+   * Updates the results of the group keys with the min of the first {@code length} single-value entries of the block.
+   */
+  public static void minGroupBySV(int length, int[] groupKeys, BlockValSet blockValSet, double[] results) {
+    switch (blockValSet.getValueType().getStoredType()) {
+      case INT: {
+        int[] values = blockValSet.getIntValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] < results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+      case LONG: {
+        long[] values = blockValSet.getLongValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          double value = values[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && value < results[groupKey]) {
+            results[groupKey] = value;
+          }
+        }
+        break;
+      }
+      case FLOAT: {
+        float[] values = blockValSet.getFloatValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] < results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+      default: {
+        double[] values = blockValSet.getDoubleValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] < results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+    }
+  }
+
+  /**
+   * Updates the results of the group keys with the max of the first {@code length} single-value entries of the block.
+   */
+  public static void maxGroupBySV(int length, int[] groupKeys, BlockValSet blockValSet, double[] results) {
+    switch (blockValSet.getValueType().getStoredType()) {
+      case INT: {
+        int[] values = blockValSet.getIntValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] > results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+      case LONG: {
+        long[] values = blockValSet.getLongValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          double value = values[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && value > results[groupKey]) {
+            results[groupKey] = value;
+          }
+        }
+        break;
+      }
+      case FLOAT: {
+        float[] values = blockValSet.getFloatValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] > results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+      default: {
+        double[] values = blockValSet.getDoubleValuesSV();
+        for (int i = 0; i < length; i++) {
+          int groupKey = groupKeys[i];
+          if (groupKey != GroupKeyGenerator.INVALID_ID && values[i] > results[groupKey]) {
+            results[groupKey] = values[i];
+          }
+        }
+        break;
+      }
+    }
+  }
+}
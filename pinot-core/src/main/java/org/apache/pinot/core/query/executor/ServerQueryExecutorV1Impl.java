@@ -57,6 +57,7 @@ import org.apache.pinot.core.plan.Plan;
 import org.apache.pinot.core.plan.maker.PlanMaker;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.config.QueryExecutorConfig;
+import org.apache.pinot.core.query.prefetch.ForwardIndexPrefetcher;
 import org.apache.pinot.core.query.pruner.SegmentPrunerService;
 import org.apache.pinot.core.query.pruner.SegmentPrunerStatistics;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
@@ -86,6 +87,10 @@ import org.slf4j.LoggerFactory;
 @ThreadSafe
 public class ServerQueryExecutorV1Impl implements QueryExecutor {
   public static final String ENABLE_PREFETCH = "enable.prefetch";
+  // Number of threads prefetching the forward index pages of the matching documents ahead of the projection, 0 disables
+  // the forward index prefetch
+  public static final String FORWARD_INDEX_PREFETCH_NUM_THREADS = "forward.index.prefetch.num.threads";
+  public static final int DEFAULT_FORWARD_INDEX_PREFETCH_NUM_THREADS = 0;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServerQueryExecutorV1Impl.class);
   private static final String IN_PARTITIONED_SUBQUERY = "inPartitionedSubquery";
@@ -118,6 +123,9 @@ public class ServerQueryExecutorV1Impl implements QueryExecutor {
     _enablePrefetch = Boolean.parseBoolean(config.getProperty(ENABLE_PREFETCH));
     LOGGER.info("Initialized query executor with defaultTimeoutMs: {}, enablePrefetch: {}", _defaultTimeoutMs,
         _enablePrefetch);
+    ForwardIndexPrefetcher.init(
+        config.getProperty(FORWARD_INDEX_PREFETCH_NUM_THREADS, DEFAULT_FORWARD_INDEX_PREFETCH_NUM_THREADS),
+        serverMetrics);
   }
 
   @Override
@@ -0,0 +1,300 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.prefetch;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.metrics.ServerMeter;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.BitmapBasedDocIdIterator;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Server-wide prefetcher which loads the forward index pages of the matching documents of a segment ahead of the
+ * projection.
+ * <p>Once the filter of a segment is evaluated into a bitmap, the pages backing the values of the projected columns for
+ * the next {@link #PREFETCH_WINDOW_NUM_DOCS} matching documents after the current block are touched asynchronously on a
+ * dedicated thread pool, in the same order as they are going to be projected. The window slides forward with the
+ * projected blocks, so that the prefetch never runs far ahead of the query and does not evict the pages that are about
+ * to be read. This takes the page faults off the query threads, which keep processing the earlier blocks of the segment
+ * and the other segments in the meantime.
+ * <p>The prefetch of a segment is stopped with {@link SegmentPrefetch#close()} once all its matching documents are
+ * projected, and the prefetches of a query must be cancelled with {@link #cancel(QueryContext)} before the queried
+ * segments are released.
+ */
+public class ForwardIndexPrefetcher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ForwardIndexPrefetcher.class);
+
+  // Number of matching documents after the current block to prefetch
+  static final int PREFETCH_WINDOW_NUM_DOCS = 4 * DocIdSetPlanNode.MAX_DOC_PER_CALL;
+
+  private static volatile ForwardIndexPrefetcher _instance;
+
+  private final ExecutorService _executorService;
+  private final ServerMetrics _serverMetrics;
+
+  private ForwardIndexPrefetcher(int numThreads, ServerMetrics serverMetrics) {
+    _executorService = Executors.newFixedThreadPool(numThreads,
+        new ThreadFactoryBuilder().setDaemon(true).setNameFormat("forward-index-prefetch-%d").build());
+    _serverMetrics = serverMetrics;
+  }
+
+  /**
+   * Initializes the server-wide prefetcher with the given number of threads, or disables it if the number of threads
+   * is not positive.
+   */
+  public static synchronized void init(int numThreads, ServerMetrics serverMetrics) {
+    if (_instance != null) {
+      _instance._executorService.shutdown();
+    }
+    if (numThreads > 0) {
+      LOGGER.info("Initializing forward index prefetcher with {} threads", numThreads);
+      _instance = new ForwardIndexPrefetcher(numThreads, serverMetrics);
+    } else {
+      _instance = null;
+    }
+  }
+
+  /**
+   * Returns the server-wide prefetcher, or {@code null} if it is not enabled.
+   */
+  @Nullable
+  public static ForwardIndexPrefetcher getInstance() {
+    return _instance;
+  }
+
+  /**
+   * Cancels the prefetches of the given query, and waits for the running ones to stop.
+   */
+  public static void cancel(QueryContext queryContext) {
+    if (_instance == null) {
+      return;
+    }
+    SegmentPrefetches segmentPrefetches = getSegmentPrefetches(queryContext);
+    SegmentPrefetch segmentPrefetch = segmentPrefetches.poll();
+    while (segmentPrefetch != null) {
+      segmentPrefetch.close();
+      segmentPrefetch = segmentPrefetches.poll();
+    }
+  }
+
+  private static SegmentPrefetches getSegmentPrefetches(QueryContext queryContext) {
+    return queryContext.getOrComputeSharedValue(SegmentPrefetches.class, ForwardIndexPrefetcher.class,
+        k -> new SegmentPrefetches());
+  }
+
+  /**
+   * Returns a new prefetch for the forward indexes of the given data sources within a segment.
+   */
+  public SegmentPrefetch newSegmentPrefetch(QueryContext queryContext, Collection<DataSource> dataSources) {
+    List<ForwardIndexReader<?>> forwardIndexReaders = new ArrayList<>(dataSources.size());
+    for (DataSource dataSource : dataSources) {
+      ForwardIndexReader<?> forwardIndexReader = dataSource.getForwardIndex();
+      if (forwardIndexReader != null) {
+        forwardIndexReaders.add(forwardIndexReader);
+      }
+    }
+    return new SegmentPrefetch(queryContext, forwardIndexReaders);
+  }
+
+  /**
+   * Prefetch of the forward indexes of a segment, driven by the blocks of matching documents.
+   */
+  public class SegmentPrefetch implements Closeable {
+    private final QueryContext _queryContext;
+    private final List<ForwardIndexReader<?>> _forwardIndexReaders;
+
+    private boolean _started;
+    private boolean _closed;
+    private ImmutableRoaringBitmap _docIds;
+    private PrefetchTask _prefetchTask;
+
+    private SegmentPrefetch(QueryContext queryContext, List<ForwardIndexReader<?>> forwardIndexReaders) {
+      _queryContext = queryContext;
+      _forwardIndexReaders = forwardIndexReaders;
+    }
+
+    /**
+     * Invoked with the last document id of each block of matching documents before the block is projected. On the
+     * first block, starts prefetching if the filter is evaluated into a bitmap. On the following blocks, records
+     * whether the block was prefetched in time. Once the previous window is prefetched, slides the window to the
+     * matching documents after the block.
+     */
+    public synchronized void onBlock(BlockDocIdIterator docIdIterator, int lastDocId) {
+      if (_closed) {
+        return;
+      }
+      if (!_started) {
+        _started = true;
+        if (_forwardIndexReaders.isEmpty() || !(docIdIterator instanceof BitmapBasedDocIdIterator)) {
+          return;
+        }
+        _docIds = ((BitmapBasedDocIdIterator) docIdIterator).getDocIds();
+        // Register the prefetch so that it is always cancelled at the end of the query
+        getSegmentPrefetches(_queryContext).add(this);
+      } else if (_docIds == null) {
+        return;
+      }
+      int prefetchedDocId = lastDocId;
+      if (_prefetchTask != null) {
+        prefetchedDocId = _prefetchTask._prefetchedDocId;
+        _serverMetrics.addMeteredGlobalValue(
+            lastDocId <= prefetchedDocId ? ServerMeter.FORWARD_INDEX_PREFETCH_HITS
+                : ServerMeter.FORWARD_INDEX_PREFETCH_MISSES, 1);
+        if (!_prefetchTask.isStopped()) {
+          return;
+        }
+      }
+      int startDocId = Math.max(prefetchedDocId, lastDocId) + 1;
+      int endDocId = getWindowEndDocId(lastDocId);
+      if (startDocId > endDocId) {
+        return;
+      }
+      PrefetchTask prefetchTask = new PrefetchTask(_forwardIndexReaders, _docIds, startDocId, endDocId);
+      try {
+        _executorService.execute(prefetchTask);
+      } catch (RejectedExecutionException e) {
+        // The prefetcher has been shut down
+        _docIds = null;
+        return;
+      }
+      _prefetchTask = prefetchTask;
+    }
+
+    /**
+     * Returns the last matching document id within the prefetch window after the given document id.
+     */
+    private int getWindowEndDocId(int lastDocId) {
+      long endRank = _docIds.rank(lastDocId) + PREFETCH_WINDOW_NUM_DOCS;
+      return endRank < _docIds.getLongCardinality() ? _docIds.select((int) endRank - 1) : _docIds.last();
+    }
+
+    @VisibleForTesting
+    synchronized boolean isPrefetching() {
+      return _prefetchTask != null && !_prefetchTask.isStopped();
+    }
+
+    /**
+     * Stops the prefetch, and waits for the running prefetch task to stop.
+     */
+    @Override
+    public synchronized void close() {
+      if (_closed) {
+        return;
+      }
+      _closed = true;
+      if (_prefetchTask != null) {
+        _prefetchTask.cancel();
+      }
+    }
+  }
+
+  private static class SegmentPrefetches extends ConcurrentLinkedQueue<SegmentPrefetch> {
+  }
+
+  private static class PrefetchTask implements Runnable {
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int STOPPED = 2;
+
+    private final List<ForwardIndexReader<?>> _forwardIndexReaders;
+    private final ImmutableRoaringBitmap _docIds;
+    private final int _startDocId;
+    private final int _endDocId;
+    private final AtomicInteger _state = new AtomicInteger(PENDING);
+    private final CountDownLatch _stoppedLatch = new CountDownLatch(1);
+
+    private volatile boolean _cancelled;
+    // All the matching documents up to this document id have been prefetched
+    private volatile int _prefetchedDocId;
+
+    PrefetchTask(List<ForwardIndexReader<?>> forwardIndexReaders, ImmutableRoaringBitmap docIds, int startDocId,
+        int endDocId) {
+      _forwardIndexReaders = forwardIndexReaders;
+      _docIds = docIds;
+      _startDocId = startDocId;
+      _endDocId = endDocId;
+      _prefetchedDocId = startDocId - 1;
+    }
+
+    @Override
+    public void run() {
+      if (!_state.compareAndSet(PENDING, RUNNING)) {
+        return;
+      }
+      try {
+        PeekableIntIterator docIdIterator = _docIds.getIntIterator();
+        docIdIterator.advanceIfNeeded(_startDocId);
+        int[] docIds = new int[DocIdSetPlanNode.MAX_DOC_PER_CALL];
+        while (docIdIterator.hasNext() && docIdIterator.peekNext() <= _endDocId && !_cancelled) {
+          int length = 0;
+          while (length < docIds.length && docIdIterator.hasNext() && docIdIterator.peekNext() <= _endDocId) {
+            docIds[length++] = docIdIterator.next();
+          }
+          for (ForwardIndexReader<?> forwardIndexReader : _forwardIndexReaders) {
+            forwardIndexReader.prefetch(docIds, length);
+          }
+          _prefetchedDocId = docIds[length - 1];
+        }
+      } catch (Exception e) {
+        LOGGER.warn("Caught exception while prefetching forward indexes", e);
+      } finally {
+        _state.set(STOPPED);
+        _stoppedLatch.countDown();
+      }
+    }
+
+    boolean isStopped() {
+      return _state.get() == STOPPED;
+    }
+
+    void cancel() {
+      _cancelled = true;
+      if (_state.compareAndSet(PENDING, STOPPED)) {
+        _stoppedLatch.countDown();
+      } else {
+        try {
+          _stoppedLatch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
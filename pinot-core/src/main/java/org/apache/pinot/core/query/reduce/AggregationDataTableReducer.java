@@ -80,38 +80,57 @@ public class AggregationDataTableReducer implements DataTableReducer {
       BrokerResponseNative brokerResponseNative) {
     AggregationFunction[] aggregationFunctions = _queryContext.getAggregationFunctions();
     assert aggregationFunctions != null;
-    int numAggregationFunctions = aggregationFunctions.length;
-    Object[] intermediateResults = new Object[numAggregationFunctions];
+    Object[] intermediateResults = new Object[aggregationFunctions.length];
     for (DataTable dataTable : dataTables) {
-      for (int i = 0; i < numAggregationFunctions; i++) {
-        Object intermediateResultToMerge;
-        ColumnDataType columnDataType = dataSchema.getColumnDataType(i);
-        if (_queryContext.isNullHandlingEnabled()) {
-          RoaringBitmap nullBitmap = dataTable.getNullRowIds(i);
-          if (nullBitmap != null && nullBitmap.contains(0)) {
-            intermediateResultToMerge = null;
-          } else {
-            intermediateResultToMerge = AggregationFunctionUtils.getIntermediateResult(dataTable, columnDataType, 0, i);
-          }
+      mergeIntermediateResults(dataSchema, dataTable, intermediateResults);
+    }
+    brokerResponseNative.setResultTable(reduceToResultTable(extractFinalResults(intermediateResults)));
+  }
+
+  /**
+   * Merges the intermediate results within the given data table into the given merged intermediate results.
+   */
+  void mergeIntermediateResults(DataSchema dataSchema, DataTable dataTable, Object[] intermediateResults) {
+    AggregationFunction[] aggregationFunctions = _queryContext.getAggregationFunctions();
+    assert aggregationFunctions != null;
+    int numAggregationFunctions = aggregationFunctions.length;
+    for (int i = 0; i < numAggregationFunctions; i++) {
+      Object intermediateResultToMerge;
+      ColumnDataType columnDataType = dataSchema.getColumnDataType(i);
+      if (_queryContext.isNullHandlingEnabled()) {
+        RoaringBitmap nullBitmap = dataTable.getNullRowIds(i);
+        if (nullBitmap != null && nullBitmap.contains(0)) {
+          intermediateResultToMerge = null;
         } else {
           intermediateResultToMerge = AggregationFunctionUtils.getIntermediateResult(dataTable, columnDataType, 0, i);
         }
-        Object mergedIntermediateResult = intermediateResults[i];
-        if (mergedIntermediateResult == null) {
-          intermediateResults[i] = intermediateResultToMerge;
-        } else {
-          intermediateResults[i] = aggregationFunctions[i].merge(mergedIntermediateResult, intermediateResultToMerge);
-        }
-        Tracing.ThreadAccountantOps.sampleAndCheckInterruptionPeriodically(i);
+      } else {
+        intermediateResultToMerge = AggregationFunctionUtils.getIntermediateResult(dataTable, columnDataType, 0, i);
       }
+      Object mergedIntermediateResult = intermediateResults[i];
+      if (mergedIntermediateResult == null) {
+        intermediateResults[i] = intermediateResultToMerge;
+      } else {
+        intermediateResults[i] = aggregationFunctions[i].merge(mergedIntermediateResult, intermediateResultToMerge);
+      }
+      Tracing.ThreadAccountantOps.sampleAndCheckInterruptionPeriodically(i);
     }
+  }
+
+  /**
+   * Extracts the final results (converted to the final result column type) from the merged intermediate results.
+   */
+  Object[] extractFinalResults(Object[] intermediateResults) {
+    AggregationFunction[] aggregationFunctions = _queryContext.getAggregationFunctions();
+    assert aggregationFunctions != null;
+    int numAggregationFunctions = aggregationFunctions.length;
     Object[] finalResults = new Object[numAggregationFunctions];
     for (int i = 0; i < numAggregationFunctions; i++) {
       AggregationFunction aggregationFunction = aggregationFunctions[i];
       Comparable result = aggregationFunction.extractFinalResult(intermediateResults[i]);
       finalResults[i] = result == null ? null : aggregationFunction.getFinalResultColumnType().convert(result);
     }
-    brokerResponseNative.setResultTable(reduceToResultTable(finalResults));
+    return finalResults;
   }
 
   private void reduceWithFinalResult(DataSchema dataSchema, DataTable dataTable,
@@ -139,7 +158,7 @@ public class AggregationDataTableReducer implements DataTableReducer {
   /**
    * Sets aggregation results into ResultsTable
    */
-  private ResultTable reduceToResultTable(Object[] finalResults) {
+  ResultTable reduceToResultTable(Object[] finalResults) {
     PostAggregationHandler postAggregationHandler =
         new PostAggregationHandler(_queryContext, getPrePostAggregationDataSchema());
     DataSchema dataSchema = postAggregationHandler.getResultDataSchema();
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.reduce;
+
+import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.transport.ServerRoutingInstance;
+
+
+/**
+ * Streaming reducer for aggregation-only queries, which merges the intermediate results from each data table into the
+ * reducer state as soon as the data table is received.
+ */
+public class AggregationOnlyStreamingReducer implements StreamingReducer {
+  private final AggregationDataTableReducer _aggregationDataTableReducer;
+  private final Object[] _intermediateResults;
+
+  public AggregationOnlyStreamingReducer(QueryContext queryContext) {
+    assert queryContext.getAggregationFunctions() != null && queryContext.getGroupByExpressions() == null;
+    _aggregationDataTableReducer = new AggregationDataTableReducer(queryContext);
+    _intermediateResults = new Object[queryContext.getAggregationFunctions().length];
+  }
+
+  @Override
+  public void init(DataTableReducerContext dataTableReducerContext) {
+  }
+
+  @Override
+  public synchronized void reduce(ServerRoutingInstance key, DataTable dataTable) {
+    DataSchema dataSchema = dataTable.getDataSchema();
+    assert dataSchema != null;
+    _aggregationDataTableReducer.mergeIntermediateResults(dataSchema, dataTable, _intermediateResults);
+  }
+
+  @Override
+  public synchronized BrokerResponseNative seal() {
+    BrokerResponseNative brokerResponseNative = new BrokerResponseNative();
+    brokerResponseNative.setResultTable(_aggregationDataTableReducer.reduceToResultTable(
+        _aggregationDataTableReducer.extractFinalResults(_intermediateResults)));
+    return brokerResponseNative;
+  }
+}
@@ -131,6 +131,42 @@ public class BrokerReduceService extends BaseReduceService {
     return brokerResponseNative;
   }
 
+  /**
+   * Returns an {@link IncrementalDataTableReducer} which reduces the data tables as they arrive from the servers, or
+   * {@code null} if the query cannot be reduced incrementally (e.g. group-by, selection order-by, gapfill queries), in
+   * which case {@link #reduceOnDataTable} should be used after all the servers responded.
+   */
+  @Nullable
+  public IncrementalDataTableReducer getIncrementalReducer(BrokerRequest brokerRequest,
+      BrokerRequest serverBrokerRequest, long reduceTimeOutMs) {
+    // Gapfill queries need to be post-processed with the original broker request
+    if (brokerRequest != serverBrokerRequest) {
+      return null;
+    }
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(serverBrokerRequest.getPinotQuery());
+    StreamingReducer streamingReducer = ResultReducerFactory.getIncrementalReducer(queryContext);
+    if (streamingReducer == null) {
+      return null;
+    }
+    Map<String, String> queryOptions = serverBrokerRequest.getPinotQuery().getQueryOptions();
+    boolean enableTrace =
+        queryOptions != null && Boolean.parseBoolean(queryOptions.get(CommonConstants.Broker.Request.TRACE));
+    String rawTableName = TableNameBuilder.extractRawTableName(serverBrokerRequest.getQuerySource().getTableName());
+    return new IncrementalDataTableReducer(queryContext, rawTableName, streamingReducer,
+        new DataTableReducerContext(_reduceExecutorService, _maxReduceThreadsPerQuery, reduceTimeOutMs,
+            _groupByTrimThreshold), enableTrace);
+  }
+
+  /**
+   * Seals the given {@link IncrementalDataTableReducer} and returns the reduced {@link BrokerResponseNative}.
+   */
+  public BrokerResponseNative reduceOnIncrementalReducer(IncrementalDataTableReducer incrementalReducer,
+      @Nullable BrokerMetrics brokerMetrics) {
+    BrokerResponseNative brokerResponseNative = incrementalReducer.seal(brokerMetrics);
+    updateAlias(incrementalReducer.getQueryContext(), brokerResponseNative);
+    return brokerResponseNative;
+  }
+
   public void shutDown() {
     _reduceExecutorService.shutdownNow();
   }
@@ -0,0 +1,204 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.reduce;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.common.exception.QueryException;
+import org.apache.pinot.common.metrics.BrokerMeter;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.common.response.broker.QueryProcessingException;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.transport.ServerResponseListener;
+import org.apache.pinot.core.transport.ServerRoutingInstance;
+import org.apache.pinot.spi.exception.EarlyTerminationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code IncrementalDataTableReducer} reduces the data tables into the reducer state as soon as they are received
+ * from the servers (on the thread handling the server response), so that the reduce overlaps with the execution of
+ * the slower servers. Once all the servers responded (or the query timed out), {@link #seal(BrokerMetrics)} returns
+ * the {@link BrokerResponseNative} without reducing the data tables again.
+ * <p>The data tables received after the reducer is sealed are ignored.
+ */
+@ThreadSafe
+public class IncrementalDataTableReducer implements ServerResponseListener {
+  private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalDataTableReducer.class);
+
+  private final QueryContext _queryContext;
+  private final String _rawTableName;
+  private final StreamingReducer _streamingReducer;
+  private final DataTableReducerContext _reducerContext;
+  private final ExecutionStatsAggregator _aggregator;
+  private final List<ServerRoutingInstance> _droppedServers = new ArrayList<>();
+  private final List<QueryProcessingException> _reduceExceptions = new ArrayList<>();
+
+  // Data schema of the data tables reduced by the streaming reducer
+  private DataSchema _reducedDataSchema;
+  // Data schema from the data tables without data rows, used when no data table is reduced
+  private DataSchema _cachedDataSchema;
+  private int _numDataTablesReduced;
+  private boolean _sealed;
+
+  IncrementalDataTableReducer(QueryContext queryContext, String rawTableName, StreamingReducer streamingReducer,
+      DataTableReducerContext reducerContext, boolean enableTrace) {
+    _queryContext = queryContext;
+    _rawTableName = rawTableName;
+    _streamingReducer = streamingReducer;
+    _reducerContext = reducerContext;
+    _aggregator = new ExecutionStatsAggregator(enableTrace);
+    _streamingReducer.init(reducerContext);
+  }
+
+  @Override
+  public synchronized void onDataTableReceived(ServerRoutingInstance serverRoutingInstance, DataTable dataTable) {
+    if (_sealed) {
+      return;
+    }
+    try {
+      _aggregator.aggregate(serverRoutingInstance, dataTable);
+      reduce(serverRoutingInstance, dataTable);
+    } catch (EarlyTerminationException e) {
+      _reduceExceptions.add(new QueryProcessingException(QueryException.QUERY_CANCELLATION_ERROR_CODE, e.toString()));
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while reducing data table from server: {} for table: {}", serverRoutingInstance,
+          _rawTableName, e);
+      _reduceExceptions.add(new QueryProcessingException(QueryException.MERGE_RESPONSE_ERROR_CODE,
+          QueryException.getTruncatedStackTrace(e)));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The streamed data blocks are only reduced, and the execution stats are aggregated from the final data table.
+   */
+  @Override
+  public synchronized void onDataBlockReceived(ServerRoutingInstance serverRoutingInstance, DataTable dataBlock) {
+    if (_sealed) {
+      return;
+    }
+    try {
+      reduce(serverRoutingInstance, dataBlock);
+    } catch (EarlyTerminationException e) {
+      _reduceExceptions.add(new QueryProcessingException(QueryException.QUERY_CANCELLATION_ERROR_CODE, e.toString()));
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while reducing data block from server: {} for table: {}", serverRoutingInstance,
+          _rawTableName, e);
+      _reduceExceptions.add(new QueryProcessingException(QueryException.MERGE_RESPONSE_ERROR_CODE,
+          QueryException.getTruncatedStackTrace(e)));
+    }
+  }
+
+  private void reduce(ServerRoutingInstance serverRoutingInstance, DataTable dataTable) {
+    // Skip the data tables without data rows inside
+    DataSchema dataSchema = dataTable.getDataSchema();
+    if (dataSchema == null) {
+      return;
+    }
+    if (dataTable.getNumberOfRows() == 0) {
+      if (_cachedDataSchema == null) {
+        _cachedDataSchema = dataSchema;
+      }
+      return;
+    }
+
+    // Drop the data tables with data schema conflicting with the already reduced ones
+    if (_reducedDataSchema == null) {
+      _reducedDataSchema = dataSchema;
+    } else if (!Arrays.equals(_reducedDataSchema.getColumnDataTypes(), dataSchema.getColumnDataTypes())) {
+      if (!_droppedServers.contains(serverRoutingInstance)) {
+        _droppedServers.add(serverRoutingInstance);
+      }
+      return;
+    }
+
+    _streamingReducer.reduce(serverRoutingInstance, dataTable);
+    _numDataTablesReduced++;
+  }
+
+  /**
+   * Returns {@code true} if the servers can stream the data blocks back to be reduced by this reducer (selection-only
+   * queries), {@code false} otherwise.
+   */
+  public boolean isStreamingSupported() {
+    return _streamingReducer instanceof SelectionOnlyStreamingReducer;
+  }
+
+  QueryContext getQueryContext() {
+    return _queryContext;
+  }
+
+  /**
+   * Returns the number of data tables reduced so far.
+   */
+  public synchronized int getNumDataTablesReduced() {
+    return _numDataTablesReduced;
+  }
+
+  /**
+   * Seals the reducer and returns the reduced {@link BrokerResponseNative}. No more data table can be reduced after
+   * the reducer is sealed.
+   */
+  synchronized BrokerResponseNative seal(@Nullable BrokerMetrics brokerMetrics) {
+    _sealed = true;
+
+    BrokerResponseNative brokerResponseNative;
+    if (_reducedDataSchema != null) {
+      brokerResponseNative = _streamingReducer.seal();
+    } else {
+      brokerResponseNative = new BrokerResponseNative();
+      // NOTE: When there is no cached data schema, that means all servers encountered exception. In such case, return
+      //       the response with metadata only. Otherwise, construct the empty result with the regular reducer.
+      if (_cachedDataSchema != null) {
+        ResultReducerFactory.getResultReducer(_queryContext)
+            .reduceAndSetResults(_rawTableName, _cachedDataSchema, new HashMap<>(), brokerResponseNative,
+                _reducerContext, brokerMetrics);
+      }
+    }
+
+    if (!_droppedServers.isEmpty()) {
+      String errorMessage =
+          QueryException.MERGE_RESPONSE_ERROR.getMessage() + ": responses for table: " + _rawTableName
+              + " from servers: " + _droppedServers + " got dropped due to data schema inconsistency.";
+      LOGGER.warn(errorMessage);
+      if (brokerMetrics != null) {
+        brokerMetrics.addMeteredTableValue(_rawTableName, BrokerMeter.RESPONSE_MERGE_EXCEPTIONS, 1L);
+      }
+      brokerResponseNative.addToExceptions(
+          new QueryProcessingException(QueryException.MERGE_RESPONSE_ERROR_CODE, errorMessage));
+    }
+    for (QueryProcessingException reduceException : _reduceExceptions) {
+      brokerResponseNative.addToExceptions(reduceException);
+    }
+
+    // Set execution statistics and Update broker metrics.
+    _aggregator.setStats(_rawTableName, brokerResponseNative, brokerMetrics);
+    return brokerResponseNative;
+  }
+}
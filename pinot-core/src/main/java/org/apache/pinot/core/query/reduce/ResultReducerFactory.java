@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.core.query.reduce;
 
+import javax.annotation.Nullable;
 import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
 import org.apache.pinot.core.query.aggregation.function.DistinctAggregationFunction;
 import org.apache.pinot.core.query.request.context.QueryContext;
@@ -70,4 +71,30 @@ public final class ResultReducerFactory {
       return new SelectionOnlyStreamingReducer(queryContext);
     }
   }
+
+  /**
+   * Returns the streaming reducer that can reduce the data tables incrementally as they arrive from the servers, or
+   * {@code null} if the query cannot be reduced incrementally. Currently supports aggregation-only queries (excluding
+   * DISTINCT) and selection-only queries without ordering.
+   */
+  @Nullable
+  public static StreamingReducer getIncrementalReducer(QueryContext queryContext) {
+    if (queryContext.isExplain()) {
+      return null;
+    }
+    AggregationFunction[] aggregationFunctions = queryContext.getAggregationFunctions();
+    if (aggregationFunctions == null) {
+      // Selection query
+      return queryContext.getOrderByExpressions() == null ? new SelectionOnlyStreamingReducer(queryContext) : null;
+    }
+    if (queryContext.getGroupByExpressions() != null || queryContext.isServerReturnFinalResult()) {
+      return null;
+    }
+    for (AggregationFunction aggregationFunction : aggregationFunctions) {
+      if (aggregationFunction.getType() == AggregationFunctionType.DISTINCT) {
+        return null;
+      }
+    }
+    return new AggregationOnlyStreamingReducer(queryContext);
+  }
 }
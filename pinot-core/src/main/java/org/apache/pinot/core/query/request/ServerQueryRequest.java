@@ -19,8 +19,10 @@
 package org.apache.pinot.core.query.request;
 
 import com.google.common.base.Preconditions;
+import io.grpc.stub.StreamObserver;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.datatable.DataTableFactory;
 import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.common.proto.Server;
@@ -49,7 +51,7 @@ public class ServerQueryRequest {
   private final long _requestId;
   private final String _brokerId;
   private final boolean _enableTrace;
-  private final boolean _enableStreaming;
+  private boolean _enableStreaming;
   private final List<String> _segmentsToQuery;
   private final QueryContext _queryContext;
 
@@ -60,6 +62,9 @@ public class ServerQueryRequest {
   // Timing information for different phases of query execution
   private final TimerContext _timerContext;
 
+  // Observer to stream the results back for the streaming requests received over Netty
+  private StreamObserver<Server.ServerResponse> _responseObserver;
+
   public ServerQueryRequest(InstanceRequest instanceRequest, ServerMetrics serverMetrics, long queryArrivalTimeMs) {
     _requestId = instanceRequest.getRequestId();
     _brokerId = instanceRequest.getBrokerId() != null ? instanceRequest.getBrokerId() : "unknown";
@@ -126,6 +131,24 @@ public class ServerQueryRequest {
     return _enableStreaming;
   }
 
+  /**
+   * Enables streaming for the request, where the results are streamed back via the given observer and only the
+   * metadata is returned after the query is executed.
+   */
+  public void enableStreaming(StreamObserver<Server.ServerResponse> responseObserver) {
+    _enableStreaming = true;
+    _responseObserver = responseObserver;
+  }
+
+  /**
+   * Returns the observer set by {@link #enableStreaming(StreamObserver)}, or {@code null} if the results are not
+   * streamed back via an observer bound to the request.
+   */
+  @Nullable
+  public StreamObserver<Server.ServerResponse> getResponseObserver() {
+    return _responseObserver;
+  }
+
   public String getTableNameWithType() {
     return _queryContext.getTableName();
   }
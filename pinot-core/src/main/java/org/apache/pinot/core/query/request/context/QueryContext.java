@@ -103,6 +103,8 @@ public class QueryContext {
   private boolean _skipUpsert;
   // Whether to skip star-tree index for the query
   private boolean _skipStarTree;
+  // Whether to choose between star-tree and scan based on the estimated cost
+  private boolean _useStarTreeCostModel;
   // Whether to skip reordering scan filters for the query
   private boolean _skipScanFilterReorder;
   // Maximum number of threads used to execute the query
@@ -321,6 +323,14 @@ public class QueryContext {
     _skipStarTree = skipStarTree;
   }
 
+  public boolean isUseStarTreeCostModel() {
+    return _useStarTreeCostModel;
+  }
+
+  public void setUseStarTreeCostModel(boolean useStarTreeCostModel) {
+    _useStarTreeCostModel = useStarTreeCostModel;
+  }
+
   public boolean isSkipScanFilterReorder() {
     return _skipScanFilterReorder;
   }
@@ -154,7 +154,7 @@ public class MultiLevelPriorityQueue implements SchedulerPriorityQueue {
         sb.append(group.toString());
       }
       group.trimExpired(deadlineEpochMillis);
-      if (group.isEmpty() || !_resourceManager.canSchedule(group)) {
+      if (group.isEmpty() || !group.canStartQuery() || !_resourceManager.canSchedule(group)) {
         continue;
       }
 
@@ -23,6 +23,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.buffer.ByteBuf;
 import java.util.List;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.LongAccumulator;
@@ -33,6 +34,7 @@ import org.apache.pinot.core.query.executor.QueryExecutor;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.scheduler.resources.QueryExecutorService;
 import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
+import org.apache.pinot.spi.accounting.ThreadResourceUsageProvider;
 import org.apache.pinot.spi.env.PinotConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,7 +64,7 @@ public abstract class PriorityScheduler extends QueryScheduler {
   }
 
   @Override
-  public ListenableFuture<byte[]> submit(ServerQueryRequest queryRequest) {
+  public ListenableFuture<ByteBuf> submit(ServerQueryRequest queryRequest) {
     if (!_isRunning) {
       return immediateErrorResponse(queryRequest, QueryException.SERVER_SCHEDULER_DOWN_ERROR);
     }
@@ -102,7 +104,8 @@ public abstract class PriorityScheduler extends QueryScheduler {
             ServerQueryRequest queryRequest = request.getQueryRequest();
             final QueryExecutorService executor =
                 _resourceManager.getExecutorService(queryRequest, request.getSchedulerGroup());
-            final ListenableFutureTask<byte[]> queryFutureTask = createQueryFutureTask(queryRequest, executor);
+            final ListenableFutureTask<ByteBuf> queryFutureTask =
+                createAccountingQueryFutureTask(queryRequest, executor, request.getSchedulerGroup());
             queryFutureTask.addListener(new Runnable() {
               @Override
               public void run() {
@@ -147,6 +150,25 @@ public abstract class PriorityScheduler extends QueryScheduler {
     }
   }
 
+  /**
+   * Creates the query future task which charges the CPU time of the query runner thread to the scheduler group. The
+   * CPU time of the query worker threads is charged by the {@link QueryExecutorService}. Nothing is charged when the
+   * CPU time is not available (e.g. on virtual threads).
+   */
+  private ListenableFutureTask<ByteBuf> createAccountingQueryFutureTask(ServerQueryRequest queryRequest,
+      QueryExecutorService executor, SchedulerGroupAccountant accountant) {
+    return ListenableFutureTask.create(() -> {
+      ThreadResourceUsageProvider threadResourceUsageProvider = new ThreadResourceUsageProvider();
+      try {
+        return processQueryAndSerialize(queryRequest, executor);
+      } finally {
+        if (threadResourceUsageProvider.isThreadCpuTimeAvailable()) {
+          accountant.addCpuTimeNs(threadResourceUsageProvider.getThreadTimeNs());
+        }
+      }
+    });
+  }
+
   synchronized private void failAllPendingQueries() {
     List<SchedulerQueryContext> pending = _queryQueue.drain();
     for (SchedulerQueryContext queryContext : pending) {
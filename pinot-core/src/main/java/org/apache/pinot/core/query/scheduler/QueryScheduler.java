@@ -23,6 +23,8 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.RateLimiter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -99,10 +101,11 @@ public abstract class QueryScheduler {
   /**
    * Submit a query for execution. The query will be scheduled for execution as per the scheduling algorithm
    * @param queryRequest query to schedule for execution
-   * @return Listenable future for query result representing serialized response. It is possible that the
+   * @return Listenable future for query result representing serialized response (as a composite buffer wrapping the
+   *    serialized sections of the data table without copying them). It is possible that the
    *    future may return immediately or be scheduled for execution at a later time.
    */
-  public abstract ListenableFuture<byte[]> submit(ServerQueryRequest queryRequest);
+  public abstract ListenableFuture<ByteBuf> submit(ServerQueryRequest queryRequest);
 
   /**
    * Query scheduler name for logging
@@ -131,7 +134,7 @@ public abstract class QueryScheduler {
    * @return Future task that can be scheduled for execution on an ExecutorService. Ideally, this future
    * should be executed on a different executor service than {@code e} to avoid deadlock.
    */
-  protected ListenableFutureTask<byte[]> createQueryFutureTask(ServerQueryRequest queryRequest,
+  protected ListenableFutureTask<ByteBuf> createQueryFutureTask(ServerQueryRequest queryRequest,
       ExecutorService executorService) {
     return ListenableFutureTask.create(() -> processQueryAndSerialize(queryRequest, executorService));
   }
@@ -143,7 +146,7 @@ public abstract class QueryScheduler {
    * @return serialized query response
    */
   @Nullable
-  protected byte[] processQueryAndSerialize(ServerQueryRequest queryRequest, ExecutorService executorService) {
+  protected ByteBuf processQueryAndSerialize(ServerQueryRequest queryRequest, ExecutorService executorService) {
 
     //Start instrumentation context. This must not be moved further below interspersed into the code.
     Tracing.ThreadAccountantOps.setupRunner(queryRequest.getQueryId());
@@ -151,7 +154,7 @@ public abstract class QueryScheduler {
     _latestQueryTime.accumulate(System.currentTimeMillis());
     InstanceResponseBlock instanceResponse;
     try {
-      instanceResponse = _queryExecutor.execute(queryRequest, executorService);
+      instanceResponse = _queryExecutor.execute(queryRequest, executorService, queryRequest.getResponseObserver());
     } catch (Exception e) {
       LOGGER.error("Encountered exception while processing requestId {} from broker {}", queryRequest.getRequestId(),
           queryRequest.getBrokerId(), e);
@@ -166,7 +169,7 @@ public abstract class QueryScheduler {
       Map<String, String> responseMetadata = instanceResponse.getResponseMetadata();
       responseMetadata.put(MetadataKey.REQUEST_ID.getName(), Long.toString(requestId));
 
-      byte[] responseBytes = serializeResponse(queryRequest, instanceResponse);
+      ByteBuf response = serializeResponse(queryRequest, instanceResponse);
 
       // Log the statistics
       String tableNameWithType = queryRequest.getTableNameWithType();
@@ -206,6 +209,10 @@ public abstract class QueryScheduler {
       long responseSerializationCpuTimeNs =
           Long.parseLong(responseMetadata.getOrDefault(MetadataKey.RESPONSE_SER_CPU_TIME_NS.getName(), "0"));
       long totalCpuTimeNs = threadCpuTimeNs + systemActivitiesCpuTimeNs + responseSerializationCpuTimeNs;
+      long workerThreadTotalBusyTimeNs =
+          Long.parseLong(responseMetadata.getOrDefault(MetadataKey.WORKER_THREAD_TOTAL_BUSY_TIME_NS.getName(), "0"));
+      long workerThreadMaxBusyTimeNs =
+          Long.parseLong(responseMetadata.getOrDefault(MetadataKey.WORKER_THREAD_MAX_BUSY_TIME_NS.getName(), "0"));
 
       if (numDocsScanned > 0) {
         _serverMetrics.addMeteredTableValue(tableNameWithType, ServerMeter.NUM_DOCS_SCANNED, numDocsScanned);
@@ -240,6 +247,12 @@ public abstract class QueryScheduler {
         _serverMetrics.addTimedTableValue(tableNameWithType, ServerTimer.TOTAL_CPU_TIME_NS, totalCpuTimeNs,
             TimeUnit.NANOSECONDS);
       }
+      if (workerThreadMaxBusyTimeNs > 0) {
+        _serverMetrics.addTimedTableValue(tableNameWithType, ServerTimer.WORKER_THREAD_TOTAL_BUSY_TIME_NS,
+            workerThreadTotalBusyTimeNs, TimeUnit.NANOSECONDS);
+        _serverMetrics.addTimedTableValue(tableNameWithType, ServerTimer.WORKER_THREAD_MAX_BUSY_TIME_NS,
+            workerThreadMaxBusyTimeNs, TimeUnit.NANOSECONDS);
+      }
 
       TimerContext timerContext = queryRequest.getTimerContext();
       int numSegmentsQueried = queryRequest.getSegmentsToQuery().size();
@@ -293,7 +306,7 @@ public abstract class QueryScheduler {
       _serverMetrics.addMeteredTableValue(tableNameWithType, ServerMeter.NUM_SEGMENTS_PRUNED_BY_VALUE,
           numSegmentsPrunedByValue);
 
-      return responseBytes;
+      return response;
     } finally {
       Tracing.ThreadAccountantOps.clear();
     }
@@ -324,17 +337,18 @@ public abstract class QueryScheduler {
    * Serialize the instance response for query request
    * @param queryRequest Server query request for which response is serialized
    * @param instanceResponse instance response to serialize
-   * @return serialized response bytes
+   * @return serialized response as a composite buffer of the data table sections
    */
   @Nullable
-  private byte[] serializeResponse(ServerQueryRequest queryRequest, InstanceResponseBlock instanceResponse) {
+  private ByteBuf serializeResponse(ServerQueryRequest queryRequest, InstanceResponseBlock instanceResponse) {
     TimerContext timerContext = queryRequest.getTimerContext();
     TimerContext.Timer responseSerializationTimer =
         timerContext.startNewPhaseTimer(ServerQueryPhase.RESPONSE_SERIALIZATION);
 
-    byte[] responseByte = null;
+    ByteBuf response = null;
     try {
-      responseByte = instanceResponse.toDataTable().toBytes();
+      // Wrap the serialized sections of the data table to avoid copying them into a single array
+      response = Unpooled.wrappedBuffer(instanceResponse.toDataTable().toByteBuffers());
     } catch (Exception e) {
       _serverMetrics.addMeteredGlobalValue(ServerMeter.RESPONSE_SERIALIZATION_EXCEPTIONS, 1);
       LOGGER.error("Caught exception while serializing response for requestId: {}, brokerId: {}",
@@ -345,14 +359,14 @@ public abstract class QueryScheduler {
     timerContext.startNewPhaseTimer(ServerQueryPhase.TOTAL_QUERY_TIME, timerContext.getQueryArrivalTimeMs())
         .stopAndRecord();
 
-    return responseByte;
+    return response;
   }
 
   /**
    * Error response future in case of internal error where query response is not available. This can happen if the
    * query can not be executed.
    */
-  protected ListenableFuture<byte[]> immediateErrorResponse(ServerQueryRequest queryRequest,
+  protected ListenableFuture<ByteBuf> immediateErrorResponse(ServerQueryRequest queryRequest,
       ProcessingException error) {
     InstanceResponseBlock instanceResponse = new InstanceResponseBlock();
     instanceResponse.addMetadata(MetadataKey.REQUEST_ID.getName(), Long.toString(queryRequest.getRequestId()));
@@ -70,4 +70,12 @@ public interface SchedulerGroup extends SchedulerGroupAccountant {
    * Number of running queries
    */
   int numRunning();
+
+  /**
+   * Returns {@code true} if a new query can be started for this group (e.g. within the concurrency limit of the
+   * group), {@code false} otherwise.
+   */
+  default boolean canStartQuery() {
+    return true;
+  }
 }
@@ -72,4 +72,11 @@ public interface SchedulerGroupAccountant extends Comparable<SchedulerGroupAccou
    * Mark end of query execution.
    */
   void endQuery();
+
+  /**
+   * Charges the thread CPU time used by the queries of this group. This is no-op by default.
+   * @param cpuTimeNs thread CPU time in nanoseconds
+   */
+  default void addCpuTimeNs(long cpuTimeNs) {
+  }
 }
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.cpushare;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.LongAccumulator;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.query.executor.QueryExecutor;
+import org.apache.pinot.core.query.scheduler.MultiLevelPriorityQueue;
+import org.apache.pinot.core.query.scheduler.PriorityScheduler;
+import org.apache.pinot.core.query.scheduler.SchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupFactory;
+import org.apache.pinot.core.query.scheduler.TableBasedGroupMapper;
+import org.apache.pinot.core.query.scheduler.resources.PolicyBasedResourceManager;
+import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
+import org.apache.pinot.spi.accounting.ThreadResourceUsageProvider;
+import org.apache.pinot.spi.env.PinotConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Schedules queries from the {@link SchedulerGroup} with the lowest thread CPU time used per CPU share on priority,
+ * which isolates the workloads of different tables (scheduler groups) sharing the same server.
+ * This is a thin wrapper factory class that configures {@link PriorityScheduler} with
+ * the right concrete classes. All the priority based scheduling logic is in {@link PriorityScheduler}
+ *
+ * The CPU share and the max number of running queries can be configured per group (table name with type by default):
+ * <ul>
+ *   <li>cpu_share.&lt;group&gt; (falls back to default_cpu_share, 1 by default)</li>
+ *   <li>max_running_queries.&lt;group&gt; (falls back to default_max_running_queries, number of query runner threads
+ *   by default)</li>
+ * </ul>
+ *
+ * The JVM does not measure the CPU time of virtual threads, so this scheduler cannot run the queries on virtual threads
+ * (see {@link ResourceManager#USE_VIRTUAL_THREADS_CONFIG_KEY}).
+ */
+public class CpuShareScheduler extends PriorityScheduler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CpuShareScheduler.class);
+
+  public static final String CPU_SHARE_KEY_PREFIX = "cpu_share.";
+  public static final String DEFAULT_CPU_SHARE_KEY = "default_cpu_share";
+  public static final double DEFAULT_CPU_SHARE = 1.0;
+  public static final String MAX_RUNNING_QUERIES_KEY_PREFIX = "max_running_queries.";
+  public static final String DEFAULT_MAX_RUNNING_QUERIES_KEY = "default_max_running_queries";
+  public static final String CPU_TIME_HALF_LIFE_MS_KEY = "cpu_time_half_life_ms";
+  public static final int DEFAULT_CPU_TIME_HALF_LIFE_MS = 10_000;
+
+  public static CpuShareScheduler create(PinotConfiguration config, QueryExecutor queryExecutor,
+      ServerMetrics metrics, LongAccumulator latestQueryTime) {
+    Preconditions.checkState(!config.getProperty(ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY,
+            ResourceManager.DEFAULT_USE_VIRTUAL_THREADS),
+        "CPU share scheduler cannot run queries on virtual threads (%s) as their CPU time is not measured",
+        ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY);
+    if (!ThreadResourceUsageProvider.isThreadCpuTimeMeasurementEnabled()) {
+      LOGGER.warn("Enabling thread CPU time measurement, which is required by the CPU share scheduler");
+      ThreadResourceUsageProvider.setThreadCpuTimeMeasurementEnabled(true);
+    }
+    final ResourceManager rm = new PolicyBasedResourceManager(config);
+    final SchedulerGroupFactory groupFactory = new SchedulerGroupFactory() {
+      @Override
+      public SchedulerGroup create(PinotConfiguration config, String groupName) {
+        double defaultCpuShare = config.getProperty(DEFAULT_CPU_SHARE_KEY, DEFAULT_CPU_SHARE);
+        double cpuShare = config.getProperty(CPU_SHARE_KEY_PREFIX + groupName, defaultCpuShare);
+        int defaultMaxRunningQueries =
+            config.getProperty(DEFAULT_MAX_RUNNING_QUERIES_KEY, rm.getNumQueryRunnerThreads());
+        int maxRunningQueries =
+            config.getProperty(MAX_RUNNING_QUERIES_KEY_PREFIX + groupName, defaultMaxRunningQueries);
+        int cpuTimeHalfLifeMs = config.getProperty(CPU_TIME_HALF_LIFE_MS_KEY, DEFAULT_CPU_TIME_HALF_LIFE_MS);
+        LOGGER.info("Creating scheduler group: {} with CPU share: {}, max running queries: {}", groupName, cpuShare,
+            maxRunningQueries);
+        return new CpuShareSchedulerGroup(groupName, cpuShare, maxRunningQueries, cpuTimeHalfLifeMs, metrics);
+      }
+    };
+
+    MultiLevelPriorityQueue queue = new MultiLevelPriorityQueue(config, rm, groupFactory, new TableBasedGroupMapper());
+    return new CpuShareScheduler(config, rm, queryExecutor, queue, metrics, latestQueryTime);
+  }
+
+  private CpuShareScheduler(PinotConfiguration config, ResourceManager resourceManager, QueryExecutor queryExecutor,
+      MultiLevelPriorityQueue queue, ServerMetrics metrics, LongAccumulator latestQueryTime) {
+    super(config, resourceManager, queryExecutor, queue, metrics, latestQueryTime);
+  }
+
+  @Override
+  public String name() {
+    return "CpuShare";
+  }
+}
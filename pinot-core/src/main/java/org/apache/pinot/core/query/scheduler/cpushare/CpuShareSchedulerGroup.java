@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.cpushare;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.common.metrics.ServerMeter;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.metrics.ServerTimer;
+import org.apache.pinot.core.query.scheduler.AbstractSchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroup;
+import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.apache.pinot.core.query.scheduler.SchedulerQueryContext;
+import org.apache.pinot.core.query.scheduler.fcfs.FCFSSchedulerGroup;
+
+
+/**
+ * Scheduler group that is prioritized based on the thread CPU time used by its queries, weighted by the CPU share of
+ * the group (weighted fair queuing).
+ *
+ * The CPU time of the query runner and worker threads is charged to the group when each task finishes. The charged
+ * CPU time decays exponentially with the configured half-life, so that the groups are prioritized based on the recent
+ * CPU usage, and a group that was idle for a while does not get unbounded priority when it comes back. Group with the
+ * lowest CPU time per share has the highest priority, so under contention the CPU used by the groups converges to the
+ * ratio of their shares. The number of concurrently running queries of the group is capped so that a group cannot
+ * occupy all the query runners before its CPU time is charged.
+ */
+public class CpuShareSchedulerGroup extends AbstractSchedulerGroup {
+  private final double _cpuShare;
+  private final int _maxRunningQueries;
+  private final long _cpuTimeHalfLifeMs;
+  private final ServerMetrics _serverMetrics;
+
+  // Charged CPU time with exponential decay applied up to _lastDecayTimeMs
+  private double _cpuTimeNs;
+  private long _lastDecayTimeMs;
+
+  CpuShareSchedulerGroup(String name, double cpuShare, int maxRunningQueries, long cpuTimeHalfLifeMs,
+      ServerMetrics serverMetrics) {
+    super(name);
+    Preconditions.checkArgument(cpuShare > 0, "CPU share must be positive, got: %s for group: %s", cpuShare, name);
+    Preconditions.checkArgument(maxRunningQueries > 0, "Max running queries must be positive, got: %s for group: %s",
+        maxRunningQueries, name);
+    Preconditions.checkArgument(cpuTimeHalfLifeMs > 0, "CPU time half-life must be positive, got: %s",
+        cpuTimeHalfLifeMs);
+    _cpuShare = cpuShare;
+    _maxRunningQueries = maxRunningQueries;
+    _cpuTimeHalfLifeMs = cpuTimeHalfLifeMs;
+    _serverMetrics = serverMetrics;
+    _lastDecayTimeMs = currentTimeMillis();
+  }
+
+  public double getCpuShare() {
+    return _cpuShare;
+  }
+
+  public int getMaxRunningQueries() {
+    return _maxRunningQueries;
+  }
+
+  @Override
+  public void addCpuTimeNs(long cpuTimeNs) {
+    if (cpuTimeNs <= 0) {
+      return;
+    }
+    synchronized (this) {
+      decay();
+      _cpuTimeNs += cpuTimeNs;
+    }
+    _serverMetrics.addMeteredTableValue(_name, ServerMeter.SCHEDULER_GROUP_CPU_TIME_NS, cpuTimeNs);
+  }
+
+  /**
+   * Returns the decayed CPU time charged to the group divided by the CPU share of the group.
+   */
+  synchronized double getCpuTimeNsPerShare() {
+    decay();
+    return _cpuTimeNs / _cpuShare;
+  }
+
+  // callers must synchronize access to this method
+  private void decay() {
+    long currentTimeMs = currentTimeMillis();
+    long elapsedTimeMs = currentTimeMs - _lastDecayTimeMs;
+    if (elapsedTimeMs > 0) {
+      _cpuTimeNs *= Math.pow(0.5, (double) elapsedTimeMs / _cpuTimeHalfLifeMs);
+      _lastDecayTimeMs = currentTimeMs;
+    }
+  }
+
+  @Override
+  public boolean canStartQuery() {
+    return _numRunning.get() < _maxRunningQueries;
+  }
+
+  @Override
+  public SchedulerQueryContext removeFirst() {
+    SchedulerQueryContext query = super.removeFirst();
+    if (query != null) {
+      _serverMetrics.addTimedTableValue(_name, ServerTimer.SCHEDULER_GROUP_QUEUE_TIME_MS,
+          currentTimeMillis() - query.getArrivalTimeMs(), TimeUnit.MILLISECONDS);
+    }
+    return query;
+  }
+
+  /**
+   * Compares priority of this group with respect to another scheduler group. The group with lower CPU time per share
+   * has higher priority. If both groups have the same CPU time per share (e.g. both have no CPU time charged), then
+   * the group with earliest waiting job has higher priority (FCFS).
+   * @param rhs SchedulerGroupAccount to compare with
+   * @return < 0 if lhs has lower priority than rhs
+   *     > 0 if lhs has higher priority than rhs
+   *     = 0 if lhs has same priority as rhs
+   */
+  @Override
+  public int compareTo(SchedulerGroupAccountant rhs) {
+    if (rhs == null) {
+      return 1;
+    }
+    if (this == rhs) {
+      return 0;
+    }
+    int comparison =
+        Double.compare(((CpuShareSchedulerGroup) rhs).getCpuTimeNsPerShare(), getCpuTimeNsPerShare());
+    if (comparison != 0) {
+      return comparison;
+    }
+    return FCFSSchedulerGroup.compare(this, (SchedulerGroup) rhs);
+  }
+
+  public String toString() {
+    return String.format(" {%s:[%.0f,%d,%d,%d,%d]},", name(), getCpuTimeNsPerShare(), numPending(), numRunning(),
+        getThreadsInUse(), totalReservedThreads());
+  }
+
+  protected long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+}
@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Semaphore;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.apache.pinot.spi.accounting.ThreadResourceUsageProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,6 +92,7 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
 
     @Override
     public void run() {
+      ThreadResourceUsageProvider threadResourceUsageProvider = new ThreadResourceUsageProvider();
       try {
         if (_accountant != null) {
           _accountant.incrementThreads();
@@ -99,6 +101,9 @@ public class BoundedAccountingExecutor extends QueryExecutorService {
       } finally {
         if (_accountant != null) {
           _accountant.decrementThreads();
+          if (threadResourceUsageProvider.isThreadCpuTimeAvailable()) {
+            _accountant.addCpuTimeNs(threadResourceUsageProvider.getThreadTimeNs());
+          }
         }
         _semaphore.release();
       }
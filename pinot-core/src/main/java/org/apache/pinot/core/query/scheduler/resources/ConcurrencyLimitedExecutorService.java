@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Executor service that limits the number of concurrently running tasks on top of a thread-per-task executor service
+ * (e.g. one backed by virtual threads). Each task acquires a permit within its own thread before running, so tasks
+ * waiting for a permit are parked threads instead of queued runnables, and the submitting thread is never blocked.
+ *
+ * Permits are not released while a task blocks (e.g. waiting on futures), so the limit bounds the number of running
+ * tasks rather than the CPU cores being used.
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+  private final ExecutorService _delegateExecutorService;
+  private final Semaphore _semaphore;
+
+  public ConcurrencyLimitedExecutorService(ExecutorService delegateExecutorService, int maxConcurrency) {
+    Preconditions.checkArgument(maxConcurrency > 0, "Max concurrency must be positive, got: %s", maxConcurrency);
+    _delegateExecutorService = delegateExecutorService;
+    _semaphore = new Semaphore(maxConcurrency);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    _delegateExecutorService.execute(() -> {
+      try {
+        _semaphore.acquire();
+      } catch (InterruptedException e) {
+        // Executor service is shutting down. Still run the task (with interrupted flag set) so that the futures waiting
+        // on it can be completed.
+        Thread.currentThread().interrupt();
+        command.run();
+        return;
+      }
+      try {
+        command.run();
+      } finally {
+        _semaphore.release();
+      }
+    });
+  }
+
+  /**
+   * Returns the number of tasks that can be started without waiting for a permit.
+   */
+  public int getAvailablePermits() {
+    return _semaphore.availablePermits();
+  }
+
+  @Override
+  public void shutdown() {
+    _delegateExecutorService.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return _delegateExecutorService.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return _delegateExecutorService.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return _delegateExecutorService.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return _delegateExecutorService.awaitTermination(timeout, unit);
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.pinot.core.query.scheduler.resources;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.concurrent.ExecutorService;
@@ -27,8 +28,10 @@ import java.util.concurrent.ThreadFactory;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
 import org.apache.pinot.core.util.trace.TracedThreadFactory;
+import org.apache.pinot.spi.accounting.ThreadResourceUsageProvider;
 import org.apache.pinot.spi.env.PinotConfiguration;
 import org.apache.pinot.spi.utils.CommonConstants;
+import org.apache.pinot.spi.utils.VirtualThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +51,14 @@ public abstract class ResourceManager {
 
   public static final String QUERY_RUNNER_CONFIG_KEY = "query_runner_threads";
   public static final String QUERY_WORKER_CONFIG_KEY = "query_worker_threads";
+  // When enabled (requires JDK 21+), each query runner and worker task runs on its own virtual thread, and the number
+  // of concurrently running runner/worker tasks is limited by the configured number of runner/worker threads. Threads
+  // blocked on futures/queues do not pin OS threads, so the number of runner threads can be configured much higher.
+  // The JVM does not measure the CPU time of virtual threads, so it cannot be enabled together with the thread CPU time
+  // measurement, which the CPU share scheduler, the CPU time reported in the query responses and the CPU based query
+  // killing rely on.
+  public static final String USE_VIRTUAL_THREADS_CONFIG_KEY = "use_virtual_threads";
+  public static final boolean DEFAULT_USE_VIRTUAL_THREADS = false;
   public static final int DEFAULT_QUERY_RUNNER_THREADS;
   public static final int DEFAULT_QUERY_WORKER_THREADS;
 
@@ -72,6 +83,7 @@ public abstract class ResourceManager {
   protected final ListeningExecutorService _queryWorkers;
   protected final int _numQueryRunnerThreads;
   protected final int _numQueryWorkerThreads;
+  protected final boolean _useVirtualThreads;
 
   /**
    * @param config configuration for initializing resource manager
@@ -80,19 +92,44 @@ public abstract class ResourceManager {
     _numQueryRunnerThreads = config.getProperty(QUERY_RUNNER_CONFIG_KEY, DEFAULT_QUERY_RUNNER_THREADS);
     _numQueryWorkerThreads = config.getProperty(QUERY_WORKER_CONFIG_KEY, DEFAULT_QUERY_WORKER_THREADS);
 
-    LOGGER.info("Initializing with {} query runner threads and {} worker threads", _numQueryRunnerThreads,
-        _numQueryWorkerThreads);
-    // pqr -> pinot query runner (to give short names)
-    ThreadFactory queryRunnerFactory = new TracedThreadFactory(QUERY_RUNNER_THREAD_PRIORITY, false,
-        CommonConstants.ExecutorService.PINOT_QUERY_RUNNER_NAME_FORMAT);
-    _queryRunners =
-        MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(_numQueryRunnerThreads, queryRunnerFactory));
-
-    // pqw -> pinot query workers
-    ThreadFactory queryWorkersFactory = new TracedThreadFactory(Thread.NORM_PRIORITY, false,
-        CommonConstants.ExecutorService.PINOT_QUERY_WORKER_NAME_FORMAT);
-    _queryWorkers =
-        MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(_numQueryWorkerThreads, queryWorkersFactory));
+    ExecutorService virtualQueryRunners = null;
+    ExecutorService virtualQueryWorkers = null;
+    if (config.getProperty(USE_VIRTUAL_THREADS_CONFIG_KEY, DEFAULT_USE_VIRTUAL_THREADS)) {
+      Preconditions.checkState(!ThreadResourceUsageProvider.isThreadCpuTimeMeasurementEnabled(),
+          "Virtual threads (%s) cannot be used with thread CPU time measurement because the JVM does not measure the "
+              + "CPU time of virtual threads", USE_VIRTUAL_THREADS_CONFIG_KEY);
+      virtualQueryRunners = VirtualThreadUtils.newVirtualThreadPerTaskExecutor(
+          CommonConstants.ExecutorService.PINOT_QUERY_RUNNER_NAME_PREFIX);
+      virtualQueryWorkers = VirtualThreadUtils.newVirtualThreadPerTaskExecutor(
+          CommonConstants.ExecutorService.PINOT_QUERY_WORKER_NAME_PREFIX);
+      if (virtualQueryRunners == null || virtualQueryWorkers == null) {
+        LOGGER.warn("Virtual threads are not supported by the current JVM, falling back to platform threads");
+      }
+    }
+    _useVirtualThreads = virtualQueryRunners != null && virtualQueryWorkers != null;
+
+    if (_useVirtualThreads) {
+      LOGGER.info("Initializing with virtual threads for up to {} concurrent query runners and {} concurrent workers",
+          _numQueryRunnerThreads, _numQueryWorkerThreads);
+      _queryRunners = MoreExecutors.listeningDecorator(
+          new ConcurrencyLimitedExecutorService(virtualQueryRunners, _numQueryRunnerThreads));
+      _queryWorkers = MoreExecutors.listeningDecorator(
+          new ConcurrencyLimitedExecutorService(virtualQueryWorkers, _numQueryWorkerThreads));
+    } else {
+      LOGGER.info("Initializing with {} query runner threads and {} worker threads", _numQueryRunnerThreads,
+          _numQueryWorkerThreads);
+      // pqr -> pinot query runner (to give short names)
+      ThreadFactory queryRunnerFactory = new TracedThreadFactory(QUERY_RUNNER_THREAD_PRIORITY, false,
+          CommonConstants.ExecutorService.PINOT_QUERY_RUNNER_NAME_FORMAT);
+      _queryRunners =
+          MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(_numQueryRunnerThreads, queryRunnerFactory));
+
+      // pqw -> pinot query workers
+      ThreadFactory queryWorkersFactory = new TracedThreadFactory(Thread.NORM_PRIORITY, false,
+          CommonConstants.ExecutorService.PINOT_QUERY_WORKER_NAME_FORMAT);
+      _queryWorkers =
+          MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(_numQueryWorkerThreads, queryWorkersFactory));
+    }
   }
 
   public void stop() {
@@ -118,6 +155,13 @@ public abstract class ResourceManager {
     return _numQueryWorkerThreads;
   }
 
+  /**
+   * Returns {@code true} if the query runners and workers are running on virtual threads.
+   */
+  final public boolean isUseVirtualThreads() {
+    return _useVirtualThreads;
+  }
+
   /**
    * Returns executor service for running queries.
    * @return
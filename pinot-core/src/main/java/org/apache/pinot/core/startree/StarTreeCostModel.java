@@ -0,0 +1,282 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.startree;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.request.context.ExpressionContext;
+import org.apache.pinot.core.operator.filter.predicate.PredicateEvaluator;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.InvertedIndexReader;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2Metadata;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * The {@code StarTreeCostModel} estimates the per-segment cost of solving an aggregation or group-by query with a
+ * star-tree and with the regular filter + scan plan, and picks the cheaper one.
+ * <p>The cost is expressed as the number of entries (star-tree nodes, star-tree records, inverted index entries or
+ * segment documents) to be processed, and is derived from the segment metadata only:
+ * <ul>
+ *   <li>Predicate selectivity: number of matching dictionary ids over the dictionary cardinality</li>
+ *   <li>Star-tree: number of nodes, number of records and max leaf records</li>
+ *   <li>Scan: size of the matching inverted index bitmaps, or number of documents for scan based predicates</li>
+ * </ul>
+ * Values are assumed to be uniformly distributed and independent across columns.
+ */
+public class StarTreeCostModel {
+  // Max number of matching dictionary ids to look up in the inverted index when estimating the filter cost
+  private static final int MAX_DICT_IDS_TO_LOOK_UP = 100;
+
+  private StarTreeCostModel() {
+  }
+
+  public enum Strategy {
+    STAR_TREE, SCAN
+  }
+
+  /**
+   * Selects the cheapest plan among the given star-trees and the scan based plan. Returns {@code null} if none of the
+   * star-trees fits the query.
+   */
+  @Nullable
+  public static Selection select(IndexSegment indexSegment, List<StarTreeV2> starTrees,
+      AggregationFunctionColumnPair[] aggregationFunctionColumnPairs, @Nullable ExpressionContext[] groupByExpressions,
+      Map<String, List<CompositePredicateEvaluator>> predicateEvaluatorsMap) {
+    Set<String> groupByColumns = new HashSet<>();
+    if (groupByExpressions != null) {
+      for (ExpressionContext groupByExpression : groupByExpressions) {
+        groupByExpression.getColumns(groupByColumns);
+      }
+    }
+    StarTreeV2 bestStarTree = null;
+    double bestStarTreeCost = Double.POSITIVE_INFINITY;
+    for (StarTreeV2 starTree : starTrees) {
+      if (StarTreeUtils.isFitForStarTree(starTree.getMetadata(), aggregationFunctionColumnPairs, groupByExpressions,
+          predicateEvaluatorsMap.keySet())) {
+        double starTreeCost = estimateStarTreeCost(indexSegment, starTree, predicateEvaluatorsMap, groupByColumns);
+        if (starTreeCost < bestStarTreeCost) {
+          bestStarTree = starTree;
+          bestStarTreeCost = starTreeCost;
+        }
+      }
+    }
+    if (bestStarTree == null) {
+      return null;
+    }
+    double scanCost = estimateScanCost(indexSegment, predicateEvaluatorsMap);
+    return new Selection(bestStarTreeCost <= scanCost ? bestStarTree : null, bestStarTreeCost, scanCost);
+  }
+
+  /**
+   * Estimates the cost of solving the query with the given star-tree, which is the number of nodes to traverse plus
+   * the number of records to aggregate.
+   * <p>The nodes to traverse are bounded by the nodes on the paths of the matching groups, where dimensions without
+   * star-node multiply the number of paths.
+   * <p>The records to aggregate are bounded by both the records under the matching dimension values, and the records
+   * under the leaf nodes of the matching groups (each leaf node contains at most max leaf records).
+   */
+  public static double estimateStarTreeCost(IndexSegment indexSegment, StarTreeV2 starTree,
+      Map<String, List<CompositePredicateEvaluator>> predicateEvaluatorsMap, Set<String> groupByColumns) {
+    StarTreeV2Metadata metadata = starTree.getMetadata();
+    double selectivity = 1;
+    double numMatchingGroups = 1;
+    for (Map.Entry<String, List<CompositePredicateEvaluator>> entry : predicateEvaluatorsMap.entrySet()) {
+      int cardinality = getCardinality(indexSegment.getDataSource(entry.getKey()));
+      double numMatchingDictIds = getNumMatchingDictIds(entry.getValue(), cardinality);
+      selectivity *= numMatchingDictIds / cardinality;
+      numMatchingGroups *= numMatchingDictIds;
+    }
+    for (String groupByColumn : groupByColumns) {
+      if (!predicateEvaluatorsMap.containsKey(groupByColumn)) {
+        numMatchingGroups *= getCardinality(indexSegment.getDataSource(groupByColumn));
+      }
+    }
+    // Without star-node, all the children need to be traversed for the non-queried dimensions that are split before
+    // the last queried dimension
+    List<String> dimensionsSplitOrder = metadata.getDimensionsSplitOrder();
+    int lastQueriedDimensionIndex = -1;
+    for (int i = 0; i < dimensionsSplitOrder.size(); i++) {
+      String dimension = dimensionsSplitOrder.get(i);
+      if (predicateEvaluatorsMap.containsKey(dimension) || groupByColumns.contains(dimension)) {
+        lastQueriedDimensionIndex = i;
+      }
+    }
+    Set<String> skipStarNodeCreationForDimensions = metadata.getSkipStarNodeCreationForDimensions();
+    for (int i = 0; i < lastQueriedDimensionIndex; i++) {
+      String dimension = dimensionsSplitOrder.get(i);
+      if (skipStarNodeCreationForDimensions.contains(dimension) && !predicateEvaluatorsMap.containsKey(dimension)
+          && !groupByColumns.contains(dimension)) {
+        numMatchingGroups *= getCardinality(indexSegment.getDataSource(dimension));
+      }
+    }
+    double numRecords =
+        Math.min(metadata.getNumDocs() * selectivity, numMatchingGroups * metadata.getMaxLeafRecords());
+    double numNodes = numMatchingGroups * dimensionsSplitOrder.size();
+    // Bound the nodes to traverse with the paths only when the star-tree does not track the number of nodes
+    int starTreeNumNodes = starTree.getStarTree().getNumNodes();
+    if (starTreeNumNodes >= 0) {
+      numNodes = Math.min(starTreeNumNodes, numNodes);
+    }
+    return numNodes + numRecords;
+  }
+
+  /**
+   * Estimates the cost of solving the query with the regular filter + scan plan, which is the number of inverted index
+   * entries to read plus the number of documents to evaluate with the scan based predicates plus the number of matching
+   * documents to aggregate.
+   */
+  public static double estimateScanCost(IndexSegment indexSegment,
+      Map<String, List<CompositePredicateEvaluator>> predicateEvaluatorsMap) {
+    int numDocs = indexSegment.getSegmentMetadata().getTotalDocs();
+    double indexCost = 0;
+    double indexSelectivity = 1;
+    double scanSelectivity = 1;
+    int numScanColumns = 0;
+    for (Map.Entry<String, List<CompositePredicateEvaluator>> entry : predicateEvaluatorsMap.entrySet()) {
+      DataSource dataSource = indexSegment.getDataSource(entry.getKey());
+      List<CompositePredicateEvaluator> compositePredicateEvaluators = entry.getValue();
+      int cardinality = getCardinality(dataSource);
+      double selectivity = (double) getNumMatchingDictIds(compositePredicateEvaluators, cardinality) / cardinality;
+      InvertedIndexReader<?> invertedIndex = dataSource.getInvertedIndex();
+      if (dataSource.getDataSourceMetadata().isSorted()) {
+        // Sorted index directly gives the matching document ranges
+        indexCost += compositePredicateEvaluators.size();
+        indexSelectivity *= selectivity;
+      } else if (invertedIndex != null) {
+        indexCost += getNumMatchingDocs(invertedIndex, compositePredicateEvaluators, cardinality, numDocs);
+        indexSelectivity *= selectivity;
+      } else {
+        numScanColumns++;
+        scanSelectivity *= selectivity;
+      }
+    }
+    double numDocsToScan = numDocs * indexSelectivity;
+    return indexCost + numScanColumns * numDocsToScan + numDocsToScan * scanSelectivity;
+  }
+
+  private static int getCardinality(DataSource dataSource) {
+    assert dataSource.getDictionary() != null;
+    return Math.max(dataSource.getDictionary().length(), 1);
+  }
+
+  /**
+   * Returns the number of dictionary ids matching all the composite predicates (ANDed), where each composite predicate
+   * matches the dictionary ids matching any of its predicates (ORed).
+   */
+  private static int getNumMatchingDictIds(List<CompositePredicateEvaluator> compositePredicateEvaluators,
+      int cardinality) {
+    int numMatchingDictIds = cardinality;
+    for (CompositePredicateEvaluator compositePredicateEvaluator : compositePredicateEvaluators) {
+      int numMatchingDictIdsForComposite = 0;
+      for (PredicateEvaluator predicateEvaluator : compositePredicateEvaluator.getPredicateEvaluators()) {
+        numMatchingDictIdsForComposite += getNumMatchingDictIds(predicateEvaluator, cardinality);
+      }
+      numMatchingDictIds = Math.min(numMatchingDictIds, numMatchingDictIdsForComposite);
+    }
+    return numMatchingDictIds;
+  }
+
+  private static int getNumMatchingDictIds(PredicateEvaluator predicateEvaluator, int cardinality) {
+    if (predicateEvaluator.isAlwaysFalse()) {
+      return 0;
+    }
+    if (predicateEvaluator.isAlwaysTrue()) {
+      return cardinality;
+    }
+    // NOTE: For exclusive predicates, the matching dictionary ids are lazily computed, so use the non-matching ones
+    return predicateEvaluator.isExclusive() ? cardinality - predicateEvaluator.getNumNonMatchingDictIds()
+        : predicateEvaluator.getNumMatchingDictIds();
+  }
+
+  /**
+   * Returns the number of documents matching all the composite predicates, using the bitmap sizes from the inverted
+   * index when there are only a few matching dictionary ids, or the estimated selectivity otherwise.
+   */
+  private static double getNumMatchingDocs(InvertedIndexReader<?> invertedIndex,
+      List<CompositePredicateEvaluator> compositePredicateEvaluators, int cardinality, int numDocs) {
+    double numMatchingDocs = numDocs;
+    for (CompositePredicateEvaluator compositePredicateEvaluator : compositePredicateEvaluators) {
+      double numMatchingDocsForComposite = 0;
+      for (PredicateEvaluator predicateEvaluator : compositePredicateEvaluator.getPredicateEvaluators()) {
+        numMatchingDocsForComposite += getNumMatchingDocs(invertedIndex, predicateEvaluator, cardinality, numDocs);
+      }
+      numMatchingDocs = Math.min(numMatchingDocs, numMatchingDocsForComposite);
+    }
+    return numMatchingDocs;
+  }
+
+  private static double getNumMatchingDocs(InvertedIndexReader<?> invertedIndex, PredicateEvaluator predicateEvaluator,
+      int cardinality, int numDocs) {
+    int numMatchingDictIds = getNumMatchingDictIds(predicateEvaluator, cardinality);
+    if (!predicateEvaluator.isExclusive() && numMatchingDictIds <= MAX_DICT_IDS_TO_LOOK_UP) {
+      long numMatchingDocs = 0;
+      for (int dictId : predicateEvaluator.getMatchingDictIds()) {
+        Object docIds = invertedIndex.getDocIds(dictId);
+        if (!(docIds instanceof ImmutableRoaringBitmap)) {
+          numMatchingDocs = -1;
+          break;
+        }
+        numMatchingDocs += ((ImmutableRoaringBitmap) docIds).getCardinality();
+      }
+      if (numMatchingDocs >= 0) {
+        return numMatchingDocs;
+      }
+    }
+    return (double) numDocs * numMatchingDictIds / cardinality;
+  }
+
+  /**
+   * The result of the plan selection. The star-tree is {@code null} when the scan based plan is selected.
+   */
+  public static class Selection {
+    private final StarTreeV2 _starTree;
+    private final double _starTreeCost;
+    private final double _scanCost;
+
+    private Selection(@Nullable StarTreeV2 starTree, double starTreeCost, double scanCost) {
+      _starTree = starTree;
+      _starTreeCost = starTreeCost;
+      _scanCost = scanCost;
+    }
+
+    @Nullable
+    public StarTreeV2 getStarTree() {
+      return _starTree;
+    }
+
+    public Strategy getStrategy() {
+      return _starTree != null ? Strategy.STAR_TREE : Strategy.SCAN;
+    }
+
+    public double getStarTreeCost() {
+      return _starTreeCost;
+    }
+
+    public double getScanCost() {
+      return _scanCost;
+    }
+  }
+}
@@ -265,8 +265,10 @@ public class StarTreeUtils {
       // Do not use star-tree for the following predicates because:
       //   - REGEXP_LIKE: Need to scan the whole dictionary to gather the matching dictionary ids
       //   - TEXT_MATCH/IS_NULL/IS_NOT_NULL: No way to gather the matching dictionary ids
+      //   - VECTOR_SIMILARITY: Matches the nearest documents, which cannot be expressed with dictionary ids
       case REGEXP_LIKE:
       case TEXT_MATCH:
+      case VECTOR_SIMILARITY:
       case IS_NULL:
       case IS_NOT_NULL:
         return null;
@@ -18,16 +18,19 @@
  */
 package org.apache.pinot.core.transport;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.common.datatable.DataTable.MetadataKey;
 import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsManager;
 
 
@@ -42,15 +45,34 @@ public class AsyncQueryResponse implements QueryResponse {
   private final AtomicInteger _numServersResponded = new AtomicInteger();
   private final ConcurrentHashMap<ServerRoutingInstance, ServerResponse> _responseMap;
   private final CountDownLatch _countDownLatch;
+  private final long _startTimeMs;
   private final long _maxEndTimeMs;
   private final long _timeoutMs;
   private final ServerRoutingStatsManager _serverRoutingStatsManager;
+  private final ServerResponseListener _serverResponseListener;
+  // Servers whose responses are taken. For a hedged server, only the first response from either the hedged server or
+  // the server receiving the hedged request is taken.
+  private final Set<ServerRoutingInstance> _respondedServers = ConcurrentHashMap.newKeySet();
+  // Map from the server receiving the hedged request to the hedged server
+  private final ConcurrentHashMap<ServerRoutingInstance, ServerRoutingInstance> _hedgedServerMap =
+      new ConcurrentHashMap<>();
+  // Responses not included in the final responses, i.e. the ones for the hedged requests not (yet) taken, and the ones
+  // for the hedged servers replaced by the servers receiving the hedged requests
+  private final ConcurrentHashMap<ServerRoutingInstance, ServerResponse> _hedgedResponseMap =
+      new ConcurrentHashMap<>();
 
   private volatile ServerRoutingInstance _failedServer;
   private volatile Exception _exception;
+  private volatile List<? extends Future<?>> _hedgeFutures;
 
   public AsyncQueryResponse(QueryRouter queryRouter, long requestId, Set<ServerRoutingInstance> serversQueried,
       long startTimeMs, long timeoutMs, ServerRoutingStatsManager serverRoutingStatsManager) {
+    this(queryRouter, requestId, serversQueried, startTimeMs, timeoutMs, serverRoutingStatsManager, null);
+  }
+
+  public AsyncQueryResponse(QueryRouter queryRouter, long requestId, Set<ServerRoutingInstance> serversQueried,
+      long startTimeMs, long timeoutMs, ServerRoutingStatsManager serverRoutingStatsManager,
+      @Nullable ServerResponseListener serverResponseListener) {
     _queryRouter = queryRouter;
     _requestId = requestId;
     int numServersQueried = serversQueried.size();
@@ -60,8 +82,10 @@ public class AsyncQueryResponse implements QueryResponse {
     }
     _countDownLatch = new CountDownLatch(numServersQueried);
     _timeoutMs = timeoutMs;
+    _startTimeMs = startTimeMs;
     _maxEndTimeMs = startTimeMs + timeoutMs;
     _serverRoutingStatsManager = serverRoutingStatsManager;
+    _serverResponseListener = serverResponseListener;
   }
 
   @Override
@@ -87,6 +111,12 @@ public class AsyncQueryResponse implements QueryResponse {
       _status.compareAndSet(Status.IN_PROGRESS, finish ? Status.COMPLETED : Status.TIMED_OUT);
       return _responseMap;
     } finally {
+      List<? extends Future<?>> hedgeFutures = _hedgeFutures;
+      if (hedgeFutures != null) {
+        for (Future<?> hedgeFuture : hedgeFutures) {
+          hedgeFuture.cancel(false);
+        }
+      }
       // Update ServerRoutingStats.
       for (Map.Entry<ServerRoutingInstance, ServerResponse> entry : _responseMap.entrySet()) {
         ServerResponse response = entry.getValue();
@@ -97,6 +127,14 @@ public class AsyncQueryResponse implements QueryResponse {
               _timeoutMs);
         }
       }
+      // For the servers not taken because of the hedged requests, record the time elapsed so far as the latency
+      for (Map.Entry<ServerRoutingInstance, ServerResponse> entry : _hedgedResponseMap.entrySet()) {
+        ServerResponse response = entry.getValue();
+        if (response.getDataTable() == null && !_responseMap.containsKey(entry.getKey())) {
+          _serverRoutingStatsManager.recordStatsUponResponseArrival(_requestId, entry.getKey().getInstanceId(),
+              System.currentTimeMillis() - _startTimeMs);
+        }
+      }
 
       _queryRouter.markQueryDone(_requestId);
     }
@@ -138,27 +176,111 @@ public class AsyncQueryResponse implements QueryResponse {
     return _timeoutMs;
   }
 
+  /**
+   * Returns the response for the given server, which can be either a final response or a response for a hedged request.
+   */
+  private ServerResponse getServerResponse(ServerRoutingInstance serverRoutingInstance) {
+    ServerResponse response = _responseMap.get(serverRoutingInstance);
+    return response != null ? response : _hedgedResponseMap.get(serverRoutingInstance);
+  }
+
   void markRequestSubmitted(ServerRoutingInstance serverRoutingInstance) {
-    _responseMap.get(serverRoutingInstance).markRequestSubmitted();
+    getServerResponse(serverRoutingInstance).markRequestSubmitted();
   }
 
   void markRequestSent(ServerRoutingInstance serverRoutingInstance, int requestSentLatencyMs) {
-    _responseMap.get(serverRoutingInstance).markRequestSent(requestSentLatencyMs);
+    getServerResponse(serverRoutingInstance).markRequestSent(requestSentLatencyMs);
+  }
+
+  /**
+   * Sets the futures of the tasks hedging the requests, which are cancelled when the query is done.
+   */
+  void setHedgeFutures(List<? extends Future<?>> hedgeFutures) {
+    _hedgeFutures = hedgeFutures;
+  }
+
+  /**
+   * Returns {@code true} if the query is in progress, and the given server has not responded or been hedged yet.
+   */
+  boolean canHedge(ServerRoutingInstance serverRoutingInstance) {
+    return _countDownLatch.getCount() != 0 && !_respondedServers.contains(serverRoutingInstance)
+        && !_hedgedServerMap.containsValue(serverRoutingInstance);
+  }
+
+  /**
+   * Registers a hedged request to be sent to the given server in place of the hedged server. Returns {@code false} if
+   * the hedged server cannot be hedged, or the given server is already queried.
+   * <p>NOTE: Should be called before sending the hedged request so that the response can be matched.
+   */
+  boolean addHedgedRequest(ServerRoutingInstance hedgedServer, ServerRoutingInstance serverRoutingInstance) {
+    // Put the response before the mapping as the mapping is checked first when receiving the data table
+    if (!canHedge(hedgedServer) || _responseMap.containsKey(serverRoutingInstance)
+        || _hedgedResponseMap.putIfAbsent(serverRoutingInstance, new ServerResponse(System.currentTimeMillis()))
+        != null) {
+      return false;
+    }
+    _hedgedServerMap.put(serverRoutingInstance, hedgedServer);
+    return true;
   }
 
-  void receiveDataTable(ServerRoutingInstance serverRoutingInstance, DataTable dataTable, int responseSize,
+  /**
+   * Receives the final data table from the server. Returns {@code true} if the data table is for a hedged request and
+   * is taken in place of the response from the hedged server.
+   */
+  boolean receiveDataTable(ServerRoutingInstance serverRoutingInstance, DataTable dataTable, int responseSize,
       int deserializationTimeMs) {
-    ServerResponse response = _responseMap.get(serverRoutingInstance);
+    ServerRoutingInstance hedgedServer = _hedgedServerMap.get(serverRoutingInstance);
+    ServerResponse response = getServerResponse(serverRoutingInstance);
     response.receiveDataTable(dataTable, responseSize, deserializationTimeMs);
 
     // Record query completion stats immediately after receiving the response from the server instead of waiting
-    // for all servers to respond. This helps to keep the stats up-to-date.
+    // for all servers to respond. This helps to keep the stats up-to-date. The execution stats returned by the server
+    // are used to track the cost per document scanned on the server.
     long latencyMs = response.getResponseDelayMs();
-    _serverRoutingStatsManager.recordStatsUponResponseArrival(_requestId, serverRoutingInstance.getInstanceId(),
-        latencyMs);
+    Map<String, String> metadata = dataTable.getMetadata();
+    String timeUsedMs = metadata.get(MetadataKey.TIME_USED_MS.getName());
+    String numDocsScanned = metadata.get(MetadataKey.NUM_DOCS_SCANNED.getName());
+    if (timeUsedMs != null && numDocsScanned != null) {
+      _serverRoutingStatsManager.recordStatsUponResponseArrival(_requestId, serverRoutingInstance.getInstanceId(),
+          latencyMs, Long.parseLong(timeUsedMs), Long.parseLong(numDocsScanned));
+    } else {
+      _serverRoutingStatsManager.recordStatsUponResponseArrival(_requestId, serverRoutingInstance.getInstanceId(),
+          latencyMs);
+    }
+
+    // Only take the first response for the hedged server
+    if (!_respondedServers.add(hedgedServer != null ? hedgedServer : serverRoutingInstance)) {
+      return false;
+    }
+    if (hedgedServer != null) {
+      // Replace the hedged server with the server receiving the hedged request in the final responses. Keep the
+      // response for the hedged server so that it can still be tracked if it arrives later.
+      _responseMap.put(serverRoutingInstance, response);
+      _hedgedResponseMap.put(hedgedServer, _responseMap.get(hedgedServer));
+      _responseMap.remove(hedgedServer);
+    }
+
+    // Notify the listener before counting down the latch so that the data table is already processed by the listener
+    // when the query is completed.
+    if (_serverResponseListener != null) {
+      _serverResponseListener.onDataTableReceived(serverRoutingInstance, dataTable);
+    }
 
     _numServersResponded.getAndIncrement();
     _countDownLatch.countDown();
+    return hedgedServer != null;
+  }
+
+  /**
+   * Receives a data block streamed by the server before its final data table. The server is counted as responded only
+   * when the final data table (with the metadata) is received.
+   */
+  void receiveDataBlock(ServerRoutingInstance serverRoutingInstance, DataTable dataBlock, int responseSize,
+      int deserializationTimeMs) {
+    _responseMap.get(serverRoutingInstance).receiveDataBlock(responseSize, deserializationTimeMs);
+    if (_serverResponseListener != null) {
+      _serverResponseListener.onDataBlockReceived(serverRoutingInstance, dataBlock);
+    }
   }
 
   void markQueryFailed(ServerRoutingInstance serverRoutingInstance, Exception exception) {
@@ -173,11 +295,12 @@ public class AsyncQueryResponse implements QueryResponse {
 
   /**
    * NOTE: the server might not be hit by the query. Only fail the query if the query was sent to the server and the
-   * server hasn't responded yet.
+   * server hasn't responded yet, and the request to the server is not hedged.
    */
   void markServerDown(ServerRoutingInstance serverRoutingInstance, Exception exception) {
     ServerResponse serverResponse = _responseMap.get(serverRoutingInstance);
-    if (serverResponse != null && serverResponse.getDataTable() == null) {
+    if (serverResponse != null && serverResponse.getDataTable() == null && !_hedgedServerMap.containsValue(
+        serverRoutingInstance)) {
       markQueryFailed(serverRoutingInstance, exception);
     }
   }
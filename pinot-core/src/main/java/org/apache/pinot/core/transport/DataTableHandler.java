@@ -67,6 +67,16 @@ public class DataTableHandler extends SimpleChannelInboundHandler<ByteBuf> {
     _brokerMetrics.addMeteredGlobalValue(BrokerMeter.NETTY_CONNECTION_BYTES_RECEIVED, responseSize);
     try {
       long deserializationStartTimeMs = System.currentTimeMillis();
+      if (msg.getInt(msg.readerIndex()) == StreamingResponseObserver.STREAMING_DATA_BLOCK_MARKER) {
+        // Data block streamed before the final data table of the server
+        msg.skipBytes(Integer.BYTES);
+        long requestId = msg.readLong();
+        DataTable dataBlock = DataTableFactory.getDataTable(msg.nioBuffer());
+        _queryRouter.receiveDataBlock(_serverRoutingInstance, requestId, dataBlock, responseSize,
+            (int) (System.currentTimeMillis() - deserializationStartTimeMs));
+        Tracing.ThreadAccountantOps.updateQueryUsageConcurrently(String.valueOf(requestId));
+        return;
+      }
       DataTable dataTable = DataTableFactory.getDataTable(msg.nioBuffer());
       _queryRouter.receiveDataTable(_serverRoutingInstance, dataTable, responseSize,
           (int) (System.currentTimeMillis() - deserializationStartTimeMs));
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+/**
+ * The {@code HedgedRequestConfig} configures how the {@link QueryRouter} hedges the requests sent to slow servers: when
+ * a server has not responded after its latency EMA times the latency multiplier (but at least the min delay), the
+ * request is re-issued to a replica server provided by the {@link ReplicaServerProvider}, and the response arriving
+ * first is taken.
+ */
+public class HedgedRequestConfig {
+  private final ReplicaServerProvider _replicaServerProvider;
+  private final double _latencyMultiplier;
+  private final long _minDelayMs;
+
+  public HedgedRequestConfig(ReplicaServerProvider replicaServerProvider, double latencyMultiplier, long minDelayMs) {
+    _replicaServerProvider = replicaServerProvider;
+    _latencyMultiplier = latencyMultiplier;
+    _minDelayMs = minDelayMs;
+  }
+
+  public ReplicaServerProvider getReplicaServerProvider() {
+    return _replicaServerProvider;
+  }
+
+  public double getLatencyMultiplier() {
+    return _latencyMultiplier;
+  }
+
+  public long getMinDelayMs() {
+    return _minDelayMs;
+  }
+
+  /**
+   * Returns the delay before hedging the request sent to a server with the given latency EMA.
+   */
+  public long getDelayMs(double latencyEma) {
+    return Math.max(_minDelayMs, (long) (latencyEma * _latencyMultiplier));
+  }
+}
@@ -30,6 +30,8 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -46,8 +48,11 @@ import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.common.metrics.ServerQueryPhase;
 import org.apache.pinot.common.metrics.ServerTimer;
 import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.common.utils.config.QueryOptionsUtils;
 import org.apache.pinot.core.common.datatable.DataTableBuilderFactory;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextUtils;
 import org.apache.pinot.core.query.scheduler.QueryScheduler;
 import org.apache.pinot.server.access.AccessControl;
 import org.apache.pinot.spi.env.PinotConfiguration;
@@ -68,6 +73,9 @@ import org.slf4j.LoggerFactory;
 @ChannelHandler.Sharable
 public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf> {
   private static final Logger LOGGER = LoggerFactory.getLogger(InstanceRequestHandler.class);
+  // Segment name dictionaries shipped by the broker, cached per channel
+  private static final AttributeKey<SegmentDictionaryDecoder> SEGMENT_DICTIONARY_DECODER =
+      AttributeKey.valueOf("segmentDictionaryDecoder");
 
   // TODO: make it configurable
   private static final int SLOW_QUERY_LATENCY_THRESHOLD_MS = 100;
@@ -77,7 +85,9 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
   private final QueryScheduler _queryScheduler;
   private final ServerMetrics _serverMetrics;
   private final AccessControl _accessControl;
-  private final Map<String, Future<byte[]>> _queryFuturesById;
+  private final Map<String, Future<ByteBuf>> _queryFuturesById;
+  // Notified when the writability of any channel changes, to unblock the queries streaming results back
+  private final Object _writabilityLock = new Object();
 
   public InstanceRequestHandler(String instanceName, PinotConfiguration config, QueryScheduler queryScheduler,
       ServerMetrics serverMetrics, AccessControl accessControl) {
@@ -113,6 +123,25 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
     }
   }
 
+  @Override
+  public void channelWritabilityChanged(ChannelHandlerContext ctx)
+      throws Exception {
+    synchronized (_writabilityLock) {
+      _writabilityLock.notifyAll();
+    }
+    super.channelWritabilityChanged(ctx);
+  }
+
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx)
+      throws Exception {
+    // Unblock the queries streaming results back to the closed channel
+    synchronized (_writabilityLock) {
+      _writabilityLock.notifyAll();
+    }
+    super.channelInactive(ctx);
+  }
+
   /**
    * Always return a response even when query execution throws exception; otherwise, broker
    * will keep waiting until timeout.
@@ -139,10 +168,18 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
       // Parse instance request into ServerQueryRequest.
       msg.readBytes(requestBytes);
       _deserializer.get().deserialize(instanceRequest, requestBytes);
+      getSegmentDictionaryDecoder(ctx).decode(instanceRequest);
       queryRequest = new ServerQueryRequest(instanceRequest, _serverMetrics, queryArrivalTimeMs);
       queryRequest.getTimerContext().startNewPhaseTimer(ServerQueryPhase.REQUEST_DESERIALIZATION, queryArrivalTimeMs)
           .stopAndRecord();
       tableNameWithType = queryRequest.getTableNameWithType();
+      QueryContext queryContext = queryRequest.getQueryContext();
+      if (QueryOptionsUtils.isStreamingResponseEnabled(queryContext.getQueryOptions())
+          && QueryContextUtils.isSelectionOnlyQuery(queryContext)) {
+        queryRequest.enableStreaming(
+            new StreamingResponseObserver(ctx.channel(), queryRequest.getRequestId(), queryContext, _writabilityLock,
+                _serverMetrics));
+      }
       submitQuery(queryRequest, ctx, tableNameWithType, queryArrivalTimeMs, instanceRequest);
     } catch (Exception e) {
       if (e instanceof TException) {
@@ -159,6 +196,20 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
     }
   }
 
+  /**
+   * Returns the segment dictionary decoder for the channel. Requests from the same channel are always read from the
+   * same event loop thread, so no synchronization is needed.
+   */
+  private static SegmentDictionaryDecoder getSegmentDictionaryDecoder(ChannelHandlerContext ctx) {
+    Attribute<SegmentDictionaryDecoder> attribute = ctx.channel().attr(SEGMENT_DICTIONARY_DECODER);
+    SegmentDictionaryDecoder decoder = attribute.get();
+    if (decoder == null) {
+      decoder = new SegmentDictionaryDecoder();
+      attribute.set(decoder);
+    }
+    return decoder;
+  }
+
   /**
    * Submit query for execution and register callback for execution results.
    * If query cancellation is enabled, the query future is tracked as well.
@@ -166,7 +217,7 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
   @VisibleForTesting
   void submitQuery(ServerQueryRequest queryRequest, ChannelHandlerContext ctx, String tableNameWithType,
       long queryArrivalTimeMs, InstanceRequest instanceRequest) {
-    ListenableFuture<byte[]> future = _queryScheduler.submit(queryRequest);
+    ListenableFuture<ByteBuf> future = _queryScheduler.submit(queryRequest);
     if (_queryFuturesById != null) {
       String queryId = queryRequest.getQueryId();
       // Track the running query for cancellation.
@@ -180,11 +231,11 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
         MoreExecutors.directExecutor());
   }
 
-  private FutureCallback<byte[]> createCallback(ChannelHandlerContext ctx, String tableNameWithType,
+  private FutureCallback<ByteBuf> createCallback(ChannelHandlerContext ctx, String tableNameWithType,
       long queryArrivalTimeMs, InstanceRequest instanceRequest, ServerQueryRequest queryRequest) {
-    return new FutureCallback<byte[]>() {
+    return new FutureCallback<ByteBuf>() {
       @Override
-      public void onSuccess(@Nullable byte[] responseBytes) {
+      public void onSuccess(@Nullable ByteBuf response) {
         if (_queryFuturesById != null) {
           String queryId = queryRequest.getQueryId();
           if (LOGGER.isDebugEnabled()) {
@@ -192,9 +243,9 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
           }
           _queryFuturesById.remove(queryId);
         }
-        if (responseBytes != null) {
-          // responseBytes contains either query results or exception.
-          sendResponse(ctx, queryRequest.getTableNameWithType(), queryArrivalTimeMs, responseBytes);
+        if (response != null) {
+          // response contains either query results or exception.
+          sendResponse(ctx, queryRequest.getTableNameWithType(), queryArrivalTimeMs, response);
         } else {
           // Send exception response.
           sendErrorResponse(ctx, queryRequest.getRequestId(), tableNameWithType, queryArrivalTimeMs,
@@ -250,7 +301,7 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
   public boolean cancelQuery(String queryId) {
     Preconditions.checkState(_queryFuturesById != null, "Query cancellation is not enabled on server");
     // Keep the future as it'll be cleaned up by the thread executing the query.
-    Future<byte[]> future = _queryFuturesById.get(queryId);
+    Future<ByteBuf> future = _queryFuturesById.get(queryId);
     if (future == null) {
       return false;
     }
@@ -284,12 +335,18 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
       if (cancelled) {
         dataTable.addException(QueryException.getException(QueryException.QUERY_CANCELLATION_ERROR,
             "Query cancelled on: " + _instanceName + " " + e));
+      } else if (e instanceof SegmentDictionaryMismatchException) {
+        // Let the broker know which table to start a new segment dictionary for
+        dataTableMetadata.put(MetadataKey.TABLE.getName(),
+            ((SegmentDictionaryMismatchException) e).getTableNameWithType());
+        dataTable.addException(QueryException.getException(QueryException.SEGMENT_DICTIONARY_MISMATCH_ERROR,
+            "Segment dictionary mismatch on: " + _instanceName + " " + e));
       } else {
         dataTable.addException(QueryException.getException(QueryException.QUERY_EXECUTION_ERROR,
             "Query execution error on: " + _instanceName + " " + e));
       }
-      byte[] serializedDataTable = dataTable.toBytes();
-      sendResponse(ctx, tableNameWithType, queryArrivalTimeMs, serializedDataTable);
+      // Send the sections of the data table as a composite buffer to avoid copying them into a single array
+      sendResponse(ctx, tableNameWithType, queryArrivalTimeMs, Unpooled.wrappedBuffer(dataTable.toByteBuffers()));
     } catch (Exception exception) {
       LOGGER.error("Exception while sending query processing error to Broker.", exception);
     } finally {
@@ -305,14 +362,15 @@ public class InstanceRequestHandler extends SimpleChannelInboundHandler<ByteBuf>
    * Send a response (either query results or exception) back to broker as response to the query request.
    */
   private void sendResponse(ChannelHandlerContext ctx, String tableNameWithType, long queryArrivalTimeMs,
-      byte[] serializedDataTable) {
+      ByteBuf serializedDataTable) {
     long sendResponseStartTimeMs = System.currentTimeMillis();
     int queryProcessingTimeMs = (int) (sendResponseStartTimeMs - queryArrivalTimeMs);
-    ctx.writeAndFlush(Unpooled.wrappedBuffer(serializedDataTable)).addListener(f -> {
+    int numBytes = serializedDataTable.readableBytes();
+    ctx.writeAndFlush(serializedDataTable).addListener(f -> {
       long sendResponseEndTimeMs = System.currentTimeMillis();
       int sendResponseLatencyMs = (int) (sendResponseEndTimeMs - sendResponseStartTimeMs);
       _serverMetrics.addMeteredGlobalValue(ServerMeter.NETTY_CONNECTION_RESPONSES_SENT, 1);
-      _serverMetrics.addMeteredGlobalValue(ServerMeter.NETTY_CONNECTION_BYTES_SENT, serializedDataTable.length);
+      _serverMetrics.addMeteredGlobalValue(ServerMeter.NETTY_CONNECTION_BYTES_SENT, numBytes);
       _serverMetrics.addTimedTableValue(tableNameWithType, ServerTimer.NETTY_CONNECTION_SEND_RESPONSE_LATENCY,
           sendResponseLatencyMs, TimeUnit.MILLISECONDS);
 
@@ -18,10 +18,15 @@
  */
 package org.apache.pinot.core.transport;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
@@ -29,10 +34,12 @@ import org.apache.pinot.common.config.NettyConfig;
 import org.apache.pinot.common.config.TlsConfig;
 import org.apache.pinot.common.datatable.DataTable;
 import org.apache.pinot.common.datatable.DataTable.MetadataKey;
+import org.apache.pinot.common.exception.QueryException;
 import org.apache.pinot.common.metrics.BrokerMeter;
 import org.apache.pinot.common.metrics.BrokerMetrics;
 import org.apache.pinot.common.request.BrokerRequest;
 import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.common.utils.config.QueryOptionsUtils;
 import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsManager;
 import org.apache.pinot.spi.config.table.TableType;
 import org.apache.pinot.spi.utils.CommonConstants;
@@ -55,6 +62,8 @@ public class QueryRouter {
   private final ServerChannels _serverChannelsTls;
   private final ConcurrentHashMap<Long, AsyncQueryResponse> _asyncQueryResponseMap = new ConcurrentHashMap<>();
   private final ServerRoutingStatsManager _serverRoutingStatsManager;
+  private final HedgedRequestConfig _hedgedRequestConfig;
+  private final ScheduledThreadPoolExecutor _hedgeExecutor;
 
   /**
    * Creates an unsecured query router.
@@ -77,17 +86,72 @@ public class QueryRouter {
    */
   public QueryRouter(String brokerId, BrokerMetrics brokerMetrics, @Nullable NettyConfig nettyConfig,
       @Nullable TlsConfig tlsConfig, ServerRoutingStatsManager serverRoutingStatsManager) {
+    this(brokerId, brokerMetrics, nettyConfig, tlsConfig, serverRoutingStatsManager, false);
+  }
+
+  /**
+   * Creates a query router with TLS config.
+   *
+   * @param brokerId broker id
+   * @param brokerMetrics broker metrics
+   * @param nettyConfig configurations for netty library
+   * @param tlsConfig TLS config
+   * @param enableSegmentDictionary whether to send the segments to query as ordinals of a segment name dictionary
+   *                                cached by the servers instead of the segment names
+   */
+  public QueryRouter(String brokerId, BrokerMetrics brokerMetrics, @Nullable NettyConfig nettyConfig,
+      @Nullable TlsConfig tlsConfig, ServerRoutingStatsManager serverRoutingStatsManager,
+      boolean enableSegmentDictionary) {
+    this(brokerId, brokerMetrics, nettyConfig, tlsConfig, serverRoutingStatsManager, enableSegmentDictionary, null);
+  }
+
+  /**
+   * Creates a query router with TLS config.
+   *
+   * @param brokerId broker id
+   * @param brokerMetrics broker metrics
+   * @param nettyConfig configurations for netty library
+   * @param tlsConfig TLS config
+   * @param enableSegmentDictionary whether to send the segments to query as ordinals of a segment name dictionary
+   *                                cached by the servers instead of the segment names
+   * @param hedgedRequestConfig config to hedge the requests sent to slow servers, or {@code null} to disable hedging
+   */
+  public QueryRouter(String brokerId, BrokerMetrics brokerMetrics, @Nullable NettyConfig nettyConfig,
+      @Nullable TlsConfig tlsConfig, ServerRoutingStatsManager serverRoutingStatsManager,
+      boolean enableSegmentDictionary, @Nullable HedgedRequestConfig hedgedRequestConfig) {
     _brokerId = brokerId;
     _brokerMetrics = brokerMetrics;
-    _serverChannels = new ServerChannels(this, brokerMetrics, nettyConfig, null);
-    _serverChannelsTls = tlsConfig != null ? new ServerChannels(this, brokerMetrics, nettyConfig, tlsConfig) : null;
+    _serverChannels = new ServerChannels(this, brokerMetrics, nettyConfig, null, enableSegmentDictionary);
+    _serverChannelsTls = tlsConfig != null ? new ServerChannels(this, brokerMetrics, nettyConfig, tlsConfig,
+        enableSegmentDictionary) : null;
     _serverRoutingStatsManager = serverRoutingStatsManager;
+    _hedgedRequestConfig = hedgedRequestConfig;
+    if (hedgedRequestConfig != null) {
+      _hedgeExecutor = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder().setDaemon(true).setNameFormat("hedged-request-%d").build());
+      // Most hedges are cancelled because the servers respond in time, remove them from the queue right away
+      _hedgeExecutor.setRemoveOnCancelPolicy(true);
+    } else {
+      _hedgeExecutor = null;
+    }
   }
 
   public AsyncQueryResponse submitQuery(long requestId, String rawTableName,
       @Nullable BrokerRequest offlineBrokerRequest, @Nullable Map<ServerInstance, List<String>> offlineRoutingTable,
       @Nullable BrokerRequest realtimeBrokerRequest, @Nullable Map<ServerInstance, List<String>> realtimeRoutingTable,
       long timeoutMs) {
+    return submitQuery(requestId, rawTableName, offlineBrokerRequest, offlineRoutingTable, realtimeBrokerRequest,
+        realtimeRoutingTable, timeoutMs, null);
+  }
+
+  /**
+   * Submits the query to the servers, and notifies the given {@link ServerResponseListener} (if any) for each data
+   * table received so that the server responses can be processed as they arrive.
+   */
+  public AsyncQueryResponse submitQuery(long requestId, String rawTableName,
+      @Nullable BrokerRequest offlineBrokerRequest, @Nullable Map<ServerInstance, List<String>> offlineRoutingTable,
+      @Nullable BrokerRequest realtimeBrokerRequest, @Nullable Map<ServerInstance, List<String>> realtimeRoutingTable,
+      long timeoutMs, @Nullable ServerResponseListener serverResponseListener) {
     assert offlineBrokerRequest != null || realtimeBrokerRequest != null;
 
     // can prefer but not require TLS until all servers guaranteed to be on TLS
@@ -117,7 +181,7 @@ public class QueryRouter {
     // Create the asynchronous query response with the request map
     AsyncQueryResponse asyncQueryResponse =
         new AsyncQueryResponse(this, requestId, requestMap.keySet(), System.currentTimeMillis(), timeoutMs,
-            _serverRoutingStatsManager);
+            _serverRoutingStatsManager, serverResponseListener);
     _asyncQueryResponseMap.put(requestId, asyncQueryResponse);
     for (Map.Entry<ServerRoutingInstance, InstanceRequest> entry : requestMap.entrySet()) {
       ServerRoutingInstance serverRoutingInstance = entry.getKey();
@@ -143,9 +207,94 @@ public class QueryRouter {
       }
     }
 
+    if (_hedgeExecutor != null && asyncQueryResponse.getStatus() == QueryResponse.Status.IN_PROGRESS) {
+      List<ScheduledFuture<?>> hedgeFutures = new ArrayList<>();
+      scheduleHedgedRequests(requestId, rawTableName, offlineBrokerRequest, offlineRoutingTable, TableType.OFFLINE,
+          preferTls, asyncQueryResponse, timeoutMs, hedgeFutures);
+      scheduleHedgedRequests(requestId, rawTableName, realtimeBrokerRequest, realtimeRoutingTable, TableType.REALTIME,
+          preferTls, asyncQueryResponse, timeoutMs, hedgeFutures);
+      asyncQueryResponse.setHedgeFutures(hedgeFutures);
+    }
+
     return asyncQueryResponse;
   }
 
+  /**
+   * Schedules to hedge the requests sent to the servers in the routing table when they have not responded after the
+   * hedge delay derived from their latency EMA. Servers without latency stats are not hedged.
+   * <p>NOTE: Queries streaming the results back are not hedged because the streamed data blocks cannot be discarded.
+   */
+  private void scheduleHedgedRequests(long requestId, String rawTableName, @Nullable BrokerRequest brokerRequest,
+      @Nullable Map<ServerInstance, List<String>> routingTable, TableType tableType, boolean preferTls,
+      AsyncQueryResponse asyncQueryResponse, long timeoutMs, List<ScheduledFuture<?>> hedgeFutures) {
+    if (brokerRequest == null || QueryOptionsUtils.isStreamingResponseEnabled(
+        brokerRequest.getPinotQuery().getQueryOptions())) {
+      return;
+    }
+    assert routingTable != null;
+    for (Map.Entry<ServerInstance, List<String>> entry : routingTable.entrySet()) {
+      ServerInstance serverInstance = entry.getKey();
+      Double latencyEma = _serverRoutingStatsManager.fetchEMALatencyForServer(serverInstance.getInstanceId());
+      if (latencyEma == null) {
+        continue;
+      }
+      long delayMs = _hedgedRequestConfig.getDelayMs(latencyEma);
+      if (delayMs >= timeoutMs) {
+        continue;
+      }
+      ServerRoutingInstance hedgedServer = serverInstance.toServerRoutingInstance(tableType, preferTls);
+      List<String> segments = entry.getValue();
+      hedgeFutures.add(_hedgeExecutor.schedule(
+          () -> sendHedgedRequest(requestId, rawTableName, brokerRequest, segments, hedgedServer, preferTls,
+              asyncQueryResponse, timeoutMs - delayMs), delayMs, TimeUnit.MILLISECONDS));
+    }
+  }
+
+  /**
+   * Re-issues the request sent to the hedged server to the replica server (hosting all the segments) with the lowest
+   * latency EMA, if the hedged server has not responded yet.
+   */
+  private void sendHedgedRequest(long requestId, String rawTableName, BrokerRequest brokerRequest,
+      List<String> segments, ServerRoutingInstance hedgedServer, boolean preferTls,
+      AsyncQueryResponse asyncQueryResponse, long timeoutMs) {
+    if (!asyncQueryResponse.canHedge(hedgedServer)) {
+      return;
+    }
+    ServerRoutingInstance replicaServer = null;
+    try {
+      String tableNameWithType = brokerRequest.getQuerySource().getTableName();
+      double minLatencyEma = Double.MAX_VALUE;
+      Map<ServerRoutingInstance, ServerResponse> currentResponses = asyncQueryResponse.getCurrentResponses();
+      for (ServerInstance serverInstance : _hedgedRequestConfig.getReplicaServerProvider()
+          .getReplicaServers(tableNameWithType, segments)) {
+        ServerRoutingInstance serverRoutingInstance =
+            serverInstance.toServerRoutingInstance(hedgedServer.getTableType(), preferTls);
+        if (serverRoutingInstance.equals(hedgedServer) || currentResponses.containsKey(serverRoutingInstance)) {
+          continue;
+        }
+        Double latencyEma = _serverRoutingStatsManager.fetchEMALatencyForServer(serverInstance.getInstanceId());
+        double latency = latencyEma != null ? latencyEma : Double.MAX_VALUE;
+        if (replicaServer == null || latency < minLatencyEma) {
+          replicaServer = serverRoutingInstance;
+          minLatencyEma = latency;
+        }
+      }
+      if (replicaServer == null || !asyncQueryResponse.addHedgedRequest(hedgedServer, replicaServer)) {
+        return;
+      }
+      ServerChannels serverChannels = replicaServer.isTlsEnabled() ? _serverChannelsTls : _serverChannels;
+      _serverRoutingStatsManager.recordStatsAfterQuerySubmission(requestId, replicaServer.getInstanceId());
+      serverChannels.sendRequest(rawTableName, asyncQueryResponse, replicaServer,
+          getInstanceRequest(requestId, brokerRequest, segments), timeoutMs);
+      asyncQueryResponse.markRequestSubmitted(replicaServer);
+      _brokerMetrics.addMeteredGlobalValue(BrokerMeter.HEDGED_REQUESTS_SENT, 1);
+    } catch (Exception e) {
+      // The query can still be served by the hedged server
+      LOGGER.warn("Caught exception while sending hedged request {} for server: {} to server: {}", requestId,
+          hedgedServer, replicaServer, e);
+    }
+  }
+
   private void markQueryFailed(long requestId, ServerRoutingInstance serverRoutingInstance,
       AsyncQueryResponse asyncQueryResponse, Exception e) {
     LOGGER.error("Caught exception while sending request {} to server: {}, marking query failed", requestId,
@@ -172,16 +321,38 @@ public class QueryRouter {
 
   public void shutDown() {
     _serverChannels.shutDown();
+    if (_hedgeExecutor != null) {
+      _hedgeExecutor.shutdownNow();
+    }
   }
 
   void receiveDataTable(ServerRoutingInstance serverRoutingInstance, DataTable dataTable, int responseSize,
       int deserializationTimeMs) {
-    long requestId = Long.parseLong(dataTable.getMetadata().get(MetadataKey.REQUEST_ID.getName()));
+    Map<String, String> metadata = dataTable.getMetadata();
+    long requestId = Long.parseLong(metadata.get(MetadataKey.REQUEST_ID.getName()));
+    if (dataTable.getExceptions().containsKey(QueryException.SEGMENT_DICTIONARY_MISMATCH_ERROR_CODE)) {
+      String tableNameWithType = metadata.get(MetadataKey.TABLE.getName());
+      if (tableNameWithType != null) {
+        ServerChannels serverChannels = serverRoutingInstance.isTlsEnabled() ? _serverChannelsTls : _serverChannels;
+        serverChannels.resetSegmentDictionary(serverRoutingInstance, tableNameWithType);
+      }
+    }
+    AsyncQueryResponse asyncQueryResponse = _asyncQueryResponseMap.get(requestId);
+
+    // Query future might be null if the query is already done (maybe due to failure)
+    if (asyncQueryResponse != null && asyncQueryResponse.receiveDataTable(serverRoutingInstance, dataTable,
+        responseSize, deserializationTimeMs)) {
+      _brokerMetrics.addMeteredGlobalValue(BrokerMeter.HEDGED_REQUESTS_WON, 1);
+    }
+  }
+
+  void receiveDataBlock(ServerRoutingInstance serverRoutingInstance, long requestId, DataTable dataBlock,
+      int responseSize, int deserializationTimeMs) {
     AsyncQueryResponse asyncQueryResponse = _asyncQueryResponseMap.get(requestId);
 
     // Query future might be null if the query is already done (maybe due to failure)
     if (asyncQueryResponse != null) {
-      asyncQueryResponse.receiveDataTable(serverRoutingInstance, dataTable, responseSize, deserializationTimeMs);
+      asyncQueryResponse.receiveDataBlock(serverRoutingInstance, dataBlock, responseSize, deserializationTimeMs);
     }
   }
 
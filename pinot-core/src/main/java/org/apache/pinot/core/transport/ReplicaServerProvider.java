@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import java.util.List;
+
+
+/**
+ * The {@code ReplicaServerProvider} provides the servers that can serve the same segments as the server selected by
+ * the routing, which are used to hedge the requests sent to slow servers.
+ */
+public interface ReplicaServerProvider {
+
+  /**
+   * Returns the enabled servers hosting all the given segments of the given table (with type suffix), or an empty list
+   * if there is no such server.
+   */
+  List<ServerInstance> getReplicaServers(String tableNameWithType, List<String> segments);
+}
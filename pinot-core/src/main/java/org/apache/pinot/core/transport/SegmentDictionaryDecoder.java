@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.common.utils.RoaringBitmapUtils;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+
+/**
+ * The {@code SegmentDictionaryDecoder} caches the per-table segment name dictionaries shipped by the broker over a
+ * channel, and decodes the segment ordinals in the instance requests back into the segment names (see
+ * {@link SegmentDictionaryEncoder}).
+ * <p>The decoder must be accessed sequentially in the same order as the requests are read from the channel.
+ */
+@NotThreadSafe
+class SegmentDictionaryDecoder {
+  private final Map<String, TableSegmentDictionary> _tableDictionaries = new HashMap<>();
+
+  /**
+   * Replaces the segment dictionary encoding in the given instance request with the segments to query. This is a no-op
+   * if the request already carries the segment names.
+   * <p>Throws {@link SegmentDictionaryMismatchException} and drops the dictionary of the table if the request does not
+   * match it, in which case the broker should start a new dictionary for the table.
+   */
+  void decode(InstanceRequest instanceRequest) {
+    if (!instanceRequest.isSetSearchSegmentOrdinals()) {
+      return;
+    }
+    String tableNameWithType = instanceRequest.getQuery().getPinotQuery().getDataSource().getTableName();
+    long dictionaryId = instanceRequest.getSegmentDictionaryId();
+    int offset = instanceRequest.getSegmentDictionaryOffset();
+    TableSegmentDictionary dictionary;
+    if (offset == 0) {
+      dictionary = new TableSegmentDictionary(dictionaryId);
+      _tableDictionaries.put(tableNameWithType, dictionary);
+    } else {
+      dictionary = _tableDictionaries.get(tableNameWithType);
+      if (dictionary == null || dictionary._id != dictionaryId) {
+        throw mismatch(tableNameWithType,
+            String.format("Missing segment dictionary: %s for table: %s", dictionaryId, tableNameWithType));
+      }
+      if (dictionary._segmentNames.size() != offset) {
+        throw mismatch(tableNameWithType,
+            String.format("Segment dictionary: %s for table: %s has %s entries, expecting: %s", dictionaryId,
+                tableNameWithType, dictionary._segmentNames.size(), offset));
+      }
+    }
+    List<String> newSegmentNames = instanceRequest.getNewSegmentNames();
+    if (newSegmentNames != null) {
+      dictionary._segmentNames.addAll(newSegmentNames);
+    }
+
+    RoaringBitmap ordinals = RoaringBitmapUtils.deserialize(instanceRequest.getSearchSegmentOrdinals());
+    int numSegmentNames = dictionary._segmentNames.size();
+    if (!ordinals.isEmpty()) {
+      int maxOrdinal = ordinals.last();
+      if (maxOrdinal >= numSegmentNames) {
+        throw mismatch(tableNameWithType,
+            String.format("Segment ordinal: %s out of range for segment dictionary: %s with %s entries", maxOrdinal,
+                dictionaryId, numSegmentNames));
+      }
+    }
+    List<String> segments = new ArrayList<>(ordinals.getCardinality());
+    PeekableIntIterator iterator = ordinals.getIntIterator();
+    while (iterator.hasNext()) {
+      segments.add(dictionary._segmentNames.get(iterator.next()));
+    }
+
+    instanceRequest.setSearchSegments(segments);
+    instanceRequest.unsetSegmentDictionaryId();
+    instanceRequest.unsetSegmentDictionaryOffset();
+    instanceRequest.unsetNewSegmentNames();
+    instanceRequest.unsetSearchSegmentOrdinals();
+  }
+
+  private SegmentDictionaryMismatchException mismatch(String tableNameWithType, String message) {
+    // The broker starts a new dictionary for the table upon the mismatch, so the current one is no longer needed
+    _tableDictionaries.remove(tableNameWithType);
+    return new SegmentDictionaryMismatchException(tableNameWithType, message);
+  }
+
+  private static class TableSegmentDictionary {
+    final long _id;
+    final List<String> _segmentNames = new ArrayList<>();
+
+    TableSegmentDictionary(long id) {
+      _id = id;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.common.utils.RoaringBitmapUtils;
+import org.roaringbitmap.RoaringBitmap;
+
+
+/**
+ * The {@code SegmentDictionaryEncoder} encodes the segments to query in the instance requests sent over a channel as
+ * ordinals of a per-table segment name dictionary, which is cached by the server on the other side of the channel (see
+ * {@link SegmentDictionaryDecoder}). Only the segment names not yet sent over the channel are shipped along with the
+ * request, and the segments to query are sent as a serialized bitmap of ordinals.
+ * <p>Because the dictionary is append-only, a new dictionary (with a new id) is started once the dictionary grows much
+ * larger than the number of segments queried, so that the names of the removed segments do not accumulate forever.
+ * <p>The encoder must be accessed sequentially in the same order as the requests are written into the channel, and must
+ * be reset whenever the channel is re-connected or a request fails to be delivered.
+ */
+@NotThreadSafe
+class SegmentDictionaryEncoder {
+  // Start a new dictionary when it has more than this factor times the max number of segments queried entries
+  @VisibleForTesting
+  static final int RESET_FACTOR = 4;
+  @VisibleForTesting
+  static final int MIN_NUM_ENTRIES_TO_RESET = 10_000;
+
+  private final Map<String, TableSegmentDictionary> _tableDictionaries = new HashMap<>();
+  private long _nextDictionaryId;
+
+  /**
+   * Replaces the segments to query in the given instance request with the segment dictionary encoding.
+   */
+  void encode(InstanceRequest instanceRequest) {
+    List<String> segments = instanceRequest.getSearchSegments();
+    if (segments == null) {
+      return;
+    }
+    String tableNameWithType = instanceRequest.getQuery().getPinotQuery().getDataSource().getTableName();
+    int numSegments = segments.size();
+    TableSegmentDictionary dictionary = _tableDictionaries.get(tableNameWithType);
+    if (dictionary == null || dictionary.shouldReset(numSegments)) {
+      dictionary = new TableSegmentDictionary(_nextDictionaryId++);
+      _tableDictionaries.put(tableNameWithType, dictionary);
+    }
+    dictionary._maxNumSegments = Math.max(dictionary._maxNumSegments, numSegments);
+
+    int offset = dictionary._segmentNames.size();
+    RoaringBitmap ordinals = new RoaringBitmap();
+    for (String segment : segments) {
+      Integer ordinal = dictionary._ordinalMap.get(segment);
+      if (ordinal == null) {
+        ordinal = dictionary._segmentNames.size();
+        dictionary._ordinalMap.put(segment, ordinal);
+        dictionary._segmentNames.add(segment);
+      }
+      ordinals.add(ordinal);
+    }
+    ordinals.runOptimize();
+
+    instanceRequest.unsetSearchSegments();
+    instanceRequest.setSegmentDictionaryId(dictionary._id);
+    instanceRequest.setSegmentDictionaryOffset(offset);
+    int numSegmentNames = dictionary._segmentNames.size();
+    if (numSegmentNames > offset) {
+      instanceRequest.setNewSegmentNames(new ArrayList<>(dictionary._segmentNames.subList(offset, numSegmentNames)));
+    }
+    instanceRequest.setSearchSegmentOrdinals(RoaringBitmapUtils.serialize(ordinals));
+  }
+
+  /**
+   * Drops all the dictionaries, which should be invoked when the server might have lost track of the dictionaries.
+   */
+  void reset() {
+    _tableDictionaries.clear();
+  }
+
+  /**
+   * Drops the dictionary of the given table, which should be invoked when the server reports a mismatch of the
+   * dictionary (see {@link SegmentDictionaryMismatchException}).
+   */
+  void reset(String tableNameWithType) {
+    _tableDictionaries.remove(tableNameWithType);
+  }
+
+  private static class TableSegmentDictionary {
+    final long _id;
+    final List<String> _segmentNames = new ArrayList<>();
+    final Map<String, Integer> _ordinalMap = new HashMap<>();
+    int _maxNumSegments;
+
+    TableSegmentDictionary(long id) {
+      _id = id;
+    }
+
+    boolean shouldReset(int numSegments) {
+      return _segmentNames.size() > Math.max(MIN_NUM_ENTRIES_TO_RESET,
+          RESET_FACTOR * Math.max(_maxNumSegments, numSegments));
+    }
+  }
+}
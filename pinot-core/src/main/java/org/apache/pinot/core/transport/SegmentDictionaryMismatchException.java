@@ -0,0 +1,37 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+/**
+ * Thrown by the {@link SegmentDictionaryDecoder} when an instance request does not match the segment dictionary cached
+ * by the server for the table (e.g. the server failed to apply a previous request). The server reports it back with a
+ * dedicated error code so that the broker can start a new dictionary for the table.
+ */
+class SegmentDictionaryMismatchException extends IllegalStateException {
+  private final String _tableNameWithType;
+
+  SegmentDictionaryMismatchException(String tableNameWithType, String message) {
+    super(message);
+    _tableNameWithType = tableNameWithType;
+  }
+
+  String getTableNameWithType() {
+    return _tableNameWithType;
+  }
+}
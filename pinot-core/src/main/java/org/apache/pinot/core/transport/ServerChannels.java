@@ -33,6 +33,7 @@ import io.netty.channel.kqueue.KQueueSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -47,6 +48,7 @@ import org.apache.pinot.common.metrics.BrokerMetrics;
 import org.apache.pinot.common.metrics.BrokerTimer;
 import org.apache.pinot.common.request.InstanceRequest;
 import org.apache.pinot.core.util.OsCheck;
+import org.apache.thrift.TException;
 import org.apache.thrift.TSerializer;
 import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.transport.TTransportException;
@@ -73,6 +75,7 @@ public class ServerChannels {
   private final TlsConfig _tlsConfig;
   private final EventLoopGroup _eventLoopGroup;
   private final Class<? extends SocketChannel> _channelClass;
+  private final boolean _enableSegmentDictionary;
 
   /**
    * Create a server channel with TLS config
@@ -83,6 +86,20 @@ public class ServerChannels {
    */
   public ServerChannels(QueryRouter queryRouter, BrokerMetrics brokerMetrics, @Nullable NettyConfig nettyConfig,
       @Nullable TlsConfig tlsConfig) {
+    this(queryRouter, brokerMetrics, nettyConfig, tlsConfig, false);
+  }
+
+  /**
+   * Create a server channel with TLS config
+   *
+   * @param queryRouter query router
+   * @param brokerMetrics broker metrics
+   * @param tlsConfig TLS/SSL config
+   * @param enableSegmentDictionary whether to send the segments to query as ordinals of a segment name dictionary
+   *                                cached by the server (see {@link SegmentDictionaryEncoder})
+   */
+  public ServerChannels(QueryRouter queryRouter, BrokerMetrics brokerMetrics, @Nullable NettyConfig nettyConfig,
+      @Nullable TlsConfig tlsConfig, boolean enableSegmentDictionary) {
     boolean enableNativeTransports = nettyConfig != null && nettyConfig.isNativeTransportsEnabled();
     OsCheck.OSType operatingSystemType = OsCheck.getOperatingSystemType();
     if (enableNativeTransports
@@ -114,6 +131,7 @@ public class ServerChannels {
     _queryRouter = queryRouter;
     _brokerMetrics = brokerMetrics;
     _tlsConfig = tlsConfig;
+    _enableSegmentDictionary = enableSegmentDictionary;
     _threadLocalTSerializer = ThreadLocal.withInitial(() -> {
       try {
         return new TSerializer(new TCompactProtocol.Factory());
@@ -126,9 +144,19 @@ public class ServerChannels {
   public void sendRequest(String rawTableName, AsyncQueryResponse asyncQueryResponse,
       ServerRoutingInstance serverRoutingInstance, InstanceRequest instanceRequest, long timeoutMs)
       throws Exception {
-    byte[] requestBytes = _threadLocalTSerializer.get().serialize(instanceRequest);
     _serverToChannelMap.computeIfAbsent(serverRoutingInstance, ServerChannel::new)
-        .sendRequest(rawTableName, asyncQueryResponse, serverRoutingInstance, requestBytes, timeoutMs);
+        .sendRequest(rawTableName, asyncQueryResponse, serverRoutingInstance, instanceRequest, timeoutMs);
+  }
+
+  /**
+   * Starts a new segment dictionary for the given table on the next request sent to the given server, which should be
+   * invoked when the server reports a mismatch of the segment dictionary.
+   */
+  public void resetSegmentDictionary(ServerRoutingInstance serverRoutingInstance, String tableNameWithType) {
+    ServerChannel serverChannel = _serverToChannelMap.get(serverRoutingInstance);
+    if (serverChannel != null && serverChannel._segmentDictionaryEncoder != null) {
+      serverChannel._tablesToResetSegmentDictionary.add(tableNameWithType);
+    }
   }
 
   public void connect(ServerRoutingInstance serverRoutingInstance)
@@ -147,10 +175,17 @@ public class ServerChannels {
     final Bootstrap _bootstrap;
     // lock to protect channel as requests must be written into channel sequentially
     final ReentrantLock _channelLock = new ReentrantLock();
+    // Tracks the segment names sent over the channel, protected by the channel lock
+    final SegmentDictionaryEncoder _segmentDictionaryEncoder;
     Channel _channel;
+    // Set when a request fails to be delivered, as the server might have missed some segment names
+    volatile boolean _resetSegmentDictionary;
+    // Tables whose segment dictionary mismatches the one on the server
+    final Set<String> _tablesToResetSegmentDictionary = ConcurrentHashMap.newKeySet();
 
     ServerChannel(ServerRoutingInstance serverRoutingInstance) {
       _serverRoutingInstance = serverRoutingInstance;
+      _segmentDictionaryEncoder = _enableSegmentDictionary ? new SegmentDictionaryEncoder() : null;
       _bootstrap = new Bootstrap().remoteAddress(serverRoutingInstance.getHostname(), serverRoutingInstance.getPort())
           .group(_eventLoopGroup).channel(_channelClass).option(ChannelOption.SO_KEEPALIVE, true)
           .handler(new ChannelInitializer<SocketChannel>() {
@@ -173,11 +208,20 @@ public class ServerChannels {
     }
 
     void sendRequest(String rawTableName, AsyncQueryResponse asyncQueryResponse,
-        ServerRoutingInstance serverRoutingInstance, byte[] requestBytes, long timeoutMs)
-        throws InterruptedException, TimeoutException {
+        ServerRoutingInstance serverRoutingInstance, InstanceRequest instanceRequest, long timeoutMs)
+        throws InterruptedException, TimeoutException, TException {
+      // Servers not advertising the support of the segment dictionary would ignore the encoded segments and query no
+      // segment, so they always get the segment names
+      boolean encodeSegments =
+          _segmentDictionaryEncoder != null && serverRoutingInstance.isSegmentDictionarySupported();
+      // The segment dictionary encoding depends on the requests sent before, so it must happen under the channel lock
+      byte[] requestBytes = encodeSegments ? null : _threadLocalTSerializer.get().serialize(instanceRequest);
       if (_channelLock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
         try {
           connectWithoutLocking();
+          if (encodeSegments) {
+            requestBytes = encodeAndSerializeWithoutLocking(instanceRequest);
+          }
           sendRequestWithoutLocking(rawTableName, asyncQueryResponse, serverRoutingInstance, requestBytes);
         } finally {
           _channelLock.unlock();
@@ -194,6 +238,32 @@ public class ServerChannels {
         _channel = _bootstrap.connect().sync().channel();
         _brokerMetrics.setValueOfGlobalGauge(BrokerGauge.NETTY_CONNECTION_CONNECT_TIME_MS,
             System.currentTimeMillis() - startTime);
+        // The server keeps the segment dictionaries per channel
+        if (_segmentDictionaryEncoder != null) {
+          _segmentDictionaryEncoder.reset();
+        }
+      }
+    }
+
+    byte[] encodeAndSerializeWithoutLocking(InstanceRequest instanceRequest)
+        throws TException {
+      if (_resetSegmentDictionary) {
+        _resetSegmentDictionary = false;
+        _segmentDictionaryEncoder.reset();
+      }
+      if (!_tablesToResetSegmentDictionary.isEmpty()) {
+        String tableNameWithType = instanceRequest.getQuery().getPinotQuery().getDataSource().getTableName();
+        if (_tablesToResetSegmentDictionary.remove(tableNameWithType)) {
+          _segmentDictionaryEncoder.reset(tableNameWithType);
+        }
+      }
+      _segmentDictionaryEncoder.encode(instanceRequest);
+      try {
+        return _threadLocalTSerializer.get().serialize(instanceRequest);
+      } catch (Exception e) {
+        // The request is not sent, so the segment names added to the dictionary never reach the server
+        _segmentDictionaryEncoder.reset();
+        throw e;
       }
     }
 
@@ -201,6 +271,9 @@ public class ServerChannels {
         ServerRoutingInstance serverRoutingInstance, byte[] requestBytes) {
       long startTimeMs = System.currentTimeMillis();
       _channel.writeAndFlush(Unpooled.wrappedBuffer(requestBytes)).addListener(f -> {
+        if (!f.isSuccess() && _segmentDictionaryEncoder != null) {
+          _resetSegmentDictionary = true;
+        }
         int requestSentLatencyMs = (int) (System.currentTimeMillis() - startTimeMs);
         _brokerMetrics.addTimedTableValue(rawTableName, BrokerTimer.NETTY_CONNECTION_SEND_REQUEST_LATENCY,
             requestSentLatencyMs, TimeUnit.MILLISECONDS);
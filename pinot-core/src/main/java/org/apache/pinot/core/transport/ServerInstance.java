@@ -46,6 +46,7 @@ public class ServerInstance {
   private final int _queryServicePort;
   private final int _queryMailboxPort;
   private final String _adminEndpoint;
+  private final boolean _segmentDictionarySupported;
 
   /**
    * By default (auto joined instances), server instance name is of format: {@code Server_<hostname>_<port>}, e.g.
@@ -79,6 +80,8 @@ public class ServerInstance {
     _queryMailboxPort = instanceConfig.getRecord().getIntField(Helix.Instance.MULTI_STAGE_QUERY_ENGINE_MAILBOX_PORT_KEY,
         INVALID_PORT);
     _adminEndpoint = InstanceUtils.getServerAdminEndpoint(instanceConfig, _hostname, CommonConstants.HTTP_PROTOCOL);
+    _segmentDictionarySupported =
+        instanceConfig.getRecord().getBooleanField(Helix.Instance.SEGMENT_DICTIONARY_SUPPORTED_KEY, false);
   }
 
   @VisibleForTesting
@@ -91,6 +94,7 @@ public class ServerInstance {
     _queryServicePort = INVALID_PORT;
     _queryMailboxPort = INVALID_PORT;
     _adminEndpoint = null;
+    _segmentDictionarySupported = false;
   }
 
   public String getInstanceId() {
@@ -124,13 +128,21 @@ public class ServerInstance {
     return _nettyTlsPort;
   }
 
+  /**
+   * Returns whether the server can decode the segments to query sent as ordinals of a segment name dictionary.
+   */
+  public boolean isSegmentDictionarySupported() {
+    return _segmentDictionarySupported;
+  }
+
   // Does not require TLS until all servers guaranteed to be on TLS
   @Deprecated
   public ServerRoutingInstance toServerRoutingInstance(TableType tableType, boolean preferNettyTls) {
     if (preferNettyTls && _nettyTlsPort > 0) {
-      return new ServerRoutingInstance(_instanceId, _hostname, _nettyTlsPort, tableType, true);
+      return new ServerRoutingInstance(_instanceId, _hostname, _nettyTlsPort, tableType, true,
+          _segmentDictionarySupported);
     } else {
-      return new ServerRoutingInstance(_instanceId, _hostname, _port, tableType);
+      return new ServerRoutingInstance(_instanceId, _hostname, _port, tableType, false, _segmentDictionarySupported);
     }
   }
 
@@ -138,13 +150,14 @@ public class ServerInstance {
     switch (routingType) {
       case NETTY:
         Preconditions.checkState(_port > 0, "Netty port is not configured for server: %s", _instanceId);
-        return new ServerRoutingInstance(_instanceId, _hostname, _port, tableType);
+        return new ServerRoutingInstance(_instanceId, _hostname, _port, tableType, false, _segmentDictionarySupported);
       case GRPC:
         Preconditions.checkState(_grpcPort > 0, "GRPC port is not configured for server: %s", _instanceId);
         return new ServerRoutingInstance(_instanceId, _hostname, _grpcPort, tableType);
       case NETTY_TLS:
         Preconditions.checkState(_nettyTlsPort > 0, "Netty TLS port is not configured for server: %s", _instanceId);
-        return new ServerRoutingInstance(_instanceId, _hostname, _nettyTlsPort, tableType, true);
+        return new ServerRoutingInstance(_instanceId, _hostname, _nettyTlsPort, tableType, true,
+            _segmentDictionarySupported);
       default:
         throw new IllegalStateException("Unsupported routing type: " + routingType);
     }
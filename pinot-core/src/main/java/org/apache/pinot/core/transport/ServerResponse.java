@@ -93,10 +93,17 @@ public class ServerResponse {
     _requestSentLatencyMs = requestSentLatencyMs;
   }
 
+  // NOTE: The response size and deserialization time include the data blocks streamed before the final data table.
+  //       They are only updated on the thread handling the server response, so no need to synchronize.
+  void receiveDataBlock(int responseSize, int deserializationTimeMs) {
+    _responseSize += responseSize;
+    _deserializationTimeMs += deserializationTimeMs;
+  }
+
   void receiveDataTable(DataTable dataTable, int responseSize, int deserializationTimeMs) {
     _receiveDataTableTimeMs = System.currentTimeMillis();
     _dataTable = dataTable;
-    _responseSize = responseSize;
-    _deserializationTimeMs = deserializationTimeMs;
+    _responseSize += responseSize;
+    _deserializationTimeMs += deserializationTimeMs;
   }
 }
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.common.datatable.DataTable;
+
+
+/**
+ * The {@code ServerResponseListener} is notified when a {@link DataTable} is received from a server, on the thread
+ * handling the server response and before the server is counted as responded in the {@link AsyncQueryResponse}. This
+ * allows the caller to start processing the server responses before all the servers respond.
+ * <p>NOTE: The listener might be invoked concurrently for different servers, and should not throw exception.
+ */
+@ThreadSafe
+public interface ServerResponseListener {
+
+  /**
+   * Invoked when a data table is received from the given server.
+   */
+  void onDataTableReceived(ServerRoutingInstance serverRoutingInstance, DataTable dataTable);
+
+  /**
+   * Invoked when a data block streamed by the given server is received. The streamed data blocks only contain data
+   * rows, and are followed by the final data table of the server (with the metadata) passed to
+   * {@link #onDataTableReceived(ServerRoutingInstance, DataTable)}.
+   */
+  default void onDataBlockReceived(ServerRoutingInstance serverRoutingInstance, DataTable dataBlock) {
+    throw new UnsupportedOperationException("Streamed data blocks are not supported by: " + getClass().getSimpleName());
+  }
+}
@@ -44,13 +44,20 @@ public class ServerRoutingInstance {
   private final int _port;
   private final TableType _tableType;
   private final boolean _tlsEnabled;
+  private final boolean _segmentDictionarySupported;
 
-  public ServerRoutingInstance(String instanceId, String hostname, int port, TableType tableType, boolean tlsEnabled) {
+  public ServerRoutingInstance(String instanceId, String hostname, int port, TableType tableType, boolean tlsEnabled,
+      boolean segmentDictionarySupported) {
     _instanceId = instanceId;
     _hostname = hostname;
     _port = port;
     _tableType = tableType;
     _tlsEnabled = tlsEnabled;
+    _segmentDictionarySupported = segmentDictionarySupported;
+  }
+
+  public ServerRoutingInstance(String instanceId, String hostname, int port, TableType tableType, boolean tlsEnabled) {
+    this(instanceId, hostname, port, tableType, tlsEnabled, false);
   }
 
   public ServerRoutingInstance(String instanceId, String hostname, int port, TableType tableType) {
@@ -94,6 +101,14 @@ public class ServerRoutingInstance {
     return _tlsEnabled;
   }
 
+  /**
+   * Returns whether the server advertises the support of the segments to query sent as ordinals of a segment name
+   * dictionary (see {@link SegmentDictionaryEncoder}).
+   */
+  public boolean isSegmentDictionarySupported() {
+    return _segmentDictionarySupported;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import io.grpc.stub.StreamObserver;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import org.apache.pinot.common.metrics.ServerMeter;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.proto.Server;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.spi.exception.EarlyTerminationException;
+import org.apache.pinot.spi.exception.QueryCancelledException;
+
+
+/**
+ * The {@code StreamingResponseObserver} streams the data blocks of a query back to the broker over the Netty channel
+ * the query is received from. Each data block is sent as a separate frame:
+ * [STREAMING_DATA_BLOCK_MARKER (int), requestId (long), serialized data table], followed by the regular data table
+ * response with the metadata once the query is executed.
+ * <p>The observer applies back-pressure by blocking the query execution thread while the channel is not writable
+ * (i.e. the bytes pending in the channel outbound buffer exceed the high water mark), so that at most the configured
+ * water mark plus one data block is buffered on the server regardless of the size of the results.
+ */
+class StreamingResponseObserver implements StreamObserver<Server.ServerResponse> {
+  // Data tables always start with a positive version, so a negative marker identifies the streamed data blocks
+  static final int STREAMING_DATA_BLOCK_MARKER = -1;
+  static final int STREAMING_DATA_BLOCK_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+  private final Channel _channel;
+  private final long _requestId;
+  private final QueryContext _queryContext;
+  private final Object _writabilityLock;
+  private final ServerMetrics _serverMetrics;
+
+  /**
+   * @param writabilityLock Lock notified when the writability of the channel changes
+   */
+  StreamingResponseObserver(Channel channel, long requestId, QueryContext queryContext, Object writabilityLock,
+      ServerMetrics serverMetrics) {
+    _channel = channel;
+    _requestId = requestId;
+    _queryContext = queryContext;
+    _writabilityLock = writabilityLock;
+    _serverMetrics = serverMetrics;
+  }
+
+  @Override
+  public void onNext(Server.ServerResponse response) {
+    waitUntilWritable();
+    ByteBuf header = _channel.alloc().buffer(STREAMING_DATA_BLOCK_HEADER_SIZE);
+    header.writeInt(STREAMING_DATA_BLOCK_MARKER);
+    header.writeLong(_requestId);
+    ByteBuf dataBlock =
+        Unpooled.wrappedBuffer(header, Unpooled.wrappedBuffer(response.getPayload().asReadOnlyByteBuffer()));
+    _serverMetrics.addMeteredGlobalValue(ServerMeter.NETTY_CONNECTION_BYTES_SENT, dataBlock.readableBytes());
+    _channel.writeAndFlush(dataBlock);
+  }
+
+  private void waitUntilWritable() {
+    if (_channel.isWritable()) {
+      return;
+    }
+    synchronized (_writabilityLock) {
+      while (!_channel.isWritable()) {
+        if (!_channel.isActive()) {
+          throw new EarlyTerminationException("Channel is closed while streaming results");
+        }
+        long remainingTimeMs = _queryContext.getEndTimeMs() - System.currentTimeMillis();
+        if (remainingTimeMs <= 0) {
+          throw new EarlyTerminationException("Timed out while waiting for the channel to stream results");
+        }
+        try {
+          _writabilityLock.wait(remainingTimeMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new QueryCancelledException("Cancelled while waiting for the channel to stream results", e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    // The error is sent back with the metadata response
+  }
+
+  @Override
+  public void onCompleted() {
+    // The metadata response is sent after the query is executed
+  }
+}
@@ -39,6 +39,14 @@ public class ServerRoutingStatsEntry {
   // Fields related to latency
   private final ExponentialMovingAverage _latencyMsEMA;
 
+  // Fields related to execution cost per document scanned. The EMA is initialized with the first sample instead of the
+  // configured initialization value because the cost per document is several orders of magnitude below the latency.
+  private final double _alphaEMA;
+  private final long _autoDecayWindowMsEMA;
+  private final long _warmupDurationMsEMA;
+  private final ScheduledExecutorService _periodicTaskExecutor;
+  private ExponentialMovingAverage _costPerDocMsEMA;
+
   // Hybrid score exponent.
   private final int _hybridScoreExponent;
 
@@ -55,6 +63,11 @@ public class ServerRoutingStatsEntry {
         new ExponentialMovingAverage(alphaEMA, autoDecayWindowMsEMA, warmupDurationMsEMA, avgInitializationValEMA,
             periodicTaskExecutor);
 
+    _alphaEMA = alphaEMA;
+    _autoDecayWindowMsEMA = autoDecayWindowMsEMA;
+    _warmupDurationMsEMA = warmupDurationMsEMA;
+    _periodicTaskExecutor = periodicTaskExecutor;
+
     _hybridScoreExponent = scoreExponent;
   }
 
@@ -78,6 +91,14 @@ public class ServerRoutingStatsEntry {
     return _latencyMsEMA.getAverage();
   }
 
+  /**
+   * Returns the EMA of the execution cost (in milliseconds) per document scanned, or {@code null} if no execution stats
+   * have been recorded for the server yet.
+   */
+  public Double getCostPerDocEMA() {
+    return _costPerDocMsEMA != null ? _costPerDocMsEMA.getAverage() : null;
+  }
+
   public double computeHybridScore() {
     double estimatedQSize = _numInFlightRequests + _inFlighRequestsEMA.getAverage();
     return Math.pow(estimatedQSize, _hybridScoreExponent) * _latencyMsEMA.getAverage();
@@ -95,4 +116,14 @@ public class ServerRoutingStatsEntry {
   public void updateLatency(double latencyMs) {
     _latencyMsEMA.compute(latencyMs);
   }
+
+  public void updateCostPerDoc(double costPerDocMs) {
+    if (_costPerDocMsEMA == null) {
+      _costPerDocMsEMA =
+          new ExponentialMovingAverage(_alphaEMA, _autoDecayWindowMsEMA, _warmupDurationMsEMA, costPerDocMs,
+              _periodicTaskExecutor);
+    } else {
+      _costPerDocMsEMA.compute(costPerDocMs);
+    }
+  }
 }
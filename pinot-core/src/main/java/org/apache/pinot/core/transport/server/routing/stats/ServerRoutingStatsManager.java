@@ -44,6 +44,9 @@ import org.slf4j.LoggerFactory;
  */
 public class ServerRoutingStatsManager {
   private static final Logger LOGGER = LoggerFactory.getLogger(ServerRoutingStatsManager.class);
+  // Time used on the server is reported in milliseconds, so the queries finishing within 1ms report 0. Count them as
+  // half a millisecond so that the cost per document of a server never drops to 0.
+  private static final double MIN_TIME_USED_MS = 0.5;
 
   private final PinotConfiguration _config;
   private volatile boolean _isEnabled;
@@ -165,20 +168,30 @@ public class ServerRoutingStatsManager {
    * Called when a query response is received from the server. Updates stats related to query completion.
    */
   public void recordStatsUponResponseArrival(long requestId, String serverInstanceId, long latency) {
+    recordStatsUponResponseArrival(requestId, serverInstanceId, latency, -1, 0);
+  }
+
+  /**
+   * Same as above, and additionally records the execution cost per document scanned when the server returned its
+   * execution stats (time used on the server and number of documents scanned).
+   */
+  public void recordStatsUponResponseArrival(long requestId, String serverInstanceId, long latency, long timeUsedMs,
+      long numDocsScanned) {
     if (!_isEnabled) {
       return;
     }
 
     _executorService.execute(() -> {
       try {
-        updateStatsUponResponseArrival(serverInstanceId, latency);
+        updateStatsUponResponseArrival(serverInstanceId, latency, timeUsedMs, numDocsScanned);
       } catch (Exception e) {
         LOGGER.error("Exception caught while updating stats. requestId={}, exception={}", requestId, e);
       }
     });
   }
 
-  private void updateStatsUponResponseArrival(String serverInstanceId, long latencyMs) {
+  private void updateStatsUponResponseArrival(String serverInstanceId, long latencyMs, long timeUsedMs,
+      long numDocsScanned) {
     ServerRoutingStatsEntry stats = _serverQueryStatsMap.computeIfAbsent(serverInstanceId,
         k -> new ServerRoutingStatsEntry(serverInstanceId, _alpha, _autoDecayWindowMs, _warmupDurationMs,
             _avgInitializationVal, _hybridScoreExponent, _periodicTaskExecutor));
@@ -189,6 +202,9 @@ public class ServerRoutingStatsManager {
       if (latencyMs >= 0.0) {
         stats.updateLatency(latencyMs);
       }
+      if (timeUsedMs >= 0 && numDocsScanned > 0) {
+        stats.updateCostPerDoc(Math.max(timeUsedMs, MIN_TIME_USED_MS) / numDocsScanned);
+      }
     } finally {
       stats.getServerWriteLock().unlock();
     }
@@ -232,6 +248,7 @@ public class ServerRoutingStatsManager {
    * 1. NumInFlightReqSelector - fetchNumInFlightRequestsForAllServers(), fetchNumInFlightRequestsForServer()
    * 2. LatencySelector - fetchEMALatencyForAllServers(), fetchEMALatencyForServer()
    * 3. HybridSelector - fetchScoreForAllServers(), fetchScoreForServer()
+   * 4. CostAwareSelector - fetchCostPerDocEMAForAllServers(), fetchCostPerDocEMAForServer()
    *
    * We avoid returning all the stats to each selector to keep the critical section (under locks) as small as
    * possible). ServerRoutingStatsManager does not sort the servers in any particular order while accumulating stats
@@ -377,4 +394,52 @@ public class ServerRoutingStatsManager {
       stats.getServerReadLock().unlock();
     }
   }
+
+  /**
+   * Returns a list containing each server and the corresponding EMA of the execution cost (in milliseconds) per
+   * document scanned. Servers that have not returned any execution stats yet are not included.
+   */
+  public List<Pair<String, Double>> fetchCostPerDocEMAForAllServers() {
+    List<Pair<String, Double>> response = new ArrayList<>();
+    if (!_isEnabled) {
+      return response;
+    }
+
+    for (Map.Entry<String, ServerRoutingStatsEntry> entry : _serverQueryStatsMap.entrySet()) {
+      String server = entry.getKey();
+      Preconditions.checkState(entry.getValue() != null, "Server stats is null");
+      ServerRoutingStatsEntry stats = entry.getValue();
+
+      stats.getServerReadLock().lock();
+      Double costPerDoc = stats.getCostPerDocEMA();
+      stats.getServerReadLock().unlock();
+
+      if (costPerDoc != null) {
+        response.add(new ImmutablePair<>(server, costPerDoc));
+      }
+    }
+
+    return response;
+  }
+
+  /**
+   * Same as above but returns the EMA cost per document for the input server, or {@code null} if not available.
+   */
+  public Double fetchCostPerDocEMAForServer(String server) {
+    if (!_isEnabled) {
+      return null;
+    }
+
+    ServerRoutingStatsEntry stats = _serverQueryStatsMap.get(server);
+    if (stats == null) {
+      return null;
+    }
+
+    try {
+      stats.getServerReadLock().lock();
+      return stats.getCostPerDocEMA();
+    } finally {
+      stats.getServerReadLock().unlock();
+    }
+  }
 }
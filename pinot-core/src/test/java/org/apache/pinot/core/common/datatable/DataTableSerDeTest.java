@@ -21,6 +21,9 @@ package org.apache.pinot.core.common.datatable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.primitives.Ints;
 import com.google.common.primitives.Longs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -304,6 +307,41 @@ public class DataTableSerDeTest {
     DataTableBuilderFactory.setDataTableVersion(DataTableBuilderFactory.DEFAULT_VERSION);
   }
 
+  @Test(dataProvider = "versionProvider")
+  public void testToByteBuffers(int dataTableVersion)
+      throws IOException {
+    DataTableBuilderFactory.setDataTableVersion(dataTableVersion);
+    DataSchema.ColumnDataType[] columnDataTypes = DataSchema.ColumnDataType.values();
+    int numColumns = columnDataTypes.length;
+    String[] columnNames = new String[numColumns];
+    for (int i = 0; i < numColumns; i++) {
+      columnNames[i] = columnDataTypes[i].name();
+    }
+
+    DataSchema dataSchema = new DataSchema(columnNames, columnDataTypes);
+    DataTableBuilder dataTableBuilder = DataTableBuilderFactory.getDataTableBuilder(dataSchema);
+    fillDataTableWithRandomData(dataTableBuilder, columnDataTypes, numColumns);
+
+    DataTable dataTable = dataTableBuilder.build();
+    dataTable.addException(QueryException.QUERY_EXECUTION_ERROR_CODE, "error");
+    dataTable.getMetadata().put(MetadataKey.NUM_DOCS_SCANNED.getName(), "123");
+    ThreadResourceUsageProvider.setThreadCpuTimeMeasurementEnabled(false);
+
+    // The composite of the section buffers should be identical to the serialized bytes
+    ByteBuf byteBuf = Unpooled.wrappedBuffer(dataTable.toByteBuffers());
+    byte[] bytes = dataTable.toBytes();
+    Assert.assertEquals(ByteBufUtil.getBytes(byteBuf), bytes, ERROR_MESSAGE);
+
+    DataTable newDataTable = DataTableFactory.getDataTable(byteBuf.nioBuffer());
+    Assert.assertEquals(newDataTable.getDataSchema(), dataSchema, ERROR_MESSAGE);
+    Assert.assertEquals(newDataTable.getNumberOfRows(), NUM_ROWS, ERROR_MESSAGE);
+    Assert.assertEquals(newDataTable.getExceptions().get(QueryException.QUERY_EXECUTION_ERROR_CODE), "error");
+    Assert.assertEquals(newDataTable.getMetadata().get(MetadataKey.NUM_DOCS_SCANNED.getName()), "123");
+    verifyDataIsSame(newDataTable, columnDataTypes, numColumns);
+    byteBuf.release();
+    DataTableBuilderFactory.setDataTableVersion(DataTableBuilderFactory.DEFAULT_VERSION);
+  }
+
   @Test(dataProvider = "versionProvider")
   public void testExecutionThreadCpuTimeNs(int dataTableVersion)
       throws IOException {
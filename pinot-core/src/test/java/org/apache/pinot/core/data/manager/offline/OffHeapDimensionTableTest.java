@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.data.manager.offline;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.data.readers.PrimaryKey;
+import org.apache.pinot.spi.utils.ByteArray;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class OffHeapDimensionTableTest {
+  private static final String TABLE_NAME = "testTable_OFFLINE";
+  private static final int NUM_ROWS = 1000;
+  private static final int NUM_KEYS = 700;
+
+  @Test
+  public void testCompositePrimaryKey() {
+    List<String> primaryKeyColumns = Arrays.asList("intKey", "stringKey");
+    Schema schema = new Schema.SchemaBuilder().setSchemaName("testTable")
+        .addSingleValueDimension("intKey", DataType.INT).addSingleValueDimension("stringKey", DataType.STRING)
+        .addSingleValueDimension("longCol", DataType.LONG).addSingleValueDimension("floatCol", DataType.FLOAT)
+        .addSingleValueDimension("bytesCol", DataType.BYTES).addMetric("bigDecimalCol", DataType.BIG_DECIMAL)
+        .addMultiValueDimension("intMVCol", DataType.INT).addMultiValueDimension("stringMVCol", DataType.STRING)
+        .setPrimaryKeyColumns(primaryKeyColumns).build();
+    Random random = new Random(42);
+    // Rows with the same primary key override the previous ones
+    Map<PrimaryKey, GenericRow> expectedRows = new HashMap<>();
+    try (OffHeapDimensionTable dimensionTable = new OffHeapDimensionTable(schema, primaryKeyColumns, NUM_ROWS,
+        TABLE_NAME)) {
+      assertTrue(dimensionTable.isEmpty());
+      for (int i = 0; i < NUM_ROWS; i++) {
+        int key = random.nextInt(NUM_KEYS);
+        GenericRow row = new GenericRow();
+        row.putValue("intKey", key);
+        // Mix ASCII and non-ASCII strings
+        row.putValue("stringKey", key % 3 == 0 ? "clé_" + key : "key_" + key);
+        row.putValue("longCol", random.nextLong());
+        row.putValue("floatCol", random.nextFloat());
+        row.putValue("bytesCol", Integer.toString(random.nextInt()).getBytes());
+        row.putValue("bigDecimalCol", BigDecimal.valueOf(random.nextLong(), 5));
+        row.putValue("intMVCol", new Object[]{random.nextInt(), random.nextInt()});
+        row.putValue("stringMVCol", new Object[]{"a" + random.nextInt(), "", "ü" + random.nextInt()});
+        dimensionTable.addRow(row);
+        expectedRows.put(row.getPrimaryKey(primaryKeyColumns), row);
+      }
+      assertFalse(dimensionTable.isEmpty());
+
+      for (Map.Entry<PrimaryKey, GenericRow> entry : expectedRows.entrySet()) {
+        GenericRow row = dimensionTable.get(entry.getKey());
+        GenericRow expectedRow = entry.getValue();
+        assertEquals(row.getFieldToValueMap().keySet(), expectedRow.getFieldToValueMap().keySet());
+        for (String column : expectedRow.getFieldToValueMap().keySet()) {
+          assertEquals(row.getValue(column), expectedRow.getValue(column), column);
+        }
+      }
+      assertNull(dimensionTable.get(new PrimaryKey(new Object[]{NUM_KEYS, "key_" + NUM_KEYS})));
+      // Same int key with a different string key
+      assertNull(dimensionTable.get(new PrimaryKey(new Object[]{1, "key_2"})));
+
+      // Batch lookups, including missing keys
+      int numKeys = NUM_KEYS + 10;
+      int[] intKeys = new int[numKeys];
+      String[] stringKeys = new String[numKeys];
+      for (int i = 0; i < numKeys; i++) {
+        intKeys[i] = i;
+        stringKeys[i] = i % 3 == 0 ? "clé_" + i : "key_" + i;
+      }
+      for (String column : Arrays.asList("intKey", "longCol", "bytesCol", "bigDecimalCol", "stringMVCol")) {
+        Object[] values = new Object[numKeys];
+        dimensionTable.lookupValues(new Object[]{intKeys, stringKeys}, numKeys, column, values);
+        for (int i = 0; i < numKeys; i++) {
+          GenericRow expectedRow = expectedRows.get(new PrimaryKey(new Object[]{intKeys[i], stringKeys[i]}));
+          assertEquals(values[i], expectedRow != null ? expectedRow.getValue(column) : null);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPrimitivePrimaryKey() {
+    for (DataType dataType : Arrays.asList(DataType.LONG, DataType.DOUBLE, DataType.BYTES)) {
+      List<String> primaryKeyColumns = Arrays.asList("key");
+      Schema schema = new Schema.SchemaBuilder().setSchemaName("testTable")
+          .addSingleValueDimension("key", dataType).addSingleValueDimension("value", DataType.STRING)
+          .setPrimaryKeyColumns(primaryKeyColumns).build();
+      try (OffHeapDimensionTable dimensionTable = new OffHeapDimensionTable(schema, primaryKeyColumns, NUM_ROWS,
+          TABLE_NAME)) {
+        Object[] keys = new Object[NUM_ROWS];
+        for (int i = 0; i < NUM_ROWS; i++) {
+          GenericRow row = new GenericRow();
+          keys[i] = getKey(dataType, i);
+          row.putValue("key", keys[i]);
+          row.putValue("value", "value_" + i);
+          dimensionTable.addRow(row);
+        }
+
+        Object pkColumn;
+        switch (dataType) {
+          case LONG:
+            pkColumn = new long[NUM_ROWS + 1];
+            break;
+          case DOUBLE:
+            pkColumn = new double[NUM_ROWS + 1];
+            break;
+          default:
+            pkColumn = new byte[NUM_ROWS + 1][];
+            break;
+        }
+        for (int i = 0; i <= NUM_ROWS; i++) {
+          Object key = getKey(dataType, i);
+          if (dataType == DataType.LONG) {
+            ((long[]) pkColumn)[i] = (long) key;
+          } else if (dataType == DataType.DOUBLE) {
+            ((double[]) pkColumn)[i] = (double) key;
+          } else {
+            ((byte[][]) pkColumn)[i] = (byte[]) key;
+          }
+        }
+        Object[] values = new Object[NUM_ROWS + 1];
+        dimensionTable.lookupValues(new Object[]{pkColumn}, NUM_ROWS + 1, "value", values);
+        for (int i = 0; i < NUM_ROWS; i++) {
+          assertEquals(values[i], "value_" + i);
+          Object key = dataType == DataType.BYTES ? new ByteArray((byte[]) keys[i]) : keys[i];
+          assertEquals(dimensionTable.get(new PrimaryKey(new Object[]{key})).getValue("value"), "value_" + i);
+        }
+        assertNull(values[NUM_ROWS]);
+      }
+    }
+  }
+
+  private static Object getKey(DataType dataType, int i) {
+    switch (dataType) {
+      case LONG:
+        return (long) i << 32;
+      case DOUBLE:
+        return i * 0.5;
+      default:
+        return ("key_" + i).getBytes();
+    }
+  }
+}
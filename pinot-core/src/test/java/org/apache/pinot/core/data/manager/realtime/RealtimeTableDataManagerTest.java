@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
 import org.apache.helix.AccessOption;
+import org.apache.helix.ClusterMessagingService;
 import org.apache.helix.HelixManager;
 import org.apache.helix.store.zk.ZkHelixPropertyStore;
 import org.apache.helix.zookeeper.datamodel.ZNRecord;
@@ -53,14 +54,22 @@ import org.apache.pinot.spi.metrics.PinotMetricUtils;
 import org.apache.pinot.spi.utils.CommonConstants;
 import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
 import org.apache.pinot.util.TestUtils;
+import org.apache.zookeeper.data.Stat;
 import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormat;
+import org.mockito.ArgumentCaptor;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.apache.pinot.spi.utils.CommonConstants.Segment.Realtime.Status;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -180,6 +189,64 @@ public class RealtimeTableDataManagerTest {
     assertTrue(mgr.allowDownload(llc.getSegmentName(), zkmd));
   }
 
+  @Test
+  public void testPublishConsumingSegmentMinTime()
+      throws Exception {
+    RealtimeTableDataManager tmgr = new RealtimeTableDataManager(null);
+    TableDataManagerConfig tableDataManagerConfig = createTableDataManagerConfig();
+    ZkHelixPropertyStore propertyStore = mock(ZkHelixPropertyStore.class);
+    setupTableConfig(propertyStore);
+    setupSchema(propertyStore);
+    HelixManager helixManager = mock(HelixManager.class);
+    ClusterMessagingService messagingService = mock(ClusterMessagingService.class);
+    when(helixManager.getMessagingService()).thenReturn(messagingService);
+    tmgr.init(tableDataManagerConfig, "server01", propertyStore,
+        new ServerMetrics(PinotMetricUtils.getPinotMetricsRegistry()), helixManager, null,
+        new TableDataManagerParams(0, false, -1));
+
+    String segName = new LLCSegmentName(TABLE_NAME, 0, 0, System.currentTimeMillis()).getSegmentName();
+    String segmentZKMetadataPath = ZKMetadataProvider.constructPropertyStorePathForSegment(TABLE_NAME_WITH_TYPE,
+        segName);
+    SegmentZKMetadata segmentZKMetadata = new SegmentZKMetadata(segName);
+    segmentZKMetadata.setStatus(Status.IN_PROGRESS);
+    when(propertyStore.get(eq(segmentZKMetadataPath), any(Stat.class), eq(AccessOption.PERSISTENT))).thenReturn(
+        segmentZKMetadata.toZNRecord());
+    when(propertyStore.set(eq(segmentZKMetadataPath), any(ZNRecord.class), anyInt(),
+        eq(AccessOption.PERSISTENT))).thenReturn(true);
+
+    // Min time should be published and brokers should be notified
+    assertTrue(tmgr.publishConsumingSegmentMinTime(segName, 1000L));
+    ArgumentCaptor<ZNRecord> znRecordCaptor = ArgumentCaptor.forClass(ZNRecord.class);
+    verify(propertyStore).set(eq(segmentZKMetadataPath), znRecordCaptor.capture(), anyInt(),
+        eq(AccessOption.PERSISTENT));
+    assertEquals(new SegmentZKMetadata(znRecordCaptor.getValue()).getConsumingMinTimeMs(), 1000L);
+    verify(messagingService).send(any(), any(), any(), anyInt());
+
+    // Larger min time than the published one should not be published again
+    segmentZKMetadata.setConsumingMinTimeMs(1000L);
+    when(propertyStore.get(eq(segmentZKMetadataPath), any(Stat.class), eq(AccessOption.PERSISTENT))).thenReturn(
+        segmentZKMetadata.toZNRecord());
+    assertTrue(tmgr.publishConsumingSegmentMinTime(segName, 2000L));
+    verify(propertyStore, times(1)).set(any(), any(), anyInt(), anyInt());
+
+    // Committed segment should not be updated
+    segmentZKMetadata.setStatus(Status.DONE);
+    when(propertyStore.get(eq(segmentZKMetadataPath), any(Stat.class), eq(AccessOption.PERSISTENT))).thenReturn(
+        segmentZKMetadata.toZNRecord());
+    assertFalse(tmgr.publishConsumingSegmentMinTime(segName, 500L));
+    verify(propertyStore, times(1)).set(any(), any(), anyInt(), anyInt());
+
+    // Concurrent update should fail the publish without notifying brokers
+    segmentZKMetadata.setStatus(Status.IN_PROGRESS);
+    when(propertyStore.get(eq(segmentZKMetadataPath), any(Stat.class), eq(AccessOption.PERSISTENT))).thenReturn(
+        segmentZKMetadata.toZNRecord());
+    when(propertyStore.set(eq(segmentZKMetadataPath), any(ZNRecord.class), anyInt(),
+        eq(AccessOption.PERSISTENT))).thenReturn(false);
+    assertFalse(tmgr.publishConsumingSegmentMinTime(segName, 500L));
+    verify(messagingService, times(1)).send(any(), any(), any(), anyInt());
+    verify(messagingService, never()).send(any(), any());
+  }
+
   private static File createSegment(TableConfig tableConfig, Schema schema, String segName)
       throws Exception {
     SegmentGeneratorConfig config = new SegmentGeneratorConfig(tableConfig, schema);
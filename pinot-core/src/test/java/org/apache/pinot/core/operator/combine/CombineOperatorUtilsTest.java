@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.combine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.operator.filter.BaseFilterOperator;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.SegmentMetadata;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+@SuppressWarnings("rawtypes")
+public class CombineOperatorUtilsTest {
+
+  @Test
+  public void testSortOperatorsByEstimatedCost() {
+    Operator small = getOperator(100, false);
+    Operator large = getOperator(10_000, false);
+    Operator medium1 = getOperator(1_000, false);
+    Operator medium2 = getOperator(1_000, false);
+    Operator emptyFilter = getOperator(100_000, true);
+    Operator unknown = mock(Operator.class);
+    when(unknown.getIndexSegment()).thenThrow(UnsupportedOperationException.class);
+
+    assertEquals(CombineOperatorUtils.getEstimatedCost(small), 100);
+    assertEquals(CombineOperatorUtils.getEstimatedCost(emptyFilter), 0);
+    assertEquals(CombineOperatorUtils.getEstimatedCost(unknown), Long.MAX_VALUE);
+
+    // Largest first, unknown cost first, and stable for operators with the same cost
+    List<Operator> operators = new ArrayList<>(Arrays.asList(small, emptyFilter, medium1, large, unknown, medium2));
+    CombineOperatorUtils.sortOperatorsByEstimatedCost(operators);
+    assertEquals(operators, Arrays.asList(unknown, large, medium1, medium2, small, emptyFilter));
+  }
+
+  private static Operator getOperator(int numDocs, boolean emptyFilter) {
+    SegmentMetadata segmentMetadata = mock(SegmentMetadata.class);
+    when(segmentMetadata.getTotalDocs()).thenReturn(numDocs);
+    IndexSegment indexSegment = mock(IndexSegment.class);
+    when(indexSegment.getSegmentMetadata()).thenReturn(segmentMetadata);
+    BaseFilterOperator filterOperator = mock(BaseFilterOperator.class);
+    when(filterOperator.isResultEmpty()).thenReturn(emptyFilter);
+    // Filter operator is nested under the projection operator
+    Operator projectionOperator = mock(Operator.class);
+    when(projectionOperator.getChildOperators()).thenReturn(Collections.singletonList(filterOperator));
+    Operator operator = mock(Operator.class);
+    when(operator.getIndexSegment()).thenReturn(indexSegment);
+    when(operator.getChildOperators()).thenReturn(Collections.singletonList(projectionOperator));
+    return operator;
+  }
+}
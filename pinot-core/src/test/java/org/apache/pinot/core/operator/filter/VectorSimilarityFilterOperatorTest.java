@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.filter;
+
+import org.apache.pinot.common.request.context.ExpressionContext;
+import org.apache.pinot.common.request.context.predicate.VectorSimilarityPredicate;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.datasource.DataSourceMetadata;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+public class VectorSimilarityFilterOperatorTest {
+  // Doc 0 has the same direction as the query vector but is far away, doc 1 is close but in a different direction
+  private static final float[][] VECTORS = {{10f, 1f}, {0.5f, 0.5f}};
+  private static final float[] QUERY_VECTOR = {1f, 0f};
+
+  @Test
+  public void testBruteForceSearchUsesConfiguredDistanceFunction() {
+    // Without index config, rank with the default (euclidean) distance
+    assertEquals(getMatches(null), MutableRoaringBitmap.bitmapOf(1));
+
+    FieldIndexConfigs cosineConfigs = new FieldIndexConfigs.Builder()
+        .add(StandardIndexes.vector(), new VectorIndexConfig(2, DistanceFunction.COSINE)).build();
+    assertEquals(getMatches(cosineConfigs), MutableRoaringBitmap.bitmapOf(0));
+
+    // Disabled vector index config falls back to the default distance
+    FieldIndexConfigs disabledConfigs =
+        new FieldIndexConfigs.Builder().add(StandardIndexes.vector(), VectorIndexConfig.DISABLED).build();
+    assertEquals(getMatches(disabledConfigs), MutableRoaringBitmap.bitmapOf(1));
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static MutableRoaringBitmap getMatches(FieldIndexConfigs fieldIndexConfigs) {
+    ForwardIndexReader forwardIndex = mock(ForwardIndexReader.class);
+    when(forwardIndex.isSingleValue()).thenReturn(false);
+    when(forwardIndex.getFloatMV(anyInt(), any(float[].class), any())).then(invocation -> {
+      float[] vector = VECTORS[(int) invocation.getArgument(0)];
+      System.arraycopy(vector, 0, invocation.getArgument(1), 0, vector.length);
+      return vector.length;
+    });
+    DataSourceMetadata dataSourceMetadata = mock(DataSourceMetadata.class);
+    when(dataSourceMetadata.getMaxNumValuesPerMVEntry()).thenReturn(2);
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getForwardIndex()).thenReturn(forwardIndex);
+    when(dataSource.getDataSourceMetadata()).thenReturn(dataSourceMetadata);
+    when(dataSource.getFieldIndexConfigs()).thenReturn(fieldIndexConfigs);
+
+    VectorSimilarityPredicate predicate =
+        new VectorSimilarityPredicate(ExpressionContext.forIdentifier("embedding"), QUERY_VECTOR, 1);
+    VectorSimilarityFilterOperator operator = new VectorSimilarityFilterOperator(dataSource, predicate, VECTORS.length);
+    return operator.getBitmaps().reduce().toMutableRoaringBitmap();
+  }
+}
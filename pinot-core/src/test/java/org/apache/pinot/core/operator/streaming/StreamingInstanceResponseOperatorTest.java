@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.operator.streaming;
+
+import io.grpc.stub.StreamObserver;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.operator.blocks.InstanceResponseBlock;
+import org.apache.pinot.core.operator.blocks.results.MetadataResultsBlock;
+import org.apache.pinot.core.operator.dociditerators.BitmapDocIdIterator;
+import org.apache.pinot.core.query.prefetch.ForwardIndexPrefetcher;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.segment.spi.FetchContext;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class StreamingInstanceResponseOperatorTest {
+  private static final int NUM_DOCS = 50_000;
+
+  @BeforeClass
+  public void setUp() {
+    ForwardIndexPrefetcher.init(1, mock(ServerMetrics.class));
+  }
+
+  @AfterClass
+  public void tearDown() {
+    ForwardIndexPrefetcher.init(0, mock(ServerMetrics.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testPrefetchCancelledBeforeRelease() {
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext("SELECT col FROM testTable WHERE col > 0");
+    BlockingForwardIndexReader forwardIndexReader = new BlockingForwardIndexReader();
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getForwardIndex()).then(invocation -> forwardIndexReader);
+
+    // Finish the results while the prefetch of the segment is still running
+    BaseStreamingCombineOperator<?> combineOperator = mock(BaseStreamingCombineOperator.class);
+    when(combineOperator.nextBlock()).then(invocation -> {
+      ForwardIndexPrefetcher.SegmentPrefetch segmentPrefetch = ForwardIndexPrefetcher.getInstance()
+          .newSegmentPrefetch(queryContext, Collections.singletonList(dataSource));
+      MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+      docIds.add(0L, NUM_DOCS);
+      segmentPrefetch.onBlock(new BitmapDocIdIterator(docIds, NUM_DOCS), 9999);
+      assertTrue(forwardIndexReader._prefetchStarted.await(10, TimeUnit.SECONDS), "Failed to start prefetching");
+      forwardIndexReader._resumePrefetch.countDown();
+      return new MetadataResultsBlock();
+    });
+
+    IndexSegment indexSegment = mock(IndexSegment.class);
+    doAnswer(invocation -> {
+      forwardIndexReader._released.set(true);
+      return null;
+    }).when(indexSegment).release(any(FetchContext.class));
+
+    StreamingInstanceResponseOperator operator =
+        new StreamingInstanceResponseOperator(combineOperator, Collections.singletonList(indexSegment),
+            Collections.singletonList(mock(FetchContext.class)), mock(StreamObserver.class), queryContext);
+    InstanceResponseBlock instanceResponseBlock = operator.nextBlock();
+    assertTrue(instanceResponseBlock.getResultsBlock() instanceof MetadataResultsBlock);
+    assertTrue(forwardIndexReader._released.get());
+
+    // The prefetch is cancelled and stopped before the segment is released, so the forward index is never touched
+    // after the release
+    assertFalse(forwardIndexReader._prefetchedAfterRelease.get());
+  }
+
+  /**
+   * Forward index reader whose first prefetch blocks until the results are finished.
+   */
+  private static class BlockingForwardIndexReader implements ForwardIndexReader<ForwardIndexReaderContext> {
+    final CountDownLatch _prefetchStarted = new CountDownLatch(1);
+    final CountDownLatch _resumePrefetch = new CountDownLatch(1);
+    final AtomicBoolean _released = new AtomicBoolean();
+    final AtomicBoolean _prefetchedAfterRelease = new AtomicBoolean();
+
+    @Override
+    public boolean isDictionaryEncoded() {
+      return true;
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return true;
+    }
+
+    @Override
+    public DataType getStoredType() {
+      return DataType.INT;
+    }
+
+    @Override
+    public void prefetch(int[] docIds, int length) {
+      _prefetchStarted.countDown();
+      try {
+        _resumePrefetch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (_released.get()) {
+        _prefetchedAfterRelease.set(true);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.apache.pinot.common.request.context.ExpressionContext;
 import org.apache.pinot.common.request.context.RequestContextUtils;
+import org.apache.pinot.core.data.manager.offline.DimensionTable;
 import org.apache.pinot.core.data.manager.offline.DimensionTableDataManager;
 import org.apache.pinot.spi.data.DimensionFieldSpec;
 import org.apache.pinot.spi.data.FieldSpec;
@@ -34,7 +35,10 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.fail;
@@ -108,6 +112,21 @@ public class LookupTransformFunctionTest extends BaseTransformFunctionTest {
       row.putValue("teamBytes", ("teamBytes_for_" + key.toString()).getBytes());
       return row;
     });
+    mockLookupValues(_tableManager);
+  }
+
+  /**
+   * Serves the batch lookups of the mocked table manager from its mocked per-row lookups.
+   */
+  private static void mockLookupValues(DimensionTableDataManager tableManager) {
+    DimensionTable dimensionTable = mock(DimensionTable.class, CALLS_REAL_METHODS);
+    doAnswer(invocation -> tableManager.lookupRowByPrimaryKey(invocation.getArgument(0))).when(dimensionTable)
+        .get(any(PrimaryKey.class));
+    doAnswer(invocation -> {
+      dimensionTable.lookupValues(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2),
+          invocation.getArgument(3));
+      return null;
+    }).when(tableManager).lookupValues(any(), anyInt(), any(), any());
   }
 
   @Test
@@ -366,6 +385,7 @@ public class LookupTransformFunctionTest extends BaseTransformFunctionTest {
         row.putValue("lookupColumn", String.format("lookup_value_for_[%s]", key.hashCode()));
         return row;
       });
+      mockLookupValues(mgr);
     }
 
     // PK: [Int]
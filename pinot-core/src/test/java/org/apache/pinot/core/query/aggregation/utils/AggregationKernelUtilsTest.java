@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.aggregation.utils;
+
+import java.util.Random;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.query.aggregation.groupby.DoubleGroupByResultHolder;
+import org.apache.pinot.core.query.aggregation.groupby.GroupKeyGenerator;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+public class AggregationKernelUtilsTest {
+  private static final Random RANDOM = new Random();
+  private static final int NUM_VALUES = 1000;
+  private static final int NUM_GROUPS = 50;
+
+  @Test
+  public void testKernels() {
+    for (DataType dataType : new DataType[]{DataType.INT, DataType.LONG, DataType.FLOAT, DataType.DOUBLE}) {
+      BlockValSet blockValSet = mock(BlockValSet.class);
+      when(blockValSet.getValueType()).thenReturn(dataType);
+      double[] doubleValues = new double[NUM_VALUES];
+      switch (dataType) {
+        case INT: {
+          int[] values = new int[NUM_VALUES];
+          for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = RANDOM.nextInt();
+            doubleValues[i] = values[i];
+          }
+          when(blockValSet.getIntValuesSV()).thenReturn(values);
+          break;
+        }
+        case LONG: {
+          long[] values = new long[NUM_VALUES];
+          for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = RANDOM.nextLong();
+            doubleValues[i] = values[i];
+          }
+          when(blockValSet.getLongValuesSV()).thenReturn(values);
+          break;
+        }
+        case FLOAT: {
+          float[] values = new float[NUM_VALUES];
+          for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = RANDOM.nextFloat() * 1000 - 500;
+            doubleValues[i] = values[i];
+          }
+          when(blockValSet.getFloatValuesSV()).thenReturn(values);
+          break;
+        }
+        default: {
+          for (int i = 0; i < NUM_VALUES; i++) {
+            doubleValues[i] = RANDOM.nextDouble() * 1000 - 500;
+          }
+          break;
+        }
+      }
+      when(blockValSet.getDoubleValuesSV()).thenReturn(doubleValues);
+
+      // Only test the first part of the block, with some invalid group keys
+      int length = NUM_VALUES - RANDOM.nextInt(100);
+      int[] groupKeys = new int[NUM_VALUES];
+      for (int i = 0; i < NUM_VALUES; i++) {
+        groupKeys[i] = RANDOM.nextInt(10) == 0 ? GroupKeyGenerator.INVALID_ID : RANDOM.nextInt(NUM_GROUPS);
+      }
+
+      // Sum
+      double expectedSum = 0;
+      for (int i = 0; i < length; i++) {
+        expectedSum += doubleValues[i];
+      }
+      if (dataType == DataType.INT) {
+        // Int values are accumulated exactly
+        long longSum = 0;
+        for (int i = 0; i < length; i++) {
+          longSum += (long) doubleValues[i];
+        }
+        expectedSum = longSum;
+      }
+      assertEquals(AggregationKernelUtils.sumSV(length, blockValSet), expectedSum);
+
+      // Group-by results should be identical to the per value updates
+      DoubleGroupByResultHolder expectedHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, 0.0);
+      DoubleGroupByResultHolder actualHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, 0.0);
+      for (int i = 0; i < length; i++) {
+        expectedHolder.setValueForKey(groupKeys[i], expectedHolder.getDoubleResult(groupKeys[i]) + doubleValues[i]);
+      }
+      AggregationKernelUtils.sumGroupBySV(length, groupKeys, blockValSet, actualHolder.getResultArray());
+      assertEquals(actualHolder.getResultArray(), expectedHolder.getResultArray());
+
+      expectedHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, Double.POSITIVE_INFINITY);
+      actualHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, Double.POSITIVE_INFINITY);
+      for (int i = 0; i < length; i++) {
+        if (doubleValues[i] < expectedHolder.getDoubleResult(groupKeys[i])) {
+          expectedHolder.setValueForKey(groupKeys[i], doubleValues[i]);
+        }
+      }
+      AggregationKernelUtils.minGroupBySV(length, groupKeys, blockValSet, actualHolder.getResultArray());
+      assertEquals(actualHolder.getResultArray(), expectedHolder.getResultArray());
+
+      expectedHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, Double.NEGATIVE_INFINITY);
+      actualHolder = new DoubleGroupByResultHolder(NUM_GROUPS, NUM_GROUPS, Double.NEGATIVE_INFINITY);
+      for (int i = 0; i < length; i++) {
+        if (doubleValues[i] > expectedHolder.getDoubleResult(groupKeys[i])) {
+          expectedHolder.setValueForKey(groupKeys[i], doubleValues[i]);
+        }
+      }
+      AggregationKernelUtils.maxGroupBySV(length, groupKeys, blockValSet, actualHolder.getResultArray());
+      assertEquals(actualHolder.getResultArray(), expectedHolder.getResultArray());
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.prefetch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.metrics.ServerMeter;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.core.operator.dociditerators.BitmapDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.SVScanDocIdIterator;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.util.TestUtils;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class ForwardIndexPrefetcherTest {
+  private static final int NUM_DOCS = 200_000;
+  private static final String QUERY = "SELECT SUM(col) FROM testTable WHERE col > 0";
+
+  private ServerMetrics _serverMetrics;
+
+  @BeforeClass
+  public void setUp() {
+    _serverMetrics = mock(ServerMetrics.class);
+    ForwardIndexPrefetcher.init(1, _serverMetrics);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    ForwardIndexPrefetcher.init(0, _serverMetrics);
+  }
+
+  @Test
+  public void testPrefetchBitmap() {
+    ForwardIndexPrefetcher prefetcher = ForwardIndexPrefetcher.getInstance();
+    assertNotNull(prefetcher);
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(QUERY);
+    RecordingForwardIndexReader forwardIndexReader = new RecordingForwardIndexReader();
+    ForwardIndexPrefetcher.SegmentPrefetch segmentPrefetch =
+        prefetcher.newSegmentPrefetch(queryContext, Collections.singletonList(mockDataSource(forwardIndexReader)));
+
+    // Match every other document, where the first block of 10000 matching documents ends at 19998
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    for (int docId = 0; docId < NUM_DOCS; docId += 2) {
+      docIds.add(docId);
+    }
+    BitmapDocIdIterator docIdIterator = new BitmapDocIdIterator(docIds, NUM_DOCS);
+    segmentPrefetch.onBlock(docIdIterator, 19998);
+
+    // The window of matching documents after the first block should be prefetched
+    int windowNumDocs = ForwardIndexPrefetcher.PREFETCH_WINDOW_NUM_DOCS;
+    TestUtils.waitForCondition(aVoid -> !segmentPrefetch.isPrefetching(), 10_000L,
+        "Failed to prefetch the first window");
+    assertEquals(forwardIndexReader.getNumPrefetchedDocIds(), windowNumDocs);
+
+    // The window should slide with the second block
+    segmentPrefetch.onBlock(docIdIterator, 39998);
+    verify(_serverMetrics).addMeteredGlobalValue(ServerMeter.FORWARD_INDEX_PREFETCH_HITS, 1);
+    TestUtils.waitForCondition(aVoid -> !segmentPrefetch.isPrefetching(), 10_000L,
+        "Failed to prefetch the second window");
+    ForwardIndexPrefetcher.cancel(queryContext);
+
+    // The matching documents should be prefetched in order, and not beyond the window
+    List<Integer> prefetchedDocIds = forwardIndexReader.getPrefetchedDocIds();
+    assertEquals(prefetchedDocIds.size(), windowNumDocs + 10000);
+    for (int i = 0; i < prefetchedDocIds.size(); i++) {
+      assertEquals((int) prefetchedDocIds.get(i), 20000 + 2 * i);
+    }
+  }
+
+  @Test
+  public void testNoPrefetchAfterClose() {
+    ForwardIndexPrefetcher prefetcher = ForwardIndexPrefetcher.getInstance();
+    assertNotNull(prefetcher);
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(QUERY);
+    RecordingForwardIndexReader forwardIndexReader = new RecordingForwardIndexReader();
+    ForwardIndexPrefetcher.SegmentPrefetch segmentPrefetch =
+        prefetcher.newSegmentPrefetch(queryContext, Collections.singletonList(mockDataSource(forwardIndexReader)));
+
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    docIds.add(0L, NUM_DOCS);
+    BitmapDocIdIterator docIdIterator = new BitmapDocIdIterator(docIds, NUM_DOCS);
+    segmentPrefetch.onBlock(docIdIterator, 9999);
+
+    // Closing the prefetch should wait for the running prefetch task to stop
+    segmentPrefetch.close();
+    int numPrefetchedDocIds = forwardIndexReader.getNumPrefetchedDocIds();
+    assertTrue(numPrefetchedDocIds <= ForwardIndexPrefetcher.PREFETCH_WINDOW_NUM_DOCS);
+
+    // The window should not slide after the prefetch is closed
+    segmentPrefetch.onBlock(docIdIterator, 19999);
+    ForwardIndexPrefetcher.cancel(queryContext);
+    assertEquals(forwardIndexReader.getNumPrefetchedDocIds(), numPrefetchedDocIds);
+  }
+
+  @Test
+  public void testNoPrefetchWithoutBitmap() {
+    ForwardIndexPrefetcher prefetcher = ForwardIndexPrefetcher.getInstance();
+    assertNotNull(prefetcher);
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(QUERY);
+    RecordingForwardIndexReader forwardIndexReader = new RecordingForwardIndexReader();
+    ForwardIndexPrefetcher.SegmentPrefetch segmentPrefetch =
+        prefetcher.newSegmentPrefetch(queryContext, Collections.singletonList(mockDataSource(forwardIndexReader)));
+
+    // Scan based filters do not produce the matching documents ahead of the projection
+    segmentPrefetch.onBlock(mock(SVScanDocIdIterator.class), 9999);
+    segmentPrefetch.onBlock(mock(SVScanDocIdIterator.class), 19999);
+    ForwardIndexPrefetcher.cancel(queryContext);
+    assertTrue(forwardIndexReader.getPrefetchedDocIds().isEmpty());
+    verify(_serverMetrics, never()).addMeteredGlobalValue(any(ServerMeter.class), anyLong());
+  }
+
+  private static DataSource mockDataSource(ForwardIndexReader<?> forwardIndexReader) {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getForwardIndex()).then(invocation -> forwardIndexReader);
+    return dataSource;
+  }
+
+  private static class RecordingForwardIndexReader implements ForwardIndexReader<ForwardIndexReaderContext> {
+    private final List<Integer> _prefetchedDocIds = new ArrayList<>();
+
+    @Override
+    public boolean isDictionaryEncoded() {
+      return true;
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return true;
+    }
+
+    @Override
+    public DataType getStoredType() {
+      return DataType.INT;
+    }
+
+    @Override
+    public synchronized void prefetch(int[] docIds, int length) {
+      for (int i = 0; i < length; i++) {
+        _prefetchedDocIds.add(docIds[i]);
+      }
+    }
+
+    synchronized int getNumPrefetchedDocIds() {
+      return _prefetchedDocIds.size();
+    }
+
+    synchronized List<Integer> getPrefetchedDocIds() {
+      return new ArrayList<>(_prefetchedDocIds);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
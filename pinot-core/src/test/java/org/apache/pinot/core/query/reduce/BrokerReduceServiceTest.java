@@ -39,6 +39,10 @@ import org.apache.pinot.sql.parsers.CalciteSqlCompiler;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 
 public class BrokerReduceServiceTest {
@@ -76,4 +80,103 @@ public class BrokerReduceServiceTest {
     assertEquals(processingExceptions.size(), 1);
     assertEquals(processingExceptions.get(0).getErrorCode(), QueryException.BROKER_TIMEOUT_ERROR_CODE);
   }
+
+  @Test
+  public void testIncrementalReduce()
+      throws IOException {
+    BrokerReduceService brokerReduceService = new BrokerReduceService(new PinotConfiguration(new HashMap<>()));
+
+    // Group-by queries cannot be reduced incrementally
+    BrokerRequest groupByBrokerRequest =
+        CalciteSqlCompiler.compileToBrokerRequest("SELECT COUNT(*) FROM testTable GROUP BY col1");
+    assertNull(brokerReduceService.getIncrementalReducer(groupByBrokerRequest, groupByBrokerRequest, 10_000L));
+
+    BrokerRequest brokerRequest =
+        CalciteSqlCompiler.compileToBrokerRequest("SELECT COUNT(*), SUM(col1) FROM testTable");
+    IncrementalDataTableReducer incrementalReducer =
+        brokerReduceService.getIncrementalReducer(brokerRequest, brokerRequest, 10_000L);
+    assertNotNull(incrementalReducer);
+
+    DataSchema dataSchema = new DataSchema(new String[]{"count(*)", "sum(col1)"},
+        new ColumnDataType[]{ColumnDataType.LONG, ColumnDataType.DOUBLE});
+    Map<ServerRoutingInstance, DataTable> dataTableMap = new HashMap<>();
+    int numInstances = 10;
+    for (int i = 0; i < numInstances; i++) {
+      DataTableBuilder dataTableBuilder = DataTableBuilderFactory.getDataTableBuilder(dataSchema);
+      dataTableBuilder.startRow();
+      dataTableBuilder.setColumn(0, 1L);
+      dataTableBuilder.setColumn(1, (double) i);
+      dataTableBuilder.finishRow();
+      DataTable dataTable = dataTableBuilder.build();
+      ServerRoutingInstance instance = new ServerRoutingInstance("localhost", i, TableType.OFFLINE);
+      dataTableMap.put(instance, dataTable);
+      incrementalReducer.onDataTableReceived(instance, dataTable);
+    }
+    assertEquals(incrementalReducer.getNumDataTablesReduced(), numInstances);
+
+    BrokerResponseNative incrementalBrokerResponse =
+        brokerReduceService.reduceOnIncrementalReducer(incrementalReducer, null);
+    BrokerResponseNative brokerResponse =
+        brokerReduceService.reduceOnDataTable(brokerRequest, brokerRequest, dataTableMap, 10_000L, null);
+    assertTrue(incrementalBrokerResponse.getProcessingExceptions().isEmpty());
+    assertEquals(incrementalBrokerResponse.getResultTable().getDataSchema(),
+        brokerResponse.getResultTable().getDataSchema());
+    assertEquals(incrementalBrokerResponse.getResultTable().getRows().get(0), new Object[]{10L, 45.0});
+    assertEquals(incrementalBrokerResponse.getResultTable().getRows().get(0),
+        brokerResponse.getResultTable().getRows().get(0));
+
+    // Data tables received after the reducer is sealed should be ignored
+    incrementalReducer.onDataTableReceived(new ServerRoutingInstance("localhost", numInstances, TableType.OFFLINE),
+        dataTableMap.values().iterator().next());
+    assertEquals(incrementalReducer.getNumDataTablesReduced(), numInstances);
+    brokerReduceService.shutDown();
+  }
+
+  @Test
+  public void testIncrementalReduceStreamedDataBlocks()
+      throws IOException {
+    BrokerReduceService brokerReduceService = new BrokerReduceService(new PinotConfiguration(new HashMap<>()));
+
+    // Only selection-only queries can be streamed back
+    BrokerRequest aggregationBrokerRequest =
+        CalciteSqlCompiler.compileToBrokerRequest("SELECT COUNT(*) FROM testTable");
+    IncrementalDataTableReducer aggregationReducer =
+        brokerReduceService.getIncrementalReducer(aggregationBrokerRequest, aggregationBrokerRequest, 10_000L);
+    assertNotNull(aggregationReducer);
+    assertFalse(aggregationReducer.isStreamingSupported());
+
+    BrokerRequest brokerRequest = CalciteSqlCompiler.compileToBrokerRequest("SELECT col1 FROM testTable LIMIT 10");
+    IncrementalDataTableReducer incrementalReducer =
+        brokerReduceService.getIncrementalReducer(brokerRequest, brokerRequest, 10_000L);
+    assertNotNull(incrementalReducer);
+    assertTrue(incrementalReducer.isStreamingSupported());
+
+    DataSchema dataSchema = new DataSchema(new String[]{"col1"}, new ColumnDataType[]{ColumnDataType.INT});
+    int numInstances = 2;
+    int numBlocksPerInstance = 3;
+    int numRowsPerBlock = 3;
+    for (int i = 0; i < numInstances; i++) {
+      ServerRoutingInstance instance = new ServerRoutingInstance("localhost", i, TableType.OFFLINE);
+      for (int j = 0; j < numBlocksPerInstance; j++) {
+        DataTableBuilder dataTableBuilder = DataTableBuilderFactory.getDataTableBuilder(dataSchema);
+        for (int k = 0; k < numRowsPerBlock; k++) {
+          dataTableBuilder.startRow();
+          dataTableBuilder.setColumn(0, k);
+          dataTableBuilder.finishRow();
+        }
+        incrementalReducer.onDataBlockReceived(instance, dataTableBuilder.build());
+      }
+      // Execution stats are only carried by the final metadata-only data table
+      DataTable metadataDataTable = DataTableBuilderFactory.getEmptyDataTable();
+      metadataDataTable.getMetadata().put(DataTable.MetadataKey.NUM_DOCS_SCANNED.getName(), "9");
+      incrementalReducer.onDataTableReceived(instance, metadataDataTable);
+    }
+    assertEquals(incrementalReducer.getNumDataTablesReduced(), numInstances * numBlocksPerInstance);
+
+    BrokerResponseNative brokerResponse = brokerReduceService.reduceOnIncrementalReducer(incrementalReducer, null);
+    assertTrue(brokerResponse.getProcessingExceptions().isEmpty());
+    assertEquals(brokerResponse.getResultTable().getRows().size(), 10);
+    assertEquals(brokerResponse.getNumDocsScanned(), 18L);
+    brokerReduceService.shutDown();
+  }
 }
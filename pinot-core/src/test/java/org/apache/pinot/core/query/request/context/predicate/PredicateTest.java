@@ -66,6 +66,11 @@ public class PredicateTest {
     // TextMatchPredicate
     assertEquals(testSerDe("TEXT_MATCH(foo\t ,\t'bar')"), "text_match(foo,'bar')");
 
+    // VectorSimilarityPredicate
+    assertEquals(testSerDe("vector_similarity(foo,\tARRAY[1, -2.5,3e-2] , 5)"),
+        "vector_similarity(foo,ARRAY[1.0,-2.5,0.03],5)");
+    assertEquals(testSerDe("VECTOR_SIMILARITY(foo, ARRAY[1.5])"), "vector_similarity(foo,ARRAY[1.5],10)");
+
     // IsNullPredicate
     assertEquals(testSerDe("foo\tis\tnull"), "foo IS NULL");
 
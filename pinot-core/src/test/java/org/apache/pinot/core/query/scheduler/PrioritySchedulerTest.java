@@ -21,6 +21,7 @@ package org.apache.pinot.core.query.scheduler;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.grpc.stub.StreamObserver;
+import io.netty.buffer.ByteBuf;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -103,7 +104,7 @@ public class PrioritySchedulerTest {
     PropertiesConfiguration conf = new PropertiesConfiguration();
     conf.setProperty(ResourceLimitPolicy.TABLE_THREADS_HARD_LIMIT, 5);
     conf.setProperty(MultiLevelPriorityQueue.MAX_PENDING_PER_GROUP_KEY, 5);
-    List<ListenableFuture<byte[]>> results = new ArrayList<>();
+    List<ListenableFuture<ByteBuf>> results = new ArrayList<>();
     results.add(scheduler.submit(createServerQueryRequest("1", METRICS)));
     TestSchedulerGroup group = TestPriorityScheduler._groupFactory._groupMap.get("1");
     group.addReservedThreads(10);
@@ -115,8 +116,8 @@ public class PrioritySchedulerTest {
     long sleepTimeMs = queueWakeTimeMicros >= 1000 ? queueWakeTimeMicros / 1000 + 10 : 10;
     Thread.sleep(sleepTimeMs);
     int hasServerShuttingDownError = 0;
-    for (ListenableFuture<byte[]> result : results) {
-      DataTable table = DataTableFactory.getDataTable(result.get());
+    for (ListenableFuture<ByteBuf> result : results) {
+      DataTable table = DataTableFactory.getDataTable(result.get().nioBuffer());
       hasServerShuttingDownError +=
           table.getExceptions().containsKey(QueryException.SERVER_SCHEDULER_DOWN_ERROR.getErrorCode()) ? 1 : 0;
     }
@@ -137,7 +138,7 @@ public class PrioritySchedulerTest {
     TestPriorityScheduler scheduler = TestPriorityScheduler.create(new PinotConfiguration(properties));
     int totalPermits = scheduler.getRunningQueriesSemaphore().availablePermits();
     scheduler.start();
-    ListenableFuture<byte[]> result = scheduler.submit(createServerQueryRequest("1", METRICS));
+    ListenableFuture<ByteBuf> result = scheduler.submit(createServerQueryRequest("1", METRICS));
     _startupBarrier.await();
     TestSchedulerGroup group = TestPriorityScheduler._groupFactory._groupMap.get("1");
     assertEquals(group.numRunning(), 1);
@@ -147,8 +148,7 @@ public class PrioritySchedulerTest {
     // number of segments. On servers with less cores, this can assign only 1 thread (less than total segments)
     assertTrue(group.totalReservedThreads() <= 2 /* 2: numSegments in request*/);
     _validationBarrier.await();
-    byte[] resultData = result.get();
-    DataTable table = DataTableFactory.getDataTable(resultData);
+    DataTable table = DataTableFactory.getDataTable(result.get().nioBuffer());
     assertEquals(table.getMetadata().get(MetadataKey.TABLE.getName()), "1");
     // verify that accounting is handled right
     assertEquals(group.numPending(), 0);
@@ -175,7 +175,7 @@ public class PrioritySchedulerTest {
     final TestPriorityScheduler scheduler = TestPriorityScheduler.create(new PinotConfiguration(properties));
     scheduler.start();
     final Random random = new Random();
-    final ConcurrentLinkedQueue<ListenableFuture<byte[]>> results = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<ListenableFuture<ByteBuf>> results = new ConcurrentLinkedQueue<>();
     final int numThreads = 3;
     final int queriesPerThread = 10;
     _numQueries = new CountDownLatch(numThreads * queriesPerThread);
@@ -207,13 +207,13 @@ public class PrioritySchedulerTest {
     properties.put(MultiLevelPriorityQueue.MAX_PENDING_PER_GROUP_KEY, 1);
     TestPriorityScheduler scheduler = TestPriorityScheduler.create(new PinotConfiguration(properties));
     scheduler.start();
-    List<ListenableFuture<byte[]>> results = new ArrayList<>();
+    List<ListenableFuture<ByteBuf>> results = new ArrayList<>();
     results.add(scheduler.submit(createServerQueryRequest("1", METRICS)));
     TestSchedulerGroup group = TestPriorityScheduler._groupFactory._groupMap.get("1");
     group.addReservedThreads(10);
     group.addLast(createQueryRequest("1", METRICS));
     results.add(scheduler.submit(createServerQueryRequest("1", METRICS)));
-    DataTable dataTable = DataTableFactory.getDataTable(results.get(1).get());
+    DataTable dataTable = DataTableFactory.getDataTable(results.get(1).get().nioBuffer());
     assertTrue(dataTable.getMetadata()
         .containsKey(DataTable.EXCEPTION_METADATA_KEY + QueryException.SERVER_OUT_OF_CAPACITY_ERROR.getErrorCode()));
     scheduler.stop();
@@ -223,9 +223,9 @@ public class PrioritySchedulerTest {
   public void testSubmitBeforeRunning()
       throws ExecutionException, InterruptedException, IOException {
     TestPriorityScheduler scheduler = TestPriorityScheduler.create();
-    ListenableFuture<byte[]> result = scheduler.submit(createServerQueryRequest("1", METRICS));
+    ListenableFuture<ByteBuf> result = scheduler.submit(createServerQueryRequest("1", METRICS));
     // start is not called
-    DataTable response = DataTableFactory.getDataTable(result.get());
+    DataTable response = DataTableFactory.getDataTable(result.get().nioBuffer());
     assertTrue(response.getExceptions().containsKey(QueryException.SERVER_SCHEDULER_DOWN_ERROR.getErrorCode()));
     assertFalse(response.getMetadata().containsKey(MetadataKey.TABLE.getName()));
     scheduler.stop();
@@ -19,18 +19,22 @@
 package org.apache.pinot.core.query.scheduler;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.buffer.ByteBuf;
 import java.util.concurrent.atomic.LongAccumulator;
 import org.apache.pinot.common.metrics.ServerMetrics;
 import org.apache.pinot.core.query.executor.QueryExecutor;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
+import org.apache.pinot.core.query.scheduler.cpushare.CpuShareScheduler;
 import org.apache.pinot.core.query.scheduler.fcfs.BoundedFCFSScheduler;
 import org.apache.pinot.core.query.scheduler.fcfs.FCFSQueryScheduler;
+import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
 import org.apache.pinot.core.query.scheduler.resources.UnboundedResourceManager;
 import org.apache.pinot.core.query.scheduler.tokenbucket.TokenPriorityScheduler;
 import org.apache.pinot.spi.env.PinotConfiguration;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
 
@@ -55,6 +59,18 @@ public class QuerySchedulerFactoryTest {
     queryScheduler = QuerySchedulerFactory.create(config, queryExecutor, serverMetrics, latestQueryTime);
     assertTrue(queryScheduler instanceof BoundedFCFSScheduler);
 
+    config.setProperty(QuerySchedulerFactory.ALGORITHM_NAME_CONFIG_KEY, QuerySchedulerFactory.CPU_SHARE_ALGORITHM);
+    queryScheduler = QuerySchedulerFactory.create(config, queryExecutor, serverMetrics, latestQueryTime);
+    assertTrue(queryScheduler instanceof CpuShareScheduler);
+
+    // CPU share scheduler cannot run queries on virtual threads as their CPU time is not measured
+    PinotConfiguration virtualThreadsConfig = new PinotConfiguration();
+    virtualThreadsConfig.setProperty(QuerySchedulerFactory.ALGORITHM_NAME_CONFIG_KEY,
+        QuerySchedulerFactory.CPU_SHARE_ALGORITHM);
+    virtualThreadsConfig.setProperty(ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY, true);
+    assertThrows(IllegalStateException.class,
+        () -> QuerySchedulerFactory.create(virtualThreadsConfig, queryExecutor, serverMetrics, latestQueryTime));
+
     config.setProperty(QuerySchedulerFactory.ALGORITHM_NAME_CONFIG_KEY, TestQueryScheduler.class.getName());
     queryScheduler = QuerySchedulerFactory.create(config, queryExecutor, serverMetrics, latestQueryTime);
     assertTrue(queryScheduler instanceof TestQueryScheduler);
@@ -68,7 +84,7 @@ public class QuerySchedulerFactoryTest {
     }
 
     @Override
-    public ListenableFuture<byte[]> submit(ServerQueryRequest queryRequest) {
+    public ListenableFuture<ByteBuf> submit(ServerQueryRequest queryRequest) {
       throw new UnsupportedOperationException();
     }
 
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.cpushare;
+
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.spi.metrics.PinotMetricUtils;
+import org.testng.annotations.Test;
+
+import static org.apache.pinot.core.query.scheduler.TestHelper.createQueryRequest;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class CpuShareSchedulerGroupTest {
+  private static final long CPU_TIME_HALF_LIFE_MS = 1000;
+  private static final ServerMetrics SERVER_METRICS = new ServerMetrics(PinotMetricUtils.getPinotMetricsRegistry());
+
+  private long _timeMillis = 100;
+
+  class TestCpuShareSchedulerGroup extends CpuShareSchedulerGroup {
+    TestCpuShareSchedulerGroup(String name, double cpuShare, int maxRunningQueries) {
+      super(name, cpuShare, maxRunningQueries, CPU_TIME_HALF_LIFE_MS, SERVER_METRICS);
+    }
+
+    @Override
+    protected long currentTimeMillis() {
+      return _timeMillis;
+    }
+  }
+
+  @Test
+  public void testCpuTimeWeightedByShare() {
+    TestCpuShareSchedulerGroup lhs = new TestCpuShareSchedulerGroup("lhs", 1, 10);
+    TestCpuShareSchedulerGroup rhs = new TestCpuShareSchedulerGroup("rhs", 4, 10);
+    assertEquals(lhs.compareTo(rhs), 0);
+    assertTrue(lhs.compareTo(null) > 0);
+
+    // Non-positive CPU time is ignored
+    lhs.addCpuTimeNs(0);
+    lhs.addCpuTimeNs(-1);
+    assertEquals(lhs.getCpuTimeNsPerShare(), 0.0);
+
+    // Same CPU time charged, but rhs has 4 times the share so it has higher priority
+    lhs.addCpuTimeNs(1000);
+    rhs.addCpuTimeNs(1000);
+    assertEquals(lhs.getCpuTimeNsPerShare(), 1000.0);
+    assertEquals(rhs.getCpuTimeNsPerShare(), 250.0);
+    assertTrue(lhs.compareTo(rhs) < 0);
+    assertTrue(rhs.compareTo(lhs) > 0);
+
+    // rhs can use up to 4 times the CPU of lhs before losing priority
+    rhs.addCpuTimeNs(3000);
+    assertEquals(lhs.compareTo(rhs), 0);
+    rhs.addCpuTimeNs(1);
+    assertTrue(lhs.compareTo(rhs) > 0);
+  }
+
+  @Test
+  public void testFcfsOnTie() {
+    TestCpuShareSchedulerGroup lhs = new TestCpuShareSchedulerGroup("lhs", 1, 10);
+    TestCpuShareSchedulerGroup rhs = new TestCpuShareSchedulerGroup("rhs", 1, 10);
+    lhs.addLast(createQueryRequest("lhs", SERVER_METRICS, 2000));
+    rhs.addLast(createQueryRequest("rhs", SERVER_METRICS, 1000));
+    // Both have no CPU time charged, rhs has the earlier query
+    assertTrue(lhs.compareTo(rhs) < 0);
+    assertTrue(rhs.compareTo(lhs) > 0);
+  }
+
+  @Test
+  public void testCpuTimeDecay() {
+    _timeMillis = 100;
+    TestCpuShareSchedulerGroup group = new TestCpuShareSchedulerGroup("group", 2, 10);
+    group.addCpuTimeNs(8000);
+    assertEquals(group.getCpuTimeNsPerShare(), 4000.0);
+
+    _timeMillis += CPU_TIME_HALF_LIFE_MS;
+    assertEquals(group.getCpuTimeNsPerShare(), 2000.0, 1e-6);
+
+    // New CPU time is added on top of the decayed CPU time
+    group.addCpuTimeNs(4000);
+    assertEquals(group.getCpuTimeNsPerShare(), 4000.0, 1e-6);
+
+    _timeMillis += 2 * CPU_TIME_HALF_LIFE_MS;
+    assertEquals(group.getCpuTimeNsPerShare(), 1000.0, 1e-6);
+
+    // An idle group regains priority over a busy group with the same share
+    TestCpuShareSchedulerGroup busyGroup = new TestCpuShareSchedulerGroup("busyGroup", 2, 10);
+    busyGroup.addCpuTimeNs(4000);
+    assertTrue(group.compareTo(busyGroup) > 0);
+  }
+
+  @Test
+  public void testMaxRunningQueries() {
+    TestCpuShareSchedulerGroup group = new TestCpuShareSchedulerGroup("group", 1, 2);
+    assertEquals(group.getMaxRunningQueries(), 2);
+    assertTrue(group.canStartQuery());
+    for (int i = 0; i < 3; i++) {
+      group.addLast(createQueryRequest("group", SERVER_METRICS));
+    }
+
+    assertNotNull(group.removeFirst());
+    group.startQuery();
+    assertTrue(group.canStartQuery());
+    assertNotNull(group.removeFirst());
+    group.startQuery();
+    assertFalse(group.canStartQuery());
+
+    group.endQuery();
+    assertTrue(group.canStartQuery());
+    assertEquals(group.numPending(), 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidCpuShare() {
+    new TestCpuShareSchedulerGroup("group", 0, 10);
+  }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.query.scheduler.resources;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pinot.util.TestUtils;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class ConcurrencyLimitedExecutorServiceTest {
+
+  @Test
+  public void testConcurrencyLimit()
+      throws Exception {
+    int limit = 3;
+    int numTasks = 10;
+    // Thread-per-task delegate, same as the virtual thread executor
+    ExecutorService delegate = Executors.newCachedThreadPool();
+    ConcurrencyLimitedExecutorService executorService = new ConcurrencyLimitedExecutorService(delegate, limit);
+    AtomicInteger numRunning = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch releaseLatch = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>(numTasks);
+    for (int i = 0; i < numTasks; i++) {
+      // Submitting thread should never block
+      futures.add(executorService.submit(() -> {
+        int running = numRunning.incrementAndGet();
+        maxRunning.accumulateAndGet(running, Math::max);
+        try {
+          releaseLatch.await();
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        numRunning.decrementAndGet();
+      }));
+    }
+
+    TestUtils.waitForCondition(aVoid -> numRunning.get() == limit, 10_000L, "Failed to start tasks up to the limit");
+    assertEquals(executorService.getAvailablePermits(), 0);
+    // Give the remaining tasks a chance to (incorrectly) start
+    Thread.sleep(100L);
+    assertEquals(numRunning.get(), limit);
+
+    releaseLatch.countDown();
+    for (Future<?> future : futures) {
+      future.get(10_000L, TimeUnit.MILLISECONDS);
+    }
+    assertEquals(maxRunning.get(), limit);
+    assertEquals(executorService.getAvailablePermits(), limit);
+
+    executorService.shutdown();
+    assertTrue(executorService.awaitTermination(10_000L, TimeUnit.MILLISECONDS));
+    assertTrue(delegate.isTerminated());
+  }
+}
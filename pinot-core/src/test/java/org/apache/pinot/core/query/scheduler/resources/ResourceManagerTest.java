@@ -22,12 +22,16 @@ import java.util.HashMap;
 import java.util.Map;
 import org.apache.pinot.core.query.request.ServerQueryRequest;
 import org.apache.pinot.core.query.scheduler.SchedulerGroupAccountant;
+import org.apache.pinot.spi.accounting.ThreadResourceUsageProvider;
 import org.apache.pinot.spi.env.PinotConfiguration;
+import org.apache.pinot.spi.utils.VirtualThreadUtils;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 
 
@@ -46,9 +50,51 @@ public class ResourceManagerTest {
     assertTrue(rm.canSchedule(accountant));
   }
 
+  @Test
+  public void testUseVirtualThreads()
+      throws Exception {
+    // Virtual threads cannot be used with thread CPU time measurement, which might be enabled by other tests
+    ThreadResourceUsageProvider.setThreadCpuTimeMeasurementEnabled(false);
+    ResourceManager rm = getResourceManager(getConfig(2, 5), 1, 3);
+    assertFalse(rm.isUseVirtualThreads());
+    rm.stop();
+
+    // Falls back to platform threads when virtual threads are not supported by the current JVM
+    PinotConfiguration config = getConfig(2, 5);
+    config.setProperty(ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY, true);
+    rm = getResourceManager(config, 1, 3);
+    assertEquals(rm.isUseVirtualThreads(), VirtualThreadUtils.isSupported());
+    assertEquals(rm.getNumQueryRunnerThreads(), 2);
+    assertEquals(rm.getNumQueryWorkerThreads(), 5);
+    assertEquals(rm.getQueryRunners().submit(() -> VirtualThreadUtils.isCurrentThreadVirtual()).get(),
+        Boolean.valueOf(rm.isUseVirtualThreads()));
+    assertEquals(rm.getQueryWorkers().submit(() -> VirtualThreadUtils.isCurrentThreadVirtual()).get(),
+        Boolean.valueOf(rm.isUseVirtualThreads()));
+    rm.stop();
+  }
+
+  @Test
+  public void testVirtualThreadsWithThreadCpuTimeMeasurement() {
+    PinotConfiguration config = getConfig(2, 5);
+    config.setProperty(ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY, true);
+    boolean threadCpuTimeMeasurementEnabled = ThreadResourceUsageProvider.isThreadCpuTimeMeasurementEnabled();
+    ThreadResourceUsageProvider.setThreadCpuTimeMeasurementEnabled(true);
+    try {
+      // Skip when thread CPU time measurement is not supported by the current JVM
+      if (ThreadResourceUsageProvider.isThreadCpuTimeMeasurementEnabled()) {
+        assertThrows(IllegalStateException.class, () -> getResourceManager(config, 1, 3));
+      }
+    } finally {
+      ThreadResourceUsageProvider.setThreadCpuTimeMeasurementEnabled(threadCpuTimeMeasurementEnabled);
+    }
+  }
+
   private ResourceManager getResourceManager(int runners, int workers, final int softLimit, final int hardLimit) {
+    return getResourceManager(getConfig(runners, workers), softLimit, hardLimit);
+  }
 
-    return new ResourceManager(getConfig(runners, workers)) {
+  private ResourceManager getResourceManager(PinotConfiguration config, final int softLimit, final int hardLimit) {
+    return new ResourceManager(config) {
 
       @Override
       public QueryExecutorService getExecutorService(ServerQueryRequest query, SchedulerGroupAccountant accountant) {
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.startree;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.operator.blocks.results.AggregationResultsBlock;
+import org.apache.pinot.core.plan.AggregationPlanNode;
+import org.apache.pinot.core.plan.GroupByPlanNode;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.segment.local.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.segment.local.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.segment.local.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.segment.local.segment.readers.GenericRowRecordReader;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.creator.SegmentGeneratorConfig;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.startree.StarTree;
+import org.apache.pinot.segment.spi.index.startree.StarTreeNode;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2Metadata;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Tests the per-segment plan selection between star-tree and scan based on the {@link StarTreeCostModel}.
+ */
+public class StarTreeCostModelTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "StarTreeCostModelTest");
+  private static final String RAW_TABLE_NAME = "testTable";
+  private static final String SEGMENT_NAME = "testSegment";
+
+  // Each (d1, d2) combination appears exactly once
+  private static final int D1_CARDINALITY = 1000;
+  private static final int D2_CARDINALITY = 100;
+  private static final int NUM_RECORDS = D1_CARDINALITY * D2_CARDINALITY;
+  private static final String D1 = "d1";
+  private static final String D2 = "d2";
+  private static final String METRIC = "m";
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder().setSchemaName(RAW_TABLE_NAME)
+      .addSingleValueDimension(D1, DataType.INT).addSingleValueDimension(D2, DataType.INT)
+      .addMetric(METRIC, DataType.LONG).build();
+  // Split on the low cardinality d2 first without star-node, so that filtering on d1 needs to traverse all d2 nodes
+  private static final TableConfig TABLE_CONFIG = new TableConfigBuilder(TableType.OFFLINE).setTableName(RAW_TABLE_NAME)
+      .setInvertedIndexColumns(Collections.singletonList(D1)).setStarTreeIndexConfigs(Collections.singletonList(
+          new StarTreeIndexConfig(Arrays.asList(D2, D1), Collections.singletonList(D2),
+              Collections.singletonList("sum__" + METRIC), 10))).build();
+
+  private IndexSegment _indexSegment;
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      GenericRow record = new GenericRow();
+      record.putValue(D1, i % D1_CARDINALITY);
+      record.putValue(D2, i / D1_CARDINALITY);
+      record.putValue(METRIC, (long) i);
+      records.add(record);
+    }
+
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(TABLE_CONFIG, SCHEMA);
+    segmentGeneratorConfig.setSegmentName(SEGMENT_NAME);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getPath());
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(records));
+    driver.build();
+
+    _indexSegment =
+        ImmutableSegmentLoader.load(new File(INDEX_DIR, SEGMENT_NAME), new IndexLoadingConfig(null, TABLE_CONFIG));
+  }
+
+  @Test
+  public void testAggregation() {
+    // No filter: star-tree directly gives the pre-aggregated record
+    testAggregation("SELECT SUM(m) FROM testTable", StarTreeCostModel.Strategy.STAR_TREE,
+        (double) NUM_RECORDS * (NUM_RECORDS - 1) / 2);
+
+    // Filter on the split dimension with star-node
+    long expectedSum = 0;
+    for (int d1 = 0; d1 < D1_CARDINALITY; d1++) {
+      expectedSum += 5 * D1_CARDINALITY + d1;
+    }
+    testAggregation("SELECT SUM(m) FROM testTable WHERE d2 = 5", StarTreeCostModel.Strategy.STAR_TREE, expectedSum);
+
+    // Selective inverted index filter on d1, where star-tree needs to traverse all the d2 nodes
+    expectedSum = 0;
+    for (int d2 = 0; d2 < D2_CARDINALITY; d2++) {
+      expectedSum += d2 * D1_CARDINALITY + 5;
+    }
+    testAggregation("SELECT SUM(m) FROM testTable WHERE d1 = 5", StarTreeCostModel.Strategy.SCAN, expectedSum);
+  }
+
+  private void testAggregation(String query, StarTreeCostModel.Strategy expectedStrategy, double expectedSum) {
+    // Without the cost model, star-tree is always used and no strategy is shown
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(query);
+    Operator<AggregationResultsBlock> operator = new AggregationPlanNode(_indexSegment, queryContext).run();
+    assertFalse(operator.toExplainString().contains("strategy:"));
+    assertEquals(((Number) operator.nextBlock().getResults().get(0)).doubleValue(), expectedSum);
+
+    queryContext = QueryContextConverterUtils.getQueryContext(query);
+    queryContext.setUseStarTreeCostModel(true);
+    operator = new AggregationPlanNode(_indexSegment, queryContext).run();
+    assertTrue(operator.toExplainString().endsWith(", strategy:" + expectedStrategy + ")"));
+    assertEquals(((Number) operator.nextBlock().getResults().get(0)).doubleValue(), expectedSum);
+  }
+
+  @Test
+  public void testGroupBy() {
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext(
+        "SELECT d2, SUM(m) FROM testTable GROUP BY d2");
+    queryContext.setUseStarTreeCostModel(true);
+    assertTrue(new GroupByPlanNode(_indexSegment, queryContext).run().toExplainString()
+        .endsWith(", strategy:STAR_TREE)"));
+
+    queryContext = QueryContextConverterUtils.getQueryContext(
+        "SELECT d2, SUM(m) FROM testTable WHERE d1 = 5 GROUP BY d2");
+    queryContext.setUseStarTreeCostModel(true);
+    assertTrue(new GroupByPlanNode(_indexSegment, queryContext).run().toExplainString()
+        .endsWith(", strategy:SCAN)"));
+  }
+
+  @Test
+  public void testStarTreeWithoutNumNodes() {
+    // Star-tree not tracking the number of nodes should fall back to bound the nodes with the matching paths only
+    StarTreeV2 starTree = _indexSegment.getStarTrees().get(0);
+    StarTree starTreeWithoutNumNodes = new StarTree() {
+      @Override
+      public StarTreeNode getRoot() {
+        return starTree.getStarTree().getRoot();
+      }
+
+      @Override
+      public List<String> getDimensionNames() {
+        return starTree.getStarTree().getDimensionNames();
+      }
+
+      @Override
+      public void printTree(Map<String, Dictionary> dictionaryMap) {
+        starTree.getStarTree().printTree(dictionaryMap);
+      }
+    };
+    StarTreeV2 starTreeV2WithoutNumNodes = new StarTreeV2() {
+      @Override
+      public StarTree getStarTree() {
+        return starTreeWithoutNumNodes;
+      }
+
+      @Override
+      public StarTreeV2Metadata getMetadata() {
+        return starTree.getMetadata();
+      }
+
+      @Override
+      public DataSource getDataSource(String columnName) {
+        return starTree.getDataSource(columnName);
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+    assertEquals(starTreeWithoutNumNodes.getNumNodes(), -1);
+    assertEquals(StarTreeCostModel.estimateStarTreeCost(_indexSegment, starTreeV2WithoutNumNodes,
+        Collections.emptyMap(), Collections.emptySet()), StarTreeCostModel.estimateStarTreeCost(_indexSegment,
+        starTree, Collections.emptyMap(), Collections.emptySet()));
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _indexSegment.destroy();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
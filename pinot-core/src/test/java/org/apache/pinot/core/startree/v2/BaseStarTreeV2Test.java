@@ -168,11 +168,12 @@ abstract class BaseStarTreeV2Test<R, A> {
             new AggregationFunctionColumnPair(_valueAggregator.getAggregationType(), METRIC).toColumnName()),
         MAX_LEAF_RECORDS);
     File indexDir = new File(TEMP_DIR, SEGMENT_NAME);
-    // Randomly build star-tree using on-heap or off-heap mode
+    // Randomly build star-tree using on-heap or off-heap mode, with single or multiple threads
     MultipleTreesBuilder.BuildMode buildMode =
         RANDOM.nextBoolean() ? MultipleTreesBuilder.BuildMode.ON_HEAP : MultipleTreesBuilder.BuildMode.OFF_HEAP;
+    int numThreads = RANDOM.nextBoolean() ? 1 : 4;
     try (MultipleTreesBuilder builder = new MultipleTreesBuilder(Collections.singletonList(starTreeIndexConfig), false,
-        indexDir, buildMode)) {
+        indexDir, buildMode, numThreads)) {
       builder.build();
     }
 
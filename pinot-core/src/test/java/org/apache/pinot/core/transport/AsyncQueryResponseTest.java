@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.core.common.datatable.DataTableBuilderFactory;
+import org.apache.pinot.core.transport.server.routing.stats.ServerRoutingStatsManager;
+import org.apache.pinot.spi.config.table.TableType;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+
+public class AsyncQueryResponseTest {
+  private static final ServerRoutingInstance SERVER_1 = new ServerRoutingInstance("server1", 123, TableType.OFFLINE);
+  private static final ServerRoutingInstance SERVER_2 = new ServerRoutingInstance("server2", 123, TableType.OFFLINE);
+  private static final ServerRoutingInstance REPLICA_SERVER =
+      new ServerRoutingInstance("replicaServer", 123, TableType.OFFLINE);
+
+  @Test
+  public void testHedgedRequestWins()
+      throws Exception {
+    AsyncQueryResponse asyncQueryResponse = getAsyncQueryResponse();
+    assertTrue(asyncQueryResponse.canHedge(SERVER_1));
+    assertTrue(asyncQueryResponse.addHedgedRequest(SERVER_1, REPLICA_SERVER));
+    asyncQueryResponse.markRequestSubmitted(REPLICA_SERVER);
+    // Server can only be hedged once
+    assertFalse(asyncQueryResponse.canHedge(SERVER_1));
+    assertFalse(asyncQueryResponse.addHedgedRequest(SERVER_2, REPLICA_SERVER));
+    // Cannot hedge to a server already queried
+    assertFalse(asyncQueryResponse.addHedgedRequest(SERVER_2, SERVER_1));
+
+    // Hedged server going down should not fail the query
+    asyncQueryResponse.markServerDown(SERVER_1, new Exception());
+    assertEquals(asyncQueryResponse.getStatus(), QueryResponse.Status.IN_PROGRESS);
+
+    DataTable replicaDataTable = DataTableBuilderFactory.getEmptyDataTable();
+    assertTrue(asyncQueryResponse.receiveDataTable(REPLICA_SERVER, replicaDataTable, 10, 1));
+    assertFalse(asyncQueryResponse.receiveDataTable(SERVER_2, DataTableBuilderFactory.getEmptyDataTable(), 10, 1));
+    // Late response from the hedged server should be ignored
+    assertFalse(asyncQueryResponse.receiveDataTable(SERVER_1, DataTableBuilderFactory.getEmptyDataTable(), 10, 1));
+    assertEquals(asyncQueryResponse.getNumServersResponded(), 2);
+
+    Map<ServerRoutingInstance, ServerResponse> finalResponses = asyncQueryResponse.getFinalResponses();
+    assertEquals(asyncQueryResponse.getStatus(), QueryResponse.Status.COMPLETED);
+    assertEquals(finalResponses.keySet(), new HashSet<>(Arrays.asList(REPLICA_SERVER, SERVER_2)));
+    assertSame(finalResponses.get(REPLICA_SERVER).getDataTable(), replicaDataTable);
+  }
+
+  @Test
+  public void testHedgedServerWins()
+      throws Exception {
+    AsyncQueryResponse asyncQueryResponse = getAsyncQueryResponse();
+    assertTrue(asyncQueryResponse.addHedgedRequest(SERVER_1, REPLICA_SERVER));
+
+    DataTable dataTable = DataTableBuilderFactory.getEmptyDataTable();
+    assertFalse(asyncQueryResponse.receiveDataTable(SERVER_1, dataTable, 10, 1));
+    // Response for the hedged request should be ignored
+    assertFalse(
+        asyncQueryResponse.receiveDataTable(REPLICA_SERVER, DataTableBuilderFactory.getEmptyDataTable(), 10, 1));
+    assertEquals(asyncQueryResponse.getNumServersResponded(), 1);
+    assertFalse(asyncQueryResponse.receiveDataTable(SERVER_2, DataTableBuilderFactory.getEmptyDataTable(), 10, 1));
+
+    Map<ServerRoutingInstance, ServerResponse> finalResponses = asyncQueryResponse.getFinalResponses();
+    assertEquals(asyncQueryResponse.getStatus(), QueryResponse.Status.COMPLETED);
+    assertEquals(finalResponses.keySet(), new HashSet<>(Arrays.asList(SERVER_1, SERVER_2)));
+    assertSame(finalResponses.get(SERVER_1).getDataTable(), dataTable);
+  }
+
+  @Test
+  public void testCannotHedgeRespondedServer() {
+    AsyncQueryResponse asyncQueryResponse = getAsyncQueryResponse();
+    asyncQueryResponse.receiveDataTable(SERVER_1, DataTableBuilderFactory.getEmptyDataTable(), 10, 1);
+    assertFalse(asyncQueryResponse.canHedge(SERVER_1));
+    assertFalse(asyncQueryResponse.addHedgedRequest(SERVER_1, REPLICA_SERVER));
+    assertTrue(asyncQueryResponse.canHedge(SERVER_2));
+
+    // Query is done
+    asyncQueryResponse.markQueryFailed(SERVER_2, new Exception());
+    assertFalse(asyncQueryResponse.canHedge(SERVER_2));
+  }
+
+  private static AsyncQueryResponse getAsyncQueryResponse() {
+    return new AsyncQueryResponse(mock(QueryRouter.class), 1L, new HashSet<>(Arrays.asList(SERVER_1, SERVER_2)),
+        System.currentTimeMillis(), 10_000L, mock(ServerRoutingStatsManager.class));
+  }
+}
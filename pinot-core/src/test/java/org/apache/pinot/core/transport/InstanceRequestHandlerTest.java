@@ -20,6 +20,7 @@ package org.apache.pinot.core.transport;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListenableFutureTask;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import java.util.HashSet;
@@ -74,7 +75,7 @@ public class InstanceRequestHandlerTest {
     return new QueryScheduler(config, mock(QueryExecutor.class), mock(ResourceManager.class), mock(ServerMetrics.class),
         new LongAccumulator(Long::max, 0)) {
       @Override
-      public ListenableFuture<byte[]> submit(ServerQueryRequest queryRequest) {
+      public ListenableFuture<ByteBuf> submit(ServerQueryRequest queryRequest) {
         // Create a FutureTask does nothing but waits to be cancelled and trigger callbacks.
         return ListenableFutureTask.create(() -> null);
       }
@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.pinot.common.request.BrokerRequest;
+import org.apache.pinot.common.request.InstanceRequest;
+import org.apache.pinot.sql.parsers.CalciteSqlCompiler;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class SegmentDictionaryEncoderTest {
+  private static final BrokerRequest OFFLINE_BROKER_REQUEST =
+      CalciteSqlCompiler.compileToBrokerRequest("SELECT * FROM testTable_OFFLINE");
+  private static final BrokerRequest REALTIME_BROKER_REQUEST =
+      CalciteSqlCompiler.compileToBrokerRequest("SELECT * FROM testTable_REALTIME");
+
+  @Test
+  public void testEncodeDecode()
+      throws Exception {
+    SegmentDictionaryEncoder encoder = new SegmentDictionaryEncoder();
+    SegmentDictionaryDecoder decoder = new SegmentDictionaryDecoder();
+
+    // First request ships all the segment names
+    InstanceRequest request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s0", "s1", "s2"));
+    assertFalse(request.isSetSearchSegments());
+    assertEquals(request.getSegmentDictionaryOffset(), 0);
+    assertEquals(request.getNewSegmentNames(), Arrays.asList("s0", "s1", "s2"));
+    long dictionaryId = request.getSegmentDictionaryId();
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s0", "s1", "s2"));
+    assertFalse(request.isSetSearchSegmentOrdinals());
+
+    // Only the new segment names are shipped
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s3", "s1"));
+    assertEquals(request.getSegmentDictionaryId(), dictionaryId);
+    assertEquals(request.getSegmentDictionaryOffset(), 3);
+    assertEquals(request.getNewSegmentNames(), Collections.singletonList("s3"));
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s1", "s3"));
+
+    // No segment name is shipped when all the segments are known
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s2", "s0"));
+    assertFalse(request.isSetNewSegmentNames());
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s0", "s2"));
+
+    // Empty segment list
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Collections.emptyList());
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Collections.emptyList());
+
+    // Each table has its own dictionary
+    request = sendRequest(encoder, REALTIME_BROKER_REQUEST, Arrays.asList("s1", "r0"));
+    assertEquals(request.getSegmentDictionaryOffset(), 0);
+    assertEquals(request.getNewSegmentNames(), Arrays.asList("s1", "r0"));
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s1", "r0"));
+
+    // Request without segment dictionary encoding should not be touched
+    request = new InstanceRequest(1L, OFFLINE_BROKER_REQUEST);
+    request.setSearchSegments(Collections.singletonList("s4"));
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Collections.singletonList("s4"));
+  }
+
+  @Test
+  public void testReset()
+      throws Exception {
+    SegmentDictionaryEncoder encoder = new SegmentDictionaryEncoder();
+    SegmentDictionaryDecoder decoder = new SegmentDictionaryDecoder();
+    InstanceRequest request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s0", "s1"));
+    long dictionaryId = request.getSegmentDictionaryId();
+    decoder.decode(request);
+
+    // Server should re-create the dictionary after the broker resets it
+    encoder.reset();
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s1", "s2"));
+    assertTrue(request.getSegmentDictionaryId() != dictionaryId);
+    assertEquals(request.getSegmentDictionaryOffset(), 0);
+    assertEquals(request.getNewSegmentNames(), Arrays.asList("s1", "s2"));
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s1", "s2"));
+
+    // Dictionary should be re-created when it grows much larger than the segments queried
+    // The dictionary already has 2 entries, grow it to (MIN_NUM_ENTRIES_TO_RESET + 1) entries
+    dictionaryId = request.getSegmentDictionaryId();
+    for (int i = 0; i < SegmentDictionaryEncoder.MIN_NUM_ENTRIES_TO_RESET - 1; i++) {
+      request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Collections.singletonList("segment_" + i));
+      assertEquals(request.getSegmentDictionaryId(), dictionaryId);
+      decoder.decode(request);
+      assertEquals(request.getSearchSegments(), Collections.singletonList("segment_" + i));
+    }
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Collections.singletonList("s1"));
+    assertTrue(request.getSegmentDictionaryId() != dictionaryId);
+    assertEquals(request.getSegmentDictionaryOffset(), 0);
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Collections.singletonList("s1"));
+  }
+
+  @Test
+  public void testMissingDictionary()
+      throws Exception {
+    SegmentDictionaryEncoder encoder = new SegmentDictionaryEncoder();
+    sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s0", "s1"));
+    InstanceRequest request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s1", "s2"));
+
+    // Server missed the first request
+    SegmentDictionaryDecoder decoder = new SegmentDictionaryDecoder();
+    try {
+      decoder.decode(request);
+      fail("Should fail decoding request with missing segment dictionary");
+    } catch (SegmentDictionaryMismatchException e) {
+      assertTrue(e.getMessage().contains("Missing segment dictionary"));
+      assertEquals(e.getTableNameWithType(), "testTable_OFFLINE");
+    }
+    assertNull(request.getSearchSegments());
+  }
+
+  @Test
+  public void testRecoverFromMismatch()
+      throws Exception {
+    SegmentDictionaryEncoder encoder = new SegmentDictionaryEncoder();
+    SegmentDictionaryDecoder decoder = new SegmentDictionaryDecoder();
+    decoder.decode(sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s0", "s1")));
+    decoder.decode(sendRequest(encoder, REALTIME_BROKER_REQUEST, Collections.singletonList("r0")));
+
+    // Server failed to apply the request shipping "s2", so the following requests keep mismatching
+    sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s1", "s2"));
+    InstanceRequest request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s2", "s3"));
+    try {
+      decoder.decode(request);
+      fail("Should fail decoding request with mismatching segment dictionary");
+    } catch (SegmentDictionaryMismatchException e) {
+      assertEquals(e.getTableNameWithType(), "testTable_OFFLINE");
+    }
+
+    // Broker starts a new dictionary for the table upon the mismatch
+    encoder.reset("testTable_OFFLINE");
+    request = sendRequest(encoder, OFFLINE_BROKER_REQUEST, Arrays.asList("s2", "s3"));
+    assertEquals(request.getSegmentDictionaryOffset(), 0);
+    assertEquals(request.getNewSegmentNames(), Arrays.asList("s2", "s3"));
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Arrays.asList("s2", "s3"));
+
+    // Dictionary of the other table should not be affected
+    request = sendRequest(encoder, REALTIME_BROKER_REQUEST, Collections.singletonList("r0"));
+    assertEquals(request.getSegmentDictionaryOffset(), 1);
+    assertFalse(request.isSetNewSegmentNames());
+    decoder.decode(request);
+    assertEquals(request.getSearchSegments(), Collections.singletonList("r0"));
+  }
+
+  @Test
+  public void testSerDe()
+      throws Exception {
+    InstanceRequest request = new InstanceRequest(1L, OFFLINE_BROKER_REQUEST);
+    request.setSegmentDictionaryId(2L);
+    request.setSegmentDictionaryOffset(3);
+    request.setNewSegmentNames(Arrays.asList("s3", "s4"));
+    request.setSearchSegmentOrdinals(new byte[]{1, 2, 3});
+    request.setBrokerId("broker");
+    InstanceRequest deserializedRequest = serDe(request);
+    assertEquals(deserializedRequest, request);
+    assertEquals(deserializedRequest.getSegmentDictionaryId(), 2L);
+    assertEquals(deserializedRequest.getSegmentDictionaryOffset(), 3);
+    assertEquals(deserializedRequest.getNewSegmentNames(), Arrays.asList("s3", "s4"));
+    assertEquals(deserializedRequest.getSearchSegmentOrdinals(), new byte[]{1, 2, 3});
+    assertEquals(new InstanceRequest(request), request);
+  }
+
+  private static InstanceRequest sendRequest(SegmentDictionaryEncoder encoder, BrokerRequest brokerRequest,
+      List<String> segments)
+      throws Exception {
+    InstanceRequest request = new InstanceRequest(1L, brokerRequest);
+    request.setSearchSegments(new ArrayList<>(segments));
+    encoder.encode(request);
+    return serDe(request);
+  }
+
+  private static InstanceRequest serDe(InstanceRequest request)
+      throws Exception {
+    byte[] bytes = new TSerializer(new TCompactProtocol.Factory()).serialize(request);
+    InstanceRequest deserializedRequest = new InstanceRequest();
+    new TDeserializer(new TCompactProtocol.Factory()).deserialize(deserializedRequest, bytes);
+    return deserializedRequest;
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import org.apache.helix.model.InstanceConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.utils.CommonConstants.Helix;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class ServerInstanceTest {
+
+  @Test
+  public void testSegmentDictionarySupported() {
+    InstanceConfig instanceConfig = new InstanceConfig("Server_localhost_1234");
+    instanceConfig.getRecord().setIntField(Helix.Instance.NETTY_TLS_PORT_KEY, 1235);
+    ServerInstance serverInstance = new ServerInstance(instanceConfig);
+    assertFalse(serverInstance.isSegmentDictionarySupported());
+    assertFalse(serverInstance.toServerRoutingInstance(TableType.OFFLINE, false).isSegmentDictionarySupported());
+
+    instanceConfig.getRecord().setBooleanField(Helix.Instance.SEGMENT_DICTIONARY_SUPPORTED_KEY, true);
+    serverInstance = new ServerInstance(instanceConfig);
+    assertTrue(serverInstance.isSegmentDictionarySupported());
+    assertTrue(serverInstance.toServerRoutingInstance(TableType.OFFLINE, false).isSegmentDictionarySupported());
+    assertTrue(serverInstance.toServerRoutingInstance(TableType.REALTIME, true).isSegmentDictionarySupported());
+    for (ServerInstance.RoutingType routingType : ServerInstance.RoutingType.values()) {
+      if (routingType != ServerInstance.RoutingType.GRPC) {
+        assertTrue(serverInstance.toServerRoutingInstance(TableType.OFFLINE, routingType)
+            .isSegmentDictionarySupported());
+      }
+    }
+  }
+}
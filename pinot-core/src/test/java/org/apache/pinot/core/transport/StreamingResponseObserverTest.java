@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.core.transport;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.common.datatable.DataTable.MetadataKey;
+import org.apache.pinot.common.metrics.BrokerMetrics;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.common.utils.DataSchema.ColumnDataType;
+import org.apache.pinot.core.common.datatable.DataTableBuilder;
+import org.apache.pinot.core.common.datatable.DataTableBuilderFactory;
+import org.apache.pinot.core.operator.streaming.StreamingResponseUtils;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.exception.EarlyTerminationException;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class StreamingResponseObserverTest {
+  private static final ServerRoutingInstance SERVER_ROUTING_INSTANCE =
+      new ServerRoutingInstance("localhost", 12345, TableType.OFFLINE);
+  private static final long REQUEST_ID = 123L;
+
+  @Test
+  public void testStreamDataBlocks()
+      throws Exception {
+    EmbeddedChannel serverChannel = new EmbeddedChannel();
+    StreamingResponseObserver observer =
+        new StreamingResponseObserver(serverChannel, REQUEST_ID, getQueryContext(60_000L), new Object(),
+            mock(ServerMetrics.class));
+    QueryRouter queryRouter = mock(QueryRouter.class);
+    EmbeddedChannel brokerChannel =
+        new EmbeddedChannel(new DataTableHandler(queryRouter, SERVER_ROUTING_INSTANCE, mock(BrokerMetrics.class)));
+
+    DataSchema dataSchema = new DataSchema(new String[]{"col1"}, new ColumnDataType[]{ColumnDataType.INT});
+    DataTableBuilder dataTableBuilder = DataTableBuilderFactory.getDataTableBuilder(dataSchema);
+    for (int i = 0; i < 10; i++) {
+      dataTableBuilder.startRow();
+      dataTableBuilder.setColumn(0, i);
+      dataTableBuilder.finishRow();
+    }
+    observer.onNext(StreamingResponseUtils.getDataResponse(dataTableBuilder.build()));
+    ByteBuf dataBlockBuf = serverChannel.readOutbound();
+    assertNotNull(dataBlockBuf);
+    brokerChannel.writeInbound(dataBlockBuf);
+
+    ArgumentCaptor<DataTable> dataBlockCaptor = ArgumentCaptor.forClass(DataTable.class);
+    verify(queryRouter).receiveDataBlock(eq(SERVER_ROUTING_INSTANCE), eq(REQUEST_ID), dataBlockCaptor.capture(),
+        anyInt(), anyInt());
+    DataTable dataBlock = dataBlockCaptor.getValue();
+    assertEquals(dataBlock.getDataSchema(), dataSchema);
+    assertEquals(dataBlock.getNumberOfRows(), 10);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(dataBlock.getInt(i, 0), i);
+    }
+
+    // The final data table should still be handled as a regular response
+    DataTable metadataDataTable = DataTableBuilderFactory.getEmptyDataTable();
+    metadataDataTable.getMetadata().put(MetadataKey.REQUEST_ID.getName(), Long.toString(REQUEST_ID));
+    brokerChannel.writeInbound(Unpooled.wrappedBuffer(metadataDataTable.toBytes()));
+    verify(queryRouter).receiveDataTable(eq(SERVER_ROUTING_INSTANCE), dataBlockCaptor.capture(), anyInt(), anyInt());
+    assertEquals(dataBlockCaptor.getValue().getMetadata().get(MetadataKey.REQUEST_ID.getName()), "123");
+  }
+
+  @Test
+  public void testBackPressure()
+      throws Exception {
+    AtomicBoolean writable = new AtomicBoolean(false);
+    Channel channel = mock(Channel.class);
+    when(channel.isWritable()).thenAnswer(invocation -> writable.get());
+    when(channel.isActive()).thenReturn(true);
+    when(channel.alloc()).thenReturn(ByteBufAllocator.DEFAULT);
+    Object writabilityLock = new Object();
+    DataTable dataTable = DataTableBuilderFactory.getEmptyDataTable();
+
+    // Should block until the channel becomes writable
+    StreamingResponseObserver observer =
+        new StreamingResponseObserver(channel, REQUEST_ID, getQueryContext(60_000L), writabilityLock,
+            mock(ServerMetrics.class));
+    Thread thread = new Thread(() -> {
+      try {
+        observer.onNext(StreamingResponseUtils.getDataResponse(dataTable));
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    });
+    thread.start();
+    thread.join(100L);
+    assertTrue(thread.isAlive());
+    writable.set(true);
+    synchronized (writabilityLock) {
+      writabilityLock.notifyAll();
+    }
+    thread.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse(thread.isAlive());
+
+    // Should time out when the channel does not become writable before the query deadline
+    writable.set(false);
+    StreamingResponseObserver timedOutObserver =
+        new StreamingResponseObserver(channel, REQUEST_ID, getQueryContext(100L), writabilityLock,
+            mock(ServerMetrics.class));
+    try {
+      timedOutObserver.onNext(StreamingResponseUtils.getDataResponse(dataTable));
+      fail("Should time out while waiting for the channel to become writable");
+    } catch (EarlyTerminationException e) {
+      // Expected
+    }
+  }
+
+  private static QueryContext getQueryContext(long timeoutMs) {
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext("SELECT col1 FROM testTable");
+    queryContext.setEndTimeMs(System.currentTimeMillis() + timeoutMs);
+    return queryContext;
+  }
+}
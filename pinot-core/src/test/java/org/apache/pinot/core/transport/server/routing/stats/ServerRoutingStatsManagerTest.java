@@ -262,6 +262,58 @@ public class ServerRoutingStatsManagerTest {
     assertEquals(score, 54.0);
   }
 
+  @Test
+  public void testCostPerDocStats() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_ENABLE_STATS_COLLECTION, true);
+    properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_EWMA_ALPHA, 0.5);
+    properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_AUTODECAY_WINDOW_MS, -1);
+    properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_WARMUP_DURATION_MS, 0);
+    properties.put(CommonConstants.Broker.AdaptiveServerSelector.CONFIG_OF_AVG_INITIALIZATION_VAL, 1.0);
+    ServerRoutingStatsManager manager = new ServerRoutingStatsManager(new PinotConfiguration(properties));
+    manager.init();
+
+    int requestId = 0;
+
+    // Responses without execution stats do not populate the cost.
+    manager.recordStatsAfterQuerySubmission(requestId++, "server1");
+    manager.recordStatsUponResponseArrival(requestId++, "server1", 10);
+    waitForStatsUpdate(manager, requestId);
+    assertNull(manager.fetchCostPerDocEMAForServer("server1"));
+    assertTrue(manager.fetchCostPerDocEMAForAllServers().isEmpty());
+
+    // Responses without documents scanned do not populate the cost.
+    manager.recordStatsAfterQuerySubmission(requestId++, "server1");
+    manager.recordStatsUponResponseArrival(requestId++, "server1", 10, 5, 0);
+    waitForStatsUpdate(manager, requestId);
+    assertNull(manager.fetchCostPerDocEMAForServer("server1"));
+
+    // The first sample initializes the cost.
+    manager.recordStatsAfterQuerySubmission(requestId++, "server1");
+    manager.recordStatsUponResponseArrival(requestId++, "server1", 10, 8, 1000);
+    waitForStatsUpdate(manager, requestId);
+    assertEquals(manager.fetchCostPerDocEMAForServer("server1"), 0.008);
+
+    manager.recordStatsAfterQuerySubmission(requestId++, "server1");
+    manager.recordStatsUponResponseArrival(requestId++, "server1", 10, 4, 1000);
+    waitForStatsUpdate(manager, requestId);
+    assertEquals(manager.fetchCostPerDocEMAForServer("server1"), 0.006, 1e-9);
+    assertEquals(manager.fetchNumInFlightRequestsForServer("server1").intValue(), 0);
+
+    manager.recordStatsAfterQuerySubmission(requestId++, "server2");
+    manager.recordStatsUponResponseArrival(requestId++, "server2", 10, 1, 1000);
+    waitForStatsUpdate(manager, requestId);
+    List<Pair<String, Double>> costList = manager.fetchCostPerDocEMAForAllServers();
+    assertEquals(costList.size(), 2);
+    assertNull(manager.fetchCostPerDocEMAForServer("server3"));
+
+    // Time used within 1ms (reported as 0ms) is counted as half a millisecond.
+    manager.recordStatsAfterQuerySubmission(requestId++, "server3");
+    manager.recordStatsUponResponseArrival(requestId++, "server3", 10, 0, 1000);
+    waitForStatsUpdate(manager, requestId);
+    assertEquals(manager.fetchCostPerDocEMAForServer("server3"), 0.0005);
+  }
+
   private void waitForStatsUpdate(ServerRoutingStatsManager serverRoutingStatsManager, long taskCount) {
     TestUtils.waitForCondition(aVoid -> {
       return (serverRoutingStatsManager.getCompletedTaskCount() == taskCount);
@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.queries;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.AndDocIdIterator;
+import org.apache.pinot.core.operator.dociditerators.PostingListDocIdIterator;
+import org.apache.pinot.core.operator.filter.AndFilterOperator;
+import org.apache.pinot.core.operator.filter.BaseFilterOperator;
+import org.apache.pinot.core.operator.filter.SkipListIndexBasedFilterOperator;
+import org.apache.pinot.core.plan.FilterPlanNode;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.segment.local.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.segment.local.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.segment.local.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.segment.local.segment.readers.GenericRowRecordReader;
+import org.apache.pinot.segment.spi.ImmutableSegment;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.creator.SegmentGeneratorConfig;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.spi.config.table.FieldConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.JsonUtils;
+import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Tests that EQ and IN predicates on the columns with skip-list inverted index are evaluated on the posting lists, and
+ * return the same results as the same predicates on the columns with bitmap inverted index.
+ */
+public class SkipListIndexQueriesTest extends BaseQueriesTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "SkipListIndexQueriesTest");
+  private static final String RAW_TABLE_NAME = "testTable";
+  private static final String SEGMENT_NAME = "testSegment";
+
+  private static final int NUM_RECORDS = 20_000;
+  private static final String COL_A = "colA";
+  private static final String COL_B = "colB";
+  private static final String COL_C = "colC";
+  private static final String MV_COL = "mvCol";
+  private static final String INV_COL_A = "invColA";
+  private static final String INV_COL_B = "invColB";
+  private static final String INV_COL_C = "invColC";
+  private static final String INV_MV_COL = "invMvCol";
+  private static final List<String> SKIP_LIST_COLUMNS = Arrays.asList(COL_A, COL_B, COL_C, MV_COL);
+  private static final List<String> INVERTED_COLUMNS = Arrays.asList(INV_COL_A, INV_COL_B, INV_COL_C, INV_MV_COL);
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder()
+      .addSingleValueDimension(COL_A, DataType.INT)
+      .addSingleValueDimension(COL_B, DataType.STRING)
+      .addSingleValueDimension(COL_C, DataType.LONG)
+      .addMultiValueDimension(MV_COL, DataType.INT)
+      .addSingleValueDimension(INV_COL_A, DataType.INT)
+      .addSingleValueDimension(INV_COL_B, DataType.STRING)
+      .addSingleValueDimension(INV_COL_C, DataType.LONG)
+      .addMultiValueDimension(INV_MV_COL, DataType.INT)
+      .build();
+
+  private IndexSegment _indexSegment;
+  private List<IndexSegment> _indexSegments;
+
+  @Override
+  protected String getFilter() {
+    return "";
+  }
+
+  @Override
+  protected IndexSegment getIndexSegment() {
+    return _indexSegment;
+  }
+
+  @Override
+  protected List<IndexSegment> getIndexSegments() {
+    return _indexSegments;
+  }
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      int a = i % 7;
+      String b = "b" + i % 11;
+      // Clustered values with runs of consecutive doc ids
+      long c = (i / 100) % 13;
+      Object[] mv = new Object[]{i % 5, 10 + i % 3};
+      GenericRow record = new GenericRow();
+      record.putValue(COL_A, a);
+      record.putValue(COL_B, b);
+      record.putValue(COL_C, c);
+      record.putValue(MV_COL, mv);
+      record.putValue(INV_COL_A, a);
+      record.putValue(INV_COL_B, b);
+      record.putValue(INV_COL_C, c);
+      record.putValue(INV_MV_COL, mv);
+      records.add(record);
+    }
+
+    TableConfig tableConfig = createTableConfig(SKIP_LIST_COLUMNS);
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(tableConfig, SCHEMA);
+    segmentGeneratorConfig.setTableName(RAW_TABLE_NAME);
+    segmentGeneratorConfig.setSegmentName(SEGMENT_NAME);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getPath());
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(records));
+    driver.build();
+
+    ImmutableSegment immutableSegment = ImmutableSegmentLoader.load(new File(INDEX_DIR, SEGMENT_NAME),
+        new IndexLoadingConfig(null, tableConfig, SCHEMA));
+    _indexSegment = immutableSegment;
+    _indexSegments = Arrays.asList(immutableSegment, immutableSegment);
+  }
+
+  private static TableConfig createTableConfig(List<String> skipListColumns)
+      throws Exception {
+    JsonNode skipListIndexes = JsonUtils.stringToJsonNode("{\"skipList\": {}}");
+    List<FieldConfig> fieldConfigs = new ArrayList<>();
+    for (String column : skipListColumns) {
+      fieldConfigs.add(new FieldConfig.Builder(column).withEncodingType(FieldConfig.EncodingType.DICTIONARY)
+          .withIndexes(skipListIndexes).build());
+    }
+    return new TableConfigBuilder(TableType.OFFLINE).setTableName(RAW_TABLE_NAME)
+        .setInvertedIndexColumns(INVERTED_COLUMNS).setFieldConfigList(fieldConfigs).build();
+  }
+
+  @Test
+  public void testSkipListIndexLoaded() {
+    for (String column : SKIP_LIST_COLUMNS) {
+      assertNotNull(_indexSegment.getDataSource(column).getIndex(StandardIndexes.skipList()), column);
+    }
+    for (String column : INVERTED_COLUMNS) {
+      assertNull(_indexSegment.getDataSource(column).getIndex(StandardIndexes.skipList()), column);
+    }
+  }
+
+  @Test
+  public void testAndFilterOnPostingLists() {
+    BaseFilterOperator filterOperator = getFilterOperator(
+        "SELECT * FROM testTable WHERE colA = 3 AND colB = 'b5' AND colC IN (2, 4)");
+    assertTrue(filterOperator instanceof AndFilterOperator);
+    for (Object child : filterOperator.getChildOperators()) {
+      assertTrue(child instanceof SkipListIndexBasedFilterOperator);
+    }
+    BlockDocIdIterator docIdIterator = filterOperator.nextBlock().getBlockDocIdSet().iterator();
+    assertTrue(docIdIterator instanceof AndDocIdIterator);
+    // The shortest posting list (colB = 'b5') leads the intersection
+    BlockDocIdIterator[] docIdIterators = ((AndDocIdIterator) docIdIterator)._docIdIterators;
+    assertEquals(docIdIterators.length, 3);
+    assertTrue(docIdIterators[0] instanceof PostingListDocIdIterator);
+    assertTrue(docIdIterators[1] instanceof PostingListDocIdIterator);
+    assertEquals(((PostingListDocIdIterator) docIdIterators[0]).getNumDocs(), 1818);
+    assertEquals(((PostingListDocIdIterator) docIdIterators[1]).getNumDocs(), 2857);
+  }
+
+  @Test
+  public void testSameResultsAsInvertedIndex() {
+    String[] filters = new String[]{
+        "colA = 3", "colB = 'b5'", "colC IN (2, 4)", "mvCol = 4", "mvCol IN (1, 11)",
+        "colA = 3 AND colB = 'b5'",
+        "colA = 3 AND colB = 'b5' AND colC IN (2, 4)",
+        "colA IN (1, 2) AND mvCol = 11 AND colC = 7",
+        // Mixed with bitmap inverted index and scan
+        "colA = 6 AND invColB = 'b10'",
+        "colA = 6 AND colB = 'b10' AND invColC >= 5",
+        "colA = 6 AND (colB = 'b10' OR colC = 3)",
+        "colA = 6 AND colB != 'b10'",
+        // No match
+        "colA = 3 AND colB = 'b5' AND colC = 100"
+    };
+    for (String filter : filters) {
+      String invertedFilter = filter.replace("colA", "invColA").replace("colB", "invColB")
+          .replace("colC", "invColC").replace("mvCol", "invMvCol").replace("invinv", "inv");
+      BrokerResponseNative expected =
+          getBrokerResponse("SELECT COUNT(*), SUM(invColA) FROM testTable WHERE " + invertedFilter);
+      BrokerResponseNative actual = getBrokerResponse("SELECT COUNT(*), SUM(invColA) FROM testTable WHERE " + filter);
+      assertEquals(actual.getResultTable().getRows().get(0), expected.getResultTable().getRows().get(0), filter);
+      expected = getBrokerResponse(
+          "SELECT invColA, invColB, invColC FROM testTable WHERE " + invertedFilter + " ORDER BY invColC LIMIT 100");
+      actual = getBrokerResponse(
+          "SELECT invColA, invColB, invColC FROM testTable WHERE " + filter + " ORDER BY invColC LIMIT 100");
+      assertEquals(actual.getResultTable().getRows().size(), expected.getResultTable().getRows().size(), filter);
+    }
+  }
+
+  @Test(dependsOnMethods = {"testSkipListIndexLoaded", "testAndFilterOnPostingLists", "testSameResultsAsInvertedIndex"})
+  public void testReload()
+      throws Exception {
+    // Move the skip-list index from colA to invColA
+    TableConfig tableConfig = createTableConfig(Arrays.asList(INV_COL_A, COL_B, COL_C, MV_COL));
+    _indexSegment.destroy();
+    ImmutableSegment immutableSegment =
+        reloadSegment(new File(INDEX_DIR, SEGMENT_NAME), new IndexLoadingConfig(null, tableConfig, SCHEMA), SCHEMA);
+    _indexSegment = immutableSegment;
+    _indexSegments = Arrays.asList(immutableSegment, immutableSegment);
+    assertNull(_indexSegment.getDataSource(COL_A).getIndex(StandardIndexes.skipList()));
+    assertNotNull(_indexSegment.getDataSource(INV_COL_A).getIndex(StandardIndexes.skipList()));
+
+    BrokerResponseNative brokerResponse =
+        getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE invColA = 3 AND colB = 'b5'");
+    // Docs 38 + 77 * k in each of the 4 segments
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 260L);
+    assertEquals(brokerResponse.getNumEntriesScannedInFilter(), 0L);
+  }
+
+  private BaseFilterOperator getFilterOperator(String query) {
+    FilterPlanNode filterPlanNode =
+        new FilterPlanNode(_indexSegment, QueryContextConverterUtils.getQueryContext(query));
+    return filterPlanNode.run();
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _indexSegment.destroy();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
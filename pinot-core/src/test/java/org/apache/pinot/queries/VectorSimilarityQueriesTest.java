@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.queries;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.metadata.segment.SegmentZKMetadata;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.segment.local.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.segment.local.indexsegment.mutable.MutableSegmentImpl;
+import org.apache.pinot.segment.local.io.writer.impl.DirectMemoryManager;
+import org.apache.pinot.segment.local.realtime.impl.RealtimeSegmentConfig;
+import org.apache.pinot.segment.local.realtime.impl.RealtimeSegmentStatsHistory;
+import org.apache.pinot.segment.local.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.segment.local.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.segment.local.segment.readers.GenericRowRecordReader;
+import org.apache.pinot.segment.spi.ImmutableSegment;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.creator.SegmentGeneratorConfig;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.spi.config.table.FieldConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.JsonUtils;
+import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Tests the VECTOR_SIMILARITY predicate on an immutable segment and a consuming segment, with and without vector
+ * index.
+ */
+public class VectorSimilarityQueriesTest extends BaseQueriesTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "VectorSimilarityQueriesTest");
+  private static final String RAW_TABLE_NAME = "testTable";
+  private static final String SEGMENT_NAME = "testSegment";
+
+  private static final int NUM_RECORDS = 1000;
+  private static final int DIMENSION = 4;
+  private static final String ID_COL = "id";
+  // Raw column with vector index
+  private static final String EMBEDDING_COL = "embedding";
+  // Dictionary encoded column without vector index
+  private static final String NO_INDEX_EMBEDDING_COL = "noIndexEmbedding";
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder()
+      .addSingleValueDimension(ID_COL, DataType.INT)
+      .addMultiValueDimension(EMBEDDING_COL, DataType.FLOAT)
+      .addMultiValueDimension(NO_INDEX_EMBEDDING_COL, DataType.FLOAT)
+      .build();
+
+  private IndexSegment _indexSegment;
+  private List<IndexSegment> _indexSegments;
+  private MutableSegmentImpl _mutableSegment;
+
+  @Override
+  protected String getFilter() {
+    return "";
+  }
+
+  @Override
+  protected IndexSegment getIndexSegment() {
+    return _indexSegment;
+  }
+
+  @Override
+  protected List<IndexSegment> getIndexSegments() {
+    return _indexSegments;
+  }
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    // Doc i has vector [i, i + 1, i + 2, i + 3], so the nearest docs to a query are the ones with the closest id
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      Object[] vector = new Object[DIMENSION];
+      for (int j = 0; j < DIMENSION; j++) {
+        vector[j] = (float) (i + j);
+      }
+      GenericRow record = new GenericRow();
+      record.putValue(ID_COL, i);
+      record.putValue(EMBEDDING_COL, vector);
+      record.putValue(NO_INDEX_EMBEDDING_COL, vector);
+      records.add(record);
+    }
+
+    TableConfig tableConfig = createTableConfig(Collections.singletonList(EMBEDDING_COL));
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(tableConfig, SCHEMA);
+    segmentGeneratorConfig.setTableName(RAW_TABLE_NAME);
+    segmentGeneratorConfig.setSegmentName(SEGMENT_NAME);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getPath());
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(records));
+    driver.build();
+
+    _indexSegment = ImmutableSegmentLoader.load(new File(INDEX_DIR, SEGMENT_NAME),
+        new IndexLoadingConfig(null, tableConfig, SCHEMA));
+
+    RealtimeSegmentStatsHistory statsHistory = mock(RealtimeSegmentStatsHistory.class);
+    when(statsHistory.getEstimatedCardinality(anyString())).thenReturn(200);
+    when(statsHistory.getEstimatedAvgColSize(anyString())).thenReturn(32);
+    RealtimeSegmentConfig realtimeSegmentConfig = new RealtimeSegmentConfig.Builder()
+        .setTableNameWithType(RAW_TABLE_NAME + "_REALTIME").setSegmentName(SEGMENT_NAME).setSchema(SCHEMA)
+        .setCapacity(NUM_RECORDS).setAvgNumMultiValues(DIMENSION)
+        .setNoDictionaryColumns(Collections.singleton(EMBEDDING_COL)).setJsonIndexConfigs(Collections.emptyMap())
+        .setVarLengthDictionaryColumns(Collections.emptySet()).setInvertedIndexColumns(Collections.emptySet())
+        .setVectorIndexConfigs(
+            Collections.singletonMap(EMBEDDING_COL, new VectorIndexConfig(DIMENSION, DistanceFunction.EUCLIDEAN)))
+        .setSegmentZKMetadata(new SegmentZKMetadata(SEGMENT_NAME)).setMemoryManager(new DirectMemoryManager(
+            SEGMENT_NAME)).setStatsHistory(statsHistory).setIngestionAggregationConfigs(Collections.emptyList())
+        .build();
+    _mutableSegment = new MutableSegmentImpl(realtimeSegmentConfig, null);
+    for (GenericRow record : records) {
+      _mutableSegment.index(record, null);
+    }
+    _indexSegments = Arrays.asList(_indexSegment, _mutableSegment);
+  }
+
+  private static TableConfig createTableConfig(List<String> vectorIndexColumns)
+      throws Exception {
+    JsonNode vectorIndexes = JsonUtils.stringToJsonNode("{\"vector\": {\"vectorDimension\": " + DIMENSION + "}}");
+    List<FieldConfig> fieldConfigs = new ArrayList<>();
+    for (String column : vectorIndexColumns) {
+      fieldConfigs.add(new FieldConfig.Builder(column).withEncodingType(FieldConfig.EncodingType.RAW)
+          .withIndexes(vectorIndexes).build());
+    }
+    return new TableConfigBuilder(TableType.OFFLINE).setTableName(RAW_TABLE_NAME)
+        .setNoDictionaryColumns(Collections.singletonList(EMBEDDING_COL)).setFieldConfigList(fieldConfigs).build();
+  }
+
+  @Test
+  public void testVectorIndexLoaded() {
+    assertNotNull(_indexSegment.getDataSource(EMBEDDING_COL).getIndex(StandardIndexes.vector()));
+    assertNotNull(_mutableSegment.getDataSource(EMBEDDING_COL).getIndex(StandardIndexes.vector()));
+    assertNull(_indexSegment.getDataSource(NO_INDEX_EMBEDDING_COL).getIndex(StandardIndexes.vector()));
+  }
+
+  @Test
+  public void testTopK() {
+    for (String column : Arrays.asList(EMBEDDING_COL, NO_INDEX_EMBEDDING_COL)) {
+      // Nearest docs to [100.2, 101.2, 102.2, 103.2] are 100, 101, 99, 102, 98
+      assertIds(getBrokerResponse("SELECT id, COUNT(*) FROM testTable WHERE VECTOR_SIMILARITY(" + column
+          + ", ARRAY[100.2, 101.2, 102.2, 103.2], 5) GROUP BY id ORDER BY id"), 98, 102);
+      // Default top-K is 10
+      assertIds(getBrokerResponse("SELECT id, COUNT(*) FROM testTable WHERE VECTOR_SIMILARITY(" + column
+          + ", ARRAY[500.2, 501.2, 502.2, 503.2]) GROUP BY id ORDER BY id"), 496, 505);
+    }
+  }
+
+  @Test
+  public void testAndFilter() {
+    // Other predicates are applied on the top-K nearest docs
+    for (String column : Arrays.asList(EMBEDDING_COL, NO_INDEX_EMBEDDING_COL)) {
+      assertIds(getBrokerResponse("SELECT id, COUNT(*) FROM testTable WHERE VECTOR_SIMILARITY(" + column
+          + ", ARRAY[10, 11, 12, 13], 5) AND id > 10 GROUP BY id ORDER BY id"), 11, 12);
+    }
+    BrokerResponseNative brokerResponse = getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE VECTOR_SIMILARITY("
+        + EMBEDDING_COL + ", ARRAY[0, 1, 2, 3], 3)");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 3L);
+  }
+
+  private static void assertIds(BrokerResponseNative brokerResponse, int fromId, int toId) {
+    assertEquals(brokerResponse.getExceptionsSize(), 0, brokerResponse.getProcessingExceptions().toString());
+    List<Object[]> rows = brokerResponse.getResultTable().getRows();
+    assertEquals(rows.size(), toId - fromId + 1);
+    for (int i = 0; i < rows.size(); i++) {
+      assertEquals(rows.get(i)[0], fromId + i);
+      // 2 servers, each with the immutable and the consuming segment
+      assertEquals(rows.get(i)[1], 4L);
+    }
+  }
+
+  @Test(dependsOnMethods = {"testVectorIndexLoaded", "testTopK", "testAndFilter"})
+  public void testReload()
+      throws Exception {
+    // Add vector index to the dictionary encoded column
+    TableConfig tableConfig = createTableConfig(Arrays.asList(EMBEDDING_COL, NO_INDEX_EMBEDDING_COL));
+    tableConfig.getFieldConfigList().set(1, new FieldConfig.Builder(NO_INDEX_EMBEDDING_COL)
+        .withEncodingType(FieldConfig.EncodingType.DICTIONARY)
+        .withIndexes(JsonUtils.stringToJsonNode("{\"vector\": {\"vectorDimension\": " + DIMENSION + "}}")).build());
+    _indexSegment.destroy();
+    ImmutableSegment immutableSegment =
+        reloadSegment(new File(INDEX_DIR, SEGMENT_NAME), new IndexLoadingConfig(null, tableConfig, SCHEMA), SCHEMA);
+    _indexSegment = immutableSegment;
+    _indexSegments = Arrays.asList(immutableSegment, _mutableSegment);
+    assertNotNull(_indexSegment.getDataSource(NO_INDEX_EMBEDDING_COL).getIndex(StandardIndexes.vector()));
+
+    assertIds(getBrokerResponse("SELECT id, COUNT(*) FROM testTable WHERE VECTOR_SIMILARITY(" + NO_INDEX_EMBEDDING_COL
+        + ", ARRAY[700, 701, 702, 703], 3) GROUP BY id ORDER BY id"), 699, 701);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _indexSegment.destroy();
+    _mutableSegment.destroy();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
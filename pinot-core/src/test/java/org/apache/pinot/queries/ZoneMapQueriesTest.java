@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.queries;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.common.response.broker.BrokerResponseNative;
+import org.apache.pinot.segment.local.indexsegment.immutable.ImmutableSegmentLoader;
+import org.apache.pinot.segment.local.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.segment.local.segment.index.loader.IndexLoadingConfig;
+import org.apache.pinot.segment.local.segment.readers.GenericRowRecordReader;
+import org.apache.pinot.segment.spi.ImmutableSegment;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.creator.SegmentGeneratorConfig;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.spi.config.table.FieldConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.JsonUtils;
+import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Tests that the scan based filter skips the chunks of the raw forward index that cannot match the predicate based on
+ * the zone map index, while returning the same results as the columns without zone map.
+ */
+public class ZoneMapQueriesTest extends BaseQueriesTest {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "ZoneMapQueriesTest");
+  private static final String RAW_TABLE_NAME = "testTable";
+  private static final String SEGMENT_NAME = "testSegment";
+
+  // 10 zones of 1000 docs each
+  private static final int NUM_RECORDS = 10_000;
+  private static final String INT_COL = "intCol";
+  private static final String LONG_COL = "longCol";
+  private static final String FLOAT_COL = "floatCol";
+  private static final String DOUBLE_COL = "doubleCol";
+  private static final String NO_ZONE_MAP_INT_COL = "noZoneMapIntCol";
+  private static final List<String> RAW_COLUMNS =
+      Arrays.asList(INT_COL, LONG_COL, FLOAT_COL, DOUBLE_COL, NO_ZONE_MAP_INT_COL);
+
+  private static final Schema SCHEMA = new Schema.SchemaBuilder()
+      .addSingleValueDimension(INT_COL, DataType.INT)
+      .addSingleValueDimension(LONG_COL, DataType.LONG)
+      .addSingleValueDimension(FLOAT_COL, DataType.FLOAT)
+      .addSingleValueDimension(DOUBLE_COL, DataType.DOUBLE)
+      .addSingleValueDimension(NO_ZONE_MAP_INT_COL, DataType.INT)
+      .build();
+
+  private TableConfig _tableConfig;
+  private IndexSegment _indexSegment;
+  private List<IndexSegment> _indexSegments;
+
+  @Override
+  protected String getFilter() {
+    return "";
+  }
+
+  @Override
+  protected IndexSegment getIndexSegment() {
+    return _indexSegment;
+  }
+
+  @Override
+  protected List<IndexSegment> getIndexSegments() {
+    return _indexSegments;
+  }
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(INDEX_DIR);
+
+    List<GenericRow> records = new ArrayList<>(NUM_RECORDS);
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      // Values are clustered by zone but not sorted within the zone
+      int value = (i / 1000) * 1000 + (999 - i % 1000);
+      GenericRow record = new GenericRow();
+      record.putValue(INT_COL, value);
+      record.putValue(LONG_COL, (long) value);
+      record.putValue(FLOAT_COL, (float) value);
+      record.putValue(DOUBLE_COL, (double) value);
+      record.putValue(NO_ZONE_MAP_INT_COL, value);
+      records.add(record);
+    }
+
+    _tableConfig = createTableConfig(Arrays.asList(INT_COL, LONG_COL, FLOAT_COL, DOUBLE_COL));
+    SegmentGeneratorConfig segmentGeneratorConfig = new SegmentGeneratorConfig(_tableConfig, SCHEMA);
+    segmentGeneratorConfig.setTableName(RAW_TABLE_NAME);
+    segmentGeneratorConfig.setSegmentName(SEGMENT_NAME);
+    segmentGeneratorConfig.setOutDir(INDEX_DIR.getPath());
+
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(segmentGeneratorConfig, new GenericRowRecordReader(records));
+    driver.build();
+
+    ImmutableSegment immutableSegment = ImmutableSegmentLoader.load(new File(INDEX_DIR, SEGMENT_NAME),
+        new IndexLoadingConfig(null, _tableConfig, SCHEMA));
+    _indexSegment = immutableSegment;
+    _indexSegments = Arrays.asList(immutableSegment, immutableSegment);
+  }
+
+  private static TableConfig createTableConfig(List<String> zoneMapColumns)
+      throws Exception {
+    JsonNode zoneMapIndexes = JsonUtils.stringToJsonNode("{\"zoneMap\": {}}");
+    List<FieldConfig> fieldConfigs = new ArrayList<>();
+    for (String column : zoneMapColumns) {
+      fieldConfigs.add(new FieldConfig.Builder(column).withEncodingType(FieldConfig.EncodingType.RAW)
+          .withIndexes(zoneMapIndexes).build());
+    }
+    return new TableConfigBuilder(TableType.OFFLINE).setTableName(RAW_TABLE_NAME).setNoDictionaryColumns(RAW_COLUMNS)
+        .setFieldConfigList(fieldConfigs).build();
+  }
+
+  @Test
+  public void testZoneMapLoaded() {
+    for (String column : Arrays.asList(INT_COL, LONG_COL, FLOAT_COL, DOUBLE_COL)) {
+      assertNotNull(_indexSegment.getDataSource(column).getIndex(StandardIndexes.zoneMap()), column);
+    }
+    assertNull(_indexSegment.getDataSource(NO_ZONE_MAP_INT_COL).getIndex(StandardIndexes.zoneMap()));
+  }
+
+  @Test
+  public void testRangeFilter() {
+    String filter = " BETWEEN 2500 AND 2600";
+    BrokerResponseNative fullScanResponse = getBrokerResponse(
+        "SELECT COUNT(*) FROM testTable WHERE " + NO_ZONE_MAP_INT_COL + filter);
+    long fullScanEntries = fullScanResponse.getNumEntriesScannedInFilter();
+    assertEquals(fullScanResponse.getResultTable().getRows().get(0)[0], 4 * 101L);
+    for (String column : Arrays.asList(INT_COL, LONG_COL, FLOAT_COL, DOUBLE_COL)) {
+      BrokerResponseNative brokerResponse =
+          getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE " + column + filter);
+      assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 101L, column);
+      // Only the zone [2000, 3000) is scanned
+      assertEquals(brokerResponse.getNumEntriesScannedInFilter() * 10, fullScanEntries, column);
+    }
+
+    // Range spanning 2 zones
+    BrokerResponseNative brokerResponse =
+        getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE " + INT_COL + " BETWEEN 2991 AND 3009");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 19L);
+    assertEquals(brokerResponse.getNumEntriesScannedInFilter() * 5, fullScanEntries);
+  }
+
+  @Test
+  public void testEqFilter() {
+    BrokerResponseNative brokerResponse =
+        getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE " + LONG_COL + " = 7123");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4L);
+    assertEquals(brokerResponse.getNumEntriesScannedInFilter(), 4 * 1000L);
+
+    // Out of range
+    brokerResponse = getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE " + DOUBLE_COL + " = 12345");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 0L);
+    assertEquals(brokerResponse.getNumEntriesScannedInFilter(), 0L);
+  }
+
+  @Test
+  public void testAndFilter() {
+    // The second predicate is applied on the docs matching the first one
+    BrokerResponseNative brokerResponse = getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE "
+        + NO_ZONE_MAP_INT_COL + " < 5000 AND " + FLOAT_COL + " BETWEEN 4100 AND 4199");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 100L);
+    brokerResponse = getBrokerResponse("SELECT " + INT_COL + " FROM testTable WHERE " + INT_COL
+        + " BETWEEN 6001 AND 6003 AND " + DOUBLE_COL + " > 6002 ORDER BY " + INT_COL);
+    assertEquals(brokerResponse.getResultTable().getRows().size(), 4);
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 6003);
+  }
+
+  @Test(dependsOnMethods = {"testZoneMapLoaded", "testRangeFilter", "testEqFilter", "testAndFilter"})
+  public void testReload()
+      throws Exception {
+    // Move the zone map from INT_COL to NO_ZONE_MAP_INT_COL
+    TableConfig tableConfig = createTableConfig(Arrays.asList(NO_ZONE_MAP_INT_COL, LONG_COL, FLOAT_COL, DOUBLE_COL));
+    _indexSegment.destroy();
+    ImmutableSegment immutableSegment =
+        reloadSegment(new File(INDEX_DIR, SEGMENT_NAME), new IndexLoadingConfig(null, tableConfig, SCHEMA), SCHEMA);
+    _indexSegment = immutableSegment;
+    _indexSegments = Arrays.asList(immutableSegment, immutableSegment);
+    assertNull(_indexSegment.getDataSource(INT_COL).getIndex(StandardIndexes.zoneMap()));
+    assertNotNull(_indexSegment.getDataSource(NO_ZONE_MAP_INT_COL).getIndex(StandardIndexes.zoneMap()));
+
+    BrokerResponseNative brokerResponse =
+        getBrokerResponse("SELECT COUNT(*) FROM testTable WHERE " + NO_ZONE_MAP_INT_COL + " BETWEEN 2500 AND 2600");
+    assertEquals(brokerResponse.getResultTable().getRows().get(0)[0], 4 * 101L);
+    assertEquals(brokerResponse.getNumEntriesScannedInFilter(), 4 * 1000L);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    _indexSegment.destroy();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+}
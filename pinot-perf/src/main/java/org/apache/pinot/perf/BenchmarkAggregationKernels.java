@@ -0,0 +1,312 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.common.request.context.ExpressionContext;
+import org.apache.pinot.core.common.BlockValSet;
+import org.apache.pinot.core.plan.DocIdSetPlanNode;
+import org.apache.pinot.core.query.aggregation.AggregationResultHolder;
+import org.apache.pinot.core.query.aggregation.function.AvgAggregationFunction;
+import org.apache.pinot.core.query.aggregation.function.MaxAggregationFunction;
+import org.apache.pinot.core.query.aggregation.function.SumAggregationFunction;
+import org.apache.pinot.core.query.aggregation.groupby.GroupByResultHolder;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.roaringbitmap.RoaringBitmap;
+
+
+/**
+ * Benchmark for the SUM/MAX/AVG aggregation functions over a block of values, comparing the type-specialized kernels
+ * used by the aggregation functions with the previous implementation, which converts the values into doubles and
+ * updates the group-by result holder per value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class BenchmarkAggregationKernels {
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt = new OptionsBuilder().include(BenchmarkAggregationKernels.class.getSimpleName());
+    new Runner(opt.build()).run();
+  }
+
+  private static final int NUM_DOCS = DocIdSetPlanNode.MAX_DOC_PER_CALL;
+  private static final ExpressionContext EXPRESSION = ExpressionContext.forIdentifier("column");
+
+  @Param({"INT", "LONG", "DOUBLE"})
+  private DataType _dataType;
+
+  @Param({"10", "1000", "100000"})
+  private int _numGroups;
+
+  private BlockValSet _blockValSet;
+  private Map<ExpressionContext, BlockValSet> _blockValSetMap;
+  private int[] _groupKeys;
+  private SumAggregationFunction _sumFunction;
+  private MaxAggregationFunction _maxFunction;
+  private AvgAggregationFunction _avgFunction;
+  private GroupByResultHolder _sumGroupByResultHolder;
+  private GroupByResultHolder _maxGroupByResultHolder;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    _blockValSet = new ArrayBlockValSet(_dataType, random);
+    _blockValSetMap = Collections.singletonMap(EXPRESSION, _blockValSet);
+    _groupKeys = new int[NUM_DOCS];
+    for (int i = 0; i < NUM_DOCS; i++) {
+      _groupKeys[i] = random.nextInt(_numGroups);
+    }
+    _sumFunction = new SumAggregationFunction(EXPRESSION);
+    _maxFunction = new MaxAggregationFunction(EXPRESSION);
+    _avgFunction = new AvgAggregationFunction(EXPRESSION);
+    _sumGroupByResultHolder = _sumFunction.createGroupByResultHolder(_numGroups, _numGroups);
+    _maxGroupByResultHolder = _maxFunction.createGroupByResultHolder(_numGroups, _numGroups);
+  }
+
+  @Benchmark
+  public double sumScalar() {
+    double[] values = _blockValSet.getDoubleValuesSV();
+    double sum = 0;
+    for (int i = 0; i < NUM_DOCS; i++) {
+      sum += values[i];
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double sumKernel() {
+    AggregationResultHolder aggregationResultHolder = _sumFunction.createAggregationResultHolder();
+    _sumFunction.aggregate(NUM_DOCS, aggregationResultHolder, _blockValSetMap);
+    return aggregationResultHolder.getDoubleResult();
+  }
+
+  @Benchmark
+  public double avgScalar() {
+    double[] values = _blockValSet.getDoubleValuesSV();
+    double sum = 0;
+    for (int i = 0; i < NUM_DOCS; i++) {
+      sum += values[i];
+    }
+    return sum / NUM_DOCS;
+  }
+
+  @Benchmark
+  public Object avgKernel() {
+    AggregationResultHolder aggregationResultHolder = _avgFunction.createAggregationResultHolder();
+    _avgFunction.aggregate(NUM_DOCS, aggregationResultHolder, _blockValSetMap);
+    return aggregationResultHolder.getResult();
+  }
+
+  @Benchmark
+  public void sumGroupByScalar(Blackhole blackhole) {
+    double[] values = _blockValSet.getDoubleValuesSV();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      int groupKey = _groupKeys[i];
+      _sumGroupByResultHolder.setValueForKey(groupKey, _sumGroupByResultHolder.getDoubleResult(groupKey) + values[i]);
+    }
+    blackhole.consume(_sumGroupByResultHolder);
+  }
+
+  @Benchmark
+  public void sumGroupByKernel(Blackhole blackhole) {
+    _sumFunction.aggregateGroupBySV(NUM_DOCS, _groupKeys, _sumGroupByResultHolder, _blockValSetMap);
+    blackhole.consume(_sumGroupByResultHolder);
+  }
+
+  @Benchmark
+  public void maxGroupByScalar(Blackhole blackhole) {
+    double[] values = _blockValSet.getDoubleValuesSV();
+    for (int i = 0; i < NUM_DOCS; i++) {
+      double value = values[i];
+      int groupKey = _groupKeys[i];
+      if (value > _maxGroupByResultHolder.getDoubleResult(groupKey)) {
+        _maxGroupByResultHolder.setValueForKey(groupKey, value);
+      }
+    }
+    blackhole.consume(_maxGroupByResultHolder);
+  }
+
+  @Benchmark
+  public void maxGroupByKernel(Blackhole blackhole) {
+    _maxFunction.aggregateGroupBySV(NUM_DOCS, _groupKeys, _maxGroupByResultHolder, _blockValSetMap);
+    blackhole.consume(_maxGroupByResultHolder);
+  }
+
+  /**
+   * Single-value block backed by a primitive array of the stored type. Similar to the projection block, the values are
+   * converted into doubles on each request.
+   */
+  private static class ArrayBlockValSet implements BlockValSet {
+    final DataType _valueType;
+    final int[] _intValues = new int[NUM_DOCS];
+    final long[] _longValues = new long[NUM_DOCS];
+    final double[] _doubleValues = new double[NUM_DOCS];
+
+    ArrayBlockValSet(DataType valueType, Random random) {
+      _valueType = valueType;
+      for (int i = 0; i < NUM_DOCS; i++) {
+        _intValues[i] = random.nextInt(1_000_000);
+        _longValues[i] = random.nextLong() >> 16;
+        _doubleValues[i] = random.nextDouble() * 1_000_000;
+      }
+    }
+
+    @Override
+    public RoaringBitmap getNullBitmap() {
+      return null;
+    }
+
+    @Override
+    public DataType getValueType() {
+      return _valueType;
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return true;
+    }
+
+    @Override
+    public Dictionary getDictionary() {
+      return null;
+    }
+
+    @Override
+    public int[] getDictionaryIdsSV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int[] getIntValuesSV() {
+      return _intValues;
+    }
+
+    @Override
+    public long[] getLongValuesSV() {
+      return _longValues;
+    }
+
+    @Override
+    public float[] getFloatValuesSV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public double[] getDoubleValuesSV() {
+      switch (_valueType) {
+        case INT: {
+          double[] values = new double[NUM_DOCS];
+          for (int i = 0; i < NUM_DOCS; i++) {
+            values[i] = _intValues[i];
+          }
+          return values;
+        }
+        case LONG: {
+          double[] values = new double[NUM_DOCS];
+          for (int i = 0; i < NUM_DOCS; i++) {
+            values[i] = _longValues[i];
+          }
+          return values;
+        }
+        default:
+          return _doubleValues;
+      }
+    }
+
+    @Override
+    public BigDecimal[] getBigDecimalValuesSV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String[] getStringValuesSV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public byte[][] getBytesValuesSV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int[][] getDictionaryIdsMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int[][] getIntValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long[][] getLongValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public float[][] getFloatValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public double[][] getDoubleValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String[][] getStringValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public byte[][][] getBytesValuesMV() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int[] getNumMVEntries() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
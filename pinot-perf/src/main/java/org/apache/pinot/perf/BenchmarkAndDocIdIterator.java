@@ -18,21 +18,38 @@
  */
 package org.apache.pinot.perf;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.core.common.BlockDocIdIterator;
+import org.apache.pinot.core.common.BlockDocIdSet;
+import org.apache.pinot.core.operator.docidsets.AndDocIdSet;
+import org.apache.pinot.core.operator.docidsets.BitmapDocIdSet;
+import org.apache.pinot.core.operator.docidsets.PostingListDocIdSet;
 import org.apache.pinot.core.operator.filter.AndFilterOperator;
 import org.apache.pinot.core.operator.filter.BaseFilterOperator;
 import org.apache.pinot.core.operator.filter.BitmapBasedFilterOperator;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapBitmapInvertedIndexCreator;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapSkipListInvertedIndexCreator;
+import org.apache.pinot.segment.local.segment.index.readers.BitmapInvertedIndexReader;
+import org.apache.pinot.segment.local.segment.index.readers.SkipListInvertedIndexReader;
+import org.apache.pinot.segment.spi.Constants;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.infra.Blackhole;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
@@ -74,6 +91,108 @@ public class BenchmarkAndDocIdIterator {
     }
   }
 
+  /**
+   * Intersects and iterates all the matching documents of medium-selectivity predicates, evaluated as bitmaps from the
+   * bitmap inverted index (merged into a bitmap by AndDocIdSet) vs posting lists from the skip-list inverted index
+   * (leapfrogged by AndDocIdIterator).
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchAndBitmaps(PostingListState postingListState) {
+    int numBitmaps = postingListState._numPredicates;
+    List<BlockDocIdSet> docIdSets = new ArrayList<>(numBitmaps);
+    for (int dictId = 0; dictId < numBitmaps; dictId++) {
+      docIdSets.add(new BitmapDocIdSet(postingListState._bitmapReader.getDocIds(dictId), postingListState._numDocs));
+    }
+    return countMatchingDocs(new AndDocIdSet(docIdSets, null));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchAndPostingLists(PostingListState postingListState) {
+    int numPostingLists = postingListState._numPredicates;
+    List<BlockDocIdSet> docIdSets = new ArrayList<>(numPostingLists);
+    for (int dictId = 0; dictId < numPostingLists; dictId++) {
+      docIdSets.add(new PostingListDocIdSet(postingListState._skipListReader, new int[]{dictId}));
+    }
+    return countMatchingDocs(new AndDocIdSet(docIdSets, null));
+  }
+
+  private static int countMatchingDocs(BlockDocIdSet docIdSet) {
+    BlockDocIdIterator docIdIterator = docIdSet.iterator();
+    int numMatchingDocs = 0;
+    while (docIdIterator.next() != Constants.EOF) {
+      numMatchingDocs++;
+    }
+    return numMatchingDocs;
+  }
+
+  @State(Scope.Benchmark)
+  public static class PostingListState {
+    private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkAndDocIdIterator");
+    private static final String COLUMN_NAME = "col";
+
+    @Param("1000000")
+    int _numDocs;
+
+    // Fraction of the documents matching each predicate
+    @Param({"0.05,0.2,0.4", "0.2,0.3,0.4,0.5"})
+    String _selectivities;
+
+    int _numPredicates;
+    BitmapInvertedIndexReader _bitmapReader;
+    SkipListInvertedIndexReader _skipListReader;
+    private PinotDataBuffer _bitmapDataBuffer;
+    private PinotDataBuffer _skipListDataBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp()
+        throws IOException {
+      FileUtils.deleteQuietly(INDEX_DIR);
+      FileUtils.forceMkdir(INDEX_DIR);
+      String[] selectivities = _selectivities.split(",");
+      _numPredicates = selectivities.length;
+      // Model each predicate as a value of a multi-value column, so that all the posting lists share one index
+      Random random = new Random(42);
+      int[] dictIds = new int[_numPredicates];
+      try (OnHeapBitmapInvertedIndexCreator bitmapCreator = new OnHeapBitmapInvertedIndexCreator(INDEX_DIR,
+          COLUMN_NAME, _numPredicates);
+          OnHeapSkipListInvertedIndexCreator skipListCreator = new OnHeapSkipListInvertedIndexCreator(INDEX_DIR,
+              COLUMN_NAME, _numPredicates)) {
+        for (int docId = 0; docId < _numDocs; docId++) {
+          int numValues = 0;
+          for (int i = 0; i < _numPredicates; i++) {
+            if (random.nextDouble() < Double.parseDouble(selectivities[i])) {
+              dictIds[numValues++] = i;
+            }
+          }
+          bitmapCreator.add(dictIds, numValues);
+          skipListCreator.add(dictIds, numValues);
+        }
+        bitmapCreator.seal();
+        skipListCreator.seal();
+      }
+      _bitmapDataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(
+          new File(INDEX_DIR, COLUMN_NAME + V1Constants.Indexes.BITMAP_INVERTED_INDEX_FILE_EXTENSION));
+      _bitmapReader = new BitmapInvertedIndexReader(_bitmapDataBuffer, _numPredicates);
+      _skipListDataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(
+          new File(INDEX_DIR, COLUMN_NAME + V1Constants.Indexes.SKIP_LIST_INDEX_FILE_EXTENSION));
+      _skipListReader = new SkipListInvertedIndexReader(_skipListDataBuffer);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException {
+      _bitmapReader.close();
+      _skipListReader.close();
+      _bitmapDataBuffer.close();
+      _skipListDataBuffer.close();
+      FileUtils.deleteQuietly(INDEX_DIR);
+    }
+  }
+
   @State(Scope.Benchmark)
   public static class MyState {
     public List<BaseFilterOperator> _childOperators = new ArrayList<>();
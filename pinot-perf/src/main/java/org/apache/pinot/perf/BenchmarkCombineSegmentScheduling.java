@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.core.common.Operator;
+import org.apache.pinot.core.operator.BaseOperator;
+import org.apache.pinot.core.operator.ExecutionStatistics;
+import org.apache.pinot.core.operator.blocks.results.AggregationResultsBlock;
+import org.apache.pinot.core.operator.blocks.results.BaseResultsBlock;
+import org.apache.pinot.core.operator.combine.AggregationCombineOperator;
+import org.apache.pinot.core.operator.combine.CombineOperatorUtils;
+import org.apache.pinot.core.query.aggregation.function.AggregationFunction;
+import org.apache.pinot.core.query.request.context.QueryContext;
+import org.apache.pinot.core.query.request.context.utils.QueryContextConverterUtils;
+import org.apache.pinot.segment.local.indexsegment.immutable.EmptyIndexSegment;
+import org.apache.pinot.segment.spi.IndexSegment;
+import org.apache.pinot.segment.spi.index.metadata.SegmentMetadataImpl;
+import org.apache.pinot.spi.data.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Compares the combine latency (p99 is reported by the sample time mode) when the combine tasks pull the segments in
+ * the order they are planned against pulling the largest segments first ({@link
+ * CombineOperatorUtils#sortOperatorsByEstimatedCost(List)}), with a skewed segment size distribution where a few large
+ * segments picked up last become the stragglers of the query.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xmx4G"})
+public class BenchmarkCombineSegmentScheduling {
+  private static final int NUM_THREADS = 8;
+  private static final int NUM_SMALL_SEGMENTS = 120;
+  private static final int NUM_LARGE_SEGMENTS = 8;
+  private static final int NUM_DOCS_SMALL_SEGMENT = 50_000;
+  private static final int NUM_DOCS_LARGE_SEGMENT = 2_000_000;
+
+  public static void main(String[] args)
+      throws Exception {
+    new Runner(new OptionsBuilder().include(BenchmarkCombineSegmentScheduling.class.getSimpleName())
+        .warmupTime(TimeValue.seconds(5)).warmupIterations(2).measurementTime(TimeValue.seconds(10))
+        .measurementIterations(3).build()).run();
+  }
+
+  @Param({"false", "true"})
+  private boolean _sortByEstimatedCost;
+
+  private final Random _random = new Random(42);
+  private List<Operator> _operators;
+  private ExecutorService _executorService;
+
+  @Setup
+  public void setUp() {
+    Schema schema = new Schema.SchemaBuilder().setSchemaName("testTable").build();
+    _operators = new ArrayList<>(NUM_SMALL_SEGMENTS + NUM_LARGE_SEGMENTS);
+    for (int i = 0; i < NUM_SMALL_SEGMENTS + NUM_LARGE_SEGMENTS; i++) {
+      int numDocs = i < NUM_LARGE_SEGMENTS ? NUM_DOCS_LARGE_SEGMENT : NUM_DOCS_SMALL_SEGMENT;
+      SegmentMetadataImpl segmentMetadata = new SegmentMetadataImpl("testTable", "testSegment_" + i, schema, 0L) {
+        @Override
+        public int getTotalDocs() {
+          return numDocs;
+        }
+      };
+      _operators.add(new ScanOperator(new EmptyIndexSegment(segmentMetadata), numDocs));
+    }
+    _executorService = Executors.newFixedThreadPool(NUM_THREADS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    _executorService.shutdownNow();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public BaseResultsBlock combine() {
+    // Segments are planned in arbitrary order
+    List<Operator> operators = new ArrayList<>(_operators);
+    Collections.shuffle(operators, _random);
+    if (_sortByEstimatedCost) {
+      CombineOperatorUtils.sortOperatorsByEstimatedCost(operators);
+    }
+    QueryContext queryContext = QueryContextConverterUtils.getQueryContext("SELECT COUNT(*) FROM testTable");
+    queryContext.setMaxExecutionThreads(NUM_THREADS);
+    queryContext.setEndTimeMs(System.currentTimeMillis() + 60_000L);
+    return new AggregationCombineOperator(operators, queryContext, _executorService).nextBlock();
+  }
+
+  /**
+   * Mimics a full scan on the segment, where the processing time is proportional to the number of documents.
+   */
+  private static class ScanOperator extends BaseOperator<AggregationResultsBlock> {
+    private static final AggregationFunction[] AGGREGATION_FUNCTIONS =
+        QueryContextConverterUtils.getQueryContext("SELECT COUNT(*) FROM testTable").getAggregationFunctions();
+
+    private final IndexSegment _indexSegment;
+    private final int _numDocs;
+
+    ScanOperator(IndexSegment indexSegment, int numDocs) {
+      _indexSegment = indexSegment;
+      _numDocs = numDocs;
+    }
+
+    @Override
+    protected AggregationResultsBlock getNextBlock() {
+      long count = 0;
+      for (int i = 0; i < _numDocs; i++) {
+        if ((i * 0x9E3779B9) >>> 31 == 0) {
+          count++;
+        }
+      }
+      return new AggregationResultsBlock(AGGREGATION_FUNCTIONS, Collections.singletonList(count));
+    }
+
+    @Override
+    public List<Operator> getChildOperators() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String toExplainString() {
+      return "SCAN";
+    }
+
+    @Override
+    public IndexSegment getIndexSegment() {
+      return _indexSegment;
+    }
+
+    @Override
+    public ExecutionStatistics getExecutionStatistics() {
+      return new ExecutionStatistics(_numDocs, 0, 0, _numDocs);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.pinot.common.datatable.DataTable;
+import org.apache.pinot.common.datatable.DataTableFactory;
+import org.apache.pinot.common.utils.DataSchema;
+import org.apache.pinot.common.utils.DataSchema.ColumnDataType;
+import org.apache.pinot.core.common.datatable.DataTableBuilder;
+import org.apache.pinot.core.common.datatable.DataTableBuilderFactory;
+import org.apache.pinot.spi.utils.ByteArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark for the serialization of a selection-like {@link DataTable} on the server side, comparing the single byte
+ * array returned by {@link DataTable#toBytes()} with the composite Netty buffer built from
+ * {@link DataTable#toByteBuffers()}. Run with the GC profiler (enabled in {@link #main}) to compare the allocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@State(Scope.Benchmark)
+public class BenchmarkDataTableSerialization {
+  private static final DataSchema DATA_SCHEMA = new DataSchema(new String[]{"intCol", "longCol", "doubleCol",
+      "stringCol", "bytesCol"}, new ColumnDataType[]{ColumnDataType.INT, ColumnDataType.LONG, ColumnDataType.DOUBLE,
+      ColumnDataType.STRING, ColumnDataType.BYTES});
+
+  @Param({"1000", "100000"})
+  private int _numRows;
+
+  private DataTable _dataTable;
+  private byte[] _serializedDataTable;
+
+  @Setup
+  public void setUp()
+      throws IOException {
+    Random random = new Random(42);
+    DataTableBuilder dataTableBuilder = DataTableBuilderFactory.getDataTableBuilder(DATA_SCHEMA);
+    for (int i = 0; i < _numRows; i++) {
+      dataTableBuilder.startRow();
+      dataTableBuilder.setColumn(0, random.nextInt());
+      dataTableBuilder.setColumn(1, random.nextLong());
+      dataTableBuilder.setColumn(2, random.nextDouble());
+      dataTableBuilder.setColumn(3, RandomStringUtils.randomAlphanumeric(10));
+      byte[] bytes = new byte[32];
+      random.nextBytes(bytes);
+      dataTableBuilder.setColumn(4, new ByteArray(bytes));
+      dataTableBuilder.finishRow();
+    }
+    _dataTable = dataTableBuilder.build();
+    _serializedDataTable = _dataTable.toBytes();
+  }
+
+  @Benchmark
+  public int toBytes()
+      throws IOException {
+    ByteBuf byteBuf = Unpooled.wrappedBuffer(_dataTable.toBytes());
+    int numBytes = byteBuf.readableBytes();
+    byteBuf.release();
+    return numBytes;
+  }
+
+  @Benchmark
+  public int toByteBuffers()
+      throws IOException {
+    ByteBuf byteBuf = Unpooled.wrappedBuffer(_dataTable.toByteBuffers());
+    int numBytes = byteBuf.readableBytes();
+    byteBuf.release();
+    return numBytes;
+  }
+
+  @Benchmark
+  public int deserialize()
+      throws IOException {
+    return DataTableFactory.getDataTable(_serializedDataTable).getNumberOfRows();
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    new Runner(new OptionsBuilder().include(BenchmarkDataTableSerialization.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build()).run();
+  }
+}
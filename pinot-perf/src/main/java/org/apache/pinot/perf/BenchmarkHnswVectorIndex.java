@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.vector.OnHeapHnswVectorIndexCreator;
+import org.apache.pinot.segment.local.segment.index.readers.HnswVectorIndexReader;
+import org.apache.pinot.segment.local.utils.hnsw.NeighborQueue;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Compares the latency of top-K searches on the HNSW vector index against a brute-force scan over the same vectors.
+ * The recall of the HNSW search against the exact result is printed at the end of the setup.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkHnswVectorIndex {
+  private static final File INDEX_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkHnswVectorIndex");
+  private static final String COLUMN_NAME = "embedding";
+  private static final int NUM_QUERIES = 100;
+
+  @Param("100000")
+  int _numDocs;
+
+  @Param("64")
+  int _vectorDimension;
+
+  @Param("10")
+  int _topK;
+
+  @Param({"16", "64", "256"})
+  int _efSearch;
+
+  private float[][] _vectors;
+  private float[][] _queries;
+  private PinotDataBuffer _dataBuffer;
+  private HnswVectorIndexReader _reader;
+  private int _queryId;
+
+  @Setup(Level.Trial)
+  public void setup()
+      throws IOException {
+    FileUtils.deleteQuietly(INDEX_DIR);
+    FileUtils.forceMkdir(INDEX_DIR);
+    SplittableRandom random = new SplittableRandom(42);
+    _vectors = randomVectors(random, _numDocs);
+    _queries = randomVectors(random, NUM_QUERIES);
+    try (OnHeapHnswVectorIndexCreator creator = new OnHeapHnswVectorIndexCreator(INDEX_DIR, COLUMN_NAME,
+        new VectorIndexConfig(_vectorDimension, DistanceFunction.EUCLIDEAN))) {
+      for (float[] vector : _vectors) {
+        creator.add(vector);
+      }
+      creator.seal();
+    }
+    _dataBuffer = PinotDataBuffer.loadBigEndianFile(
+        new File(INDEX_DIR, COLUMN_NAME + V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION));
+    _reader = new HnswVectorIndexReader(_dataBuffer, _efSearch);
+
+    int numHits = 0;
+    for (float[] query : _queries) {
+      ImmutableRoaringBitmap expected = ImmutableRoaringBitmap.bitmapOf(bruteForce(query));
+      numHits += ImmutableRoaringBitmap.andCardinality(expected, _reader.getDocIds(query, _topK));
+    }
+    System.out.printf("%nRecall@%d with efSearch %d: %.3f%n", _topK, _efSearch,
+        (double) numHits / (NUM_QUERIES * _topK));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+      throws IOException {
+    _reader.close();
+    _dataBuffer.close();
+    FileUtils.deleteQuietly(INDEX_DIR);
+  }
+
+  @Benchmark
+  public ImmutableRoaringBitmap hnswSearch() {
+    return _reader.getDocIds(nextQuery(), _topK);
+  }
+
+  @Benchmark
+  public int[] bruteForceSearch() {
+    return bruteForce(nextQuery());
+  }
+
+  private float[] nextQuery() {
+    _queryId = (_queryId + 1) % NUM_QUERIES;
+    return _queries[_queryId];
+  }
+
+  private int[] bruteForce(float[] query) {
+    NeighborQueue results = new NeighborQueue(_topK + 1, true);
+    for (int docId = 0; docId < _numDocs; docId++) {
+      float distance = DistanceFunction.EUCLIDEAN.distance(query, _vectors[docId]);
+      if (results.size() < _topK) {
+        results.add(docId, distance);
+      } else if (distance < results.topDistance()) {
+        results.pop();
+        results.add(docId, distance);
+      }
+    }
+    return results.nodes();
+  }
+
+  private float[][] randomVectors(SplittableRandom random, int numVectors) {
+    float[][] vectors = new float[numVectors][_vectorDimension];
+    for (float[] vector : vectors) {
+      for (int i = 0; i < _vectorDimension; i++) {
+        vector[i] = (float) random.nextDouble();
+      }
+    }
+    return vectors;
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    new Runner(new OptionsBuilder().include(BenchmarkHnswVectorIndex.class.getSimpleName()).build()).run();
+  }
+}
@@ -24,6 +24,10 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import net.jpountz.lz4.LZ4Factory;
 import org.apache.commons.lang3.RandomUtils;
+import org.apache.pinot.segment.local.io.compression.ChunkCompressorFactory;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -47,12 +51,17 @@ import org.xerial.snappy.Snappy;
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
 @State(Scope.Benchmark)
-// Test to get memory statistics for snappy, zstandard and lz4 integer compression techniques
+// Test to get memory statistics for snappy, zstandard, lz4 and numeric (frame-of-reference, delta) integer compression
+// techniques
 public class BenchmarkNoDictionaryIntegerCompression {
 
   @Param({"500000", "1000000", "2000000", "3000000", "4000000", "5000000"})
   public static int _rowLength;
 
+  // Random values are the worst case for the numeric codecs, sorted values (e.g. timestamps) the best case
+  @Param({"RANDOM", "SORTED"})
+  public static String _valueDistribution;
+
   @State(Scope.Thread)
   public static class BenchmarkNoDictionaryIntegerCompressionState {
 
@@ -68,6 +77,18 @@ public class BenchmarkNoDictionaryIntegerCompression {
     private static ByteBuffer _lz4CompressedIntegerInput;
     private static ByteBuffer _lz4IntegerDecompressed;
 
+    private static ChunkCompressor _forCompressor;
+    private static ChunkDecompressor _forDecompressor;
+    private static ByteBuffer _forCompressedIntegerOutput;
+    private static ByteBuffer _forCompressedIntegerInput;
+    private static ByteBuffer _forIntegerDecompressed;
+
+    private static ChunkCompressor _deltaCompressor;
+    private static ChunkDecompressor _deltaDecompressor;
+    private static ByteBuffer _deltaCompressedIntegerOutput;
+    private static ByteBuffer _deltaCompressedIntegerInput;
+    private static ByteBuffer _deltaIntegerDecompressed;
+
     private static LZ4Factory _factory;
 
     @Setup(Level.Invocation)
@@ -84,6 +105,10 @@ public class BenchmarkNoDictionaryIntegerCompression {
       // position for lz4 is required
       _uncompressedInt.flip();
       _factory.fastCompressor().compress(_uncompressedInt, _lz4CompressedIntegerInput);
+      _uncompressedInt.flip();
+      _forCompressor.compress(_uncompressedInt, _forCompressedIntegerInput);
+      _uncompressedInt.flip();
+      _deltaCompressor.compress(_uncompressedInt, _deltaCompressedIntegerInput);
 
       _zstdIntegerDecompressed.rewind();
       _zstandardCompressedIntegerInput.flip();
@@ -95,8 +120,10 @@ public class BenchmarkNoDictionaryIntegerCompression {
     private void generateRandomIntegerBuffer() {
       //Generate Random Int
       _uncompressedInt = ByteBuffer.allocateDirect(_rowLength * Integer.BYTES);
+      int value = 0;
       for (int i = 0; i < _rowLength; i++) {
-        _uncompressedInt.putInt(RandomUtils.nextInt());
+        value = _valueDistribution.equals("SORTED") ? value + RandomUtils.nextInt(0, 100) : RandomUtils.nextInt();
+        _uncompressedInt.putInt(value);
       }
       _uncompressedInt.flip();
     }
@@ -104,6 +131,10 @@ public class BenchmarkNoDictionaryIntegerCompression {
     private void initializeCompressors() {
       //Initialize compressors and decompressors for lz4
       _factory = LZ4Factory.fastestInstance();
+      _forCompressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.FOR, Integer.BYTES);
+      _forDecompressor = ChunkCompressorFactory.getDecompressor(ChunkCompressionType.FOR);
+      _deltaCompressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.DELTA, Integer.BYTES);
+      _deltaDecompressor = ChunkCompressorFactory.getDecompressor(ChunkCompressionType.DELTA);
     }
 
     private void allocateBufferMemory() {
@@ -117,6 +148,13 @@ public class BenchmarkNoDictionaryIntegerCompression {
       _lz4CompressedIntegerOutput = ByteBuffer.allocateDirect(_uncompressedInt.capacity() * 2);
       _snappyCompressedIntegerOutput = ByteBuffer.allocateDirect(_uncompressedInt.capacity() * 2);
       _zstdCompressedIntegerOutput = ByteBuffer.allocateDirect(_uncompressedInt.capacity() * 2);
+      int maxNumericCompressedSize = _forCompressor.maxCompressedSize(_uncompressedInt.capacity());
+      _forCompressedIntegerOutput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _forCompressedIntegerInput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _forIntegerDecompressed = ByteBuffer.allocateDirect(_uncompressedInt.capacity());
+      _deltaCompressedIntegerOutput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _deltaCompressedIntegerInput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _deltaIntegerDecompressed = ByteBuffer.allocateDirect(_uncompressedInt.capacity());
     }
 
     @TearDown(Level.Invocation)
@@ -129,7 +167,14 @@ public class BenchmarkNoDictionaryIntegerCompression {
       _lz4CompressedIntegerOutput.clear();
       _lz4IntegerDecompressed.clear();
 
+      _forCompressedIntegerOutput.clear();
+      _forIntegerDecompressed.clear();
+      _deltaCompressedIntegerOutput.clear();
+      _deltaIntegerDecompressed.clear();
+
       _uncompressedInt.rewind();
+      _forCompressedIntegerInput.rewind();
+      _deltaCompressedIntegerInput.rewind();
       _zstandardCompressedIntegerInput.rewind();
       _lz4CompressedIntegerInput.rewind();
     }
@@ -207,6 +252,38 @@ public class BenchmarkNoDictionaryIntegerCompression {
     return state._lz4IntegerDecompressed.position();
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFORIntegerCompression(BenchmarkNoDictionaryIntegerCompressionState state)
+      throws IOException {
+    return state._forCompressor.compress(state._uncompressedInt, state._forCompressedIntegerOutput);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFORIntegerDecompression(BenchmarkNoDictionaryIntegerCompressionState state)
+      throws IOException {
+    return state._forDecompressor.decompress(state._forCompressedIntegerInput, state._forIntegerDecompressed);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkDeltaIntegerCompression(BenchmarkNoDictionaryIntegerCompressionState state)
+      throws IOException {
+    return state._deltaCompressor.compress(state._uncompressedInt, state._deltaCompressedIntegerOutput);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkDeltaIntegerDecompression(BenchmarkNoDictionaryIntegerCompressionState state)
+      throws IOException {
+    return state._deltaDecompressor.decompress(state._deltaCompressedIntegerInput, state._deltaIntegerDecompressed);
+  }
+
   public static void main(String[] args)
       throws Exception {
     new Runner(new OptionsBuilder().include(BenchmarkNoDictionaryIntegerCompression.class.getSimpleName()).build())
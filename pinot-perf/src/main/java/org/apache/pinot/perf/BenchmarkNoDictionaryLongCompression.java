@@ -24,6 +24,10 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import net.jpountz.lz4.LZ4Factory;
 import org.apache.commons.lang3.RandomUtils;
+import org.apache.pinot.segment.local.io.compression.ChunkCompressorFactory;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -47,12 +51,17 @@ import org.xerial.snappy.Snappy;
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
 @State(Scope.Benchmark)
-// Test to get memory statistics for snappy, zstandard and lz4 long compression techniques
+// Test to get memory statistics for snappy, zstandard, lz4 and numeric (frame-of-reference, delta) long compression
+// techniques
 public class BenchmarkNoDictionaryLongCompression {
 
   @Param({"500000", "1000000", "2000000", "3000000", "4000000", "5000000"})
   public static int _rowLength;
 
+  // Random values are the worst case for the numeric codecs, sorted values (e.g. timestamps) the best case
+  @Param({"RANDOM", "SORTED"})
+  public static String _valueDistribution;
+
   @State(Scope.Thread)
   public static class BenchmarkNoDictionaryLongCompressionState {
 
@@ -68,6 +77,18 @@ public class BenchmarkNoDictionaryLongCompression {
     private static ByteBuffer _lz4CompressedLongInput;
     private static ByteBuffer _lz4LongDecompressed;
 
+    private static ChunkCompressor _forCompressor;
+    private static ChunkDecompressor _forDecompressor;
+    private static ByteBuffer _forCompressedLongOutput;
+    private static ByteBuffer _forCompressedLongInput;
+    private static ByteBuffer _forLongDecompressed;
+
+    private static ChunkCompressor _deltaCompressor;
+    private static ChunkDecompressor _deltaDecompressor;
+    private static ByteBuffer _deltaCompressedLongOutput;
+    private static ByteBuffer _deltaCompressedLongInput;
+    private static ByteBuffer _deltaLongDecompressed;
+
     private static LZ4Factory _factory;
 
     @Setup(Level.Invocation)
@@ -84,6 +105,10 @@ public class BenchmarkNoDictionaryLongCompression {
       // position for lz4 is required
       _uncompressedLong.flip();
       _factory.fastCompressor().compress(_uncompressedLong, _lz4CompressedLongInput);
+      _uncompressedLong.flip();
+      _forCompressor.compress(_uncompressedLong, _forCompressedLongInput);
+      _uncompressedLong.flip();
+      _deltaCompressor.compress(_uncompressedLong, _deltaCompressedLongInput);
 
       _zstandardLongDecompressedOutput.rewind();
       _zstandardCompressedLongInput.flip();
@@ -95,8 +120,10 @@ public class BenchmarkNoDictionaryLongCompression {
     private void generateRandomLongBuffer() {
       //Generate Random Long
       _uncompressedLong = ByteBuffer.allocateDirect(_rowLength * Long.BYTES);
+      long value = 0;
       for (int i = 0; i < _rowLength; i++) {
-        _uncompressedLong.putLong(RandomUtils.nextLong());
+        value = _valueDistribution.equals("SORTED") ? value + RandomUtils.nextLong(0, 100) : RandomUtils.nextLong();
+        _uncompressedLong.putLong(value);
       }
       _uncompressedLong.flip();
     }
@@ -104,6 +131,10 @@ public class BenchmarkNoDictionaryLongCompression {
     private void initializeCompressors() {
       //Initialize compressors and decompressors for lz4
       _factory = LZ4Factory.fastestInstance();
+      _forCompressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.FOR, Long.BYTES);
+      _forDecompressor = ChunkCompressorFactory.getDecompressor(ChunkCompressionType.FOR);
+      _deltaCompressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.DELTA, Long.BYTES);
+      _deltaDecompressor = ChunkCompressorFactory.getDecompressor(ChunkCompressionType.DELTA);
     }
 
     private void allocateBufferMemory() {
@@ -116,6 +147,13 @@ public class BenchmarkNoDictionaryLongCompression {
       _lz4LongDecompressed = ByteBuffer.allocateDirect(_uncompressedLong.capacity() * 2);
       _lz4CompressedLongOutput = ByteBuffer.allocateDirect(_uncompressedLong.capacity() * 2);
       _lz4CompressedLongInput = ByteBuffer.allocateDirect(_uncompressedLong.capacity() * 2);
+      int maxNumericCompressedSize = _forCompressor.maxCompressedSize(_uncompressedLong.capacity());
+      _forCompressedLongOutput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _forCompressedLongInput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _forLongDecompressed = ByteBuffer.allocateDirect(_uncompressedLong.capacity());
+      _deltaCompressedLongOutput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _deltaCompressedLongInput = ByteBuffer.allocateDirect(maxNumericCompressedSize);
+      _deltaLongDecompressed = ByteBuffer.allocateDirect(_uncompressedLong.capacity());
     }
 
     @TearDown(Level.Invocation)
@@ -128,7 +166,14 @@ public class BenchmarkNoDictionaryLongCompression {
       _lz4CompressedLongOutput.clear();
       _lz4LongDecompressed.clear();
 
+      _forCompressedLongOutput.clear();
+      _forLongDecompressed.clear();
+      _deltaCompressedLongOutput.clear();
+      _deltaLongDecompressed.clear();
+
       _uncompressedLong.rewind();
+      _forCompressedLongInput.rewind();
+      _deltaCompressedLongInput.rewind();
       _zstandardCompressedLongInput.rewind();
       _lz4CompressedLongInput.rewind();
     }
@@ -210,6 +255,38 @@ public class BenchmarkNoDictionaryLongCompression {
     return state._lz4LongDecompressed.position();
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFORLongCompression(BenchmarkNoDictionaryLongCompressionState state)
+      throws IOException {
+    return state._forCompressor.compress(state._uncompressedLong, state._forCompressedLongOutput);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFORLongDecompression(BenchmarkNoDictionaryLongCompressionState state)
+      throws IOException {
+    return state._forDecompressor.decompress(state._forCompressedLongInput, state._forLongDecompressed);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkDeltaLongCompression(BenchmarkNoDictionaryLongCompressionState state)
+      throws IOException {
+    return state._deltaCompressor.compress(state._uncompressedLong, state._deltaCompressedLongOutput);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkDeltaLongDecompression(BenchmarkNoDictionaryLongCompressionState state)
+      throws IOException {
+    return state._deltaDecompressor.decompress(state._deltaCompressedLongInput, state._deltaLongDecompressed);
+  }
+
   public static void main(String[] args)
       throws Exception {
     new Runner(new OptionsBuilder().include(BenchmarkNoDictionaryLongCompression.class.getSimpleName()).build()).run();
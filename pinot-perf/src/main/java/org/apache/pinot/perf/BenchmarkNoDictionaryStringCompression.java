@@ -21,10 +21,12 @@ package org.apache.pinot.perf;
 import com.github.luben.zstd.Zstd;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import net.jpountz.lz4.LZ4Factory;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.pinot.segment.local.io.compression.FsstSymbolTable;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -50,13 +52,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 @Warmup(iterations = 3)
 @Measurement(iterations = 5)
 @State(Scope.Benchmark)
-// Test to get memory statistics for snappy, zstandard and lz4 string compression techniques
+// Test to get memory statistics for snappy, zstandard, lz4 and fsst string compression techniques
 public class BenchmarkNoDictionaryStringCompression {
 
   @Param({"500000", "1000000", "2000000", "3000000", "4000000", "5000000"})
   public static int _rowLength;
 
   public static Random _random = new Random();
+  // Number of rows the FSST symbol table is trained on, the writer trains on a similar sample
+  private static final int FSST_TRAINING_SAMPLE_SIZE = 16384;
 
   @State(Scope.Thread)
   public static class BenchmarkNoDictionaryStringCompressionState {
@@ -70,6 +74,9 @@ public class BenchmarkNoDictionaryStringCompression {
     private static ByteBuffer _lz4CompressedStringOutput;
     private static ByteBuffer _lz4CompressedStringInput;
     private static ByteBuffer _lz4StringDecompressed;
+    private static byte[][] _rows;
+    private static FsstSymbolTable _fsstSymbolTable;
+    private static byte[][] _fsstEncodedRows;
 
     private static LZ4Factory _factory;
 
@@ -87,6 +94,12 @@ public class BenchmarkNoDictionaryStringCompression {
       // position for lz4 is required
       _uncompressedString.flip();
       _factory.fastCompressor().compress(_uncompressedString, _lz4CompressedStringInput);
+      _fsstSymbolTable =
+          FsstSymbolTable.train(Arrays.asList(_rows).subList(0, Math.min(_rowLength, FSST_TRAINING_SAMPLE_SIZE)));
+      _fsstEncodedRows = new byte[_rowLength][];
+      for (int i = 0; i < _rowLength; i++) {
+        _fsstEncodedRows[i] = _fsstSymbolTable.encode(_rows[i]);
+      }
 
       _zstandardStringDecompressed.rewind();
       _zstandardCompressedStringInput.flip();
@@ -112,8 +125,10 @@ public class BenchmarkNoDictionaryStringCompression {
       }
 
       _uncompressedString = ByteBuffer.allocateDirect(_rowLength * maxStringLengthInBytes);
+      _rows = new byte[_rowLength][];
       for (int i = 0; i < _rowLength; i++) {
-        _uncompressedString.put(tempRows[i].getBytes(UTF_8));
+        _rows[i] = tempRows[i].getBytes(UTF_8);
+        _uncompressedString.put(_rows[i]);
       }
       _uncompressedString.flip();
     }
@@ -222,6 +237,37 @@ public class BenchmarkNoDictionaryStringCompression {
     return state._lz4StringDecompressed.position();
   }
 
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFSSTStringCompression(BenchmarkNoDictionaryStringCompressionState state) {
+    int size = 0;
+    for (byte[] row : state._rows) {
+      size += state._fsstSymbolTable.encode(row).length;
+    }
+    return size;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int benchmarkFSSTStringDecompression(BenchmarkNoDictionaryStringCompressionState state) {
+    int size = 0;
+    for (byte[] encodedRow : state._fsstEncodedRows) {
+      size += state._fsstSymbolTable.decode(encodedRow).length;
+    }
+    return size;
+  }
+
+  // FSST values can be decoded one by one, while the block compressors above need to decompress the whole buffer to
+  // read a single value
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int benchmarkFSSTSingleValueDecompression(BenchmarkNoDictionaryStringCompressionState state) {
+    return state._fsstSymbolTable.decode(state._fsstEncodedRows[_random.nextInt(_rowLength)]).length;
+  }
+
   public static void main(String[] args)
       throws Exception {
     new Runner(new OptionsBuilder().include(BenchmarkNoDictionaryStringCompression.class.getSimpleName()).build())
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.pinot.core.query.scheduler.resources.ResourceManager;
+import org.apache.pinot.core.query.scheduler.resources.UnboundedResourceManager;
+import org.apache.pinot.spi.env.PinotConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+
+/**
+ * Compares the query throughput and latency percentiles (p99 is reported by the sample time mode) of the fixed query
+ * runner/worker thread pools against the virtual thread execution mode under high query concurrency.
+ *
+ * Each query runs on a query runner, fans out per-segment tasks to the query workers and blocks on their futures, the
+ * same way the combine operators do. Each segment task mixes CPU work with a blocking wait (e.g. reading from a
+ * remote/slow disk), which parks the worker thread.
+ *
+ * Virtual threads require JDK 21+, and the benchmark falls back to the fixed thread pools on older JVMs. The thread CPU
+ * time measurement is left disabled as it cannot be used with virtual threads.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-server", "-Xmx4G"})
+@Threads(64)
+public class BenchmarkQueryExecutionThreads {
+
+  public static void main(String[] args)
+      throws Exception {
+    new Runner(new OptionsBuilder().include(BenchmarkQueryExecutionThreads.class.getSimpleName())
+        .warmupTime(TimeValue.seconds(5)).warmupIterations(2).measurementTime(TimeValue.seconds(10))
+        .measurementIterations(3).build()).run();
+  }
+
+  @Param({"false", "true"})
+  private boolean _useVirtualThreads;
+
+  @Param({"8"})
+  private int _numSegments;
+
+  @Param({"100"})
+  private int _segmentCpuWorkUs;
+
+  @Param({"0", "1000"})
+  private int _segmentBlockingUs;
+
+  private ResourceManager _resourceManager;
+
+  @Setup
+  public void setUp() {
+    int numCores = Runtime.getRuntime().availableProcessors();
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(ResourceManager.QUERY_RUNNER_CONFIG_KEY, numCores);
+    properties.put(ResourceManager.QUERY_WORKER_CONFIG_KEY, 2 * numCores);
+    properties.put(ResourceManager.USE_VIRTUAL_THREADS_CONFIG_KEY, _useVirtualThreads);
+    _resourceManager = new UnboundedResourceManager(new PinotConfiguration(properties));
+  }
+
+  @TearDown
+  public void tearDown() {
+    _resourceManager.stop();
+  }
+
+  @Benchmark
+  @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public long query()
+      throws Exception {
+    return _resourceManager.getQueryRunners().submit(this::runQuery).get();
+  }
+
+  private long runQuery()
+      throws Exception {
+    ExecutorService queryWorkers = _resourceManager.getQueryWorkers();
+    List<Future<Long>> futures = new ArrayList<>(_numSegments);
+    for (int i = 0; i < _numSegments; i++) {
+      futures.add(queryWorkers.submit(this::processSegment));
+    }
+    long result = 0;
+    for (Future<Long> future : futures) {
+      result += future.get();
+    }
+    return result;
+  }
+
+  private long processSegment()
+      throws InterruptedException {
+    long result = 0;
+    long endTimeNs = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(_segmentCpuWorkUs);
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (System.nanoTime() < endTimeNs) {
+      result += random.nextInt();
+    }
+    if (_segmentBlockingUs > 0) {
+      TimeUnit.MICROSECONDS.sleep(_segmentBlockingUs);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.io.writer.impl.FixedByteChunkSVForwardIndexWriter;
+import org.apache.pinot.segment.local.segment.index.readers.forward.ChunkReaderContext;
+import org.apache.pinot.segment.local.segment.index.readers.forward.FixedByteChunkSVForwardIndexReader;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Compares the size and the batch read throughput of raw DOUBLE forward indexes across chunk compression types.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkRawDoubleForwardIndex {
+  private static final File TARGET_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkRawDoubleForwardIndex");
+
+  @Param("10000")
+  int _blockSize;
+
+  @Param("1000")
+  int _numBlocks;
+
+  @Param("1000")
+  int _numDocsPerChunk;
+
+  // GAUGE: slowly varying integral values with repeats, DECIMAL: random walk with 2 decimal digits, RANDOM: uniformly
+  // random doubles
+  @Param({"GAUGE", "DECIMAL", "RANDOM"})
+  String _distribution;
+
+  @Param({"PASS_THROUGH", "SNAPPY", "LZ4", "ZSTANDARD", "GORILLA"})
+  ChunkCompressionType _chunkCompressionType;
+
+  private double[] _values;
+  private int[] _docIds;
+  private double[] _doubleBuffer;
+  private File _readFile;
+  private FixedByteChunkSVForwardIndexReader _reader;
+
+  @Setup(Level.Trial)
+  public void setup()
+      throws IOException {
+    FileUtils.forceMkdir(TARGET_DIR);
+    SplittableRandom random = new SplittableRandom(42);
+    int numDocs = _numBlocks * _blockSize;
+    _values = new double[numDocs];
+    double value = 1000;
+    for (int i = 0; i < numDocs; i++) {
+      switch (_distribution) {
+        case "GAUGE":
+          if (i % 4 == 0) {
+            value += random.nextInt(3) - 1;
+          }
+          _values[i] = value;
+          break;
+        case "DECIMAL":
+          value += (random.nextInt(21) - 10) / 100.0;
+          _values[i] = value;
+          break;
+        default:
+          _values[i] = random.nextDouble();
+          break;
+      }
+    }
+    _readFile = new File(TARGET_DIR, UUID.randomUUID().toString());
+    write(_readFile);
+    _reader = new FixedByteChunkSVForwardIndexReader(PinotDataBuffer.loadBigEndianFile(_readFile),
+        FieldSpec.DataType.DOUBLE);
+    _docIds = new int[_blockSize];
+    _doubleBuffer = new double[_blockSize];
+  }
+
+  @TearDown(Level.Trial)
+  public void teardown()
+      throws IOException {
+    _reader.close();
+    FileUtils.deleteQuietly(TARGET_DIR);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  public void write(BytesCounter counter)
+      throws IOException {
+    File file = new File(TARGET_DIR, UUID.randomUUID().toString());
+    write(file);
+    counter._bytes += file.length();
+    FileUtils.deleteQuietly(file);
+  }
+
+  @Benchmark
+  public void readDoublesBatch(Blackhole bh)
+      throws IOException {
+    try (ChunkReaderContext context = _reader.createContext()) {
+      for (int block = 0; block < _numBlocks; block++) {
+        for (int i = 0; i < _docIds.length; i++) {
+          _docIds[i] = block * _blockSize + i;
+        }
+        _reader.readValuesSV(_docIds, _docIds.length, _doubleBuffer, context);
+        bh.consume(_doubleBuffer);
+      }
+    }
+  }
+
+  private void write(File file)
+      throws IOException {
+    try (FixedByteChunkSVForwardIndexWriter writer = new FixedByteChunkSVForwardIndexWriter(file,
+        _chunkCompressionType, _values.length, _numDocsPerChunk, Double.BYTES, 3)) {
+      for (double value : _values) {
+        writer.putDouble(value);
+      }
+    }
+  }
+
+  public static void main(String[] args)
+      throws Exception {
+    new Runner(new OptionsBuilder().include(BenchmarkRawDoubleForwardIndex.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.perf;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.SegmentIndexCreationDriverImpl;
+import org.apache.pinot.segment.local.segment.readers.GenericRowRecordReader;
+import org.apache.pinot.segment.local.startree.v2.builder.MultipleTreesBuilder;
+import org.apache.pinot.segment.spi.AggregationFunctionType;
+import org.apache.pinot.segment.spi.creator.SegmentGeneratorConfig;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.config.table.TableType;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.builder.TableConfigBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Benchmark for the star-tree build time with different number of dimensions and rows, comparing the on-heap and
+ * off-heap builders with single and multiple threads. Two star-trees (with reversed dimension split orders) are built
+ * for each segment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class BenchmarkStarTreeBuild {
+
+  public static void main(String[] args)
+      throws Exception {
+    ChainedOptionsBuilder opt = new OptionsBuilder().include(BenchmarkStarTreeBuild.class.getSimpleName());
+    new Runner(opt.build()).run();
+  }
+
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "BenchmarkStarTreeBuild");
+  private static final File SEGMENT_DIR = new File(TEMP_DIR, "segment");
+  private static final File BUILD_DIR = new File(TEMP_DIR, "build");
+  private static final String TABLE_NAME = "MyTable";
+  private static final String SEGMENT_NAME = "testSegment";
+  private static final String DIMENSION_PREFIX = "d";
+  private static final String METRIC = "m";
+  private static final int[] DIMENSION_CARDINALITIES = new int[]{10, 100, 1000, 20, 500, 5000, 50, 200};
+
+  @Param({"1000000", "5000000"})
+  private int _numRows;
+  @Param({"3", "6"})
+  private int _numDimensions;
+  @Param({"ON_HEAP", "OFF_HEAP"})
+  private MultipleTreesBuilder.BuildMode _buildMode;
+  @Param({"1", "4"})
+  private int _numThreads;
+
+  private List<StarTreeIndexConfig> _starTreeIndexConfigs;
+  private File _indexDir;
+
+  @Setup
+  public void setUp()
+      throws Exception {
+    FileUtils.deleteQuietly(TEMP_DIR);
+
+    Schema.SchemaBuilder schemaBuilder = new Schema.SchemaBuilder().setSchemaName(TABLE_NAME);
+    List<String> dimensions = new ArrayList<>(_numDimensions);
+    for (int i = 0; i < _numDimensions; i++) {
+      String dimension = DIMENSION_PREFIX + i;
+      dimensions.add(dimension);
+      schemaBuilder.addSingleValueDimension(dimension, FieldSpec.DataType.INT);
+    }
+    Schema schema = schemaBuilder.addMetric(METRIC, FieldSpec.DataType.LONG).build();
+    TableConfig tableConfig = new TableConfigBuilder(TableType.OFFLINE).setTableName(TABLE_NAME).build();
+
+    Random random = new Random(42);
+    List<GenericRow> rows = new ArrayList<>(_numRows);
+    for (int i = 0; i < _numRows; i++) {
+      GenericRow row = new GenericRow();
+      for (int j = 0; j < _numDimensions; j++) {
+        row.putValue(DIMENSION_PREFIX + j, random.nextInt(DIMENSION_CARDINALITIES[j]));
+      }
+      row.putValue(METRIC, (long) random.nextInt(1000));
+      rows.add(row);
+    }
+
+    SegmentGeneratorConfig config = new SegmentGeneratorConfig(tableConfig, schema);
+    config.setOutDir(SEGMENT_DIR.getPath());
+    config.setSegmentName(SEGMENT_NAME);
+    SegmentIndexCreationDriverImpl driver = new SegmentIndexCreationDriverImpl();
+    driver.init(config, new GenericRowRecordReader(rows));
+    driver.build();
+
+    List<String> functionColumnPairs = Arrays.asList(AggregationFunctionColumnPair.COUNT_STAR.toColumnName(),
+        new AggregationFunctionColumnPair(AggregationFunctionType.SUM, METRIC).toColumnName());
+    List<String> reversedDimensions = new ArrayList<>(dimensions);
+    Collections.reverse(reversedDimensions);
+    _starTreeIndexConfigs = Arrays.asList(new StarTreeIndexConfig(dimensions, null, functionColumnPairs, 10),
+        new StarTreeIndexConfig(reversedDimensions, null, functionColumnPairs, 10));
+    _indexDir = new File(BUILD_DIR, SEGMENT_NAME);
+  }
+
+  @Setup(Level.Invocation)
+  public void copySegment()
+      throws Exception {
+    FileUtils.deleteQuietly(BUILD_DIR);
+    FileUtils.copyDirectory(SEGMENT_DIR, BUILD_DIR);
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.deleteQuietly(TEMP_DIR);
+  }
+
+  @Benchmark
+  public void buildStarTrees()
+      throws Exception {
+    try (MultipleTreesBuilder builder = new MultipleTreesBuilder(_starTreeIndexConfigs, false, _indexDir, _buildMode,
+        _numThreads)) {
+      builder.build();
+    }
+  }
+}
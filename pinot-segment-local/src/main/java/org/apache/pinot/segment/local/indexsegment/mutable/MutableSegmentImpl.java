@@ -18,6 +18,7 @@
  */
 package org.apache.pinot.segment.local.indexsegment.mutable;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntArrays;
 import java.io.Closeable;
@@ -54,14 +55,18 @@ import org.apache.pinot.segment.local.realtime.impl.invertedindex.NativeMutableT
 import org.apache.pinot.segment.local.realtime.impl.invertedindex.RealtimeLuceneIndexRefreshState;
 import org.apache.pinot.segment.local.realtime.impl.invertedindex.RealtimeLuceneTextIndex;
 import org.apache.pinot.segment.local.realtime.impl.nullvalue.MutableNullValueVector;
+import org.apache.pinot.segment.local.realtime.impl.startree.MutableStarTree;
+import org.apache.pinot.segment.local.realtime.impl.vector.MutableVectorIndex;
 import org.apache.pinot.segment.local.segment.index.datasource.ImmutableDataSource;
 import org.apache.pinot.segment.local.segment.index.datasource.MutableDataSource;
+import org.apache.pinot.segment.local.segment.index.vector.VectorIndexType;
 import org.apache.pinot.segment.local.segment.readers.PinotSegmentColumnReader;
 import org.apache.pinot.segment.local.segment.readers.PinotSegmentRecordReader;
 import org.apache.pinot.segment.local.segment.store.TextIndexUtils;
 import org.apache.pinot.segment.local.segment.virtualcolumn.VirtualColumnContext;
 import org.apache.pinot.segment.local.segment.virtualcolumn.VirtualColumnProvider;
 import org.apache.pinot.segment.local.segment.virtualcolumn.VirtualColumnProviderFactory;
+import org.apache.pinot.segment.local.startree.v2.builder.StarTreeV2BuilderConfig;
 import org.apache.pinot.segment.local.upsert.ComparisonColumns;
 import org.apache.pinot.segment.local.upsert.PartitionUpsertMetadataManager;
 import org.apache.pinot.segment.local.upsert.RecordInfo;
@@ -76,6 +81,7 @@ import org.apache.pinot.segment.spi.SegmentMetadata;
 import org.apache.pinot.segment.spi.datasource.DataSource;
 import org.apache.pinot.segment.spi.index.IndexingOverrides;
 import org.apache.pinot.segment.spi.index.creator.H3IndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
 import org.apache.pinot.segment.spi.index.metadata.SegmentMetadataImpl;
 import org.apache.pinot.segment.spi.index.mutable.MutableDictionary;
 import org.apache.pinot.segment.spi.index.mutable.MutableForwardIndex;
@@ -87,6 +93,7 @@ import org.apache.pinot.segment.spi.index.mutable.provider.MutableIndexContext;
 import org.apache.pinot.segment.spi.index.mutable.provider.MutableIndexProvider;
 import org.apache.pinot.segment.spi.index.reader.BloomFilterReader;
 import org.apache.pinot.segment.spi.index.reader.RangeIndexReader;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
 import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
 import org.apache.pinot.segment.spi.memory.PinotDataBufferMemoryManager;
 import org.apache.pinot.segment.spi.partition.PartitionFunction;
@@ -94,6 +101,7 @@ import org.apache.pinot.spi.config.table.ColumnPartitionConfig;
 import org.apache.pinot.spi.config.table.FieldConfig;
 import org.apache.pinot.spi.config.table.JsonIndexConfig;
 import org.apache.pinot.spi.config.table.SegmentPartitionConfig;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
 import org.apache.pinot.spi.config.table.UpsertConfig;
 import org.apache.pinot.spi.config.table.ingestion.AggregationConfig;
 import org.apache.pinot.spi.data.DimensionFieldSpec;
@@ -177,6 +185,9 @@ public class MutableSegmentImpl implements MutableSegment {
   //        the valid doc ids won't be updated.
   private final ThreadSafeMutableRoaringBitmap _validDocIds;
 
+  // Star-trees maintained on the consuming segment, null if not configured
+  private final List<MutableStarTree> _mutableStarTrees;
+
   public MutableSegmentImpl(RealtimeSegmentConfig config, @Nullable ServerMetrics serverMetrics) {
     _serverMetrics = serverMetrics;
     _realtimeTableName = config.getTableNameWithType();
@@ -252,6 +263,7 @@ public class MutableSegmentImpl implements MutableSegment {
     Set<String> fstIndexColumns = config.getFSTIndexColumns();
     Map<String, JsonIndexConfig> jsonIndexConfigs = config.getJsonIndexConfigs();
     Map<String, H3IndexConfig> h3IndexConfigs = config.getH3IndexConfigs();
+    Map<String, VectorIndexConfig> vectorIndexConfigs = config.getVectorIndexConfigs();
 
     int avgNumMultiValues = config.getAvgNumMultiValues();
 
@@ -379,6 +391,10 @@ public class MutableSegmentImpl implements MutableSegment {
         throw new RuntimeException(String.format("Failed to initiate H3 index for column: %s", column), e);
       }
 
+      // Vector index
+      VectorIndexConfig vectorIndexConfig = vectorIndexConfigs.get(column);
+      MutableVectorIndex vectorIndex = vectorIndexConfig != null ? new MutableVectorIndex(vectorIndexConfig) : null;
+
       // Null value vector
       MutableNullValueVector nullValueVector = _nullHandlingEnabled ? new MutableNullValueVector() : null;
 
@@ -390,8 +406,8 @@ public class MutableSegmentImpl implements MutableSegment {
       // TODO: Support range index and bloom filter for mutable segment
       _indexContainerMap.put(column,
           new IndexContainer(fieldSpec, partitionFunction, partitions, new ValuesInfo(), forwardIndex, dictionary,
-              invertedIndexReader, null, textIndex, fstIndex, jsonIndex, h3Index, null, nullValueVector, sourceColumn,
-              valueAggregator));
+              invertedIndexReader, null, textIndex, fstIndex, jsonIndex, h3Index, vectorIndex, null, nullValueVector,
+              sourceColumn, valueAggregator));
     }
 
     // TODO separate concerns: this logic does not belong here
@@ -418,6 +434,71 @@ public class MutableSegmentImpl implements MutableSegment {
       _validDocIds = null;
       _upsertComparisonColumns = null;
     }
+
+    _mutableStarTrees = initMutableStarTrees(config);
+  }
+
+  /**
+   * Creates the star-trees to be maintained on the consuming segment. Star-trees are not supported when upsert or
+   * metrics aggregation is enabled because the documents in the segment do not map to the ingested records, or when
+   * any dimension is not single-valued and dictionary-encoded. Invalid star-tree configs are skipped.
+   *
+   * @return List of mutable star-trees, null if none can be created.
+   */
+  @Nullable
+  private List<MutableStarTree> initMutableStarTrees(RealtimeSegmentConfig config) {
+    List<StarTreeIndexConfig> starTreeIndexConfigs = config.getStarTreeIndexConfigs();
+    if (CollectionUtils.isEmpty(starTreeIndexConfigs)) {
+      return null;
+    }
+    if (isUpsertEnabled() || isAggregateMetricsEnabled()) {
+      _logger.warn("Star-tree cannot be maintained on consuming segment when upsert or metrics aggregation is enabled");
+      return null;
+    }
+    List<MutableStarTree> mutableStarTrees = new ArrayList<>();
+    for (StarTreeIndexConfig starTreeIndexConfig : starTreeIndexConfigs) {
+      StarTreeV2BuilderConfig builderConfig;
+      try {
+        builderConfig = StarTreeV2BuilderConfig.fromIndexConfig(starTreeIndexConfig);
+      } catch (Exception e) {
+        _logger.warn("Caught exception while creating star-tree builder config from: {}, skipping it",
+            starTreeIndexConfig, e);
+        continue;
+      }
+      List<String> dimensions = builderConfig.getDimensionsSplitOrder();
+      int numDimensions = dimensions.size();
+      FieldSpec[] dimensionFieldSpecs = new FieldSpec[numDimensions];
+      MutableDictionary[] dictionaries = new MutableDictionary[numDimensions];
+      boolean valid = true;
+      for (int i = 0; i < numDimensions; i++) {
+        IndexContainer indexContainer = _indexContainerMap.get(dimensions.get(i));
+        if (indexContainer == null || !indexContainer._fieldSpec.isSingleValueField()
+            || indexContainer._dictionary == null) {
+          _logger.warn("Dimension: {} is not a single-value dictionary-encoded column, skipping star-tree: {}",
+              dimensions.get(i), builderConfig);
+          valid = false;
+          break;
+        }
+        dimensionFieldSpecs[i] = indexContainer._fieldSpec;
+        dictionaries[i] = indexContainer._dictionary;
+      }
+      for (AggregationFunctionColumnPair functionColumnPair : builderConfig.getFunctionColumnPairs()) {
+        if (!valid) {
+          break;
+        }
+        if (functionColumnPair.getFunctionType() != AggregationFunctionType.COUNT && !_indexContainerMap.containsKey(
+            functionColumnPair.getColumn())) {
+          _logger.warn("Metric column: {} does not exist, skipping star-tree: {}", functionColumnPair.getColumn(),
+              builderConfig);
+          valid = false;
+        }
+      }
+      if (valid && mutableStarTrees.stream().noneMatch(t -> t.getBuilderConfig().equals(builderConfig))) {
+        _logger.info("Maintaining star-tree: {} on consuming segment", builderConfig);
+        mutableStarTrees.add(new MutableStarTree(builderConfig, dimensionFieldSpecs, dictionaries));
+      }
+    }
+    return !mutableStarTrees.isEmpty() ? mutableStarTrees : null;
   }
 
   /**
@@ -538,6 +619,11 @@ public class MutableSegmentImpl implements MutableSegment {
         canTakeMore = true;
       }
     }
+    // Index the star-trees before publishing the number of documents indexed so that the star-tree snapshot served to
+    // the queries never lags behind the queryable documents
+    if (_mutableStarTrees != null) {
+      indexStarTrees(row);
+    }
     _numDocsIndexed = numDocsIndexed;
 
     // Update last indexed time and latest ingestion time
@@ -549,6 +635,18 @@ public class MutableSegmentImpl implements MutableSegment {
     return canTakeMore;
   }
 
+  private void indexStarTrees(GenericRow row) {
+    for (MutableStarTree mutableStarTree : _mutableStarTrees) {
+      List<String> dimensions = mutableStarTree.getBuilderConfig().getDimensionsSplitOrder();
+      int numDimensions = dimensions.size();
+      int[] dictIds = new int[numDimensions];
+      for (int i = 0; i < numDimensions; i++) {
+        dictIds[i] = _indexContainerMap.get(dimensions.get(i))._dictId;
+      }
+      mutableStarTree.index(dictIds, row);
+    }
+  }
+
   private boolean isUpsertEnabled() {
     return _upsertMode != UpsertConfig.Mode.NONE;
   }
@@ -869,11 +967,30 @@ public class MutableSegmentImpl implements MutableSegment {
                   "Unsupported data type: " + dataType + " for MV no-dictionary column: " + column);
           }
         }
+
+        // Update vector index
+        MutableVectorIndex vectorIndex = indexContainer._vectorIndex;
+        if (vectorIndex != null) {
+          try {
+            Object[] values = (Object[]) value;
+            float[] vector = new float[values.length];
+            for (int i = 0; i < values.length; i++) {
+              vector[i] = (Float) values[i];
+            }
+            vectorIndex.add(docId, vector);
+          } catch (Exception e) {
+            recordIndexingError(VectorIndexType.INDEX_DISPLAY_NAME, e);
+          }
+        }
       }
     }
   }
 
   private void recordIndexingError(FieldConfig.IndexType indexType, Exception exception) {
+    recordIndexingError(indexType.name(), exception);
+  }
+
+  private void recordIndexingError(String indexType, Exception exception) {
     _logger.error("failed to index value with {}", indexType, exception);
     if (_serverMetrics != null) {
       String metricKeyName = _realtimeTableName + "-" + indexType + "-indexingError";
@@ -1013,9 +1130,28 @@ public class MutableSegmentImpl implements MutableSegment {
 
   @Override
   public List<StarTreeV2> getStarTrees() {
-    return null;
+    if (_mutableStarTrees == null) {
+      return null;
+    }
+    List<StarTreeV2> starTrees = new ArrayList<>(_mutableStarTrees.size());
+    for (MutableStarTree mutableStarTree : _mutableStarTrees) {
+      StarTreeV2 starTree = mutableStarTree.getSnapshot();
+      if (starTree == null) {
+        // No snapshot covering all the indexed records yet
+        return null;
+      }
+      starTrees.add(starTree);
+    }
+    return starTrees;
   }
 
+  @VisibleForTesting
+  @Nullable
+  List<MutableStarTree> getMutableStarTrees() {
+    return _mutableStarTrees;
+  }
+
+
   @Nullable
   @Override
   public ThreadSafeMutableRoaringBitmap getValidDocIds() {
@@ -1101,6 +1237,12 @@ public class MutableSegmentImpl implements MutableSegment {
       indexContainer.close();
     }
 
+    if (_mutableStarTrees != null) {
+      for (MutableStarTree mutableStarTree : _mutableStarTrees) {
+        mutableStarTree.close();
+      }
+    }
+
     if (_recordIdMap != null) {
       try {
         _recordIdMap.close();
@@ -1395,6 +1537,7 @@ public class MutableSegmentImpl implements MutableSegment {
     final MutableInvertedIndex _invertedIndex;
     final RangeIndexReader _rangeIndex;
     final MutableH3Index _h3Index;
+    final MutableVectorIndex _vectorIndex;
     final MutableTextIndex _textIndex;
     final MutableTextIndex _fstIndex;
     final MutableJsonIndex _jsonIndex;
@@ -1416,8 +1559,9 @@ public class MutableSegmentImpl implements MutableSegment {
         @Nullable MutableDictionary dictionary, @Nullable MutableInvertedIndex invertedIndex,
         @Nullable RangeIndexReader rangeIndex, @Nullable MutableTextIndex textIndex,
         @Nullable MutableTextIndex fstIndex, @Nullable MutableJsonIndex jsonIndex, @Nullable MutableH3Index h3Index,
-        @Nullable BloomFilterReader bloomFilter, @Nullable MutableNullValueVector nullValueVector,
-        @Nullable String sourceColumn, @Nullable ValueAggregator valueAggregator) {
+        @Nullable MutableVectorIndex vectorIndex, @Nullable BloomFilterReader bloomFilter,
+        @Nullable MutableNullValueVector nullValueVector, @Nullable String sourceColumn,
+        @Nullable ValueAggregator valueAggregator) {
       _fieldSpec = fieldSpec;
       _partitionFunction = partitionFunction;
       _partitions = partitions;
@@ -1427,6 +1571,7 @@ public class MutableSegmentImpl implements MutableSegment {
       _invertedIndex = invertedIndex;
       _rangeIndex = rangeIndex;
       _h3Index = h3Index;
+      _vectorIndex = vectorIndex;
 
       _textIndex = textIndex;
       _fstIndex = fstIndex;
@@ -1441,7 +1586,8 @@ public class MutableSegmentImpl implements MutableSegment {
       return new MutableDataSource(_fieldSpec, _numDocsIndexed, _valuesInfo._numValues,
           _valuesInfo._maxNumValuesPerMVEntry, _dictionary == null ? -1 : _dictionary.length(), _partitionFunction,
           _partitions, _minValue, _maxValue, _forwardIndex, _dictionary, _invertedIndex, _rangeIndex, _textIndex,
-          _fstIndex, _jsonIndex, _h3Index, _bloomFilter, _nullValueVector, _valuesInfo._varByteMVMaxRowLengthInBytes);
+          _fstIndex, _jsonIndex, _h3Index, _vectorIndex, _bloomFilter, _nullValueVector,
+          _valuesInfo._varByteMVMaxRowLengthInBytes);
     }
 
     @Override
@@ -1502,6 +1648,14 @@ public class MutableSegmentImpl implements MutableSegment {
           _logger.error("Caught exception while closing H3 index for column: {}, continuing with error", column, e);
         }
       }
+      if (_vectorIndex != null) {
+        try {
+          _vectorIndex.close();
+        } catch (Exception e) {
+          _logger.error("Caught exception while closing vector index for column: {}, continuing with error", column,
+              e);
+        }
+      }
       if (_bloomFilter != null) {
         try {
           _bloomFilter.close();
@@ -69,11 +69,41 @@ public class ChunkCompressorFactory {
       case LZ4_LENGTH_PREFIXED:
         return LZ4WithLengthCompressor.INSTANCE;
 
+      case FOR:
+      case DELTA:
+      case DELTA_OF_DELTA:
+      case GORILLA:
+        throw new IllegalArgumentException(
+            "Numeric compression type: " + compressionType + " requires the value size, only fixed-width values are "
+                + "supported");
+
+      case FSST:
+        throw new IllegalArgumentException(
+            "Compression type: FSST encodes values one by one and is only supported by the V4 raw forward index");
+
       default:
         throw new IllegalArgumentException("Illegal compressor name " + compressionType);
     }
   }
 
+  /**
+   * Returns the chunk compressor for the specified name, for chunks of fixed-width values of the given size.
+   *
+   * @param compressionType Type of compressor.
+   * @param valueSize Size (in bytes) of the values in the chunk, only used by the numeric compressors which support
+   *                  INT/FLOAT (4 bytes) and LONG/DOUBLE (8 bytes) values.
+   * @return Compressor for the specified type.
+   */
+  public static ChunkCompressor getCompressor(ChunkCompressionType compressionType, int valueSize) {
+    if (compressionType == ChunkCompressionType.GORILLA) {
+      return GorillaCompressor.getInstance(valueSize);
+    }
+    if (compressionType.isNumeric()) {
+      return NumericChunkCompressor.getInstance(compressionType, valueSize);
+    }
+    return getCompressor(compressionType, false);
+  }
+
   /**
    * Returns the chunk decompressor for the specified name.
    *
@@ -97,6 +127,22 @@ public class ChunkCompressorFactory {
       case LZ4_LENGTH_PREFIXED:
         return LZ4WithLengthDecompressor.INSTANCE;
 
+      case FOR:
+        return NumericChunkDecompressor.FOR_INSTANCE;
+
+      case DELTA:
+        return NumericChunkDecompressor.DELTA_INSTANCE;
+
+      case DELTA_OF_DELTA:
+        return NumericChunkDecompressor.DELTA_OF_DELTA_INSTANCE;
+
+      case GORILLA:
+        return GorillaDecompressor.INSTANCE;
+
+      case FSST:
+        throw new IllegalArgumentException(
+            "Compression type: FSST encodes values one by one and is only supported by the V4 raw forward index");
+
       default:
         throw new IllegalArgumentException("Illegal compressor name " + compressionType);
     }
@@ -0,0 +1,290 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+
+/**
+ * Static symbol table for FSST (Fast Static Symbol Table, Boncz et al., VLDB 2020) string compression.
+ * <p>The table maps up to 255 one-byte codes to symbols of 1 to 8 bytes, code 255 escapes a literal byte. Values are
+ * encoded independently of each other (greedy longest symbol match), so a single value can be decoded without touching
+ * the other values stored next to it, which allows random access into a compressed forward index.
+ * <p>The table is trained on a sample of the values with a few generations of: encode the sample with the current
+ * table, count how often each symbol (and each pair of consecutive symbols) is used, and keep the 255 symbols (or
+ * concatenations of pairs) with the highest gain, i.e. number of occurrences times length.
+ * <p>Serialized format: number of symbols (byte), then for each symbol its length (byte) and its bytes.
+ */
+public final class FsstSymbolTable {
+  public static final int MAX_SYMBOL_LENGTH = 8;
+  public static final int MAX_NUM_SYMBOLS = 255;
+  private static final int ESCAPE_CODE = 255;
+  private static final int NUM_TRAINING_GENERATIONS = 5;
+  // Literal bytes are counted after the symbols during training
+  private static final int NUM_TRAINING_CODES = MAX_NUM_SYMBOLS + 256;
+  private static final int[] NO_CODES = new int[0];
+
+  private final byte[][] _symbols;
+  // For each first byte, the codes of the symbols starting with it, longest first
+  private final int[][] _codesByFirstByte;
+
+  private FsstSymbolTable(byte[][] symbols) {
+    Preconditions.checkArgument(symbols.length <= MAX_NUM_SYMBOLS, "Too many symbols: %s", symbols.length);
+    _symbols = symbols;
+    List<List<Integer>> codesByFirstByte = new ArrayList<>(256);
+    for (int i = 0; i < 256; i++) {
+      codesByFirstByte.add(new ArrayList<>());
+    }
+    for (int code = 0; code < symbols.length; code++) {
+      byte[] symbol = symbols[code];
+      Preconditions.checkArgument(symbol.length > 0 && symbol.length <= MAX_SYMBOL_LENGTH, "Invalid symbol length: %s",
+          symbol.length);
+      codesByFirstByte.get(symbol[0] & 0xFF).add(code);
+    }
+    _codesByFirstByte = new int[256][];
+    for (int i = 0; i < 256; i++) {
+      List<Integer> codes = codesByFirstByte.get(i);
+      if (codes.isEmpty()) {
+        _codesByFirstByte[i] = NO_CODES;
+      } else {
+        codes.sort((code1, code2) -> Integer.compare(symbols[code2].length, symbols[code1].length));
+        _codesByFirstByte[i] = codes.stream().mapToInt(Integer::intValue).toArray();
+      }
+    }
+  }
+
+  public int getNumSymbols() {
+    return _symbols.length;
+  }
+
+  /**
+   * Trains a symbol table on the given sample of values.
+   */
+  public static FsstSymbolTable train(List<byte[]> sample) {
+    FsstSymbolTable table = new FsstSymbolTable(new byte[0][]);
+    for (int generation = 0; generation < NUM_TRAINING_GENERATIONS; generation++) {
+      int[] singleCounts = new int[NUM_TRAINING_CODES];
+      int[] pairCounts = new int[NUM_TRAINING_CODES * NUM_TRAINING_CODES];
+      for (byte[] value : sample) {
+        int previousCode = -1;
+        int position = 0;
+        while (position < value.length) {
+          int code = table.findLongestMatch(value, position);
+          int length;
+          if (code < 0) {
+            code = MAX_NUM_SYMBOLS + (value[position] & 0xFF);
+            length = 1;
+          } else {
+            length = table._symbols[code].length;
+          }
+          singleCounts[code]++;
+          if (previousCode >= 0) {
+            pairCounts[previousCode * NUM_TRAINING_CODES + code]++;
+          }
+          previousCode = code;
+          position += length;
+        }
+      }
+      table = table.buildNextGeneration(singleCounts, pairCounts);
+    }
+    return table;
+  }
+
+  private FsstSymbolTable buildNextGeneration(int[] singleCounts, int[] pairCounts) {
+    Map<String, Long> gains = new HashMap<>();
+    for (int code = 0; code < NUM_TRAINING_CODES; code++) {
+      int count = singleCounts[code];
+      if (count == 0) {
+        continue;
+      }
+      byte[] symbol = getTrainingSymbol(code);
+      gains.merge(toKey(symbol), (long) count * symbol.length, Math::max);
+      for (int nextCode = 0; nextCode < NUM_TRAINING_CODES; nextCode++) {
+        int pairCount = pairCounts[code * NUM_TRAINING_CODES + nextCode];
+        if (pairCount == 0) {
+          continue;
+        }
+        byte[] nextSymbol = getTrainingSymbol(nextCode);
+        int length = Math.min(symbol.length + nextSymbol.length, MAX_SYMBOL_LENGTH);
+        if (length == symbol.length) {
+          continue;
+        }
+        byte[] concatenated = Arrays.copyOf(symbol, length);
+        System.arraycopy(nextSymbol, 0, concatenated, symbol.length, length - symbol.length);
+        gains.merge(toKey(concatenated), (long) pairCount * length, Math::max);
+      }
+    }
+    PriorityQueue<Map.Entry<String, Long>> topSymbols =
+        new PriorityQueue<>(MAX_NUM_SYMBOLS + 1, Map.Entry.comparingByValue());
+    for (Map.Entry<String, Long> entry : gains.entrySet()) {
+      topSymbols.add(entry);
+      if (topSymbols.size() > MAX_NUM_SYMBOLS) {
+        topSymbols.poll();
+      }
+    }
+    byte[][] symbols = new byte[topSymbols.size()][];
+    int code = 0;
+    for (Map.Entry<String, Long> entry : topSymbols) {
+      symbols[code++] = fromKey(entry.getKey());
+    }
+    return new FsstSymbolTable(symbols);
+  }
+
+  private byte[] getTrainingSymbol(int code) {
+    return code < MAX_NUM_SYMBOLS ? _symbols[code] : new byte[]{(byte) (code - MAX_NUM_SYMBOLS)};
+  }
+
+  // Symbols are keyed by their bytes as ISO-8859-1 strings, which map each byte to a distinct char
+  private static String toKey(byte[] symbol) {
+    char[] chars = new char[symbol.length];
+    for (int i = 0; i < symbol.length; i++) {
+      chars[i] = (char) (symbol[i] & 0xFF);
+    }
+    return new String(chars);
+  }
+
+  private static byte[] fromKey(String key) {
+    byte[] symbol = new byte[key.length()];
+    for (int i = 0; i < symbol.length; i++) {
+      symbol[i] = (byte) key.charAt(i);
+    }
+    return symbol;
+  }
+
+  /**
+   * Returns the code of the longest symbol matching the value at the given position, or -1 if none matches.
+   */
+  private int findLongestMatch(byte[] value, int position) {
+    int numRemainingBytes = value.length - position;
+    for (int code : _codesByFirstByte[value[position] & 0xFF]) {
+      byte[] symbol = _symbols[code];
+      if (symbol.length <= numRemainingBytes && matches(symbol, value, position)) {
+        return code;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean matches(byte[] symbol, byte[] value, int position) {
+    for (int i = 1; i < symbol.length; i++) {
+      if (symbol[i] != value[position + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Encodes the given value.
+   */
+  public byte[] encode(byte[] value) {
+    byte[] encoded = new byte[2 * value.length];
+    int numEncodedBytes = 0;
+    int position = 0;
+    while (position < value.length) {
+      int code = findLongestMatch(value, position);
+      if (code >= 0) {
+        encoded[numEncodedBytes++] = (byte) code;
+        position += _symbols[code].length;
+      } else {
+        encoded[numEncodedBytes++] = (byte) ESCAPE_CODE;
+        encoded[numEncodedBytes++] = value[position++];
+      }
+    }
+    return Arrays.copyOf(encoded, numEncodedBytes);
+  }
+
+  /**
+   * Decodes the given encoded value.
+   */
+  public byte[] decode(byte[] encoded) {
+    return decode(ByteBuffer.wrap(encoded), 0, encoded.length);
+  }
+
+  /**
+   * Decodes the encoded value stored in the given buffer at the given offset, which allows decoding a single value
+   * straight from the (memory mapped) chunk without copying it first.
+   */
+  public byte[] decode(ByteBuffer buffer, int offset, int length) {
+    int end = offset + length;
+    int decodedLength = 0;
+    int position = offset;
+    while (position < end) {
+      int code = buffer.get(position++) & 0xFF;
+      if (code == ESCAPE_CODE) {
+        position++;
+        decodedLength++;
+      } else {
+        decodedLength += _symbols[code].length;
+      }
+    }
+    byte[] decoded = new byte[decodedLength];
+    int numDecodedBytes = 0;
+    position = offset;
+    while (position < end) {
+      int code = buffer.get(position++) & 0xFF;
+      if (code == ESCAPE_CODE) {
+        decoded[numDecodedBytes++] = buffer.get(position++);
+      } else {
+        byte[] symbol = _symbols[code];
+        System.arraycopy(symbol, 0, decoded, numDecodedBytes, symbol.length);
+        numDecodedBytes += symbol.length;
+      }
+    }
+    return decoded;
+  }
+
+  /**
+   * Returns the size in bytes of the serialized symbol table.
+   */
+  public int getSerializedSize() {
+    int size = 1;
+    for (byte[] symbol : _symbols) {
+      size += 1 + symbol.length;
+    }
+    return size;
+  }
+
+  public byte[] serialize() {
+    ByteBuffer buffer = ByteBuffer.allocate(getSerializedSize());
+    buffer.put((byte) _symbols.length);
+    for (byte[] symbol : _symbols) {
+      buffer.put((byte) symbol.length);
+      buffer.put(symbol);
+    }
+    return buffer.array();
+  }
+
+  public static FsstSymbolTable deserialize(ByteBuffer buffer) {
+    int numSymbols = buffer.get() & 0xFF;
+    byte[][] symbols = new byte[numSymbols][];
+    for (int code = 0; code < numSymbols; code++) {
+      symbols[code] = new byte[buffer.get()];
+      buffer.get(symbols[code]);
+    }
+    return new FsstSymbolTable(symbols);
+  }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+
+
+/**
+ * Implementation of {@link ChunkCompressor} for chunks of fixed-width FLOAT/DOUBLE values using the XOR encoding from
+ * the Gorilla paper (Pelkonen et al., VLDB 2015), which works well on slowly varying metrics where consecutive values
+ * share the sign, exponent and leading mantissa bits.
+ * <p>Each value is XOR-ed with the previous one (as raw bits):
+ * <ul>
+ *   <li>'0' if the XOR is 0, i.e. the value is repeated</li>
+ *   <li>'10' followed by the meaningful bits if they fit in the window (leading and trailing zeros) of the previous
+ *   stored XOR</li>
+ *   <li>'11' followed by the number of leading zeros (6 bits), the number of meaningful bits minus 1 (6 bits) and the
+ *   meaningful bits otherwise</li>
+ * </ul>
+ * <p>Compressed chunk layout (big-endian):
+ * <ul>
+ *   <li>Value size in bytes (byte), 4 for FLOAT and 8 for DOUBLE</li>
+ *   <li>Number of values (int)</li>
+ *   <li>Bit stream, starting with the raw bits of the first value, MSB first and padded to whole long words</li>
+ * </ul>
+ */
+class GorillaCompressor implements ChunkCompressor {
+  // Value size and number of values
+  static final int HEADER_SIZE = 1 + Integer.BYTES;
+  static final int NUM_LEADING_ZEROS_BITS = 6;
+  static final int NUM_MEANINGFUL_BITS_BITS = 6;
+  // Control bits, number of leading zeros, number of meaningful bits and the meaningful bits
+  private static final int MAX_BITS_PER_VALUE = 2 + NUM_LEADING_ZEROS_BITS + NUM_MEANINGFUL_BITS_BITS + Long.SIZE;
+
+  private static final GorillaCompressor FLOAT_COMPRESSOR = new GorillaCompressor(Float.BYTES);
+  private static final GorillaCompressor DOUBLE_COMPRESSOR = new GorillaCompressor(Double.BYTES);
+
+  private final int _valueSize;
+  private final int _numValueBits;
+
+  private GorillaCompressor(int valueSize) {
+    _valueSize = valueSize;
+    _numValueBits = valueSize * Byte.SIZE;
+  }
+
+  static GorillaCompressor getInstance(int valueSize) {
+    Preconditions.checkArgument(valueSize == Float.BYTES || valueSize == Double.BYTES,
+        "Gorilla compression only supports FLOAT/DOUBLE values, got value size: %s", valueSize);
+    return valueSize == Float.BYTES ? FLOAT_COMPRESSOR : DOUBLE_COMPRESSOR;
+  }
+
+  @Override
+  public int compress(ByteBuffer inUncompressed, ByteBuffer outCompressed) {
+    int position = inUncompressed.position();
+    int numValues = inUncompressed.remaining() / _valueSize;
+    outCompressed.put((byte) _valueSize);
+    outCompressed.putInt(numValues);
+
+    if (numValues > 0) {
+      BitWriter writer = new BitWriter(outCompressed);
+      long previousBits = getBits(inUncompressed, position, 0);
+      writer.write(previousBits, _numValueBits);
+      int previousNumLeadingZeros = -1;
+      int previousNumTrailingZeros = 0;
+      for (int i = 1; i < numValues; i++) {
+        long bits = getBits(inUncompressed, position, i);
+        long xor = bits ^ previousBits;
+        previousBits = bits;
+        if (xor == 0) {
+          writer.write(0, 1);
+          continue;
+        }
+        int numLeadingZeros = Long.numberOfLeadingZeros(xor) - (Long.SIZE - _numValueBits);
+        int numTrailingZeros = Long.numberOfTrailingZeros(xor);
+        if (previousNumLeadingZeros >= 0 && numLeadingZeros >= previousNumLeadingZeros
+            && numTrailingZeros >= previousNumTrailingZeros) {
+          writer.write(0b10, 2);
+          writer.write(xor >>> previousNumTrailingZeros,
+              _numValueBits - previousNumLeadingZeros - previousNumTrailingZeros);
+        } else {
+          int numMeaningfulBits = _numValueBits - numLeadingZeros - numTrailingZeros;
+          writer.write(0b11, 2);
+          writer.write(numLeadingZeros, NUM_LEADING_ZEROS_BITS);
+          writer.write(numMeaningfulBits - 1, NUM_MEANINGFUL_BITS_BITS);
+          writer.write(xor >>> numTrailingZeros, numMeaningfulBits);
+          previousNumLeadingZeros = numLeadingZeros;
+          previousNumTrailingZeros = numTrailingZeros;
+        }
+      }
+      writer.flush();
+    }
+    inUncompressed.position(inUncompressed.limit());
+
+    outCompressed.flip();
+    return outCompressed.limit();
+  }
+
+  private long getBits(ByteBuffer buffer, int position, int index) {
+    if (_valueSize == Float.BYTES) {
+      return buffer.getInt(position + index * Float.BYTES) & 0xFFFFFFFFL;
+    } else {
+      return buffer.getLong(position + index * Double.BYTES);
+    }
+  }
+
+  @Override
+  public int maxCompressedSize(int uncompressedSize) {
+    long numValues = uncompressedSize / _valueSize;
+    return (int) (HEADER_SIZE + (numValues * MAX_BITS_PER_VALUE / Long.SIZE + 1) * Long.BYTES);
+  }
+
+  @Override
+  public ChunkCompressionType compressionType() {
+    return ChunkCompressionType.GORILLA;
+  }
+
+  /**
+   * Writes bits MSB first into long words.
+   */
+  private static final class BitWriter {
+    final ByteBuffer _output;
+    long _word;
+    int _numBitsInWord;
+
+    BitWriter(ByteBuffer output) {
+      _output = output;
+    }
+
+    /**
+     * Writes the lowest {@code numBits} bits of the given value, {@code numBits} must be in [1, 64].
+     */
+    void write(long value, int numBits) {
+      int numFreeBits = Long.SIZE - _numBitsInWord;
+      if (numBits <= numFreeBits) {
+        long bits = numBits == Long.SIZE ? value : value & ((1L << numBits) - 1);
+        _word |= bits << (numFreeBits - numBits);
+        _numBitsInWord += numBits;
+        if (_numBitsInWord == Long.SIZE) {
+          _output.putLong(_word);
+          _word = 0;
+          _numBitsInWord = 0;
+        }
+      } else {
+        int numRemainingBits = numBits - numFreeBits;
+        _word |= (value >>> numRemainingBits) & ((1L << numFreeBits) - 1);
+        _output.putLong(_word);
+        _word = value << (Long.SIZE - numRemainingBits);
+        _numBitsInWord = numRemainingBits;
+      }
+    }
+
+    void flush() {
+      if (_numBitsInWord > 0) {
+        _output.putLong(_word);
+      }
+    }
+  }
+}
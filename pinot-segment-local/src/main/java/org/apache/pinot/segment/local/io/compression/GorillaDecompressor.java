@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import java.nio.ByteBuffer;
+import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
+
+
+/**
+ * Implementation of {@link ChunkDecompressor} for the Gorilla XOR encoding, see {@link GorillaCompressor} for the
+ * compressed chunk layout.
+ * <p>Besides decompressing into a {@link ByteBuffer}, values can be decoded straight into {@code float[]}/
+ * {@code double[]} buffers, which allows the forward index readers to skip the intermediate chunk buffer for bulk
+ * reads.
+ */
+public class GorillaDecompressor implements ChunkDecompressor {
+  static final GorillaDecompressor INSTANCE = new GorillaDecompressor();
+
+  private GorillaDecompressor() {
+  }
+
+  @Override
+  public int decompress(ByteBuffer compressedInput, ByteBuffer decompressedOutput) {
+    Decoder decoder = new Decoder(compressedInput);
+    int numValues = decoder._numValues;
+    if (decoder._numValueBits == Integer.SIZE) {
+      for (int i = 0; i < numValues; i++) {
+        decompressedOutput.putInt((int) decoder.nextBits());
+      }
+    } else {
+      for (int i = 0; i < numValues; i++) {
+        decompressedOutput.putLong(decoder.nextBits());
+      }
+    }
+    compressedInput.position(compressedInput.limit());
+    decompressedOutput.flip();
+    return decompressedOutput.limit();
+  }
+
+  @Override
+  public int decompressedLength(ByteBuffer compressedInput) {
+    int position = compressedInput.position();
+    return compressedInput.get(position) * compressedInput.getInt(position + 1);
+  }
+
+  /**
+   * Decodes all the FLOAT values in the given compressed chunk into the given buffer starting at the given offset,
+   * returns the number of values decoded.
+   */
+  public int decode(ByteBuffer compressedInput, float[] values, int offset) {
+    Decoder decoder = new Decoder(compressedInput);
+    int numValues = decoder._numValues;
+    for (int i = 0; i < numValues; i++) {
+      values[offset + i] = Float.intBitsToFloat((int) decoder.nextBits());
+    }
+    return numValues;
+  }
+
+  /**
+   * Decodes all the DOUBLE values in the given compressed chunk into the given buffer starting at the given offset,
+   * returns the number of values decoded.
+   */
+  public int decode(ByteBuffer compressedInput, double[] values, int offset) {
+    Decoder decoder = new Decoder(compressedInput);
+    int numValues = decoder._numValues;
+    for (int i = 0; i < numValues; i++) {
+      values[offset + i] = Double.longBitsToDouble(decoder.nextBits());
+    }
+    return numValues;
+  }
+
+  /**
+   * Sequential decoder over a compressed chunk. Only uses absolute reads, so the position of the input buffer is not
+   * modified.
+   */
+  private static final class Decoder {
+    final ByteBuffer _input;
+    final int _numValueBits;
+    final int _numValues;
+
+    int _wordPosition;
+    long _word;
+    int _numBitsInWord;
+    boolean _first = true;
+    long _previousBits;
+    int _numLeadingZeros;
+    int _numTrailingZeros;
+
+    Decoder(ByteBuffer input) {
+      _input = input;
+      int position = input.position();
+      _numValueBits = input.get(position) * Byte.SIZE;
+      _numValues = input.getInt(position + 1);
+      _wordPosition = position + GorillaCompressor.HEADER_SIZE;
+    }
+
+    long nextBits() {
+      if (_first) {
+        _first = false;
+        _previousBits = read(_numValueBits);
+        return _previousBits;
+      }
+      if (read(1) == 0) {
+        return _previousBits;
+      }
+      if (read(1) == 1) {
+        _numLeadingZeros = (int) read(GorillaCompressor.NUM_LEADING_ZEROS_BITS);
+        int numMeaningfulBits = (int) read(GorillaCompressor.NUM_MEANINGFUL_BITS_BITS) + 1;
+        _numTrailingZeros = _numValueBits - _numLeadingZeros - numMeaningfulBits;
+      }
+      long xor = read(_numValueBits - _numLeadingZeros - _numTrailingZeros) << _numTrailingZeros;
+      _previousBits ^= xor;
+      return _previousBits;
+    }
+
+    /**
+     * Reads the next {@code numBits} bits, {@code numBits} must be in [1, 64].
+     */
+    private long read(int numBits) {
+      if (numBits <= _numBitsInWord) {
+        _numBitsInWord -= numBits;
+        long bits = _word >>> _numBitsInWord;
+        return numBits == Long.SIZE ? bits : bits & ((1L << numBits) - 1);
+      }
+      long highBits = _numBitsInWord == 0 ? 0 : _word & ((1L << _numBitsInWord) - 1);
+      int numRemainingBits = numBits - _numBitsInWord;
+      _word = _input.getLong(_wordPosition);
+      _wordPosition += Long.BYTES;
+      _numBitsInWord = Long.SIZE - numRemainingBits;
+      long lowBits = _word >>> _numBitsInWord;
+      return numRemainingBits == Long.SIZE ? lowBits : (highBits << numRemainingBits) | lowBits;
+    }
+  }
+}
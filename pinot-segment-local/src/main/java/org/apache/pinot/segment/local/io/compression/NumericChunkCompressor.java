@@ -0,0 +1,211 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+
+
+/**
+ * Implementation of {@link ChunkCompressor} for chunks of fixed-width INT/LONG values, supporting the numeric codecs
+ * {@link ChunkCompressionType#FOR} (frame-of-reference), {@link ChunkCompressionType#DELTA} and
+ * {@link ChunkCompressionType#DELTA_OF_DELTA}.
+ * <p>The values are first turned into residuals (the values themselves, the deltas between consecutive values, or the
+ * deltas between consecutive deltas), the residuals are rebased on their minimum, and then bit-packed with the width
+ * that minimizes the chunk size. Deltas are zigzag encoded first, so that a few negative deltas (e.g. out-of-order
+ * timestamps) do not shift the reference for the whole chunk. Residuals that do not fit in the chosen width are stored
+ * as patched exceptions, so that a few outliers do not blow up the width of the whole chunk. All the arithmetic wraps
+ * around, so any LONG value can be encoded losslessly.
+ * <p>Compressed chunk layout (big-endian):
+ * <ul>
+ *   <li>Value size in bytes (byte), 4 for INT and 8 for LONG</li>
+ *   <li>Number of values (int)</li>
+ *   <li>Leading raw values (long each): none for FOR, the first value for DELTA, the first value and the first delta
+ *   for DELTA_OF_DELTA</li>
+ *   <li>Reference, i.e. minimum (zigzag encoded for deltas) residual (long)</li>
+ *   <li>Bit width (byte)</li>
+ *   <li>Number of exceptions (int)</li>
+ *   <li>Bit-packed residuals minus reference, little-endian within each long word</li>
+ *   <li>Exceptions: residual index (int) and residual minus reference (long), in increasing index order</li>
+ * </ul>
+ */
+class NumericChunkCompressor implements ChunkCompressor {
+  // Value size, number of values, reference, bit width and number of exceptions
+  static final int FIXED_HEADER_SIZE = 1 + Integer.BYTES + Long.BYTES + 1 + Integer.BYTES;
+  static final int EXCEPTION_SIZE = Integer.BYTES + Long.BYTES;
+
+  private static final NumericChunkCompressor[] INT_COMPRESSORS = new NumericChunkCompressor[]{
+      new NumericChunkCompressor(ChunkCompressionType.FOR, Integer.BYTES),
+      new NumericChunkCompressor(ChunkCompressionType.DELTA, Integer.BYTES),
+      new NumericChunkCompressor(ChunkCompressionType.DELTA_OF_DELTA, Integer.BYTES)
+  };
+  private static final NumericChunkCompressor[] LONG_COMPRESSORS = new NumericChunkCompressor[]{
+      new NumericChunkCompressor(ChunkCompressionType.FOR, Long.BYTES),
+      new NumericChunkCompressor(ChunkCompressionType.DELTA, Long.BYTES),
+      new NumericChunkCompressor(ChunkCompressionType.DELTA_OF_DELTA, Long.BYTES)
+  };
+
+  private final ChunkCompressionType _compressionType;
+  private final int _valueSize;
+  private final int _numLeadingValues;
+
+  private NumericChunkCompressor(ChunkCompressionType compressionType, int valueSize) {
+    _compressionType = compressionType;
+    _valueSize = valueSize;
+    _numLeadingValues = getNumLeadingValues(compressionType);
+  }
+
+  static NumericChunkCompressor getInstance(ChunkCompressionType compressionType, int valueSize) {
+    Preconditions.checkArgument(valueSize == Integer.BYTES || valueSize == Long.BYTES,
+        "Numeric compression type: %s only supports INT/LONG values, got value size: %s", compressionType, valueSize);
+    int index = getNumLeadingValues(compressionType);
+    return valueSize == Integer.BYTES ? INT_COMPRESSORS[index] : LONG_COMPRESSORS[index];
+  }
+
+  static int getNumLeadingValues(ChunkCompressionType compressionType) {
+    switch (compressionType) {
+      case FOR:
+        return 0;
+      case DELTA:
+        return 1;
+      case DELTA_OF_DELTA:
+        return 2;
+      default:
+        throw new IllegalArgumentException("Not a numeric compression type: " + compressionType);
+    }
+  }
+
+  @Override
+  public int compress(ByteBuffer inUncompressed, ByteBuffer outCompressed) {
+    int position = inUncompressed.position();
+    int numValues = inUncompressed.remaining() / _valueSize;
+    long[] values = new long[numValues];
+    if (_valueSize == Integer.BYTES) {
+      for (int i = 0; i < numValues; i++) {
+        values[i] = inUncompressed.getInt(position + i * Integer.BYTES);
+      }
+    } else {
+      for (int i = 0; i < numValues; i++) {
+        values[i] = inUncompressed.getLong(position + i * Long.BYTES);
+      }
+    }
+    inUncompressed.position(inUncompressed.limit());
+
+    // Compute the residuals in place, the leading values are left untouched
+    for (int order = 1; order <= _numLeadingValues; order++) {
+      for (int i = numValues - 1; i >= order; i--) {
+        values[i] -= values[i - 1];
+      }
+    }
+    int numLeadingValues = Math.min(_numLeadingValues, numValues);
+    int numResiduals = numValues - numLeadingValues;
+    if (_numLeadingValues > 0) {
+      for (int i = numLeadingValues; i < numValues; i++) {
+        long delta = values[i];
+        values[i] = (delta << 1) ^ (delta >> 63);
+      }
+    }
+
+    outCompressed.put((byte) _valueSize);
+    outCompressed.putInt(numValues);
+    for (int i = 0; i < numLeadingValues; i++) {
+      outCompressed.putLong(values[i]);
+    }
+
+    // Rebase the residuals on the minimum so that they are all non-negative (as unsigned values)
+    long reference = 0;
+    if (numResiduals > 0) {
+      reference = Long.MAX_VALUE;
+      for (int i = numLeadingValues; i < numValues; i++) {
+        reference = Math.min(reference, values[i]);
+      }
+    }
+    int[] bitLengthCounts = new int[Long.SIZE + 1];
+    for (int i = numLeadingValues; i < numValues; i++) {
+      long residual = values[i] - reference;
+      values[i] = residual;
+      bitLengthCounts[Long.SIZE - Long.numberOfLeadingZeros(residual)]++;
+    }
+
+    // Pick the bit width with the smallest size, counting the residuals that do not fit as exceptions
+    int bitWidth = Long.SIZE;
+    int numExceptions = 0;
+    long minCost = (long) numResiduals * Long.SIZE;
+    int numFittingResiduals = 0;
+    for (int width = 0; width < Long.SIZE; width++) {
+      numFittingResiduals += bitLengthCounts[width];
+      int numExceedingResiduals = numResiduals - numFittingResiduals;
+      long cost = (long) numResiduals * width + (long) numExceedingResiduals * EXCEPTION_SIZE * Byte.SIZE;
+      if (cost < minCost) {
+        minCost = cost;
+        bitWidth = width;
+        numExceptions = numExceedingResiduals;
+      }
+    }
+    outCompressed.putLong(reference);
+    outCompressed.put((byte) bitWidth);
+    outCompressed.putInt(numExceptions);
+
+    if (bitWidth > 0) {
+      long mask = bitWidth == Long.SIZE ? -1L : (1L << bitWidth) - 1;
+      long word = 0;
+      int shift = 0;
+      for (int i = numLeadingValues; i < numValues; i++) {
+        long value = values[i] & mask;
+        word |= value << shift;
+        shift += bitWidth;
+        if (shift >= Long.SIZE) {
+          outCompressed.putLong(word);
+          shift -= Long.SIZE;
+          word = shift > 0 ? value >>> (bitWidth - shift) : 0;
+        }
+      }
+      if (shift > 0) {
+        outCompressed.putLong(word);
+      }
+    }
+    if (numExceptions > 0) {
+      for (int i = numLeadingValues; i < numValues; i++) {
+        long residual = values[i];
+        if (Long.SIZE - Long.numberOfLeadingZeros(residual) > bitWidth) {
+          outCompressed.putInt(i - numLeadingValues);
+          outCompressed.putLong(residual);
+        }
+      }
+    }
+
+    outCompressed.flip();
+    return outCompressed.limit();
+  }
+
+  @Override
+  public int maxCompressedSize(int uncompressedSize) {
+    // Bit width and exceptions are chosen so that the residuals never take more than 64 bits each (plus one partially
+    // filled word)
+    int numValues = uncompressedSize / _valueSize;
+    return FIXED_HEADER_SIZE + (numValues + 1) * Long.BYTES;
+  }
+
+  @Override
+  public ChunkCompressionType compressionType() {
+    return _compressionType;
+  }
+}
@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import java.nio.ByteBuffer;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
+
+
+/**
+ * Implementation of {@link ChunkDecompressor} for the numeric codecs, see {@link NumericChunkCompressor} for the
+ * compressed chunk layout.
+ * <p>Besides decompressing into a {@link ByteBuffer}, values can be decoded straight into {@code int[]}/{@code long[]}
+ * buffers, which allows the forward index readers to skip the intermediate chunk buffer for bulk reads.
+ */
+public class NumericChunkDecompressor implements ChunkDecompressor {
+  static final NumericChunkDecompressor FOR_INSTANCE = new NumericChunkDecompressor(ChunkCompressionType.FOR);
+  static final NumericChunkDecompressor DELTA_INSTANCE = new NumericChunkDecompressor(ChunkCompressionType.DELTA);
+  static final NumericChunkDecompressor DELTA_OF_DELTA_INSTANCE =
+      new NumericChunkDecompressor(ChunkCompressionType.DELTA_OF_DELTA);
+
+  private final int _numLeadingValues;
+
+  private NumericChunkDecompressor(ChunkCompressionType compressionType) {
+    _numLeadingValues = NumericChunkCompressor.getNumLeadingValues(compressionType);
+  }
+
+  @Override
+  public int decompress(ByteBuffer compressedInput, ByteBuffer decompressedOutput) {
+    Decoder decoder = new Decoder(compressedInput, _numLeadingValues);
+    int numValues = decoder._numValues;
+    if (decoder._valueSize == Integer.BYTES) {
+      for (int i = 0; i < numValues; i++) {
+        decompressedOutput.putInt((int) decoder.nextValue());
+      }
+    } else {
+      for (int i = 0; i < numValues; i++) {
+        decompressedOutput.putLong(decoder.nextValue());
+      }
+    }
+    compressedInput.position(compressedInput.limit());
+    decompressedOutput.flip();
+    return decompressedOutput.limit();
+  }
+
+  @Override
+  public int decompressedLength(ByteBuffer compressedInput) {
+    int position = compressedInput.position();
+    return compressedInput.get(position) * compressedInput.getInt(position + 1);
+  }
+
+  /**
+   * Returns the number of values in the given compressed chunk.
+   */
+  public int getNumValues(ByteBuffer compressedInput) {
+    return compressedInput.getInt(compressedInput.position() + 1);
+  }
+
+  /**
+   * Decodes all the values in the given compressed chunk into the given buffer starting at the given offset, returns
+   * the number of values decoded.
+   */
+  public int decode(ByteBuffer compressedInput, int[] values, int offset) {
+    Decoder decoder = new Decoder(compressedInput, _numLeadingValues);
+    int numValues = decoder._numValues;
+    for (int i = 0; i < numValues; i++) {
+      values[offset + i] = (int) decoder.nextValue();
+    }
+    return numValues;
+  }
+
+  /**
+   * Decodes all the values in the given compressed chunk into the given buffer starting at the given offset, returns
+   * the number of values decoded.
+   */
+  public int decode(ByteBuffer compressedInput, long[] values, int offset) {
+    Decoder decoder = new Decoder(compressedInput, _numLeadingValues);
+    int numValues = decoder._numValues;
+    for (int i = 0; i < numValues; i++) {
+      values[offset + i] = decoder.nextValue();
+    }
+    return numValues;
+  }
+
+  /**
+   * Sequential decoder over a compressed chunk. Only uses absolute reads, so the position of the input buffer is not
+   * modified.
+   */
+  private static final class Decoder {
+    final ByteBuffer _input;
+    final int _valueSize;
+    final int _numValues;
+    final int _numLeadingValues;
+    final long _firstValue;
+    final long _firstDelta;
+    final long _reference;
+    final int _bitWidth;
+    final long _mask;
+
+    int _wordPosition;
+    long _word;
+    int _numBitsInWord;
+    int _exceptionPosition;
+    int _numRemainingExceptions;
+    int _nextExceptionIndex;
+    int _valueIndex;
+    int _residualIndex;
+    long _previousValue;
+    long _previousDelta;
+
+    Decoder(ByteBuffer input, int numLeadingValues) {
+      _input = input;
+      int position = input.position();
+      _valueSize = input.get(position);
+      position++;
+      _numValues = input.getInt(position);
+      position += Integer.BYTES;
+      _numLeadingValues = Math.min(numLeadingValues, _numValues);
+      _firstValue = _numLeadingValues > 0 ? input.getLong(position) : 0;
+      _firstDelta = _numLeadingValues > 1 ? input.getLong(position + Long.BYTES) : 0;
+      position += _numLeadingValues * Long.BYTES;
+      _reference = input.getLong(position);
+      position += Long.BYTES;
+      _bitWidth = input.get(position);
+      position++;
+      _numRemainingExceptions = input.getInt(position);
+      position += Integer.BYTES;
+      _mask = _bitWidth == Long.SIZE ? -1L : (1L << _bitWidth) - 1;
+
+      _wordPosition = position;
+      long numBits = (long) (_numValues - _numLeadingValues) * _bitWidth;
+      _exceptionPosition = position + (int) ((numBits + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+      _nextExceptionIndex = _numRemainingExceptions > 0 ? input.getInt(_exceptionPosition) : -1;
+    }
+
+    long nextValue() {
+      int valueIndex = _valueIndex++;
+      if (valueIndex < _numLeadingValues) {
+        if (valueIndex == 0) {
+          _previousValue = _firstValue;
+        } else {
+          _previousDelta = _firstDelta;
+          _previousValue += _firstDelta;
+        }
+        return _previousValue;
+      }
+      long residual = nextResidual() + _reference;
+      if (_numLeadingValues == 0) {
+        return residual;
+      }
+      long delta = (residual >>> 1) ^ -(residual & 1);
+      if (_numLeadingValues == 1) {
+        _previousValue += delta;
+      } else {
+        _previousDelta += delta;
+        _previousValue += _previousDelta;
+      }
+      return _previousValue;
+    }
+
+    private long nextResidual() {
+      long residual;
+      if (_numBitsInWord >= _bitWidth) {
+        residual = _word & _mask;
+        _word >>>= _bitWidth;
+        _numBitsInWord -= _bitWidth;
+      } else {
+        long nextWord = _input.getLong(_wordPosition);
+        _wordPosition += Long.BYTES;
+        residual = (_word | (nextWord << _numBitsInWord)) & _mask;
+        int numBitsConsumed = _bitWidth - _numBitsInWord;
+        _word = numBitsConsumed == Long.SIZE ? 0 : nextWord >>> numBitsConsumed;
+        _numBitsInWord = Long.SIZE - numBitsConsumed;
+      }
+      if (_residualIndex++ == _nextExceptionIndex) {
+        residual = _input.getLong(_exceptionPosition + Integer.BYTES);
+        _exceptionPosition += NumericChunkCompressor.EXCEPTION_SIZE;
+        _nextExceptionIndex = --_numRemainingExceptions > 0 ? _input.getInt(_exceptionPosition) : -1;
+      }
+      return residual;
+    }
+  }
+}
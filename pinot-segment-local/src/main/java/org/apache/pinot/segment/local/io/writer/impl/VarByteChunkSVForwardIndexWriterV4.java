@@ -27,9 +27,12 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import javax.annotation.concurrent.NotThreadSafe;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.segment.local.io.compression.ChunkCompressorFactory;
+import org.apache.pinot.segment.local.io.compression.FsstSymbolTable;
 import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
 import org.apache.pinot.segment.spi.compression.ChunkCompressor;
 import org.apache.pinot.segment.spi.memory.CleanerUtil;
@@ -43,6 +46,10 @@ import org.slf4j.LoggerFactory;
  *
  *
  * Only sequential writes are supported.
+ *
+ * With {@link ChunkCompressionType#FSST}, the chunks are stored uncompressed but every value is encoded with a
+ * {@link FsstSymbolTable} trained on the first values written, so that readers can decode a single value without
+ * decompressing its chunk. The symbol table is written (prefixed with its size) right after the header.
  */
 @NotThreadSafe
 public class VarByteChunkSVForwardIndexWriterV4 implements VarByteChunkWriter {
@@ -50,6 +57,9 @@ public class VarByteChunkSVForwardIndexWriterV4 implements VarByteChunkWriter {
   public static final int VERSION = 4;
   private static final Logger LOGGER = LoggerFactory.getLogger(VarByteChunkSVForwardIndexWriterV4.class);
   private static final String DATA_BUFFER_SUFFIX = ".buf";
+  // FSST symbol tables are trained on the values buffered until either limit is reached
+  private static final int MAX_TRAINING_SAMPLE_SIZE = 1 << 16;
+  private static final int MAX_TRAINING_SAMPLE_VALUES = 1 << 14;
 
   private final File _dataBuffer;
   private final RandomAccessFile _output;
@@ -62,19 +72,28 @@ public class VarByteChunkSVForwardIndexWriterV4 implements VarByteChunkWriter {
   private int _nextDocId = 0;
   private int _metadataSize = 0;
   private long _chunkOffset = 0;
+  private List<byte[]> _trainingSample;
+  private int _trainingSampleSize = 0;
+  private FsstSymbolTable _symbolTable;
 
   public VarByteChunkSVForwardIndexWriterV4(File file, ChunkCompressionType compressionType, int chunkSize)
       throws IOException {
     _dataBuffer = new File(file.getName() + DATA_BUFFER_SUFFIX);
     _output = new RandomAccessFile(file, "rw");
     _dataChannel = new RandomAccessFile(_dataBuffer, "rw").getChannel();
-    _chunkCompressor = ChunkCompressorFactory.getCompressor(compressionType, true);
+    if (compressionType == ChunkCompressionType.FSST) {
+      // values are encoded one by one, the chunks themselves are not compressed
+      _chunkCompressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.PASS_THROUGH, true);
+      _trainingSample = new ArrayList<>();
+    } else {
+      _chunkCompressor = ChunkCompressorFactory.getCompressor(compressionType, true);
+    }
     _chunkBuffer = ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
     _compressionBuffer = ByteBuffer.allocateDirect(_chunkCompressor.maxCompressedSize(chunkSize))
         .order(ByteOrder.LITTLE_ENDIAN);
     // reserve space for numDocs
     _chunkBuffer.position(Integer.BYTES);
-    writeHeader(_chunkCompressor.compressionType(), chunkSize);
+    writeHeader(_trainingSample != null ? ChunkCompressionType.FSST : _chunkCompressor.compressionType(), chunkSize);
   }
 
   private void writeHeader(ChunkCompressionType compressionType, int targetDecompressedChunkSize)
@@ -101,6 +120,38 @@ public class VarByteChunkSVForwardIndexWriterV4 implements VarByteChunkWriter {
 
   @Override
   public void putBytes(byte[] bytes) {
+    if (_trainingSample != null) {
+      _trainingSample.add(bytes);
+      _trainingSampleSize += bytes.length;
+      if (_trainingSampleSize >= MAX_TRAINING_SAMPLE_SIZE || _trainingSample.size() >= MAX_TRAINING_SAMPLE_VALUES) {
+        trainSymbolTable();
+      }
+    } else if (_symbolTable != null) {
+      putValue(_symbolTable.encode(bytes));
+    } else {
+      putValue(bytes);
+    }
+  }
+
+  private void trainSymbolTable() {
+    List<byte[]> trainingSample = _trainingSample;
+    _trainingSample = null;
+    _symbolTable = FsstSymbolTable.train(trainingSample);
+    byte[] serializedSymbolTable = _symbolTable.serialize();
+    try {
+      // the symbol table goes before the chunk metadata, which is only written once the first chunk is flushed
+      _output.writeInt(serializedSymbolTable.length);
+      _output.write(serializedSymbolTable);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    _metadataSize += Integer.BYTES + serializedSymbolTable.length;
+    for (byte[] bytes : trainingSample) {
+      putValue(_symbolTable.encode(bytes));
+    }
+  }
+
+  private void putValue(byte[] bytes) {
     Preconditions.checkState(_chunkOffset < (1L << 32), "exceeded 4GB of compressed chunks");
     int sizeRequired = Integer.BYTES + bytes.length;
     if (_chunkBuffer.position() > _chunkBuffer.capacity() - sizeRequired) {
@@ -231,6 +282,9 @@ public class VarByteChunkSVForwardIndexWriterV4 implements VarByteChunkWriter {
   @Override
   public void close()
       throws IOException {
+    if (_trainingSample != null) {
+      trainSymbolTable();
+    }
     flushChunk();
     // write out where the chunks start into slot reserved at offset 12
     _output.seek(3 * Integer.BYTES);
@@ -20,6 +20,8 @@ package org.apache.pinot.segment.local.loader;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Map;
+import javax.annotation.Nullable;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.segment.local.segment.index.loader.IndexLoadingConfig;
 import org.apache.pinot.segment.local.segment.store.SegmentLocalFSDirectory;
@@ -27,7 +29,10 @@ import org.apache.pinot.segment.spi.loader.SegmentDirectoryLoader;
 import org.apache.pinot.segment.spi.loader.SegmentDirectoryLoaderContext;
 import org.apache.pinot.segment.spi.loader.SegmentLoader;
 import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.IndexingConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
 import org.apache.pinot.spi.env.PinotConfiguration;
+import org.apache.pinot.spi.utils.BufferAdvice;
 import org.apache.pinot.spi.utils.ReadMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,7 +61,21 @@ public class DefaultSegmentDirectoryLoader implements SegmentDirectoryLoader {
       return new SegmentLocalFSDirectory(directory);
     }
     return new SegmentLocalFSDirectory(directory,
-        ReadMode.valueOf(segmentDirectoryConfigs.getProperty(IndexLoadingConfig.READ_MODE_KEY)));
+        ReadMode.valueOf(segmentDirectoryConfigs.getProperty(IndexLoadingConfig.READ_MODE_KEY)),
+        getBufferAdvice(segmentLoaderContext));
+  }
+
+  /**
+   * Returns the per index type buffer advice configured for the table, or null if not configured.
+   */
+  @Nullable
+  static Map<String, BufferAdvice> getBufferAdvice(SegmentDirectoryLoaderContext segmentLoaderContext) {
+    TableConfig tableConfig = segmentLoaderContext.getTableConfig();
+    if (tableConfig == null) {
+      return null;
+    }
+    IndexingConfig indexingConfig = tableConfig.getIndexingConfig();
+    return indexingConfig != null ? indexingConfig.getBufferAdvice() : null;
   }
 
   @Override
@@ -104,7 +104,8 @@ public class TierBasedSegmentDirectoryLoader implements SegmentDirectoryLoader {
       segmentDirectory = new SegmentLocalFSDirectory(destDir);
     } else {
       segmentDirectory = new SegmentLocalFSDirectory(destDir, ReadMode.valueOf(
-          segmentLoaderContext.getSegmentDirectoryConfigs().getProperty(IndexLoadingConfig.READ_MODE_KEY)));
+          segmentLoaderContext.getSegmentDirectoryConfigs().getProperty(IndexLoadingConfig.READ_MODE_KEY)),
+          DefaultSegmentDirectoryLoader.getBufferAdvice(segmentLoaderContext));
     }
     LOGGER.info("Created segmentDirectory object for segment: {} with dataDir: {} on targetTier: {}", segmentName,
         destDir, targetTierName);
@@ -24,15 +24,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.apache.pinot.common.metadata.segment.SegmentZKMetadata;
 import org.apache.pinot.segment.local.dedup.PartitionDedupMetadataManager;
 import org.apache.pinot.segment.local.indexsegment.mutable.MutableSegmentImpl;
 import org.apache.pinot.segment.local.upsert.PartitionUpsertMetadataManager;
 import org.apache.pinot.segment.spi.index.creator.H3IndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
 import org.apache.pinot.segment.spi.memory.PinotDataBufferMemoryManager;
 import org.apache.pinot.segment.spi.partition.PartitionFunction;
 import org.apache.pinot.spi.config.table.FieldConfig;
 import org.apache.pinot.spi.config.table.JsonIndexConfig;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
 import org.apache.pinot.spi.config.table.UpsertConfig;
 import org.apache.pinot.spi.config.table.ingestion.AggregationConfig;
 import org.apache.pinot.spi.data.Schema;
@@ -53,6 +56,7 @@ public class RealtimeSegmentConfig {
   private final Set<String> _fstIndexColumns;
   private final Map<String, JsonIndexConfig> _jsonIndexConfigs;
   private final Map<String, H3IndexConfig> _h3IndexConfigs;
+  private final Map<String, VectorIndexConfig> _vectorIndexConfigs;
   private final SegmentZKMetadata _segmentZKMetadata;
   private final boolean _offHeap;
   private final PinotDataBufferMemoryManager _memoryManager;
@@ -69,19 +73,21 @@ public class RealtimeSegmentConfig {
   private final String _consumerDir;
   private final List<FieldConfig> _fieldConfigList;
   private final List<AggregationConfig> _ingestionAggregationConfigs;
+  private final List<StarTreeIndexConfig> _starTreeIndexConfigs;
 
   // TODO: Clean up this constructor. Most of these things can be extracted from tableConfig.
   private RealtimeSegmentConfig(String tableNameWithType, String segmentName, String streamName, Schema schema,
       String timeColumnName, int capacity, int avgNumMultiValues, Set<String> noDictionaryColumns,
       Set<String> varLengthDictionaryColumns, Set<String> invertedIndexColumns, Set<String> textIndexColumns,
       Set<String> fstIndexColumns, Map<String, JsonIndexConfig> jsonIndexConfigs,
-      Map<String, H3IndexConfig> h3IndexConfigs, SegmentZKMetadata segmentZKMetadata, boolean offHeap,
+      Map<String, H3IndexConfig> h3IndexConfigs, Map<String, VectorIndexConfig> vectorIndexConfigs,
+      SegmentZKMetadata segmentZKMetadata, boolean offHeap,
       PinotDataBufferMemoryManager memoryManager, RealtimeSegmentStatsHistory statsHistory, String partitionColumn,
       PartitionFunction partitionFunction, int partitionId, boolean aggregateMetrics, boolean nullHandlingEnabled,
       String consumerDir, UpsertConfig.Mode upsertMode, List<String> upsertComparisonColumns,
       PartitionUpsertMetadataManager partitionUpsertMetadataManager,
       PartitionDedupMetadataManager partitionDedupMetadataManager, List<FieldConfig> fieldConfigList,
-      List<AggregationConfig> ingestionAggregationConfigs) {
+      List<AggregationConfig> ingestionAggregationConfigs, List<StarTreeIndexConfig> starTreeIndexConfigs) {
     _tableNameWithType = tableNameWithType;
     _segmentName = segmentName;
     _streamName = streamName;
@@ -96,6 +102,7 @@ public class RealtimeSegmentConfig {
     _fstIndexColumns = fstIndexColumns;
     _jsonIndexConfigs = jsonIndexConfigs;
     _h3IndexConfigs = h3IndexConfigs;
+    _vectorIndexConfigs = vectorIndexConfigs;
     _segmentZKMetadata = segmentZKMetadata;
     _offHeap = offHeap;
     _memoryManager = memoryManager;
@@ -112,6 +119,7 @@ public class RealtimeSegmentConfig {
     _partitionDedupMetadataManager = partitionDedupMetadataManager;
     _fieldConfigList = fieldConfigList;
     _ingestionAggregationConfigs = ingestionAggregationConfigs;
+    _starTreeIndexConfigs = starTreeIndexConfigs;
   }
 
   public String getTableNameWithType() {
@@ -175,6 +183,10 @@ public class RealtimeSegmentConfig {
     return _h3IndexConfigs;
   }
 
+  public Map<String, VectorIndexConfig> getVectorIndexConfigs() {
+    return _vectorIndexConfigs;
+  }
+
   public SegmentZKMetadata getSegmentZKMetadata() {
     return _segmentZKMetadata;
   }
@@ -243,6 +255,11 @@ public class RealtimeSegmentConfig {
     return _ingestionAggregationConfigs;
   }
 
+  @Nullable
+  public List<StarTreeIndexConfig> getStarTreeIndexConfigs() {
+    return _starTreeIndexConfigs;
+  }
+
   public static class Builder {
     private String _tableNameWithType;
     private String _segmentName;
@@ -258,6 +275,7 @@ public class RealtimeSegmentConfig {
     private Set<String> _fstIndexColumns = new HashSet<>();
     private Map<String, JsonIndexConfig> _jsonIndexConfigs = new HashMap<>();
     private Map<String, H3IndexConfig> _h3IndexConfigs = new HashMap<>();
+    private Map<String, VectorIndexConfig> _vectorIndexConfigs = new HashMap<>();
     private SegmentZKMetadata _segmentZKMetadata;
     private boolean _offHeap;
     private PinotDataBufferMemoryManager _memoryManager;
@@ -274,6 +292,7 @@ public class RealtimeSegmentConfig {
     private PartitionDedupMetadataManager _partitionDedupMetadataManager;
     private List<FieldConfig> _fieldConfigList;
     private List<AggregationConfig> _ingestionAggregationConfigs;
+    private List<StarTreeIndexConfig> _starTreeIndexConfigs;
 
     public Builder() {
     }
@@ -356,6 +375,11 @@ public class RealtimeSegmentConfig {
       return this;
     }
 
+    public Builder setVectorIndexConfigs(Map<String, VectorIndexConfig> vectorIndexConfigs) {
+      _vectorIndexConfigs = vectorIndexConfigs;
+      return this;
+    }
+
     public Builder setSegmentZKMetadata(SegmentZKMetadata segmentZKMetadata) {
       _segmentZKMetadata = segmentZKMetadata;
       return this;
@@ -436,13 +460,19 @@ public class RealtimeSegmentConfig {
       return this;
     }
 
+    public Builder setStarTreeIndexConfigs(List<StarTreeIndexConfig> starTreeIndexConfigs) {
+      _starTreeIndexConfigs = starTreeIndexConfigs;
+      return this;
+    }
+
     public RealtimeSegmentConfig build() {
       return new RealtimeSegmentConfig(_tableNameWithType, _segmentName, _streamName, _schema, _timeColumnName,
           _capacity, _avgNumMultiValues, _noDictionaryColumns, _varLengthDictionaryColumns, _invertedIndexColumns,
-          _textIndexColumns, _fstIndexColumns, _jsonIndexConfigs, _h3IndexConfigs, _segmentZKMetadata, _offHeap,
-          _memoryManager, _statsHistory, _partitionColumn, _partitionFunction, _partitionId, _aggregateMetrics,
-          _nullHandlingEnabled, _consumerDir, _upsertMode, _upsertComparisonColumns, _partitionUpsertMetadataManager,
-          _partitionDedupMetadataManager, _fieldConfigList, _ingestionAggregationConfigs);
+          _textIndexColumns, _fstIndexColumns, _jsonIndexConfigs, _h3IndexConfigs, _vectorIndexConfigs,
+          _segmentZKMetadata, _offHeap, _memoryManager, _statsHistory, _partitionColumn, _partitionFunction,
+          _partitionId, _aggregateMetrics, _nullHandlingEnabled, _consumerDir, _upsertMode, _upsertComparisonColumns,
+          _partitionUpsertMetadataManager, _partitionDedupMetadataManager, _fieldConfigList,
+          _ingestionAggregationConfigs, _starTreeIndexConfigs);
     }
   }
 }
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.realtime.impl.startree;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import org.apache.pinot.segment.local.aggregator.ValueAggregator;
+import org.apache.pinot.segment.local.aggregator.ValueAggregatorFactory;
+import org.apache.pinot.segment.local.startree.v2.builder.StarTreeV2BuilderConfig;
+import org.apache.pinot.segment.spi.AggregationFunctionType;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.apache.pinot.spi.utils.FixedIntArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * The {@code MutableStarTree} maintains the pre-aggregated records for a star-tree on a consuming segment, and builds
+ * an immutable {@link StarTreeV2} snapshot from them.
+ * <p>Records are pre-aggregated on the dictionary ids of all the dimensions in the split order when they are indexed,
+ * so the cost of building a snapshot is proportional to the number of unique dimension combinations instead of the
+ * number of indexed records.
+ * <p>Queries are served with the latest snapshot without locking, but only when the snapshot covers all the indexed
+ * records, so that solving the query with the star-tree never misses any record the scan would return. When new
+ * records are indexed after the snapshot, no snapshot is served (the query falls back to the scan) and a new snapshot
+ * is rebuilt on a shared background thread, at most once per minimum rebuild interval.
+ * <p>Single writer (the consuming thread) and multiple readers (the query threads) are supported.
+ */
+@ThreadSafe
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class MutableStarTree implements Closeable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(MutableStarTree.class);
+
+  private static final long MIN_REBUILD_INTERVAL_MS = 1000L;
+
+  // Shared by all the mutable star-trees so that the snapshot rebuilds do not compete with the queries for the CPU
+  private static final ExecutorService REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("mutable-star-tree-rebuild-%d").build());
+
+  private final StarTreeV2BuilderConfig _builderConfig;
+  private final List<String> _dimensionsSplitOrder;
+  private final Set<Integer> _skipStarNodeCreationForDimensions = new HashSet<>();
+  private final FieldSpec[] _dimensionFieldSpecs;
+  private final Dictionary[] _dictionaries;
+  private final int _numDimensions;
+  private final int _numMetrics;
+  private final AggregationFunctionColumnPair[] _functionColumnPairs;
+  private final ValueAggregator[] _valueAggregators;
+  // Column for each function-column pair, null for COUNT
+  private final String[] _metricColumns;
+
+  private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+  private final Object2IntOpenHashMap<FixedIntArray> _recordIdMap = new Object2IntOpenHashMap<>();
+  private final List<int[]> _dimensions = new ArrayList<>();
+  private final List<Object[]> _metrics = new ArrayList<>();
+  private volatile int _numRawRecords;
+
+  private final AtomicBoolean _rebuilding = new AtomicBoolean();
+  private final Object _rebuildLock = new Object();
+  private volatile long _lastRebuildTimeMs;
+  private volatile OnHeapStarTreeV2 _snapshot;
+  private volatile boolean _closed;
+
+  /**
+   * Constructor for the mutable star-tree.
+   *
+   * @param builderConfig Star-tree builder config
+   * @param dimensionFieldSpecs Field specs for the dimensions in the split order
+   * @param dictionaries Dictionaries of the consuming segment for the dimensions in the split order
+   */
+  public MutableStarTree(StarTreeV2BuilderConfig builderConfig, FieldSpec[] dimensionFieldSpecs,
+      Dictionary[] dictionaries) {
+    _builderConfig = builderConfig;
+    _dimensionsSplitOrder = builderConfig.getDimensionsSplitOrder();
+    _numDimensions = _dimensionsSplitOrder.size();
+    Set<String> skipStarNodeCreationForDimensions = builderConfig.getSkipStarNodeCreationForDimensions();
+    for (int i = 0; i < _numDimensions; i++) {
+      if (skipStarNodeCreationForDimensions.contains(_dimensionsSplitOrder.get(i))) {
+        _skipStarNodeCreationForDimensions.add(i);
+      }
+    }
+    _dimensionFieldSpecs = dimensionFieldSpecs;
+    _dictionaries = dictionaries;
+
+    Set<AggregationFunctionColumnPair> functionColumnPairs = builderConfig.getFunctionColumnPairs();
+    _numMetrics = functionColumnPairs.size();
+    _functionColumnPairs = functionColumnPairs.toArray(new AggregationFunctionColumnPair[0]);
+    _valueAggregators = new ValueAggregator[_numMetrics];
+    _metricColumns = new String[_numMetrics];
+    for (int i = 0; i < _numMetrics; i++) {
+      AggregationFunctionColumnPair functionColumnPair = _functionColumnPairs[i];
+      _valueAggregators[i] = ValueAggregatorFactory.getValueAggregator(functionColumnPair.getFunctionType());
+      // Ignore the column for COUNT aggregation function
+      if (functionColumnPair.getFunctionType() != AggregationFunctionType.COUNT) {
+        _metricColumns[i] = functionColumnPair.getColumn();
+      }
+    }
+  }
+
+  public StarTreeV2BuilderConfig getBuilderConfig() {
+    return _builderConfig;
+  }
+
+  /**
+   * Returns the number of raw records indexed into the star-tree.
+   */
+  public int getNumRawRecords() {
+    return _numRawRecords;
+  }
+
+  /**
+   * Indexes a record into the star-tree.
+   * <p>Should only be called by the consuming thread.
+   *
+   * @param dimensionDictIds Dictionary ids for the dimensions in the split order, owned by the star-tree afterwards
+   * @param row Record to read the metric values from
+   */
+  public void index(int[] dimensionDictIds, GenericRow row) {
+    _lock.writeLock().lock();
+    try {
+      FixedIntArray key = new FixedIntArray(dimensionDictIds);
+      int recordId = _recordIdMap.getOrDefault(key, -1);
+      if (recordId < 0) {
+        Object[] metrics = new Object[_numMetrics];
+        for (int i = 0; i < _numMetrics; i++) {
+          metrics[i] = _valueAggregators[i].getInitialAggregatedValue(getRawValue(i, row));
+        }
+        _recordIdMap.put(key, _dimensions.size());
+        _dimensions.add(dimensionDictIds);
+        _metrics.add(metrics);
+      } else {
+        Object[] metrics = _metrics.get(recordId);
+        for (int i = 0; i < _numMetrics; i++) {
+          metrics[i] = _valueAggregators[i].applyRawValue(metrics[i], getRawValue(i, row));
+        }
+      }
+      _numRawRecords++;
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  @Nullable
+  private Object getRawValue(int metricIndex, GenericRow row) {
+    String column = _metricColumns[metricIndex];
+    return column != null ? row.getValue(column) : null;
+  }
+
+  /**
+   * Returns the immutable snapshot of the star-tree covering all the indexed records, or {@code null} if no such
+   * snapshot is available (no record indexed yet, or new records indexed after the latest snapshot). Triggers a
+   * background rebuild of the snapshot if new records have been indexed after it, subject to the minimum rebuild
+   * interval.
+   */
+  @Nullable
+  public StarTreeV2 getSnapshot() {
+    OnHeapStarTreeV2 snapshot = _snapshot;
+    int numRawRecords = _numRawRecords;
+    if (snapshot != null && snapshot.getNumRawRecords() == numRawRecords) {
+      return snapshot;
+    }
+    if (numRawRecords > 0) {
+      scheduleRebuild();
+    }
+    return null;
+  }
+
+  private void scheduleRebuild() {
+    if (_closed || System.currentTimeMillis() - _lastRebuildTimeMs < MIN_REBUILD_INTERVAL_MS
+        || !_rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    _lastRebuildTimeMs = System.currentTimeMillis();
+    try {
+      REBUILD_EXECUTOR.execute(this::rebuild);
+    } catch (RejectedExecutionException e) {
+      _rebuilding.set(false);
+    }
+  }
+
+  private void rebuild() {
+    try {
+      rebuildSnapshot();
+    } catch (Exception e) {
+      LOGGER.error("Caught exception while rebuilding snapshot for star-tree: {}", _builderConfig, e);
+    } finally {
+      _rebuilding.set(false);
+    }
+  }
+
+  /**
+   * Rebuilds the snapshot in the current thread if new records have been indexed after it. Waits for the concurrent
+   * rebuild if any, so that the snapshot covers all the records indexed before this method is invoked.
+   */
+  @VisibleForTesting
+  public void rebuildSnapshot() {
+    synchronized (_rebuildLock) {
+      if (_closed) {
+        return;
+      }
+      OnHeapStarTreeV2 snapshot = _snapshot;
+      if (snapshot != null && snapshot.getNumRawRecords() == _numRawRecords) {
+        return;
+      }
+      snapshot = buildSnapshot();
+      synchronized (this) {
+        if (!_closed) {
+          _snapshot = snapshot;
+        }
+      }
+    }
+  }
+
+  private OnHeapStarTreeV2 buildSnapshot() {
+    int numRawRecords;
+
+    // Copy the records under the read lock. Clone the aggregated values because they can be mutable and modified by
+    // the consuming thread.
+    List<OnHeapStarTreeV2.Record> records;
+    _lock.readLock().lock();
+    try {
+      numRawRecords = _numRawRecords;
+      int numRecords = _dimensions.size();
+      records = new ArrayList<>(numRecords);
+      for (int i = 0; i < numRecords; i++) {
+        Object[] metrics = _metrics.get(i);
+        Object[] clonedMetrics = new Object[_numMetrics];
+        for (int j = 0; j < _numMetrics; j++) {
+          clonedMetrics[j] = _valueAggregators[j].cloneAggregatedValue(metrics[j]);
+        }
+        records.add(new OnHeapStarTreeV2.Record(_dimensions.get(i).clone(), clonedMetrics));
+      }
+    } finally {
+      _lock.readLock().unlock();
+    }
+
+    return new OnHeapStarTreeV2(_dimensionsSplitOrder, _skipStarNodeCreationForDimensions, _functionColumnPairs,
+        _builderConfig.getMaxLeafRecords(), _dimensionFieldSpecs, _dictionaries, records, numRawRecords);
+  }
+
+  @Override
+  public synchronized void close() {
+    _closed = true;
+    _snapshot = null;
+    _lock.writeLock().lock();
+    try {
+      _recordIdMap.clear();
+      _dimensions.clear();
+      _metrics.clear();
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,529 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.realtime.impl.startree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.configuration.PropertiesConfiguration;
+import org.apache.pinot.segment.local.aggregator.ValueAggregator;
+import org.apache.pinot.segment.local.aggregator.ValueAggregatorFactory;
+import org.apache.pinot.segment.local.startree.StarTreeBuilderUtils;
+import org.apache.pinot.segment.local.startree.StarTreeBuilderUtils.TreeNode;
+import org.apache.pinot.segment.local.startree.v2.store.StarTreeDataSource;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.segment.spi.index.startree.StarTree;
+import org.apache.pinot.segment.spi.index.startree.StarTreeNode;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2Constants;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2Constants.MetadataKey;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2Metadata;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.MetricFieldSpec;
+
+
+/**
+ * The {@code OnHeapStarTreeV2} is an immutable on-heap star-tree built from a snapshot of the pre-aggregated records
+ * of a {@link MutableStarTree}. It follows the same structure as the star-tree built for the immutable segments (star
+ * nodes, aggregated documents etc.), so that it can be queried the same way through the {@link StarTreeV2} interface.
+ * <p>The dimensions are stored as the dictionary ids of the dictionaries of the consuming segment.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class OnHeapStarTreeV2 implements StarTreeV2, StarTree {
+  private final String[] _dimensionsSplitOrder;
+  private final Set<Integer> _skipStarNodeCreationForDimensions;
+  private final ValueAggregator[] _valueAggregators;
+  private final int _maxLeafRecords;
+  private final int _numDimensions;
+  private final int _numMetrics;
+  private final int _numRawRecords;
+  private final List<Record> _records;
+  private final TreeNode _rootNode = new TreeNode();
+  private int _numNodes = 1;
+  private final StarTreeV2Metadata _metadata;
+  private final Map<String, DataSource> _dataSourceMap = new HashMap<>();
+
+  /**
+   * The {@code Record} class represents a record (pre-aggregated or aggregated) with dimension dictionary ids and
+   * aggregated metric values.
+   */
+  static class Record {
+    final int[] _dimensions;
+    final Object[] _metrics;
+
+    Record(int[] dimensions, Object[] metrics) {
+      _dimensions = dimensions;
+      _metrics = metrics;
+    }
+  }
+
+  /**
+   * Builds the star-tree from the given pre-aggregated records (with unique dimensions).
+   * <p>NOTE: The records (metric values) are owned by the star-tree and will be modified during the construction.
+   */
+  OnHeapStarTreeV2(List<String> dimensionsSplitOrder, Set<Integer> skipStarNodeCreationForDimensions,
+      AggregationFunctionColumnPair[] functionColumnPairs, int maxLeafRecords,
+      FieldSpec[] dimensionFieldSpecs, Dictionary[] dictionaries, List<Record> records, int numRawRecords) {
+    _numDimensions = dimensionsSplitOrder.size();
+    _dimensionsSplitOrder = dimensionsSplitOrder.toArray(new String[0]);
+    _skipStarNodeCreationForDimensions = skipStarNodeCreationForDimensions;
+    _numMetrics = functionColumnPairs.length;
+    _valueAggregators = new ValueAggregator[_numMetrics];
+    for (int i = 0; i < _numMetrics; i++) {
+      _valueAggregators[i] = ValueAggregatorFactory.getValueAggregator(functionColumnPairs[i].getFunctionType());
+    }
+    _maxLeafRecords = maxLeafRecords;
+    _numRawRecords = numRawRecords;
+
+    // Sort the records on all the dimensions, then construct the tree and the aggregated documents the same way as the
+    // star-tree for the immutable segments
+    _records = records;
+    _records.sort(getDimensionComparator(0));
+    if (!_records.isEmpty()) {
+      constructStarTree(_rootNode, 0, _records.size());
+      createAggregatedDocs(_rootNode);
+    }
+
+    int numDocs = _records.size();
+    PropertiesConfiguration metadataProperties = new PropertiesConfiguration();
+    metadataProperties.setProperty(MetadataKey.TOTAL_DOCS, numDocs);
+    metadataProperties.setProperty(MetadataKey.DIMENSIONS_SPLIT_ORDER, _dimensionsSplitOrder);
+    String[] metrics = new String[_numMetrics];
+    for (int i = 0; i < _numMetrics; i++) {
+      metrics[i] = functionColumnPairs[i].toColumnName();
+    }
+    metadataProperties.setProperty(MetadataKey.FUNCTION_COLUMN_PAIRS, metrics);
+    metadataProperties.setProperty(MetadataKey.MAX_LEAF_RECORDS, maxLeafRecords);
+    List<String> skipStarNodeCreationDimensions = new ArrayList<>();
+    for (int dimensionId : skipStarNodeCreationForDimensions) {
+      skipStarNodeCreationDimensions.add(_dimensionsSplitOrder[dimensionId]);
+    }
+    metadataProperties.setProperty(MetadataKey.SKIP_STAR_NODE_CREATION_FOR_DIMENSIONS, skipStarNodeCreationDimensions);
+    _metadata = new StarTreeV2Metadata(metadataProperties);
+
+    // Create the forward indexes from the records
+    for (int i = 0; i < _numDimensions; i++) {
+      int[] dictIds = new int[numDocs];
+      for (int docId = 0; docId < numDocs; docId++) {
+        dictIds[docId] = _records.get(docId)._dimensions[i];
+      }
+      _dataSourceMap.put(_dimensionsSplitOrder[i],
+          new StarTreeDataSource(dimensionFieldSpecs[i], numDocs, new DictIdForwardIndex(dictIds), dictionaries[i]));
+    }
+    for (int i = 0; i < _numMetrics; i++) {
+      ValueAggregator valueAggregator = _valueAggregators[i];
+      DataType valueType = valueAggregator.getAggregatedValueType();
+      Object[] values = new Object[numDocs];
+      for (int docId = 0; docId < numDocs; docId++) {
+        Object value = _records.get(docId)._metrics[i];
+        values[docId] = valueType == DataType.BYTES ? valueAggregator.serializeAggregatedValue(value) : value;
+      }
+      _dataSourceMap.put(metrics[i],
+          new StarTreeDataSource(new MetricFieldSpec(metrics[i], valueType), numDocs,
+              new AggregatedValueForwardIndex(valueType, values), null));
+    }
+  }
+
+  /**
+   * Returns the number of raw records aggregated into the star-tree.
+   */
+  int getNumRawRecords() {
+    return _numRawRecords;
+  }
+
+  @Override
+  public StarTree getStarTree() {
+    return this;
+  }
+
+  @Override
+  public StarTreeV2Metadata getMetadata() {
+    return _metadata;
+  }
+
+  @Override
+  public DataSource getDataSource(String columnName) {
+    return _dataSourceMap.get(columnName);
+  }
+
+  @Override
+  public StarTreeNode getRoot() {
+    return new OnHeapStarTreeNode(_rootNode);
+  }
+
+  @Override
+  public List<String> getDimensionNames() {
+    return Arrays.asList(_dimensionsSplitOrder);
+  }
+
+  @Override
+  public int getNumNodes() {
+    return _numNodes;
+  }
+
+  @Override
+  public void printTree(Map<String, Dictionary> dictionaryMap) {
+    StarTreeBuilderUtils.printTree(this, dictionaryMap);
+  }
+
+  @Override
+  public void close() {
+  }
+
+  private Comparator<Record> getDimensionComparator(int fromDimensionId) {
+    return (o1, o2) -> {
+      for (int i = fromDimensionId; i < _numDimensions; i++) {
+        if (o1._dimensions[i] != o2._dimensions[i]) {
+          return Integer.compare(o1._dimensions[i], o2._dimensions[i]);
+        }
+      }
+      return 0;
+    };
+  }
+
+  private void constructStarTree(TreeNode node, int startDocId, int endDocId) {
+    int childDimensionId = node._dimensionId + 1;
+    if (childDimensionId == _numDimensions) {
+      return;
+    }
+
+    // Construct all non-star children nodes
+    node._childDimensionId = childDimensionId;
+    Map<Integer, TreeNode> children = constructNonStarNodes(startDocId, endDocId, childDimensionId);
+    node._children = children;
+
+    // Construct star-node if required
+    if (!_skipStarNodeCreationForDimensions.contains(childDimensionId) && children.size() > 1) {
+      children.put(StarTreeNode.ALL, constructStarNode(startDocId, endDocId, childDimensionId));
+    }
+    _numNodes += children.size();
+
+    // Further split on child nodes if required
+    for (TreeNode child : children.values()) {
+      if (child._endDocId - child._startDocId > _maxLeafRecords) {
+        constructStarTree(child, child._startDocId, child._endDocId);
+      }
+    }
+  }
+
+  private Map<Integer, TreeNode> constructNonStarNodes(int startDocId, int endDocId, int dimensionId) {
+    Map<Integer, TreeNode> nodes = new HashMap<>();
+    int nodeStartDocId = startDocId;
+    int nodeDimensionValue = _records.get(startDocId)._dimensions[dimensionId];
+    for (int i = startDocId + 1; i < endDocId; i++) {
+      int dimensionValue = _records.get(i)._dimensions[dimensionId];
+      if (dimensionValue != nodeDimensionValue) {
+        nodes.put(nodeDimensionValue, getNewNode(dimensionId, nodeDimensionValue, nodeStartDocId, i));
+        nodeStartDocId = i;
+        nodeDimensionValue = dimensionValue;
+      }
+    }
+    nodes.put(nodeDimensionValue, getNewNode(dimensionId, nodeDimensionValue, nodeStartDocId, endDocId));
+    return nodes;
+  }
+
+  private static TreeNode getNewNode(int dimensionId, int dimensionValue, int startDocId, int endDocId) {
+    TreeNode node = new TreeNode();
+    node._dimensionId = dimensionId;
+    node._dimensionValue = dimensionValue;
+    node._startDocId = startDocId;
+    node._endDocId = endDocId;
+    return node;
+  }
+
+  /**
+   * Constructs the star-node by aggregating the records within the given range on the dimensions after the given
+   * dimension, and appending the aggregated records to the end of the records.
+   */
+  private TreeNode constructStarNode(int startDocId, int endDocId, int dimensionId) {
+    List<Record> records = new ArrayList<>(_records.subList(startDocId, endDocId));
+    records.sort(getDimensionComparator(dimensionId + 1));
+    int starNodeStartDocId = _records.size();
+    Record current = null;
+    for (Record record : records) {
+      if (current != null && hasSameDimensions(current, record, dimensionId + 1)) {
+        mergeRecord(current, record);
+      } else {
+        current = copyRecord(record);
+        current._dimensions[dimensionId] = StarTreeV2Constants.STAR_IN_FORWARD_INDEX;
+        _records.add(current);
+      }
+    }
+    return getNewNode(dimensionId, StarTreeNode.ALL, starNodeStartDocId, _records.size());
+  }
+
+  private boolean hasSameDimensions(Record record1, Record record2, int fromDimensionId) {
+    for (int i = fromDimensionId; i < _numDimensions; i++) {
+      if (record1._dimensions[i] != record2._dimensions[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Record copyRecord(Record record) {
+    Object[] metrics = new Object[_numMetrics];
+    for (int i = 0; i < _numMetrics; i++) {
+      metrics[i] = _valueAggregators[i].cloneAggregatedValue(record._metrics[i]);
+    }
+    return new Record(record._dimensions.clone(), metrics);
+  }
+
+  private void mergeRecord(Record aggregatedRecord, Record record) {
+    for (int i = 0; i < _numMetrics; i++) {
+      aggregatedRecord._metrics[i] =
+          _valueAggregators[i].applyAggregatedValue(aggregatedRecord._metrics[i], record._metrics[i]);
+    }
+  }
+
+  private Record createAggregatedDocs(TreeNode node) {
+    Record aggregatedRecord;
+    if (node._children == null) {
+      // For leaf node
+      if (node._startDocId == node._endDocId - 1) {
+        // If it has only one document, use it as the aggregated document
+        node._aggregatedDocId = node._startDocId;
+        return _records.get(node._startDocId);
+      }
+      // If it has multiple documents, aggregate all of them
+      aggregatedRecord = copyRecord(_records.get(node._startDocId));
+      for (int i = node._startDocId + 1; i < node._endDocId; i++) {
+        mergeRecord(aggregatedRecord, _records.get(i));
+      }
+    } else {
+      // For non-leaf node
+      TreeNode starNode = node._children.get(StarTreeNode.ALL);
+      if (starNode != null) {
+        // If it has star child, use the star child aggregated document directly
+        for (TreeNode child : node._children.values()) {
+          if (child != starNode) {
+            createAggregatedDocs(child);
+          }
+        }
+        Record starNodeAggregatedRecord = createAggregatedDocs(starNode);
+        node._aggregatedDocId = starNode._aggregatedDocId;
+        return starNodeAggregatedRecord;
+      }
+      // If no star child exists, aggregate all aggregated documents from non-star children
+      aggregatedRecord = null;
+      for (TreeNode child : node._children.values()) {
+        Record childAggregatedRecord = createAggregatedDocs(child);
+        if (aggregatedRecord == null) {
+          aggregatedRecord = copyRecord(childAggregatedRecord);
+        } else {
+          mergeRecord(aggregatedRecord, childAggregatedRecord);
+        }
+      }
+      assert aggregatedRecord != null;
+    }
+    for (int i = node._dimensionId + 1; i < _numDimensions; i++) {
+      aggregatedRecord._dimensions[i] = StarTreeV2Constants.STAR_IN_FORWARD_INDEX;
+    }
+    node._aggregatedDocId = _records.size();
+    _records.add(aggregatedRecord);
+    return aggregatedRecord;
+  }
+
+  private static class OnHeapStarTreeNode implements StarTreeNode {
+    private final TreeNode _node;
+
+    OnHeapStarTreeNode(TreeNode node) {
+      _node = node;
+    }
+
+    @Override
+    public int getDimensionId() {
+      return _node._dimensionId;
+    }
+
+    @Override
+    public int getDimensionValue() {
+      return _node._dimensionValue;
+    }
+
+    @Override
+    public int getChildDimensionId() {
+      return _node._childDimensionId;
+    }
+
+    @Override
+    public int getStartDocId() {
+      return _node._startDocId;
+    }
+
+    @Override
+    public int getEndDocId() {
+      return _node._endDocId;
+    }
+
+    @Override
+    public int getAggregatedDocId() {
+      return _node._aggregatedDocId;
+    }
+
+    @Override
+    public int getNumChildren() {
+      return _node._children != null ? _node._children.size() : 0;
+    }
+
+    @Override
+    public boolean isLeaf() {
+      return _node._children == null;
+    }
+
+    @Override
+    public StarTreeNode getChildForDimensionValue(int dimensionValue) {
+      if (_node._children == null) {
+        return null;
+      }
+      TreeNode child = _node._children.get(dimensionValue);
+      return child != null ? new OnHeapStarTreeNode(child) : null;
+    }
+
+    @Override
+    public Iterator<? extends StarTreeNode> getChildrenIterator() {
+      if (_node._children == null) {
+        return Collections.emptyIterator();
+      }
+      Iterator<TreeNode> iterator = _node._children.values().iterator();
+      return new Iterator<StarTreeNode>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public StarTreeNode next() {
+          return new OnHeapStarTreeNode(iterator.next());
+        }
+      };
+    }
+  }
+
+  /**
+   * Forward index for the dimensions, backed by the dictionary ids of the records.
+   */
+  private static class DictIdForwardIndex implements ForwardIndexReader<ForwardIndexReaderContext> {
+    private final int[] _dictIds;
+
+    DictIdForwardIndex(int[] dictIds) {
+      _dictIds = dictIds;
+    }
+
+    @Override
+    public boolean isDictionaryEncoded() {
+      return true;
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return true;
+    }
+
+    @Override
+    public DataType getStoredType() {
+      return DataType.INT;
+    }
+
+    @Override
+    public int getDictId(int docId, ForwardIndexReaderContext context) {
+      return _dictIds[docId];
+    }
+
+    @Override
+    public void readDictIds(int[] docIds, int length, int[] dictIdBuffer, ForwardIndexReaderContext context) {
+      for (int i = 0; i < length; i++) {
+        dictIdBuffer[i] = _dictIds[docIds[i]];
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Raw forward index for the metrics (function-column pairs), backed by the aggregated values of the records. Values
+   * for the BYTES type are stored serialized.
+   */
+  private static class AggregatedValueForwardIndex implements ForwardIndexReader<ForwardIndexReaderContext> {
+    private final DataType _valueType;
+    private final Object[] _values;
+
+    AggregatedValueForwardIndex(DataType valueType, Object[] values) {
+      _valueType = valueType;
+      _values = values;
+    }
+
+    @Override
+    public boolean isDictionaryEncoded() {
+      return false;
+    }
+
+    @Override
+    public boolean isSingleValue() {
+      return true;
+    }
+
+    @Override
+    public DataType getStoredType() {
+      return _valueType;
+    }
+
+    @Override
+    public int getInt(int docId, ForwardIndexReaderContext context) {
+      return ((Number) _values[docId]).intValue();
+    }
+
+    @Override
+    public long getLong(int docId, ForwardIndexReaderContext context) {
+      return ((Number) _values[docId]).longValue();
+    }
+
+    @Override
+    public float getFloat(int docId, ForwardIndexReaderContext context) {
+      return ((Number) _values[docId]).floatValue();
+    }
+
+    @Override
+    public double getDouble(int docId, ForwardIndexReaderContext context) {
+      return ((Number) _values[docId]).doubleValue();
+    }
+
+    @Override
+    public byte[] getBytes(int docId, ForwardIndexReaderContext context) {
+      return (byte[]) _values[docId];
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
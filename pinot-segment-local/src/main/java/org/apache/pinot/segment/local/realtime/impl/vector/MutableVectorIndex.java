@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.realtime.impl.vector;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.pinot.segment.local.utils.hnsw.HnswSearcher;
+import org.apache.pinot.segment.local.utils.hnsw.OnHeapHnswGraph;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * A vector index reader for the real-time vector values, which inserts the vectors into an on-heap HNSW graph on the
+ * fly.
+ * <p>Inserting a vector rewires the neighbors of existing nodes, so the searches share a read lock and the insertions
+ * take the write lock. This class is thread-safe for single writer multiple readers.
+ */
+public class MutableVectorIndex implements VectorIndexReader {
+  private final VectorIndexConfig _config;
+  private final OnHeapHnswGraph _graph;
+  private final ReadWriteLock _lock = new ReentrantReadWriteLock();
+
+  public MutableVectorIndex(VectorIndexConfig config) {
+    _config = config;
+    _graph = new OnHeapHnswGraph(config);
+  }
+
+  /**
+   * Adds the vector of the given document. Vectors that do not match the configured dimension are not indexed.
+   */
+  public void add(int docId, float[] vector) {
+    if (vector.length != _config.getVectorDimension()) {
+      return;
+    }
+    _lock.writeLock().lock();
+    try {
+      _graph.add(docId, vector);
+    } finally {
+      _lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(float[] queryVector, int topK) {
+    Preconditions.checkArgument(queryVector.length == _config.getVectorDimension(),
+        "Query vector dimension: %s does not match the index dimension: %s", queryVector.length,
+        _config.getVectorDimension());
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    _lock.readLock().lock();
+    try {
+      for (int node : new HnswSearcher(_graph).search(queryVector, topK, _config.getEfSearch())) {
+        docIds.add(_graph.getDocId(node));
+      }
+    } finally {
+      _lock.readLock().unlock();
+    }
+    return docIds;
+  }
+
+  @Override
+  public int getVectorDimension() {
+    return _config.getVectorDimension();
+  }
+
+  @Override
+  public DistanceFunction getDistanceFunction() {
+    return _config.getDistanceFunction();
+  }
+
+  @Override
+  public void close() {
+  }
+}
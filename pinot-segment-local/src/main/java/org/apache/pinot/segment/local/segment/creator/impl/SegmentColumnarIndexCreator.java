@@ -39,6 +39,7 @@ import org.apache.pinot.segment.local.segment.creator.impl.nullvalue.NullValueVe
 import org.apache.pinot.segment.local.segment.index.dictionary.DictionaryIndexPlugin;
 import org.apache.pinot.segment.local.segment.index.dictionary.DictionaryIndexType;
 import org.apache.pinot.segment.local.segment.index.forward.ForwardIndexType;
+import org.apache.pinot.segment.local.utils.BloomFilterSummaryUtils;
 import org.apache.pinot.segment.spi.V1Constants;
 import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
 import org.apache.pinot.segment.spi.creator.ColumnIndexCreationInfo;
@@ -55,6 +56,7 @@ import org.apache.pinot.segment.spi.index.StandardIndexes;
 import org.apache.pinot.segment.spi.index.TextIndexConfig;
 import org.apache.pinot.segment.spi.index.creator.ForwardIndexCreator;
 import org.apache.pinot.segment.spi.index.creator.SegmentIndexCreationInfo;
+import org.apache.pinot.segment.spi.index.creator.ZoneMapIndexCreator;
 import org.apache.pinot.segment.spi.partition.PartitionFunction;
 import org.apache.pinot.spi.config.table.IndexConfig;
 import org.apache.pinot.spi.config.table.SegmentZKPropsConfig;
@@ -87,6 +89,8 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
   private SegmentGeneratorConfig _config;
   private TreeMap<String, ColumnIndexCreationInfo> _indexCreationInfoMap;
   private final Map<String, SegmentDictionaryCreator> _dictionaryCreatorMap = new HashMap<>();
+  // Small bloom filters on the column values published with the segment metadata for the columns with bloom filter
+  private final Map<String, String> _bloomSummaryMap = new HashMap<>();
   /**
    * Contains, indexed by column name, the creator associated with each index type.
    *
@@ -161,6 +165,14 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
 
       FieldIndexConfigs config = adaptConfig(columnName, originalConfig, columnIndexCreationInfo, segmentCreationSpec);
 
+      if (config.getConfig(StandardIndexes.bloomFilter()).isEnabled()) {
+        String bloomSummary = BloomFilterSummaryUtils.createBloomSummary(
+            columnIndexCreationInfo.getSortedUniqueElementsArray(), BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES);
+        if (bloomSummary != null) {
+          _bloomSummaryMap.put(columnName, bloomSummary);
+        }
+      }
+
       if (dictEnabledColumn) {
         // Create dictionary-encoded index
         // Initialize dictionary creator
@@ -331,6 +343,14 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
         // If row has null value for given column name, add to null value vector
         if (row.isNullValue(columnName)) {
           _nullValueVectorCreatorMap.get(columnName).setNull(_docIdCounter);
+          // Zone map records the number of nulls per zone
+          Map<IndexType<?, ?, ?>, IndexCreator> creatorsByIndex = _creatorsByColAndIndex.get(columnName);
+          if (creatorsByIndex != null) {
+            IndexCreator zoneMapCreator = creatorsByIndex.get(StandardIndexes.zoneMap());
+            if (zoneMapCreator != null) {
+              ((ZoneMapIndexCreator) zoneMapCreator).setNull(_docIdCounter);
+            }
+          }
         }
       }
     }
@@ -499,6 +519,10 @@ public class SegmentColumnarIndexCreator implements SegmentCreator {
       int dictionaryElementSize = (dictionaryCreator != null) ? dictionaryCreator.getNumBytesPerEntry() : 0;
       addColumnMetadataInfo(properties, column, columnIndexCreationInfo, _totalDocs, _schema.getFieldSpecFor(column),
           dictionaryCreator != null, dictionaryElementSize);
+      String bloomSummary = _bloomSummaryMap.get(column);
+      if (bloomSummary != null) {
+        properties.setProperty(getKeyFor(column, BLOOM_SUMMARY), bloomSummary);
+      }
     }
 
     SegmentZKPropsConfig segmentZKPropsConfig = _config.getSegmentZKPropsConfig();
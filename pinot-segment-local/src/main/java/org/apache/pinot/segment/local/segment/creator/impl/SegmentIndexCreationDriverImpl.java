@@ -345,7 +345,7 @@ public class SegmentIndexCreationDriverImpl implements SegmentIndexCreationDrive
           _config.isOnHeap() ? MultipleTreesBuilder.BuildMode.ON_HEAP : MultipleTreesBuilder.BuildMode.OFF_HEAP;
       try (
           MultipleTreesBuilder builder = new MultipleTreesBuilder(starTreeIndexConfigs, enableDefaultStarTree, indexDir,
-              buildMode)) {
+              buildMode, _config.getStarTreeBuildNumThreads())) {
         builder.build();
       }
     }
@@ -69,7 +69,7 @@ public class SingleValueVarByteRawIndexCreator implements ForwardIndexCreator {
    * @param valueType Type of the values
    * @param maxLength length of longest entry (in bytes)
    * @param deriveNumDocsPerChunk true if writer should auto-derive the number of rows per chunk
-   * @param writerVersion writer format version
+   * @param writerVersion writer format version, V4 is always used for FSST
    * @throws IOException
    */
   public SingleValueVarByteRawIndexCreator(File baseIndexDir, ChunkCompressionType compressionType, String column,
@@ -77,7 +77,8 @@ public class SingleValueVarByteRawIndexCreator implements ForwardIndexCreator {
       throws IOException {
     File file = new File(baseIndexDir, column + V1Constants.Indexes.RAW_SV_FORWARD_INDEX_FILE_EXTENSION);
     int numDocsPerChunk = deriveNumDocsPerChunk ? getNumDocsPerChunk(maxLength) : DEFAULT_NUM_DOCS_PER_CHUNK;
-    _indexWriter = writerVersion < VarByteChunkSVForwardIndexWriterV4.VERSION
+    // per-value codecs (FSST) are only supported by the V4 format
+    _indexWriter = writerVersion < VarByteChunkSVForwardIndexWriterV4.VERSION && !compressionType.isPerValue()
         ? new VarByteChunkSVForwardIndexWriter(file, compressionType, totalDocs, numDocsPerChunk, maxLength,
         writerVersion)
         : new VarByteChunkSVForwardIndexWriterV4(file, compressionType, TARGET_MAX_CHUNK_SIZE);
@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.creator.impl.inv;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.apache.pinot.segment.local.io.util.PinotDataBitSet;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.creator.DictionaryBasedInvertedIndexCreator;
+import org.roaringbitmap.Container;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.RoaringBitmapWriter;
+
+
+/**
+ * On-heap creator for the skip-list inverted index.
+ * <p>File format:
+ * <ul>
+ *   <li>Header: version (INT), cardinality (INT), number of docs per block (INT)</li>
+ *   <li>Offsets: offset of the posting list of each dictionary id within the file, plus the end offset (LONG)</li>
+ *   <li>
+ *     For each posting list: number of docs (INT), number of blocks (INT), skip table with the max doc id (INT) and the
+ *     offset of the block within the posting list (INT) for each block, followed by the blocks
+ *   </li>
+ *   <li>
+ *     For each block: number of bits per value (BYTE), followed by the doc ids encoded against the max doc id of the
+ *     previous block (or -1 for the first block) in one of the following ways:
+ *     <ul>
+ *       <li>0 bits per value: all the doc ids in the block are consecutive, nothing else is stored</li>
+ *       <li>
+ *         {@link #BIT_SET_BLOCK}: a bit set (LONG words) with one bit per doc id between the previous max doc id
+ *         (exclusive) and the block max doc id (inclusive). It is picked for dense blocks where it is no larger than
+ *         the bit-packed gaps, and can be probed without decoding the block.
+ *       </li>
+ *       <li>Otherwise: the bit-packed (big-endian) gaps between the consecutive doc ids minus 1</li>
+ *     </ul>
+ *   </li>
+ * </ul>
+ */
+@SuppressWarnings("unchecked")
+public final class OnHeapSkipListInvertedIndexCreator implements DictionaryBasedInvertedIndexCreator {
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 3 * Integer.BYTES;
+  public static final int POSTING_LIST_HEADER_SIZE = 2 * Integer.BYTES;
+  public static final int SKIP_ENTRY_SIZE = 2 * Integer.BYTES;
+  public static final int DEFAULT_NUM_DOCS_PER_BLOCK = 128;
+  public static final int BIT_SET_BLOCK = -1;
+
+  private final File _indexFile;
+  private final int _numDocsPerBlock;
+  private final RoaringBitmapWriter<RoaringBitmap>[] _bitmapWriters;
+  private int _nextDocId;
+
+  public OnHeapSkipListInvertedIndexCreator(File indexDir, String columnName, int cardinality) {
+    this(indexDir, columnName, cardinality, DEFAULT_NUM_DOCS_PER_BLOCK);
+  }
+
+  public OnHeapSkipListInvertedIndexCreator(File indexDir, String columnName, int cardinality, int numDocsPerBlock) {
+    _indexFile = new File(indexDir, columnName + V1Constants.Indexes.SKIP_LIST_INDEX_FILE_EXTENSION);
+    _numDocsPerBlock = numDocsPerBlock;
+    RoaringBitmapWriter.Wizard<Container, RoaringBitmap> writerWizard = RoaringBitmapWriter.writer();
+    _bitmapWriters = new RoaringBitmapWriter[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      _bitmapWriters[i] = writerWizard.get();
+    }
+  }
+
+  @Override
+  public void add(int dictId) {
+    _bitmapWriters[dictId].add(_nextDocId++);
+  }
+
+  @Override
+  public void add(int[] dictIds, int length) {
+    for (int i = 0; i < length; i++) {
+      _bitmapWriters[dictIds[i]].add(_nextDocId);
+    }
+    _nextDocId++;
+  }
+
+  @Override
+  public void seal()
+      throws IOException {
+    int cardinality = _bitmapWriters.length;
+    RoaringBitmap[] bitmaps = new RoaringBitmap[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      bitmaps[i] = _bitmapWriters[i].get();
+    }
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(_indexFile)))) {
+      out.writeInt(VERSION);
+      out.writeInt(cardinality);
+      out.writeInt(_numDocsPerBlock);
+      // The size of each posting list is computed up-front so that the offsets can be written before the posting lists
+      long offset = HEADER_SIZE + (long) (cardinality + 1) * Long.BYTES;
+      for (RoaringBitmap bitmap : bitmaps) {
+        out.writeLong(offset);
+        offset += getPostingListSize(bitmap.toArray());
+      }
+      out.writeLong(offset);
+      for (RoaringBitmap bitmap : bitmaps) {
+        writePostingList(out, bitmap.toArray());
+      }
+    }
+  }
+
+  private long getPostingListSize(int[] docIds) {
+    int numDocs = docIds.length;
+    int numBlocks = (numDocs + _numDocsPerBlock - 1) / _numDocsPerBlock;
+    long size = POSTING_LIST_HEADER_SIZE + (long) numBlocks * SKIP_ENTRY_SIZE;
+    for (int blockId = 0; blockId < numBlocks; blockId++) {
+      size += getBlockSize(docIds, blockId);
+    }
+    return size;
+  }
+
+  private void writePostingList(DataOutputStream out, int[] docIds)
+      throws IOException {
+    int numDocs = docIds.length;
+    int numBlocks = (numDocs + _numDocsPerBlock - 1) / _numDocsPerBlock;
+    out.writeInt(numDocs);
+    out.writeInt(numBlocks);
+    int blockOffset = POSTING_LIST_HEADER_SIZE + numBlocks * SKIP_ENTRY_SIZE;
+    for (int blockId = 0; blockId < numBlocks; blockId++) {
+      out.writeInt(docIds[getBlockEnd(numDocs, blockId) - 1]);
+      out.writeInt(blockOffset);
+      blockOffset += getBlockSize(docIds, blockId);
+    }
+    for (int blockId = 0; blockId < numBlocks; blockId++) {
+      int numBits = getNumBits(docIds, blockId);
+      if (numBits == 0) {
+        // All the doc ids in the block are consecutive
+        out.writeByte(0);
+      } else if (isBitSetBlock(docIds, blockId, numBits)) {
+        out.writeByte(BIT_SET_BLOCK);
+        writeBitSetBlock(out, docIds, blockId);
+      } else {
+        out.writeByte(numBits);
+        writeBitPackedBlock(out, docIds, blockId, numBits);
+      }
+    }
+  }
+
+  private void writeBitSetBlock(DataOutputStream out, int[] docIds, int blockId)
+      throws IOException {
+    int startDocId = getPreviousDocId(docIds, blockId) + 1;
+    int blockEnd = getBlockEnd(docIds.length, blockId);
+    long word = 0;
+    int wordId = 0;
+    for (int i = blockId * _numDocsPerBlock; i < blockEnd; i++) {
+      int bitId = docIds[i] - startDocId;
+      while (bitId >>> 6 > wordId) {
+        out.writeLong(word);
+        word = 0;
+        wordId++;
+      }
+      word |= 1L << bitId;
+    }
+    out.writeLong(word);
+  }
+
+  private void writeBitPackedBlock(DataOutputStream out, int[] docIds, int blockId, int numBits)
+      throws IOException {
+    long bitBuffer = 0;
+    int numBitsInBuffer = 0;
+    int previousDocId = getPreviousDocId(docIds, blockId);
+    int blockEnd = getBlockEnd(docIds.length, blockId);
+    for (int i = blockId * _numDocsPerBlock; i < blockEnd; i++) {
+      bitBuffer = (bitBuffer << numBits) | (docIds[i] - previousDocId - 1);
+      numBitsInBuffer += numBits;
+      while (numBitsInBuffer >= Byte.SIZE) {
+        numBitsInBuffer -= Byte.SIZE;
+        out.writeByte((int) (bitBuffer >>> numBitsInBuffer));
+      }
+      bitBuffer &= (1L << numBitsInBuffer) - 1;
+      previousDocId = docIds[i];
+    }
+    if (numBitsInBuffer > 0) {
+      out.writeByte((int) (bitBuffer << (Byte.SIZE - numBitsInBuffer)));
+    }
+  }
+
+  private int getBlockSize(int[] docIds, int blockId) {
+    int numBits = getNumBits(docIds, blockId);
+    if (isBitSetBlock(docIds, blockId, numBits)) {
+      return 1 + getNumBitSetWords(docIds, blockId) * Long.BYTES;
+    }
+    return 1 + (getNumValues(docIds, blockId) * numBits + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  private boolean isBitSetBlock(int[] docIds, int blockId, int numBits) {
+    return numBits != 0 && (long) getNumBitSetWords(docIds, blockId) * Long.SIZE
+        <= (long) getNumValues(docIds, blockId) * numBits;
+  }
+
+  private int getNumBitSetWords(int[] docIds, int blockId) {
+    int numBitsInBitSet = docIds[getBlockEnd(docIds.length, blockId) - 1] - getPreviousDocId(docIds, blockId);
+    return (numBitsInBitSet + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  private int getNumValues(int[] docIds, int blockId) {
+    return getBlockEnd(docIds.length, blockId) - blockId * _numDocsPerBlock;
+  }
+
+  private int getNumBits(int[] docIds, int blockId) {
+    int maxGap = 0;
+    int previousDocId = getPreviousDocId(docIds, blockId);
+    int blockEnd = getBlockEnd(docIds.length, blockId);
+    for (int i = blockId * _numDocsPerBlock; i < blockEnd; i++) {
+      maxGap = Math.max(maxGap, docIds[i] - previousDocId - 1);
+      previousDocId = docIds[i];
+    }
+    return maxGap == 0 ? 0 : PinotDataBitSet.getNumBitsPerValue(maxGap);
+  }
+
+  private int getPreviousDocId(int[] docIds, int blockId) {
+    return blockId == 0 ? -1 : docIds[blockId * _numDocsPerBlock - 1];
+  }
+
+  private int getBlockEnd(int numDocs, int blockId) {
+    return Math.min((blockId + 1) * _numDocsPerBlock, numDocs);
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.creator.impl.vector;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.apache.pinot.segment.local.utils.hnsw.HnswGraph;
+import org.apache.pinot.segment.local.utils.hnsw.OnHeapHnswGraph;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexCreator;
+
+
+/**
+ * On-heap creator for the HNSW vector index. The graph is built in memory as the vectors are added, and serialized on
+ * {@link #seal()}.
+ * <p>File format (nodes are numbered in doc id order, and documents whose vector does not match the dimension are not
+ * part of the graph):
+ * <ul>
+ *   <li>Header: version, vector dimension, distance function ordinal, max connections (M), number of nodes, max level,
+ *   entry point (7 INTs)</li>
+ *   <li>Doc ids: doc id of each node (INT)</li>
+ *   <li>Vectors: dimension FLOATs for each node</li>
+ *   <li>Level 0: for each node, the number of neighbors followed by 2 * M neighbor slots (INTs)</li>
+ *   <li>For each upper level from 1 to max level: number of nodes on the level (INT), sorted nodes on the level (INTs),
+ *   then for each of these nodes, the number of neighbors followed by M neighbor slots (INTs)</li>
+ * </ul>
+ */
+public class OnHeapHnswVectorIndexCreator implements VectorIndexCreator {
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 7 * Integer.BYTES;
+
+  private final File _indexFile;
+  private final int _vectorDimension;
+  private final OnHeapHnswGraph _graph;
+  private int _nextDocId;
+
+  public OnHeapHnswVectorIndexCreator(File indexDir, String columnName, VectorIndexConfig config) {
+    _indexFile = new File(indexDir, columnName + V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION);
+    _vectorDimension = config.getVectorDimension();
+    _graph = new OnHeapHnswGraph(config);
+  }
+
+  @Override
+  public void add(float[] vector) {
+    int docId = _nextDocId++;
+    if (vector.length == _vectorDimension) {
+      _graph.add(docId, vector);
+    }
+  }
+
+  @Override
+  public void seal()
+      throws IOException {
+    int numNodes = _graph.getNumNodes();
+    int maxLevel = _graph.getMaxLevel();
+    int maxConnections = _graph.getMaxConnections();
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(_indexFile)))) {
+      out.writeInt(VERSION);
+      out.writeInt(_vectorDimension);
+      out.writeInt(_graph.getDistanceFunction().ordinal());
+      out.writeInt(maxConnections);
+      out.writeInt(numNodes);
+      out.writeInt(maxLevel);
+      out.writeInt(_graph.getEntryPoint());
+      for (int node = 0; node < numNodes; node++) {
+        out.writeInt(_graph.getDocId(node));
+      }
+      for (int node = 0; node < numNodes; node++) {
+        for (float value : _graph.getVector(node, null)) {
+          out.writeFloat(value);
+        }
+      }
+      int[] neighbors = new int[HnswGraph.getMaxNeighbors(maxConnections, 0)];
+      for (int level = 0; level <= maxLevel; level++) {
+        IntArrayList nodesOnLevel = new IntArrayList();
+        if (level > 0) {
+          for (int node = 0; node < numNodes; node++) {
+            if (_graph.getLevel(node) >= level) {
+              nodesOnLevel.add(node);
+            }
+          }
+          out.writeInt(nodesOnLevel.size());
+          for (int i = 0; i < nodesOnLevel.size(); i++) {
+            out.writeInt(nodesOnLevel.getInt(i));
+          }
+        }
+        int numNodesOnLevel = level > 0 ? nodesOnLevel.size() : numNodes;
+        int maxNeighbors = HnswGraph.getMaxNeighbors(maxConnections, level);
+        for (int i = 0; i < numNodesOnLevel; i++) {
+          int node = level > 0 ? nodesOnLevel.getInt(i) : i;
+          int numNeighbors = _graph.getNeighbors(node, level, neighbors);
+          out.writeInt(numNeighbors);
+          for (int j = 0; j < maxNeighbors; j++) {
+            out.writeInt(j < numNeighbors ? neighbors[j] : -1);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.creator.impl.zonemap;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.creator.ZoneMapIndexCreator;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+
+
+/**
+ * On-heap creator for the zone map index.
+ * <p>File format:
+ * <ul>
+ *   <li>Header: version (INT), number of docs per zone (INT), number of zones (INT)</li>
+ *   <li>For each zone: min value (LONG), max value (LONG), number of null docs (INT)</li>
+ * </ul>
+ * INT and LONG values are stored as is; FLOAT and DOUBLE values are stored as the raw long bits of the double value.
+ * A FLOAT/DOUBLE zone containing NaN is stored with range [-Infinity, Infinity] so that it is never skipped.
+ */
+public class OnHeapZoneMapIndexCreator implements ZoneMapIndexCreator {
+  public static final int VERSION = 1;
+  public static final int HEADER_SIZE = 3 * Integer.BYTES;
+  public static final int ZONE_ENTRY_SIZE = 2 * Long.BYTES + Integer.BYTES;
+  // Aligned with the number of docs per chunk of the fixed-byte raw forward index
+  public static final int DEFAULT_NUM_DOCS_PER_ZONE = 1000;
+
+  private final File _zoneMapFile;
+  private final boolean _integral;
+  private final int _numDocsPerZone;
+  private final LongArrayList _minValues = new LongArrayList();
+  private final LongArrayList _maxValues = new LongArrayList();
+  private final IntArrayList _nullCounts = new IntArrayList();
+
+  private int _numDocsInCurrentZone;
+  private long _currentMinLong;
+  private long _currentMaxLong;
+  private double _currentMinDouble;
+  private double _currentMaxDouble;
+  private boolean _currentHasNaN;
+  private int _currentNullCount;
+
+  public OnHeapZoneMapIndexCreator(File indexDir, String columnName, DataType storedType) {
+    this(indexDir, columnName, storedType, DEFAULT_NUM_DOCS_PER_ZONE);
+  }
+
+  public OnHeapZoneMapIndexCreator(File indexDir, String columnName, DataType storedType, int numDocsPerZone) {
+    Preconditions.checkArgument(storedType.isNumeric() && storedType != DataType.BIG_DECIMAL,
+        "Zone map index is not supported on stored type: %s for column: %s", storedType, columnName);
+    Preconditions.checkArgument(numDocsPerZone > 0, "Invalid number of docs per zone: %s", numDocsPerZone);
+    _zoneMapFile = new File(indexDir, columnName + V1Constants.Indexes.ZONE_MAP_INDEX_FILE_EXTENSION);
+    _integral = storedType == DataType.INT || storedType == DataType.LONG;
+    _numDocsPerZone = numDocsPerZone;
+    resetCurrentZone();
+  }
+
+  @Override
+  public void add(@Nonnull Object value, int dictId) {
+    if (_integral) {
+      add(((Number) value).longValue());
+    } else {
+      add(((Number) value).doubleValue());
+    }
+  }
+
+  public void add(long value) {
+    if (_numDocsInCurrentZone == _numDocsPerZone) {
+      finishCurrentZone();
+    }
+    _currentMinLong = Math.min(_currentMinLong, value);
+    _currentMaxLong = Math.max(_currentMaxLong, value);
+    _numDocsInCurrentZone++;
+  }
+
+  public void add(double value) {
+    if (_numDocsInCurrentZone == _numDocsPerZone) {
+      finishCurrentZone();
+    }
+    if (Double.isNaN(value)) {
+      _currentHasNaN = true;
+    } else {
+      _currentMinDouble = Math.min(_currentMinDouble, value);
+      _currentMaxDouble = Math.max(_currentMaxDouble, value);
+    }
+    _numDocsInCurrentZone++;
+  }
+
+  @Override
+  public void setNull(int docId) {
+    int zoneId = docId / _numDocsPerZone;
+    if (zoneId == _minValues.size()) {
+      _currentNullCount++;
+    } else {
+      _nullCounts.set(zoneId, _nullCounts.getInt(zoneId) + 1);
+    }
+  }
+
+  private void finishCurrentZone() {
+    if (_integral) {
+      _minValues.add(_currentMinLong);
+      _maxValues.add(_currentMaxLong);
+    } else if (_currentHasNaN) {
+      _minValues.add(Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY));
+      _maxValues.add(Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+    } else {
+      _minValues.add(Double.doubleToRawLongBits(_currentMinDouble));
+      _maxValues.add(Double.doubleToRawLongBits(_currentMaxDouble));
+    }
+    _nullCounts.add(_currentNullCount);
+    resetCurrentZone();
+  }
+
+  private void resetCurrentZone() {
+    _numDocsInCurrentZone = 0;
+    _currentMinLong = Long.MAX_VALUE;
+    _currentMaxLong = Long.MIN_VALUE;
+    _currentMinDouble = Double.POSITIVE_INFINITY;
+    _currentMaxDouble = Double.NEGATIVE_INFINITY;
+    _currentHasNaN = false;
+    _currentNullCount = 0;
+  }
+
+  @Override
+  public void seal()
+      throws IOException {
+    if (_numDocsInCurrentZone > 0) {
+      finishCurrentZone();
+    }
+    int numZones = _minValues.size();
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(_zoneMapFile)))) {
+      out.writeInt(VERSION);
+      out.writeInt(_numDocsPerZone);
+      out.writeInt(numZones);
+      for (int i = 0; i < numZones; i++) {
+        out.writeLong(_minValues.getLong(i));
+        out.writeLong(_maxValues.getLong(i));
+        out.writeInt(_nullCounts.getInt(i));
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+}
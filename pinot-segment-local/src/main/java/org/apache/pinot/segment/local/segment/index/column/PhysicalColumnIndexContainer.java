@@ -40,6 +40,7 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
   private static final Logger LOGGER = LoggerFactory.getLogger(PhysicalColumnIndexContainer.class);
 
   private final Map<IndexType, IndexReader> _readersByIndex;
+  private final FieldIndexConfigs _fieldIndexConfigs;
 
   public PhysicalColumnIndexContainer(SegmentDirectory.Reader segmentReader, ColumnMetadata metadata,
       IndexLoadingConfig indexLoadingConfig)
@@ -47,6 +48,7 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
     String columnName = metadata.getColumnName();
 
     FieldIndexConfigs fieldIndexConfigs = indexLoadingConfig.getFieldIndexConfig(columnName);
+    _fieldIndexConfigs = fieldIndexConfigs;
 
     _readersByIndex = new HashMap<>();
     for (IndexType<?, ?, ?> indexType : IndexService.getInstance().getAllIndexes()) {
@@ -72,6 +74,12 @@ public final class PhysicalColumnIndexContainer implements ColumnIndexContainer
     return reader;
   }
 
+  @Nullable
+  @Override
+  public FieldIndexConfigs getFieldIndexConfigs() {
+    return _fieldIndexConfigs;
+  }
+
   @Override
   public void close()
       throws IOException {
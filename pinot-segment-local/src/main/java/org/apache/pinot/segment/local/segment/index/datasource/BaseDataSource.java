@@ -21,6 +21,7 @@ package org.apache.pinot.segment.local.segment.index.datasource;
 import javax.annotation.Nullable;
 import org.apache.pinot.segment.spi.datasource.DataSource;
 import org.apache.pinot.segment.spi.datasource.DataSourceMetadata;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
 import org.apache.pinot.segment.spi.index.IndexReader;
 import org.apache.pinot.segment.spi.index.IndexType;
 import org.apache.pinot.segment.spi.index.StandardIndexes;
@@ -113,4 +114,10 @@ public abstract class BaseDataSource implements DataSource {
   public NullValueVectorReader getNullValueVector() {
     return getIndex(StandardIndexes.nullValueVector());
   }
+
+  @Nullable
+  @Override
+  public FieldIndexConfigs getFieldIndexConfigs() {
+    return _indexContainer.getFieldIndexConfigs();
+  }
 }
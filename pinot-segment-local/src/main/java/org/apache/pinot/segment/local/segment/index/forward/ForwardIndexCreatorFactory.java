@@ -19,6 +19,7 @@
 
 package org.apache.pinot.segment.local.segment.index.forward;
 
+import com.google.common.base.Preconditions;
 import java.io.File;
 import java.io.IOException;
 import org.apache.pinot.segment.local.segment.creator.impl.fwd.MultiValueFixedByteRawIndexCreator;
@@ -33,6 +34,7 @@ import org.apache.pinot.segment.spi.creator.IndexCreationContext;
 import org.apache.pinot.segment.spi.index.ForwardIndexConfig;
 import org.apache.pinot.segment.spi.index.creator.ForwardIndexCreator;
 import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
 
 
 public class ForwardIndexCreatorFactory {
@@ -50,6 +52,26 @@ public class ForwardIndexCreatorFactory {
       }
 
       // Dictionary disabled columns
+      if (chunkCompressionType.isNumeric()) {
+        DataType storedType = context.getFieldSpec().getDataType().getStoredType();
+        if (chunkCompressionType.isFloatingPoint()) {
+          Preconditions.checkState(context.getFieldSpec().isSingleValueField() && (storedType == DataType.FLOAT
+                  || storedType == DataType.DOUBLE),
+              "Compression type: %s is only supported for single-value FLOAT/DOUBLE columns, got: %s",
+              chunkCompressionType, colName);
+        } else {
+          Preconditions.checkState(context.getFieldSpec().isSingleValueField() && (storedType == DataType.INT
+                  || storedType == DataType.LONG),
+              "Compression type: %s is only supported for single-value INT/LONG columns, got: %s",
+              chunkCompressionType, colName);
+        }
+      } else if (chunkCompressionType.isPerValue()) {
+        DataType storedType = context.getFieldSpec().getDataType().getStoredType();
+        Preconditions.checkState(context.getFieldSpec().isSingleValueField() && (storedType == DataType.STRING
+                || storedType == DataType.BYTES),
+            "Compression type: %s is only supported for single-value STRING/BYTES columns, got: %s",
+            chunkCompressionType, colName);
+      }
       boolean deriveNumDocsPerChunk = indexConfig.isDeriveNumDocsPerChunk();
       int writerVersion = indexConfig.getRawIndexWriterVersion();
       if (context.getFieldSpec().isSingleValueField()) {
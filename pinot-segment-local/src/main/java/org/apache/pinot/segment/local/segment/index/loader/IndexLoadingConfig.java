@@ -94,6 +94,7 @@ public class IndexLoadingConfig {
   private boolean _enableDynamicStarTreeCreation;
   private List<StarTreeIndexConfig> _starTreeIndexConfigs;
   private boolean _enableDefaultStarTree;
+  private int _starTreeBuildNumThreads = 1;
   private Map<String, ChunkCompressionType> _compressionConfigs = new HashMap<>();
   private Map<String, FieldIndexConfigs> _indexConfigsByColName = new HashMap<>();
 
@@ -258,6 +259,7 @@ public class IndexLoadingConfig {
       _enableDynamicStarTreeCreation = indexingConfig.isEnableDynamicStarTreeCreation();
       _starTreeIndexConfigs = indexingConfig.getStarTreeIndexConfigs();
       _enableDefaultStarTree = indexingConfig.isEnableDefaultStarTree();
+      _starTreeBuildNumThreads = indexingConfig.getStarTreeBuildNumThreads();
     }
     _dirty = false;
   }
@@ -801,6 +803,13 @@ public class IndexLoadingConfig {
     return _enableDefaultStarTree;
   }
 
+  public int getStarTreeBuildNumThreads() {
+    if (_dirty) {
+      refreshIndexConfigs();
+    }
+    return _starTreeBuildNumThreads;
+  }
+
   @Nullable
   public SegmentVersion getSegmentVersion() {
     return _segmentVersion;
@@ -256,7 +256,7 @@ public class SegmentPreProcessor implements AutoCloseable {
       if (shouldGenerateStarTree) {
         // NOTE: Always use OFF_HEAP mode on server side.
         try (MultipleTreesBuilder builder = new MultipleTreesBuilder(starTreeBuilderConfigs, indexDir,
-            MultipleTreesBuilder.BuildMode.OFF_HEAP)) {
+            MultipleTreesBuilder.BuildMode.OFF_HEAP, _indexLoadingConfig.getStarTreeBuildNumThreads())) {
           builder.build();
         }
         _segmentMetadata = new SegmentMetadataImpl(indexDir);
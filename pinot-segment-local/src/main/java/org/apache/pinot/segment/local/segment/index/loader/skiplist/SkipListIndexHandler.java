@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.loader.skiplist;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapSkipListInvertedIndexCreator;
+import org.apache.pinot.segment.local.segment.index.forward.ForwardIndexType;
+import org.apache.pinot.segment.local.segment.index.loader.BaseIndexHandler;
+import org.apache.pinot.segment.local.segment.index.loader.LoaderUtils;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.SegmentVersion;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigsUtil;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Adds or removes the skip-list inverted index for the dictionary-encoded columns. Columns without dictionary or
+ * without forward index are ignored because the posting lists are built from the dictionary ids in the forward index.
+ */
+public class SkipListIndexHandler extends BaseIndexHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SkipListIndexHandler.class);
+
+  private final Map<String, IndexConfig> _skipListConfigs;
+
+  public SkipListIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> fieldIndexConfigs,
+      @Nullable TableConfig tableConfig) {
+    super(segmentDirectory, fieldIndexConfigs, tableConfig);
+    _skipListConfigs = FieldIndexConfigsUtil.enableConfigByColumn(StandardIndexes.skipList(), fieldIndexConfigs);
+  }
+
+  @Override
+  public boolean needUpdateIndices(SegmentDirectory.Reader segmentReader) {
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> columnsToAddIdx = new HashSet<>(_skipListConfigs.keySet());
+    Set<String> existingColumns = segmentReader.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.skipList());
+    // Check if any existing index need to be removed.
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Need to remove existing skip-list inverted index from segment: {}, column: {}", segmentName,
+            column);
+        return true;
+      }
+    }
+    // Check if any new index need to be added.
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateSkipListIndex(segmentReader, column)) {
+        LOGGER.info("Need to create new skip-list inverted index for segment: {}, column: {}", segmentName, column);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void updateIndices(SegmentDirectory.Writer segmentWriter)
+      throws Exception {
+    Set<String> columnsToAddIdx = new HashSet<>(_skipListConfigs.keySet());
+    // Remove indices not set in table config any more.
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> existingColumns = segmentWriter.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.skipList());
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Removing existing skip-list inverted index from segment: {}, column: {}", segmentName, column);
+        segmentWriter.removeIndex(column, StandardIndexes.skipList());
+        LOGGER.info("Removed existing skip-list inverted index from segment: {}, column: {}", segmentName, column);
+      }
+    }
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateSkipListIndex(segmentWriter, column)) {
+        createSkipListIndexForColumn(segmentWriter,
+            _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column));
+      }
+    }
+  }
+
+  private boolean shouldCreateSkipListIndex(SegmentDirectory.Reader segmentReader, String column) {
+    ColumnMetadata columnMetadata = _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column);
+    return columnMetadata != null && columnMetadata.hasDictionary() && segmentReader.hasIndexFor(column,
+        StandardIndexes.forward());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void createSkipListIndexForColumn(SegmentDirectory.Writer segmentWriter, ColumnMetadata columnMetadata)
+      throws Exception {
+    File indexDir = _segmentDirectory.getSegmentMetadata().getIndexDir();
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    String columnName = columnMetadata.getColumnName();
+    File skipListFile = new File(indexDir, columnName + V1Constants.Indexes.SKIP_LIST_INDEX_FILE_EXTENSION);
+    File inProgress = new File(indexDir, skipListFile.getName() + ".inprogress");
+
+    if (!inProgress.exists()) {
+      // Marker file does not exist, which means last run ended normally.
+      // Create a marker file.
+      FileUtils.touch(inProgress);
+    } else {
+      // Marker file exists, which means last run gets interrupted.
+      // Remove skip-list inverted index file.
+      FileUtils.deleteQuietly(skipListFile);
+    }
+
+    LOGGER.info("Creating new skip-list inverted index for segment: {}, column: {}", segmentName, columnName);
+    int numDocs = columnMetadata.getTotalDocs();
+    try (OnHeapSkipListInvertedIndexCreator creator = new OnHeapSkipListInvertedIndexCreator(indexDir, columnName,
+        columnMetadata.getCardinality());
+        ForwardIndexReader forwardIndexReader = ForwardIndexType.read(segmentWriter, columnMetadata);
+        ForwardIndexReaderContext readerContext = forwardIndexReader.createContext()) {
+      if (columnMetadata.isSingleValue()) {
+        for (int i = 0; i < numDocs; i++) {
+          creator.add(forwardIndexReader.getDictId(i, readerContext));
+        }
+      } else {
+        int[] dictIds = new int[columnMetadata.getMaxNumberOfMultiValues()];
+        for (int i = 0; i < numDocs; i++) {
+          int length = forwardIndexReader.getDictIdMV(i, dictIds, readerContext);
+          creator.add(dictIds, length);
+        }
+      }
+      creator.seal();
+    }
+
+    // For v3, write the generated skip-list inverted index file into the single file and remove it.
+    if (_segmentDirectory.getSegmentMetadata().getVersion() == SegmentVersion.v3) {
+      LoaderUtils.writeIndexToV3Format(segmentWriter, columnName, skipListFile, StandardIndexes.skipList());
+    }
+
+    // Delete the marker file.
+    FileUtils.deleteQuietly(inProgress);
+    LOGGER.info("Created skip-list inverted index for segment: {}, column: {}", segmentName, columnName);
+  }
+}
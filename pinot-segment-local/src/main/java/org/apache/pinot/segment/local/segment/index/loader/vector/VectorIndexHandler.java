@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.loader.vector;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.vector.OnHeapHnswVectorIndexCreator;
+import org.apache.pinot.segment.local.segment.index.dictionary.DictionaryIndexType;
+import org.apache.pinot.segment.local.segment.index.forward.ForwardIndexType;
+import org.apache.pinot.segment.local.segment.index.loader.BaseIndexHandler;
+import org.apache.pinot.segment.local.segment.index.loader.LoaderUtils;
+import org.apache.pinot.segment.local.segment.index.vector.VectorIndexType;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.SegmentVersion;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigsUtil;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Adds or removes the vector index for the multi-value FLOAT columns. The vectors are read back from the forward
+ * index, so columns without forward index are ignored.
+ */
+public class VectorIndexHandler extends BaseIndexHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(VectorIndexHandler.class);
+
+  private final Map<String, VectorIndexConfig> _vectorConfigs;
+
+  public VectorIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> fieldIndexConfigs,
+      @Nullable TableConfig tableConfig) {
+    super(segmentDirectory, fieldIndexConfigs, tableConfig);
+    _vectorConfigs = FieldIndexConfigsUtil.enableConfigByColumn(StandardIndexes.vector(), fieldIndexConfigs);
+  }
+
+  @Override
+  public boolean needUpdateIndices(SegmentDirectory.Reader segmentReader) {
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> columnsToAddIdx = new HashSet<>(_vectorConfigs.keySet());
+    Set<String> existingColumns = segmentReader.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.vector());
+    // Check if any existing index need to be removed.
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Need to remove existing vector index from segment: {}, column: {}", segmentName, column);
+        return true;
+      }
+    }
+    // Check if any new index need to be added.
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateVectorIndex(segmentReader, column)) {
+        LOGGER.info("Need to create new vector index for segment: {}, column: {}", segmentName, column);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void updateIndices(SegmentDirectory.Writer segmentWriter)
+      throws Exception {
+    Set<String> columnsToAddIdx = new HashSet<>(_vectorConfigs.keySet());
+    // Remove indices not set in table config any more.
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> existingColumns = segmentWriter.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.vector());
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Removing existing vector index from segment: {}, column: {}", segmentName, column);
+        segmentWriter.removeIndex(column, StandardIndexes.vector());
+        LOGGER.info("Removed existing vector index from segment: {}, column: {}", segmentName, column);
+      }
+    }
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateVectorIndex(segmentWriter, column)) {
+        createVectorIndexForColumn(segmentWriter, _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column));
+      }
+    }
+  }
+
+  private boolean shouldCreateVectorIndex(SegmentDirectory.Reader segmentReader, String column) {
+    ColumnMetadata columnMetadata = _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column);
+    return columnMetadata != null && VectorIndexType.isSupported(columnMetadata.getFieldSpec())
+        && segmentReader.hasIndexFor(column, StandardIndexes.forward());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void createVectorIndexForColumn(SegmentDirectory.Writer segmentWriter, ColumnMetadata columnMetadata)
+      throws Exception {
+    File indexDir = _segmentDirectory.getSegmentMetadata().getIndexDir();
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    String columnName = columnMetadata.getColumnName();
+    File vectorIndexFile = new File(indexDir, columnName + V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION);
+    File inProgress = new File(indexDir, vectorIndexFile.getName() + ".inprogress");
+
+    if (!inProgress.exists()) {
+      // Marker file does not exist, which means last run ended normally.
+      // Create a marker file.
+      FileUtils.touch(inProgress);
+    } else {
+      // Marker file exists, which means last run gets interrupted.
+      // Remove vector index file.
+      FileUtils.deleteQuietly(vectorIndexFile);
+    }
+
+    LOGGER.info("Creating new vector index for segment: {}, column: {}", segmentName, columnName);
+    int numDocs = columnMetadata.getTotalDocs();
+    int maxNumValues = columnMetadata.getMaxNumberOfMultiValues();
+    try (OnHeapHnswVectorIndexCreator creator = new OnHeapHnswVectorIndexCreator(indexDir, columnName,
+        _vectorConfigs.get(columnName));
+        ForwardIndexReader forwardIndexReader = ForwardIndexType.read(segmentWriter, columnMetadata);
+        ForwardIndexReaderContext readerContext = forwardIndexReader.createContext()) {
+      if (columnMetadata.hasDictionary()) {
+        try (Dictionary dictionary = DictionaryIndexType.read(segmentWriter, columnMetadata)) {
+          int[] dictIds = new int[maxNumValues];
+          for (int i = 0; i < numDocs; i++) {
+            int numValues = forwardIndexReader.getDictIdMV(i, dictIds, readerContext);
+            float[] vector = new float[numValues];
+            for (int j = 0; j < numValues; j++) {
+              vector[j] = dictionary.getFloatValue(dictIds[j]);
+            }
+            creator.add(vector);
+          }
+        }
+      } else {
+        float[] values = new float[maxNumValues];
+        for (int i = 0; i < numDocs; i++) {
+          int numValues = forwardIndexReader.getFloatMV(i, values, readerContext);
+          float[] vector = new float[numValues];
+          System.arraycopy(values, 0, vector, 0, numValues);
+          creator.add(vector);
+        }
+      }
+      creator.seal();
+    }
+
+    // For v3, write the generated vector index file into the single file and remove it.
+    if (_segmentDirectory.getSegmentMetadata().getVersion() == SegmentVersion.v3) {
+      LoaderUtils.writeIndexToV3Format(segmentWriter, columnName, vectorIndexFile, StandardIndexes.vector());
+    }
+
+    // Delete the marker file.
+    FileUtils.deleteQuietly(inProgress);
+    LOGGER.info("Created vector index for segment: {}, column: {}", segmentName, columnName);
+  }
+}
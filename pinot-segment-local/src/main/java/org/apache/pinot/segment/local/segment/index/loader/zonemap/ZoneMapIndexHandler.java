@@ -0,0 +1,182 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.loader.zonemap;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.zonemap.OnHeapZoneMapIndexCreator;
+import org.apache.pinot.segment.local.segment.index.forward.ForwardIndexType;
+import org.apache.pinot.segment.local.segment.index.loader.BaseIndexHandler;
+import org.apache.pinot.segment.local.segment.index.loader.LoaderUtils;
+import org.apache.pinot.segment.local.segment.index.readers.NullValueVectorReaderImpl;
+import org.apache.pinot.segment.local.segment.index.zonemap.ZoneMapIndexType;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.SegmentVersion;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigsUtil;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.roaringbitmap.PeekableIntIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Adds or removes the zone map index for the single-value numeric raw columns. Columns that are not supported or
+ * without forward index are ignored because the zone map only accelerates the scan over the raw forward index.
+ */
+public class ZoneMapIndexHandler extends BaseIndexHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ZoneMapIndexHandler.class);
+
+  private final Map<String, IndexConfig> _zoneMapConfigs;
+
+  public ZoneMapIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> fieldIndexConfigs,
+      @Nullable TableConfig tableConfig) {
+    super(segmentDirectory, fieldIndexConfigs, tableConfig);
+    _zoneMapConfigs = FieldIndexConfigsUtil.enableConfigByColumn(StandardIndexes.zoneMap(), fieldIndexConfigs);
+  }
+
+  @Override
+  public boolean needUpdateIndices(SegmentDirectory.Reader segmentReader) {
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> columnsToAddIdx = new HashSet<>(_zoneMapConfigs.keySet());
+    Set<String> existingColumns = segmentReader.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.zoneMap());
+    // Check if any existing index need to be removed.
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Need to remove existing zone map index from segment: {}, column: {}", segmentName, column);
+        return true;
+      }
+    }
+    // Check if any new index need to be added.
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateZoneMapIndex(segmentReader, column)) {
+        LOGGER.info("Need to create new zone map index for segment: {}, column: {}", segmentName, column);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void updateIndices(SegmentDirectory.Writer segmentWriter)
+      throws Exception {
+    Set<String> columnsToAddIdx = new HashSet<>(_zoneMapConfigs.keySet());
+    // Remove indices not set in table config any more.
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    Set<String> existingColumns = segmentWriter.toSegmentDirectory().getColumnsWithIndex(StandardIndexes.zoneMap());
+    for (String column : existingColumns) {
+      if (!columnsToAddIdx.remove(column)) {
+        LOGGER.info("Removing existing zone map index from segment: {}, column: {}", segmentName, column);
+        segmentWriter.removeIndex(column, StandardIndexes.zoneMap());
+        LOGGER.info("Removed existing zone map index from segment: {}, column: {}", segmentName, column);
+      }
+    }
+    for (String column : columnsToAddIdx) {
+      if (shouldCreateZoneMapIndex(segmentWriter, column)) {
+        createZoneMapIndexForColumn(segmentWriter, _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column));
+      }
+    }
+  }
+
+  private boolean shouldCreateZoneMapIndex(SegmentDirectory.Reader segmentReader, String column) {
+    ColumnMetadata columnMetadata = _segmentDirectory.getSegmentMetadata().getColumnMetadataFor(column);
+    return columnMetadata != null && ZoneMapIndexType.isSupported(columnMetadata.getFieldSpec(),
+        columnMetadata.hasDictionary()) && segmentReader.hasIndexFor(column, StandardIndexes.forward());
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void createZoneMapIndexForColumn(SegmentDirectory.Writer segmentWriter, ColumnMetadata columnMetadata)
+      throws Exception {
+    File indexDir = _segmentDirectory.getSegmentMetadata().getIndexDir();
+    String segmentName = _segmentDirectory.getSegmentMetadata().getName();
+    String columnName = columnMetadata.getColumnName();
+    File zoneMapFile = new File(indexDir, columnName + V1Constants.Indexes.ZONE_MAP_INDEX_FILE_EXTENSION);
+    File inProgress = new File(indexDir, zoneMapFile.getName() + ".inprogress");
+
+    if (!inProgress.exists()) {
+      // Marker file does not exist, which means last run ended normally.
+      // Create a marker file.
+      FileUtils.touch(inProgress);
+    } else {
+      // Marker file exists, which means last run gets interrupted.
+      // Remove zone map index file.
+      FileUtils.deleteQuietly(zoneMapFile);
+    }
+
+    LOGGER.info("Creating new zone map index for segment: {}, column: {}", segmentName, columnName);
+    int numDocs = columnMetadata.getTotalDocs();
+    try (OnHeapZoneMapIndexCreator creator = new OnHeapZoneMapIndexCreator(indexDir, columnName,
+        columnMetadata.getDataType().getStoredType());
+        ForwardIndexReader forwardIndexReader = ForwardIndexType.read(segmentWriter, columnMetadata);
+        ForwardIndexReaderContext readerContext = forwardIndexReader.createContext()) {
+      switch (columnMetadata.getDataType().getStoredType()) {
+        case INT:
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(forwardIndexReader.getInt(i, readerContext));
+          }
+          break;
+        case LONG:
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(forwardIndexReader.getLong(i, readerContext));
+          }
+          break;
+        case FLOAT:
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(forwardIndexReader.getFloat(i, readerContext));
+          }
+          break;
+        case DOUBLE:
+          for (int i = 0; i < numDocs; i++) {
+            creator.add(forwardIndexReader.getDouble(i, readerContext));
+          }
+          break;
+        default:
+          throw new IllegalStateException("Unsupported data type: " + columnMetadata.getDataType() + " for column: "
+              + columnName);
+      }
+      if (segmentWriter.hasIndexFor(columnName, StandardIndexes.nullValueVector())) {
+        PeekableIntIterator nullDocIds = new NullValueVectorReaderImpl(
+            segmentWriter.getIndexFor(columnName, StandardIndexes.nullValueVector())).getNullBitmap().getIntIterator();
+        while (nullDocIds.hasNext()) {
+          creator.setNull(nullDocIds.next());
+        }
+      }
+      creator.seal();
+    }
+
+    // For v3, write the generated zone map index file into the single file and remove it.
+    if (_segmentDirectory.getSegmentMetadata().getVersion() == SegmentVersion.v3) {
+      LoaderUtils.writeIndexToV3Format(segmentWriter, columnName, zoneMapFile, StandardIndexes.zoneMap());
+    }
+
+    // Delete the marker file.
+    FileUtils.deleteQuietly(inProgress);
+    LOGGER.info("Created zone map index for segment: {}, column: {}", segmentName, columnName);
+  }
+}
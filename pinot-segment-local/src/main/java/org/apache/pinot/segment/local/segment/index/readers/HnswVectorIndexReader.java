@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.readers;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import org.apache.pinot.segment.local.segment.creator.impl.vector.OnHeapHnswVectorIndexCreator;
+import org.apache.pinot.segment.local.utils.hnsw.HnswGraph;
+import org.apache.pinot.segment.local.utils.hnsw.HnswSearcher;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Reader for the HNSW vector index created by {@link OnHeapHnswVectorIndexCreator}. Vectors and level 0 neighbors are
+ * read from the buffer; only the (small) node lists of the upper levels are loaded on heap.
+ */
+public class HnswVectorIndexReader implements VectorIndexReader, HnswGraph {
+  private final PinotDataBuffer _dataBuffer;
+  private final int _efSearch;
+  private final int _vectorDimension;
+  private final DistanceFunction _distanceFunction;
+  private final int _maxConnections;
+  private final int _numNodes;
+  private final int _maxLevel;
+  private final int _entryPoint;
+  private final long _docIdsOffset;
+  private final long _vectorsOffset;
+  private final long _vectorSize;
+  // Index 0 is for level 0, where all the nodes are present
+  private final long[] _neighborsOffsets;
+  private final long[] _neighborsEntrySizes;
+  private final int[][] _upperLevelNodes;
+
+  public HnswVectorIndexReader(PinotDataBuffer dataBuffer, int efSearch) {
+    int version = dataBuffer.getInt(0);
+    Preconditions.checkState(version == OnHeapHnswVectorIndexCreator.VERSION, "Unsupported vector index version: %s",
+        version);
+    _dataBuffer = dataBuffer;
+    _efSearch = efSearch;
+    _vectorDimension = dataBuffer.getInt(Integer.BYTES);
+    _distanceFunction = DistanceFunction.values()[dataBuffer.getInt(2 * Integer.BYTES)];
+    _maxConnections = dataBuffer.getInt(3 * Integer.BYTES);
+    _numNodes = dataBuffer.getInt(4 * Integer.BYTES);
+    _maxLevel = dataBuffer.getInt(5 * Integer.BYTES);
+    _entryPoint = dataBuffer.getInt(6 * Integer.BYTES);
+    _docIdsOffset = OnHeapHnswVectorIndexCreator.HEADER_SIZE;
+    _vectorsOffset = _docIdsOffset + (long) _numNodes * Integer.BYTES;
+    _vectorSize = (long) _vectorDimension * Float.BYTES;
+
+    int numLevels = _maxLevel + 1;
+    _neighborsOffsets = new long[numLevels];
+    _neighborsEntrySizes = new long[numLevels];
+    _upperLevelNodes = new int[numLevels][];
+    long offset = _vectorsOffset + _numNodes * _vectorSize;
+    for (int level = 0; level < numLevels; level++) {
+      int numNodesOnLevel = _numNodes;
+      if (level > 0) {
+        numNodesOnLevel = dataBuffer.getInt(offset);
+        offset += Integer.BYTES;
+        int[] nodes = new int[numNodesOnLevel];
+        for (int i = 0; i < numNodesOnLevel; i++) {
+          nodes[i] = dataBuffer.getInt(offset);
+          offset += Integer.BYTES;
+        }
+        _upperLevelNodes[level] = nodes;
+      }
+      _neighborsOffsets[level] = offset;
+      _neighborsEntrySizes[level] = (1L + HnswGraph.getMaxNeighbors(_maxConnections, level)) * Integer.BYTES;
+      offset += numNodesOnLevel * _neighborsEntrySizes[level];
+    }
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(float[] queryVector, int topK) {
+    Preconditions.checkArgument(queryVector.length == _vectorDimension,
+        "Query vector dimension: %s does not match the index dimension: %s", queryVector.length, _vectorDimension);
+    MutableRoaringBitmap docIds = new MutableRoaringBitmap();
+    for (int node : new HnswSearcher(this).search(queryVector, topK, _efSearch)) {
+      docIds.add(getDocId(node));
+    }
+    return docIds;
+  }
+
+  @Override
+  public int getNumNodes() {
+    return _numNodes;
+  }
+
+  @Override
+  public int getVectorDimension() {
+    return _vectorDimension;
+  }
+
+  @Override
+  public DistanceFunction getDistanceFunction() {
+    return _distanceFunction;
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return _maxConnections;
+  }
+
+  @Override
+  public int getMaxLevel() {
+    return _maxLevel;
+  }
+
+  @Override
+  public int getEntryPoint() {
+    return _entryPoint;
+  }
+
+  @Override
+  public int getNeighbors(int node, int level, int[] buffer) {
+    int index = level == 0 ? node : Arrays.binarySearch(_upperLevelNodes[level], node);
+    long offset = _neighborsOffsets[level] + index * _neighborsEntrySizes[level];
+    int numNeighbors = _dataBuffer.getInt(offset);
+    for (int i = 0; i < numNeighbors; i++) {
+      offset += Integer.BYTES;
+      buffer[i] = _dataBuffer.getInt(offset);
+    }
+    return numNeighbors;
+  }
+
+  @Override
+  public float[] getVector(int node, float[] buffer) {
+    long offset = _vectorsOffset + node * _vectorSize;
+    for (int i = 0; i < _vectorDimension; i++) {
+      buffer[i] = _dataBuffer.getFloat(offset);
+      offset += Float.BYTES;
+    }
+    return buffer;
+  }
+
+  @Override
+  public int getDocId(int node) {
+    return _dataBuffer.getInt(_docIdsOffset + (long) node * Integer.BYTES);
+  }
+
+  @Override
+  public void close() {
+    // NOTE: DO NOT close the PinotDataBuffer here because it is tracked by the caller and might be reused later. The
+    // caller is responsible of closing the PinotDataBuffer.
+  }
+}
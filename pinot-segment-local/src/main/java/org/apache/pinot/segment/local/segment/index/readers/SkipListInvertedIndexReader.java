@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.readers;
+
+import com.google.common.base.Preconditions;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapSkipListInvertedIndexCreator;
+import org.apache.pinot.segment.spi.Constants;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.roaringbitmap.RoaringBitmapWriter;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+
+/**
+ * Reader for the skip-list inverted index created by {@link OnHeapSkipListInvertedIndexCreator}. Please reference the
+ * creator for the index file layout.
+ */
+public class SkipListInvertedIndexReader implements SkipListIndexReader {
+  private final PinotDataBuffer _dataBuffer;
+  private final int _cardinality;
+  private final int _numDocsPerBlock;
+
+  public SkipListInvertedIndexReader(PinotDataBuffer dataBuffer) {
+    int version = dataBuffer.getInt(0);
+    Preconditions.checkState(version == OnHeapSkipListInvertedIndexCreator.VERSION,
+        "Unsupported skip-list inverted index version: %s", version);
+    _dataBuffer = dataBuffer;
+    _cardinality = dataBuffer.getInt(Integer.BYTES);
+    _numDocsPerBlock = dataBuffer.getInt(2 * Integer.BYTES);
+  }
+
+  public int getCardinality() {
+    return _cardinality;
+  }
+
+  @Override
+  public int getNumDocs(int dictId) {
+    return _dataBuffer.getInt(getPostingListOffset(dictId));
+  }
+
+  @Override
+  public ImmutableRoaringBitmap getDocIds(int dictId) {
+    PostingListIterator postingList = getPostingList(dictId);
+    RoaringBitmapWriter<MutableRoaringBitmap> writer = RoaringBitmapWriter.bufferWriter().get();
+    int docId = postingList.next();
+    while (docId != Constants.EOF) {
+      writer.add(docId);
+      docId = postingList.next();
+    }
+    return writer.get();
+  }
+
+  @Override
+  public PostingListIterator getPostingList(int dictId) {
+    return new SkipListPostingListIterator(getPostingListOffset(dictId));
+  }
+
+  private long getPostingListOffset(int dictId) {
+    return _dataBuffer.getLong(OnHeapSkipListInvertedIndexCreator.HEADER_SIZE + (long) dictId * Long.BYTES);
+  }
+
+  @Override
+  public void close() {
+    // NOTE: DO NOT close the PinotDataBuffer here because it is tracked by the caller and might be reused later. The
+    // caller is responsible of closing the PinotDataBuffer.
+  }
+
+  /**
+   * Iterates over a posting list one block at a time. {@link #advance(int)} first looks up the target block in the
+   * skip table (galloping then binary search over the block max doc ids), and only touches that block: consecutive and
+   * bit set blocks are probed in place, and only bit-packed blocks are decoded.
+   */
+  private final class SkipListPostingListIterator implements PostingListIterator {
+    private final long _postingListOffset;
+    private final int _numDocs;
+    private final int _numBlocks;
+    private final int[] _docIds = new int[_numDocsPerBlock];
+    // Gaps take at most 31 bits
+    private final byte[] _packedGaps = new byte[_numDocsPerBlock * Integer.BYTES];
+
+    private int _blockId = -1;
+    private int _numBits;
+    // Offset of the bit set words for bit set blocks
+    private long _bitSetOffset;
+    // Max doc id of the previous block (or -1 for the first block), and max doc id of the current block
+    private int _previousMaxDocId = -1;
+    private int _blockMaxDocId = -1;
+    // Index of the next doc id within the decoded bit-packed block
+    private int _index;
+    private int _lastDocId = -1;
+
+    SkipListPostingListIterator(long postingListOffset) {
+      _postingListOffset = postingListOffset;
+      _numDocs = _dataBuffer.getInt(postingListOffset);
+      _numBlocks = _dataBuffer.getInt(postingListOffset + Integer.BYTES);
+    }
+
+    @Override
+    public int next() {
+      if (_lastDocId >= _blockMaxDocId) {
+        if (_blockId + 1 >= _numBlocks) {
+          return Constants.EOF;
+        }
+        loadBlock(_blockId + 1);
+      }
+      _lastDocId = nextInBlock(_lastDocId + 1);
+      return _lastDocId;
+    }
+
+    @Override
+    public int advance(int targetDocId) {
+      if (targetDocId > _blockMaxDocId) {
+        int blockId = findBlock(_blockId + 1, targetDocId);
+        if (blockId < 0) {
+          _blockId = _numBlocks;
+          _lastDocId = _blockMaxDocId;
+          return Constants.EOF;
+        }
+        loadBlock(blockId);
+      }
+      // The current block contains a doc id greater than or equal to the target
+      _lastDocId = nextInBlock(Math.max(targetDocId, _lastDocId + 1));
+      return _lastDocId;
+    }
+
+    @Override
+    public int getNumDocs() {
+      return _numDocs;
+    }
+
+    /**
+     * Returns the first doc id greater than or equal to the target doc id within the current block. The target must be
+     * greater than the last returned doc id and smaller than or equal to the block max doc id.
+     */
+    private int nextInBlock(int targetDocId) {
+      if (_numBits == 0) {
+        return targetDocId;
+      }
+      if (_numBits == OnHeapSkipListInvertedIndexCreator.BIT_SET_BLOCK) {
+        int bitId = targetDocId - _previousMaxDocId - 1;
+        int wordId = bitId >>> 6;
+        long word = _dataBuffer.getLong(_bitSetOffset + (long) wordId * Long.BYTES) & (-1L << bitId);
+        while (word == 0) {
+          wordId++;
+          word = _dataBuffer.getLong(_bitSetOffset + (long) wordId * Long.BYTES);
+        }
+        return _previousMaxDocId + 1 + (wordId << 6) + Long.numberOfTrailingZeros(word);
+      }
+      while (_docIds[_index] < targetDocId) {
+        _index++;
+      }
+      return _docIds[_index++];
+    }
+
+    /**
+     * Returns the first block starting from the given block whose max doc id is greater than or equal to the target doc
+     * id, or -1 if there is no such block.
+     */
+    private int findBlock(int fromBlockId, int targetDocId) {
+      if (fromBlockId >= _numBlocks) {
+        return -1;
+      }
+      int low = fromBlockId;
+      int high = fromBlockId;
+      int step = 1;
+      while (getBlockMaxDocId(high) < targetDocId) {
+        if (high == _numBlocks - 1) {
+          return -1;
+        }
+        low = high + 1;
+        high = Math.min(high + step, _numBlocks - 1);
+        step <<= 1;
+      }
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (getBlockMaxDocId(mid) >= targetDocId) {
+          high = mid;
+        } else {
+          low = mid + 1;
+        }
+      }
+      return low;
+    }
+
+    private int getBlockMaxDocId(int blockId) {
+      return _dataBuffer.getInt(getSkipEntryOffset(blockId));
+    }
+
+    private long getSkipEntryOffset(int blockId) {
+      return _postingListOffset + OnHeapSkipListInvertedIndexCreator.POSTING_LIST_HEADER_SIZE
+          + (long) blockId * OnHeapSkipListInvertedIndexCreator.SKIP_ENTRY_SIZE;
+    }
+
+    private void loadBlock(int blockId) {
+      long skipEntryOffset = getSkipEntryOffset(blockId);
+      long blockOffset = _postingListOffset + _dataBuffer.getInt(skipEntryOffset + Integer.BYTES);
+      // NOTE: The block max doc id is initialized to -1 so that it applies to the first block as well
+      _previousMaxDocId = blockId == _blockId + 1 ? _blockMaxDocId : getBlockMaxDocId(blockId - 1);
+      _blockMaxDocId = _dataBuffer.getInt(skipEntryOffset);
+      _numBits = _dataBuffer.getByte(blockOffset);
+      _bitSetOffset = blockOffset + 1;
+      _blockId = blockId;
+      _lastDocId = _previousMaxDocId;
+      if (_numBits > 0) {
+        decodeBitPackedBlock(blockOffset + 1);
+      }
+    }
+
+    private void decodeBitPackedBlock(long gapsOffset) {
+      int numDocsInBlock = _blockId == _numBlocks - 1 ? _numDocs - _blockId * _numDocsPerBlock : _numDocsPerBlock;
+      int numBits = _numBits;
+      // Copy the packed gaps of the block in one shot, then unpack them from the heap
+      int numBytes = (numDocsInBlock * numBits + Byte.SIZE - 1) / Byte.SIZE;
+      _dataBuffer.copyTo(gapsOffset, _packedGaps, 0, numBytes);
+      long mask = (1L << numBits) - 1;
+      long bitBuffer = 0;
+      int numBitsInBuffer = 0;
+      int byteIndex = 0;
+      int previousDocId = _previousMaxDocId;
+      for (int i = 0; i < numDocsInBlock; i++) {
+        while (numBitsInBuffer < numBits) {
+          bitBuffer = (bitBuffer << Byte.SIZE) | (_packedGaps[byteIndex++] & 0xFF);
+          numBitsInBuffer += Byte.SIZE;
+        }
+        numBitsInBuffer -= numBits;
+        previousDocId += (int) ((bitBuffer >>> numBitsInBuffer) & mask) + 1;
+        _docIds[i] = previousDocId;
+      }
+      _index = 0;
+    }
+  }
+}
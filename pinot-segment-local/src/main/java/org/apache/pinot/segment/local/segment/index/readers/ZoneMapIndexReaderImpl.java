@@ -0,0 +1,99 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.readers;
+
+import com.google.common.base.Preconditions;
+import org.apache.pinot.segment.local.segment.creator.impl.zonemap.OnHeapZoneMapIndexCreator;
+import org.apache.pinot.segment.spi.index.reader.ZoneMapIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+
+
+/**
+ * Reader for the zone map index created by {@link OnHeapZoneMapIndexCreator}.
+ */
+public class ZoneMapIndexReaderImpl implements ZoneMapIndexReader {
+  private static final int MAX_VALUE_OFFSET = Long.BYTES;
+  private static final int NULL_COUNT_OFFSET = 2 * Long.BYTES;
+
+  private final PinotDataBuffer _dataBuffer;
+  private final DataType _storedType;
+  private final int _numDocsPerZone;
+  private final int _numZones;
+
+  public ZoneMapIndexReaderImpl(PinotDataBuffer dataBuffer, DataType storedType) {
+    int version = dataBuffer.getInt(0);
+    Preconditions.checkState(version == OnHeapZoneMapIndexCreator.VERSION, "Unsupported zone map index version: %s",
+        version);
+    _dataBuffer = dataBuffer;
+    _storedType = storedType;
+    _numDocsPerZone = dataBuffer.getInt(Integer.BYTES);
+    _numZones = dataBuffer.getInt(2 * Integer.BYTES);
+  }
+
+  @Override
+  public DataType getStoredType() {
+    return _storedType;
+  }
+
+  @Override
+  public int getNumDocsPerZone() {
+    return _numDocsPerZone;
+  }
+
+  @Override
+  public int getNumZones() {
+    return _numZones;
+  }
+
+  @Override
+  public long getMinLong(int zoneId) {
+    return _dataBuffer.getLong(getZoneOffset(zoneId));
+  }
+
+  @Override
+  public long getMaxLong(int zoneId) {
+    return _dataBuffer.getLong(getZoneOffset(zoneId) + MAX_VALUE_OFFSET);
+  }
+
+  @Override
+  public double getMinDouble(int zoneId) {
+    return Double.longBitsToDouble(getMinLong(zoneId));
+  }
+
+  @Override
+  public double getMaxDouble(int zoneId) {
+    return Double.longBitsToDouble(getMaxLong(zoneId));
+  }
+
+  @Override
+  public int getNullCount(int zoneId) {
+    return _dataBuffer.getInt(getZoneOffset(zoneId) + NULL_COUNT_OFFSET);
+  }
+
+  private long getZoneOffset(int zoneId) {
+    return OnHeapZoneMapIndexCreator.HEADER_SIZE + (long) zoneId * OnHeapZoneMapIndexCreator.ZONE_ENTRY_SIZE;
+  }
+
+  @Override
+  public void close() {
+    // NOTE: DO NOT close the PinotDataBuffer here because it is tracked by the caller and might be reused later. The
+    // caller is responsible of closing the PinotDataBuffer.
+  }
+}
@@ -26,6 +26,8 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
 import org.apache.pinot.segment.local.io.compression.ChunkCompressorFactory;
+import org.apache.pinot.segment.local.io.compression.GorillaDecompressor;
+import org.apache.pinot.segment.local.io.compression.NumericChunkDecompressor;
 import org.apache.pinot.segment.local.io.writer.impl.BaseChunkSVForwardIndexWriter;
 import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
 import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
@@ -50,10 +52,17 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
   protected final boolean _isCompressed;
   protected final ChunkCompressionType _compressionType;
   protected final ChunkDecompressor _chunkDecompressor;
+  // Non-null for the numeric codecs, which can decode whole chunks straight into the value buffers
+  protected final NumericChunkDecompressor _numericChunkDecompressor;
+  // Non-null for the Gorilla codec, which can decode whole chunks straight into the value buffers
+  protected final GorillaDecompressor _gorillaDecompressor;
   protected final PinotDataBuffer _dataHeader;
   protected final int _headerEntryChunkOffsetSize;
   protected final PinotDataBuffer _rawData;
   protected final boolean _isSingleValue;
+  // Non-null when the server-wide decompressed chunk cache is enabled and the chunks are compressed
+  protected final DecompressedChunkCache _chunkCache;
+  protected final long _readerId;
 
   public BaseChunkForwardIndexReader(PinotDataBuffer dataBuffer, DataType storedType, boolean isSingleValue) {
     _dataBuffer = dataBuffer;
@@ -103,6 +112,12 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
     _rawData = _dataBuffer.view(rawDataStart, _dataBuffer.size());
 
     _isSingleValue = isSingleValue;
+    _numericChunkDecompressor = _chunkDecompressor instanceof NumericChunkDecompressor
+        ? (NumericChunkDecompressor) _chunkDecompressor : null;
+    _gorillaDecompressor =
+        _chunkDecompressor instanceof GorillaDecompressor ? (GorillaDecompressor) _chunkDecompressor : null;
+    _chunkCache = _isCompressed ? DecompressedChunkCache.getInstance() : null;
+    _readerId = DecompressedChunkCache.nextReaderId();
   }
 
   /**
@@ -124,6 +139,39 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
   }
 
   protected ByteBuffer decompressChunk(int chunkId, ChunkReaderContext context) {
+    if (_chunkCache != null) {
+      DecompressedChunkCache.CachedChunk cachedChunk = _chunkCache.get(_readerId, chunkId);
+      if (cachedChunk != null) {
+        ByteBuffer chunkBuffer = cachedChunk.getBuffer();
+        context.setCachedChunk(cachedChunk);
+        context.setChunkBuffer(chunkBuffer);
+        context.setChunkId(chunkId);
+        return chunkBuffer;
+      }
+      context.setCachedChunk(null);
+    }
+
+    ByteBuffer decompressedBuffer = context.getDecompressionBuffer();
+    decompressedBuffer.clear();
+
+    try {
+      _chunkDecompressor.decompress(getCompressedChunk(chunkId), decompressedBuffer);
+    } catch (IOException e) {
+      LOGGER.error("Exception caught while decompressing data chunk", e);
+      throw new RuntimeException(e);
+    }
+    if (_chunkCache != null) {
+      _chunkCache.put(_readerId, chunkId, decompressedBuffer);
+    }
+    context.setChunkBuffer(decompressedBuffer);
+    context.setChunkId(chunkId);
+    return decompressedBuffer;
+  }
+
+  /**
+   * Helper method to return the compressed bytes of the given chunk.
+   */
+  protected ByteBuffer getCompressedChunk(int chunkId) {
     int chunkSize;
     long chunkPosition = getChunkPosition(chunkId);
 
@@ -134,18 +182,21 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
       long nextChunkOffset = getChunkPosition(chunkId + 1);
       chunkSize = (int) (nextChunkOffset - chunkPosition);
     }
+    return _dataBuffer.toDirectByteBuffer(chunkPosition, chunkSize);
+  }
 
-    ByteBuffer decompressedBuffer = context.getChunkBuffer();
-    decompressedBuffer.clear();
-
-    try {
-      _chunkDecompressor.decompress(_dataBuffer.toDirectByteBuffer(chunkPosition, chunkSize), decompressedBuffer);
-    } catch (IOException e) {
-      LOGGER.error("Exception caught while decompressing data chunk", e);
-      throw new RuntimeException(e);
+  @Override
+  public void prefetch(int[] docIds, int length) {
+    int lastChunkId = -1;
+    for (int i = 0; i < length; i++) {
+      int chunkId = docIds[i] / _numDocsPerChunk;
+      if (chunkId != lastChunkId) {
+        long chunkPosition = getChunkPosition(chunkId);
+        long chunkEnd = chunkId == _numChunks - 1 ? _dataBuffer.size() : getChunkPosition(chunkId + 1);
+        _dataBuffer.prefetch(chunkPosition, chunkEnd - chunkPosition);
+        lastChunkId = chunkId;
+      }
     }
-    context.setChunkId(chunkId);
-    return decompressedBuffer;
   }
 
   /**
@@ -223,6 +274,8 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
         default:
           throw new IllegalArgumentException();
       }
+    } else if (_storedType == DataType.INT && _isSingleValue && _isCompressed && isContiguousRange(docIds, length)) {
+      readCompressedValues(docIds[0], length, values, context);
     } else {
       ForwardIndexReader.super.readValuesSV(docIds, length, values, context);
     }
@@ -265,6 +318,8 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
         default:
           throw new IllegalArgumentException();
       }
+    } else if (_storedType == DataType.LONG && _isSingleValue && _isCompressed && isContiguousRange(docIds, length)) {
+      readCompressedValues(docIds[0], length, values, context);
     } else {
       ForwardIndexReader.super.readValuesSV(docIds, length, values, context);
     }
@@ -307,6 +362,8 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
         default:
           throw new IllegalArgumentException();
       }
+    } else if (_storedType == DataType.FLOAT && _isSingleValue && _isCompressed && isContiguousRange(docIds, length)) {
+      readCompressedValues(docIds[0], length, values, context);
     } else {
       ForwardIndexReader.super.readValuesSV(docIds, length, values, context);
     }
@@ -350,6 +407,9 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
         default:
           throw new IllegalArgumentException();
       }
+    } else if (_storedType == DataType.DOUBLE && _isSingleValue && _isCompressed
+        && isContiguousRange(docIds, length)) {
+      readCompressedValues(docIds[0], length, values, context);
     } else {
       ForwardIndexReader.super.readValuesSV(docIds, length, values, context);
     }
@@ -359,6 +419,101 @@ public abstract class BaseChunkForwardIndexReader implements ForwardIndexReader<
   public void close() {
     // NOTE: DO NOT close the PinotDataBuffer here because it is tracked by the caller and might be reused later. The
     // caller is responsible of closing the PinotDataBuffer.
+    if (_chunkCache != null) {
+      _chunkCache.invalidate(_readerId);
+    }
+  }
+
+  /**
+   * Reads the INT values for a contiguous range of docs chunk by chunk. Whole chunks encoded with a numeric codec are
+   * decoded straight into the value buffer, other chunks are bulk copied from the decompressed chunk buffer.
+   */
+  private void readCompressedValues(int startDocId, int length, int[] values, ChunkReaderContext context) {
+    int endDocId = startDocId + length;
+    int docId = startDocId;
+    while (docId < endDocId) {
+      int chunkId = docId / _numDocsPerChunk;
+      int chunkRowId = docId - chunkId * _numDocsPerChunk;
+      int numValues = Math.min(endDocId - docId, _numDocsPerChunk - chunkRowId);
+      int offset = docId - startDocId;
+      if (_numericChunkDecompressor != null && numValues == _numDocsPerChunk && context.getChunkId() != chunkId) {
+        _numericChunkDecompressor.decode(getCompressedChunk(chunkId), values, offset);
+      } else {
+        IntBuffer buffer = getChunkBuffer(docId, context).asIntBuffer();
+        buffer.position(chunkRowId);
+        buffer.get(values, offset, numValues);
+      }
+      docId += numValues;
+    }
+  }
+
+  /**
+   * Reads the LONG values for a contiguous range of docs chunk by chunk. Whole chunks encoded with a numeric codec are
+   * decoded straight into the value buffer, other chunks are bulk copied from the decompressed chunk buffer.
+   */
+  private void readCompressedValues(int startDocId, int length, long[] values, ChunkReaderContext context) {
+    int endDocId = startDocId + length;
+    int docId = startDocId;
+    while (docId < endDocId) {
+      int chunkId = docId / _numDocsPerChunk;
+      int chunkRowId = docId - chunkId * _numDocsPerChunk;
+      int numValues = Math.min(endDocId - docId, _numDocsPerChunk - chunkRowId);
+      int offset = docId - startDocId;
+      if (_numericChunkDecompressor != null && numValues == _numDocsPerChunk && context.getChunkId() != chunkId) {
+        _numericChunkDecompressor.decode(getCompressedChunk(chunkId), values, offset);
+      } else {
+        LongBuffer buffer = getChunkBuffer(docId, context).asLongBuffer();
+        buffer.position(chunkRowId);
+        buffer.get(values, offset, numValues);
+      }
+      docId += numValues;
+    }
+  }
+
+  /**
+   * Reads the FLOAT values for a contiguous range of docs chunk by chunk. Whole chunks encoded with the Gorilla codec
+   * are decoded straight into the value buffer, other chunks are bulk copied from the decompressed chunk buffer.
+   */
+  private void readCompressedValues(int startDocId, int length, float[] values, ChunkReaderContext context) {
+    int endDocId = startDocId + length;
+    int docId = startDocId;
+    while (docId < endDocId) {
+      int chunkId = docId / _numDocsPerChunk;
+      int chunkRowId = docId - chunkId * _numDocsPerChunk;
+      int numValues = Math.min(endDocId - docId, _numDocsPerChunk - chunkRowId);
+      int offset = docId - startDocId;
+      if (_gorillaDecompressor != null && numValues == _numDocsPerChunk && context.getChunkId() != chunkId) {
+        _gorillaDecompressor.decode(getCompressedChunk(chunkId), values, offset);
+      } else {
+        FloatBuffer buffer = getChunkBuffer(docId, context).asFloatBuffer();
+        buffer.position(chunkRowId);
+        buffer.get(values, offset, numValues);
+      }
+      docId += numValues;
+    }
+  }
+
+  /**
+   * Reads the DOUBLE values for a contiguous range of docs chunk by chunk. Whole chunks encoded with the Gorilla codec
+   * are decoded straight into the value buffer, other chunks are bulk copied from the decompressed chunk buffer.
+   */
+  private void readCompressedValues(int startDocId, int length, double[] values, ChunkReaderContext context) {
+    int endDocId = startDocId + length;
+    int docId = startDocId;
+    while (docId < endDocId) {
+      int chunkId = docId / _numDocsPerChunk;
+      int chunkRowId = docId - chunkId * _numDocsPerChunk;
+      int numValues = Math.min(endDocId - docId, _numDocsPerChunk - chunkRowId);
+      int offset = docId - startDocId;
+      if (_gorillaDecompressor != null && numValues == _numDocsPerChunk && context.getChunkId() != chunkId) {
+        _gorillaDecompressor.decode(getCompressedChunk(chunkId), values, offset);
+      } else {
+        DoubleBuffer buffer = getChunkBuffer(docId, context).asDoubleBuffer();
+        buffer.position(chunkRowId);
+        buffer.get(values, offset, numValues);
+      }
+      docId += numValues;
+    }
   }
 
   private boolean isContiguousRange(int[] docIds, int length) {
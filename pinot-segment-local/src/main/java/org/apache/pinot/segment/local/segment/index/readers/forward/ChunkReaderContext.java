@@ -20,6 +20,7 @@ package org.apache.pinot.segment.local.segment.index.readers.forward;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
 import org.apache.pinot.segment.spi.index.reader.ForwardIndexReaderContext;
 import org.apache.pinot.segment.spi.memory.CleanerUtil;
 
@@ -30,17 +31,23 @@ import org.apache.pinot.segment.spi.memory.CleanerUtil;
  * <ul>
  *   <li>
  *     Chunk Buffer from the previous read. Useful if the subsequent read is from the same buffer, as it avoids extra
- *     chunk decompression.
+ *     chunk decompression. It is either the buffer owned by the context that chunks are decompressed into, or a
+ *     read-only view of a chunk shared through the {@link DecompressedChunkCache}.
  *   </li>
  *   <li>Id for the chunk</li>
  * </ul>
  */
 public class ChunkReaderContext implements ForwardIndexReaderContext {
-  private final ByteBuffer _chunkBuffer;
+  private final ByteBuffer _decompressionBuffer;
+  private ByteBuffer _chunkBuffer;
   private int _chunkId;
+  // Chunk shared through the decompressed chunk cache that the chunk buffer is a view of, held until the context moves
+  // to another chunk or is closed
+  private DecompressedChunkCache.CachedChunk _cachedChunk;
 
   public ChunkReaderContext(int maxChunkSize) {
-    _chunkBuffer = ByteBuffer.allocateDirect(maxChunkSize);
+    _decompressionBuffer = ByteBuffer.allocateDirect(maxChunkSize);
+    _chunkBuffer = _decompressionBuffer;
     _chunkId = -1;
   }
 
@@ -48,6 +55,28 @@ public class ChunkReaderContext implements ForwardIndexReaderContext {
     return _chunkBuffer;
   }
 
+  /**
+   * Returns the buffer owned by the context to decompress chunks into.
+   */
+  public ByteBuffer getDecompressionBuffer() {
+    return _decompressionBuffer;
+  }
+
+  public void setChunkBuffer(ByteBuffer chunkBuffer) {
+    _chunkBuffer = chunkBuffer;
+  }
+
+  /**
+   * Sets the cached chunk the chunk buffer is a view of (or {@code null} if the chunk buffer is the decompression
+   * buffer), and releases the previously held cached chunk.
+   */
+  public void setCachedChunk(@Nullable DecompressedChunkCache.CachedChunk cachedChunk) {
+    if (_cachedChunk != null) {
+      _cachedChunk.release();
+    }
+    _cachedChunk = cachedChunk;
+  }
+
   public int getChunkId() {
     return _chunkId;
   }
@@ -59,8 +88,9 @@ public class ChunkReaderContext implements ForwardIndexReaderContext {
   @Override
   public void close()
       throws IOException {
+    setCachedChunk(null);
     if (CleanerUtil.UNMAP_SUPPORTED) {
-      CleanerUtil.getCleaner().freeBuffer(_chunkBuffer);
+      CleanerUtil.getCleaner().freeBuffer(_decompressionBuffer);
     }
   }
 }
@@ -0,0 +1,280 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.readers.forward;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import org.apache.pinot.common.metrics.ServerGauge;
+import org.apache.pinot.common.metrics.ServerMetrics;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Server-wide cache of decompressed raw forward index chunks, shared across queries.
+ * <p>The reader contexts only keep the last decompressed chunk, so concurrent queries over the same hot raw columns
+ * keep decompressing the same chunks. With this cache enabled, the chunk-based forward index readers first look up the
+ * decompressed chunk here, and publish the chunks they decompress.
+ * <p>Chunks are keyed by the reader they belong to, which identifies the (segment, column) as a new reader is created
+ * every time a segment is loaded, and the id of the chunk within the forward index. Readers invalidate their chunks
+ * when closed, i.e. when the segment is unloaded or reloaded.
+ * <p>A chunk is only admitted on its second access within the recent accesses, so that large scans over cold chunks do
+ * not flush the hot chunks out of the cache.
+ * <p>Chunks are copied into direct {@link PinotDataBuffer}s, and the total size of the cached chunks is bounded with
+ * LRU eviction. Each cached chunk is reference counted: the cache holds one reference, and each reader context holds
+ * one while reading from it (see {@link #get(long, int)}). The buffer is closed once evicted and released by all the
+ * reader contexts, so that the size limit also bounds the direct memory. The buffers held by reader contexts that are
+ * never closed are only freed once garbage collected. Cached buffers must not be modified, readers get their own
+ * read-only view of them.
+ * <p>The cache is disabled unless initialized with a positive max size (see {@link #init(long, ServerMetrics)}).
+ */
+public class DecompressedChunkCache {
+  private static final Logger LOGGER = LoggerFactory.getLogger(DecompressedChunkCache.class);
+  private static final AtomicLong NEXT_READER_ID = new AtomicLong();
+  // Max number of recently accessed chunks tracked for the admission
+  private static final int MAX_NUM_ADMISSION_CANDIDATES = 100_000;
+
+  private static volatile DecompressedChunkCache _instance;
+
+  private final Cache<ChunkKey, CachedChunk> _cache;
+  private final Cache<ChunkKey, Boolean> _admissionCandidates;
+  // Ids of the cached chunks for each reader, used to invalidate the chunks of a reader without scanning the cache
+  private final Map<Long, Set<Integer>> _readerChunkIdsMap = new ConcurrentHashMap<>();
+  private final AtomicLong _sizeInBytes = new AtomicLong();
+  private final AtomicLong _numHits = new AtomicLong();
+  private final AtomicLong _numMisses = new AtomicLong();
+
+  private DecompressedChunkCache(long maxSizeInBytes) {
+    _cache = CacheBuilder.newBuilder().maximumWeight(maxSizeInBytes)
+        .weigher((ChunkKey key, CachedChunk chunk) -> chunk.getSize()).removalListener(this::onRemoval).build();
+    _admissionCandidates = CacheBuilder.newBuilder().maximumSize(MAX_NUM_ADMISSION_CANDIDATES).build();
+  }
+
+  /**
+   * Initializes the server-wide cache with the given max size, or disables it if the max size is not positive. Only
+   * the readers created after this call are affected.
+   */
+  public static void init(long maxSizeInBytes, @Nullable ServerMetrics serverMetrics) {
+    if (maxSizeInBytes <= 0) {
+      _instance = null;
+      return;
+    }
+    LOGGER.info("Initializing decompressed chunk cache with max size: {} bytes", maxSizeInBytes);
+    DecompressedChunkCache instance = new DecompressedChunkCache(maxSizeInBytes);
+    if (serverMetrics != null) {
+      serverMetrics.setOrUpdateGauge(ServerGauge.DECOMPRESSED_CHUNK_CACHE_SIZE_BYTES.getGaugeName(),
+          instance::getSizeInBytes);
+      serverMetrics.setOrUpdateGauge(ServerGauge.DECOMPRESSED_CHUNK_CACHE_HIT_RATE_PERCENT.getGaugeName(),
+          instance::getHitRatePercent);
+    }
+    _instance = instance;
+  }
+
+  /**
+   * Returns the server-wide cache, or {@code null} if it is disabled.
+   */
+  @Nullable
+  public static DecompressedChunkCache getInstance() {
+    return _instance;
+  }
+
+  /**
+   * Returns a unique id for a forward index reader, used to key its chunks.
+   */
+  public static long nextReaderId() {
+    return NEXT_READER_ID.getAndIncrement();
+  }
+
+  /**
+   * Returns the cached chunk with a reference acquired for the caller, or {@code null} if the chunk is not cached. The
+   * caller must {@link CachedChunk#release() release} the chunk once it no longer reads from it.
+   */
+  @Nullable
+  public CachedChunk get(long readerId, int chunkId) {
+    CachedChunk chunk = _cache.getIfPresent(new ChunkKey(readerId, chunkId));
+    if (chunk != null && chunk.acquire()) {
+      _numHits.incrementAndGet();
+      return chunk;
+    } else {
+      _numMisses.incrementAndGet();
+      return null;
+    }
+  }
+
+  /**
+   * Caches a copy of the remaining bytes of the given decompressed chunk, without modifying the given buffer. The chunk
+   * is only cached on its second access within the recent accesses.
+   */
+  public void put(long readerId, int chunkId, ByteBuffer chunk) {
+    ChunkKey key = new ChunkKey(readerId, chunkId);
+    if (_admissionCandidates.asMap().putIfAbsent(key, Boolean.TRUE) == null) {
+      return;
+    }
+    _admissionCandidates.invalidate(key);
+    int size = chunk.remaining();
+    PinotDataBuffer dataBuffer = PinotDataBuffer.allocateDirect(size, ByteOrder.BIG_ENDIAN, "Decompressed chunk");
+    dataBuffer.readFrom(0, chunk.duplicate());
+    _sizeInBytes.addAndGet(size);
+    _readerChunkIdsMap.compute(readerId, (k, chunkIds) -> {
+      if (chunkIds == null) {
+        chunkIds = ConcurrentHashMap.newKeySet();
+      }
+      chunkIds.add(chunkId);
+      return chunkIds;
+    });
+    _cache.put(key, new CachedChunk(dataBuffer, size));
+  }
+
+  private void onRemoval(RemovalNotification<ChunkKey, CachedChunk> notification) {
+    ChunkKey key = notification.getKey();
+    CachedChunk chunk = notification.getValue();
+    _sizeInBytes.addAndGet(-chunk.getSize());
+    // The chunk id is still tracked for the reader when the chunk is replaced with a new copy
+    if (notification.getCause() != RemovalCause.REPLACED) {
+      _readerChunkIdsMap.computeIfPresent(key._readerId, (k, chunkIds) -> {
+        chunkIds.remove(key._chunkId);
+        return chunkIds.isEmpty() ? null : chunkIds;
+      });
+    }
+    chunk.release();
+  }
+
+  /**
+   * Removes all the cached chunks of the given reader.
+   */
+  public void invalidate(long readerId) {
+    Set<Integer> chunkIds = _readerChunkIdsMap.remove(readerId);
+    if (chunkIds == null) {
+      return;
+    }
+    for (int chunkId : chunkIds) {
+      _cache.invalidate(new ChunkKey(readerId, chunkId));
+    }
+  }
+
+  public long getSizeInBytes() {
+    return _sizeInBytes.get();
+  }
+
+  public long getNumHits() {
+    return _numHits.get();
+  }
+
+  public long getNumMisses() {
+    return _numMisses.get();
+  }
+
+  public long getHitRatePercent() {
+    long numHits = _numHits.get();
+    long numLookups = numHits + _numMisses.get();
+    return numLookups > 0 ? numHits * 100 / numLookups : 0;
+  }
+
+  /**
+   * Decompressed chunk cached in a direct buffer, which is closed once the cache and all the reader contexts holding it
+   * have released it.
+   */
+  public static final class CachedChunk {
+    private final PinotDataBuffer _dataBuffer;
+    private final int _size;
+    // Starts with the reference held by the cache
+    private final AtomicInteger _refCount = new AtomicInteger(1);
+
+    private CachedChunk(PinotDataBuffer dataBuffer, int size) {
+      _dataBuffer = dataBuffer;
+      _size = size;
+    }
+
+    int getSize() {
+      return _size;
+    }
+
+    private boolean acquire() {
+      while (true) {
+        int refCount = _refCount.get();
+        if (refCount <= 0) {
+          return false;
+        }
+        if (_refCount.compareAndSet(refCount, refCount + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Returns a read-only view of the chunk positioned at the start of the chunk data. The view is big-endian, callers
+     * should set the byte order they read the chunk with. The view must not be accessed after releasing the chunk.
+     */
+    public ByteBuffer getBuffer() {
+      return _dataBuffer.toDirectByteBuffer(0, _size).asReadOnlyBuffer();
+    }
+
+    /**
+     * Releases a reference to the chunk.
+     */
+    public void release() {
+      if (_refCount.decrementAndGet() == 0) {
+        try {
+          _dataBuffer.close();
+        } catch (IOException e) {
+          LOGGER.warn("Caught exception while closing decompressed chunk buffer", e);
+        }
+      }
+    }
+  }
+
+  private static final class ChunkKey {
+    final long _readerId;
+    final int _chunkId;
+
+    ChunkKey(long readerId, int chunkId) {
+      _readerId = readerId;
+      _chunkId = chunkId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ChunkKey)) {
+        return false;
+      }
+      ChunkKey that = (ChunkKey) o;
+      return _readerId == that._readerId && _chunkId == that._chunkId;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Long.hashCode(_readerId) + _chunkId;
+    }
+  }
+}
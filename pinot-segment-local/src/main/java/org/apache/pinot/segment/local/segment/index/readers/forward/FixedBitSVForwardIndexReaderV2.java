@@ -30,10 +30,14 @@ import org.apache.pinot.spi.data.FieldSpec.DataType;
  * ids.
  */
 public final class FixedBitSVForwardIndexReaderV2 implements ForwardIndexReader<ForwardIndexReaderContext> {
+  private final PinotDataBuffer _dataBuffer;
+  private final int _numBitsPerValue;
   private final FixedBitIntReader _reader;
   private final int _numDocs;
 
   public FixedBitSVForwardIndexReaderV2(PinotDataBuffer dataBuffer, int numDocs, int numBitsPerValue) {
+    _dataBuffer = dataBuffer;
+    _numBitsPerValue = numBitsPerValue;
     _reader = FixedBitIntReader.getReader(dataBuffer, numBitsPerValue);
     _numDocs = numDocs;
   }
@@ -53,6 +57,19 @@ public final class FixedBitSVForwardIndexReaderV2 implements ForwardIndexReader<
     return DataType.INT;
   }
 
+  @Override
+  public void prefetch(int[] docIds, int length) {
+    long lastPage = -1;
+    for (int i = 0; i < length; i++) {
+      long offset = ((long) docIds[i] * _numBitsPerValue) >>> 3;
+      long page = offset / PinotDataBuffer.PAGE_SIZE_BYTES;
+      if (page != lastPage) {
+        _dataBuffer.getByte(offset);
+        lastPage = page;
+      }
+    }
+  }
+
   @Override
   public int getDictId(int docId, ForwardIndexReaderContext context) {
     return _reader.read(docId);
@@ -25,6 +25,7 @@ import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import javax.annotation.Nullable;
 import org.apache.pinot.segment.local.io.compression.ChunkCompressorFactory;
+import org.apache.pinot.segment.local.io.compression.FsstSymbolTable;
 import org.apache.pinot.segment.local.io.writer.impl.VarByteChunkSVForwardIndexWriterV4;
 import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
 import org.apache.pinot.segment.spi.compression.ChunkDecompressor;
@@ -49,9 +50,14 @@ public class VarByteChunkSVForwardIndexReaderV4
   private final int _targetDecompressedChunkSize;
   private final ChunkDecompressor _chunkDecompressor;
   private final ChunkCompressionType _chunkCompressionType;
+  // Only set for FSST, where the values are encoded one by one within uncompressed chunks
+  private final FsstSymbolTable _symbolTable;
 
   private final PinotDataBuffer _metadata;
   private final PinotDataBuffer _chunks;
+  // Non-null when the server-wide decompressed chunk cache is enabled and the chunks are compressed
+  private final DecompressedChunkCache _chunkCache;
+  private final long _readerId;
 
   public VarByteChunkSVForwardIndexReaderV4(PinotDataBuffer dataBuffer, FieldSpec.DataType storedType) {
     if (dataBuffer.getInt(0) < VarByteChunkSVForwardIndexWriterV4.VERSION) {
@@ -61,11 +67,24 @@ public class VarByteChunkSVForwardIndexReaderV4
     _storedType = storedType;
     _targetDecompressedChunkSize = dataBuffer.getInt(4);
     _chunkCompressionType = ChunkCompressionType.valueOf(dataBuffer.getInt(8));
-    _chunkDecompressor = ChunkCompressorFactory.getDecompressor(_chunkCompressionType);
     int chunksOffset = dataBuffer.getInt(12);
+    int metadataOffset = 16;
+    if (_chunkCompressionType == ChunkCompressionType.FSST) {
+      int symbolTableSize = dataBuffer.getInt(metadataOffset);
+      metadataOffset += Integer.BYTES;
+      _symbolTable = FsstSymbolTable.deserialize(dataBuffer.toDirectByteBuffer(metadataOffset, symbolTableSize));
+      metadataOffset += symbolTableSize;
+      _chunkDecompressor = ChunkCompressorFactory.getDecompressor(ChunkCompressionType.PASS_THROUGH);
+    } else {
+      _symbolTable = null;
+      _chunkDecompressor = ChunkCompressorFactory.getDecompressor(_chunkCompressionType);
+    }
     // the file has a BE header for compatability reasons (version selection) but the content is LE
-    _metadata = dataBuffer.view(16, chunksOffset, ByteOrder.LITTLE_ENDIAN);
+    _metadata = dataBuffer.view(metadataOffset, chunksOffset, ByteOrder.LITTLE_ENDIAN);
     _chunks = dataBuffer.view(chunksOffset, dataBuffer.size(), ByteOrder.LITTLE_ENDIAN);
+    _chunkCache = _chunkCompressionType == ChunkCompressionType.PASS_THROUGH || _symbolTable != null ? null
+        : DecompressedChunkCache.getInstance();
+    _readerId = DecompressedChunkCache.nextReaderId();
   }
 
   @Override
@@ -85,31 +104,39 @@ public class VarByteChunkSVForwardIndexReaderV4
 
   @Override
   public BigDecimal getBigDecimal(int docId, ReaderContext context) {
-    return BigDecimalUtils.deserialize(context.getValue(docId));
+    return BigDecimalUtils.deserialize(getValue(docId, context));
   }
 
   @Override
   public String getString(int docId, ReaderContext context) {
-    return new String(context.getValue(docId), StandardCharsets.UTF_8);
+    return new String(getValue(docId, context), StandardCharsets.UTF_8);
   }
 
   @Override
   public byte[] getBytes(int docId, ReaderContext context) {
-    return context.getValue(docId);
+    return getValue(docId, context);
+  }
+
+  private byte[] getValue(int docId, ReaderContext context) {
+    byte[] value = context.getValue(docId);
+    return _symbolTable != null ? _symbolTable.decode(value) : value;
   }
 
   @Nullable
   @Override
   public ReaderContext createContext() {
-    return _chunkCompressionType == ChunkCompressionType.PASS_THROUGH
+    return _chunkCompressionType == ChunkCompressionType.PASS_THROUGH || _symbolTable != null
         ? new UncompressedReaderContext(_chunks, _metadata)
         : new CompressedReaderContext(_metadata, _chunks, _chunkDecompressor, _chunkCompressionType,
-            _targetDecompressedChunkSize);
+            _targetDecompressedChunkSize, _chunkCache, _readerId);
   }
 
   @Override
   public void close()
       throws IOException {
+    if (_chunkCache != null) {
+      _chunkCache.invalidate(_readerId);
+    }
   }
 
   public static abstract class ReaderContext implements ForwardIndexReaderContext {
@@ -120,6 +147,7 @@ public class VarByteChunkSVForwardIndexReaderV4
     protected int _nextDocIdOffset;
     protected boolean _regularChunk;
     protected int _numDocsInCurrentChunk;
+    protected int _chunkId;
 
     protected ReaderContext(PinotDataBuffer metadata, PinotDataBuffer chunks) {
       _chunks = chunks;
@@ -165,6 +193,7 @@ public class VarByteChunkSVForwardIndexReaderV4
     private byte[] decompressAndRead(int docId)
         throws IOException {
       long metadataEntry = chunkIndexFor(docId);
+      _chunkId = (int) (metadataEntry / METADATA_ENTRY_SIZE);
       int info = _metadata.getInt(metadataEntry);
       _docIdOffset = info & 0x7FFFFFFF;
       _regularChunk = _docIdOffset == info;
@@ -227,25 +256,49 @@ public class VarByteChunkSVForwardIndexReaderV4
 
   private static final class CompressedReaderContext extends ReaderContext {
 
-    private final ByteBuffer _decompressedBuffer;
+    private final ByteBuffer _decompressionBuffer;
     private final ChunkDecompressor _chunkDecompressor;
     private final ChunkCompressionType _chunkCompressionType;
+    private final DecompressedChunkCache _chunkCache;
+    private final long _readerId;
+    // Either the decompression buffer or a read-only view of a chunk shared through the decompressed chunk cache
+    private ByteBuffer _decompressedBuffer;
+    // Cached chunk the decompressed buffer is a view of, held until the context moves to another chunk or is closed
+    private DecompressedChunkCache.CachedChunk _cachedChunk;
 
     CompressedReaderContext(PinotDataBuffer metadata, PinotDataBuffer chunks, ChunkDecompressor chunkDecompressor,
-        ChunkCompressionType chunkCompressionType, int targetChunkSize) {
+        ChunkCompressionType chunkCompressionType, int targetChunkSize, @Nullable DecompressedChunkCache chunkCache,
+        long readerId) {
       super(metadata, chunks);
       _chunkDecompressor = chunkDecompressor;
       _chunkCompressionType = chunkCompressionType;
-      _decompressedBuffer = ByteBuffer.allocateDirect(targetChunkSize).order(ByteOrder.LITTLE_ENDIAN);
+      _chunkCache = chunkCache;
+      _readerId = readerId;
+      _decompressionBuffer = ByteBuffer.allocateDirect(targetChunkSize).order(ByteOrder.LITTLE_ENDIAN);
+      _decompressedBuffer = _decompressionBuffer;
     }
 
     @Override
     protected byte[] processChunkAndReadFirstValue(int docId, long offset, long limit)
         throws IOException {
+      releaseCachedChunk();
+      if (_regularChunk && _chunkCache != null) {
+        DecompressedChunkCache.CachedChunk cachedChunk = _chunkCache.get(_readerId, _chunkId);
+        if (cachedChunk != null) {
+          _cachedChunk = cachedChunk;
+          _decompressedBuffer = cachedChunk.getBuffer().order(ByteOrder.LITTLE_ENDIAN);
+          _numDocsInCurrentChunk = _decompressedBuffer.getInt(0);
+          return readSmallUncompressedValue(docId);
+        }
+      }
+      _decompressedBuffer = _decompressionBuffer;
       _decompressedBuffer.clear();
       ByteBuffer compressed = _chunks.toDirectByteBuffer(offset, (int) (limit - offset));
       if (_regularChunk) {
         _chunkDecompressor.decompress(compressed, _decompressedBuffer);
+        if (_chunkCache != null) {
+          _chunkCache.put(_readerId, _chunkId, _decompressedBuffer);
+        }
         _numDocsInCurrentChunk = _decompressedBuffer.getInt(0);
         return readSmallUncompressedValue(docId);
       }
@@ -294,10 +347,18 @@ public class VarByteChunkSVForwardIndexReaderV4
       }
     }
 
+    private void releaseCachedChunk() {
+      if (_cachedChunk != null) {
+        _cachedChunk.release();
+        _cachedChunk = null;
+      }
+    }
+
     @Override
     public void close()
         throws IOException {
-      CleanerUtil.cleanQuietly(_decompressedBuffer);
+      releaseCachedChunk();
+      CleanerUtil.cleanQuietly(_decompressionBuffer);
     }
   }
 }
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.skiplist;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapSkipListInvertedIndexCreator;
+import org.apache.pinot.segment.local.segment.index.loader.skiplist.SkipListIndexHandler;
+import org.apache.pinot.segment.local.segment.index.readers.SkipListInvertedIndexReader;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.IndexCreationContext;
+import org.apache.pinot.segment.spi.index.AbstractIndexType;
+import org.apache.pinot.segment.spi.index.ColumnConfigDeserializer;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.IndexConfigDeserializer;
+import org.apache.pinot.segment.spi.index.IndexHandler;
+import org.apache.pinot.segment.spi.index.IndexReaderFactory;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.DictionaryBasedInvertedIndexCreator;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.data.Schema;
+
+
+/**
+ * Skip-list inverted index, which stores the posting list of each dictionary id as blocks of doc ids with a skip table
+ * of the block max doc ids. EQ and IN predicates on the column are evaluated as posting list iterators that the AND
+ * iterator intersects lazily, instead of materializing and intersecting the bitmaps of the bitmap inverted index. It
+ * can only be configured through {@code fieldConfigList[].indexes.skipList}, on dictionary-encoded columns.
+ */
+public class SkipListIndexType
+    extends AbstractIndexType<IndexConfig, SkipListIndexReader, DictionaryBasedInvertedIndexCreator> {
+  public static final String INDEX_DISPLAY_NAME = "skipList";
+
+  protected SkipListIndexType() {
+    super(StandardIndexes.SKIP_LIST_ID);
+  }
+
+  @Override
+  public Class<IndexConfig> getIndexConfigClass() {
+    return IndexConfig.class;
+  }
+
+  @Override
+  public IndexConfig getDefaultConfig() {
+    return IndexConfig.DISABLED;
+  }
+
+  @Override
+  public String getPrettyName() {
+    return INDEX_DISPLAY_NAME;
+  }
+
+  @Override
+  public ColumnConfigDeserializer<IndexConfig> createDeserializer() {
+    return IndexConfigDeserializer.fromIndexes(getPrettyName(), getIndexConfigClass());
+  }
+
+  @Override
+  public DictionaryBasedInvertedIndexCreator createIndexCreator(IndexCreationContext context,
+      IndexConfig indexConfig) {
+    String columnName = context.getFieldSpec().getName();
+    Preconditions.checkState(context.hasDictionary(),
+        "Skip-list inverted index is only supported on dictionary-encoded columns, got column: %s", columnName);
+    return new OnHeapSkipListInvertedIndexCreator(context.getIndexDir(), columnName, context.getCardinality());
+  }
+
+  @Override
+  protected IndexReaderFactory<SkipListIndexReader> createReaderFactory() {
+    return ReaderFactory.INSTANCE;
+  }
+
+  @Override
+  public IndexHandler createIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> configsByCol,
+      @Nullable Schema schema, @Nullable TableConfig tableConfig) {
+    return new SkipListIndexHandler(segmentDirectory, configsByCol, tableConfig);
+  }
+
+  @Override
+  public String getFileExtension(ColumnMetadata columnMetadata) {
+    return V1Constants.Indexes.SKIP_LIST_INDEX_FILE_EXTENSION;
+  }
+
+  @Override
+  public void convertToNewFormat(TableConfig tableConfig, Schema schema) {
+    // Skip-list inverted index only exists in the new format
+  }
+
+  private static class ReaderFactory implements IndexReaderFactory<SkipListIndexReader> {
+    public static final ReaderFactory INSTANCE = new ReaderFactory();
+
+    private ReaderFactory() {
+    }
+
+    @Nullable
+    @Override
+    public SkipListIndexReader createIndexReader(SegmentDirectory.Reader segmentReader,
+        FieldIndexConfigs fieldIndexConfigs, ColumnMetadata metadata)
+        throws IOException {
+      if (fieldIndexConfigs == null || !fieldIndexConfigs.getConfig(StandardIndexes.skipList()).isEnabled()) {
+        return null;
+      }
+      // The filter falls back to the other indexes when the skip-list inverted index is not available for the column
+      if (!segmentReader.hasIndexFor(metadata.getColumnName(), StandardIndexes.skipList())) {
+        return null;
+      }
+      PinotDataBuffer buffer = segmentReader.getIndexFor(metadata.getColumnName(), StandardIndexes.skipList());
+      return new SkipListInvertedIndexReader(buffer);
+    }
+  }
+}
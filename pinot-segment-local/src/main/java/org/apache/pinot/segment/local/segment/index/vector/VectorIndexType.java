@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.vector;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.local.segment.creator.impl.vector.OnHeapHnswVectorIndexCreator;
+import org.apache.pinot.segment.local.segment.index.loader.vector.VectorIndexHandler;
+import org.apache.pinot.segment.local.segment.index.readers.HnswVectorIndexReader;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.IndexCreationContext;
+import org.apache.pinot.segment.spi.index.AbstractIndexType;
+import org.apache.pinot.segment.spi.index.ColumnConfigDeserializer;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.IndexConfigDeserializer;
+import org.apache.pinot.segment.spi.index.IndexHandler;
+import org.apache.pinot.segment.spi.index.IndexReaderFactory;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexCreator;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+
+
+/**
+ * Approximate nearest neighbor index over the vectors stored in a FLOAT multi-value column, backed by a HNSW graph.
+ * It serves the {@code VECTOR_SIMILARITY} predicate, and can only be configured through
+ * {@code fieldConfigList[].indexes.vector}.
+ */
+public class VectorIndexType extends AbstractIndexType<VectorIndexConfig, VectorIndexReader, VectorIndexCreator> {
+  public static final String INDEX_DISPLAY_NAME = "vector";
+
+  protected VectorIndexType() {
+    super(StandardIndexes.VECTOR_ID);
+  }
+
+  @Override
+  public Class<VectorIndexConfig> getIndexConfigClass() {
+    return VectorIndexConfig.class;
+  }
+
+  @Override
+  public VectorIndexConfig getDefaultConfig() {
+    return VectorIndexConfig.DISABLED;
+  }
+
+  @Override
+  public String getPrettyName() {
+    return INDEX_DISPLAY_NAME;
+  }
+
+  @Override
+  public ColumnConfigDeserializer<VectorIndexConfig> createDeserializer() {
+    return IndexConfigDeserializer.fromIndexes(getPrettyName(), getIndexConfigClass());
+  }
+
+  /**
+   * Returns whether the vector index can be created for a column with the given field spec.
+   */
+  public static boolean isSupported(FieldSpec fieldSpec) {
+    return !fieldSpec.isSingleValueField() && fieldSpec.getDataType().getStoredType() == DataType.FLOAT;
+  }
+
+  @Override
+  public VectorIndexCreator createIndexCreator(IndexCreationContext context, VectorIndexConfig indexConfig) {
+    FieldSpec fieldSpec = context.getFieldSpec();
+    Preconditions.checkState(isSupported(fieldSpec),
+        "Vector index is only supported on multi-value FLOAT columns, got column: %s", fieldSpec.getName());
+    return new OnHeapHnswVectorIndexCreator(context.getIndexDir(), fieldSpec.getName(), indexConfig);
+  }
+
+  @Override
+  protected IndexReaderFactory<VectorIndexReader> createReaderFactory() {
+    return ReaderFactory.INSTANCE;
+  }
+
+  @Override
+  public IndexHandler createIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> configsByCol,
+      @Nullable Schema schema, @Nullable TableConfig tableConfig) {
+    return new VectorIndexHandler(segmentDirectory, configsByCol, tableConfig);
+  }
+
+  @Override
+  public String getFileExtension(ColumnMetadata columnMetadata) {
+    return V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION;
+  }
+
+  @Override
+  public void convertToNewFormat(TableConfig tableConfig, Schema schema) {
+    // Vector index only exists in the new format
+  }
+
+  private static class ReaderFactory implements IndexReaderFactory<VectorIndexReader> {
+    public static final ReaderFactory INSTANCE = new ReaderFactory();
+
+    private ReaderFactory() {
+    }
+
+    @Nullable
+    @Override
+    public VectorIndexReader createIndexReader(SegmentDirectory.Reader segmentReader,
+        FieldIndexConfigs fieldIndexConfigs, ColumnMetadata metadata)
+        throws IOException {
+      if (fieldIndexConfigs == null) {
+        return null;
+      }
+      VectorIndexConfig config = fieldIndexConfigs.getConfig(StandardIndexes.vector());
+      if (!config.isEnabled() || !segmentReader.hasIndexFor(metadata.getColumnName(), StandardIndexes.vector())) {
+        return null;
+      }
+      PinotDataBuffer buffer = segmentReader.getIndexFor(metadata.getColumnName(), StandardIndexes.vector());
+      // The search breadth is read from the current config so that it can be tuned without rebuilding the index
+      return new HnswVectorIndexReader(buffer, config.getEfSearch());
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.pinot.segment.local.segment.index.zonemap;
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.local.segment.creator.impl.zonemap.OnHeapZoneMapIndexCreator;
+import org.apache.pinot.segment.local.segment.index.loader.zonemap.ZoneMapIndexHandler;
+import org.apache.pinot.segment.local.segment.index.readers.ZoneMapIndexReaderImpl;
+import org.apache.pinot.segment.spi.ColumnMetadata;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.creator.IndexCreationContext;
+import org.apache.pinot.segment.spi.index.AbstractIndexType;
+import org.apache.pinot.segment.spi.index.ColumnConfigDeserializer;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
+import org.apache.pinot.segment.spi.index.IndexConfigDeserializer;
+import org.apache.pinot.segment.spi.index.IndexHandler;
+import org.apache.pinot.segment.spi.index.IndexReaderFactory;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.ZoneMapIndexCreator;
+import org.apache.pinot.segment.spi.index.reader.ZoneMapIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.segment.spi.store.SegmentDirectory;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.apache.pinot.spi.config.table.TableConfig;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.apache.pinot.spi.data.Schema;
+
+
+/**
+ * Zone map index, which stores the min/max value per chunk of a single-value numeric raw column so that the scan based
+ * filter can skip the chunks that cannot match the predicate. It can only be configured through
+ * {@code fieldConfigList[].indexes.zoneMap}.
+ */
+public class ZoneMapIndexType extends AbstractIndexType<IndexConfig, ZoneMapIndexReader, ZoneMapIndexCreator> {
+  public static final String INDEX_DISPLAY_NAME = "zoneMap";
+
+  protected ZoneMapIndexType() {
+    super(StandardIndexes.ZONE_MAP_ID);
+  }
+
+  @Override
+  public Class<IndexConfig> getIndexConfigClass() {
+    return IndexConfig.class;
+  }
+
+  @Override
+  public IndexConfig getDefaultConfig() {
+    return IndexConfig.DISABLED;
+  }
+
+  @Override
+  public String getPrettyName() {
+    return INDEX_DISPLAY_NAME;
+  }
+
+  @Override
+  public ColumnConfigDeserializer<IndexConfig> createDeserializer() {
+    return IndexConfigDeserializer.fromIndexes(getPrettyName(), getIndexConfigClass());
+  }
+
+  /**
+   * Returns whether the zone map index can be created for a column with the given field spec and encoding.
+   */
+  public static boolean isSupported(FieldSpec fieldSpec, boolean hasDictionary) {
+    if (hasDictionary || !fieldSpec.isSingleValueField()) {
+      return false;
+    }
+    DataType storedType = fieldSpec.getDataType().getStoredType();
+    return storedType == DataType.INT || storedType == DataType.LONG || storedType == DataType.FLOAT
+        || storedType == DataType.DOUBLE;
+  }
+
+  @Override
+  public ZoneMapIndexCreator createIndexCreator(IndexCreationContext context, IndexConfig indexConfig) {
+    FieldSpec fieldSpec = context.getFieldSpec();
+    Preconditions.checkState(isSupported(fieldSpec, context.hasDictionary()),
+        "Zone map index is only supported on single-value numeric raw columns, got column: %s", fieldSpec.getName());
+    return new OnHeapZoneMapIndexCreator(context.getIndexDir(), fieldSpec.getName(),
+        fieldSpec.getDataType().getStoredType());
+  }
+
+  @Override
+  protected IndexReaderFactory<ZoneMapIndexReader> createReaderFactory() {
+    return ReaderFactory.INSTANCE;
+  }
+
+  @Override
+  public IndexHandler createIndexHandler(SegmentDirectory segmentDirectory, Map<String, FieldIndexConfigs> configsByCol,
+      @Nullable Schema schema, @Nullable TableConfig tableConfig) {
+    return new ZoneMapIndexHandler(segmentDirectory, configsByCol, tableConfig);
+  }
+
+  @Override
+  public String getFileExtension(ColumnMetadata columnMetadata) {
+    return V1Constants.Indexes.ZONE_MAP_INDEX_FILE_EXTENSION;
+  }
+
+  @Override
+  public void convertToNewFormat(TableConfig tableConfig, Schema schema) {
+    // Zone map index only exists in the new format
+  }
+
+  private static class ReaderFactory implements IndexReaderFactory<ZoneMapIndexReader> {
+    public static final ReaderFactory INSTANCE = new ReaderFactory();
+
+    private ReaderFactory() {
+    }
+
+    @Nullable
+    @Override
+    public ZoneMapIndexReader createIndexReader(SegmentDirectory.Reader segmentReader,
+        FieldIndexConfigs fieldIndexConfigs, ColumnMetadata metadata)
+        throws IOException {
+      if (fieldIndexConfigs == null || !fieldIndexConfigs.getConfig(StandardIndexes.zoneMap()).isEnabled()) {
+        return null;
+      }
+      // The zone map is an optional accelerator, so do not fail when it is not (yet) available for the column
+      if (!segmentReader.hasIndexFor(metadata.getColumnName(), StandardIndexes.zoneMap())) {
+        return null;
+      }
+      PinotDataBuffer buffer = segmentReader.getIndexFor(metadata.getColumnName(), StandardIndexes.zoneMap());
+      return new ZoneMapIndexReaderImpl(buffer, metadata.getDataType().getStoredType());
+    }
+  }
+}
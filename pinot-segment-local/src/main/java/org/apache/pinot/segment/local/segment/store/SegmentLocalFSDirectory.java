@@ -25,6 +25,8 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
@@ -38,6 +40,7 @@ import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
 import org.apache.pinot.segment.spi.store.ColumnIndexDirectory;
 import org.apache.pinot.segment.spi.store.SegmentDirectory;
 import org.apache.pinot.segment.spi.store.SegmentDirectoryPaths;
+import org.apache.pinot.spi.utils.BufferAdvice;
 import org.apache.pinot.spi.utils.CommonConstants;
 import org.apache.pinot.spi.utils.ReadMode;
 import org.slf4j.Logger;
@@ -57,11 +60,16 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
   private static final long MAX_MMAP_PREFETCH_PAGES = 100 * 1024 * 1024 * 1024L / PAGE_SIZE_BYTES;
   private static final double PREFETCH_SLOWDOWN_PCT = 0.67;
   private static final AtomicLong PREFETCHED_PAGES = new AtomicLong(0);
+  private static final AtomicLong PINNED_BUFFER_USAGE = new AtomicLong(0);
 
   private final File _indexDir;
   private final File _segmentDirectory;
   private final SegmentLock _segmentLock;
   private final ReadMode _readMode;
+  // Keyed by index type id, indexes without advice are prefetched (WILLNEED)
+  private final Map<String, BufferAdvice> _bufferAdvice;
+  // Copies of the PIN indexes in direct memory, keyed by column and index type id
+  private final Map<String, PinotDataBuffer> _pinnedBuffers = new HashMap<>();
   private SegmentMetadataImpl _segmentMetadata;
   private ColumnIndexDirectory _columnIndexDirectory;
   private StarTreeIndexReader _starTreeIndexReader;
@@ -74,6 +82,7 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
     _segmentDirectory = null;
     _segmentLock = new SegmentLock();
     _readMode = null;
+    _bufferAdvice = Collections.emptyMap();
   }
 
   public SegmentLocalFSDirectory(File directory, ReadMode readMode)
@@ -81,8 +90,19 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
     this(directory, new SegmentMetadataImpl(directory), readMode);
   }
 
+  public SegmentLocalFSDirectory(File directory, ReadMode readMode, @Nullable Map<String, BufferAdvice> bufferAdvice)
+      throws IOException {
+    this(directory, new SegmentMetadataImpl(directory), readMode, bufferAdvice);
+  }
+
   @VisibleForTesting
   public SegmentLocalFSDirectory(File directoryFile, SegmentMetadataImpl metadata, ReadMode readMode) {
+    this(directoryFile, metadata, readMode, null);
+  }
+
+  @VisibleForTesting
+  public SegmentLocalFSDirectory(File directoryFile, SegmentMetadataImpl metadata, ReadMode readMode,
+      @Nullable Map<String, BufferAdvice> bufferAdvice) {
 
     Preconditions.checkNotNull(directoryFile);
     Preconditions.checkNotNull(metadata);
@@ -94,6 +114,7 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
     _segmentLock = new SegmentLock();
     _segmentMetadata = metadata;
     _readMode = readMode;
+    _bufferAdvice = bufferAdvice != null ? bufferAdvice : Collections.emptyMap();
     try {
       load();
     } catch (IOException | ConfigurationException e) {
@@ -286,21 +307,65 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
         _starTreeIndexReader.close();
         _starTreeIndexReader = null;
       }
+      releasePinnedBuffers();
     }
   }
 
-  private PinotDataBuffer getIndexForColumn(String column, IndexType<?, ?, ?> type)
+  /**
+   * Returns the total size of the index buffers pinned in direct memory across all the segments.
+   */
+  public static long getPinnedBufferUsage() {
+    return PINNED_BUFFER_USAGE.get();
+  }
+
+  private PinotDataBuffer getIndexForColumn(String column, IndexType<?, ?, ?> type, boolean allowPinning)
       throws IOException {
     PinotDataBuffer buffer;
 
     buffer = _columnIndexDirectory.getBuffer(column, type);
 
     if (_readMode == ReadMode.mmap) {
-      prefetchMmapData(buffer);
+      switch (_bufferAdvice.getOrDefault(type.getId(), BufferAdvice.WILLNEED)) {
+        case PIN:
+          if (allowPinning) {
+            return getPinnedBuffer(column, type, buffer);
+          }
+          prefetchMmapData(buffer);
+          break;
+        case WILLNEED:
+          prefetchMmapData(buffer);
+          break;
+        default:
+          break;
+      }
     }
     return buffer;
   }
 
+  /**
+   * Returns a copy of the given memory-mapped buffer in direct memory, which cannot be evicted from the page cache.
+   * The copy is shared by all the readers of the segment directory, and released when it is closed.
+   */
+  private synchronized PinotDataBuffer getPinnedBuffer(String column, IndexType<?, ?, ?> type,
+      PinotDataBuffer buffer) {
+    return _pinnedBuffers.computeIfAbsent(column + "." + type.getId(), key -> {
+      PinotDataBuffer pinnedBuffer =
+          PinotDataBuffer.allocateDirect(buffer.size(), buffer.order(), _segmentDirectory + ".pinned." + key);
+      buffer.copyTo(0, pinnedBuffer, 0, buffer.size());
+      PINNED_BUFFER_USAGE.addAndGet(pinnedBuffer.size());
+      return pinnedBuffer;
+    });
+  }
+
+  private synchronized void releasePinnedBuffers()
+      throws IOException {
+    for (PinotDataBuffer pinnedBuffer : _pinnedBuffers.values()) {
+      PINNED_BUFFER_USAGE.addAndGet(-pinnedBuffer.size());
+      pinnedBuffer.close();
+    }
+    _pinnedBuffers.clear();
+  }
+
   private void prefetchMmapData(PinotDataBuffer buffer) {
     // mmap mode causes high number of major page faults after server restart.
     // This impacts latency especially for prod "online" use cases that require low latency.
@@ -348,7 +413,7 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
     @Override
     public PinotDataBuffer getIndexFor(String column, IndexType<?, ?, ?> type)
         throws IOException {
-      return getIndexForColumn(column, type);
+      return getIndexForColumn(column, type, true);
     }
 
     @Override
@@ -446,12 +511,14 @@ public class SegmentLocalFSDirectory extends SegmentDirectory {
         _starTreeIndexReader.close();
         _starTreeIndexReader = null;
       }
+      releasePinnedBuffers();
     }
 
     @Override
     public PinotDataBuffer getIndexFor(String column, IndexType<?, ?, ?> type)
         throws IOException {
-      return getIndexForColumn(column, type);
+      // Indexes are not pinned while the segment is being processed, as they might get rewritten
+      return getIndexForColumn(column, type, false);
     }
 
     @Override
@@ -18,10 +18,8 @@
  */
 package org.apache.pinot.segment.local.startree;
 
-import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import org.apache.pinot.segment.spi.index.reader.Dictionary;
@@ -41,6 +39,7 @@ public class OffHeapStarTree implements StarTree {
 
   private final OffHeapStarTreeNode _root;
   private final List<String> _dimensionNames;
+  private final int _numNodes;
 
   public OffHeapStarTree(PinotDataBuffer dataBuffer) {
     long offset = 0L;
@@ -72,11 +71,11 @@ public class OffHeapStarTree implements StarTree {
     }
     _dimensionNames = Arrays.asList(dimensionNames);
 
-    int numNodes = dataBuffer.getInt(offset);
+    _numNodes = dataBuffer.getInt(offset);
     offset += Integer.BYTES;
     Preconditions.checkState(offset == rootNodeOffset, "Error loading star-tree, header length mis-match");
     long bufferSize = dataBuffer.size();
-    Preconditions.checkState(offset + numNodes * OffHeapStarTreeNode.SERIALIZABLE_SIZE_IN_BYTES == bufferSize,
+    Preconditions.checkState(offset + _numNodes * OffHeapStarTreeNode.SERIALIZABLE_SIZE_IN_BYTES == bufferSize,
         "Error loading star-tree, buffer size mis-match");
 
     _root = new OffHeapStarTreeNode(dataBuffer.view(rootNodeOffset, bufferSize), 0);
@@ -93,48 +92,12 @@ public class OffHeapStarTree implements StarTree {
   }
 
   @Override
-  public void printTree(Map<String, Dictionary> dictionaryMap) {
-    printTreeHelper(dictionaryMap, _root, 0);
+  public int getNumNodes() {
+    return _numNodes;
   }
 
-  /**
-   * Helper method to print the tree.
-   */
-  private void printTreeHelper(Map<String, Dictionary> dictionaryMap, OffHeapStarTreeNode node, int level) {
-    StringBuilder stringBuilder = new StringBuilder();
-    for (int i = 0; i < level; i++) {
-      stringBuilder.append("  ");
-    }
-    String dimensionName = "ALL";
-    int dimensionId = node.getDimensionId();
-    if (dimensionId != StarTreeNode.ALL) {
-      dimensionName = _dimensionNames.get(dimensionId);
-    }
-    String dimensionValueString = "ALL";
-    int dimensionValue = node.getDimensionValue();
-    if (dimensionValue != StarTreeNode.ALL) {
-      dimensionValueString = dictionaryMap.get(dimensionName).get(dimensionValue).toString();
-    }
-
-    // For leaf node, child dimension id is -1
-    String childDimensionName = "null";
-    int childDimensionId = node.getChildDimensionId();
-    if (childDimensionId != -1) {
-      childDimensionName = _dimensionNames.get(childDimensionId);
-    }
-
-    String formattedOutput = MoreObjects.toStringHelper(node).add("level", level).add("dimensionName", dimensionName)
-        .add("dimensionValue", dimensionValueString).add("childDimensionName", childDimensionName)
-        .add("startDocId", node.getStartDocId()).add("endDocId", node.getEndDocId())
-        .add("aggregatedDocId", node.getAggregatedDocId()).add("numChildren", node.getNumChildren()).toString();
-    stringBuilder.append(formattedOutput);
-    System.out.println(stringBuilder.toString());
-
-    if (!node.isLeaf()) {
-      Iterator<OffHeapStarTreeNode> childrenIterator = node.getChildrenIterator();
-      while (childrenIterator.hasNext()) {
-        printTreeHelper(dictionaryMap, childrenIterator.next(), level + 1);
-      }
-    }
+  @Override
+  public void printTree(Map<String, Dictionary> dictionaryMap) {
+    StarTreeBuilderUtils.printTree(this, dictionaryMap);
   }
 }
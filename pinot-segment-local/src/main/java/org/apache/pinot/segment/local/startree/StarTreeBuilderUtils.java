@@ -18,10 +18,12 @@
  */
 package org.apache.pinot.segment.local.startree;
 
+import com.google.common.base.MoreObjects;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,9 @@ import org.apache.commons.configuration.PropertiesConfiguration;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.segment.local.startree.v2.builder.StarTreeV2BuilderConfig;
 import org.apache.pinot.segment.spi.SegmentMetadata;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.startree.StarTree;
+import org.apache.pinot.segment.spi.index.startree.StarTreeNode;
 import org.apache.pinot.segment.spi.index.startree.StarTreeV2Constants;
 import org.apache.pinot.segment.spi.index.startree.StarTreeV2Metadata;
 import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
@@ -224,6 +229,55 @@ public class StarTreeBuilderUtils {
     return offset;
   }
 
+  /**
+   * Prints the given star-tree by traversing it in DFS order from the root node.
+   */
+  public static void printTree(StarTree starTree, Map<String, Dictionary> dictionaryMap) {
+    printTreeHelper(starTree.getDimensionNames(), dictionaryMap, starTree.getRoot(), 0);
+  }
+
+  /**
+   * Helper method to print the tree.
+   */
+  private static void printTreeHelper(List<String> dimensionNames, Map<String, Dictionary> dictionaryMap,
+      StarTreeNode node, int level) {
+    StringBuilder stringBuilder = new StringBuilder();
+    for (int i = 0; i < level; i++) {
+      stringBuilder.append("  ");
+    }
+    String dimensionName = "ALL";
+    int dimensionId = node.getDimensionId();
+    if (dimensionId != StarTreeNode.ALL) {
+      dimensionName = dimensionNames.get(dimensionId);
+    }
+    String dimensionValueString = "ALL";
+    int dimensionValue = node.getDimensionValue();
+    if (dimensionValue != StarTreeNode.ALL) {
+      dimensionValueString = dictionaryMap.get(dimensionName).get(dimensionValue).toString();
+    }
+
+    // For leaf node, child dimension id is -1
+    String childDimensionName = "null";
+    int childDimensionId = node.getChildDimensionId();
+    if (childDimensionId != -1) {
+      childDimensionName = dimensionNames.get(childDimensionId);
+    }
+
+    String formattedOutput = MoreObjects.toStringHelper(node).add("level", level).add("dimensionName", dimensionName)
+        .add("dimensionValue", dimensionValueString).add("childDimensionName", childDimensionName)
+        .add("startDocId", node.getStartDocId()).add("endDocId", node.getEndDocId())
+        .add("aggregatedDocId", node.getAggregatedDocId()).add("numChildren", node.getNumChildren()).toString();
+    stringBuilder.append(formattedOutput);
+    System.out.println(stringBuilder.toString());
+
+    if (!node.isLeaf()) {
+      Iterator<? extends StarTreeNode> childrenIterator = node.getChildrenIterator();
+      while (childrenIterator.hasNext()) {
+        printTreeHelper(dimensionNames, dictionaryMap, childrenIterator.next(), level + 1);
+      }
+    }
+  }
+
   /**
    * Returns {@code true} if the given star-tree builder configs do not match the star-tree metadata, in which case the
    * existing star-trees need to be removed, {@code false} otherwise.
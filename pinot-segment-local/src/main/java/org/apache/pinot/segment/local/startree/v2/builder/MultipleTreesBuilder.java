@@ -23,7 +23,11 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.configuration.Configuration;
@@ -52,6 +56,8 @@ import org.slf4j.LoggerFactory;
  * The {@code MultipleTreesBuilder} class is the top level star-tree builder that takes a list of
  * {@link StarTreeIndexConfig}s and a boolean flag for the default star-tree, and builds multiple star-trees with the
  * given {@link BuildMode} ({@code ON_HEAP} or {@code OFF_HEAP}).
+ * <p>When multiple threads are configured, the star-trees are built concurrently, and the {@code OFF_HEAP} builders
+ * read and sort the segment records in parallel.
  * <p>The indexes for all star-trees will be stored in a single index file, and there will be an extra index map file to
  * mark the offset and size of each index in the index file.
  */
@@ -63,6 +69,7 @@ public class MultipleTreesBuilder implements Closeable {
   private final File _segmentDirectory;
   private final PropertiesConfiguration _metadataProperties;
   private final ImmutableSegment _segment;
+  private final int _numThreads;
 
   public enum BuildMode {
     ON_HEAP, OFF_HEAP
@@ -77,6 +84,22 @@ public class MultipleTreesBuilder implements Closeable {
    */
   public MultipleTreesBuilder(List<StarTreeV2BuilderConfig> builderConfigs, File indexDir, BuildMode buildMode)
       throws Exception {
+    this(builderConfigs, indexDir, buildMode, 1);
+  }
+
+  /**
+   * Constructor for the multiple star-trees builder.
+   *
+   * @param builderConfigs List of builder configs (should already be deduplicated)
+   * @param indexDir Index directory
+   * @param buildMode Build mode (ON_HEAP or OFF_HEAP)
+   * @param numThreads Number of threads to build the star-trees
+   */
+  public MultipleTreesBuilder(List<StarTreeV2BuilderConfig> builderConfigs, File indexDir, BuildMode buildMode,
+      int numThreads)
+      throws Exception {
+    Preconditions.checkArgument(numThreads > 0, "Number of threads must be positive, got: %s", numThreads);
+    _numThreads = numThreads;
     Preconditions.checkArgument(CollectionUtils.isNotEmpty(builderConfigs), "Must provide star-tree builder configs");
     _builderConfigs = builderConfigs;
     _buildMode = buildMode;
@@ -98,6 +121,23 @@ public class MultipleTreesBuilder implements Closeable {
   public MultipleTreesBuilder(@Nullable List<StarTreeIndexConfig> indexConfigs, boolean enableDefaultStarTree,
       File indexDir, BuildMode buildMode)
       throws Exception {
+    this(indexConfigs, enableDefaultStarTree, indexDir, buildMode, 1);
+  }
+
+  /**
+   * Constructor for the multiple star-trees builder.
+   *
+   * @param indexConfigs List of index configs
+   * @param enableDefaultStarTree Whether to enable the default star-tree
+   * @param indexDir Index directory
+   * @param buildMode Build mode (ON_HEAP or OFF_HEAP)
+   * @param numThreads Number of threads to build the star-trees
+   */
+  public MultipleTreesBuilder(@Nullable List<StarTreeIndexConfig> indexConfigs, boolean enableDefaultStarTree,
+      File indexDir, BuildMode buildMode, int numThreads)
+      throws Exception {
+    Preconditions.checkArgument(numThreads > 0, "Number of threads must be positive, got: %s", numThreads);
+    _numThreads = numThreads;
     Preconditions.checkArgument(CollectionUtils.isNotEmpty(indexConfigs) || enableDefaultStarTree,
         "Must provide star-tree index configs or enable default star-tree");
     _buildMode = buildMode;
@@ -122,8 +162,8 @@ public class MultipleTreesBuilder implements Closeable {
       throws Exception {
     long startTime = System.currentTimeMillis();
     int numStarTrees = _builderConfigs.size();
-    LOGGER.info("Starting building {} star-trees with configs: {} using {} builder", numStarTrees, _builderConfigs,
-        _buildMode);
+    LOGGER.info("Starting building {} star-trees with configs: {} using {} builder with {} threads", numStarTrees,
+        _builderConfigs, _buildMode, _numThreads);
 
     try (StarTreeIndexCombiner indexCombiner = new StarTreeIndexCombiner(
         new File(_segmentDirectory, StarTreeV2Constants.INDEX_FILE_NAME))) {
@@ -133,14 +173,18 @@ public class MultipleTreesBuilder implements Closeable {
       List<List<Pair<IndexKey, IndexValue>>> indexMaps = new ArrayList<>(numStarTrees);
 
       // Build all star-trees
-      for (int i = 0; i < numStarTrees; i++) {
-        StarTreeV2BuilderConfig builderConfig = _builderConfigs.get(i);
-        Configuration metadataProperties = _metadataProperties.subset(MetadataKey.getStarTreePrefix(i));
-        try (SingleTreeBuilder singleTreeBuilder = getSingleTreeBuilder(builderConfig, starTreeIndexDir, _segment,
-            metadataProperties, _buildMode)) {
-          singleTreeBuilder.build();
+      if (_numThreads == 1) {
+        for (int i = 0; i < numStarTrees; i++) {
+          StarTreeV2BuilderConfig builderConfig = _builderConfigs.get(i);
+          Configuration metadataProperties = _metadataProperties.subset(MetadataKey.getStarTreePrefix(i));
+          try (SingleTreeBuilder singleTreeBuilder = getSingleTreeBuilder(builderConfig, starTreeIndexDir, _segment,
+              metadataProperties, _buildMode, null, 1)) {
+            singleTreeBuilder.build();
+          }
+          indexMaps.add(indexCombiner.combine(builderConfig, starTreeIndexDir));
         }
-        indexMaps.add(indexCombiner.combine(builderConfig, starTreeIndexDir));
+      } else {
+        buildConcurrently(indexCombiner, starTreeIndexDir, indexMaps);
       }
 
       // Save the metadata and index maps to the disk
@@ -153,13 +197,63 @@ public class MultipleTreesBuilder implements Closeable {
     LOGGER.info("Finished building {} star-trees in {}ms", numStarTrees, System.currentTimeMillis() - startTime);
   }
 
+  /**
+   * Builds the star-trees concurrently, each into its own temporary directory and metadata, then combines the indexes
+   * and metadata in the order of the builder configs.
+   */
+  private void buildConcurrently(StarTreeIndexCombiner indexCombiner, File starTreeIndexDir,
+      List<List<Pair<IndexKey, IndexValue>>> indexMaps)
+      throws Exception {
+    int numStarTrees = _builderConfigs.size();
+    File[] outputDirs = new File[numStarTrees];
+    PropertiesConfiguration[] metadataProperties = new PropertiesConfiguration[numStarTrees];
+    ExecutorService treeExecutorService = Executors.newFixedThreadPool(Math.min(numStarTrees, _numThreads));
+    ExecutorService sortExecutorService = Executors.newFixedThreadPool(_numThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>(numStarTrees);
+      for (int i = 0; i < numStarTrees; i++) {
+        StarTreeV2BuilderConfig builderConfig = _builderConfigs.get(i);
+        File outputDir = new File(starTreeIndexDir, Integer.toString(i));
+        FileUtils.forceMkdir(outputDir);
+        outputDirs[i] = outputDir;
+        PropertiesConfiguration properties = new PropertiesConfiguration();
+        metadataProperties[i] = properties;
+        futures.add(treeExecutorService.submit(() -> {
+          try (SingleTreeBuilder singleTreeBuilder = getSingleTreeBuilder(builderConfig, outputDir, _segment,
+              properties, _buildMode, sortExecutorService, _numThreads)) {
+            singleTreeBuilder.build();
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      treeExecutorService.shutdownNow();
+      sortExecutorService.shutdownNow();
+    }
+
+    for (int i = 0; i < numStarTrees; i++) {
+      Configuration starTreeMetadataProperties = _metadataProperties.subset(MetadataKey.getStarTreePrefix(i));
+      Iterator<String> keys = metadataProperties[i].getKeys();
+      while (keys.hasNext()) {
+        String key = keys.next();
+        starTreeMetadataProperties.setProperty(key, metadataProperties[i].getProperty(key));
+      }
+      indexMaps.add(indexCombiner.combine(_builderConfigs.get(i), outputDirs[i]));
+    }
+  }
+
   private static SingleTreeBuilder getSingleTreeBuilder(StarTreeV2BuilderConfig builderConfig, File outputDir,
-      ImmutableSegment segment, Configuration metadataProperties, BuildMode buildMode)
+      ImmutableSegment segment, Configuration metadataProperties, BuildMode buildMode,
+      @Nullable ExecutorService executorService, int parallelism)
       throws FileNotFoundException {
     if (buildMode == BuildMode.ON_HEAP) {
       return new OnHeapSingleTreeBuilder(builderConfig, outputDir, segment, metadataProperties);
     } else {
-      return new OffHeapSingleTreeBuilder(builderConfig, outputDir, segment, metadataProperties);
+      return new OffHeapSingleTreeBuilder(builderConfig, outputDir, segment, metadataProperties, executorService,
+          parallelism);
     }
   }
 
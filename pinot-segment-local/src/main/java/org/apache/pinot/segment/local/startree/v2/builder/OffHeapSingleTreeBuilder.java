@@ -29,6 +29,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import org.apache.commons.configuration.Configuration;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.segment.spi.ImmutableSegment;
@@ -49,6 +53,8 @@ public class OffHeapSingleTreeBuilder extends BaseSingleTreeBuilder {
   private final File _starTreeRecordFile;
   private final BufferedOutputStream _starTreeRecordOutputStream;
   private final List<Long> _starTreeRecordOffsets;
+  private final ExecutorService _executorService;
+  private final int _parallelism;
 
   private PinotDataBuffer _starTreeRecordBuffer;
   private int _numReadableStarTreeRecords;
@@ -65,7 +71,27 @@ public class OffHeapSingleTreeBuilder extends BaseSingleTreeBuilder {
   public OffHeapSingleTreeBuilder(StarTreeV2BuilderConfig builderConfig, File outputDir, ImmutableSegment segment,
       Configuration metadataProperties)
       throws FileNotFoundException {
+    this(builderConfig, outputDir, segment, metadataProperties, null, 1);
+  }
+
+  /**
+   * Constructor for the off-heap single star-tree builder that reads and sorts the segment records in parallel.
+   *
+   * @param builderConfig Builder config
+   * @param outputDir Directory to store the index files
+   * @param segment Index segment
+   * @param metadataProperties Segment metadata properties
+   * @param executorService Executor service to read and sort the segment records, or {@code null} to sort on the
+   *                        current thread
+   * @param parallelism Maximum number of concurrent tasks to read and sort the segment records
+   * @throws FileNotFoundException
+   */
+  public OffHeapSingleTreeBuilder(StarTreeV2BuilderConfig builderConfig, File outputDir, ImmutableSegment segment,
+      Configuration metadataProperties, @Nullable ExecutorService executorService, int parallelism)
+      throws FileNotFoundException {
     super(builderConfig, outputDir, segment, metadataProperties);
+    _executorService = executorService;
+    _parallelism = parallelism;
     _segmentRecordFile = new File(_outputDir, SEGMENT_RECORD_FILE_NAME);
     Preconditions
         .checkState(!_segmentRecordFile.exists(), "Segment record file: " + _segmentRecordFile + " already exists");
@@ -202,35 +228,13 @@ public class OffHeapSingleTreeBuilder extends BaseSingleTreeBuilder {
       dataBuffer = PinotDataBuffer
           .allocateDirect(bufferSize, PinotDataBuffer.NATIVE_ORDER, "OffHeapSingleTreeBuilder: segment record buffer");
     }
-    int[] sortedDocIds = new int[numDocs];
-    for (int i = 0; i < numDocs; i++) {
-      sortedDocIds[i] = i;
-    }
+    int[] sortedDocIds;
     try {
-      long offset = 0;
-      for (int i = 0; i < numDocs; i++) {
-        int[] dimensions = getSegmentRecordDimensions(i);
-        for (int j = 0; j < _numDimensions; j++) {
-          dataBuffer.putInt(offset, dimensions[j]);
-          offset += Integer.BYTES;
-        }
+      if (_executorService != null && _parallelism > 1) {
+        sortedDocIds = parallelSortSegmentRecords(dataBuffer, numDocs);
+      } else {
+        sortedDocIds = sortSegmentRecords(dataBuffer, numDocs);
       }
-      it.unimi.dsi.fastutil.Arrays.quickSort(0, numDocs, (i1, i2) -> {
-        long offset1 = (long) sortedDocIds[i1] * _numDimensions * Integer.BYTES;
-        long offset2 = (long) sortedDocIds[i2] * _numDimensions * Integer.BYTES;
-        for (int i = 0; i < _numDimensions; i++) {
-          int dimension1 = dataBuffer.getInt(offset1 + i * Integer.BYTES);
-          int dimension2 = dataBuffer.getInt(offset2 + i * Integer.BYTES);
-          if (dimension1 != dimension2) {
-            return dimension1 - dimension2;
-          }
-        }
-        return 0;
-      }, (i1, i2) -> {
-        int temp = sortedDocIds[i1];
-        sortedDocIds[i1] = sortedDocIds[i2];
-        sortedDocIds[i2] = temp;
-      });
     } finally {
       dataBuffer.close();
       if (_segmentRecordFile.exists()) {
@@ -267,6 +271,75 @@ public class OffHeapSingleTreeBuilder extends BaseSingleTreeBuilder {
     };
   }
 
+  /**
+   * Writes the dimensions for all segment records into the buffer, and sorts the records using quick sort on the
+   * current thread.
+   */
+  private int[] sortSegmentRecords(PinotDataBuffer dataBuffer, int numDocs) {
+    int[] sortedDocIds = new int[numDocs];
+    for (int i = 0; i < numDocs; i++) {
+      sortedDocIds[i] = i;
+    }
+    long offset = 0;
+    for (int i = 0; i < numDocs; i++) {
+      int[] dimensions = getSegmentRecordDimensions(i);
+      for (int j = 0; j < _numDimensions; j++) {
+        dataBuffer.putInt(offset, dimensions[j]);
+        offset += Integer.BYTES;
+      }
+    }
+    it.unimi.dsi.fastutil.Arrays.quickSort(0, numDocs, (i1, i2) -> {
+      long offset1 = (long) sortedDocIds[i1] * _numDimensions * Integer.BYTES;
+      long offset2 = (long) sortedDocIds[i2] * _numDimensions * Integer.BYTES;
+      for (int i = 0; i < _numDimensions; i++) {
+        int dimension1 = dataBuffer.getInt(offset1 + i * Integer.BYTES);
+        int dimension2 = dataBuffer.getInt(offset2 + i * Integer.BYTES);
+        if (dimension1 != dimension2) {
+          return dimension1 - dimension2;
+        }
+      }
+      return 0;
+    }, (i1, i2) -> {
+      int temp = sortedDocIds[i1];
+      sortedDocIds[i1] = sortedDocIds[i2];
+      sortedDocIds[i2] = temp;
+    });
+    return sortedDocIds;
+  }
+
+  /**
+   * Writes the dimensions for all segment records into the buffer with one task per dimension (each dimension has its
+   * own column reader), and sorts the records using the parallel radix sort.
+   */
+  private int[] parallelSortSegmentRecords(PinotDataBuffer dataBuffer, int numDocs)
+      throws IOException {
+    try {
+      List<Future<?>> futures = new ArrayList<>(_numDimensions);
+      int[] cardinalities = new int[_numDimensions];
+      for (int i = 0; i < _numDimensions; i++) {
+        int dimensionId = i;
+        cardinalities[i] = _segment.getDictionary(_dimensionsSplitOrder[i]).length();
+        futures.add(_executorService.submit(() -> {
+          long offset = (long) dimensionId * Integer.BYTES;
+          long recordSize = (long) _numDimensions * Integer.BYTES;
+          for (int docId = 0; docId < numDocs; docId++) {
+            dataBuffer.putInt(offset, _dimensionReaders[dimensionId].getDictId(docId));
+            offset += recordSize;
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      return ParallelRadixSorter.sort(dataBuffer, numDocs, cardinalities, _executorService, _parallelism);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while sorting segment records", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Caught exception while sorting segment records", e);
+    }
+  }
+
   @Override
   Iterator<Record> generateRecordsForStarNode(int startDocId, int endDocId, int dimensionId)
       throws IOException {
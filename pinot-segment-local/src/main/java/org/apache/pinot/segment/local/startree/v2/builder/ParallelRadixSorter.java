@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.startree.v2.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+
+
+/**
+ * The {@code ParallelRadixSorter} sorts the records stored in an off-heap buffer on their dimensions (dictionary ids),
+ * using a stable least-significant-digit radix sort that splits each pass over multiple threads.
+ * <p>The records are stored in the buffer as {@code numDimensions} consecutive ints per record, and the records are
+ * sorted in the dimension order (the first dimension is the most significant one). Only the bits required by the
+ * cardinality of each dimension are processed, so low cardinality dimensions are sorted in a single pass.
+ */
+class ParallelRadixSorter {
+  private ParallelRadixSorter() {
+  }
+
+  private static final int RADIX_BITS = 11;
+  private static final int RADIX = 1 << RADIX_BITS;
+  private static final int RADIX_MASK = RADIX - 1;
+  // Minimum number of records processed by a single task
+  private static final int MIN_RECORDS_PER_TASK = 1 << 16;
+
+  /**
+   * Sorts the records in the given buffer, and returns the sorted record ids.
+   *
+   * @param buffer Buffer storing the dimensions of the records
+   * @param numRecords Number of records
+   * @param cardinalities Cardinality of each dimension (dictionary ids are in range [0, cardinality))
+   * @param executorService Executor service to run the tasks
+   * @param parallelism Maximum number of concurrent tasks
+   * @return Record ids in the sorted order
+   */
+  static int[] sort(PinotDataBuffer buffer, int numRecords, int[] cardinalities, ExecutorService executorService,
+      int parallelism)
+      throws InterruptedException, ExecutionException {
+    int numDimensions = cardinalities.length;
+    int numTasks = Math.max(1, Math.min(parallelism, numRecords / MIN_RECORDS_PER_TASK));
+    int[] src = new int[numRecords];
+    for (int i = 0; i < numRecords; i++) {
+      src[i] = i;
+    }
+    int[] dst = new int[numRecords];
+    int[][] counts = new int[numTasks][RADIX];
+    for (int dimensionId = numDimensions - 1; dimensionId >= 0; dimensionId--) {
+      int numBits = 32 - Integer.numberOfLeadingZeros(Math.max(cardinalities[dimensionId] - 1, 0));
+      for (int shift = 0; shift < numBits; shift += RADIX_BITS) {
+        sortOnDigit(buffer, numDimensions, dimensionId, shift, src, dst, counts, executorService);
+        int[] temp = src;
+        src = dst;
+        dst = temp;
+      }
+    }
+    return src;
+  }
+
+  private static void sortOnDigit(PinotDataBuffer buffer, int numDimensions, int dimensionId, int shift, int[] src,
+      int[] dst, int[][] counts, ExecutorService executorService)
+      throws InterruptedException, ExecutionException {
+    int numRecords = src.length;
+    int numTasks = counts.length;
+
+    // Count the records for each digit within each range
+    runTasks(numTasks, taskId -> {
+      int[] taskCounts = counts[taskId];
+      Arrays.fill(taskCounts, 0);
+      int endIndex = getEndIndex(numRecords, numTasks, taskId);
+      for (int i = getStartIndex(numRecords, numTasks, taskId); i < endIndex; i++) {
+        taskCounts[getDigit(buffer, numDimensions, src[i], dimensionId, shift)]++;
+      }
+    }, executorService);
+
+    // Convert the counts into the start offsets, records from the earlier ranges go first to keep the sort stable
+    int offset = 0;
+    for (int digit = 0; digit < RADIX; digit++) {
+      for (int taskId = 0; taskId < numTasks; taskId++) {
+        int count = counts[taskId][digit];
+        counts[taskId][digit] = offset;
+        offset += count;
+      }
+    }
+
+    // Scatter the records
+    runTasks(numTasks, taskId -> {
+      int[] taskOffsets = counts[taskId];
+      int endIndex = getEndIndex(numRecords, numTasks, taskId);
+      for (int i = getStartIndex(numRecords, numTasks, taskId); i < endIndex; i++) {
+        int recordId = src[i];
+        dst[taskOffsets[getDigit(buffer, numDimensions, recordId, dimensionId, shift)]++] = recordId;
+      }
+    }, executorService);
+  }
+
+  private static int getDigit(PinotDataBuffer buffer, int numDimensions, int recordId, int dimensionId, int shift) {
+    long offset = ((long) recordId * numDimensions + dimensionId) * Integer.BYTES;
+    return (buffer.getInt(offset) >>> shift) & RADIX_MASK;
+  }
+
+  private static int getStartIndex(int numRecords, int numTasks, int taskId) {
+    return (int) ((long) numRecords * taskId / numTasks);
+  }
+
+  private static int getEndIndex(int numRecords, int numTasks, int taskId) {
+    return (int) ((long) numRecords * (taskId + 1) / numTasks);
+  }
+
+  private interface Task {
+    void run(int taskId);
+  }
+
+  /**
+   * Runs the tasks, where the last task is run on the current thread.
+   */
+  private static void runTasks(int numTasks, Task task, ExecutorService executorService)
+      throws InterruptedException, ExecutionException {
+    List<Future<?>> futures = new ArrayList<>(numTasks - 1);
+    try {
+      for (int i = 0; i < numTasks - 1; i++) {
+        int taskId = i;
+        futures.add(executorService.submit(() -> task.run(taskId)));
+      }
+      task.run(numTasks - 1);
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      for (Future<?> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.local.segment.index.readers.bloom.GuavaBloomFilterReaderUtils;
+
+
+/**
+ * Utils for the bloom filter summary of a column, which is a small bloom filter on the values of the column stored as a
+ * Base64 string in the segment metadata (and published to the segment ZK metadata) so that the broker can prune
+ * segments for EQUALITY and IN predicates without accessing the segment data.
+ * <p>The values are added to the bloom filter with their string representation, same as the on-disk bloom filter.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class BloomFilterSummaryUtils {
+  private BloomFilterSummaryUtils() {
+  }
+
+  public static final int DEFAULT_MAX_SIZE_IN_BYTES = 1024;
+  public static final double DEFAULT_FPP = 0.03;
+  // Do not create the summary when it cannot achieve this fpp within the max size, in which case it can barely prune
+  public static final double MAX_FPP = 0.2;
+
+  /**
+   * Creates the bloom filter summary for the given sorted unique values (as returned by the column statistics), or
+   * returns {@code null} if the values cannot fit into a bloom filter of the max size with the required fpp.
+   */
+  @Nullable
+  public static String createBloomSummary(@Nullable Object sortedUniqueValues, int maxSizeInBytes) {
+    if (sortedUniqueValues == null) {
+      return null;
+    }
+    int cardinality = getNumValues(sortedUniqueValues);
+    if (cardinality == 0) {
+      return null;
+    }
+    double fpp = Math.max(DEFAULT_FPP, GuavaBloomFilterReaderUtils.computeFPP(maxSizeInBytes, cardinality));
+    if (fpp > MAX_FPP) {
+      return null;
+    }
+    BloomFilter<CharSequence> bloomFilter =
+        BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), cardinality, fpp);
+    if (sortedUniqueValues instanceof int[]) {
+      for (int value : (int[]) sortedUniqueValues) {
+        bloomFilter.put(Integer.toString(value));
+      }
+    } else if (sortedUniqueValues instanceof long[]) {
+      for (long value : (long[]) sortedUniqueValues) {
+        bloomFilter.put(Long.toString(value));
+      }
+    } else if (sortedUniqueValues instanceof float[]) {
+      for (float value : (float[]) sortedUniqueValues) {
+        bloomFilter.put(Float.toString(value));
+      }
+    } else if (sortedUniqueValues instanceof double[]) {
+      for (double value : (double[]) sortedUniqueValues) {
+        bloomFilter.put(Double.toString(value));
+      }
+    } else {
+      for (Object value : (Object[]) sortedUniqueValues) {
+        bloomFilter.put(value.toString());
+      }
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try {
+      bloomFilter.writeTo(outputStream);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getEncoder().encodeToString(outputStream.toByteArray());
+  }
+
+  /**
+   * Deserializes the bloom filter summary created by {@link #createBloomSummary(Object, int)}.
+   */
+  public static BloomFilter<CharSequence> readBloomSummary(String bloomSummary)
+      throws IOException {
+    return BloomFilter.readFrom(new ByteArrayInputStream(Base64.getDecoder().decode(bloomSummary)),
+        Funnels.stringFunnel(StandardCharsets.UTF_8));
+  }
+
+  private static int getNumValues(Object sortedUniqueValues) {
+    if (sortedUniqueValues instanceof int[]) {
+      return ((int[]) sortedUniqueValues).length;
+    }
+    if (sortedUniqueValues instanceof long[]) {
+      return ((long[]) sortedUniqueValues).length;
+    }
+    if (sortedUniqueValues instanceof float[]) {
+      return ((float[]) sortedUniqueValues).length;
+    }
+    if (sortedUniqueValues instanceof double[]) {
+      return ((double[]) sortedUniqueValues).length;
+    }
+    return ((Object[]) sortedUniqueValues).length;
+  }
+}
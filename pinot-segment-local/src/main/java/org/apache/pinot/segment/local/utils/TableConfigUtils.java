@@ -46,9 +46,11 @@ import org.apache.pinot.segment.local.function.FunctionEvaluator;
 import org.apache.pinot.segment.local.function.FunctionEvaluatorFactory;
 import org.apache.pinot.segment.local.segment.creator.impl.inv.BitSlicedRangeIndexCreator;
 import org.apache.pinot.segment.spi.AggregationFunctionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
 import org.apache.pinot.segment.spi.index.IndexService;
 import org.apache.pinot.segment.spi.index.IndexType;
 import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.spi.config.table.DimensionTableConfig;
 import org.apache.pinot.spi.config.table.FieldConfig;
 import org.apache.pinot.spi.config.table.IndexingConfig;
 import org.apache.pinot.spi.config.table.QuotaConfig;
@@ -246,6 +248,11 @@ public final class TableConfigUtils {
           "Dimension table must be of OFFLINE table type.");
       Preconditions.checkState(schema != null, "Dimension table must have an associated schema");
       Preconditions.checkState(!schema.getPrimaryKeyColumns().isEmpty(), "Dimension table must have primary key[s]");
+      DimensionTableConfig dimensionTableConfig = tableConfig.getDimensionTableConfig();
+      if (dimensionTableConfig != null) {
+        Preconditions.checkState(!dimensionTableConfig.isDisablePreload() || !dimensionTableConfig.isOffHeap(),
+            "Dimension table cannot have both 'disablePreload' and 'offHeap' enabled");
+      }
     }
 
     String peerSegmentDownloadScheme = validationConfig.getPeerSegmentDownloadScheme();
@@ -793,6 +800,9 @@ public final class TableConfigUtils {
       columnNameToConfigMap.put(columnName, "Json Index Config");
     }
 
+    Preconditions.checkState(indexingConfig.getStarTreeBuildNumThreads() > 0,
+        "Number of threads to build the star-trees must be positive, got: %s",
+        indexingConfig.getStarTreeBuildNumThreads());
     List<StarTreeIndexConfig> starTreeIndexConfigList = indexingConfig.getStarTreeIndexConfigs();
     if (starTreeIndexConfigList != null) {
       for (StarTreeIndexConfig starTreeIndexConfig : starTreeIndexConfigList) {
@@ -901,6 +911,27 @@ public final class TableConfigUtils {
           default:
             break;
         }
+        FieldConfig.CompressionCodec compressionCodec = fieldConfig.getCompressionCodec();
+        if (compressionCodec != null) {
+          ChunkCompressionType compressionType = ChunkCompressionType.valueOf(compressionCodec.name());
+          DataType storedType = fieldConfigColSpec.getDataType().getStoredType();
+          if (compressionType.isFloatingPoint()) {
+            Preconditions.checkState(fieldConfigColSpec.isSingleValueField() && (storedType == DataType.FLOAT
+                    || storedType == DataType.DOUBLE),
+                "Compression codec: %s is only supported for single-value FLOAT/DOUBLE columns, got: %s",
+                compressionCodec, columnName);
+          } else if (compressionType.isNumeric()) {
+            Preconditions.checkState(fieldConfigColSpec.isSingleValueField() && (storedType == DataType.INT
+                    || storedType == DataType.LONG),
+                "Compression codec: %s is only supported for single-value INT/LONG columns, got: %s",
+                compressionCodec, columnName);
+          } else if (compressionType.isPerValue()) {
+            Preconditions.checkState(fieldConfigColSpec.isSingleValueField() && (storedType == DataType.STRING
+                    || storedType == DataType.BYTES),
+                "Compression codec: %s is only supported for single-value STRING/BYTES columns, got: %s",
+                compressionCodec, columnName);
+          }
+        }
 
         // Validate the forward index disabled compatibility with other indexes if enabled for this column
         validateForwardIndexDisabledIndexCompatibility(columnName, fieldConfig, indexingConfigs, noDictionaryColumns,
@@ -0,0 +1,72 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils.hnsw;
+
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+
+
+/**
+ * Read access to a Hierarchical Navigable Small World graph (Malkov and Yashunin, 2016), shared by the on-heap graph
+ * used when building/consuming and the buffer-backed graph of the immutable segments so that both are searched by
+ * {@link HnswSearcher}.
+ * <p>Nodes are numbered from 0 in insertion order. Every node is on level 0, and a node on level {@code L} is also on
+ * all the levels below {@code L}. Each node keeps at most {@code 2 * maxConnections} neighbors on level 0 and at most
+ * {@code maxConnections} neighbors on the upper levels.
+ */
+public interface HnswGraph {
+
+  int getNumNodes();
+
+  int getVectorDimension();
+
+  DistanceFunction getDistanceFunction();
+
+  int getMaxConnections();
+
+  /**
+   * Returns the top level of the graph, or -1 if the graph is empty.
+   */
+  int getMaxLevel();
+
+  /**
+   * Returns the node to start the search from, which is on the top level, or -1 if the graph is empty.
+   */
+  int getEntryPoint();
+
+  /**
+   * Copies the neighbors of the node on the given level into the buffer (of size at least
+   * {@code 2 * maxConnections}), and returns the number of neighbors.
+   */
+  int getNeighbors(int node, int level, int[] buffer);
+
+  /**
+   * Returns the vector of the node. The given buffer (of size vector dimension) can be used to hold the values, and
+   * the returned array must not be modified.
+   */
+  float[] getVector(int node, float[] buffer);
+
+  /**
+   * Returns the document id of the node.
+   */
+  int getDocId(int node);
+
+  static int getMaxNeighbors(int maxConnections, int level) {
+    return level == 0 ? 2 * maxConnections : maxConnections;
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils.hnsw;
+
+import java.util.BitSet;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+
+
+/**
+ * Searches an {@link HnswGraph}: a greedy descent through the upper levels to find a good entry point, followed by a
+ * best-first search on level 0 that keeps the {@code ef} nearest nodes found so far.
+ * <p>An instance holds the per-search scratch buffers, so it must not be shared across threads.
+ */
+public class HnswSearcher {
+  private final HnswGraph _graph;
+  private final DistanceFunction _distanceFunction;
+  private final int[] _neighborBuffer;
+  private final float[] _vectorBuffer;
+  private final BitSet _visited;
+
+  public HnswSearcher(HnswGraph graph) {
+    _graph = graph;
+    _distanceFunction = graph.getDistanceFunction();
+    _neighborBuffer = new int[HnswGraph.getMaxNeighbors(graph.getMaxConnections(), 0)];
+    _vectorBuffer = new float[graph.getVectorDimension()];
+    _visited = new BitSet(graph.getNumNodes());
+  }
+
+  /**
+   * Returns the (approximately) {@code topK} nearest nodes to the query vector, in no particular order.
+   */
+  public int[] search(float[] queryVector, int topK, int ef) {
+    int entryPoint = _graph.getEntryPoint();
+    if (entryPoint < 0 || topK <= 0) {
+      return new int[0];
+    }
+    int[] entryPoints = new int[]{entryPoint};
+    for (int level = _graph.getMaxLevel(); level > 0; level--) {
+      NeighborQueue nearest = searchLevel(queryVector, entryPoints, 1, level);
+      entryPoints[0] = nearest.topNode();
+    }
+    NeighborQueue results = searchLevel(queryVector, entryPoints, Math.max(ef, topK), 0);
+    while (results.size() > topK) {
+      results.pop();
+    }
+    return results.nodes();
+  }
+
+  /**
+   * Returns a max-heap of the (at most) {@code ef} nearest nodes to the query vector on the given level, reachable
+   * from the entry points.
+   */
+  public NeighborQueue searchLevel(float[] queryVector, int[] entryPoints, int ef, int level) {
+    NeighborQueue candidates = new NeighborQueue(ef, false);
+    NeighborQueue results = new NeighborQueue(ef + 1, true);
+    _visited.clear();
+    for (int entryPoint : entryPoints) {
+      if (!_visited.get(entryPoint)) {
+        _visited.set(entryPoint);
+        float distance = distance(queryVector, entryPoint);
+        candidates.add(entryPoint, distance);
+        results.add(entryPoint, distance);
+      }
+    }
+    while (results.size() > ef) {
+      results.pop();
+    }
+    while (!candidates.isEmpty()) {
+      // Stop when the nearest candidate is farther than the farthest result, as it cannot improve the results
+      if (results.size() >= ef && candidates.topDistance() > results.topDistance()) {
+        break;
+      }
+      int candidate = candidates.pop();
+      int numNeighbors = _graph.getNeighbors(candidate, level, _neighborBuffer);
+      for (int i = 0; i < numNeighbors; i++) {
+        int neighbor = _neighborBuffer[i];
+        if (_visited.get(neighbor)) {
+          continue;
+        }
+        _visited.set(neighbor);
+        float distance = distance(queryVector, neighbor);
+        if (results.size() < ef || distance < results.topDistance()) {
+          candidates.add(neighbor, distance);
+          results.add(neighbor, distance);
+          if (results.size() > ef) {
+            results.pop();
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  public float distance(float[] queryVector, int node) {
+    return _distanceFunction.distance(queryVector, _graph.getVector(node, _vectorBuffer));
+  }
+}
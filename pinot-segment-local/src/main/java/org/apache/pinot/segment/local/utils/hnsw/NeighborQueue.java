@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils.hnsw;
+
+import java.util.Arrays;
+
+
+/**
+ * Binary heap of graph nodes keyed by their distance to the query, stored in 2 parallel primitive arrays to avoid
+ * boxing in the search loop. The top of a min-heap is the nearest node, the top of a max-heap is the farthest node.
+ */
+public class NeighborQueue {
+  private final boolean _maxHeap;
+  private int[] _nodes;
+  private float[] _distances;
+  private int _size;
+
+  public NeighborQueue(int initialCapacity, boolean maxHeap) {
+    _maxHeap = maxHeap;
+    int capacity = Math.max(initialCapacity, 1);
+    _nodes = new int[capacity];
+    _distances = new float[capacity];
+  }
+
+  public int size() {
+    return _size;
+  }
+
+  public boolean isEmpty() {
+    return _size == 0;
+  }
+
+  public void add(int node, float distance) {
+    if (_size == _nodes.length) {
+      _nodes = Arrays.copyOf(_nodes, _size * 2);
+      _distances = Arrays.copyOf(_distances, _size * 2);
+    }
+    int index = _size++;
+    // Sift up
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!higherPriority(distance, _distances[parent])) {
+        break;
+      }
+      _nodes[index] = _nodes[parent];
+      _distances[index] = _distances[parent];
+      index = parent;
+    }
+    _nodes[index] = node;
+    _distances[index] = distance;
+  }
+
+  public int topNode() {
+    return _nodes[0];
+  }
+
+  public float topDistance() {
+    return _distances[0];
+  }
+
+  /**
+   * Removes the top node and returns it.
+   */
+  public int pop() {
+    int top = _nodes[0];
+    int lastIndex = --_size;
+    int node = _nodes[lastIndex];
+    float distance = _distances[lastIndex];
+    // Sift down
+    int index = 0;
+    int half = lastIndex >>> 1;
+    while (index < half) {
+      int child = 2 * index + 1;
+      int right = child + 1;
+      if (right < lastIndex && higherPriority(_distances[right], _distances[child])) {
+        child = right;
+      }
+      if (!higherPriority(_distances[child], distance)) {
+        break;
+      }
+      _nodes[index] = _nodes[child];
+      _distances[index] = _distances[child];
+      index = child;
+    }
+    _nodes[index] = node;
+    _distances[index] = distance;
+    return top;
+  }
+
+  /**
+   * Returns the nodes in the heap (not in heap order).
+   */
+  public int[] nodes() {
+    return Arrays.copyOf(_nodes, _size);
+  }
+
+  public void clear() {
+    _size = 0;
+  }
+
+  private boolean higherPriority(float distance1, float distance2) {
+    return _maxHeap ? distance1 > distance2 : distance1 < distance2;
+  }
+}
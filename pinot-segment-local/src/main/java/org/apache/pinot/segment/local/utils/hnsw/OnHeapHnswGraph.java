@@ -0,0 +1,232 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils.hnsw;
+
+import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+
+
+/**
+ * On-heap {@link HnswGraph} that supports inserting vectors. It is used to build the graph for the segment creator and
+ * to serve the consuming segments.
+ * <p>The neighbors of each node are selected with the heuristic of the HNSW paper (algorithm 4), which prefers
+ * neighbors in diverse directions and keeps the pruned candidates when there are not enough diverse ones.
+ * <p>This class is not thread-safe.
+ */
+public class OnHeapHnswGraph implements HnswGraph {
+  // Fixed seed so that the same input always produces the same graph
+  private static final long RANDOM_SEED = 0x5DEECE66DL;
+
+  private final int _vectorDimension;
+  private final DistanceFunction _distanceFunction;
+  private final int _maxConnections;
+  private final int _efConstruction;
+  private final double _levelMultiplier;
+  private final Random _random = new Random(RANDOM_SEED);
+  private final List<float[]> _vectors = new ArrayList<>();
+  private final IntArrayList _docIds = new IntArrayList();
+  // For each node, one array per level with the number of neighbors followed by the neighbors
+  private final List<int[][]> _neighbors = new ArrayList<>();
+  private final HnswSearcher _searcher;
+
+  private int _maxLevel = -1;
+  private int _entryPoint = -1;
+
+  public OnHeapHnswGraph(VectorIndexConfig config) {
+    _vectorDimension = config.getVectorDimension();
+    _distanceFunction = config.getDistanceFunction();
+    _maxConnections = config.getMaxConnections();
+    _efConstruction = config.getEfConstruction();
+    _levelMultiplier = 1 / Math.log(_maxConnections);
+    _searcher = new HnswSearcher(this);
+  }
+
+  /**
+   * Inserts the vector of the given document, and returns the node of the vector.
+   */
+  public int add(int docId, float[] vector) {
+    Preconditions.checkArgument(vector.length == _vectorDimension, "Expect vector of dimension: %s, got: %s",
+        _vectorDimension, vector.length);
+    int node = _vectors.size();
+    int nodeLevel = randomLevel();
+    int[][] nodeNeighbors = new int[nodeLevel + 1][];
+    for (int level = 0; level <= nodeLevel; level++) {
+      nodeNeighbors[level] = new int[1 + HnswGraph.getMaxNeighbors(_maxConnections, level)];
+    }
+    _vectors.add(vector);
+    _docIds.add(docId);
+    _neighbors.add(nodeNeighbors);
+    if (_entryPoint < 0) {
+      _entryPoint = node;
+      _maxLevel = nodeLevel;
+      return node;
+    }
+
+    int[] entryPoints = new int[]{_entryPoint};
+    for (int level = _maxLevel; level > nodeLevel; level--) {
+      entryPoints[0] = _searcher.searchLevel(vector, entryPoints, 1, level).topNode();
+    }
+    for (int level = Math.min(nodeLevel, _maxLevel); level >= 0; level--) {
+      NeighborQueue candidates = _searcher.searchLevel(vector, entryPoints, _efConstruction, level);
+      entryPoints = candidates.nodes();
+      int maxNeighbors = HnswGraph.getMaxNeighbors(_maxConnections, level);
+      int[] selected = selectNeighbors(node, candidates, maxNeighbors);
+      int[] neighbors = nodeNeighbors[level];
+      neighbors[0] = selected.length;
+      System.arraycopy(selected, 0, neighbors, 1, selected.length);
+      for (int neighbor : selected) {
+        addLink(neighbor, node, level, maxNeighbors);
+      }
+    }
+    if (nodeLevel > _maxLevel) {
+      _maxLevel = nodeLevel;
+      _entryPoint = node;
+    }
+    return node;
+  }
+
+  private int randomLevel() {
+    return (int) (-Math.log(1 - _random.nextDouble()) * _levelMultiplier);
+  }
+
+  /**
+   * Selects at most {@code maxNeighbors} neighbors for the base node out of the candidates (a max-heap keyed by the
+   * distance to the base node). The candidates are consumed.
+   */
+  private int[] selectNeighbors(int baseNode, NeighborQueue candidates, int maxNeighbors) {
+    // Pop from the max-heap to get the candidates from the farthest to the nearest
+    int numCandidates = candidates.size();
+    int[] sortedCandidates = new int[numCandidates];
+    float[] sortedDistances = new float[numCandidates];
+    for (int i = numCandidates - 1; i >= 0; i--) {
+      sortedDistances[i] = candidates.topDistance();
+      sortedCandidates[i] = candidates.pop();
+    }
+    int[] selected = new int[Math.min(maxNeighbors, numCandidates)];
+    int numSelected = 0;
+    boolean[] pruned = new boolean[numCandidates];
+    for (int i = 0; i < numCandidates && numSelected < selected.length; i++) {
+      int candidate = sortedCandidates[i];
+      if (candidate == baseNode) {
+        pruned[i] = true;
+        continue;
+      }
+      float[] candidateVector = _vectors.get(candidate);
+      boolean diverse = true;
+      for (int j = 0; j < numSelected; j++) {
+        if (_distanceFunction.distance(candidateVector, _vectors.get(selected[j])) < sortedDistances[i]) {
+          diverse = false;
+          break;
+        }
+      }
+      if (diverse) {
+        selected[numSelected++] = candidate;
+        pruned[i] = true;
+      }
+    }
+    // Fill up with the nearest pruned candidates
+    for (int i = 0; i < numCandidates && numSelected < selected.length; i++) {
+      if (!pruned[i]) {
+        selected[numSelected++] = sortedCandidates[i];
+      }
+    }
+    return numSelected == selected.length ? selected : Arrays.copyOf(selected, numSelected);
+  }
+
+  private void addLink(int node, int newNeighbor, int level, int maxNeighbors) {
+    int[] neighbors = _neighbors.get(node)[level];
+    int numNeighbors = neighbors[0];
+    if (numNeighbors < maxNeighbors) {
+      neighbors[1 + numNeighbors] = newNeighbor;
+      neighbors[0] = numNeighbors + 1;
+      return;
+    }
+    // Too many neighbors, re-select among the existing neighbors and the new one
+    float[] vector = _vectors.get(node);
+    NeighborQueue candidates = new NeighborQueue(numNeighbors + 1, true);
+    for (int i = 1; i <= numNeighbors; i++) {
+      candidates.add(neighbors[i], _distanceFunction.distance(vector, _vectors.get(neighbors[i])));
+    }
+    candidates.add(newNeighbor, _distanceFunction.distance(vector, _vectors.get(newNeighbor)));
+    int[] selected = selectNeighbors(node, candidates, maxNeighbors);
+    neighbors[0] = selected.length;
+    System.arraycopy(selected, 0, neighbors, 1, selected.length);
+  }
+
+  @Override
+  public int getNumNodes() {
+    return _vectors.size();
+  }
+
+  @Override
+  public int getVectorDimension() {
+    return _vectorDimension;
+  }
+
+  @Override
+  public DistanceFunction getDistanceFunction() {
+    return _distanceFunction;
+  }
+
+  @Override
+  public int getMaxConnections() {
+    return _maxConnections;
+  }
+
+  @Override
+  public int getMaxLevel() {
+    return _maxLevel;
+  }
+
+  @Override
+  public int getEntryPoint() {
+    return _entryPoint;
+  }
+
+  /**
+   * Returns the top level of the node.
+   */
+  public int getLevel(int node) {
+    return _neighbors.get(node).length - 1;
+  }
+
+  @Override
+  public int getNeighbors(int node, int level, int[] buffer) {
+    int[] neighbors = _neighbors.get(node)[level];
+    int numNeighbors = neighbors[0];
+    System.arraycopy(neighbors, 1, buffer, 0, numNeighbors);
+    return numNeighbors;
+  }
+
+  @Override
+  public float[] getVector(int node, float[] buffer) {
+    return _vectors.get(node);
+  }
+
+  @Override
+  public int getDocId(int node) {
+    return _docIds.getInt(node);
+  }
+}
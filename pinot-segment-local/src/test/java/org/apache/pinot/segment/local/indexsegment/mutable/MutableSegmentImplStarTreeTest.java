@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.indexsegment.mutable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.apache.pinot.segment.local.realtime.impl.startree.MutableStarTree;
+import org.apache.pinot.segment.spi.AggregationFunctionType;
+import org.apache.pinot.segment.spi.datasource.DataSource;
+import org.apache.pinot.segment.spi.index.reader.Dictionary;
+import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
+import org.apache.pinot.segment.spi.index.startree.AggregationFunctionColumnPair;
+import org.apache.pinot.segment.spi.index.startree.StarTreeNode;
+import org.apache.pinot.segment.spi.index.startree.StarTreeV2;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
+import org.apache.pinot.spi.data.FieldSpec;
+import org.apache.pinot.spi.data.Schema;
+import org.apache.pinot.spi.data.readers.GenericRow;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class MutableSegmentImplStarTreeTest {
+  private static final String DIMENSION_1 = "dim1";
+  private static final String DIMENSION_2 = "dim2";
+  private static final String METRIC = "metric";
+  private static final String COUNT_STAR = AggregationFunctionColumnPair.COUNT_STAR.toColumnName();
+  private static final String SUM_METRIC =
+      new AggregationFunctionColumnPair(AggregationFunctionType.SUM, METRIC).toColumnName();
+  private static final int NUM_ROWS = 10001;
+  private static final Random RANDOM = new Random();
+
+  @Test
+  public void testStarTree()
+      throws Exception {
+    Schema schema = new Schema.SchemaBuilder().setSchemaName("testSchema")
+        .addSingleValueDimension(DIMENSION_1, FieldSpec.DataType.INT)
+        .addSingleValueDimension(DIMENSION_2, FieldSpec.DataType.STRING).addMetric(METRIC, FieldSpec.DataType.LONG)
+        .build();
+    StarTreeIndexConfig starTreeIndexConfig =
+        new StarTreeIndexConfig(Arrays.asList(DIMENSION_1, DIMENSION_2), null, Arrays.asList(COUNT_STAR, SUM_METRIC),
+            1);
+    MutableSegmentImpl mutableSegmentImpl =
+        MutableSegmentImplTestUtils.createMutableSegmentImpl(schema, Collections.singletonList(starTreeIndexConfig));
+    assertNull(mutableSegmentImpl.getStarTrees());
+
+    Map<Object, long[]> expectedDim1Aggregates = new HashMap<>();
+    Map<Object, long[]> expectedDim2Aggregates = new HashMap<>();
+    long totalSum = 0;
+    for (int i = 0; i < NUM_ROWS; i++) {
+      int dim1 = RANDOM.nextInt(10);
+      String dim2 = "value" + RANDOM.nextInt(20);
+      long metric = RANDOM.nextInt(1000);
+      GenericRow row = new GenericRow();
+      row.putValue(DIMENSION_1, dim1);
+      row.putValue(DIMENSION_2, dim2);
+      row.putValue(METRIC, metric);
+      mutableSegmentImpl.index(row, null);
+      long[] dim1Aggregates = expectedDim1Aggregates.computeIfAbsent(dim1, k -> new long[2]);
+      dim1Aggregates[0]++;
+      dim1Aggregates[1] += metric;
+      long[] dim2Aggregates = expectedDim2Aggregates.computeIfAbsent(dim2, k -> new long[2]);
+      dim2Aggregates[0]++;
+      dim2Aggregates[1] += metric;
+      totalSum += metric;
+    }
+
+    // Build the snapshot in the current thread instead of waiting for the background rebuild
+    StarTreeV2 starTree = rebuildSnapshot(mutableSegmentImpl);
+    checkAggregatedDoc(starTree, starTree.getStarTree().getRoot().getAggregatedDocId(), NUM_ROWS, totalSum);
+    assertEquals(starTree.getMetadata().getDimensionsSplitOrder(), Arrays.asList(DIMENSION_1, DIMENSION_2));
+    assertEquals(starTree.getMetadata().getFunctionColumnPairs().size(), 2);
+    // Snapshot should be reused when no new record is indexed
+    assertSame(mutableSegmentImpl.getStarTrees().get(0), starTree);
+
+    // Root node aggregates all the records
+    StarTreeNode root = starTree.getStarTree().getRoot();
+    checkAggregatedDoc(starTree, root.getAggregatedDocId(), NUM_ROWS, totalSum);
+
+    // Non-star children of the root aggregate on dim1
+    Dictionary dim1Dictionary = starTree.getDataSource(DIMENSION_1).getDictionary();
+    StarTreeNode rootStarNode = null;
+    int numDim1Values = 0;
+    Iterator<? extends StarTreeNode> iterator = root.getChildrenIterator();
+    while (iterator.hasNext()) {
+      StarTreeNode child = iterator.next();
+      if (child.getDimensionValue() == StarTreeNode.ALL) {
+        rootStarNode = child;
+        continue;
+      }
+      long[] expected = expectedDim1Aggregates.get(dim1Dictionary.get(child.getDimensionValue()));
+      checkAggregatedDoc(starTree, child.getAggregatedDocId(), expected[0], expected[1]);
+      numDim1Values++;
+    }
+    assertEquals(numDim1Values, expectedDim1Aggregates.size());
+
+    // Children of the star-node aggregate on dim2
+    assertNotNull(rootStarNode);
+    Dictionary dim2Dictionary = starTree.getDataSource(DIMENSION_2).getDictionary();
+    int numDim2Values = 0;
+    iterator = rootStarNode.getChildrenIterator();
+    while (iterator.hasNext()) {
+      StarTreeNode child = iterator.next();
+      if (child.getDimensionValue() == StarTreeNode.ALL) {
+        continue;
+      }
+      long[] expected = expectedDim2Aggregates.get(dim2Dictionary.get(child.getDimensionValue()));
+      checkAggregatedDoc(starTree, child.getAggregatedDocId(), expected[0], expected[1]);
+      numDim2Values++;
+    }
+    assertEquals(numDim2Values, expectedDim2Aggregates.size());
+
+    // Tree should be printable with the dictionaries of the star-tree
+    Map<String, Dictionary> dictionaryMap = new HashMap<>();
+    dictionaryMap.put(DIMENSION_1, dim1Dictionary);
+    dictionaryMap.put(DIMENSION_2, dim2Dictionary);
+    starTree.getStarTree().printTree(dictionaryMap);
+
+    // Stale snapshot should not be served after indexing more records, so that the query falls back to the scan
+    GenericRow row = new GenericRow();
+    row.putValue(DIMENSION_1, 0);
+    row.putValue(DIMENSION_2, "value0");
+    row.putValue(METRIC, 1L);
+    mutableSegmentImpl.index(row, null);
+    assertNull(mutableSegmentImpl.getStarTrees());
+    StarTreeV2 newStarTree = rebuildSnapshot(mutableSegmentImpl);
+    assertNotSame(newStarTree, starTree);
+    checkAggregatedDoc(newStarTree, newStarTree.getStarTree().getRoot().getAggregatedDocId(), NUM_ROWS + 1,
+        totalSum + 1);
+
+    mutableSegmentImpl.destroy();
+  }
+
+  private static StarTreeV2 rebuildSnapshot(MutableSegmentImpl mutableSegmentImpl) {
+    List<MutableStarTree> mutableStarTrees = mutableSegmentImpl.getMutableStarTrees();
+    assertNotNull(mutableStarTrees);
+    assertEquals(mutableStarTrees.size(), 1);
+    mutableStarTrees.get(0).rebuildSnapshot();
+    List<StarTreeV2> starTrees = mutableSegmentImpl.getStarTrees();
+    assertNotNull(starTrees);
+    assertEquals(starTrees.size(), 1);
+    return starTrees.get(0);
+  }
+
+  private static void checkAggregatedDoc(StarTreeV2 starTree, int docId, long expectedCount, long expectedSum) {
+    DataSource countDataSource = starTree.getDataSource(COUNT_STAR);
+    DataSource sumDataSource = starTree.getDataSource(SUM_METRIC);
+    ForwardIndexReader countReader = countDataSource.getForwardIndex();
+    ForwardIndexReader sumReader = sumDataSource.getForwardIndex();
+    assertEquals(countReader.getLong(docId, null), expectedCount);
+    assertEquals(sumReader.getDouble(docId, null), (double) expectedSum);
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.pinot.segment.local.realtime.impl.RealtimeSegmentConfig;
 import org.apache.pinot.segment.local.realtime.impl.RealtimeSegmentStatsHistory;
 import org.apache.pinot.segment.local.upsert.PartitionUpsertMetadataManager;
 import org.apache.pinot.spi.config.table.JsonIndexConfig;
+import org.apache.pinot.spi.config.table.StarTreeIndexConfig;
 import org.apache.pinot.spi.config.table.UpsertConfig;
 import org.apache.pinot.spi.config.table.ingestion.AggregationConfig;
 import org.apache.pinot.spi.data.Schema;
@@ -90,6 +91,24 @@ public class MutableSegmentImplTestUtils {
       UpsertConfig upsertConfig, String timeColumnName, PartitionUpsertMetadataManager partitionUpsertMetadataManager,
       PartitionDedupMetadataManager partitionDedupMetadataManager, ServerMetrics serverMetrics,
       List<AggregationConfig> aggregationConfigs) {
+    return createMutableSegmentImpl(schema, noDictionaryColumns, varLengthDictionaryColumns, invertedIndexColumns,
+        jsonIndexConfigs, aggregateMetrics, nullHandlingEnabled, upsertConfig, timeColumnName,
+        partitionUpsertMetadataManager, partitionDedupMetadataManager, serverMetrics, aggregationConfigs, null);
+  }
+
+  public static MutableSegmentImpl createMutableSegmentImpl(Schema schema,
+      List<StarTreeIndexConfig> starTreeIndexConfigs) {
+    return createMutableSegmentImpl(schema, Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+        Collections.emptyMap(), false, false, null, null, null, null, null, Collections.emptyList(),
+        starTreeIndexConfigs);
+  }
+
+  public static MutableSegmentImpl createMutableSegmentImpl(Schema schema, Set<String> noDictionaryColumns,
+      Set<String> varLengthDictionaryColumns, Set<String> invertedIndexColumns,
+      Map<String, JsonIndexConfig> jsonIndexConfigs, boolean aggregateMetrics, boolean nullHandlingEnabled,
+      UpsertConfig upsertConfig, String timeColumnName, PartitionUpsertMetadataManager partitionUpsertMetadataManager,
+      PartitionDedupMetadataManager partitionDedupMetadataManager, ServerMetrics serverMetrics,
+      List<AggregationConfig> aggregationConfigs, List<StarTreeIndexConfig> starTreeIndexConfigs) {
 
     RealtimeSegmentStatsHistory statsHistory = mock(RealtimeSegmentStatsHistory.class);
     when(statsHistory.getEstimatedCardinality(anyString())).thenReturn(200);
@@ -108,7 +127,7 @@ public class MutableSegmentImplTestUtils {
             .setUpsertComparisonColumns(comparisonColumns)
             .setPartitionUpsertMetadataManager(partitionUpsertMetadataManager)
             .setPartitionDedupMetadataManager(partitionDedupMetadataManager)
-            .setIngestionAggregationConfigs(aggregationConfigs).build();
+            .setIngestionAggregationConfigs(aggregationConfigs).setStarTreeIndexConfigs(starTreeIndexConfigs).build();
     return new MutableSegmentImpl(realtimeSegmentConfig, serverMetrics);
   }
 }
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class FsstSymbolTableTest {
+  private static final Random RANDOM = new Random();
+
+  @DataProvider
+  public Object[][] samples() {
+    List<List<byte[]>> samples = new ArrayList<>();
+    samples.add(Collections.emptyList());
+    samples.add(Collections.singletonList(new byte[0]));
+    List<byte[]> urls = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      urls.add(("https://www.example.com/products/category-" + RANDOM.nextInt(20) + "/item?id=" + RANDOM.nextInt())
+          .getBytes(StandardCharsets.UTF_8));
+    }
+    samples.add(urls);
+    List<byte[]> randomBytes = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      byte[] value = new byte[RANDOM.nextInt(100)];
+      RANDOM.nextBytes(value);
+      randomBytes.add(value);
+    }
+    samples.add(randomBytes);
+
+    List<Object[]> result = new ArrayList<>();
+    for (List<byte[]> sample : samples) {
+      result.add(new Object[]{sample});
+    }
+    return result.toArray(new Object[0][]);
+  }
+
+  @Test(dataProvider = "samples")
+  public void testRoundTrip(List<byte[]> sample) {
+    FsstSymbolTable symbolTable = FsstSymbolTable.train(sample);
+    assertTrue(symbolTable.getNumSymbols() <= FsstSymbolTable.MAX_NUM_SYMBOLS);
+    byte[] serialized = symbolTable.serialize();
+    assertEquals(serialized.length, symbolTable.getSerializedSize());
+    FsstSymbolTable deserialized = FsstSymbolTable.deserialize(ByteBuffer.wrap(serialized));
+    assertEquals(deserialized.getNumSymbols(), symbolTable.getNumSymbols());
+
+    for (byte[] value : sample) {
+      byte[] encoded = symbolTable.encode(value);
+      assertEquals(deserialized.decode(encoded), value);
+      // Values can be decoded in place, e.g. within a chunk
+      ByteBuffer buffer = ByteBuffer.allocate(encoded.length + 2);
+      buffer.position(1);
+      buffer.put(encoded);
+      assertEquals(deserialized.decode(buffer, 1, encoded.length), value);
+    }
+    // Values not seen during training are escaped
+    byte[] allBytes = new byte[256];
+    for (int i = 0; i < allBytes.length; i++) {
+      allBytes[i] = (byte) i;
+    }
+    assertEquals(deserialized.decode(symbolTable.encode(allBytes)), allBytes);
+  }
+
+  @Test
+  public void testCompressionRatio() {
+    List<byte[]> sample = new ArrayList<>();
+    int rawSize = 0;
+    for (int i = 0; i < 1000; i++) {
+      byte[] value = ("https://www.example.com/products/category-" + RANDOM.nextInt(20) + "/item?id=" + RANDOM.nextInt(
+          1000)).getBytes(StandardCharsets.UTF_8);
+      sample.add(value);
+      rawSize += value.length;
+    }
+    FsstSymbolTable symbolTable = FsstSymbolTable.train(sample);
+    int encodedSize = 0;
+    for (byte[] value : sample) {
+      encodedSize += symbolTable.encode(value).length;
+    }
+    assertTrue(encodedSize < rawSize / 3, "Encoded size: " + encodedSize + ", raw size: " + rawSize);
+  }
+}
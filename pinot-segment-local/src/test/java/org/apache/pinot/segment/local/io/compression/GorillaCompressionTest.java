@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+public class GorillaCompressionTest {
+  private static final Random RANDOM = new Random();
+
+  @DataProvider
+  public Object[][] doubleValues() {
+    List<double[]> valuesList = new ArrayList<>();
+    valuesList.add(new double[0]);
+    valuesList.add(new double[]{RANDOM.nextDouble()});
+    valuesList.add(new double[]{
+        Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0.0, -0.0, Double.MIN_VALUE,
+        Double.MAX_VALUE, -Double.MAX_VALUE, 1.0, 1.0, 1.0
+    });
+    double[] constant = new double[1000];
+    double constantValue = RANDOM.nextDouble();
+    for (int i = 0; i < constant.length; i++) {
+      constant[i] = constantValue;
+    }
+    valuesList.add(constant);
+    double[] metrics = new double[1000];
+    double metric = 100;
+    for (int i = 0; i < metrics.length; i++) {
+      metric += RANDOM.nextInt(5) - 2;
+      metrics[i] = metric;
+    }
+    valuesList.add(metrics);
+    double[] gauges = new double[1000];
+    for (int i = 0; i < gauges.length; i++) {
+      gauges[i] = Math.round(50 + 10 * Math.sin(i / 100.0) * 100) / 100.0;
+    }
+    valuesList.add(gauges);
+    double[] random = new double[1000];
+    for (int i = 0; i < random.length; i++) {
+      random[i] = Double.longBitsToDouble(RANDOM.nextLong());
+    }
+    valuesList.add(random);
+
+    List<Object[]> result = new ArrayList<>();
+    for (double[] values : valuesList) {
+      result.add(new Object[]{values});
+    }
+    return result.toArray(new Object[0][]);
+  }
+
+  @Test(dataProvider = "doubleValues")
+  public void testDoubleRoundTrip(double[] values)
+      throws Exception {
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(values.length * Double.BYTES);
+    for (double value : values) {
+      rawInput.putDouble(value);
+    }
+    rawInput.flip();
+    ByteBuffer compressed = compress(Double.BYTES, rawInput);
+
+    GorillaDecompressor decompressor =
+        (GorillaDecompressor) ChunkCompressorFactory.getDecompressor(ChunkCompressionType.GORILLA);
+    assertEquals(decompressor.decompressedLength(compressed), values.length * Double.BYTES);
+    ByteBuffer decompressed = ByteBuffer.allocateDirect(values.length * Double.BYTES);
+    decompressor.decompress(compressed.duplicate(), decompressed);
+    assertEquals(decompressed.limit(), values.length * Double.BYTES);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(decompressed.getLong(i * Double.BYTES), Double.doubleToRawLongBits(values[i]));
+    }
+
+    double[] decoded = new double[values.length + 1];
+    assertEquals(decompressor.decode(compressed, decoded, 1), values.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(Double.doubleToRawLongBits(decoded[i + 1]), Double.doubleToRawLongBits(values[i]));
+    }
+  }
+
+  @Test(dataProvider = "doubleValues")
+  public void testFloatRoundTrip(double[] doubleValues)
+      throws Exception {
+    float[] values = new float[doubleValues.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (float) doubleValues[i];
+    }
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(values.length * Float.BYTES);
+    for (float value : values) {
+      rawInput.putFloat(value);
+    }
+    rawInput.flip();
+    ByteBuffer compressed = compress(Float.BYTES, rawInput);
+
+    GorillaDecompressor decompressor =
+        (GorillaDecompressor) ChunkCompressorFactory.getDecompressor(ChunkCompressionType.GORILLA);
+    assertEquals(decompressor.decompressedLength(compressed), values.length * Float.BYTES);
+    ByteBuffer decompressed = ByteBuffer.allocateDirect(values.length * Float.BYTES);
+    decompressor.decompress(compressed.duplicate(), decompressed);
+    assertEquals(decompressed.limit(), values.length * Float.BYTES);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(decompressed.getInt(i * Float.BYTES), Float.floatToRawIntBits(values[i]));
+    }
+
+    float[] decoded = new float[values.length];
+    assertEquals(decompressor.decode(compressed, decoded, 0), values.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(Float.floatToRawIntBits(decoded[i]), Float.floatToRawIntBits(values[i]));
+    }
+  }
+
+  @Test
+  public void testCompressionRatio()
+      throws Exception {
+    int numValues = 1000;
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(numValues * Double.BYTES);
+    double metric = 1000;
+    for (int i = 0; i < numValues; i++) {
+      // Slowly varying metric with repeated values
+      if (i % 4 == 0) {
+        metric += RANDOM.nextInt(3) - 1;
+      }
+      rawInput.putDouble(metric);
+    }
+    rawInput.flip();
+    assertTrue(compress(Double.BYTES, rawInput).limit() < numValues * Double.BYTES / 4);
+  }
+
+  @Test
+  public void testValueSizeRequired() {
+    expectThrows(IllegalArgumentException.class,
+        () -> ChunkCompressorFactory.getCompressor(ChunkCompressionType.GORILLA));
+    expectThrows(IllegalArgumentException.class,
+        () -> ChunkCompressorFactory.getCompressor(ChunkCompressionType.GORILLA, 2));
+  }
+
+  private static ByteBuffer compress(int valueSize, ByteBuffer rawInput)
+      throws Exception {
+    ChunkCompressor compressor = ChunkCompressorFactory.getCompressor(ChunkCompressionType.GORILLA, valueSize);
+    assertEquals(compressor.compressionType(), ChunkCompressionType.GORILLA);
+    ByteBuffer compressed = ByteBuffer.allocateDirect(compressor.maxCompressedSize(rawInput.remaining()));
+    compressor.compress(rawInput, compressed);
+    return compressed;
+  }
+}
@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.io.compression;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.compression.ChunkCompressor;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+
+public class NumericChunkCompressionTest {
+  private static final ChunkCompressionType[] NUMERIC_TYPES = new ChunkCompressionType[]{
+      ChunkCompressionType.FOR, ChunkCompressionType.DELTA, ChunkCompressionType.DELTA_OF_DELTA
+  };
+  private static final Random RANDOM = new Random();
+
+  @DataProvider
+  public Object[][] longValues() {
+    List<long[]> valuesList = new ArrayList<>();
+    valuesList.add(new long[0]);
+    valuesList.add(new long[]{RANDOM.nextLong()});
+    valuesList.add(new long[]{RANDOM.nextLong(), RANDOM.nextLong()});
+    valuesList.add(new long[]{Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, 0, -1, Long.MAX_VALUE});
+    long[] constant = new long[1000];
+    long constantValue = RANDOM.nextLong();
+    for (int i = 0; i < constant.length; i++) {
+      constant[i] = constantValue;
+    }
+    valuesList.add(constant);
+    long[] timestamps = new long[1000];
+    long timestamp = System.currentTimeMillis();
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamp += RANDOM.nextInt(10);
+      timestamps[i] = timestamp;
+    }
+    valuesList.add(timestamps);
+    long[] withOutliers = new long[1000];
+    for (int i = 0; i < withOutliers.length; i++) {
+      withOutliers[i] = i % 100 == 0 ? RANDOM.nextLong() : RANDOM.nextInt(100);
+    }
+    valuesList.add(withOutliers);
+    long[] random = new long[1000];
+    for (int i = 0; i < random.length; i++) {
+      random[i] = RANDOM.nextLong();
+    }
+    valuesList.add(random);
+
+    List<Object[]> result = new ArrayList<>();
+    for (ChunkCompressionType compressionType : NUMERIC_TYPES) {
+      for (long[] values : valuesList) {
+        result.add(new Object[]{compressionType, values});
+      }
+    }
+    return result.toArray(new Object[0][]);
+  }
+
+  @Test(dataProvider = "longValues")
+  public void testLongRoundTrip(ChunkCompressionType compressionType, long[] values)
+      throws Exception {
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(values.length * Long.BYTES);
+    for (long value : values) {
+      rawInput.putLong(value);
+    }
+    rawInput.flip();
+    ByteBuffer compressed = compress(compressionType, Long.BYTES, rawInput);
+
+    NumericChunkDecompressor decompressor =
+        (NumericChunkDecompressor) ChunkCompressorFactory.getDecompressor(compressionType);
+    assertEquals(decompressor.decompressedLength(compressed), values.length * Long.BYTES);
+    assertEquals(decompressor.getNumValues(compressed), values.length);
+    ByteBuffer decompressed = ByteBuffer.allocateDirect(values.length * Long.BYTES);
+    decompressor.decompress(compressed.duplicate(), decompressed);
+    assertEquals(decompressed.limit(), values.length * Long.BYTES);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(decompressed.getLong(i * Long.BYTES), values[i]);
+    }
+
+    long[] decoded = new long[values.length + 1];
+    assertEquals(decompressor.decode(compressed, decoded, 1), values.length);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(decoded[i + 1], values[i]);
+    }
+  }
+
+  @Test(dataProvider = "longValues")
+  public void testIntRoundTrip(ChunkCompressionType compressionType, long[] longValues)
+      throws Exception {
+    int[] values = new int[longValues.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (int) longValues[i];
+    }
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(values.length * Integer.BYTES);
+    for (int value : values) {
+      rawInput.putInt(value);
+    }
+    rawInput.flip();
+    ByteBuffer compressed = compress(compressionType, Integer.BYTES, rawInput);
+
+    NumericChunkDecompressor decompressor =
+        (NumericChunkDecompressor) ChunkCompressorFactory.getDecompressor(compressionType);
+    assertEquals(decompressor.decompressedLength(compressed), values.length * Integer.BYTES);
+    ByteBuffer decompressed = ByteBuffer.allocateDirect(values.length * Integer.BYTES);
+    decompressor.decompress(compressed.duplicate(), decompressed);
+    assertEquals(decompressed.limit(), values.length * Integer.BYTES);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(decompressed.getInt(i * Integer.BYTES), values[i]);
+    }
+
+    int[] decoded = new int[values.length];
+    assertEquals(decompressor.decode(compressed, decoded, 0), values.length);
+    assertEquals(decoded, values);
+  }
+
+  @Test
+  public void testCompressionRatio()
+      throws Exception {
+    int numValues = 1000;
+    ByteBuffer rawInput = ByteBuffer.allocateDirect(numValues * Long.BYTES);
+    long timestamp = System.currentTimeMillis();
+    for (int i = 0; i < numValues; i++) {
+      // Regular intervals with a few out-of-order values
+      rawInput.putLong(i % 100 == 99 ? timestamp - 1_000_000 : timestamp + i * 1000L);
+    }
+    rawInput.flip();
+    int rawSize = rawInput.limit();
+
+    // Frame-of-reference: 21 bits per value
+    assertTrue(compress(ChunkCompressionType.FOR, Long.BYTES, rawInput.duplicate()).limit() < rawSize / 2);
+    // Delta-of-delta: constant deltas, the ones around the outliers are stored as exceptions
+    assertTrue(compress(ChunkCompressionType.DELTA_OF_DELTA, Long.BYTES, rawInput.duplicate()).limit() < rawSize / 20);
+  }
+
+  @Test
+  public void testValueSizeRequired() {
+    for (ChunkCompressionType compressionType : NUMERIC_TYPES) {
+      expectThrows(IllegalArgumentException.class, () -> ChunkCompressorFactory.getCompressor(compressionType));
+      expectThrows(IllegalArgumentException.class, () -> ChunkCompressorFactory.getCompressor(compressionType, 16));
+      assertEquals(ChunkCompressorFactory.getCompressor(compressionType, Integer.BYTES).compressionType(),
+          compressionType);
+    }
+    assertEquals(ChunkCompressorFactory.getCompressor(ChunkCompressionType.LZ4, Long.BYTES).compressionType(),
+        ChunkCompressionType.LZ4);
+  }
+
+  private static ByteBuffer compress(ChunkCompressionType compressionType, int valueSize, ByteBuffer rawInput)
+      throws Exception {
+    ChunkCompressor compressor = ChunkCompressorFactory.getCompressor(compressionType, valueSize);
+    assertEquals(compressor.compressionType(), compressionType);
+    ByteBuffer compressed = ByteBuffer.allocateDirect(compressor.maxCompressedSize(rawInput.remaining()));
+    compressor.compress(rawInput, compressed);
+    return compressed;
+  }
+}
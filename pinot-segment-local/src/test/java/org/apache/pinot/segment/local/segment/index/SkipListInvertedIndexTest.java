@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.File;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.inv.OnHeapSkipListInvertedIndexCreator;
+import org.apache.pinot.segment.local.segment.index.readers.SkipListInvertedIndexReader;
+import org.apache.pinot.segment.local.segment.index.skiplist.SkipListIndexPlugin;
+import org.apache.pinot.segment.spi.Constants;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader.PostingListIterator;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+
+public class SkipListInvertedIndexTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "SkipListInvertedIndexTest");
+  private static final int NUM_DOCS = 100_000;
+  private static final int NUM_DOCS_PER_BLOCK = 64;
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    if (TEMP_DIR.exists()) {
+      FileUtils.forceDelete(TEMP_DIR);
+    }
+    FileUtils.forceMkdir(TEMP_DIR);
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws Exception {
+    FileUtils.deleteDirectory(TEMP_DIR);
+  }
+
+  @Test
+  public void testSingleValue()
+      throws Exception {
+    String column = "svCol";
+    // Dict id 0: consecutive runs, 1: every 3rd doc, 2: sparse with large gaps, 3: single doc, 4: empty, 5: the rest
+    int cardinality = 6;
+    Random random = new Random(42);
+    MutableRoaringBitmap[] expected = new MutableRoaringBitmap[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      expected[i] = new MutableRoaringBitmap();
+    }
+    try (OnHeapSkipListInvertedIndexCreator creator = new OnHeapSkipListInvertedIndexCreator(TEMP_DIR, column,
+        cardinality, NUM_DOCS_PER_BLOCK)) {
+      for (int docId = 0; docId < NUM_DOCS; docId++) {
+        int dictId;
+        if (docId % 1000 < 300) {
+          dictId = 0;
+        } else if (docId % 3 == 0) {
+          dictId = 1;
+        } else if (random.nextInt(5000) == 0) {
+          dictId = 2;
+        } else if (docId == 54321) {
+          dictId = 3;
+        } else {
+          dictId = 5;
+        }
+        creator.add(dictId);
+        expected[dictId].add(docId);
+      }
+      creator.seal();
+    }
+    verify(column, expected, random);
+  }
+
+  @Test
+  public void testMultiValue()
+      throws Exception {
+    String column = "mvCol";
+    int cardinality = 20;
+    Random random = new Random(123);
+    MutableRoaringBitmap[] expected = new MutableRoaringBitmap[cardinality];
+    for (int i = 0; i < cardinality; i++) {
+      expected[i] = new MutableRoaringBitmap();
+    }
+    int[] dictIds = new int[5];
+    try (OnHeapSkipListInvertedIndexCreator creator = new OnHeapSkipListInvertedIndexCreator(TEMP_DIR, column,
+        cardinality, NUM_DOCS_PER_BLOCK)) {
+      for (int docId = 0; docId < NUM_DOCS; docId++) {
+        int numValues = 1 + random.nextInt(dictIds.length);
+        for (int i = 0; i < numValues; i++) {
+          // Skew the distribution so that the posting lists have different densities
+          dictIds[i] = (int) (cardinality * Math.pow(random.nextDouble(), 3));
+          expected[dictIds[i]].add(docId);
+        }
+        creator.add(dictIds, numValues);
+      }
+      creator.seal();
+    }
+    verify(column, expected, random);
+  }
+
+  private void verify(String column, MutableRoaringBitmap[] expected, Random random)
+      throws Exception {
+    File indexFile = new File(TEMP_DIR, column + V1Constants.Indexes.SKIP_LIST_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(indexFile);
+        SkipListInvertedIndexReader reader = new SkipListInvertedIndexReader(dataBuffer)) {
+      assertEquals(reader.getCardinality(), expected.length);
+      for (int dictId = 0; dictId < expected.length; dictId++) {
+        assertEquals(reader.getNumDocs(dictId), expected[dictId].getCardinality());
+        assertEquals(reader.getDocIds(dictId), expected[dictId]);
+
+        // Iterate with next()
+        PostingListIterator postingList = reader.getPostingList(dictId);
+        assertEquals(postingList.getNumDocs(), expected[dictId].getCardinality());
+        PeekableIntIterator expectedIterator = expected[dictId].getIntIterator();
+        while (expectedIterator.hasNext()) {
+          assertEquals(postingList.next(), expectedIterator.next());
+        }
+        assertEquals(postingList.next(), Constants.EOF);
+
+        // Mix advance() with short and long skips and next()
+        for (int maxSkip : new int[]{10, 1000, 50000}) {
+          postingList = reader.getPostingList(dictId);
+          expectedIterator = expected[dictId].getIntIterator();
+          int targetDocId = 0;
+          while (true) {
+            targetDocId += random.nextInt(maxSkip);
+            expectedIterator.advanceIfNeeded(targetDocId);
+            int expectedDocId = expectedIterator.hasNext() ? expectedIterator.next() : Constants.EOF;
+            assertEquals(postingList.advance(targetDocId), expectedDocId);
+            if (expectedDocId == Constants.EOF) {
+              break;
+            }
+            if (random.nextBoolean()) {
+              expectedDocId = expectedIterator.hasNext() ? expectedIterator.next() : Constants.EOF;
+              assertEquals(postingList.next(), expectedDocId);
+              if (expectedDocId == Constants.EOF) {
+                break;
+              }
+            }
+            targetDocId = expectedDocId + 1;
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testStandardIndex() {
+    assertEquals(StandardIndexes.skipList(), new SkipListIndexPlugin().getIndexType(),
+        "Standard index should be equal to the instance returned by the plugin");
+  }
+
+  public static class ConfTest extends AbstractSerdeIndexContract {
+
+    @Test
+    public void defaultDisabled() {
+      assertEquals(getActualConfig("dimInt", StandardIndexes.skipList()), IndexConfig.DISABLED);
+    }
+
+    @Test
+    public void newConfEnabled()
+        throws JsonProcessingException {
+      addFieldIndexConfig("{\n"
+          + "    \"name\": \"dimInt\",\n"
+          + "    \"indexes\" : {\n"
+          + "       \"skipList\": {}\n"
+          + "    }\n"
+          + " }");
+      assertEquals(getActualConfig("dimInt", StandardIndexes.skipList()), IndexConfig.ENABLED);
+    }
+  }
+}
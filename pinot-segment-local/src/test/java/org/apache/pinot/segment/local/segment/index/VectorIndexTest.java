@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.realtime.impl.vector.MutableVectorIndex;
+import org.apache.pinot.segment.local.segment.creator.impl.vector.OnHeapHnswVectorIndexCreator;
+import org.apache.pinot.segment.local.segment.index.readers.HnswVectorIndexReader;
+import org.apache.pinot.segment.local.segment.index.vector.VectorIndexPlugin;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig.DistanceFunction;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+
+public class VectorIndexTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "VectorIndexTest");
+  private static final int NUM_DOCS = 2000;
+  private static final int DIMENSION = 16;
+  private static final int NUM_QUERIES = 50;
+  private static final int TOP_K = 10;
+  // Every document with doc id multiple of this value has an empty vector, which should not be indexed
+  private static final int EMPTY_VECTOR_INTERVAL = 100;
+  private static final double MIN_RECALL = 0.9;
+
+  private final float[][] _vectors = new float[NUM_DOCS][];
+  private final float[][] _queries = new float[NUM_QUERIES][];
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    if (TEMP_DIR.exists()) {
+      FileUtils.forceDelete(TEMP_DIR);
+    }
+    FileUtils.forceMkdir(TEMP_DIR);
+    Random random = new Random(42);
+    for (int i = 0; i < NUM_DOCS; i++) {
+      _vectors[i] = i % EMPTY_VECTOR_INTERVAL == 0 ? new float[0] : randomVector(random);
+    }
+    for (int i = 0; i < NUM_QUERIES; i++) {
+      _queries[i] = randomVector(random);
+    }
+  }
+
+  private static float[] randomVector(Random random) {
+    float[] vector = new float[DIMENSION];
+    for (int i = 0; i < DIMENSION; i++) {
+      vector[i] = random.nextFloat() * 2 - 1;
+    }
+    return vector;
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws Exception {
+    FileUtils.deleteDirectory(TEMP_DIR);
+  }
+
+  @DataProvider
+  public static Object[][] distanceFunctions() {
+    return Arrays.stream(DistanceFunction.values()).map(distanceFunction -> new Object[]{distanceFunction})
+        .toArray(Object[][]::new);
+  }
+
+  @Test(dataProvider = "distanceFunctions")
+  public void testImmutableIndex(DistanceFunction distanceFunction)
+      throws Exception {
+    String column = "vectorCol_" + distanceFunction;
+    VectorIndexConfig config = new VectorIndexConfig(DIMENSION, distanceFunction);
+    try (OnHeapHnswVectorIndexCreator creator = new OnHeapHnswVectorIndexCreator(TEMP_DIR, column, config)) {
+      for (float[] vector : _vectors) {
+        Object[] values = new Object[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+          values[i] = vector[i];
+        }
+        creator.add(values, null);
+      }
+      creator.seal();
+    }
+
+    File indexFile = new File(TEMP_DIR, column + V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(indexFile);
+        VectorIndexReader reader = new HnswVectorIndexReader(dataBuffer, config.getEfSearch())) {
+      assertEquals(reader.getVectorDimension(), DIMENSION);
+      assertEquals(reader.getDistanceFunction(), distanceFunction);
+      assertRecall(reader, distanceFunction);
+    }
+  }
+
+  @Test
+  public void testMutableIndex() {
+    VectorIndexConfig config = new VectorIndexConfig(DIMENSION, DistanceFunction.EUCLIDEAN);
+    try (MutableVectorIndex mutableIndex = new MutableVectorIndex(config)) {
+      assertTrue(mutableIndex.getDocIds(_queries[0], TOP_K).isEmpty());
+      for (int i = 0; i < _vectors.length; i++) {
+        mutableIndex.add(i, _vectors[i]);
+      }
+      assertRecall(mutableIndex, DistanceFunction.EUCLIDEAN);
+    }
+  }
+
+  @Test
+  public void testMutableIndexWithSkippedDocs() {
+    VectorIndexConfig config = new VectorIndexConfig(DIMENSION, DistanceFunction.EUCLIDEAN);
+    try (MutableVectorIndex mutableIndex = new MutableVectorIndex(config)) {
+      // Only index the vectors of the odd documents, and skip a vector with the wrong dimension
+      mutableIndex.add(0, new float[DIMENSION + 1]);
+      for (int i = 1; i < _vectors.length; i += 2) {
+        mutableIndex.add(i, _vectors[i]);
+      }
+      for (int i = 1; i < _vectors.length; i += 200) {
+        ImmutableRoaringBitmap docIds = mutableIndex.getDocIds(_vectors[i], 1);
+        assertEquals(docIds.getCardinality(), 1);
+        assertTrue(docIds.contains(i));
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyIndex()
+      throws Exception {
+    String column = "emptyVectorCol";
+    VectorIndexConfig config = new VectorIndexConfig(DIMENSION, DistanceFunction.EUCLIDEAN);
+    try (OnHeapHnswVectorIndexCreator creator = new OnHeapHnswVectorIndexCreator(TEMP_DIR, column, config)) {
+      creator.add(new float[0]);
+      creator.seal();
+    }
+    File indexFile = new File(TEMP_DIR, column + V1Constants.Indexes.VECTOR_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(indexFile);
+        VectorIndexReader reader = new HnswVectorIndexReader(dataBuffer, config.getEfSearch())) {
+      assertTrue(reader.getDocIds(_queries[0], TOP_K).isEmpty());
+    }
+  }
+
+  private void assertRecall(VectorIndexReader reader, DistanceFunction distanceFunction) {
+    int numMatches = 0;
+    for (float[] query : _queries) {
+      ImmutableRoaringBitmap docIds = reader.getDocIds(query, TOP_K);
+      assertEquals(docIds.getCardinality(), TOP_K);
+      for (int expectedDocId : getExactTopK(query, distanceFunction)) {
+        if (docIds.contains(expectedDocId)) {
+          numMatches++;
+        }
+      }
+      for (int docId : docIds.toArray()) {
+        assertFalse(docId % EMPTY_VECTOR_INTERVAL == 0, "Documents with empty vector should not be indexed");
+      }
+    }
+    double recall = (double) numMatches / (NUM_QUERIES * TOP_K);
+    assertTrue(recall >= MIN_RECALL, "Recall: " + recall + " is lower than: " + MIN_RECALL);
+  }
+
+  private int[] getExactTopK(float[] query, DistanceFunction distanceFunction) {
+    return IntStream.range(0, NUM_DOCS).filter(docId -> _vectors[docId].length == DIMENSION).boxed()
+        .sorted((docId1, docId2) -> Float.compare(distanceFunction.distance(query, _vectors[docId1]),
+            distanceFunction.distance(query, _vectors[docId2]))).limit(TOP_K).mapToInt(Integer::intValue).toArray();
+  }
+
+  @Test
+  public void testStandardIndex() {
+    assertEquals(StandardIndexes.vector(), new VectorIndexPlugin().getIndexType(),
+        "Standard index should be equal to the instance returned by the plugin");
+  }
+
+  public static class ConfTest extends AbstractSerdeIndexContract {
+
+    @Test
+    public void defaultDisabled() {
+      assertEquals(getActualConfig("dimInt", StandardIndexes.vector()), VectorIndexConfig.DISABLED);
+    }
+
+    @Test
+    public void newConfEnabled()
+        throws JsonProcessingException {
+      addFieldIndexConfig("{\n"
+          + "    \"name\": \"dimInt\",\n"
+          + "    \"encodingType\": \"RAW\",\n"
+          + "    \"indexes\" : {\n"
+          + "       \"vector\": {\n"
+          + "         \"vectorDimension\": 128,\n"
+          + "         \"distanceFunction\": \"COSINE\",\n"
+          + "         \"efSearch\": 200\n"
+          + "       }\n"
+          + "    }\n"
+          + " }");
+      VectorIndexConfig config = getActualConfig("dimInt", StandardIndexes.vector());
+      assertTrue(config.isEnabled());
+      assertEquals(config.getVectorDimension(), 128);
+      assertEquals(config.getDistanceFunction(), DistanceFunction.COSINE);
+      assertEquals(config.getMaxConnections(), VectorIndexConfig.DEFAULT_MAX_CONNECTIONS);
+      assertEquals(config.getEfConstruction(), VectorIndexConfig.DEFAULT_EF_CONSTRUCTION);
+      assertEquals(config.getEfSearch(), 200);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.File;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.segment.creator.impl.zonemap.OnHeapZoneMapIndexCreator;
+import org.apache.pinot.segment.local.segment.index.readers.ZoneMapIndexReaderImpl;
+import org.apache.pinot.segment.local.segment.index.zonemap.ZoneMapIndexPlugin;
+import org.apache.pinot.segment.spi.V1Constants;
+import org.apache.pinot.segment.spi.index.StandardIndexes;
+import org.apache.pinot.segment.spi.index.reader.ZoneMapIndexReader;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.config.table.IndexConfig;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+
+public class ZoneMapIndexTest {
+  private static final File TEMP_DIR = new File(FileUtils.getTempDirectory(), "ZoneMapIndexTest");
+
+  @BeforeClass
+  public void setUp()
+      throws Exception {
+    if (TEMP_DIR.exists()) {
+      FileUtils.forceDelete(TEMP_DIR);
+    }
+    FileUtils.forceMkdir(TEMP_DIR);
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws Exception {
+    FileUtils.deleteDirectory(TEMP_DIR);
+  }
+
+  @Test
+  public void testLongZoneMap()
+      throws Exception {
+    String column = "longCol";
+    int numDocsPerZone = 100;
+    int numDocs = 250;
+    try (OnHeapZoneMapIndexCreator creator = new OnHeapZoneMapIndexCreator(TEMP_DIR, column, DataType.LONG,
+        numDocsPerZone)) {
+      for (int i = 0; i < numDocs; i++) {
+        // Values in zone i are within [1000 * i - 50, 1000 * i + 49]
+        creator.add((long) 1000 * (i / numDocsPerZone) + (i % numDocsPerZone) - 50, -1);
+        if (i % 10 == 0) {
+          creator.setNull(i);
+        }
+      }
+      creator.seal();
+    }
+
+    File indexFile = new File(TEMP_DIR, column + V1Constants.Indexes.ZONE_MAP_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(indexFile);
+        ZoneMapIndexReader reader = new ZoneMapIndexReaderImpl(dataBuffer, DataType.LONG)) {
+      assertEquals(reader.getStoredType(), DataType.LONG);
+      assertEquals(reader.getNumDocsPerZone(), numDocsPerZone);
+      assertEquals(reader.getNumZones(), 3);
+      for (int i = 0; i < 2; i++) {
+        assertEquals(reader.getMinLong(i), 1000L * i - 50);
+        assertEquals(reader.getMaxLong(i), 1000L * i + 49);
+        assertEquals(reader.getNullCount(i), 10);
+      }
+      // Last zone is partial
+      assertEquals(reader.getMinLong(2), 1950L);
+      assertEquals(reader.getMaxLong(2), 1999L);
+      assertEquals(reader.getNullCount(2), 5);
+    }
+  }
+
+  @Test
+  public void testDoubleZoneMap()
+      throws Exception {
+    String column = "doubleCol";
+    int numDocsPerZone = 10;
+    try (OnHeapZoneMapIndexCreator creator = new OnHeapZoneMapIndexCreator(TEMP_DIR, column, DataType.FLOAT,
+        numDocsPerZone)) {
+      for (int i = 0; i < 20; i++) {
+        creator.add(i * 0.5f, -1);
+      }
+      // NaN makes the zone unprunable
+      creator.add(Float.NaN, -1);
+      creator.add(1.5f, -1);
+      creator.seal();
+    }
+
+    File indexFile = new File(TEMP_DIR, column + V1Constants.Indexes.ZONE_MAP_INDEX_FILE_EXTENSION);
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.mapReadOnlyBigEndianFile(indexFile);
+        ZoneMapIndexReader reader = new ZoneMapIndexReaderImpl(dataBuffer, DataType.FLOAT)) {
+      assertEquals(reader.getNumZones(), 3);
+      assertEquals(reader.getMinDouble(0), 0.0);
+      assertEquals(reader.getMaxDouble(0), 4.5);
+      assertEquals(reader.getMinDouble(1), 5.0);
+      assertEquals(reader.getMaxDouble(1), 9.5);
+      assertEquals(reader.getMinDouble(2), Double.NEGATIVE_INFINITY);
+      assertEquals(reader.getMaxDouble(2), Double.POSITIVE_INFINITY);
+      assertEquals(reader.getNullCount(2), 0);
+    }
+  }
+
+  @Test
+  public void testStandardIndex() {
+    assertEquals(StandardIndexes.zoneMap(), new ZoneMapIndexPlugin().getIndexType(),
+        "Standard index should be equal to the instance returned by the plugin");
+  }
+
+  public static class ConfTest extends AbstractSerdeIndexContract {
+
+    @Test
+    public void defaultDisabled() {
+      assertEquals(getActualConfig("dimInt", StandardIndexes.zoneMap()), IndexConfig.DISABLED);
+    }
+
+    @Test
+    public void newConfEnabled()
+        throws JsonProcessingException {
+      addFieldIndexConfig("{\n"
+          + "    \"name\": \"dimInt\",\n"
+          + "    \"encodingType\": \"RAW\",\n"
+          + "    \"indexes\" : {\n"
+          + "       \"zoneMap\": {}\n"
+          + "    }\n"
+          + " }");
+      assertEquals(getActualConfig("dimInt", StandardIndexes.zoneMap()), IndexConfig.ENABLED);
+    }
+  }
+}
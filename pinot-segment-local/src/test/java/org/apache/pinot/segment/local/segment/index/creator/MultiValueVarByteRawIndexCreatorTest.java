@@ -57,6 +57,7 @@ public class MultiValueVarByteRawIndexCreatorTest {
   @DataProvider
   public Object[][] params() {
     return Arrays.stream(ChunkCompressionType.values())
+        .filter(compressionType -> !compressionType.isNumeric() && !compressionType.isPerValue())
         .flatMap(chunkCompressionType -> IntStream.of(10, 15, 20, 1000).boxed()
             .flatMap(useFullSize -> Stream.of(true, false)
                 .flatMap(maxLength -> IntStream.range(1, 20).map(i -> i * 2 - 1).boxed()
@@ -58,11 +58,13 @@ public class VarByteChunkV4Test {
         {ChunkCompressionType.PASS_THROUGH, 20, 1024},
         {ChunkCompressionType.SNAPPY, 20, 1024},
         {ChunkCompressionType.ZSTANDARD, 20, 1024},
+        {ChunkCompressionType.FSST, 20, 1024},
         {ChunkCompressionType.LZ4, 2048, 1024},
         {ChunkCompressionType.LZ4_LENGTH_PREFIXED, 2048, 1024},
         {ChunkCompressionType.PASS_THROUGH, 2048, 1024},
         {ChunkCompressionType.SNAPPY, 2048, 1024},
-        {ChunkCompressionType.ZSTANDARD, 2048, 1024}
+        {ChunkCompressionType.ZSTANDARD, 2048, 1024},
+        {ChunkCompressionType.FSST, 2048, 1024}
     };
   }
 
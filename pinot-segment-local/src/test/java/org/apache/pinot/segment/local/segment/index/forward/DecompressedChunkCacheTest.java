@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.segment.index.forward;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.apache.pinot.segment.local.io.writer.impl.FixedByteChunkSVForwardIndexWriter;
+import org.apache.pinot.segment.local.io.writer.impl.VarByteChunkSVForwardIndexWriter;
+import org.apache.pinot.segment.local.io.writer.impl.VarByteChunkSVForwardIndexWriterV4;
+import org.apache.pinot.segment.local.segment.index.readers.forward.ChunkReaderContext;
+import org.apache.pinot.segment.local.segment.index.readers.forward.DecompressedChunkCache;
+import org.apache.pinot.segment.local.segment.index.readers.forward.FixedByteChunkSVForwardIndexReader;
+import org.apache.pinot.segment.local.segment.index.readers.forward.VarByteChunkSVForwardIndexReader;
+import org.apache.pinot.segment.local.segment.index.readers.forward.VarByteChunkSVForwardIndexReaderV4;
+import org.apache.pinot.segment.spi.compression.ChunkCompressionType;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Unit test for {@link DecompressedChunkCache} and its use by the chunk-based raw forward index readers.
+ */
+public class DecompressedChunkCacheTest {
+  private static final int NUM_VALUES = 10009;
+  private static final int NUM_DOCS_PER_CHUNK = 1000;
+  private static final int NUM_CHUNKS = (NUM_VALUES + NUM_DOCS_PER_CHUNK - 1) / NUM_DOCS_PER_CHUNK;
+  private static final File TEST_FILE =
+      new File(FileUtils.getTempDirectory(), DecompressedChunkCacheTest.class.getSimpleName());
+  private static final Random RANDOM = new Random();
+
+  @AfterMethod
+  public void tearDown() {
+    DecompressedChunkCache.init(0, null);
+    FileUtils.deleteQuietly(TEST_FILE);
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    DecompressedChunkCache.init(0, null);
+    assertNull(DecompressedChunkCache.getInstance());
+  }
+
+  @Test
+  public void testFixedByteChunkSharedAcrossContexts()
+      throws Exception {
+    DecompressedChunkCache.init(1024 * 1024, null);
+    DecompressedChunkCache chunkCache = DecompressedChunkCache.getInstance();
+    assertNotNull(chunkCache);
+
+    long[] expected = new long[NUM_VALUES];
+    try (FixedByteChunkSVForwardIndexWriter writer = new FixedByteChunkSVForwardIndexWriter(TEST_FILE,
+        ChunkCompressionType.LZ4, NUM_VALUES, NUM_DOCS_PER_CHUNK, Long.BYTES, 3)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        expected[i] = RANDOM.nextLong();
+        writer.putLong(expected[i]);
+      }
+    }
+
+    try (PinotDataBuffer buffer = PinotDataBuffer.mapReadOnlyBigEndianFile(TEST_FILE);
+        FixedByteChunkSVForwardIndexReader reader = new FixedByteChunkSVForwardIndexReader(buffer, DataType.LONG)) {
+      try (ChunkReaderContext context = reader.createContext()) {
+        for (int i = 0; i < NUM_VALUES; i++) {
+          assertEquals(reader.getLong(i, context), expected[i]);
+        }
+      }
+      // Chunks are not admitted on their first access
+      assertEquals(chunkCache.getNumHits(), 0);
+      assertEquals(chunkCache.getNumMisses(), NUM_CHUNKS);
+      assertEquals(chunkCache.getSizeInBytes(), 0);
+
+      // Chunks are admitted on their second access
+      try (ChunkReaderContext context = reader.createContext()) {
+        for (int i = 0; i < NUM_VALUES; i++) {
+          assertEquals(reader.getLong(i, context), expected[i]);
+        }
+      }
+      assertEquals(chunkCache.getNumHits(), 0);
+      assertEquals(chunkCache.getNumMisses(), 2 * NUM_CHUNKS);
+      assertTrue(chunkCache.getSizeInBytes() > 0);
+
+      // A new context (e.g. another query) gets the chunks from the cache
+      try (ChunkReaderContext context = reader.createContext()) {
+        for (int i = NUM_VALUES - 1; i >= 0; i--) {
+          assertEquals(reader.getLong(i, context), expected[i]);
+        }
+      }
+      assertEquals(chunkCache.getNumHits(), NUM_CHUNKS);
+      assertEquals(chunkCache.getNumMisses(), 2 * NUM_CHUNKS);
+      assertEquals(chunkCache.getHitRatePercent(), 33);
+    }
+    // Closing the reader (e.g. unloading the segment) invalidates its chunks
+    assertEquals(chunkCache.getSizeInBytes(), 0);
+  }
+
+  @Test
+  public void testVarByteChunks()
+      throws Exception {
+    DecompressedChunkCache.init(1024 * 1024, null);
+    DecompressedChunkCache chunkCache = DecompressedChunkCache.getInstance();
+
+    String[] expected = new String[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i++) {
+      expected[i] = "value_" + RANDOM.nextInt(1000);
+    }
+    try (VarByteChunkSVForwardIndexWriter writer = new VarByteChunkSVForwardIndexWriter(TEST_FILE,
+        ChunkCompressionType.ZSTANDARD, NUM_VALUES, NUM_DOCS_PER_CHUNK, 10, 3)) {
+      for (String value : expected) {
+        writer.putString(value);
+      }
+    }
+    try (PinotDataBuffer buffer = PinotDataBuffer.mapReadOnlyBigEndianFile(TEST_FILE);
+        VarByteChunkSVForwardIndexReader reader = new VarByteChunkSVForwardIndexReader(buffer, DataType.STRING)) {
+      for (int iteration = 0; iteration < 3; iteration++) {
+        try (ChunkReaderContext context = reader.createContext()) {
+          for (int i = 0; i < NUM_VALUES; i++) {
+            assertEquals(reader.getString(i, context), expected[i]);
+          }
+        }
+      }
+      assertEquals(chunkCache.getNumHits(), NUM_CHUNKS);
+    }
+    assertEquals(chunkCache.getSizeInBytes(), 0);
+  }
+
+  @Test
+  public void testVarByteChunksV4()
+      throws Exception {
+    DecompressedChunkCache.init(1024 * 1024, null);
+    DecompressedChunkCache chunkCache = DecompressedChunkCache.getInstance();
+
+    String[] expected = new String[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i++) {
+      expected[i] = "value_" + RANDOM.nextInt(1000);
+    }
+    try (VarByteChunkSVForwardIndexWriterV4 writer = new VarByteChunkSVForwardIndexWriterV4(TEST_FILE,
+        ChunkCompressionType.LZ4, 4096)) {
+      for (String value : expected) {
+        writer.putString(value);
+      }
+    }
+    try (PinotDataBuffer buffer = PinotDataBuffer.mapReadOnlyBigEndianFile(TEST_FILE);
+        VarByteChunkSVForwardIndexReaderV4 reader = new VarByteChunkSVForwardIndexReaderV4(buffer, DataType.STRING)) {
+      try (VarByteChunkSVForwardIndexReaderV4.ReaderContext context = reader.createContext()) {
+        for (int i = 0; i < NUM_VALUES; i++) {
+          assertEquals(reader.getString(i, context), expected[i]);
+        }
+      }
+      long numMisses = chunkCache.getNumMisses();
+      assertEquals(chunkCache.getNumHits(), 0);
+      assertEquals(chunkCache.getSizeInBytes(), 0);
+      for (int iteration = 0; iteration < 2; iteration++) {
+        try (VarByteChunkSVForwardIndexReaderV4.ReaderContext context = reader.createContext()) {
+          for (int i = NUM_VALUES - 1; i >= 0; i--) {
+            assertEquals(reader.getString(i, context), expected[i]);
+          }
+        }
+      }
+      assertEquals(chunkCache.getNumHits(), numMisses);
+      assertEquals(chunkCache.getNumMisses(), 2 * numMisses);
+    }
+    assertEquals(chunkCache.getSizeInBytes(), 0);
+  }
+
+  @Test
+  public void testEviction()
+      throws Exception {
+    // Room for about 2 chunks of 1000 LONG values
+    DecompressedChunkCache.init(2 * NUM_DOCS_PER_CHUNK * Long.BYTES + 100, null);
+    DecompressedChunkCache chunkCache = DecompressedChunkCache.getInstance();
+
+    try (FixedByteChunkSVForwardIndexWriter writer = new FixedByteChunkSVForwardIndexWriter(TEST_FILE,
+        ChunkCompressionType.SNAPPY, NUM_VALUES, NUM_DOCS_PER_CHUNK, Long.BYTES, 3)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        writer.putLong(i);
+      }
+    }
+    try (PinotDataBuffer buffer = PinotDataBuffer.mapReadOnlyBigEndianFile(TEST_FILE);
+        FixedByteChunkSVForwardIndexReader reader = new FixedByteChunkSVForwardIndexReader(buffer, DataType.LONG);
+        ChunkReaderContext context = reader.createContext()) {
+      for (int iteration = 0; iteration < 2; iteration++) {
+        for (int i = 0; i < NUM_VALUES; i++) {
+          assertEquals(reader.getLong(i, context), i);
+          assertTrue(chunkCache.getSizeInBytes() <= 2 * NUM_DOCS_PER_CHUNK * Long.BYTES + 100);
+        }
+      }
+      assertTrue(chunkCache.getSizeInBytes() > 0);
+    }
+  }
+
+  @Test
+  public void testReleaseAndInvalidate() {
+    DecompressedChunkCache.init(1024 * 1024, null);
+    DecompressedChunkCache chunkCache = DecompressedChunkCache.getInstance();
+    long readerId = DecompressedChunkCache.nextReaderId();
+    long otherReaderId = DecompressedChunkCache.nextReaderId();
+    ByteBuffer chunk = ByteBuffer.allocate(Long.BYTES);
+    chunk.putLong(0, 123L);
+
+    // Admitted on the second access only
+    chunkCache.put(readerId, 0, chunk);
+    assertEquals(chunkCache.getSizeInBytes(), 0);
+    chunkCache.put(readerId, 0, chunk);
+    chunkCache.put(otherReaderId, 0, chunk);
+    chunkCache.put(otherReaderId, 0, chunk);
+    assertEquals(chunkCache.getSizeInBytes(), 2 * Long.BYTES);
+    assertEquals(chunk.remaining(), Long.BYTES);
+
+    // The chunk held by a reader context stays readable after being invalidated
+    DecompressedChunkCache.CachedChunk cachedChunk = chunkCache.get(readerId, 0);
+    assertNotNull(cachedChunk);
+    ByteBuffer view = cachedChunk.getBuffer();
+    chunkCache.invalidate(readerId);
+    assertEquals(chunkCache.getSizeInBytes(), Long.BYTES);
+    assertNull(chunkCache.get(readerId, 0));
+    assertEquals(view.getLong(0), 123L);
+    cachedChunk.release();
+
+    // Chunks of other readers are not invalidated
+    DecompressedChunkCache.CachedChunk otherCachedChunk = chunkCache.get(otherReaderId, 0);
+    assertNotNull(otherCachedChunk);
+    assertEquals(otherCachedChunk.getBuffer().getLong(0), 123L);
+    otherCachedChunk.release();
+    chunkCache.invalidate(otherReaderId);
+    assertEquals(chunkCache.getSizeInBytes(), 0);
+    assertNull(chunkCache.get(otherReaderId, 0));
+  }
+}
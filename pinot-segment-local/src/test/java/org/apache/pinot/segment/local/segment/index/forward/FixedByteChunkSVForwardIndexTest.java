@@ -55,7 +55,7 @@ public class FixedByteChunkSVForwardIndexTest {
 
   @DataProvider(name = "combinations")
   public static Object[][] combinations() {
-    return Arrays.stream(ChunkCompressionType.values())
+    return Arrays.stream(ChunkCompressionType.values()).filter(compressionType -> !compressionType.isPerValue())
         .flatMap(chunkCompressionType -> IntStream.of(2, 3, 4)
             .mapToObj(version -> new Object[]{chunkCompressionType, version}))
         .toArray(Object[][]::new);
@@ -253,6 +253,125 @@ public class FixedByteChunkSVForwardIndexTest {
     FileUtils.deleteQuietly(outFileEightByte);
   }
 
+  @Test(dataProvider = "combinations")
+  public void testReadValuesSV(ChunkCompressionType compressionType, int version)
+      throws Exception {
+    // Sorted-ish values so that the numeric codecs actually bit-pack
+    int[] expectedInts = new int[NUM_VALUES];
+    long[] expectedLongs = new long[NUM_VALUES];
+    long timestamp = System.currentTimeMillis();
+    for (int i = 0; i < NUM_VALUES; i++) {
+      timestamp += RANDOM.nextInt(100) - 10;
+      expectedInts[i] = (int) timestamp;
+      expectedLongs[i] = timestamp;
+    }
+
+    File intFile = new File(TEST_FILE);
+    File longFile = new File(TEST_FILE + "8byte");
+    FileUtils.deleteQuietly(intFile);
+    FileUtils.deleteQuietly(longFile);
+    try (FixedByteChunkSVForwardIndexWriter intWriter = new FixedByteChunkSVForwardIndexWriter(intFile,
+        compressionType, NUM_VALUES, NUM_DOCS_PER_CHUNK, Integer.BYTES, version);
+        FixedByteChunkSVForwardIndexWriter longWriter = new FixedByteChunkSVForwardIndexWriter(longFile,
+            compressionType, NUM_VALUES, NUM_DOCS_PER_CHUNK, Long.BYTES, version)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        intWriter.putInt(expectedInts[i]);
+        longWriter.putLong(expectedLongs[i]);
+      }
+    }
+
+    try (ForwardIndexReader<ChunkReaderContext> intReader = version >= 4
+        ? new FixedBytePower2ChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(intFile), DataType.INT)
+        : new FixedByteChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(intFile), DataType.INT);
+        ChunkReaderContext intReaderContext = intReader.createContext();
+        ForwardIndexReader<ChunkReaderContext> longReader = version >= 4
+            ? new FixedBytePower2ChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(longFile),
+            DataType.LONG)
+            : new FixedByteChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(longFile),
+                DataType.LONG);
+        ChunkReaderContext longReaderContext = longReader.createContext()) {
+      // Contiguous ranges within a chunk, spanning whole chunks, and ending in the partial last chunk
+      int[][] ranges = new int[][]{{0, 100}, {10, 7000}, {0, NUM_VALUES}, {5003, 5003}, {9000, NUM_VALUES - 9000}};
+      for (int[] range : ranges) {
+        int length = range[1];
+        int[] docIds = new int[length];
+        for (int i = 0; i < length; i++) {
+          docIds[i] = range[0] + i;
+        }
+        intReader.prefetch(docIds, length);
+        longReader.prefetch(docIds, length);
+        int[] intValues = new int[length];
+        long[] longValues = new long[length];
+        intReader.readValuesSV(docIds, length, intValues, intReaderContext);
+        longReader.readValuesSV(docIds, length, longValues, longReaderContext);
+        Assert.assertEquals(intValues, Arrays.copyOfRange(expectedInts, range[0], range[0] + length));
+        Assert.assertEquals(longValues, Arrays.copyOfRange(expectedLongs, range[0], range[0] + length));
+      }
+    }
+
+    FileUtils.deleteQuietly(intFile);
+    FileUtils.deleteQuietly(longFile);
+  }
+
+  @Test(dataProvider = "combinations")
+  public void testReadFloatingPointValuesSV(ChunkCompressionType compressionType, int version)
+      throws Exception {
+    // Slowly varying values so that the XOR codec actually compresses
+    float[] expectedFloats = new float[NUM_VALUES];
+    double[] expectedDoubles = new double[NUM_VALUES];
+    double value = 100;
+    for (int i = 0; i < NUM_VALUES; i++) {
+      value += RANDOM.nextInt(5) - 2;
+      expectedFloats[i] = (float) value;
+      expectedDoubles[i] = value;
+    }
+
+    File floatFile = new File(TEST_FILE);
+    File doubleFile = new File(TEST_FILE + "8byte");
+    FileUtils.deleteQuietly(floatFile);
+    FileUtils.deleteQuietly(doubleFile);
+    try (FixedByteChunkSVForwardIndexWriter floatWriter = new FixedByteChunkSVForwardIndexWriter(floatFile,
+        compressionType, NUM_VALUES, NUM_DOCS_PER_CHUNK, Float.BYTES, version);
+        FixedByteChunkSVForwardIndexWriter doubleWriter = new FixedByteChunkSVForwardIndexWriter(doubleFile,
+            compressionType, NUM_VALUES, NUM_DOCS_PER_CHUNK, Double.BYTES, version)) {
+      for (int i = 0; i < NUM_VALUES; i++) {
+        floatWriter.putFloat(expectedFloats[i]);
+        doubleWriter.putDouble(expectedDoubles[i]);
+      }
+    }
+
+    try (ForwardIndexReader<ChunkReaderContext> floatReader = version >= 4
+        ? new FixedBytePower2ChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(floatFile),
+        DataType.FLOAT)
+        : new FixedByteChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(floatFile), DataType.FLOAT);
+        ChunkReaderContext floatReaderContext = floatReader.createContext();
+        ForwardIndexReader<ChunkReaderContext> doubleReader = version >= 4
+            ? new FixedBytePower2ChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(doubleFile),
+            DataType.DOUBLE)
+            : new FixedByteChunkSVForwardIndexReader(PinotDataBuffer.mapReadOnlyBigEndianFile(doubleFile),
+                DataType.DOUBLE);
+        ChunkReaderContext doubleReaderContext = doubleReader.createContext()) {
+      // Contiguous ranges within a chunk, spanning whole chunks, and ending in the partial last chunk
+      int[][] ranges = new int[][]{{0, 100}, {10, 7000}, {0, NUM_VALUES}, {5003, 5003}, {9000, NUM_VALUES - 9000}};
+      for (int[] range : ranges) {
+        int length = range[1];
+        int[] docIds = new int[length];
+        for (int i = 0; i < length; i++) {
+          docIds[i] = range[0] + i;
+        }
+        float[] floatValues = new float[length];
+        double[] doubleValues = new double[length];
+        floatReader.readValuesSV(docIds, length, floatValues, floatReaderContext);
+        doubleReader.readValuesSV(docIds, length, doubleValues, doubleReaderContext);
+        Assert.assertEquals(floatValues, Arrays.copyOfRange(expectedFloats, range[0], range[0] + length));
+        Assert.assertEquals(doubleValues, Arrays.copyOfRange(expectedDoubles, range[0], range[0] + length));
+      }
+    }
+
+    FileUtils.deleteQuietly(floatFile);
+    FileUtils.deleteQuietly(doubleFile);
+  }
+
   /**
    * This test ensures that the reader can read in an data file from version 1.
    */
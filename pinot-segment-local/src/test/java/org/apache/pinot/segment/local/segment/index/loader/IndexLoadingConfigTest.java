@@ -74,9 +74,11 @@ public class IndexLoadingConfigTest {
         .setInvertedIndexColumns(Collections.singletonList("col1"))
         .setStarTreeIndexConfigs(Collections.singletonList(stIdxCfg))
         .setFieldConfigList(Collections.singletonList(col2Cfg)).build();
+    tableConfig.getIndexingConfig().setStarTreeBuildNumThreads(4);
     IndexLoadingConfig ilc = new IndexLoadingConfig(idmCfg, tableConfig, schema);
     // Check index configs for default tier
     assertEquals(ilc.getStarTreeIndexConfigs().size(), 1);
+    assertEquals(ilc.getStarTreeBuildNumThreads(), 4);
     Map<String, FieldIndexConfigs> allFieldCfgs = ilc.getFieldIndexConfigByColName();
     FieldIndexConfigs fieldCfgs = allFieldCfgs.get("col1");
     assertTrue(fieldCfgs.getConfig(StandardIndexes.inverted()).isEnabled());
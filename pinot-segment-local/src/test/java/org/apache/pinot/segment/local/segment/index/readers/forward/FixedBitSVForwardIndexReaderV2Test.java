@@ -98,6 +98,7 @@ public class FixedBitSVForwardIndexReaderV2Test {
             Assert.assertEquals(dictIdBuffer[j], values[sequentialDocIds[j]]);
           }
         }
+        reader.prefetch(_sparseDocIds, NUM_DOC_IDS);
         reader.readDictIds(_sparseDocIds, NUM_DOC_IDS, dictIdBuffer, null);
         for (int i = 0; i < NUM_DOC_IDS; i++) {
           Assert.assertEquals(dictIdBuffer[i], values[_sparseDocIds[i]]);
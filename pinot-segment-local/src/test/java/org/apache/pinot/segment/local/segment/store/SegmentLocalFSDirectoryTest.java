@@ -19,6 +19,7 @@
 package org.apache.pinot.segment.local.segment.store;
 
 import java.io.File;
+import java.util.Collections;
 import org.apache.commons.io.FileUtils;
 import org.apache.pinot.segment.spi.creator.SegmentVersion;
 import org.apache.pinot.segment.spi.index.StandardIndexes;
@@ -26,6 +27,7 @@ import org.apache.pinot.segment.spi.index.metadata.SegmentMetadataImpl;
 import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
 import org.apache.pinot.segment.spi.store.SegmentDirectory;
 import org.apache.pinot.segment.spi.store.SegmentDirectoryPaths;
+import org.apache.pinot.spi.utils.BufferAdvice;
 import org.apache.pinot.spi.utils.ReadMode;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -116,6 +118,40 @@ public class SegmentLocalFSDirectoryTest {
     }
   }
 
+  @Test
+  public void testPinnedIndex()
+      throws java.lang.Exception {
+    File pinTestDirectory = new File(SegmentLocalFSDirectoryTest.class.getName() + "-pin_test");
+    FileUtils.deleteQuietly(pinTestDirectory);
+    FileUtils.copyDirectory(_segmentDirectory.getPath().toFile(), pinTestDirectory);
+    try {
+      SegmentDirectory pinSegment = new SegmentLocalFSDirectory(pinTestDirectory, _metadata, ReadMode.mmap,
+          Collections.singletonMap(StandardIndexes.forward().getId(), BufferAdvice.PIN));
+      try (SegmentDirectory.Writer writer = pinSegment.createWriter()) {
+        PinotDataBuffer buffer = writer.newIndexFor("pinnedColumn", StandardIndexes.forward(), 1024);
+        loadData(buffer);
+        writer.save();
+        // Indexes are not pinned while writing
+        Assert.assertSame(writer.getIndexFor("pinnedColumn", StandardIndexes.forward()), buffer);
+      }
+
+      pinSegment = new SegmentLocalFSDirectory(pinTestDirectory, _metadata, ReadMode.mmap,
+          Collections.singletonMap(StandardIndexes.forward().getId(), BufferAdvice.PIN));
+      long pinnedBufferUsage = SegmentLocalFSDirectory.getPinnedBufferUsage();
+      try (SegmentDirectory.Reader reader = pinSegment.createReader()) {
+        PinotDataBuffer pinnedBuffer = reader.getIndexFor("pinnedColumn", StandardIndexes.forward());
+        verifyData(pinnedBuffer);
+        Assert.assertEquals(SegmentLocalFSDirectory.getPinnedBufferUsage(), pinnedBufferUsage + 1024);
+        // The pinned copy is shared by the readers
+        Assert.assertSame(reader.getIndexFor("pinnedColumn", StandardIndexes.forward()), pinnedBuffer);
+      }
+      pinSegment.close();
+      Assert.assertEquals(SegmentLocalFSDirectory.getPinnedBufferUsage(), pinnedBufferUsage);
+    } finally {
+      FileUtils.deleteQuietly(pinTestDirectory);
+    }
+  }
+
   @Test
   public void testDirectorySize()
       throws Exception {
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.startree.v2.builder;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+
+public class ParallelRadixSorterTest {
+  private static final Random RANDOM = new Random();
+  private static final int NUM_RECORDS = 300_000;
+  private static final int[] CARDINALITIES = new int[]{1, 5, 3000, 100_000};
+
+  private final ExecutorService _executorService = Executors.newFixedThreadPool(4);
+
+  @AfterClass
+  public void tearDown() {
+    _executorService.shutdown();
+  }
+
+  @Test
+  public void testSort()
+      throws Exception {
+    int numDimensions = CARDINALITIES.length;
+    int[][] records = new int[NUM_RECORDS][numDimensions];
+    try (PinotDataBuffer dataBuffer = PinotDataBuffer.allocateDirect((long) NUM_RECORDS * numDimensions * Integer.BYTES,
+        PinotDataBuffer.NATIVE_ORDER, "ParallelRadixSorterTest")) {
+      long offset = 0;
+      for (int i = 0; i < NUM_RECORDS; i++) {
+        for (int j = 0; j < numDimensions; j++) {
+          int dictId = RANDOM.nextInt(CARDINALITIES[j]);
+          records[i][j] = dictId;
+          dataBuffer.putInt(offset, dictId);
+          offset += Integer.BYTES;
+        }
+      }
+
+      // Sort should be stable, so the result should match the stable sort on the record ids
+      Integer[] expected = new Integer[NUM_RECORDS];
+      for (int i = 0; i < NUM_RECORDS; i++) {
+        expected[i] = i;
+      }
+      Comparator<Integer> comparator = (i1, i2) -> Arrays.compare(records[i1], records[i2]);
+      Arrays.sort(expected, comparator);
+
+      for (int parallelism : new int[]{1, 4}) {
+        int[] sortedRecordIds =
+            ParallelRadixSorter.sort(dataBuffer, NUM_RECORDS, CARDINALITIES, _executorService, parallelism);
+        for (int i = 0; i < NUM_RECORDS; i++) {
+          assertEquals(sortedRecordIds[i], (int) expected[i]);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.local.utils;
+
+import com.google.common.hash.BloomFilter;
+import java.util.stream.IntStream;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+public class BloomFilterSummaryUtilsTest {
+
+  @Test
+  public void testCreateAndReadBloomSummary()
+      throws Exception {
+    String bloomSummary = BloomFilterSummaryUtils.createBloomSummary(new int[]{1, 5, 10},
+        BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES);
+    assertNotNull(bloomSummary);
+    BloomFilter<CharSequence> bloomFilter = BloomFilterSummaryUtils.readBloomSummary(bloomSummary);
+    assertTrue(bloomFilter.mightContain("1"));
+    assertTrue(bloomFilter.mightContain("5"));
+    assertTrue(bloomFilter.mightContain("10"));
+
+    bloomSummary = BloomFilterSummaryUtils.createBloomSummary(new String[]{"foo", "bar"},
+        BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES);
+    assertNotNull(bloomSummary);
+    bloomFilter = BloomFilterSummaryUtils.readBloomSummary(bloomSummary);
+    assertTrue(bloomFilter.mightContain("foo"));
+    assertTrue(bloomFilter.mightContain("bar"));
+    assertFalse(bloomFilter.mightContain("baz"));
+  }
+
+  @Test
+  public void testSkipBloomSummary() {
+    assertNull(BloomFilterSummaryUtils.createBloomSummary(null, BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES));
+    assertNull(
+        BloomFilterSummaryUtils.createBloomSummary(new long[0], BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES));
+    // Too many values to fit into the max size with an acceptable fpp
+    int[] values = IntStream.range(0, 100_000).toArray();
+    assertNull(BloomFilterSummaryUtils.createBloomSummary(values, BloomFilterSummaryUtils.DEFAULT_MAX_SIZE_IN_BYTES));
+  }
+}
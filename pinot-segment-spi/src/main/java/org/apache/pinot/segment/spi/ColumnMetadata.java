@@ -73,6 +73,14 @@ public interface ColumnMetadata {
     return false;
   }
 
+  /**
+   * Returns the Base64 encoded small bloom filter on the values of the column, or {@code null} if not available.
+   */
+  @Nullable
+  default String getBloomSummary() {
+    return null;
+  }
+
   @JsonProperty
   boolean hasDictionary();
 
@@ -49,6 +49,9 @@ public class V1Constants {
     public static final String H3_INDEX_FILE_EXTENSION = ".h3.idx";
     public static final String BLOOM_FILTER_FILE_EXTENSION = ".bloom";
     public static final String NULLVALUE_VECTOR_FILE_EXTENSION = ".bitmap.nullvalue";
+    public static final String ZONE_MAP_INDEX_FILE_EXTENSION = ".zonemap";
+    public static final String VECTOR_INDEX_FILE_EXTENSION = ".vector.hnsw";
+    public static final String SKIP_LIST_INDEX_FILE_EXTENSION = ".skiplist.inv";
     public static final String LUCENE_TEXT_INDEX_DOCID_MAPPING_FILE_EXTENSION = ".lucene.mapping";
     public static final String LUCENE_TEXT_INDEX_FILE_EXTENSION = ".lucene.index";
   }
@@ -101,6 +104,7 @@ public class V1Constants {
       public static final String MIN_VALUE = "minValue";
       public static final String MAX_VALUE = "maxValue";
       public static final String MIN_MAX_VALUE_INVALID = "minMaxValueInvalid";
+      public static final String BLOOM_SUMMARY = "bloomSummary";
       public static final String PARTITION_FUNCTION = "partitionFunction";
       public static final String PARTITION_FUNCTION_CONFIG = "partitionFunctionConfig";
       public static final String NUM_PARTITIONS = "numPartitions";
@@ -19,7 +19,13 @@
 package org.apache.pinot.segment.spi.compression;
 
 public enum ChunkCompressionType {
-  PASS_THROUGH(0), SNAPPY(1), ZSTANDARD(2), LZ4(3), LZ4_LENGTH_PREFIXED(4);
+  PASS_THROUGH(0), SNAPPY(1), ZSTANDARD(2), LZ4(3), LZ4_LENGTH_PREFIXED(4),
+  // Numeric codecs, only applicable to fixed-width single-value INT/LONG chunks
+  FOR(5), DELTA(6), DELTA_OF_DELTA(7),
+  // Numeric codec, only applicable to fixed-width single-value FLOAT/DOUBLE chunks
+  GORILLA(8),
+  // String codec, only applicable to single-value STRING/BYTES values in the V4 raw forward index
+  FSST(9);
 
   private static final ChunkCompressionType[] VALUES = values();
 
@@ -33,6 +39,30 @@ public enum ChunkCompressionType {
     return _value;
   }
 
+  /**
+   * Returns whether this is a numeric codec, which needs to know the width of the values in the chunk and thus can only
+   * be used for fixed-width single-value data: INT/LONG for frame-of-reference, delta and delta-of-delta bit-packing,
+   * FLOAT/DOUBLE for Gorilla XOR encoding (see {@link #isFloatingPoint()}).
+   */
+  public boolean isNumeric() {
+    return this == FOR || this == DELTA || this == DELTA_OF_DELTA || this == GORILLA;
+  }
+
+  /**
+   * Returns whether this is a numeric codec for FLOAT/DOUBLE values.
+   */
+  public boolean isFloatingPoint() {
+    return this == GORILLA;
+  }
+
+  /**
+   * Returns whether this codec encodes every value on its own within uncompressed chunks, so that single values can be
+   * read without decompressing their chunk. Only supported by the V4 variable-length single-value raw forward index.
+   */
+  public boolean isPerValue() {
+    return this == FSST;
+  }
+
   public static ChunkCompressionType valueOf(int ordinal) {
     if (ordinal < 0 || ordinal >= VALUES.length) {
       throw new IllegalArgumentException("invalid ordinal " + ordinal);
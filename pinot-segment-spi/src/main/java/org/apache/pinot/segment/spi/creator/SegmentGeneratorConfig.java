@@ -108,6 +108,8 @@ public class SegmentGeneratorConfig implements Serializable {
   private RecordReaderConfig _readerConfig = null;
   private List<StarTreeIndexConfig> _starTreeIndexConfigs = null;
   private boolean _enableDefaultStarTree = false;
+  // Number of threads to build the star-trees, where multiple threads build the star-trees concurrently
+  private int _starTreeBuildNumThreads = 1;
   private String _creatorVersion = null;
   private SegmentNameGenerator _segmentNameGenerator = null;
   private SegmentPartitionConfig _segmentPartitionConfig = null;
@@ -183,6 +185,7 @@ public class SegmentGeneratorConfig implements Serializable {
       // Star-tree configs
       setStarTreeIndexConfigs(indexingConfig.getStarTreeIndexConfigs());
       setEnableDefaultStarTree(indexingConfig.isEnableDefaultStarTree());
+      setStarTreeBuildNumThreads(indexingConfig.getStarTreeBuildNumThreads());
 
       List<FieldConfig> fieldConfigList = tableConfig.getFieldConfigList();
       if (fieldConfigList != null) {
@@ -567,6 +570,14 @@ public class SegmentGeneratorConfig implements Serializable {
     _enableDefaultStarTree = enableDefaultStarTree;
   }
 
+  public int getStarTreeBuildNumThreads() {
+    return _starTreeBuildNumThreads;
+  }
+
+  public void setStarTreeBuildNumThreads(int starTreeBuildNumThreads) {
+    _starTreeBuildNumThreads = starTreeBuildNumThreads;
+  }
+
   public SegmentNameGenerator getSegmentNameGenerator() {
     if (_segmentNameGenerator != null) {
       return _segmentNameGenerator;
@@ -19,6 +19,7 @@
 package org.apache.pinot.segment.spi.datasource;
 
 import javax.annotation.Nullable;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
 import org.apache.pinot.segment.spi.index.IndexReader;
 import org.apache.pinot.segment.spi.index.IndexType;
 import org.apache.pinot.segment.spi.index.reader.BloomFilterReader;
@@ -103,4 +104,13 @@ public interface DataSource {
    */
   @Nullable
   NullValueVectorReader getNullValueVector();
+
+  /**
+   * Returns the index configs the column was loaded with, or {@code null} if not available. The configs are available
+   * even for the indexes that do not exist in the segment.
+   */
+  @Nullable
+  default FieldIndexConfigs getFieldIndexConfigs() {
+    return null;
+  }
 }
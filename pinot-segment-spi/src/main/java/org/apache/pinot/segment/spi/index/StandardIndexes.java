@@ -28,6 +28,9 @@ import org.apache.pinot.segment.spi.index.creator.GeoSpatialIndexCreator;
 import org.apache.pinot.segment.spi.index.creator.H3IndexConfig;
 import org.apache.pinot.segment.spi.index.creator.JsonIndexCreator;
 import org.apache.pinot.segment.spi.index.creator.TextIndexCreator;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexCreator;
+import org.apache.pinot.segment.spi.index.creator.ZoneMapIndexCreator;
 import org.apache.pinot.segment.spi.index.reader.BloomFilterReader;
 import org.apache.pinot.segment.spi.index.reader.Dictionary;
 import org.apache.pinot.segment.spi.index.reader.ForwardIndexReader;
@@ -36,7 +39,10 @@ import org.apache.pinot.segment.spi.index.reader.InvertedIndexReader;
 import org.apache.pinot.segment.spi.index.reader.JsonIndexReader;
 import org.apache.pinot.segment.spi.index.reader.NullValueVectorReader;
 import org.apache.pinot.segment.spi.index.reader.RangeIndexReader;
+import org.apache.pinot.segment.spi.index.reader.SkipListIndexReader;
 import org.apache.pinot.segment.spi.index.reader.TextIndexReader;
+import org.apache.pinot.segment.spi.index.reader.VectorIndexReader;
+import org.apache.pinot.segment.spi.index.reader.ZoneMapIndexReader;
 import org.apache.pinot.spi.config.table.BloomFilterConfig;
 import org.apache.pinot.spi.config.table.IndexConfig;
 import org.apache.pinot.spi.config.table.JsonIndexConfig;
@@ -74,6 +80,9 @@ public class StandardIndexes {
   public static final String RANGE_ID = "range_index";
   public static final String TEXT_ID = "text_index";
   public static final String H3_ID = "h3_index";
+  public static final String ZONE_MAP_ID = "zone_map_index";
+  public static final String VECTOR_ID = "vector_index";
+  public static final String SKIP_LIST_ID = "skip_list_index";
 
   private StandardIndexes() {
   }
@@ -127,4 +136,19 @@ public class StandardIndexes {
     return (IndexType<H3IndexConfig, H3IndexReader, GeoSpatialIndexCreator>)
         IndexService.getInstance().get(H3_ID);
   }
+
+  public static IndexType<IndexConfig, ZoneMapIndexReader, ZoneMapIndexCreator> zoneMap() {
+    return (IndexType<IndexConfig, ZoneMapIndexReader, ZoneMapIndexCreator>)
+        IndexService.getInstance().get(ZONE_MAP_ID);
+  }
+
+  public static IndexType<VectorIndexConfig, VectorIndexReader, VectorIndexCreator> vector() {
+    return (IndexType<VectorIndexConfig, VectorIndexReader, VectorIndexCreator>)
+        IndexService.getInstance().get(VECTOR_ID);
+  }
+
+  public static IndexType<IndexConfig, SkipListIndexReader, DictionaryBasedInvertedIndexCreator> skipList() {
+    return (IndexType<IndexConfig, SkipListIndexReader, DictionaryBasedInvertedIndexCreator>)
+        IndexService.getInstance().get(SKIP_LIST_ID);
+  }
 }
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
+import org.apache.pinot.segment.spi.index.FieldIndexConfigs;
 import org.apache.pinot.segment.spi.index.IndexReader;
 import org.apache.pinot.segment.spi.index.IndexType;
 
@@ -42,6 +43,14 @@ public interface ColumnIndexContainer extends Closeable {
   @Nullable
   <I extends IndexReader, T extends IndexType<?, I, ?>> I getIndex(T indexType);
 
+  /**
+   * Returns the index configs the column was loaded with, or {@code null} if not available.
+   */
+  @Nullable
+  default FieldIndexConfigs getFieldIndexConfigs() {
+    return null;
+  }
+
   class Empty implements ColumnIndexContainer {
     public static final Empty INSTANCE = new Empty();
 
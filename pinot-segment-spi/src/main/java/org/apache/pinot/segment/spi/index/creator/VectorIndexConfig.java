@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.creator;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import javax.annotation.Nullable;
+import org.apache.pinot.spi.config.table.IndexConfig;
+
+
+/**
+ * Config of the HNSW vector index, which is configured with {@code fieldConfigList[].indexes.vector} on a FLOAT
+ * multi-value column that stores one embedding of {@code vectorDimension} values per document.
+ */
+public class VectorIndexConfig extends IndexConfig {
+  public static final VectorIndexConfig DISABLED = new VectorIndexConfig(true, null, null, null, null, null);
+
+  public static final DistanceFunction DEFAULT_DISTANCE_FUNCTION = DistanceFunction.EUCLIDEAN;
+  public static final int DEFAULT_MAX_CONNECTIONS = 16;
+  public static final int DEFAULT_EF_CONSTRUCTION = 100;
+  public static final int DEFAULT_EF_SEARCH = 64;
+
+  private final int _vectorDimension;
+  private final DistanceFunction _distanceFunction;
+  private final int _maxConnections;
+  private final int _efConstruction;
+  private final int _efSearch;
+
+  public VectorIndexConfig(int vectorDimension, DistanceFunction distanceFunction) {
+    this(false, vectorDimension, distanceFunction, null, null, null);
+  }
+
+  /**
+   * @param vectorDimension number of values of each vector
+   * @param distanceFunction distance function used to rank the vectors, EUCLIDEAN by default
+   * @param maxConnections max number of neighbors per node on the upper layers of the graph (M), where the bottom
+   *                       layer keeps twice as many
+   * @param efConstruction size of the candidate list when inserting a vector
+   * @param efSearch size of the candidate list when searching, raised to the requested top-K when it is smaller
+   */
+  @JsonCreator
+  public VectorIndexConfig(@JsonProperty("disabled") @Nullable Boolean disabled,
+      @JsonProperty("vectorDimension") @Nullable Integer vectorDimension,
+      @JsonProperty("distanceFunction") @Nullable DistanceFunction distanceFunction,
+      @JsonProperty("maxConnections") @Nullable Integer maxConnections,
+      @JsonProperty("efConstruction") @Nullable Integer efConstruction,
+      @JsonProperty("efSearch") @Nullable Integer efSearch) {
+    super(disabled);
+    _vectorDimension = vectorDimension != null ? vectorDimension : 0;
+    _distanceFunction = distanceFunction != null ? distanceFunction : DEFAULT_DISTANCE_FUNCTION;
+    _maxConnections = maxConnections != null ? maxConnections : DEFAULT_MAX_CONNECTIONS;
+    _efConstruction = efConstruction != null ? efConstruction : DEFAULT_EF_CONSTRUCTION;
+    _efSearch = efSearch != null ? efSearch : DEFAULT_EF_SEARCH;
+    if (isEnabled()) {
+      Preconditions.checkArgument(_vectorDimension > 0, "Vector index must be configured with a positive "
+          + "vectorDimension, got: %s", _vectorDimension);
+      Preconditions.checkArgument(_maxConnections > 1, "Invalid maxConnections: %s", _maxConnections);
+      Preconditions.checkArgument(_efConstruction > 0, "Invalid efConstruction: %s", _efConstruction);
+      Preconditions.checkArgument(_efSearch > 0, "Invalid efSearch: %s", _efSearch);
+    }
+  }
+
+  public int getVectorDimension() {
+    return _vectorDimension;
+  }
+
+  public DistanceFunction getDistanceFunction() {
+    return _distanceFunction;
+  }
+
+  public int getMaxConnections() {
+    return _maxConnections;
+  }
+
+  public int getEfConstruction() {
+    return _efConstruction;
+  }
+
+  public int getEfSearch() {
+    return _efSearch;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    if (!super.equals(o)) {
+      return false;
+    }
+    VectorIndexConfig that = (VectorIndexConfig) o;
+    return _vectorDimension == that._vectorDimension && _distanceFunction == that._distanceFunction
+        && _maxConnections == that._maxConnections && _efConstruction == that._efConstruction
+        && _efSearch == that._efSearch;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(super.hashCode(), _vectorDimension, _distanceFunction, _maxConnections, _efConstruction,
+        _efSearch);
+  }
+
+  /**
+   * Distance between 2 vectors of the same dimension, where a smaller distance means more similar vectors.
+   */
+  public enum DistanceFunction {
+    /**
+     * Squared euclidean distance.
+     */
+    EUCLIDEAN {
+      @Override
+      public float distance(float[] vector1, float[] vector2) {
+        float sum = 0;
+        for (int i = 0; i < vector1.length; i++) {
+          float diff = vector1[i] - vector2[i];
+          sum += diff * diff;
+        }
+        return sum;
+      }
+    },
+    /**
+     * 1 - cosine similarity, in range [0, 2]. A zero vector is at distance 1 from every vector.
+     */
+    COSINE {
+      @Override
+      public float distance(float[] vector1, float[] vector2) {
+        float dotProduct = 0;
+        float norm1 = 0;
+        float norm2 = 0;
+        for (int i = 0; i < vector1.length; i++) {
+          dotProduct += vector1[i] * vector2[i];
+          norm1 += vector1[i] * vector1[i];
+          norm2 += vector2[i] * vector2[i];
+        }
+        if (norm1 == 0 || norm2 == 0) {
+          return 1;
+        }
+        return 1 - (float) (dotProduct / Math.sqrt((double) norm1 * norm2));
+      }
+    },
+    /**
+     * Negative inner product, which ranks the same as cosine for normalized vectors but is cheaper to compute.
+     */
+    INNER_PRODUCT {
+      @Override
+      public float distance(float[] vector1, float[] vector2) {
+        float dotProduct = 0;
+        for (int i = 0; i < vector1.length; i++) {
+          dotProduct += vector1[i] * vector2[i];
+        }
+        return -dotProduct;
+      }
+    };
+
+    public abstract float distance(float[] vector1, float[] vector2);
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.creator;
+
+import java.io.IOException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.spi.index.IndexCreator;
+
+
+/**
+ * Index creator for the vector index. Each document is a FLOAT multi-value entry holding one vector.
+ */
+public interface VectorIndexCreator extends IndexCreator {
+
+  @Override
+  default void add(@Nonnull Object value, int dictId) {
+    throw new UnsupportedOperationException("Vector index is only supported on multi-value FLOAT columns");
+  }
+
+  @Override
+  default void add(@Nonnull Object[] values, @Nullable int[] dictIds)
+      throws IOException {
+    float[] vector = new float[values.length];
+    for (int i = 0; i < values.length; i++) {
+      vector[i] = ((Number) values[i]).floatValue();
+    }
+    add(vector);
+  }
+
+  /**
+   * Adds the vector of the next document. Vectors that do not match the configured dimension (e.g. the default value
+   * of a null document) are not indexed, but still consume a document id.
+   */
+  void add(float[] vector)
+      throws IOException;
+
+  /**
+   * Seals the index and flushes it to disk.
+   */
+  void seal()
+      throws IOException;
+}
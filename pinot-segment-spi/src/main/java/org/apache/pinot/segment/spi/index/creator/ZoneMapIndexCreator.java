@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.creator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.apache.pinot.segment.spi.index.IndexCreator;
+
+
+/**
+ * Creator for the zone map index, which records the min/max value and the number of null values for each zone (range
+ * of consecutive documents) of a single-value numeric raw column.
+ */
+public interface ZoneMapIndexCreator extends IndexCreator {
+
+  @Override
+  default void add(@Nonnull Object[] values, @Nullable int[] dictIds) {
+    throw new UnsupportedOperationException("Zone map index is only supported on single-value columns");
+  }
+
+  /**
+   * Marks the given document as null. Must be called after the (default) value for the document has been added.
+   */
+  void setNull(int docId);
+}
@@ -59,6 +59,7 @@ public class ColumnMetadataImpl implements ColumnMetadata {
   private final Comparable<?> _maxValue;
 
   private final boolean _minMaxValueInvalid;
+  private final String _bloomSummary;
   private final boolean _hasDictionary;
   private final int _columnMaxLength;
   private final int _bitsPerElement;
@@ -70,9 +71,9 @@ public class ColumnMetadataImpl implements ColumnMetadata {
   private final boolean _autoGenerated;
 
   private ColumnMetadataImpl(FieldSpec fieldSpec, int totalDocs, int cardinality, boolean sorted,
-      Comparable<?> minValue, Comparable<?> maxValue, boolean minMaxValueInvalid, boolean hasDictionary,
-      int columnMaxLength, int bitsPerElement, int maxNumberOfMultiValues, int totalNumberOfEntries,
-      @Nullable PartitionFunction partitionFunction, @Nullable Set<Integer> partitions,
+      Comparable<?> minValue, Comparable<?> maxValue, boolean minMaxValueInvalid, @Nullable String bloomSummary,
+      boolean hasDictionary, int columnMaxLength, int bitsPerElement, int maxNumberOfMultiValues,
+      int totalNumberOfEntries, @Nullable PartitionFunction partitionFunction, @Nullable Set<Integer> partitions,
       Map<IndexType<?, ?, ?>, Long> indexSizeMap, boolean autoGenerated) {
     _fieldSpec = fieldSpec;
     _totalDocs = totalDocs;
@@ -81,6 +82,7 @@ public class ColumnMetadataImpl implements ColumnMetadata {
     _minValue = minValue;
     _maxValue = maxValue;
     _minMaxValueInvalid = minMaxValueInvalid;
+    _bloomSummary = bloomSummary;
     _hasDictionary = hasDictionary;
     _columnMaxLength = columnMaxLength;
     _bitsPerElement = bitsPerElement;
@@ -126,6 +128,12 @@ public class ColumnMetadataImpl implements ColumnMetadata {
     return _minMaxValueInvalid;
   }
 
+  @Nullable
+  @Override
+  public String getBloomSummary() {
+    return _bloomSummary;
+  }
+
   @Override
   public boolean hasDictionary() {
     return _hasDictionary;
@@ -288,6 +296,7 @@ public class ColumnMetadataImpl implements ColumnMetadata {
       }
     }
     builder.setMinMaxValueInvalid(config.getBoolean(Column.getKeyFor(column, Column.MIN_MAX_VALUE_INVALID), false));
+    builder.setBloomSummary((String) config.getProperty(Column.getKeyFor(column, Column.BLOOM_SUMMARY)));
 
     // Only support zero padding
     String padding = config.getString(Segment.SEGMENT_PADDING_CHARACTER, null);
@@ -338,6 +347,7 @@ public class ColumnMetadataImpl implements ColumnMetadata {
     private Comparable<?> _minValue;
     private Comparable<?> _maxValue;
     private boolean _minMaxValueInvalid;
+    private String _bloomSummary;
     private boolean _hasDictionary;
     private int _columnMaxLength;
     private int _bitsPerElement;
@@ -383,6 +393,11 @@ public class ColumnMetadataImpl implements ColumnMetadata {
       return this;
     }
 
+    public Builder setBloomSummary(String bloomSummary) {
+      _bloomSummary = bloomSummary;
+      return this;
+    }
+
     public Builder setHasDictionary(boolean hasDictionary) {
       _hasDictionary = hasDictionary;
       return this;
@@ -429,8 +444,9 @@ public class ColumnMetadataImpl implements ColumnMetadata {
 
     public ColumnMetadataImpl build() {
       return new ColumnMetadataImpl(_fieldSpec, _totalDocs, _cardinality, _sorted, _minValue, _maxValue,
-          _minMaxValueInvalid, _hasDictionary, _columnMaxLength, _bitsPerElement, _maxNumberOfMultiValues,
-          _totalNumberOfEntries, _partitionFunction, _partitions, _indexSizeMap, _autoGenerated);
+          _minMaxValueInvalid, _bloomSummary, _hasDictionary, _columnMaxLength, _bitsPerElement,
+          _maxNumberOfMultiValues, _totalNumberOfEntries, _partitionFunction, _partitions, _indexSizeMap,
+          _autoGenerated);
     }
   }
 }
@@ -77,6 +77,16 @@ public interface ForwardIndexReader<T extends ForwardIndexReaderContext> extends
     return null;
   }
 
+  /**
+   * Hints the reader that the values for the given document ids are about to be read, so that the underlying pages can
+   * be loaded ahead of the reads. Can be invoked concurrently with the reads, and is ignored by default.
+   *
+   * @param docIds Array containing the document ids (sorted in ascending order) to prefetch
+   * @param length Number of document ids to prefetch
+   */
+  default void prefetch(int[] docIds, int length) {
+  }
+
   /**
    * DICTIONARY-ENCODED INDEX APIs
    */
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.reader;
+
+import org.apache.pinot.segment.spi.Constants;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader for the skip-list inverted index, which stores the posting list of each dictionary id as blocks of
+ * delta-encoded document ids. Each posting list starts with a skip table holding the max document id of each block, so
+ * that a posting list can be advanced to a target document id without decoding the blocks in between.
+ * <p>Unlike the bitmap inverted index, the posting lists can be intersected lazily (leapfrogging through
+ * {@link PostingListIterator#advance(int)}) without materializing them. {@link #getDocIds(int)} is still available for
+ * the operators that need the full bitmap.
+ */
+public interface SkipListIndexReader extends InvertedIndexReader<ImmutableRoaringBitmap> {
+
+  /**
+   * Returns the number of documents in the posting list of the given dictionary id.
+   */
+  int getNumDocs(int dictId);
+
+  /**
+   * Returns a new iterator over the posting list of the given dictionary id.
+   */
+  PostingListIterator getPostingList(int dictId);
+
+  /**
+   * Iterator over the document ids of a posting list, in ascending order. Not thread-safe.
+   */
+  interface PostingListIterator {
+
+    /**
+     * Returns the next document id, or {@link Constants#EOF} if the posting list is exhausted.
+     */
+    int next();
+
+    /**
+     * Returns the first document id that is greater than or equal to the given target document id, or
+     * {@link Constants#EOF} if there is no such document. The target document id should be greater than the document
+     * id previously returned.
+     */
+    int advance(int targetDocId);
+
+    /**
+     * Returns the number of documents in the posting list.
+     */
+    int getNumDocs();
+  }
+}
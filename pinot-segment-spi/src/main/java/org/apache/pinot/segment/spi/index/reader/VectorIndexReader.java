@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.reader;
+
+import org.apache.pinot.segment.spi.index.IndexReader;
+import org.apache.pinot.segment.spi.index.creator.VectorIndexConfig;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+
+/**
+ * Reader of the approximate nearest neighbor vector index.
+ */
+public interface VectorIndexReader extends IndexReader {
+
+  /**
+   * Returns the doc ids of the (approximately) {@code topK} nearest vectors to the given query vector. Fewer doc ids
+   * are returned when fewer vectors are indexed.
+   */
+  ImmutableRoaringBitmap getDocIds(float[] queryVector, int topK);
+
+  /**
+   * Returns the number of values of each indexed vector.
+   */
+  int getVectorDimension();
+
+  VectorIndexConfig.DistanceFunction getDistanceFunction();
+}
@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.segment.spi.index.reader;
+
+import org.apache.pinot.segment.spi.index.IndexReader;
+import org.apache.pinot.spi.data.FieldSpec.DataType;
+
+
+/**
+ * Reader for the zone map index, which stores the min/max value and the number of null values for each zone of a
+ * single-value numeric raw column. Zone {@code i} covers documents {@code [i * numDocsPerZone, (i + 1) *
+ * numDocsPerZone)}, which is aligned with the chunks of the raw forward index so that a zone that cannot match a
+ * predicate can be skipped without decompressing its chunk.
+ * <p>The min/max values include the default values of the null documents.
+ */
+public interface ZoneMapIndexReader extends IndexReader {
+
+  /**
+   * Returns the stored type of the column (one of INT, LONG, FLOAT, DOUBLE).
+   */
+  DataType getStoredType();
+
+  int getNumDocsPerZone();
+
+  int getNumZones();
+
+  /**
+   * Returns the min value of the given zone for INT and LONG columns.
+   */
+  long getMinLong(int zoneId);
+
+  /**
+   * Returns the max value of the given zone for INT and LONG columns.
+   */
+  long getMaxLong(int zoneId);
+
+  /**
+   * Returns the min value of the given zone for FLOAT and DOUBLE columns.
+   */
+  double getMinDouble(int zoneId);
+
+  /**
+   * Returns the max value of the given zone for FLOAT and DOUBLE columns.
+   */
+  double getMaxDouble(int zoneId);
+
+  /**
+   * Returns the number of null documents in the given zone, or 0 if null handling was not enabled when the index was
+   * created.
+   */
+  int getNullCount(int zoneId);
+}
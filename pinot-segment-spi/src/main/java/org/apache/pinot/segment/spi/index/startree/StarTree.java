@@ -38,6 +38,15 @@ public interface StarTree {
    */
   List<String> getDimensionNames();
 
+  /**
+   * Get the total number of nodes (including the root node and the star nodes) in the star tree, or -1 if unknown.
+   * <p>Implementations that do not track the number of nodes can keep the default, in which case the callers should
+   * fall back to their own estimation.
+   */
+  default int getNumNodes() {
+    return -1;
+  }
+
   /**
    * Print the tree.
    */
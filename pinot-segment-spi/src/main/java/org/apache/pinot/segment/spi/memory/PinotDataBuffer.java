@@ -24,6 +24,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -53,6 +57,9 @@ import org.slf4j.LoggerFactory;
 @ThreadSafe
 public abstract class PinotDataBuffer implements Closeable {
   private static final Logger LOGGER = LoggerFactory.getLogger(PinotDataBuffer.class);
+  private static final Path PROC_SELF_STAT = Paths.get("/proc/self/stat");
+  // Index of the 'majflt' field (12th) after the process name (2nd) in /proc/self/stat
+  private static final int PROC_SELF_STAT_MAJFLT_INDEX = 9;
 
   public static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
   public static final ByteOrder NON_NATIVE_ORDER =
@@ -61,6 +68,8 @@ public abstract class PinotDataBuffer implements Closeable {
   // With number of bytes less than this threshold, we get/put bytes one by one
   // With number of bytes more than this threshold, we create a ByteBuffer from the buffer and use bulk get/put method
   public static final int BULK_BYTES_PROCESSING_THRESHOLD = 10;
+  // Granularity at which the pages of memory-mapped buffers are touched by prefetch()
+  public static final int PAGE_SIZE_BYTES = 4096;
 
   private static class BufferContext {
     enum Type {
@@ -241,6 +250,26 @@ public abstract class PinotDataBuffer implements Closeable {
     return ALLOCATION_FAILURE_COUNT.get();
   }
 
+  /**
+   * Returns the number of major page faults (faults that required loading a page from disk) of the current process, or
+   * -1 if not available on the platform (only supported on Linux). A high rate of major page faults indicates that the
+   * memory-mapped segments do not fit in the page cache.
+   */
+  public static long getMajorPageFaultCount() {
+    if (!Files.isReadable(PROC_SELF_STAT)) {
+      return -1;
+    }
+    try {
+      // The process name (2nd field) might contain spaces, so parse the fields after it
+      String stat = new String(Files.readAllBytes(PROC_SELF_STAT), StandardCharsets.UTF_8);
+      String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+      return Long.parseLong(fields[PROC_SELF_STAT_MAJFLT_INDEX]);
+    } catch (Exception e) {
+      LOGGER.debug("Failed to read major page fault count from: {}", PROC_SELF_STAT, e);
+      return -1;
+    }
+  }
+
   public static List<String> getBufferInfo() {
     synchronized (BUFFER_CONTEXT_MAP) {
       List<String> bufferInfo = new ArrayList<>(BUFFER_CONTEXT_MAP.size());
@@ -385,6 +414,17 @@ public abstract class PinotDataBuffer implements Closeable {
     return toDirectByteBuffer(offset, size, order());
   }
 
+  /**
+   * Touches every page within the range [offset, offset + size) of this buffer, so that the pages of a memory-mapped
+   * buffer are loaded into memory ahead of the actual reads.
+   */
+  public void prefetch(long offset, long size) {
+    long end = Math.min(offset + size, size());
+    for (long pos = offset; pos < end; pos += PAGE_SIZE_BYTES) {
+      getByte(pos);
+    }
+  }
+
   public abstract void flush();
 
   public abstract void release()
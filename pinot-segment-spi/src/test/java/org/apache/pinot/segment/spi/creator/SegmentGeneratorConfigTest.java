@@ -69,6 +69,17 @@ public class SegmentGeneratorConfigTest {
     assertNotNull(segmentGeneratorConfig.getDateTimeFormatSpec());
   }
 
+  @Test
+  public void testStarTreeBuildNumThreads() {
+    Schema schema = new Schema.SchemaBuilder().addSingleValueDimension("dim", FieldSpec.DataType.INT).build();
+    TableConfig tableConfig = new TableConfigBuilder(TableType.OFFLINE).setTableName("test").build();
+    assertEquals(new SegmentGeneratorConfig(tableConfig, schema).getStarTreeBuildNumThreads(), 1);
+
+    // Number of threads to build the star-trees should be picked up from the table config
+    tableConfig.getIndexingConfig().setStarTreeBuildNumThreads(4);
+    assertEquals(new SegmentGeneratorConfig(tableConfig, schema).getStarTreeBuildNumThreads(), 4);
+  }
+
   @Test
   public void testSimpleDateFormat() {
     Schema schema = new Schema.SchemaBuilder().addTime(new TimeGranularitySpec(FieldSpec.DataType.STRING, TimeUnit.DAYS,
@@ -624,6 +624,17 @@ public class PinotDataBufferTest {
     }
   }
 
+  @Test
+  public void testMajorPageFaultCount() {
+    long majorPageFaultCount = PinotDataBuffer.getMajorPageFaultCount();
+    if (new File("/proc/self/stat").canRead()) {
+      Assert.assertTrue(majorPageFaultCount >= 0);
+      Assert.assertTrue(PinotDataBuffer.getMajorPageFaultCount() >= majorPageFaultCount);
+    } else {
+      Assert.assertEquals(majorPageFaultCount, -1);
+    }
+  }
+
   private void testBufferStats(int directBufferCount, long directBufferUsage, int mmapBufferCount,
       long mmapBufferUsage) {
     Assert.assertEquals(PinotDataBuffer.getAllocationFailureCount(), 0);
@@ -70,6 +70,8 @@ import org.apache.pinot.core.transport.ListenerConfig;
 import org.apache.pinot.core.util.ListenerConfigUtil;
 import org.apache.pinot.query.service.QueryConfig;
 import org.apache.pinot.segment.local.realtime.impl.invertedindex.RealtimeLuceneIndexRefreshState;
+import org.apache.pinot.segment.local.segment.index.readers.forward.DecompressedChunkCache;
+import org.apache.pinot.segment.local.segment.store.SegmentLocalFSDirectory;
 import org.apache.pinot.segment.spi.memory.PinotDataBuffer;
 import org.apache.pinot.server.access.AccessControlFactory;
 import org.apache.pinot.server.api.AdminApiApplication;
@@ -390,6 +392,12 @@ public abstract class BaseServerStarter implements ServiceStartable {
           serverConf.getMultiStageMailboxPort());
     }
 
+    // Advertise the support of the segment dictionary so that brokers can send the segments to query as ordinals
+    if (!Boolean.parseBoolean(simpleFields.get(Instance.SEGMENT_DICTIONARY_SUPPORTED_KEY))) {
+      simpleFields.put(Instance.SEGMENT_DICTIONARY_SUPPORTED_KEY, Boolean.toString(true));
+      updated = true;
+    }
+
     // Update environment properties
     if (_pinotEnvironmentProvider != null) {
       // Retrieve failure domain information and add to the environment properties map
@@ -543,6 +551,9 @@ public abstract class BaseServerStarter implements ServiceStartable {
     ServerConf serverConf = new ServerConf(_serverConf);
     _serverInstance = new ServerInstance(serverConf, _helixManager, accessControlFactory);
     ServerMetrics serverMetrics = _serverInstance.getServerMetrics();
+    // Initialize the decompressed chunk cache before the data manager starts loading segments
+    DecompressedChunkCache.init(_serverConf.getProperty(Server.CONFIG_OF_DECOMPRESSED_CHUNK_CACHE_MAX_SIZE_BYTES,
+        Server.DEFAULT_DECOMPRESSED_CHUNK_CACHE_MAX_SIZE_BYTES), serverMetrics);
     InstanceDataManager instanceDataManager = _serverInstance.getInstanceDataManager();
     instanceDataManager.setSupplierOfIsServerReadyToServeQueries(() -> _isServerReadyToServeQueries);
     // initialize the thread accountant for query killing
@@ -609,6 +620,8 @@ public abstract class BaseServerStarter implements ServiceStartable {
     serverMetrics.addCallbackGauge("memory.mmapBufferCount", PinotDataBuffer::getMmapBufferCount);
     serverMetrics.addCallbackGauge("memory.mmapBufferUsage", PinotDataBuffer::getMmapBufferUsage);
     serverMetrics.addCallbackGauge("memory.allocationFailureCount", PinotDataBuffer::getAllocationFailureCount);
+    serverMetrics.addCallbackGauge("memory.pinnedBufferUsage", SegmentLocalFSDirectory::getPinnedBufferUsage);
+    serverMetrics.addCallbackGauge("memory.majorPageFaultCount", PinotDataBuffer::getMajorPageFaultCount);
 
     // Track metric for queries disabled
     _serverQueriesDisabledTracker =
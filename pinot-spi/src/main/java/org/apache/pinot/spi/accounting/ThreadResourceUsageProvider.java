@@ -22,6 +22,7 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import org.apache.pinot.spi.utils.VirtualThreadUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +30,11 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@code ThreadResourceUsageProvider} class providing the functionality of measuring the CPU time
  * and allocateBytes (JVM heap) for the current thread.
+ * <p>The JVM does not measure CPU time for virtual threads, so the CPU time is unavailable (see
+ * {@link #isThreadCpuTimeAvailable()}) on a virtual thread. The servers refuse to run queries on virtual threads when
+ * the thread CPU time measurement is enabled, so that the CPU time is omitted from the query responses instead of being
+ * reported as 0. Callers charging the CPU time to a query or a scheduler group should skip charging when it is
+ * unavailable.
  */
 public class ThreadResourceUsageProvider {
   private static final Logger LOGGER = LoggerFactory.getLogger(ThreadResourceUsageProvider.class);
@@ -52,11 +58,13 @@ public class ThreadResourceUsageProvider {
   private static boolean _isThreadMemoryMeasurementEnabled = false;
 
   // reference point for start time/bytes
+  private final boolean _isThreadCpuTimeAvailable;
   private final long _startTimeNs;
   private final long _startBytesAllocated;
 
   public ThreadResourceUsageProvider() {
-    _startTimeNs = _isThreadCpuTimeMeasurementEnabled ? MX_BEAN.getCurrentThreadCpuTime() : -1;
+    _isThreadCpuTimeAvailable = _isThreadCpuTimeMeasurementEnabled && !VirtualThreadUtils.isCurrentThreadVirtual();
+    _startTimeNs = _isThreadCpuTimeAvailable ? MX_BEAN.getCurrentThreadCpuTime() : -1;
 
     long startBytesAllocated1;
     try {
@@ -100,8 +108,20 @@ public class ThreadResourceUsageProvider {
     _isThreadMemoryMeasurementEnabled = enable && IS_THREAD_ALLOCATED_MEMORY_SUPPORTED && isThreadAllocateMemoryEnabled;
   }
 
+  /**
+   * Returns {@code true} if the CPU time of the thread creating this provider is measured, i.e. the thread CPU time
+   * measurement is enabled and the thread is not a virtual thread.
+   */
+  public boolean isThreadCpuTimeAvailable() {
+    return _isThreadCpuTimeAvailable;
+  }
+
+  /**
+   * Returns the CPU time used by the current thread since this provider is created, or 0 if the CPU time is not
+   * available (see {@link #isThreadCpuTimeAvailable()}).
+   */
   public long getThreadTimeNs() {
-    return _isThreadCpuTimeMeasurementEnabled ? MX_BEAN.getCurrentThreadCpuTime() - _startTimeNs : 0;
+    return _isThreadCpuTimeAvailable ? MX_BEAN.getCurrentThreadCpuTime() - _startTimeNs : 0;
   }
 
   public long getThreadAllocatedBytes() {
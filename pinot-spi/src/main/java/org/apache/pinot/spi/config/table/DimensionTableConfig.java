@@ -25,13 +25,29 @@ import org.apache.pinot.spi.config.BaseJsonConfig;
 
 public class DimensionTableConfig extends BaseJsonConfig {
   private final boolean _disablePreload;
+  private final boolean _offHeap;
 
+  public DimensionTableConfig(boolean disablePreload) {
+    this(disablePreload, false);
+  }
+
+  /**
+   * @param disablePreload Whether to keep the rows in the segments and only preload the primary keys
+   * @param offHeap Whether to preload the rows into off-heap memory (columnar storage with a primary key hash table)
+   *                instead of an on-heap map of rows
+   */
   @JsonCreator
-  public DimensionTableConfig(@JsonProperty(value = "disablePreload", required = true) boolean disablePreload) {
+  public DimensionTableConfig(@JsonProperty(value = "disablePreload", required = true) boolean disablePreload,
+      @JsonProperty(value = "offHeap") boolean offHeap) {
     _disablePreload = disablePreload;
+    _offHeap = offHeap;
   }
 
   public boolean isDisablePreload() {
     return _disablePreload;
   }
+
+  public boolean isOffHeap() {
+    return _offHeap;
+  }
 }
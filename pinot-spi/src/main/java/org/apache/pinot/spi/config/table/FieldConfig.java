@@ -117,7 +117,13 @@ public class FieldConfig extends BaseJsonConfig {
   }
 
   public enum CompressionCodec {
-    PASS_THROUGH, SNAPPY, ZSTANDARD, LZ4
+    PASS_THROUGH, SNAPPY, ZSTANDARD, LZ4,
+    // Numeric codecs for raw single-value INT/LONG columns (frame-of-reference, delta and delta-of-delta bit-packing)
+    FOR, DELTA, DELTA_OF_DELTA,
+    // Numeric codec for raw single-value FLOAT/DOUBLE columns (Gorilla XOR encoding)
+    GORILLA,
+    // String codec for raw single-value STRING/BYTES columns (static symbol table, allows single value access)
+    FSST
   }
 
   public String getName() {
@@ -24,6 +24,7 @@ import java.util.Map;
 import javax.annotation.Nullable;
 import org.apache.pinot.spi.config.BaseJsonConfig;
 import org.apache.pinot.spi.config.table.ingestion.IngestionConfig;
+import org.apache.pinot.spi.utils.BufferAdvice;
 
 
 public class IndexingConfig extends BaseJsonConfig {
@@ -58,6 +59,11 @@ public class IndexingConfig extends BaseJsonConfig {
   private List<StarTreeIndexConfig> _starTreeIndexConfigs;
   // Whether to allow creating star-tree when server loads the segment
   private boolean _enableDynamicStarTreeCreation;
+  // Whether to maintain the star-trees on the consuming segments
+  private boolean _enableConsumingSegmentStarTree;
+  // Number of threads to build the star-trees, when generating the segments (including the realtime segment conversion)
+  // or creating the star-trees when server loads the segment
+  private int _starTreeBuildNumThreads = 1;
   private SegmentPartitionConfig _segmentPartitionConfig;
   private boolean _aggregateMetrics;
   private boolean _nullHandlingEnabled;
@@ -90,6 +96,12 @@ public class IndexingConfig extends BaseJsonConfig {
 
   private JsonNode _tierOverwrites;
 
+  /**
+   * Advice on how to load the buffers of memory-mapped segments, keyed by index type id (e.g. "dictionary",
+   * "inverted_index", "forward_index").
+   */
+  private Map<String, BufferAdvice> _bufferAdvice;
+
   @Nullable
   public List<String> getInvertedIndexColumns() {
     return _invertedIndexColumns;
@@ -291,6 +303,31 @@ public class IndexingConfig extends BaseJsonConfig {
     _enableDynamicStarTreeCreation = enableDynamicStarTreeCreation;
   }
 
+  public boolean isEnableConsumingSegmentStarTree() {
+    return _enableConsumingSegmentStarTree;
+  }
+
+  public void setEnableConsumingSegmentStarTree(boolean enableConsumingSegmentStarTree) {
+    _enableConsumingSegmentStarTree = enableConsumingSegmentStarTree;
+  }
+
+  public int getStarTreeBuildNumThreads() {
+    return _starTreeBuildNumThreads;
+  }
+
+  public void setStarTreeBuildNumThreads(int starTreeBuildNumThreads) {
+    _starTreeBuildNumThreads = starTreeBuildNumThreads;
+  }
+
+  @Nullable
+  public Map<String, BufferAdvice> getBufferAdvice() {
+    return _bufferAdvice;
+  }
+
+  public void setBufferAdvice(Map<String, BufferAdvice> bufferAdvice) {
+    _bufferAdvice = bufferAdvice;
+  }
+
   @Nullable
   public SegmentPartitionConfig getSegmentPartitionConfig() {
     return _segmentPartitionConfig;
@@ -116,6 +116,22 @@ public class StreamConfigProperties {
    */
   public static final String SERVER_UPLOAD_TO_DEEPSTORE = "realtime.segment.serverUploadToDeepStore";
 
+  /**
+   * Whether to prune the consuming segments on time with the min time of the consumed records (false by default). When
+   * enabled (together with the "time" segment pruner), the consuming servers publish the min time into the consuming
+   * segment ZK metadata, and the brokers prune the consuming segments for queries on time ranges before it.
+   * <p>NOTE: Records older than the published min time minus the allowed lateness (e.g. replays and backfills) are not
+   * returned for queries on their time range until the lower min time is published again, which can take more than 10
+   * seconds (publish interval, ZK write and broker refresh). Only enable it when such late records are not expected.
+   */
+  public static final String CONSUMING_MIN_TIME_PRUNING_ENABLED = "realtime.segment.consumingMinTime.pruningEnabled";
+
+  /**
+   * Allowed lateness (period string such as "1h", or milliseconds) subtracted from the min time of the consumed records
+   * before publishing it for the broker time pruner, so that late records within this margin are not pruned
+   */
+  public static final String CONSUMING_MIN_TIME_ALLOWED_LATENESS = "realtime.segment.consumingMinTime.allowedLateness";
+
   /**
    * Helper method to create a stream specific property
    */
@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.spi.utils;
+
+/**
+ * Enum class for the advice on how the buffer of a segment index is accessed, which can be configured per table and
+ * index type for memory-mapped segments (see {@link ReadMode}):
+ * <ul>
+ *   <li> NORMAL: The index is memory-mapped and paged in on demand. Useful for large indexes read sequentially (e.g.
+ *        forward indexes) to prevent them from evicting the hot pages of other indexes when the segment is
+ *        loaded. </li>
+ *   <li> WILLNEED: The pages of the index are faulted in when the segment is loaded, within the server-wide prefetch
+ *        budget. This is the behavior when no advice is configured. </li>
+ *   <li> PIN: The index is copied into direct memory when the segment is loaded, so that it cannot be evicted from the
+ *        page cache. Only meant for small hot structures such as dictionaries or inverted indexes. </li>
+ * </ul>
+ */
+public enum BufferAdvice {
+  NORMAL, WILLNEED, PIN
+}
@@ -158,6 +158,11 @@ public class CommonConstants {
       public static final String MULTI_STAGE_QUERY_ENGINE_SERVICE_PORT_KEY = "queryServerPort";
       public static final String MULTI_STAGE_QUERY_ENGINE_MAILBOX_PORT_KEY = "queryMailboxPort";
 
+      // Set by the servers able to decode the segments to query sent as ordinals of a segment name dictionary (see
+      // Broker.CONFIG_OF_ENABLE_SEGMENT_DICTIONARY). Servers downgraded to a version without the support do not clear
+      // it, so it must be removed from their instance config when downgrading.
+      public static final String SEGMENT_DICTIONARY_SUPPORTED_KEY = "segmentDictionarySupported";
+
       public static final String SYSTEM_RESOURCE_INFO_KEY = "SYSTEM_RESOURCE_INFO";
     }
 
@@ -243,6 +248,31 @@ public class CommonConstants {
         Math.max(1, Math.min(10, Runtime.getRuntime().availableProcessors() / 2));
     // Same logic as CombineOperatorUtils
 
+    // Config to reduce the server responses incrementally as they arrive instead of after all the servers responded.
+    // Only applies to the queries that can be reduced incrementally (aggregation-only and selection-only queries).
+    public static final String CONFIG_OF_ENABLE_INCREMENTAL_REDUCE = "pinot.broker.enable.incremental.reduce";
+    public static final boolean DEFAULT_ENABLE_INCREMENTAL_REDUCE = false;
+    // Config to let the servers stream the selection-only results back over Netty in chunks instead of one data table.
+    // Only applies when the incremental reduce is enabled, as the chunks are reduced as they arrive.
+    public static final String CONFIG_OF_ENABLE_STREAMING_RESPONSE = "pinot.broker.enable.streaming.response";
+    public static final boolean DEFAULT_ENABLE_STREAMING_RESPONSE = false;
+    // Config to send the segments to query as ordinals of a per-connection segment name dictionary cached by the
+    // servers instead of the full segment names. Only applies to the servers advertising the support in their instance
+    // config (see Helix.Instance.SEGMENT_DICTIONARY_SUPPORTED_KEY), the other servers still get the segment names.
+    public static final String CONFIG_OF_ENABLE_SEGMENT_DICTIONARY = "pinot.broker.enable.segment.dictionary";
+    public static final boolean DEFAULT_ENABLE_SEGMENT_DICTIONARY = false;
+    // Configs to re-issue the request sent to a slow server to another replica hosting the same segments, and take the
+    // response arriving first. The request is hedged when the server has not responded after the latency EMA of the
+    // server (requires the stats collection for Adaptive Server Selection) times the multiplier, bounded by the min
+    // delay. Does not apply to the queries streaming the results back.
+    public static final String CONFIG_OF_ENABLE_HEDGED_REQUESTS = "pinot.broker.enable.hedged.requests";
+    public static final boolean DEFAULT_ENABLE_HEDGED_REQUESTS = false;
+    public static final String CONFIG_OF_HEDGED_REQUEST_LATENCY_MULTIPLIER =
+        "pinot.broker.hedged.request.latency.multiplier";
+    public static final double DEFAULT_HEDGED_REQUEST_LATENCY_MULTIPLIER = 3.0;
+    public static final String CONFIG_OF_HEDGED_REQUEST_MIN_DELAY_MS = "pinot.broker.hedged.request.min.delay.ms";
+    public static final long DEFAULT_HEDGED_REQUEST_MIN_DELAY_MS = 50L;
+
     // Config for Jersey ThreadPoolExecutorProvider.
     // By default, Jersey uses the default unbounded thread pool to process queries.
     // By enabling it, BrokerManagedAsyncExecutorProvider will be used to create a bounded thread pool.
@@ -317,6 +347,8 @@ public class CommonConstants {
         public static final String SKIP_UPSERT = "skipUpsert";
         public static final String USE_STAR_TREE = "useStarTree";
         public static final String SCAN_STAR_TREE_NODES = "scanStarTreeNodes";
+        // Choose between star-tree and scan per segment based on the estimated cost instead of always using star-tree
+        public static final String USE_STAR_TREE_COST_MODEL = "useStarTreeCostModel";
         public static final String ROUTING_OPTIONS = "routingOptions";
         public static final String USE_SCAN_REORDER_OPTIMIZATION = "useScanReorderOpt";
         public static final String MAX_EXECUTION_THREADS = "maxExecutionThreads";
@@ -343,6 +375,9 @@ public class CommonConstants {
 
         public static final String DROP_RESULTS = "dropResults";
 
+        // Set by the broker to let the server stream the results back over Netty in chunks
+        public static final String ENABLE_STREAMING_RESPONSE = "enableStreamingResponse";
+
         // TODO: Remove these keys (only apply to PQL) after releasing 0.11.0
         @Deprecated
         public static final String PRESERVE_TYPE = "preserveType";
@@ -413,6 +448,10 @@ public class CommonConstants {
        *                   and # inflight requests. This is based on the approach described in the paper
        *                   https://www.usenix.org/system/files/conference/nsdi15/nsdi15-paper-suresh.pdf. Requires Stats
        *                   Collection to be enabled.
+       *                   5. COST_AWARE: Learns the execution cost per document scanned for each server from the
+       *                   execution stats returned in the responses, and balances the segments of a query across the
+       *                   replicas to minimize the expected completion time of the slowest server. Requires Stats
+       *                   Collection to be enabled.
        */
 
       public enum Type {
@@ -422,7 +461,9 @@ public class CommonConstants {
 
         LATENCY,
 
-        HYBRID
+        HYBRID,
+
+        COST_AWARE
       }
 
       private static final String CONFIG_PREFIX = "pinot.broker.adaptive.server.selector";
@@ -520,6 +561,10 @@ public class CommonConstants {
     public static final String CONFIG_OF_VALUE_PRUNER_IN_PREDICATE_THRESHOLD =
         "pinot.server.query.executor.pruner.columnvaluesegmentpruner.inpredicate.threshold";
     public static final int DEFAULT_VALUE_PRUNER_IN_PREDICATE_THRESHOLD = 10;
+    // Max size of the server-wide cache of decompressed raw forward index chunks shared across queries, 0 disables it
+    public static final String CONFIG_OF_DECOMPRESSED_CHUNK_CACHE_MAX_SIZE_BYTES =
+        "pinot.server.query.executor.decompressed.chunk.cache.max.size.bytes";
+    public static final long DEFAULT_DECOMPRESSED_CHUNK_CACHE_MAX_SIZE_BYTES = 0;
 
     /**
      * Service token for accessing protected controller APIs.
@@ -656,6 +701,8 @@ public class CommonConstants {
         "org.apache.pinot.server.access.AllowAllAccessFactory";
     public static final String PREFIX_OF_CONFIG_OF_ACCESS_CONTROL = "pinot.server.admin.access.control";
 
+    // NOTE: Thread CPU time measurement cannot be enabled when the queries run on virtual threads (use_virtual_threads
+    //       in the query scheduler config) because the JVM does not measure the CPU time of virtual threads.
     public static final String CONFIG_OF_ENABLE_THREAD_CPU_TIME_MEASUREMENT =
         "pinot.server.instance.enableThreadCpuTimeMeasurement";
     public static final String CONFIG_OF_ENABLE_THREAD_ALLOCATED_BYTES_MEASUREMENT =
@@ -864,6 +911,9 @@ public class CommonConstants {
       public static final String NUM_REPLICAS = "segment.realtime.numReplicas";
       public static final String FLUSH_THRESHOLD_SIZE = "segment.flush.threshold.size";
       public static final String FLUSH_THRESHOLD_TIME = "segment.flush.threshold.time";
+      // Min time (in millis) of the records ingested into the consuming segment, published by the consuming servers so
+      // that the broker can prune the consuming segment based on time
+      public static final String CONSUMING_MIN_TIME_MS = "segment.realtime.consumingMinTimeMs";
 
       // Deprecated, but kept for backward-compatibility of reading old segments' ZK metadata
       @Deprecated
@@ -893,6 +943,7 @@ public class CommonConstants {
     public static final String DOWNLOAD_URL = "segment.download.url";
     public static final String CRYPTER_NAME = "segment.crypter";
     public static final String PARTITION_METADATA = "segment.partition.metadata";
+    public static final String COLUMN_STATS_METADATA = "segment.column.stats.metadata";
     public static final String CUSTOM_MAP = "custom.map";
     public static final String SIZE_IN_BYTES = "segment.size.in.bytes";
 
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.pinot.spi.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Utility methods for virtual threads (available since JDK 21). Pinot is compiled against JDK 11, so the virtual
+ * thread APIs are accessed through reflection, and the methods fall back gracefully when running on an older JVM.
+ */
+public class VirtualThreadUtils {
+  private VirtualThreadUtils() {
+  }
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadUtils.class);
+
+  // Thread.isVirtual()
+  private static final MethodHandle IS_VIRTUAL;
+  // Thread.ofVirtual()
+  private static final Method OF_VIRTUAL;
+  // Thread.Builder.name(String prefix, long start)
+  private static final Method BUILDER_NAME;
+  // Thread.Builder.factory()
+  private static final Method BUILDER_FACTORY;
+  // Executors.newThreadPerTaskExecutor(ThreadFactory)
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    MethodHandle isVirtual = null;
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      isVirtual = MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    } catch (Exception e) {
+      LOGGER.info("Virtual threads are not supported by the current JVM: {}", System.getProperty("java.version"));
+      isVirtual = null;
+    }
+    IS_VIRTUAL = isVirtual;
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  /**
+   * Returns {@code true} if virtual threads are supported by the current JVM, {@code false} otherwise.
+   */
+  public static boolean isSupported() {
+    return IS_VIRTUAL != null;
+  }
+
+  /**
+   * Returns {@code true} if the current thread is a virtual thread, {@code false} otherwise.
+   */
+  public static boolean isCurrentThreadVirtual() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (Throwable t) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns a {@link ThreadFactory} creating virtual threads named with the given prefix followed by a sequence number,
+   * or {@code null} if virtual threads are not supported by the current JVM.
+   */
+  @Nullable
+  public static ThreadFactory newVirtualThreadFactory(String namePrefix) {
+    if (!isSupported()) {
+      return null;
+    }
+    try {
+      Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+      return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while creating virtual thread factory", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns an {@link ExecutorService} that starts a new virtual thread (named with the given prefix) for each task, or
+   * {@code null} if virtual threads are not supported by the current JVM.
+   */
+  @Nullable
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+    ThreadFactory threadFactory = newVirtualThreadFactory(namePrefix);
+    if (threadFactory == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+    } catch (Exception e) {
+      LOGGER.warn("Caught exception while creating virtual thread per task executor", e);
+      return null;
+    }
+  }
+}
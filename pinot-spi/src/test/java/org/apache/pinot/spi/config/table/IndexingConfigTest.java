@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.pinot.spi.utils.BufferAdvice;
 import org.apache.pinot.spi.utils.JsonUtils;
 import org.testng.annotations.Test;
 
@@ -53,6 +54,10 @@ public class IndexingConfigTest {
     List<String> varLengthDictionaryColumns = Arrays.asList("a", "x", "z");
     indexingConfig.setVarLengthDictionaryColumns(varLengthDictionaryColumns);
     indexingConfig.setSegmentNameGeneratorType("normalizedDate");
+    Map<String, BufferAdvice> bufferAdvice = new HashMap<>();
+    bufferAdvice.put("dictionary", BufferAdvice.PIN);
+    bufferAdvice.put("forward_index", BufferAdvice.NORMAL);
+    indexingConfig.setBufferAdvice(bufferAdvice);
 
     indexingConfig = JsonUtils.stringToObject(JsonUtils.objectToString(indexingConfig), IndexingConfig.class);
 
@@ -65,6 +70,7 @@ public class IndexingConfigTest {
     assertEquals(indexingConfig.getNoDictionaryConfig(), noDictionaryConfig);
     assertEquals(indexingConfig.getVarLengthDictionaryColumns(), varLengthDictionaryColumns);
     assertEquals(indexingConfig.getSegmentNameGeneratorType(), "normalizedDate");
+    assertEquals(indexingConfig.getBufferAdvice(), bufferAdvice);
   }
 
   @Test